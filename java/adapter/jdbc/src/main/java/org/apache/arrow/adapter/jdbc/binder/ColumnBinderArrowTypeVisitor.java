@@ -88,6 +88,11 @@ public class ColumnBinderArrowTypeVisitor implements ArrowType.ArrowTypeVisitor<
     throw new UnsupportedOperationException("No column binder implemented for type " + type);
   }
 
+  @Override
+  public ColumnBinder visit(ArrowType.RunEndEncoded type) {
+    throw new UnsupportedOperationException("No column binder implemented for type " + type);
+  }
+
   @Override
   public ColumnBinder visit(ArrowType.FixedSizeList type) {
     throw new UnsupportedOperationException("No column binder implemented for type " + type);
@@ -169,6 +174,26 @@ public class ColumnBinderArrowTypeVisitor implements ArrowType.ArrowTypeVisitor<
         new VarBinaryBinder<>(varBinary, jdbcType);
   }
 
+  @Override
+  public ColumnBinder visit(ArrowType.Utf8View type) {
+    throw new UnsupportedOperationException("No column binder implemented for type " + type);
+  }
+
+  @Override
+  public ColumnBinder visit(ArrowType.BinaryView type) {
+    throw new UnsupportedOperationException("No column binder implemented for type " + type);
+  }
+
+  @Override
+  public ColumnBinder visit(ArrowType.ListView type) {
+    throw new UnsupportedOperationException("No column binder implemented for type " + type);
+  }
+
+  @Override
+  public ColumnBinder visit(ArrowType.LargeListView type) {
+    throw new UnsupportedOperationException("No column binder implemented for type " + type);
+  }
+
   @Override
   public ColumnBinder visit(ArrowType.FixedSizeBinary type) {
     FixedSizeBinaryVector binary = (FixedSizeBinaryVector) vector;
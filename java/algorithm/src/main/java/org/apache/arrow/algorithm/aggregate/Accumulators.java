@@ -0,0 +1,629 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.aggregate;
+
+import java.util.Collections;
+
+import org.apache.arrow.algorithm.hash.BinaryHashTable;
+import org.apache.arrow.algorithm.sort.DefaultVectorComparators;
+import org.apache.arrow.algorithm.sort.SortKeyEncoder;
+import org.apache.arrow.algorithm.sort.VectorValueComparator;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.FloatingPointVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.TransferPair;
+
+/**
+ * Accumulators of the aggregate functions of {@link AggregateSpec}.
+ *
+ * <p>The state of the groups is kept in vectors, indexed by group id, and allocated from
+ * the allocator of the aggregation.</p>
+ */
+final class Accumulators {
+
+  private Accumulators() {
+  }
+
+  /**
+   * Creates the accumulator of an aggregate.
+   * @throws IllegalArgumentException if the function does not support the type of the column.
+   */
+  static Accumulator create(AggregateSpec spec, Schema schema, BufferAllocator allocator, ArrowBufHasher hasher) {
+    if (spec.getFunction() == AggregateSpec.Function.COUNT) {
+      return new CountAccumulator(spec, allocator);
+    }
+    final Field input = schema.getFields().get(spec.getColumn());
+    final ArrowType.ArrowTypeID typeId = input.getType().getTypeID();
+    final boolean numeric = typeId == ArrowType.ArrowTypeID.Int || typeId == ArrowType.ArrowTypeID.FloatingPoint;
+    switch (spec.getFunction()) {
+      case SUM:
+        if (typeId == ArrowType.ArrowTypeID.Int) {
+          return new LongSumAccumulator(spec, allocator);
+        } else if (typeId == ArrowType.ArrowTypeID.FloatingPoint) {
+          return new DoubleSumAccumulator(spec, allocator);
+        }
+        break;
+      case MEAN:
+        if (numeric) {
+          return new MeanAccumulator(spec, allocator);
+        }
+        break;
+      case MIN:
+      case MAX:
+        return new MinMaxAccumulator(spec, input, allocator);
+      case COUNT_DISTINCT:
+        return new CountDistinctAccumulator(spec, input, allocator, hasher);
+      default:
+        break;
+    }
+    throw unsupported(spec, input);
+  }
+
+  private static IllegalArgumentException unsupported(AggregateSpec spec, Field input) {
+    return new IllegalArgumentException(
+        spec.getFunction() + " is not supported for column " + input.getName() + " of type " + input.getType());
+  }
+
+  /**
+   * Reads an integer value of the given width and signedness from a data buffer.
+   */
+  static long readInteger(ArrowBuf data, int index, int width, boolean signed) {
+    switch (width) {
+      case Byte.BYTES:
+        final byte byteValue = data.getByte(index);
+        return signed ? byteValue : byteValue & 0xffL;
+      case Short.BYTES:
+        final short shortValue = data.getShort((long) index * Short.BYTES);
+        return signed ? shortValue : shortValue & 0xffffL;
+      case Integer.BYTES:
+        final int intValue = data.getInt((long) index * Integer.BYTES);
+        return signed ? intValue : intValue & 0xffffffffL;
+      case Long.BYTES:
+        return data.getLong((long) index * Long.BYTES);
+      default:
+        throw new IllegalArgumentException("Unexpected integer width " + width);
+    }
+  }
+
+  /**
+   * Writes the low bytes of an integer value with the given width to a data buffer.
+   */
+  static void writeInteger(ArrowBuf data, int index, int width, long value) {
+    switch (width) {
+      case Byte.BYTES:
+        data.setByte(index, (byte) value);
+        break;
+      case Short.BYTES:
+        data.setShort((long) index * Short.BYTES, (short) value);
+        break;
+      case Integer.BYTES:
+        data.setInt((long) index * Integer.BYTES, (int) value);
+        break;
+      case Long.BYTES:
+        data.setLong((long) index * Long.BYTES, value);
+        break;
+      default:
+        throw new IllegalArgumentException("Unexpected integer width " + width);
+    }
+  }
+
+  /**
+   * Reads a value of a numeric column as a double, directly from the data buffer for
+   * the common widths.
+   */
+  static double readDouble(FieldVector vector, ArrowType type, int index) {
+    if (type instanceof ArrowType.Int) {
+      final ArrowType.Int intType = (ArrowType.Int) type;
+      return readInteger(vector.getDataBuffer(), index, intType.getBitWidth() / Byte.SIZE, intType.getIsSigned());
+    }
+    switch (((ArrowType.FloatingPoint) type).getPrecision()) {
+      case DOUBLE:
+        return vector.getDataBuffer().getDouble((long) index * Double.BYTES);
+      case SINGLE:
+        return vector.getDataBuffer().getFloat((long) index * Float.BYTES);
+      default:
+        return ((FloatingPointVector) vector).getValueAsDouble(index);
+    }
+  }
+
+  private static FieldVector transfer(FieldVector vector, int groupCount, BufferAllocator allocator) {
+    vector.setValueCount(groupCount);
+    TransferPair transferPair = vector.getTransferPair(allocator);
+    transferPair.transfer();
+    return (FieldVector) transferPair.getTo();
+  }
+
+  /**
+   * Accumulator of an aggregate for all the groups.
+   */
+  abstract static class Accumulator implements AutoCloseable {
+
+    final AggregateSpec spec;
+
+    /**
+     * The number of groups with an initial state.
+     */
+    int groupCount;
+
+    Accumulator(AggregateSpec spec) {
+      this.spec = spec;
+    }
+
+    /**
+     * Accumulates the rows of a batch into their groups.
+     * @param batch the batch.
+     * @param groupIds the group ids of the rows.
+     * @param rowCount the number of rows.
+     * @param newGroupCount the number of groups, including the groups of the batch.
+     */
+    final void update(VectorSchemaRoot batch, int[] groupIds, int rowCount, int newGroupCount) {
+      if (newGroupCount > groupCount) {
+        addGroups(groupCount, newGroupCount);
+        groupCount = newGroupCount;
+      }
+      if (rowCount > 0) {
+        accumulate(batch, groupIds, rowCount);
+      }
+    }
+
+    /**
+     * Initializes the state of the groups with ids in [from, to).
+     */
+    abstract void addGroups(int from, int to);
+
+    abstract void accumulate(VectorSchemaRoot batch, int[] groupIds, int rowCount);
+
+    /**
+     * Gets the results of all the groups.
+     * @param allocator the allocator the result is transferred to.
+     * @return the result vector, owned by the caller.
+     */
+    abstract FieldVector finish(BufferAllocator allocator);
+
+    @Override
+    public abstract void close();
+  }
+
+  /**
+   * Accumulator of {@link AggregateSpec.Function#COUNT}.
+   */
+  static final class CountAccumulator extends Accumulator {
+
+    private final BigIntVector counts;
+
+    CountAccumulator(AggregateSpec spec, BufferAllocator allocator) {
+      super(spec);
+      this.counts = new BigIntVector(spec.getOutputName(), allocator);
+    }
+
+    @Override
+    void addGroups(int from, int to) {
+      for (int group = from; group < to; group++) {
+        counts.setSafe(group, 0);
+      }
+    }
+
+    @Override
+    void accumulate(VectorSchemaRoot batch, int[] groupIds, int rowCount) {
+      final ArrowBuf data = counts.getDataBuffer();
+      final ValueVector input = spec.getColumn() < 0 ? null : batch.getVector(spec.getColumn());
+      final boolean mayHaveNulls = input != null && input.getNullCount() > 0;
+      for (int row = 0; row < rowCount; row++) {
+        if (mayHaveNulls && input.isNull(row)) {
+          continue;
+        }
+        final long offset = (long) groupIds[row] * BigIntVector.TYPE_WIDTH;
+        data.setLong(offset, data.getLong(offset) + 1);
+      }
+    }
+
+    @Override
+    FieldVector finish(BufferAllocator allocator) {
+      return transfer(counts, groupCount, allocator);
+    }
+
+    @Override
+    public void close() {
+      counts.close();
+    }
+  }
+
+  /**
+   * Accumulator of {@link AggregateSpec.Function#SUM} of integers.
+   */
+  static final class LongSumAccumulator extends Accumulator {
+
+    private final BigIntVector sums;
+
+    LongSumAccumulator(AggregateSpec spec, BufferAllocator allocator) {
+      super(spec);
+      this.sums = new BigIntVector(spec.getOutputName(), allocator);
+    }
+
+    @Override
+    void addGroups(int from, int to) {
+      for (int group = from; group < to; group++) {
+        sums.setNull(group);
+      }
+    }
+
+    @Override
+    void accumulate(VectorSchemaRoot batch, int[] groupIds, int rowCount) {
+      final FieldVector input = batch.getVector(spec.getColumn());
+      final ArrowType.Int type = (ArrowType.Int) input.getField().getType();
+      final int width = type.getBitWidth() / Byte.SIZE;
+      final boolean signed = type.getIsSigned();
+      final ArrowBuf inputData = input.getDataBuffer();
+      final ArrowBuf validity = sums.getValidityBuffer();
+      final ArrowBuf data = sums.getDataBuffer();
+      final boolean mayHaveNulls = input.getNullCount() > 0;
+      for (int row = 0; row < rowCount; row++) {
+        if (mayHaveNulls && input.isNull(row)) {
+          continue;
+        }
+        final int group = groupIds[row];
+        final long offset = (long) group * BigIntVector.TYPE_WIDTH;
+        final long value = readInteger(inputData, row, width, signed);
+        if (BitVectorHelper.get(validity, group) == 0) {
+          BitVectorHelper.setBit(validity, group);
+          data.setLong(offset, value);
+        } else {
+          data.setLong(offset, data.getLong(offset) + value);
+        }
+      }
+    }
+
+    @Override
+    FieldVector finish(BufferAllocator allocator) {
+      return transfer(sums, groupCount, allocator);
+    }
+
+    @Override
+    public void close() {
+      sums.close();
+    }
+  }
+
+  /**
+   * Accumulator of {@link AggregateSpec.Function#SUM} of floating points.
+   */
+  static final class DoubleSumAccumulator extends Accumulator {
+
+    private final Float8Vector sums;
+
+    DoubleSumAccumulator(AggregateSpec spec, BufferAllocator allocator) {
+      super(spec);
+      this.sums = new Float8Vector(spec.getOutputName(), allocator);
+    }
+
+    @Override
+    void addGroups(int from, int to) {
+      for (int group = from; group < to; group++) {
+        sums.setNull(group);
+      }
+    }
+
+    @Override
+    void accumulate(VectorSchemaRoot batch, int[] groupIds, int rowCount) {
+      final FieldVector input = batch.getVector(spec.getColumn());
+      final ArrowType type = input.getField().getType();
+      final ArrowBuf validity = sums.getValidityBuffer();
+      final ArrowBuf data = sums.getDataBuffer();
+      final boolean mayHaveNulls = input.getNullCount() > 0;
+      for (int row = 0; row < rowCount; row++) {
+        if (mayHaveNulls && input.isNull(row)) {
+          continue;
+        }
+        final int group = groupIds[row];
+        final long offset = (long) group * Float8Vector.TYPE_WIDTH;
+        final double value = readDouble(input, type, row);
+        if (BitVectorHelper.get(validity, group) == 0) {
+          BitVectorHelper.setBit(validity, group);
+          data.setDouble(offset, value);
+        } else {
+          data.setDouble(offset, data.getDouble(offset) + value);
+        }
+      }
+    }
+
+    @Override
+    FieldVector finish(BufferAllocator allocator) {
+      return transfer(sums, groupCount, allocator);
+    }
+
+    @Override
+    public void close() {
+      sums.close();
+    }
+  }
+
+  /**
+   * Accumulator of {@link AggregateSpec.Function#MEAN}.
+   */
+  static final class MeanAccumulator extends Accumulator {
+
+    private final Float8Vector sums;
+
+    private final BigIntVector counts;
+
+    MeanAccumulator(AggregateSpec spec, BufferAllocator allocator) {
+      super(spec);
+      this.sums = new Float8Vector("sums", allocator);
+      this.counts = new BigIntVector("counts", allocator);
+    }
+
+    @Override
+    void addGroups(int from, int to) {
+      for (int group = from; group < to; group++) {
+        sums.setSafe(group, 0);
+        counts.setSafe(group, 0);
+      }
+    }
+
+    @Override
+    void accumulate(VectorSchemaRoot batch, int[] groupIds, int rowCount) {
+      final FieldVector input = batch.getVector(spec.getColumn());
+      final ArrowType type = input.getField().getType();
+      final ArrowBuf sumData = sums.getDataBuffer();
+      final ArrowBuf countData = counts.getDataBuffer();
+      final boolean mayHaveNulls = input.getNullCount() > 0;
+      for (int row = 0; row < rowCount; row++) {
+        if (mayHaveNulls && input.isNull(row)) {
+          continue;
+        }
+        final long offset = (long) groupIds[row] * Long.BYTES;
+        final double value = readDouble(input, type, row);
+        sumData.setDouble(offset, sumData.getDouble(offset) + value);
+        countData.setLong(offset, countData.getLong(offset) + 1);
+      }
+    }
+
+    @Override
+    FieldVector finish(BufferAllocator allocator) {
+      final Float8Vector means = new Float8Vector(spec.getOutputName(), allocator);
+      means.allocateNew(groupCount);
+      for (int group = 0; group < groupCount; group++) {
+        final long count = counts.get(group);
+        if (count == 0) {
+          means.setNull(group);
+        } else {
+          means.set(group, sums.get(group) / count);
+        }
+      }
+      means.setValueCount(groupCount);
+      return means;
+    }
+
+    @Override
+    public void close() {
+      sums.close();
+      counts.close();
+    }
+  }
+
+  /**
+   * Accumulator of {@link AggregateSpec.Function#MIN} and {@link AggregateSpec.Function#MAX}.
+   */
+  static final class MinMaxAccumulator extends Accumulator {
+
+    private final BaseFixedWidthVector extremes;
+
+    private final VectorValueComparator<ValueVector> comparator;
+
+    /**
+     * 1 for the minimum, -1 for the maximum.
+     */
+    private final int sign;
+
+    MinMaxAccumulator(AggregateSpec spec, Field input, BufferAllocator allocator) {
+      super(spec);
+      final FieldVector vector =
+          new Field(spec.getOutputName(), FieldType.nullable(input.getType()), null).createVector(allocator);
+      if (!(vector instanceof BaseFixedWidthVector)) {
+        vector.close();
+        throw unsupported(spec, input);
+      }
+      this.extremes = (BaseFixedWidthVector) vector;
+      try {
+        this.comparator = DefaultVectorComparators.createDefaultComparator(vector);
+      } catch (IllegalArgumentException e) {
+        vector.close();
+        throw unsupported(spec, input);
+      }
+      this.sign = spec.getFunction() == AggregateSpec.Function.MIN ? 1 : -1;
+    }
+
+    @Override
+    void addGroups(int from, int to) {
+      for (int group = from; group < to; group++) {
+        extremes.setNull(group);
+      }
+    }
+
+    @Override
+    void accumulate(VectorSchemaRoot batch, int[] groupIds, int rowCount) {
+      final FieldVector input = batch.getVector(spec.getColumn());
+      if (input.getField().getType() instanceof ArrowType.Int) {
+        accumulateIntegers(input, groupIds, rowCount);
+        return;
+      }
+      extremes.setValueCount(groupCount);
+      comparator.attachVectors(input, extremes);
+      final boolean mayHaveNulls = input.getNullCount() > 0;
+      for (int row = 0; row < rowCount; row++) {
+        if (mayHaveNulls && input.isNull(row)) {
+          continue;
+        }
+        final int group = groupIds[row];
+        if (extremes.isNull(group) || sign * comparator.compareNotNull(row, group) < 0) {
+          extremes.copyFrom(row, group, input);
+        }
+      }
+    }
+
+    /**
+     * Accumulates integers, compared directly in the data buffers.
+     */
+    private void accumulateIntegers(FieldVector input, int[] groupIds, int rowCount) {
+      final ArrowType.Int type = (ArrowType.Int) input.getField().getType();
+      final int width = type.getBitWidth() / Byte.SIZE;
+      final boolean signed = type.getIsSigned();
+      final ArrowBuf inputData = input.getDataBuffer();
+      final ArrowBuf validity = extremes.getValidityBuffer();
+      final ArrowBuf data = extremes.getDataBuffer();
+      final boolean mayHaveNulls = input.getNullCount() > 0;
+      for (int row = 0; row < rowCount; row++) {
+        if (mayHaveNulls && input.isNull(row)) {
+          continue;
+        }
+        final int group = groupIds[row];
+        final long value = readInteger(inputData, row, width, signed);
+        if (BitVectorHelper.get(validity, group) == 0) {
+          BitVectorHelper.setBit(validity, group);
+          writeInteger(data, group, width, value);
+        } else {
+          final long extreme = readInteger(data, group, width, signed);
+          // unsigned values narrower than a long are zero-extended, so they compare as signed longs
+          final int result = signed || width < Long.BYTES ?
+              Long.compare(value, extreme) : Long.compareUnsigned(value, extreme);
+          if (sign * result < 0) {
+            writeInteger(data, group, width, value);
+          }
+        }
+      }
+    }
+
+    @Override
+    FieldVector finish(BufferAllocator allocator) {
+      return transfer(extremes, groupCount, allocator);
+    }
+
+    @Override
+    public void close() {
+      extremes.close();
+    }
+  }
+
+  /**
+   * Accumulator of {@link AggregateSpec.Function#COUNT_DISTINCT}. The distinct values of all
+   * groups are kept in one hash table, keyed by the group id followed by the encoded value.
+   */
+  static final class CountDistinctAccumulator extends Accumulator {
+
+    private final BufferAllocator allocator;
+
+    private final SortKeyEncoder encoder;
+
+    private final BigIntVector counts;
+
+    private final ArrowBufPointer pointer;
+
+    private final BinaryHashTable distinctValues;
+
+    private ArrowBuf scratch;
+
+    CountDistinctAccumulator(AggregateSpec spec, Field input, BufferAllocator allocator, ArrowBufHasher hasher) {
+      super(spec);
+      try (FieldVector vector = input.createVector(allocator)) {
+        if (!SortKeyEncoder.isSupported(vector)) {
+          throw unsupported(spec, input);
+        }
+      }
+      this.allocator = allocator;
+      this.encoder = new SortKeyEncoder(
+          Collections.singletonList(SortKeyEncoder.SortColumn.ascending(spec.getColumn())));
+      this.pointer = new ArrowBufPointer(hasher);
+      this.counts = new BigIntVector(spec.getOutputName(), allocator);
+      try {
+        this.distinctValues = new BinaryHashTable(allocator);
+      } catch (RuntimeException e) {
+        counts.close();
+        throw e;
+      }
+    }
+
+    @Override
+    void addGroups(int from, int to) {
+      for (int group = from; group < to; group++) {
+        counts.setSafe(group, 0);
+      }
+    }
+
+    @Override
+    void accumulate(VectorSchemaRoot batch, int[] groupIds, int rowCount) {
+      final FieldVector input = batch.getVector(spec.getColumn());
+      final ArrowBuf countData = counts.getDataBuffer();
+      try (VarBinaryVector values = encoder.encode(batch, allocator)) {
+        final ArrowBuf valueData = values.getDataBuffer();
+        for (int row = 0; row < rowCount; row++) {
+          if (input.isNull(row)) {
+            continue;
+          }
+          final int start = values.getStartOffset(row);
+          final int length = values.getStartOffset(row + 1) - start;
+          final int keyLength = Integer.BYTES + length;
+          if (scratch == null || scratch.capacity() < keyLength) {
+            if (scratch != null) {
+              scratch.close();
+              scratch = null;
+            }
+            scratch = allocator.buffer(Math.max(keyLength, 64));
+          }
+          final int group = groupIds[row];
+          scratch.setInt(0, group);
+          scratch.setBytes(Integer.BYTES, valueData, start, length);
+          pointer.set(scratch, 0, keyLength);
+
+          final int size = distinctValues.size();
+          if (distinctValues.getOrInsert(pointer) == size) {
+            final long offset = (long) group * BigIntVector.TYPE_WIDTH;
+            countData.setLong(offset, countData.getLong(offset) + 1);
+          }
+        }
+      }
+    }
+
+    @Override
+    FieldVector finish(BufferAllocator allocator) {
+      return transfer(counts, groupCount, allocator);
+    }
+
+    @Override
+    public void close() {
+      if (scratch != null) {
+        scratch.close();
+      }
+      distinctValues.close();
+      counts.close();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.aggregate;
+
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * Specification of an aggregate computed per group by a {@link HashAggregator}.
+ */
+public final class AggregateSpec {
+
+  /**
+   * The aggregate functions.
+   */
+  public enum Function {
+    /**
+     * The number of non-null values of the column, or the number of rows if there is no column.
+     * The result is a BigInt column.
+     */
+    COUNT,
+    /**
+     * The sum of the non-null values of an integer or floating point column, or null if there
+     * are none. The result is a BigInt column for integers, and a Float8 column for floating points.
+     */
+    SUM,
+    /**
+     * The minimum non-null value of a fixed-width column, or null if there are none, by the
+     * default comparator of the column. The result has the type of the column.
+     */
+    MIN,
+    /**
+     * The maximum non-null value of a fixed-width column, or null if there are none, by the
+     * default comparator of the column. The result has the type of the column.
+     */
+    MAX,
+    /**
+     * The mean of the non-null values of an integer or floating point column, or null if there
+     * are none. The result is a Float8 column.
+     */
+    MEAN,
+    /**
+     * The number of distinct non-null values of the column. The result is a BigInt column.
+     */
+    COUNT_DISTINCT
+  }
+
+  private final Function function;
+
+  private final int column;
+
+  private final String outputName;
+
+  /**
+   * Constructs an aggregate specification.
+   * @param function the aggregate function.
+   * @param column the index of the aggregated column, or -1 to count rows.
+   * @param outputName the name of the result column.
+   */
+  public AggregateSpec(Function function, int column, String outputName) {
+    Preconditions.checkArgument(column >= 0 || (column == -1 && function == Function.COUNT),
+        "Only COUNT can be computed without a column");
+    this.function = Preconditions.checkNotNull(function);
+    this.column = column;
+    this.outputName = Preconditions.checkNotNull(outputName);
+  }
+
+  /**
+   * Creates the specification of the number of rows per group.
+   * @param outputName the name of the result column.
+   */
+  public static AggregateSpec countRows(String outputName) {
+    return new AggregateSpec(Function.COUNT, -1, outputName);
+  }
+
+  public Function getFunction() {
+    return function;
+  }
+
+  public int getColumn() {
+    return column;
+  }
+
+  public String getOutputName() {
+    return outputName;
+  }
+}
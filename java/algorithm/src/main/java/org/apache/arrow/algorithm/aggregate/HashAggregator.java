@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.aggregate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.arrow.algorithm.hash.KeyTable;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.memory.util.hash.SimpleHasher;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.TransferPair;
+
+/**
+ * Hash aggregation (GROUP BY) of a stream of {@link VectorSchemaRoot}s.
+ *
+ * <p>The keys of each batch are mapped to dense group ids by an off-heap {@link KeyTable}. Then
+ * each aggregate is accumulated one column at a time into state vectors indexed by group id.
+ * Nulls in key columns form their own groups.</p>
+ *
+ * <p>All the state of the aggregation, including the hash table, is allocated from a child
+ * allocator limited to the given memory limit, so that an aggregation with too many groups
+ * fails with an {@link org.apache.arrow.memory.OutOfMemoryException} instead of exhausting the
+ * memory. The state is not spilled.</p>
+ */
+public class HashAggregator implements AutoCloseable {
+
+  private final BufferAllocator allocator;
+
+  private final BufferAllocator aggregateAllocator;
+
+  private final Schema schema;
+
+  private final int[] keyColumns;
+
+  private final List<AggregateSpec> aggregates;
+
+  private final ArrowBufHasher hasher;
+
+  /**
+   * The table of the keys of the groups, or null if there are no key columns.
+   */
+  private KeyTable groups;
+
+  private List<FieldVector> groupKeys;
+
+  private List<Accumulators.Accumulator> accumulators;
+
+  private int groupCount;
+
+  private int[] groupIds = new int[0];
+
+  /**
+   * Constructs an aggregator with the default hasher.
+   * @param allocator the allocator for the results.
+   * @param schema the schema of the batches.
+   * @param keyColumns the indices of the columns to group by. If empty, there is a single group.
+   * @param aggregates the aggregates to compute per group.
+   * @param memoryLimit the maximum memory of the state of the aggregation, in bytes.
+   */
+  public HashAggregator(BufferAllocator allocator, Schema schema, int[] keyColumns, List<AggregateSpec> aggregates,
+      long memoryLimit) {
+    this(allocator, schema, keyColumns, aggregates, memoryLimit, SimpleHasher.INSTANCE);
+  }
+
+  /**
+   * Constructs an aggregator.
+   * @param allocator the allocator for the results.
+   * @param schema the schema of the batches.
+   * @param keyColumns the indices of the columns to group by. If empty, there is a single group.
+   * @param aggregates the aggregates to compute per group.
+   * @param memoryLimit the maximum memory of the state of the aggregation, in bytes.
+   * @param hasher the hasher of the encoded keys.
+   * @throws IllegalArgumentException if a key column or an aggregate is not supported.
+   */
+  public HashAggregator(BufferAllocator allocator, Schema schema, int[] keyColumns, List<AggregateSpec> aggregates,
+      long memoryLimit, ArrowBufHasher hasher) {
+    Preconditions.checkArgument(memoryLimit > 0, "The memory limit must be positive");
+    for (int keyColumn : keyColumns) {
+      Preconditions.checkElementIndex(keyColumn, schema.getFields().size(), "key column");
+    }
+    for (AggregateSpec aggregate : aggregates) {
+      if (aggregate.getColumn() >= 0) {
+        Preconditions.checkElementIndex(aggregate.getColumn(), schema.getFields().size(), "aggregate column");
+      }
+    }
+    this.allocator = allocator;
+    this.schema = schema;
+    this.keyColumns = keyColumns.clone();
+    this.aggregates = new ArrayList<>(aggregates);
+    this.hasher = hasher;
+    this.aggregateAllocator = allocator.newChildAllocator("hash-aggregate", 0, memoryLimit);
+    try {
+      initState();
+    } catch (RuntimeException e) {
+      closeState();
+      aggregateAllocator.close();
+      throw e;
+    }
+  }
+
+  private void initState() {
+    groupCount = 0;
+    groupKeys = new ArrayList<>();
+    accumulators = new ArrayList<>();
+    if (keyColumns.length > 0) {
+      groups = new KeyTable(aggregateAllocator, schema, keyColumns, hasher);
+    }
+    for (int keyColumn : keyColumns) {
+      Field field = schema.getFields().get(keyColumn);
+      groupKeys.add(new Field(field.getName(), FieldType.nullable(field.getType()), field.getChildren())
+          .createVector(aggregateAllocator));
+    }
+    for (AggregateSpec aggregate : aggregates) {
+      accumulators.add(Accumulators.create(aggregate, schema, aggregateAllocator, hasher));
+    }
+  }
+
+  private void closeState() {
+    final List<AutoCloseable> state = new ArrayList<>();
+    state.add(groups);
+    if (groupKeys != null) {
+      state.addAll(groupKeys);
+    }
+    if (accumulators != null) {
+      state.addAll(accumulators);
+    }
+    groups = null;
+    groupKeys = null;
+    accumulators = null;
+    AutoCloseables.closeNoChecked(AutoCloseables.all(state));
+  }
+
+  /**
+   * Gets the number of groups of the rows consumed so far.
+   */
+  public int getGroupCount() {
+    return groupCount;
+  }
+
+  /**
+   * Consumes the rows of a batch. The batch is not changed, and can be reused after this method returns.
+   * @param batch the batch, with the schema of the aggregator.
+   * @throws org.apache.arrow.memory.OutOfMemoryException if the state exceeds the memory limit.
+   */
+  public void consume(VectorSchemaRoot batch) {
+    final int rowCount = batch.getRowCount();
+    if (rowCount == 0) {
+      return;
+    }
+    if (groupIds.length < rowCount) {
+      groupIds = new int[rowCount];
+    }
+    if (keyColumns.length == 0) {
+      Arrays.fill(groupIds, 0, rowCount, 0);
+      groupCount = 1;
+    } else {
+      groups.insert(batch, groupIds);
+      for (int row = 0; row < rowCount; row++) {
+        // the ids are dense, so a new group has the next id
+        if (groupIds[row] == groupCount) {
+          addGroup(batch, row);
+        }
+      }
+    }
+    for (Accumulators.Accumulator accumulator : accumulators) {
+      accumulator.update(batch, groupIds, rowCount, groupCount);
+    }
+  }
+
+  /**
+   * Adds the next group, whose keys are those of a row.
+   */
+  private void addGroup(VectorSchemaRoot batch, int row) {
+    for (int i = 0; i < keyColumns.length; i++) {
+      groupKeys.get(i).copyFromSafe(row, groupCount, batch.getVector(keyColumns[i]));
+    }
+    groupCount++;
+  }
+
+  /**
+   * Gets the aggregates of the groups, and resets the aggregator, so that it can consume another stream.
+   * @return the results, with the key columns followed by the aggregates, one row per group in
+   *     order of first appearance. Without key columns, there is exactly one row. The root is
+   *     owned by the caller.
+   */
+  public VectorSchemaRoot finish() {
+    if (keyColumns.length == 0 && groupCount == 0) {
+      groupCount = 1;
+    }
+    final int resultCount = groupCount;
+    final List<FieldVector> results = new ArrayList<>();
+    try {
+      for (FieldVector groupKey : groupKeys) {
+        groupKey.setValueCount(groupCount);
+        TransferPair transferPair = groupKey.getTransferPair(allocator);
+        transferPair.transfer();
+        results.add((FieldVector) transferPair.getTo());
+      }
+      for (Accumulators.Accumulator accumulator : accumulators) {
+        accumulator.update(null, groupIds, 0, groupCount);
+        results.add(accumulator.finish(allocator));
+      }
+    } catch (RuntimeException e) {
+      AutoCloseables.close(e, results);
+      throw e;
+    }
+    closeState();
+    initState();
+    VectorSchemaRoot root = new VectorSchemaRoot(results);
+    root.setRowCount(resultCount);
+    return root;
+  }
+
+  @Override
+  public void close() {
+    closeState();
+    aggregateAllocator.close();
+  }
+}
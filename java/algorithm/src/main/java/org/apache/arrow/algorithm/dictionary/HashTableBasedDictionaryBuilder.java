@@ -19,19 +19,33 @@ package org.apache.arrow.algorithm.dictionary;
 
 import java.util.HashMap;
 
+import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.util.ArrowBufPointer;
 import org.apache.arrow.memory.util.hash.ArrowBufHasher;
 import org.apache.arrow.memory.util.hash.SimpleHasher;
 import org.apache.arrow.vector.ElementAddressableVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.dictionary.OffHeapDictionaryHashTable;
+import org.apache.arrow.vector.util.VectorHasher;
 
 /**
  * This class builds the dictionary based on a hash table.
  * Each add operation can be finished in O(1) time,
  * where n is the current dictionary size.
  *
+ * <p>By default the hash table is an on-heap {@link HashMap}. When an allocator is given, an
+ * {@link OffHeapDictionaryHashTable} is used instead, and values are hashed in batch; the builder
+ * must then be closed to release it.</p>
+ *
  * @param <V> the dictionary vector type.
  */
-public class HashTableBasedDictionaryBuilder<V extends ElementAddressableVector> implements DictionaryBuilder<V> {
+public class HashTableBasedDictionaryBuilder<V extends ElementAddressableVector>
+    implements DictionaryBuilder<V>, AutoCloseable {
+
+  /**
+   * The number of values hashed at a time with the off-heap hash table.
+   */
+  private static final int HASH_BATCH_SIZE = 4096;
 
   /**
    * The dictionary to be built.
@@ -59,6 +73,16 @@ public class HashTableBasedDictionaryBuilder<V extends ElementAddressableVector>
    */
   private ArrowBufPointer nextPointer;
 
+  /**
+   * The off-heap hash table, or null if the on-heap hash map is used.
+   */
+  private final OffHeapDictionaryHashTable offHeapHashTable;
+
+  /**
+   * The hash codes of a batch of values, or null if the on-heap hash map is used.
+   */
+  private final IntVector hashes;
+
   /**
    * Constructs a hash table based dictionary builder.
    *
@@ -86,10 +110,30 @@ public class HashTableBasedDictionaryBuilder<V extends ElementAddressableVector>
    * @param hasher     the hasher used to compute the hash code.
    */
   public HashTableBasedDictionaryBuilder(V dictionary, boolean encodeNull, ArrowBufHasher hasher) {
+    this(dictionary, encodeNull, hasher, null);
+  }
+
+  /**
+   * Constructs a hash table based dictionary builder.
+   *
+   * @param dictionary the dictionary to populate.
+   * @param encodeNull if null values should be added to the dictionary.
+   * @param hasher     the hasher used to compute the hash code.
+   * @param allocator  the allocator of an off-heap hash table, or null to use an on-heap hash map.
+   */
+  public HashTableBasedDictionaryBuilder(V dictionary, boolean encodeNull, ArrowBufHasher hasher,
+      BufferAllocator allocator) {
     this.dictionary = dictionary;
     this.encodeNull = encodeNull;
     this.hasher = hasher;
     this.nextPointer = new ArrowBufPointer(hasher);
+    if (allocator == null) {
+      this.offHeapHashTable = null;
+      this.hashes = null;
+    } else {
+      this.offHeapHashTable = new OffHeapDictionaryHashTable(allocator, dictionary, hasher);
+      this.hashes = new IntVector("hashes", allocator);
+    }
   }
 
   /**
@@ -111,6 +155,19 @@ public class HashTableBasedDictionaryBuilder<V extends ElementAddressableVector>
   @Override
   public int addValues(V targetVector) {
     int oldDictSize = dictionary.getValueCount();
+    if (offHeapHashTable != null) {
+      for (int start = 0; start < targetVector.getValueCount(); start += HASH_BATCH_SIZE) {
+        final int count = Math.min(HASH_BATCH_SIZE, targetVector.getValueCount() - start);
+        VectorHasher.hash(targetVector, start, count, offHeapHashTable.getHasher(), hashes);
+        for (int i = 0; i < count; i++) {
+          if (!encodeNull && targetVector.isNull(start + i)) {
+            continue;
+          }
+          addValue(targetVector, start + i, hashes.get(i));
+        }
+      }
+      return dictionary.getValueCount() - oldDictSize;
+    }
     for (int i = 0; i < targetVector.getValueCount(); i++) {
       if (!encodeNull && targetVector.isNull(i)) {
         continue;
@@ -130,6 +187,9 @@ public class HashTableBasedDictionaryBuilder<V extends ElementAddressableVector>
    */
   @Override
   public int addValue(V targetVector, int targetIndex) {
+    if (offHeapHashTable != null) {
+      return addValue(targetVector, targetIndex, targetVector.hashCode(targetIndex, offHeapHashTable.getHasher()));
+    }
     targetVector.getDataPointer(targetIndex, nextPointer);
 
     Integer index = hashMap.get(nextPointer);
@@ -150,4 +210,30 @@ public class HashTableBasedDictionaryBuilder<V extends ElementAddressableVector>
     }
     return index;
   }
+
+  /**
+   * Adds an element to the dictionary with the off-heap hash table.
+   */
+  private int addValue(V targetVector, int targetIndex, int hash) {
+    int index = offHeapHashTable.getIndex(targetIndex, targetVector, hash);
+    if (index == OffHeapDictionaryHashTable.NULL_VALUE) {
+      // a new dictionary element is found
+      index = dictionary.getValueCount();
+      dictionary.copyFromSafe(targetIndex, index, targetVector);
+      dictionary.setValueCount(index + 1);
+      offHeapHashTable.put(index, hash);
+    }
+    return index;
+  }
+
+  /**
+   * Releases the off-heap hash table, if any.
+   */
+  @Override
+  public void close() {
+    if (offHeapHashTable != null) {
+      offHeapHashTable.close();
+      hashes.close();
+    }
+  }
 }
@@ -19,19 +19,31 @@ package org.apache.arrow.algorithm.dictionary;
 
 import java.util.HashMap;
 
+import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.util.ArrowBufPointer;
 import org.apache.arrow.memory.util.hash.ArrowBufHasher;
 import org.apache.arrow.memory.util.hash.SimpleHasher;
 import org.apache.arrow.vector.BaseIntVector;
 import org.apache.arrow.vector.ElementAddressableVector;
+import org.apache.arrow.vector.dictionary.OffHeapDictionaryHashTable;
 
 /**
  * Dictionary encoder based on hash table.
+ *
+ * <p>By default the hash table is an on-heap {@link HashMap}. When an allocator is given, an
+ * {@link OffHeapDictionaryHashTable} is used instead, and values are looked up in batch; the
+ * encoder must then be closed to release it.</p>
+ *
  * @param <E> encoded vector type.
  * @param <D> decoded vector type, which is also the dictionary type.
  */
 public class HashTableDictionaryEncoder<E extends BaseIntVector, D extends ElementAddressableVector>
-    implements DictionaryEncoder<E, D> {
+    implements DictionaryEncoder<E, D>, AutoCloseable {
+
+  /**
+   * The number of values encoded at a time with the off-heap hash table.
+   */
+  private static final int ENCODE_BATCH_SIZE = 4096;
 
   /**
    * The dictionary for encoding/decoding.
@@ -60,6 +72,11 @@ public class HashTableDictionaryEncoder<E extends BaseIntVector, D extends Eleme
    */
   private ArrowBufPointer reusablePointer;
 
+  /**
+   * The off-heap hash table, or null if the on-heap hash map is used.
+   */
+  private final OffHeapDictionaryHashTable offHeapHashTable;
+
   /**
    * Constructs a dictionary encoder.
    * @param dictionary the dictionary.
@@ -102,13 +119,30 @@ public class HashTableDictionaryEncoder<E extends BaseIntVector, D extends Eleme
    * @param hasher the hasher used to calculate the hash code.
    */
   public HashTableDictionaryEncoder(D dictionary, boolean encodeNull, ArrowBufHasher hasher) {
+    this(dictionary, encodeNull, hasher, null);
+  }
+
+  /**
+   * Constructs a dictionary encoder.
+   * @param dictionary the dictionary.
+   * @param encodeNull a flag indicating if null should be encoded.
+   * @param hasher the hasher used to calculate the hash code.
+   * @param allocator the allocator of an off-heap hash table, or null to use an on-heap hash map.
+   */
+  public HashTableDictionaryEncoder(D dictionary, boolean encodeNull, ArrowBufHasher hasher,
+      BufferAllocator allocator) {
     this.dictionary = dictionary;
     this.hasher = hasher;
     this.encodeNull = encodeNull;
 
     reusablePointer = new ArrowBufPointer(hasher);
 
-    buildHashMap();
+    if (allocator == null) {
+      offHeapHashTable = null;
+      buildHashMap();
+    } else {
+      offHeapHashTable = new OffHeapDictionaryHashTable(allocator, dictionary, hasher);
+    }
   }
 
   private void buildHashMap() {
@@ -128,6 +162,10 @@ public class HashTableDictionaryEncoder<E extends BaseIntVector, D extends Eleme
    **/
   @Override
   public void encode(D input, E output) {
+    if (offHeapHashTable != null) {
+      encodeInBatch(input, output);
+      return;
+    }
     for (int i = 0; i < input.getValueCount(); i++) {
       if (!encodeNull && input.isNull(i)) {
         continue;
@@ -143,4 +181,32 @@ public class HashTableDictionaryEncoder<E extends BaseIntVector, D extends Eleme
     }
     output.setValueCount(input.getValueCount());
   }
+
+  private void encodeInBatch(D input, E output) {
+    final int[] indices = new int[Math.min(input.getValueCount(), ENCODE_BATCH_SIZE)];
+    for (int start = 0; start < input.getValueCount(); start += indices.length) {
+      final int count = Math.min(indices.length, input.getValueCount() - start);
+      offHeapHashTable.getIndices(input, start, count, indices);
+      for (int i = 0; i < count; i++) {
+        if (!encodeNull && input.isNull(start + i)) {
+          continue;
+        }
+        if (indices[i] == OffHeapDictionaryHashTable.NULL_VALUE) {
+          throw new IllegalArgumentException("The data element is not found in the dictionary");
+        }
+        output.setWithPossibleTruncate(start + i, indices[i]);
+      }
+    }
+    output.setValueCount(input.getValueCount());
+  }
+
+  /**
+   * Releases the off-heap hash table, if any.
+   */
+  @Override
+  public void close() {
+    if (offHeapHashTable != null) {
+      offHeapHashTable.close();
+    }
+  }
 }
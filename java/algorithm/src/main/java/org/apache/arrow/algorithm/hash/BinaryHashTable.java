@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.hash;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+
+/**
+ * Open-addressing hash table, which maps binary keys to dense ids in order of insertion.
+ *
+ * <p>The table is an array of slots, holding the ids of the keys plus one (zero for empty
+ * slots), probed linearly. The keys and their hash codes are stored by id. All the memory is
+ * allocated from a {@link BufferAllocator}, so it is bounded by the limit of the allocator.</p>
+ */
+public final class BinaryHashTable implements AutoCloseable {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private static final int SLOT_WIDTH = Integer.BYTES;
+
+  private final BufferAllocator allocator;
+
+  private final VarBinaryVector keys;
+
+  private final IntVector hashCodes;
+
+  private ArrowBuf slots;
+
+  private int mask;
+
+  private int size;
+
+  /**
+   * Constructs an empty table.
+   * @param allocator the allocator for the memory of the table.
+   */
+  public BinaryHashTable(BufferAllocator allocator) {
+    this.allocator = allocator;
+    this.keys = new VarBinaryVector("keys", allocator);
+    this.hashCodes = new IntVector("hash codes", allocator);
+    try {
+      keys.allocateNew();
+      hashCodes.allocateNew();
+      slots = allocateSlots(INITIAL_CAPACITY);
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  private ArrowBuf allocateSlots(int capacity) {
+    ArrowBuf buf = allocator.buffer((long) capacity * SLOT_WIDTH);
+    buf.setZero(0, buf.capacity());
+    mask = capacity - 1;
+    return buf;
+  }
+
+  /**
+   * Gets the number of keys in the table.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the id of a key, inserting the key with the next id if it is absent.
+   * @param key the pointer to the key, whose hasher determines the hash code of the key.
+   * @return the id of the key, which is {@code size() - 1} if the key was inserted.
+   */
+  public int getOrInsert(ArrowBufPointer key) {
+    final int hashCode = mix(key.hashCode());
+    final int slot = findSlot(key, hashCode);
+    final int entry = slots.getInt((long) slot * SLOT_WIDTH);
+    if (entry != 0) {
+      return entry - 1;
+    }
+
+    final int id = size++;
+    keys.setSafe(id, (int) key.getOffset(), (int) key.getLength(), key.getBuf());
+    hashCodes.setSafe(id, hashCode);
+    slots.setInt((long) slot * SLOT_WIDTH, id + 1);
+    if (size > (mask + 1) / 2) {
+      rehash();
+    }
+    return id;
+  }
+
+  /**
+   * Gets the id of a key. This method does not change the table, so it can be called
+   * concurrently, as long as there are no concurrent insertions.
+   * @param key the pointer to the key, whose hasher determines the hash code of the key.
+   * @return the id of the key, or -1 if it is absent.
+   */
+  public int get(ArrowBufPointer key) {
+    final int slot = findSlot(key, mix(key.hashCode()));
+    return slots.getInt((long) slot * SLOT_WIDTH) - 1;
+  }
+
+  /**
+   * Finds the slot of a key, or the empty slot where it would be inserted.
+   */
+  private int findSlot(ArrowBufPointer key, int hashCode) {
+    final ArrowBuf hashCodeBuffer = hashCodes.getDataBuffer();
+    int slot = hashCode & mask;
+    while (true) {
+      final int entry = slots.getInt((long) slot * SLOT_WIDTH);
+      if (entry == 0) {
+        return slot;
+      }
+      final int id = entry - 1;
+      if (hashCodeBuffer.getInt((long) id * IntVector.TYPE_WIDTH) == hashCode && keyEquals(id, key)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private boolean keyEquals(int id, ArrowBufPointer key) {
+    return ByteFunctionHelpers.equal(keys.getDataBuffer(), keys.getStartOffset(id), keys.getStartOffset(id + 1),
+        key.getBuf(), key.getOffset(), key.getOffset() + key.getLength()) != 0;
+  }
+
+  /**
+   * Doubles the number of slots, and reinserts the ids by their stored hash codes.
+   */
+  private void rehash() {
+    final ArrowBuf newSlots = allocateSlots((mask + 1) * 2);
+    slots.close();
+    slots = newSlots;
+    final ArrowBuf hashCodeBuffer = hashCodes.getDataBuffer();
+    for (int id = 0; id < size; id++) {
+      int slot = hashCodeBuffer.getInt((long) id * IntVector.TYPE_WIDTH) & mask;
+      while (slots.getInt((long) slot * SLOT_WIDTH) != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots.setInt((long) slot * SLOT_WIDTH, id + 1);
+    }
+  }
+
+  /**
+   * Spreads the bits of a hash code, as the slots are selected by its low bits
+   * (the finalization step of MurmurHash3).
+   */
+  static int mix(int hashCode) {
+    int h = hashCode;
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  @Override
+  public void close() {
+    if (slots != null) {
+      slots.close();
+    }
+    hashCodes.close();
+    keys.close();
+  }
+}
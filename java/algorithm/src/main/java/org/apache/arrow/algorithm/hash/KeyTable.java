@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.hash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.algorithm.sort.SortKeyEncoder;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.FixedSizeBinaryVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Hash table, which maps the values of one or more key columns of {@link VectorSchemaRoot}s to
+ * dense ids in order of insertion. Nulls are keys like any other value, so null keys are equal.
+ *
+ * <p>The key columns of each batch are encoded by a {@link SortKeyEncoder} into one binary key
+ * per row, which is looked up in a {@link BinaryHashTable}. A single fixed-width key column,
+ * whose values fit in a long, is looked up in a {@link LongHashTable} without encoding.</p>
+ */
+public final class KeyTable implements AutoCloseable {
+
+  private final BufferAllocator allocator;
+
+  private final int[] keyColumns;
+
+  private final ArrowBufHasher hasher;
+
+  /**
+   * The width of the only key column, if it is a fixed-width column whose values fit in a long;
+   * or -1.
+   */
+  private final int longKeyWidth;
+
+  /**
+   * The encoder of the key columns, if they are not looked up as longs.
+   */
+  private final SortKeyEncoder keyEncoder;
+
+  private final BinaryHashTable binaryKeys;
+
+  private final LongHashTable longKeys;
+
+  /**
+   * The id of the null key with long keys, or -1 if there is none yet.
+   */
+  private int nullId = -1;
+
+  /**
+   * Constructs an empty table.
+   * @param allocator the allocator for the memory of the table.
+   * @param schema the schema of the batches.
+   * @param keyColumns the indices of the key columns.
+   * @param hasher the hasher of the encoded keys.
+   * @throws IllegalArgumentException if a key column is not supported by {@link SortKeyEncoder}.
+   */
+  public KeyTable(BufferAllocator allocator, Schema schema, int[] keyColumns, ArrowBufHasher hasher) {
+    Preconditions.checkArgument(keyColumns.length > 0, "There must be at least one key column");
+    final List<SortKeyEncoder.SortColumn> sortColumns = new ArrayList<>();
+    int longKeyWidth = -1;
+    for (int keyColumn : keyColumns) {
+      Preconditions.checkElementIndex(keyColumn, schema.getFields().size(), "key column");
+      sortColumns.add(SortKeyEncoder.SortColumn.ascending(keyColumn));
+      try (FieldVector vector = schema.getFields().get(keyColumn).createVector(allocator)) {
+        if (!SortKeyEncoder.isSupported(vector)) {
+          throw new IllegalArgumentException("Key column " + vector.getName() + " of type " +
+              vector.getField().getType() + " is not supported");
+        }
+        if (keyColumns.length == 1 && vector instanceof BaseFixedWidthVector && !(vector instanceof BitVector) &&
+            isLongKeyWidth(((BaseFixedWidthVector) vector).getTypeWidth())) {
+          longKeyWidth = ((BaseFixedWidthVector) vector).getTypeWidth();
+        }
+      }
+    }
+    this.allocator = allocator;
+    this.keyColumns = keyColumns.clone();
+    this.hasher = hasher;
+    this.longKeyWidth = longKeyWidth;
+    if (longKeyWidth > 0) {
+      this.keyEncoder = null;
+      this.binaryKeys = null;
+      this.longKeys = new LongHashTable(allocator);
+    } else {
+      this.keyEncoder = new SortKeyEncoder(sortColumns);
+      this.binaryKeys = new BinaryHashTable(allocator);
+      this.longKeys = null;
+    }
+  }
+
+  /**
+   * Gets the number of keys in the table.
+   */
+  public int size() {
+    if (longKeys != null) {
+      return longKeys.size() + (nullId >= 0 ? 1 : 0);
+    }
+    return binaryKeys.size();
+  }
+
+  /**
+   * Gets the ids of the keys of the rows of a batch, inserting the absent keys with the next ids.
+   * @param batch the batch, with the schema of the table.
+   * @param ids the array to fill with the ids of the rows, whose length is at least the row count.
+   */
+  public void insert(VectorSchemaRoot batch, int[] ids) {
+    lookup(batch, ids, true);
+  }
+
+  /**
+   * Gets the ids of the keys of the rows of a batch, without inserting the absent keys. This
+   * method does not change the table, so it can be called concurrently, as long as there are no
+   * concurrent insertions.
+   * @param batch the batch, with the schema of the table.
+   * @param ids the array to fill with the ids of the rows, or -1 for absent keys, whose length
+   *     is at least the row count.
+   */
+  public void find(VectorSchemaRoot batch, int[] ids) {
+    lookup(batch, ids, false);
+  }
+
+  private void lookup(VectorSchemaRoot batch, int[] ids, boolean insert) {
+    Preconditions.checkArgument(ids.length >= batch.getRowCount(), "The ids are shorter than the batch");
+    if (batch.getRowCount() == 0) {
+      return;
+    }
+    if (longKeys != null) {
+      lookupLongKeys(batch, ids, insert);
+      return;
+    }
+    final int fixedKeyWidth = keyEncoder.getFixedKeyWidth(batch);
+    if (fixedKeyWidth > 0) {
+      try (FixedSizeBinaryVector keys = keyEncoder.encodeFixedWidth(batch, allocator)) {
+        lookupBinaryKeys(batch.getRowCount(), keys.getDataBuffer(), null, fixedKeyWidth, ids, insert);
+      }
+    } else {
+      try (VarBinaryVector keys = keyEncoder.encode(batch, allocator)) {
+        lookupBinaryKeys(batch.getRowCount(), keys.getDataBuffer(), keys.getOffsetBuffer(), -1, ids, insert);
+      }
+    }
+  }
+
+  private void lookupBinaryKeys(int rowCount, ArrowBuf keyData, ArrowBuf keyOffsets, int keyWidth, int[] ids,
+      boolean insert) {
+    final ArrowBufPointer keyPointer = new ArrowBufPointer(hasher);
+    for (int row = 0; row < rowCount; row++) {
+      final long start;
+      final long end;
+      if (keyWidth > 0) {
+        start = (long) row * keyWidth;
+        end = start + keyWidth;
+      } else {
+        start = keyOffsets.getInt((long) row * VarBinaryVector.OFFSET_WIDTH);
+        end = keyOffsets.getInt((long) (row + 1) * VarBinaryVector.OFFSET_WIDTH);
+      }
+      keyPointer.set(keyData, start, end - start);
+      ids[row] = insert ? binaryKeys.getOrInsert(keyPointer) : binaryKeys.get(keyPointer);
+    }
+  }
+
+  private void lookupLongKeys(VectorSchemaRoot batch, int[] ids, boolean insert) {
+    final int rowCount = batch.getRowCount();
+    final FieldVector keyVector = batch.getVector(keyColumns[0]);
+    final ArrowBuf keyData = keyVector.getDataBuffer();
+    final boolean mayHaveNulls = keyVector.getNullCount() > 0;
+    for (int row = 0; row < rowCount; row++) {
+      if (mayHaveNulls && keyVector.isNull(row)) {
+        if (nullId < 0 && insert) {
+          nullId = size();
+        }
+        ids[row] = nullId;
+      } else {
+        final long key = readLongKey(keyData, row);
+        final int tableId = insert ? longKeys.getOrInsert(key) : longKeys.get(key);
+        // the ids of the table skip the id of the null key
+        ids[row] = nullId >= 0 && tableId >= nullId ? tableId + 1 : tableId;
+      }
+    }
+  }
+
+  /**
+   * Whether single keys of a width are read as longs, other widths (e.g. fixed size binaries of 3 bytes) are
+   * encoded as binary keys.
+   */
+  private static boolean isLongKeyWidth(int width) {
+    return width == Byte.BYTES || width == Short.BYTES || width == Integer.BYTES || width == Long.BYTES;
+  }
+
+  private long readLongKey(ArrowBuf keyData, int row) {
+    switch (longKeyWidth) {
+      case Byte.BYTES:
+        return keyData.getByte(row);
+      case Short.BYTES:
+        return keyData.getShort((long) row * Short.BYTES);
+      case Integer.BYTES:
+        return keyData.getInt((long) row * Integer.BYTES);
+      case Long.BYTES:
+        return keyData.getLong((long) row * Long.BYTES);
+      default:
+        throw new IllegalStateException("Unexpected key width " + longKeyWidth);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (binaryKeys != null) {
+      binaryKeys.close();
+    }
+    if (longKeys != null) {
+      longKeys.close();
+    }
+  }
+}
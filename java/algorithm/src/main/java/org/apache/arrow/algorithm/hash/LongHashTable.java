@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.hash;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+
+/**
+ * Open-addressing hash table, which maps 64-bit keys to dense ids in order of insertion.
+ *
+ * <p>This is the counterpart of {@link BinaryHashTable} for keys that fit in a long, which are
+ * compared directly instead of as bytes. All the memory is allocated from a {@link BufferAllocator}.</p>
+ */
+public final class LongHashTable implements AutoCloseable {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private static final int SLOT_WIDTH = Integer.BYTES;
+
+  private final BufferAllocator allocator;
+
+  private final BigIntVector keys;
+
+  private ArrowBuf slots;
+
+  private int mask;
+
+  private int size;
+
+  /**
+   * Constructs an empty table.
+   * @param allocator the allocator for the memory of the table.
+   */
+  public LongHashTable(BufferAllocator allocator) {
+    this.allocator = allocator;
+    this.keys = new BigIntVector("keys", allocator);
+    try {
+      keys.allocateNew();
+      slots = allocateSlots(INITIAL_CAPACITY);
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  private ArrowBuf allocateSlots(int capacity) {
+    ArrowBuf buf = allocator.buffer((long) capacity * SLOT_WIDTH);
+    buf.setZero(0, buf.capacity());
+    mask = capacity - 1;
+    return buf;
+  }
+
+  /**
+   * Gets the number of keys in the table.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the id of a key, inserting the key with the next id if it is absent.
+   * @return the id of the key, which is {@code size() - 1} if the key was inserted.
+   */
+  public int getOrInsert(long key) {
+    final int slot = findSlot(key);
+    final int entry = slots.getInt((long) slot * SLOT_WIDTH);
+    if (entry != 0) {
+      return entry - 1;
+    }
+
+    final int id = size++;
+    keys.setSafe(id, key);
+    slots.setInt((long) slot * SLOT_WIDTH, id + 1);
+    if (size > (mask + 1) / 2) {
+      rehash();
+    }
+    return id;
+  }
+
+  /**
+   * Gets the id of a key. This method does not change the table, so it can be called
+   * concurrently, as long as there are no concurrent insertions.
+   * @return the id of the key, or -1 if it is absent.
+   */
+  public int get(long key) {
+    return slots.getInt((long) findSlot(key) * SLOT_WIDTH) - 1;
+  }
+
+  /**
+   * Finds the slot of a key, or the empty slot where it would be inserted.
+   */
+  private int findSlot(long key) {
+    final ArrowBuf keyBuffer = keys.getDataBuffer();
+    int slot = hash(key) & mask;
+    while (true) {
+      final int entry = slots.getInt((long) slot * SLOT_WIDTH);
+      if (entry == 0 || keyBuffer.getLong((long) (entry - 1) * BigIntVector.TYPE_WIDTH) == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * Doubles the number of slots, and reinserts the ids.
+   */
+  private void rehash() {
+    final ArrowBuf newSlots = allocateSlots((mask + 1) * 2);
+    slots.close();
+    slots = newSlots;
+    final ArrowBuf keyBuffer = keys.getDataBuffer();
+    for (int id = 0; id < size; id++) {
+      int slot = hash(keyBuffer.getLong((long) id * BigIntVector.TYPE_WIDTH)) & mask;
+      while (slots.getInt((long) slot * SLOT_WIDTH) != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots.setInt((long) slot * SLOT_WIDTH, id + 1);
+    }
+  }
+
+  /**
+   * Hashes a key (the finalization step of the 64-bit MurmurHash3).
+   */
+  static int hash(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+
+  @Override
+  public void close() {
+    if (slots != null) {
+      slots.close();
+    }
+    keys.close();
+  }
+}
@@ -0,0 +1,381 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.join;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.arrow.algorithm.hash.KeyTable;
+import org.apache.arrow.algorithm.select.TakeVisitor;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.memory.util.hash.SimpleHasher;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.VectorSchemaRootAppender;
+
+/**
+ * Hash join of a stream of probe {@link VectorSchemaRoot}s against a build side, collected in memory.
+ *
+ * <p>The rows of the build side are appended to one root, and their keys are mapped to dense ids
+ * by an off-heap {@link KeyTable}. The rows of each key are chained by row index in two
+ * {@link IntVector}s, so that the build side is held in memory of the allocator only. Then each
+ * probe batch is looked up in the table, and the matching rows are gathered into new vectors
+ * by {@link TakeVisitor}s.</p>
+ *
+ * <p>As in SQL, null keys match no rows: build rows with a null in any key column are not added
+ * to the table, so probe rows with null keys find no match. Once the build side is finished,
+ * probing does not change the joiner, so batches can be probed concurrently.</p>
+ */
+public class HashJoiner implements AutoCloseable {
+
+  /**
+   * The type of a join.
+   */
+  public enum JoinType {
+    /**
+     * The pairs of matching probe and build rows.
+     */
+    INNER,
+    /**
+     * The pairs of matching probe and build rows, and the probe rows without a match, with null build columns.
+     */
+    LEFT,
+    /**
+     * The probe rows with at least one match, once each.
+     */
+    SEMI,
+    /**
+     * The probe rows without a match.
+     */
+    ANTI
+  }
+
+  private final BufferAllocator allocator;
+
+  private final int[] buildKeyColumns;
+
+  private final int[] probeKeyColumns;
+
+  private final JoinType joinType;
+
+  private final ArrowBufHasher hasher;
+
+  /**
+   * The fields of the key columns, as the schema of the key table.
+   */
+  private final List<Field> keyFields;
+
+  private final Schema outputSchema;
+
+  private final VectorSchemaRoot buildRoot;
+
+  private KeyTable keyTable;
+
+  /**
+   * The first build row of each key id, or null before the build side is finished.
+   */
+  private IntVector firstRows;
+
+  /**
+   * The next build row of each build row with the same key, in ascending order, or -1.
+   */
+  private IntVector nextRows;
+
+  /**
+   * Constructs a joiner with the default hasher.
+   * @param allocator the allocator for the build side and the results.
+   * @param buildSchema the schema of the build batches.
+   * @param buildKeyColumns the indices of the key columns of the build batches.
+   * @param probeSchema the schema of the probe batches.
+   * @param probeKeyColumns the indices of the key columns of the probe batches, matching the build key columns.
+   * @param joinType the type of the join.
+   */
+  public HashJoiner(BufferAllocator allocator, Schema buildSchema, int[] buildKeyColumns, Schema probeSchema,
+      int[] probeKeyColumns, JoinType joinType) {
+    this(allocator, buildSchema, buildKeyColumns, probeSchema, probeKeyColumns, joinType, SimpleHasher.INSTANCE);
+  }
+
+  /**
+   * Constructs a joiner.
+   * @param allocator the allocator for the build side and the results.
+   * @param buildSchema the schema of the build batches.
+   * @param buildKeyColumns the indices of the key columns of the build batches.
+   * @param probeSchema the schema of the probe batches.
+   * @param probeKeyColumns the indices of the key columns of the probe batches, matching the build key columns.
+   * @param joinType the type of the join.
+   * @param hasher the hasher of the encoded keys.
+   * @throws IllegalArgumentException if the key columns do not have the same types, or are not supported
+   *     by {@link KeyTable}.
+   */
+  public HashJoiner(BufferAllocator allocator, Schema buildSchema, int[] buildKeyColumns, Schema probeSchema,
+      int[] probeKeyColumns, JoinType joinType, ArrowBufHasher hasher) {
+    Preconditions.checkArgument(buildKeyColumns.length > 0, "There must be at least one key column");
+    Preconditions.checkArgument(buildKeyColumns.length == probeKeyColumns.length,
+        "The build and probe sides must have the same number of key columns");
+    this.keyFields = new ArrayList<>();
+    for (int i = 0; i < buildKeyColumns.length; i++) {
+      Preconditions.checkElementIndex(buildKeyColumns[i], buildSchema.getFields().size(), "build key column");
+      Preconditions.checkElementIndex(probeKeyColumns[i], probeSchema.getFields().size(), "probe key column");
+      Field buildField = buildSchema.getFields().get(buildKeyColumns[i]);
+      Field probeField = probeSchema.getFields().get(probeKeyColumns[i]);
+      if (!buildField.getType().equals(probeField.getType()) ||
+          !buildField.getChildren().equals(probeField.getChildren())) {
+        throw new IllegalArgumentException("Build key column " + buildField.getName() + " of type " +
+            buildField.getType() + " does not match probe key column " + probeField.getName() + " of type " +
+            probeField.getType());
+      }
+      keyFields.add(buildField);
+    }
+    this.allocator = allocator;
+    this.buildKeyColumns = buildKeyColumns.clone();
+    this.probeKeyColumns = probeKeyColumns.clone();
+    this.joinType = joinType;
+    this.hasher = hasher;
+
+    final List<Field> outputFields = new ArrayList<>(probeSchema.getFields());
+    if (joinType == JoinType.INNER) {
+      outputFields.addAll(buildSchema.getFields());
+    } else if (joinType == JoinType.LEFT) {
+      for (Field field : buildSchema.getFields()) {
+        outputFields.add(new Field(field.getName(), FieldType.nullable(field.getType()), field.getChildren()));
+      }
+    }
+    this.outputSchema = new Schema(outputFields);
+
+    // validate the key columns before allocating the build side
+    new KeyTable(allocator, new Schema(keyFields), keyIndices(), hasher).close();
+    this.buildRoot = VectorSchemaRoot.create(buildSchema, allocator);
+    buildRoot.allocateNew();
+  }
+
+  private int[] keyIndices() {
+    final int[] indices = new int[keyFields.size()];
+    for (int i = 0; i < indices.length; i++) {
+      indices[i] = i;
+    }
+    return indices;
+  }
+
+  /**
+   * Gets a view of the key columns of a batch, with the schema of the key table.
+   */
+  private VectorSchemaRoot keyView(VectorSchemaRoot batch, int[] keyColumns) {
+    final List<FieldVector> keyVectors = new ArrayList<>();
+    for (int keyColumn : keyColumns) {
+      keyVectors.add(batch.getVector(keyColumn));
+    }
+    return new VectorSchemaRoot(keyFields, keyVectors, batch.getRowCount());
+  }
+
+  /**
+   * Gets the schema of the results of probing, with the probe columns followed by the build columns
+   * for {@link JoinType#INNER} and {@link JoinType#LEFT} joins, or the probe columns only otherwise.
+   */
+  public Schema getOutputSchema() {
+    return outputSchema;
+  }
+
+  /**
+   * Adds the rows of a batch to the build side. The batch is not changed, and can be reused after this
+   * method returns.
+   * @param batch the batch, with the build schema.
+   * @throws IllegalStateException if the build side is finished.
+   */
+  public void addBuildBatch(VectorSchemaRoot batch) {
+    Preconditions.checkState(keyTable == null, "The build side is finished");
+    VectorSchemaRootAppender.append(buildRoot, batch);
+  }
+
+  /**
+   * Finishes the build side, by building the hash table of its rows. Batches can be probed afterwards.
+   * @throws IllegalStateException if the build side is already finished.
+   */
+  public void finishBuild() {
+    Preconditions.checkState(keyTable == null, "The build side is already finished");
+    final int rowCount = buildRoot.getRowCount();
+    final int[] ids = new int[rowCount];
+    final KeyTable table = new KeyTable(allocator, new Schema(keyFields), keyIndices(), hasher);
+    IntVector first = null;
+    IntVector next = null;
+    try {
+      table.insert(keyView(buildRoot, buildKeyColumns), ids);
+      first = new IntVector("first rows", allocator);
+      next = new IntVector("next rows", allocator);
+      first.allocateNew(table.size());
+      next.allocateNew(rowCount);
+      for (int id = 0; id < table.size(); id++) {
+        first.set(id, -1);
+      }
+      // insert at the heads of the chains in reverse, so that the chains are in ascending order
+      for (int row = rowCount - 1; row >= 0; row--) {
+        if (hasNullKey(buildRoot, buildKeyColumns, row)) {
+          continue;
+        }
+        next.set(row, first.get(ids[row]));
+        first.set(ids[row], row);
+      }
+      first.setValueCount(table.size());
+      next.setValueCount(rowCount);
+    } catch (RuntimeException e) {
+      AutoCloseables.close(e, table, first, next);
+      throw e;
+    }
+    keyTable = table;
+    firstRows = first;
+    nextRows = next;
+  }
+
+  private static boolean hasNullKey(VectorSchemaRoot batch, int[] keyColumns, int row) {
+    for (int keyColumn : keyColumns) {
+      if (batch.getVector(keyColumn).isNull(row)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Joins a probe batch with the build side. This method can be called concurrently. The batch is not changed.
+   * @param batch the batch, with the probe schema.
+   * @return the joined rows, with the output schema, in order of the probe rows, and the build rows
+   *     of each probe row in order of addition. The root is owned by the caller.
+   * @throws IllegalStateException if the build side is not finished.
+   */
+  public VectorSchemaRoot probe(VectorSchemaRoot batch) {
+    Preconditions.checkState(keyTable != null, "The build side is not finished");
+    final int rowCount = batch.getRowCount();
+    final int[] ids = new int[rowCount];
+    keyTable.find(keyView(batch, probeKeyColumns), ids);
+
+    final RowPairs pairs = new RowPairs(rowCount);
+    for (int row = 0; row < rowCount; row++) {
+      int buildRow = ids[row] < 0 ? -1 : firstRows.get(ids[row]);
+      if (joinType == JoinType.SEMI || joinType == JoinType.ANTI) {
+        if ((buildRow >= 0) == (joinType == JoinType.SEMI)) {
+          pairs.add(row, -1);
+        }
+      } else if (buildRow < 0) {
+        if (joinType == JoinType.LEFT) {
+          pairs.add(row, -1);
+        }
+      } else {
+        for (; buildRow >= 0; buildRow = nextRows.get(buildRow)) {
+          pairs.add(row, buildRow);
+        }
+      }
+    }
+    final int outputCount = pairs.count;
+
+    final VectorSchemaRoot output = VectorSchemaRoot.create(outputSchema, allocator);
+    try {
+      final int probeColumnCount = batch.getFieldVectors().size();
+      for (int column = 0; column < probeColumnCount; column++) {
+        batch.getVector(column).accept(new TakeVisitor(output.getVector(column), pairs.probeRows, outputCount), null);
+      }
+      if (joinType == JoinType.INNER || joinType == JoinType.LEFT) {
+        for (int column = 0; column < buildRoot.getFieldVectors().size(); column++) {
+          final FieldVector target = output.getVector(probeColumnCount + column);
+          buildRoot.getVector(column).accept(new TakeVisitor(target, pairs.buildRows, outputCount), null);
+        }
+      }
+      output.setRowCount(outputCount);
+    } catch (RuntimeException e) {
+      output.close();
+      throw e;
+    }
+    return output;
+  }
+
+  /**
+   * Joins probe batches with the build side on an executor, one task per batch.
+   * @param batches the batches, with the probe schema.
+   * @param executor the executor of the tasks.
+   * @return the joined rows of each batch, in order of the batches. The roots are owned by the caller.
+   * @throws ExecutionException if an exception occurs in a task.
+   * @throws InterruptedException if the thread is interrupted while waiting for the tasks.
+   */
+  public List<VectorSchemaRoot> probe(List<VectorSchemaRoot> batches, ExecutorService executor)
+      throws ExecutionException, InterruptedException {
+    Preconditions.checkState(keyTable != null, "The build side is not finished");
+    final List<Future<VectorSchemaRoot>> futures = new ArrayList<>();
+    for (VectorSchemaRoot batch : batches) {
+      futures.add(executor.submit(() -> probe(batch)));
+    }
+    final List<VectorSchemaRoot> outputs = new ArrayList<>();
+    try {
+      for (Future<VectorSchemaRoot> future : futures) {
+        outputs.add(future.get());
+      }
+    } catch (ExecutionException | InterruptedException | RuntimeException e) {
+      // wait for the remaining tasks, so that their outputs are released too
+      for (int i = outputs.size(); i < futures.size(); i++) {
+        try {
+          outputs.add(futures.get(i).get());
+        } catch (ExecutionException | InterruptedException | RuntimeException suppressed) {
+          e.addSuppressed(suppressed);
+        }
+      }
+      AutoCloseables.close(e, outputs);
+      throw e;
+    }
+    return outputs;
+  }
+
+  /**
+   * The probe and build rows of the output rows, with -1 for a missing build row.
+   */
+  private static final class RowPairs {
+
+    private int[] probeRows;
+
+    private int[] buildRows;
+
+    private int count;
+
+    RowPairs(int capacity) {
+      probeRows = new int[Math.max(16, capacity)];
+      buildRows = new int[probeRows.length];
+    }
+
+    void add(int probeRow, int buildRow) {
+      if (count == probeRows.length) {
+        probeRows = Arrays.copyOf(probeRows, count * 2);
+        buildRows = Arrays.copyOf(buildRows, count * 2);
+      }
+      probeRows[count] = probeRow;
+      buildRows[count] = buildRow;
+      count++;
+    }
+  }
+
+  @Override
+  public void close() {
+    AutoCloseables.closeNoChecked(AutoCloseables.all(Arrays.asList(buildRoot, keyTable, firstRows, nextRows)));
+  }
+}
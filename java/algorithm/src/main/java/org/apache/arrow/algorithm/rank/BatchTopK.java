@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.rank;
+
+import org.apache.arrow.algorithm.sort.CompositeVectorComparator;
+import org.apache.arrow.algorithm.sort.DefaultVectorComparators;
+import org.apache.arrow.algorithm.sort.VectorValueComparator;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Selector of the k smallest rows of a stream of {@link VectorSchemaRoot}s, ordered by key columns.
+ *
+ * <p>The batches are consumed one at a time, and only candidate rows are copied into a buffer
+ * of at most 2k rows. When the buffer is full, it is compacted to its k smallest rows, and the
+ * greatest of them becomes a threshold: later rows that are not smaller than the threshold are
+ * skipped with a single comparison. So the memory is bounded by O(k) rows, whatever the length
+ * of the stream.</p>
+ *
+ * <p>Equal rows are ordered by their order in the stream, so the result is the prefix of a
+ * stable sort of the stream.</p>
+ */
+public class BatchTopK implements AutoCloseable {
+
+  private final BufferAllocator allocator;
+
+  private final Schema schema;
+
+  private final int[] keyColumns;
+
+  private final VectorValueComparator<?>[] keyComparators;
+
+  private final int k;
+
+  /**
+   * The candidate rows.
+   */
+  private VectorSchemaRoot candidates;
+
+  /**
+   * The root the candidates are compacted into.
+   */
+  private VectorSchemaRoot spare;
+
+  /**
+   * The position of the greatest candidate after the last compaction,
+   * or -1 if there were less than k candidates.
+   */
+  private int threshold = -1;
+
+  /**
+   * Constructs a selector with the default comparators for the key columns.
+   * @param allocator the allocator for the candidate rows and for the result.
+   * @param schema the schema of the batches.
+   * @param keyColumns the indices of the columns to order by, in order of precedence.
+   * @param k the maximum number of rows to select.
+   */
+  public BatchTopK(BufferAllocator allocator, Schema schema, int[] keyColumns, int k) {
+    this(allocator, schema, keyColumns, null, k);
+  }
+
+  /**
+   * Constructs a selector.
+   * @param allocator the allocator for the candidate rows and for the result.
+   * @param schema the schema of the batches.
+   * @param keyColumns the indices of the columns to order by, in order of precedence.
+   * @param keyComparators the comparators of the key columns, used as prototypes through
+   *     {@link VectorValueComparator#createNew()}, or null to use the default comparators.
+   * @param k the maximum number of rows to select.
+   */
+  public BatchTopK(BufferAllocator allocator, Schema schema, int[] keyColumns,
+      VectorValueComparator<?>[] keyComparators, int k) {
+    Preconditions.checkArgument(keyColumns.length > 0, "At least one key column is required");
+    Preconditions.checkArgument(keyComparators == null || keyComparators.length == keyColumns.length,
+        "There must be one comparator per key column");
+    Preconditions.checkArgument(k >= 0, "k must not be negative");
+    for (int keyColumn : keyColumns) {
+      Preconditions.checkElementIndex(keyColumn, schema.getFields().size(), "key column");
+    }
+    this.allocator = allocator;
+    this.schema = schema;
+    this.keyColumns = keyColumns.clone();
+    this.keyComparators = keyComparators == null ? null : keyComparators.clone();
+    this.k = k;
+    this.candidates = createRoot();
+    this.spare = createRoot();
+  }
+
+  private VectorSchemaRoot createRoot() {
+    VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator);
+    root.allocateNew();
+    return root;
+  }
+
+  /**
+   * Consumes the rows of a batch. The batch is not changed, and can be reused after this method returns.
+   * @param batch the batch, with the schema of the selector.
+   */
+  public void consume(VectorSchemaRoot batch) {
+    if (k == 0) {
+      return;
+    }
+    final int rowCount = batch.getRowCount();
+    VectorValueComparator<ValueVector> thresholdComparator =
+        threshold < 0 ? null : createKeyComparator(batch, candidates);
+    int size = candidates.getRowCount();
+    for (int row = 0; row < rowCount; row++) {
+      if (thresholdComparator != null && thresholdComparator.compare(row, threshold) >= 0) {
+        continue;
+      }
+      copyRow(batch, row, candidates, size++);
+      if (size >= 2L * k) {
+        candidates.setRowCount(size);
+        compact();
+        size = candidates.getRowCount();
+        thresholdComparator = createKeyComparator(batch, candidates);
+      }
+    }
+    candidates.setRowCount(size);
+  }
+
+  /**
+   * Gets the selected rows, and resets the selector, so that it can consume another stream.
+   * @return the k smallest rows consumed, or all of them if there are less than k, in sorted order.
+   *     The root is owned by the caller.
+   */
+  public VectorSchemaRoot finish() {
+    compact();
+    final VectorSchemaRoot result = candidates;
+    candidates = createRoot();
+    threshold = -1;
+    return result;
+  }
+
+  /**
+   * Keeps the k smallest candidates, in sorted order.
+   */
+  private void compact() {
+    final int[] positions = VectorTopK.selectPositions(
+        createKeyComparator(candidates, candidates), candidates.getRowCount(), k);
+    spare.clear();
+    spare.allocateNew();
+    for (int i = 0; i < positions.length; i++) {
+      copyRow(candidates, positions[i], spare, i);
+    }
+    spare.setRowCount(positions.length);
+
+    final VectorSchemaRoot compacted = spare;
+    spare = candidates;
+    candidates = compacted;
+    threshold = positions.length == k ? k - 1 : -1;
+  }
+
+  private VectorValueComparator<ValueVector> createKeyComparator(VectorSchemaRoot root1, VectorSchemaRoot root2) {
+    VectorValueComparator[] innerComparators = new VectorValueComparator[keyColumns.length];
+    for (int i = 0; i < keyColumns.length; i++) {
+      FieldVector vector1 = root1.getVector(keyColumns[i]);
+      innerComparators[i] = keyComparators == null ?
+          DefaultVectorComparators.createDefaultComparator(vector1) : keyComparators[i].createNew();
+      innerComparators[i].attachVectors(vector1, root2.getVector(keyColumns[i]));
+    }
+    return new CompositeVectorComparator(innerComparators);
+  }
+
+  /**
+   * Copies a row to the given position of a root.
+   */
+  private static void copyRow(VectorSchemaRoot from, int fromIndex, VectorSchemaRoot to, int toIndex) {
+    for (int i = 0; i < to.getFieldVectors().size(); i++) {
+      to.getVector(i).copyFromSafe(fromIndex, toIndex, from.getVector(i));
+    }
+  }
+
+  @Override
+  public void close() {
+    candidates.close();
+    spare.close();
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.rank;
+
+import org.apache.arrow.algorithm.sort.VectorValueComparator;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+
+/**
+ * Utility for selecting the indices of the k smallest elements of a vector, in sorted order.
+ *
+ * <p>The selection keeps a bounded heap of k candidate indices, so it takes O(n log(k)) time
+ * and O(k) memory, where n is the length of the vector, instead of sorting the whole vector.
+ * Equal elements are ordered by their indices, so the result is the prefix of a stable sort.</p>
+ *
+ * @param <V> the vector type
+ */
+public class VectorTopK<V extends ValueVector> {
+
+  /**
+   * Selects the indices of the k smallest elements of a vector.
+   * The operation is performed without changing the vector.
+   * @param vector the vector from which to select the elements.
+   * @param comparator the criteria for vector element comparison.
+   * @param k the maximum number of elements to select.
+   * @param indices the vector for storing the selected indices, in sorted order of the elements.
+   *     Its value count is set to the number of selected indices.
+   * @return the number of selected indices, which is the smaller of k and the vector length.
+   */
+  public int select(V vector, VectorValueComparator<V> comparator, int k, IntVector indices) {
+    comparator.attachVector(vector);
+    final int[] positions = selectPositions(comparator, vector.getValueCount(), k);
+    indices.setValuesSafe(0, positions, 0, positions.length);
+    indices.setValueCount(positions.length);
+    return positions.length;
+  }
+
+  /**
+   * Selects the positions of the k smallest rows, compared by a comparator attached to the rows.
+   * @param comparator the comparator of the rows.
+   * @param rowCount the number of rows.
+   * @param k the maximum number of rows to select.
+   * @return the positions of the selected rows, in sorted order.
+   */
+  static int[] selectPositions(VectorValueComparator<?> comparator, int rowCount, int k) {
+    Preconditions.checkArgument(k >= 0, "k must not be negative");
+    final int heapSize = Math.min(k, rowCount);
+    // a max-heap of the candidates, whose root is the greatest candidate
+    final int[] heap = new int[heapSize];
+    for (int row = 0; row < heapSize; row++) {
+      heap[row] = row;
+      siftUp(comparator, heap, row);
+    }
+    for (int row = heapSize; row < rowCount; row++) {
+      // a row equal to the root has a greater index, and is not selected
+      if (heapSize > 0 && comparator.compare(row, heap[0]) < 0) {
+        heap[0] = row;
+        siftDown(comparator, heap, 0, heapSize);
+      }
+    }
+    // heap sort the candidates in place
+    for (int size = heapSize - 1; size > 0; size--) {
+      final int greatest = heap[0];
+      heap[0] = heap[size];
+      heap[size] = greatest;
+      siftDown(comparator, heap, 0, size);
+    }
+    return heap;
+  }
+
+  /**
+   * Compares two rows by the comparator, then by their positions.
+   */
+  private static boolean greaterThan(VectorValueComparator<?> comparator, int row1, int row2) {
+    final int result = comparator.compare(row1, row2);
+    return result > 0 || (result == 0 && row1 > row2);
+  }
+
+  private static void siftUp(VectorValueComparator<?> comparator, int[] heap, int pos) {
+    final int row = heap[pos];
+    while (pos > 0) {
+      final int parent = (pos - 1) >>> 1;
+      if (!greaterThan(comparator, row, heap[parent])) {
+        break;
+      }
+      heap[pos] = heap[parent];
+      pos = parent;
+    }
+    heap[pos] = row;
+  }
+
+  private static void siftDown(VectorValueComparator<?> comparator, int[] heap, int pos, int size) {
+    final int row = heap[pos];
+    while (true) {
+      int child = 2 * pos + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && greaterThan(comparator, heap[child + 1], heap[child])) {
+        child++;
+      }
+      if (!greaterThan(comparator, heap[child], row)) {
+        break;
+      }
+      heap[pos] = heap[child];
+      pos = child;
+    }
+    heap[pos] = row;
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.select;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+
+/**
+ * Utilities to select the rows of vectors and {@link VectorSchemaRoot}s by index (take) or by
+ * mask (filter), with a {@link TakeVisitor}.
+ */
+public final class SelectionUtils {
+
+  /**
+   * Gets the rows of a vector at the given indices.
+   * @param vector the vector to take the values from.
+   * @param indices the indices of the values. A null index gives a null value.
+   * @param allocator the allocator for the result.
+   * @param <V> the type of the vector.
+   * @return a new vector, whose value at index {@code i} is the value of the vector at
+   *     {@code indices[i]}. The vector is owned by the caller.
+   * @throws IndexOutOfBoundsException if an index is out of bounds.
+   */
+  public static <V extends ValueVector> V take(V vector, IntVector indices, BufferAllocator allocator) {
+    final int[] array = toIndices(indices, vector.getValueCount());
+    return take(vector, array, array.length, allocator);
+  }
+
+  /**
+   * Gets the rows of a vector where a mask is set. Rows where the mask is null are not selected.
+   * @param vector the vector to filter.
+   * @param mask the mask, with the value count of the vector.
+   * @param allocator the allocator for the result.
+   * @param <V> the type of the vector.
+   * @return a new vector, with the selected values in order. The vector is owned by the caller.
+   */
+  public static <V extends ValueVector> V filter(V vector, BitVector mask, BufferAllocator allocator) {
+    checkMask(mask, vector.getValueCount());
+    final int[] array = maskToIndices(mask);
+    return take(vector, array, array.length, allocator);
+  }
+
+  /**
+   * Gets the rows of a root at the given indices.
+   * @param root the root to take the rows from.
+   * @param indices the indices of the rows. A null index gives a row of nulls.
+   * @param allocator the allocator for the result.
+   * @return a new root, with the schema of the root. The root is owned by the caller.
+   * @throws IndexOutOfBoundsException if an index is out of bounds.
+   */
+  public static VectorSchemaRoot take(VectorSchemaRoot root, IntVector indices, BufferAllocator allocator) {
+    final int[] array = toIndices(indices, root.getRowCount());
+    return take(root, array, array.length, allocator);
+  }
+
+  /**
+   * Gets the rows of a root where a mask is set. Rows where the mask is null are not selected.
+   * @param root the root to filter.
+   * @param mask the mask, with the row count of the root.
+   * @param allocator the allocator for the result.
+   * @return a new root, with the schema of the root. The root is owned by the caller.
+   */
+  public static VectorSchemaRoot filter(VectorSchemaRoot root, BitVector mask, BufferAllocator allocator) {
+    checkMask(mask, root.getRowCount());
+    final int[] array = maskToIndices(mask);
+    return take(root, array, array.length, allocator);
+  }
+
+  /**
+   * Gets the rows of a root at the given indices.
+   * @param root the root to take the rows from.
+   * @param indices the indices of the rows, or negative for rows of nulls.
+   * @param count the number of indices.
+   * @param allocator the allocator for the result.
+   * @return a new root, with the schema of the root and {@code count} rows. The root is owned by the caller.
+   * @throws IndexOutOfBoundsException if an index is out of bounds.
+   */
+  public static VectorSchemaRoot take(VectorSchemaRoot root, int[] indices, int count, BufferAllocator allocator) {
+    final List<FieldVector> vectors = new ArrayList<>();
+    try {
+      for (FieldVector vector : root.getFieldVectors()) {
+        vectors.add(take(vector, indices, count, allocator));
+      }
+    } catch (RuntimeException e) {
+      AutoCloseables.close(e, vectors);
+      throw e;
+    }
+    return new VectorSchemaRoot(root.getSchema(), vectors, count);
+  }
+
+  /**
+   * Gets the rows of a vector at the given indices.
+   * @param vector the vector to take the values from.
+   * @param indices the indices of the values, or negative for nulls.
+   * @param count the number of indices.
+   * @param allocator the allocator for the result.
+   * @param <V> the type of the vector.
+   * @return a new vector, with {@code count} values. The vector is owned by the caller.
+   * @throws IndexOutOfBoundsException if an index is out of bounds.
+   */
+  @SuppressWarnings("unchecked")
+  public static <V extends ValueVector> V take(V vector, int[] indices, int count, BufferAllocator allocator) {
+    // the target is created from the field, which keeps the type ids of unions
+    final ValueVector target = vector.getField().createVector(allocator);
+    try {
+      vector.accept(new TakeVisitor(target, indices, count), null);
+    } catch (RuntimeException e) {
+      target.close();
+      throw e;
+    }
+    return (V) target;
+  }
+
+  private static int[] toIndices(IntVector indices, int valueCount) {
+    final int[] array = new int[indices.getValueCount()];
+    for (int i = 0; i < array.length; i++) {
+      if (indices.isNull(i)) {
+        array[i] = -1;
+      } else {
+        array[i] = indices.get(i);
+        if (array[i] < 0 || array[i] >= valueCount) {
+          throw new IndexOutOfBoundsException("Index " + array[i] + " out of bounds for value count " + valueCount);
+        }
+      }
+    }
+    return array;
+  }
+
+  private static void checkMask(BitVector mask, int valueCount) {
+    if (mask.getValueCount() != valueCount) {
+      throw new IllegalArgumentException("The mask has " + mask.getValueCount() + " values, instead of " +
+          valueCount);
+    }
+  }
+
+  /**
+   * Gets the indices of the set values of a mask, a byte of the mask at a time.
+   */
+  private static int[] maskToIndices(BitVector mask) {
+    final int valueCount = mask.getValueCount();
+    final int byteCount = BitVectorHelper.getValidityBufferSize(valueCount);
+    final ArrowBuf validity = mask.getValidityBuffer();
+    final ArrowBuf data = mask.getDataBuffer();
+    int count = 0;
+    for (int i = 0; i < byteCount; i++) {
+      count += Integer.bitCount(maskByte(validity, data, i, valueCount));
+    }
+    final int[] indices = new int[count];
+    count = 0;
+    for (int i = 0; i < byteCount; i++) {
+      int bits = maskByte(validity, data, i, valueCount);
+      while (bits != 0) {
+        indices[count++] = i * Byte.SIZE + Integer.numberOfTrailingZeros(bits);
+        bits &= bits - 1;
+      }
+    }
+    return indices;
+  }
+
+  /**
+   * Gets the bits of a byte of a mask, which are set where the mask is set and not null.
+   */
+  private static int maskByte(ArrowBuf validity, ArrowBuf data, int byteIndex, int valueCount) {
+    int bits = validity.getByte(byteIndex) & data.getByte(byteIndex) & 0xFF;
+    final int remaining = valueCount - byteIndex * Byte.SIZE;
+    if (remaining < Byte.SIZE) {
+      bits &= (1 << remaining) - 1;
+    }
+    return bits;
+  }
+
+  private SelectionUtils() {
+  }
+}
@@ -0,0 +1,522 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.select;
+
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseLargeVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthViewVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.ExtensionTypeVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.NullVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.compare.Range;
+import org.apache.arrow.vector.compare.RangeEqualsVisitor;
+import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.BaseListViewVector;
+import org.apache.arrow.vector.complex.DenseUnionVector;
+import org.apache.arrow.vector.complex.FixedSizeListVector;
+import org.apache.arrow.vector.complex.LargeListVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.complex.UnionVector;
+
+/**
+ * Visitor to gather the values of a vector at given indices into a target vector, so that the
+ * value at index {@code i} of the target is the value at index {@code indices[i]} of the visited
+ * vector, or null if the index is negative.
+ *
+ * <p>The target vector must be empty and have the same type as the visited vector, like a vector
+ * created from its field. Its buffers are allocated once
+ * for the final value count. Fixed-width values are copied without bounds checks, after the
+ * indices are checked, and the data of variable-width vectors is copied in one block per run of
+ * consecutive indices. Nested vectors are gathered recursively, with the indices of the child
+ * values. A dictionary-encoded vector is gathered as its indices, so the dictionary is
+ * unchanged.</p>
+ */
+public class TakeVisitor implements VectorVisitor<ValueVector, Void> {
+
+  /**
+   * The maximum length of a short copy of memory.
+   */
+  private static final int SHORT_COPY_LENGTH = 64;
+
+  private final ValueVector targetVector;
+
+  private final int[] indices;
+
+  private final int count;
+
+  /**
+   * Constructs a visitor.
+   * @param targetVector the empty vector to gather the values into.
+   * @param indices the indices of the values to gather, or negative for nulls.
+   * @param count the number of indices, which is the value count of the target vector.
+   */
+  public TakeVisitor(ValueVector targetVector, int[] indices, int count) {
+    Preconditions.checkArgument(count >= 0 && count <= indices.length, "Invalid count %s", count);
+    this.targetVector = targetVector;
+    this.indices = indices;
+    this.count = count;
+  }
+
+  private void checkArguments(ValueVector vector) {
+    Preconditions.checkArgument(targetVector.getField().getType().equals(vector.getField().getType()),
+        "The target vector must have the same type as the vector to take values from");
+    final int valueCount = vector.getValueCount();
+    for (int i = 0; i < count; i++) {
+      if (indices[i] >= valueCount) {
+        throw new IndexOutOfBoundsException("Index " + indices[i] + " out of bounds for value count " + valueCount);
+      }
+    }
+  }
+
+  private static boolean isSet(long validityAddress, int index) {
+    return ((MemoryUtil.UNSAFE.getByte(validityAddress + (index >> 3)) >> (index & 7)) & 1) != 0;
+  }
+
+  private static void setBit(long validityAddress, int index) {
+    final long address = validityAddress + (index >> 3);
+    MemoryUtil.UNSAFE.putByte(address, (byte) (MemoryUtil.UNSAFE.getByte(address) | (1 << (index & 7))));
+  }
+
+  @Override
+  public ValueVector visit(BaseFixedWidthVector deltaVector, Void value) {
+    checkArguments(deltaVector);
+    final BaseFixedWidthVector target = (BaseFixedWidthVector) targetVector;
+    target.allocateNew(count);
+    final long fromValidity = deltaVector.getValidityBuffer().memoryAddress();
+    final long fromData = deltaVector.getDataBuffer().memoryAddress();
+    final long toValidity = target.getValidityBuffer().memoryAddress();
+    final long toData = target.getDataBuffer().memoryAddress();
+    final int width = deltaVector instanceof BitVector ? 0 : deltaVector.getTypeWidth();
+    for (int i = 0; i < count; i++) {
+      final int index = indices[i];
+      if (index < 0 || !isSet(fromValidity, index)) {
+        continue;
+      }
+      setBit(toValidity, i);
+      switch (width) {
+        case 0:
+          // bit vectors are packed like their validity
+          if (isSet(fromData, index)) {
+            setBit(toData, i);
+          }
+          break;
+        case Byte.BYTES:
+          MemoryUtil.UNSAFE.putByte(toData + i, MemoryUtil.UNSAFE.getByte(fromData + index));
+          break;
+        case Short.BYTES:
+          MemoryUtil.UNSAFE.putShort(toData + (long) i * Short.BYTES,
+              MemoryUtil.UNSAFE.getShort(fromData + (long) index * Short.BYTES));
+          break;
+        case Integer.BYTES:
+          MemoryUtil.UNSAFE.putInt(toData + (long) i * Integer.BYTES,
+              MemoryUtil.UNSAFE.getInt(fromData + (long) index * Integer.BYTES));
+          break;
+        case Long.BYTES:
+          MemoryUtil.UNSAFE.putLong(toData + (long) i * Long.BYTES,
+              MemoryUtil.UNSAFE.getLong(fromData + (long) index * Long.BYTES));
+          break;
+        default:
+          MemoryUtil.UNSAFE.copyMemory(fromData + (long) index * width, toData + (long) i * width, width);
+      }
+    }
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(BaseVariableWidthVector deltaVector, Void value) {
+    checkArguments(deltaVector);
+    final BaseVariableWidthVector target = (BaseVariableWidthVector) targetVector;
+    final long dataSize = takeVariableWidth(deltaVector.getValidityBuffer(), deltaVector.getOffsetBuffer(),
+        deltaVector.getDataBuffer(), BaseVariableWidthVector.OFFSET_WIDTH, null);
+    target.allocateNew(dataSize, count);
+    takeVariableWidth(deltaVector.getValidityBuffer(), deltaVector.getOffsetBuffer(), deltaVector.getDataBuffer(),
+        BaseVariableWidthVector.OFFSET_WIDTH, target);
+    target.setLastSet(count - 1);
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(BaseLargeVariableWidthVector deltaVector, Void value) {
+    checkArguments(deltaVector);
+    final BaseLargeVariableWidthVector target = (BaseLargeVariableWidthVector) targetVector;
+    final long dataSize = takeVariableWidth(deltaVector.getValidityBuffer(), deltaVector.getOffsetBuffer(),
+        deltaVector.getDataBuffer(), BaseLargeVariableWidthVector.OFFSET_WIDTH, null);
+    target.allocateNew(dataSize, count);
+    takeVariableWidth(deltaVector.getValidityBuffer(), deltaVector.getOffsetBuffer(), deltaVector.getDataBuffer(),
+        BaseLargeVariableWidthVector.OFFSET_WIDTH, target);
+    target.setLastSet(count - 1);
+    target.setValueCount(count);
+    return target;
+  }
+
+  private static long readOffset(long offsetAddress, int index, int offsetWidth) {
+    return offsetWidth == Integer.BYTES ? MemoryUtil.UNSAFE.getInt(offsetAddress + (long) index * Integer.BYTES) :
+        MemoryUtil.UNSAFE.getLong(offsetAddress + (long) index * Long.BYTES);
+  }
+
+  private static void writeOffset(long offsetAddress, int index, int offsetWidth, long offset) {
+    if (offsetWidth == Integer.BYTES) {
+      MemoryUtil.UNSAFE.putInt(offsetAddress + (long) index * Integer.BYTES, (int) offset);
+    } else {
+      MemoryUtil.UNSAFE.putLong(offsetAddress + (long) index * Long.BYTES, offset);
+    }
+  }
+
+  /**
+   * Gathers the values of a variable-width vector, given its buffers.
+   * @param target the allocated target, or null to compute the size of the data only.
+   * @return the size of the data of the target.
+   */
+  private long takeVariableWidth(ArrowBuf fromValidityBuffer, ArrowBuf fromOffsetBuffer, ArrowBuf fromDataBuffer,
+      int offsetWidth, FieldVector target) {
+    final long fromValidity = fromValidityBuffer.memoryAddress();
+    final long fromOffsets = fromOffsetBuffer.memoryAddress();
+    final long fromData = fromDataBuffer.memoryAddress();
+    final long toValidity = target == null ? 0 : target.getValidityBuffer().memoryAddress();
+    final long toOffsets = target == null ? 0 : target.getOffsetBuffer().memoryAddress();
+    final long toData = target == null ? 0 : target.getDataBuffer().memoryAddress();
+    long size = 0;
+    int i = 0;
+    while (i < count) {
+      if (target != null) {
+        writeOffset(toOffsets, i, offsetWidth, size);
+      }
+      final int index = indices[i];
+      if (index < 0 || !isSet(fromValidity, index)) {
+        i++;
+        continue;
+      }
+      // copy the data of a run of consecutive non-null indices at once
+      final long start = readOffset(fromOffsets, index, offsetWidth);
+      int end = i + 1;
+      while (end < count && indices[end] == indices[end - 1] + 1 && isSet(fromValidity, indices[end])) {
+        end++;
+      }
+      for (int j = i; j < end; j++) {
+        if (target != null) {
+          setBit(toValidity, j);
+          writeOffset(toOffsets, j, offsetWidth, size + readOffset(fromOffsets, indices[j], offsetWidth) - start);
+        }
+      }
+      final long length = readOffset(fromOffsets, indices[end - 1] + 1, offsetWidth) - start;
+      if (target != null) {
+        copyMemory(fromData + start, toData + size, length);
+      }
+      size += length;
+      i = end;
+    }
+    if (target != null) {
+      writeOffset(toOffsets, count, offsetWidth, size);
+    }
+    return size;
+  }
+
+  /**
+   * Copies memory, a long at a time for short lengths, which are slow to copy with {@code Unsafe.copyMemory}.
+   */
+  private static void copyMemory(long fromAddress, long toAddress, long length) {
+    if (length > SHORT_COPY_LENGTH) {
+      MemoryUtil.UNSAFE.copyMemory(fromAddress, toAddress, length);
+      return;
+    }
+    long offset = 0;
+    for (; offset + Long.BYTES <= length; offset += Long.BYTES) {
+      MemoryUtil.UNSAFE.putLong(toAddress + offset, MemoryUtil.UNSAFE.getLong(fromAddress + offset));
+    }
+    for (; offset < length; offset++) {
+      MemoryUtil.UNSAFE.putByte(toAddress + offset, MemoryUtil.UNSAFE.getByte(fromAddress + offset));
+    }
+  }
+
+  @Override
+  public ValueVector visit(ListVector deltaVector, Void value) {
+    checkArguments(deltaVector);
+    final ListVector target = (ListVector) targetVector;
+    final int[] childIndices = new int[childValueCount(deltaVector, deltaVector.getOffsetBuffer(),
+        ListVector.OFFSET_WIDTH)];
+    target.setInitialTotalCapacity(count, childIndices.length);
+    target.allocateNew();
+    int childCount = 0;
+    for (int i = 0; i < count; i++) {
+      final int index = indices[i];
+      if (index < 0 || deltaVector.isNull(index)) {
+        continue;
+      }
+      final int start = deltaVector.getOffsetBuffer().getInt((long) index * ListVector.OFFSET_WIDTH);
+      final int end = deltaVector.getOffsetBuffer().getInt((long) (index + 1) * ListVector.OFFSET_WIDTH);
+      target.startNewValue(i);
+      target.endValue(i, end - start);
+      for (int j = start; j < end; j++) {
+        childIndices[childCount++] = j;
+      }
+    }
+    deltaVector.getDataVector().accept(new TakeVisitor(target.getDataVector(), childIndices, childCount), null);
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(LargeListVector deltaVector, Void value) {
+    checkArguments(deltaVector);
+    final LargeListVector target = (LargeListVector) targetVector;
+    final int[] childIndices = new int[childValueCount(deltaVector, deltaVector.getOffsetBuffer(),
+        LargeListVector.OFFSET_WIDTH)];
+    target.setInitialTotalCapacity(count, childIndices.length);
+    target.allocateNew();
+    int childCount = 0;
+    for (int i = 0; i < count; i++) {
+      final int index = indices[i];
+      if (index < 0 || deltaVector.isNull(index)) {
+        continue;
+      }
+      final long start = deltaVector.getOffsetBuffer().getLong((long) index * LargeListVector.OFFSET_WIDTH);
+      final long end = deltaVector.getOffsetBuffer().getLong((long) (index + 1) * LargeListVector.OFFSET_WIDTH);
+      target.startNewValue(i);
+      target.endValue(i, end - start);
+      for (long j = start; j < end; j++) {
+        childIndices[childCount++] = (int) j;
+      }
+    }
+    deltaVector.getDataVector().accept(new TakeVisitor(target.getDataVector(), childIndices, childCount), null);
+    target.setValueCount(count);
+    return target;
+  }
+
+  /**
+   * Gets the number of child values of the lists at the indices.
+   */
+  private int childValueCount(FieldVector vector, ArrowBuf offsetBuffer, int offsetWidth) {
+    final long offsets = offsetBuffer.memoryAddress();
+    long childCount = 0;
+    for (int i = 0; i < count; i++) {
+      final int index = indices[i];
+      if (index >= 0 && !vector.isNull(index)) {
+        childCount += readOffset(offsets, index + 1, offsetWidth) - readOffset(offsets, index, offsetWidth);
+      }
+    }
+    Preconditions.checkArgument(childCount <= Integer.MAX_VALUE, "Too many child values %s", childCount);
+    return (int) childCount;
+  }
+
+  @Override
+  public ValueVector visit(FixedSizeListVector deltaVector, Void value) {
+    checkArguments(deltaVector);
+    final FixedSizeListVector target = (FixedSizeListVector) targetVector;
+    final int listSize = deltaVector.getListSize();
+    final int[] childIndices = new int[Math.multiplyExact(count, listSize)];
+    target.setInitialCapacity(count);
+    target.allocateNew();
+    for (int i = 0; i < count; i++) {
+      final int index = indices[i];
+      final boolean isNull = index < 0 || deltaVector.isNull(index);
+      if (!isNull) {
+        target.setNotNull(i);
+      }
+      // null lists keep their child values, as nulls
+      for (int j = 0; j < listSize; j++) {
+        childIndices[i * listSize + j] = isNull ? -1 : index * listSize + j;
+      }
+    }
+    deltaVector.getDataVector().accept(new TakeVisitor(target.getDataVector(), childIndices, childIndices.length),
+        null);
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(NonNullableStructVector deltaVector, Void value) {
+    checkArguments(deltaVector);
+    final NonNullableStructVector target = (NonNullableStructVector) targetVector;
+    if (target instanceof StructVector) {
+      for (int i = 0; i < count; i++) {
+        if (indices[i] < 0 || deltaVector.isNull(indices[i])) {
+          ((StructVector) target).setNull(i);
+        } else {
+          ((StructVector) target).setIndexDefined(i);
+        }
+      }
+    }
+    takeChildren(deltaVector.getChildrenFromFields(), target.getChildrenFromFields());
+    target.setValueCount(count);
+    return target;
+  }
+
+  private void takeChildren(List<FieldVector> fromChildren, List<FieldVector> toChildren) {
+    Preconditions.checkArgument(fromChildren.size() == toChildren.size(),
+        "The target vector must have the same children as the vector to take values from");
+    for (int i = 0; i < fromChildren.size(); i++) {
+      fromChildren.get(i).accept(new TakeVisitor(toChildren.get(i), indices, count), null);
+    }
+  }
+
+  @Override
+  public ValueVector visit(UnionVector deltaVector, Void value) {
+    checkArguments(deltaVector);
+    final UnionVector target = (UnionVector) targetVector;
+    takeChildren(deltaVector.getChildrenFromFields(), target.getChildrenFromFields());
+    target.setValueCount(count);
+    final ArrowBuf typeBuffer = target.getTypeBuffer();
+    // unions have no validity, so a null has the type of the first child, whose value is null
+    final List<FieldVector> children = deltaVector.getChildrenFromFields();
+    final int nullTypeId = children.isEmpty() ? 0 : children.get(0).getMinorType().ordinal();
+    for (int i = 0; i < count; i++) {
+      final int typeId = indices[i] < 0 ? nullTypeId : deltaVector.getTypeValue(indices[i]);
+      typeBuffer.setByte((long) i * UnionVector.TYPE_WIDTH, typeId);
+    }
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(DenseUnionVector deltaVector, Void value) {
+    checkArguments(deltaVector);
+    final DenseUnionVector target = (DenseUnionVector) targetVector;
+    target.setValueCount(count);
+    final ArrowBuf offsetBuffer = target.getOffsetBuffer();
+    // the indices of the child values of each type
+    final int[][] childIndices = new int[Byte.MAX_VALUE + 1][];
+    final int[] childCounts = new int[Byte.MAX_VALUE + 1];
+    // unions have no validity, so a null is a null value of the first type
+    byte nullTypeId = -1;
+    for (int typeId = 0; typeId <= Byte.MAX_VALUE && nullTypeId < 0; typeId++) {
+      if (deltaVector.getVectorByType((byte) typeId) != null) {
+        nullTypeId = (byte) typeId;
+      }
+    }
+    for (int i = 0; i < count; i++) {
+      final byte typeId = indices[i] < 0 ? nullTypeId : deltaVector.getTypeId(indices[i]);
+      target.setTypeId(i, typeId);
+      if (typeId < 0) {
+        continue;
+      }
+      if (childIndices[typeId] == null) {
+        childIndices[typeId] = new int[count];
+      }
+      offsetBuffer.setInt((long) i * DenseUnionVector.OFFSET_WIDTH, childCounts[typeId]);
+      childIndices[typeId][childCounts[typeId]++] = indices[i] < 0 ? -1 : deltaVector.getOffset(indices[i]);
+    }
+    for (int typeId = 0; typeId <= Byte.MAX_VALUE; typeId++) {
+      final ValueVector child = deltaVector.getVectorByType((byte) typeId);
+      if (child != null) {
+        final int[] typeIndices = childIndices[typeId] == null ? new int[0] : childIndices[typeId];
+        child.accept(new TakeVisitor(target.getVectorByType((byte) typeId), typeIndices, childCounts[typeId]), null);
+      }
+    }
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(NullVector deltaVector, Void value) {
+    checkArguments(deltaVector);
+    targetVector.setValueCount(count);
+    return targetVector;
+  }
+
+  @Override
+  public ValueVector visit(ExtensionTypeVector<?> deltaVector, Void value) {
+    checkArguments(deltaVector);
+    final ExtensionTypeVector<?> target = (ExtensionTypeVector<?>) targetVector;
+    deltaVector.getUnderlyingVector().accept(new TakeVisitor(target.getUnderlyingVector(), indices, count), null);
+    target.setValueCount(count);
+    return target;
+  }
+
+  /**
+   * Gathers the runs containing the indices, with a binary search over the run ends, and
+   * re-encodes the adjacent runs of equal values.
+   */
+  @Override
+  public ValueVector visit(RunEndEncodedVector deltaVector, Void value) {
+    checkArguments(deltaVector);
+    final RunEndEncodedVector target = (RunEndEncodedVector) targetVector;
+    final FieldVector values = deltaVector.getValuesVector();
+    final RangeEqualsVisitor equalsVisitor = new RangeEqualsVisitor(values, values, /*type comparator*/ null);
+    final Range range = new Range(0, 0, 1);
+    // the physical index of each output run, or -1 for nulls, and its end
+    final int[] runIndices = new int[count];
+    final long[] runEnds = new long[count];
+    int runCount = 0;
+    for (int i = 0; i < count; i++) {
+      int runIndex = indices[i] < 0 ? -1 : deltaVector.getPhysicalIndex(indices[i]);
+      if (runIndex >= 0 && values.isNull(runIndex)) {
+        runIndex = -1;
+      }
+      if (runCount > 0) {
+        final int lastRunIndex = runIndices[runCount - 1];
+        if (lastRunIndex == runIndex || (lastRunIndex >= 0 && runIndex >= 0 &&
+            equalsVisitor.rangeEquals(range.setLeftStart(lastRunIndex).setRightStart(runIndex)))) {
+          runEnds[runCount - 1] = i + 1;
+          continue;
+        }
+      }
+      runIndices[runCount] = runIndex;
+      runEnds[runCount] = i + 1;
+      runCount++;
+    }
+    target.clear();
+    values.accept(new TakeVisitor(target.getValuesVector(), runIndices, runCount), null);
+    target.getRunEndsVector().setInitialCapacity(runCount);
+    target.getRunEndsVector().allocateNew();
+    for (int i = 0; i < runCount; i++) {
+      target.setRunEnd(i, runEnds[i]);
+    }
+    target.getRunEndsVector().setValueCount(runCount);
+    target.setValueCount(count);
+    return target;
+  }
+
+  @Override
+  public ValueVector visit(BaseVariableWidthViewVector deltaVector, Void value) {
+    return copyValues(deltaVector);
+  }
+
+  @Override
+  public ValueVector visit(BaseListViewVector deltaVector, Void value) {
+    return copyValues(deltaVector);
+  }
+
+  /**
+   * Gathers the values one at a time, for the vectors without a specialized kernel.
+   */
+  private ValueVector copyValues(FieldVector deltaVector) {
+    checkArguments(deltaVector);
+    final FieldVector target = (FieldVector) targetVector;
+    target.allocateNew();
+    for (int i = 0; i < count; i++) {
+      if (indices[i] < 0) {
+        target.setNull(i);
+      } else {
+        target.copyFromSafe(indices[i], i, deltaVector);
+      }
+    }
+    target.setValueCount(count);
+    return target;
+  }
+}
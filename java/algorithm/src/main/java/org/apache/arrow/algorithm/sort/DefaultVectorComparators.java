@@ -25,6 +25,7 @@ import java.time.Duration;
 import org.apache.arrow.memory.util.ArrowBufPointer;
 import org.apache.arrow.memory.util.ByteFunctionHelpers;
 import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthViewVector;
 import org.apache.arrow.vector.BigIntVector;
 import org.apache.arrow.vector.BitVector;
 import org.apache.arrow.vector.DateDayVector;
@@ -52,6 +53,7 @@ import org.apache.arrow.vector.UInt4Vector;
 import org.apache.arrow.vector.UInt8Vector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.VariableWidthVector;
+import org.apache.arrow.vector.complex.BaseListViewVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.RepeatedValueVector;
 import org.apache.arrow.vector.holders.NullableFixedSizeBinaryHolder;
@@ -118,8 +120,14 @@ public class DefaultVectorComparators {
       } else if (vector instanceof FixedSizeBinaryVector) {
         return (VectorValueComparator<T>) new FixedSizeBinaryComparator();
       }
+    } else if (vector instanceof BaseVariableWidthViewVector) {
+      return (VectorValueComparator<T>) new VariableWidthViewComparator();
     } else if (vector instanceof VariableWidthVector) {
       return (VectorValueComparator<T>) new VariableWidthComparator();
+    } else if (vector instanceof BaseListViewVector) {
+      VectorValueComparator<?> innerComparator =
+          createDefaultComparator(((BaseListViewVector) vector).getDataVector());
+      return new ListViewComparator(innerComparator);
     } else if (vector instanceof RepeatedValueVector) {
       VectorValueComparator<?> innerComparator =
               createDefaultComparator(((RepeatedValueVector) vector).getDataVector());
@@ -771,6 +779,57 @@ public class DefaultVectorComparators {
     }
   }
 
+  /**
+   * Default comparator for {@link BaseVariableWidthViewVector}.
+   * The comparison is in lexicographic order, with null comes first.
+   * The prefixes stored in the views are compared first, so most comparisons
+   * never touch the data buffers.
+   */
+  public static class VariableWidthViewComparator extends VectorValueComparator<BaseVariableWidthViewVector> {
+
+    private final ArrowBufPointer reusablePointer1 = new ArrowBufPointer();
+
+    private final ArrowBufPointer reusablePointer2 = new ArrowBufPointer();
+
+    @Override
+    public int compareNotNull(int index1, int index2) {
+      final int length1 = vector1.getValueLength(index1);
+      final int length2 = vector2.getValueLength(index2);
+      final int result = Integer.compareUnsigned(getPrefix(vector1, index1, length1),
+          getPrefix(vector2, index2, length2));
+      if (result != 0) {
+        return result;
+      }
+      if (length1 <= BaseVariableWidthViewVector.PREFIX_WIDTH && length2 <= BaseVariableWidthViewVector.PREFIX_WIDTH) {
+        return Integer.compare(length1, length2);
+      }
+      vector1.getDataPointer(index1, reusablePointer1);
+      vector2.getDataPointer(index2, reusablePointer2);
+      return reusablePointer1.compareTo(reusablePointer2);
+    }
+
+    /**
+     * Get the prefix of a value as a big-endian integer, so that comparing prefixes as unsigned
+     * integers orders them lexicographically. Bytes past the end of short values are masked out.
+     */
+    private static int getPrefix(BaseVariableWidthViewVector vector, int index, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      final int prefix = Integer.reverseBytes(vector.getViewBuffer().getInt(
+          (long) index * BaseVariableWidthViewVector.VIEW_WIDTH + BaseVariableWidthViewVector.LENGTH_WIDTH));
+      if (length >= BaseVariableWidthViewVector.PREFIX_WIDTH) {
+        return prefix;
+      }
+      return prefix & (-1 << (Byte.SIZE * (BaseVariableWidthViewVector.PREFIX_WIDTH - length)));
+    }
+
+    @Override
+    public VectorValueComparator<BaseVariableWidthViewVector> createNew() {
+      return new VariableWidthViewComparator();
+    }
+  }
+
   /**
    * Default comparator for {@link RepeatedValueVector}.
    * It works by comparing the underlying vector in a lexicographic order.
@@ -822,6 +881,54 @@ public class DefaultVectorComparators {
     }
   }
 
+  /**
+   * Default comparator for {@link BaseListViewVector}.
+   * It works by comparing the lists, located by their offsets and sizes, in a lexicographic order.
+   * @param <T> inner vector type.
+   */
+  public static class ListViewComparator<T extends ValueVector>
+      extends VectorValueComparator<BaseListViewVector> {
+
+    private final VectorValueComparator<T> innerComparator;
+
+    public ListViewComparator(VectorValueComparator<T> innerComparator) {
+      this.innerComparator = innerComparator;
+    }
+
+    @Override
+    public int compareNotNull(int index1, int index2) {
+      int startIdx1 = (int) vector1.getOffset(index1);
+      int startIdx2 = (int) vector2.getOffset(index2);
+
+      int length1 = (int) vector1.getSize(index1);
+      int length2 = (int) vector2.getSize(index2);
+
+      int length = Math.min(length1, length2);
+
+      for (int i = 0; i < length; i++) {
+        int result = innerComparator.compare(startIdx1 + i, startIdx2 + i);
+        if (result != 0) {
+          return result;
+        }
+      }
+      return length1 - length2;
+    }
+
+    @Override
+    public VectorValueComparator<BaseListViewVector> createNew() {
+      VectorValueComparator<T> newInnerComparator = innerComparator.createNew();
+      return new ListViewComparator<>(newInnerComparator);
+    }
+
+    @Override
+    public void attachVectors(BaseListViewVector vector1, BaseListViewVector vector2) {
+      this.vector1 = vector1;
+      this.vector2 = vector2;
+
+      innerComparator.attachVectors((T) vector1.getDataVector(), (T) vector2.getDataVector());
+    }
+  }
+
   /**
    * Default comparator for {@link RepeatedValueVector}.
    * It works by comparing the underlying vector in a lexicographic order.
@@ -0,0 +1,611 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.VectorSchemaRootAppender;
+
+/**
+ * Sorter for streams of {@link VectorSchemaRoot}s that may not fit in memory.
+ *
+ * <p>The batches of an {@link ArrowReader} are accumulated into chunks bounded by a memory budget.
+ * Each chunk is sorted by the key columns, compared by a {@link CompositeVectorComparator}, and
+ * spilled as a sorted run to an Arrow IPC file. The runs are then merged by a k-way merge, which
+ * is streamed back as the batches of another {@link ArrowReader}. If there are more runs than
+ * the merge fan-in, groups of runs are first merged into longer runs. If the whole input fits in
+ * one chunk, nothing is spilled.</p>
+ *
+ * <p>All buffers of the sort are allocated from a child allocator limited to the memory budget.
+ * A chunk is spilled before it takes more than a quarter of the budget, which leaves room for the
+ * growth of its buffers, and for the batches of the runs being merged. The memory of the merge is
+ * about fan-in times the size of a batch of the given length.</p>
+ *
+ * <p>The sort is stable. Dictionary-encoded columns are not supported.</p>
+ */
+public class ExternalSorter {
+
+  /**
+   * The default number of rows in the batches of runs and of the sorted output.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 4096;
+
+  /**
+   * The default maximum number of runs merged at once.
+   */
+  public static final int DEFAULT_MERGE_FAN_IN = 64;
+
+  private final BufferAllocator allocator;
+
+  private final int[] keyColumns;
+
+  private final VectorValueComparator<?>[] keyComparators;
+
+  private final long memoryBudget;
+
+  private final Path spillDirectory;
+
+  private final int batchSize;
+
+  private final int mergeFanIn;
+
+  /**
+   * Constructs an external sorter with the default comparators for the key columns.
+   * @param allocator the allocator for the sort and for the sorted output.
+   * @param keyColumns the indices of the columns to sort by, in order of precedence.
+   * @param memoryBudget the maximum memory used by the sort, in bytes.
+   * @param spillDirectory the directory for the files of sorted runs.
+   */
+  public ExternalSorter(BufferAllocator allocator, int[] keyColumns, long memoryBudget, Path spillDirectory) {
+    this(allocator, keyColumns, null, memoryBudget, spillDirectory, DEFAULT_BATCH_SIZE, DEFAULT_MERGE_FAN_IN);
+  }
+
+  /**
+   * Constructs an external sorter.
+   * @param allocator the allocator for the sort and for the sorted output.
+   * @param keyColumns the indices of the columns to sort by, in order of precedence.
+   * @param keyComparators the comparators of the key columns, used as prototypes through
+   *     {@link VectorValueComparator#createNew()}, or null to use the default comparators.
+   * @param memoryBudget the maximum memory used by the sort, in bytes.
+   * @param spillDirectory the directory for the files of sorted runs.
+   * @param batchSize the number of rows in the batches of runs and of the sorted output.
+   * @param mergeFanIn the maximum number of runs merged at once.
+   */
+  public ExternalSorter(BufferAllocator allocator, int[] keyColumns, VectorValueComparator<?>[] keyComparators,
+      long memoryBudget, Path spillDirectory, int batchSize, int mergeFanIn) {
+    Preconditions.checkArgument(keyColumns.length > 0, "At least one key column is required");
+    Preconditions.checkArgument(keyComparators == null || keyComparators.length == keyColumns.length,
+        "There must be one comparator per key column");
+    Preconditions.checkArgument(memoryBudget > 0, "The memory budget must be positive");
+    Preconditions.checkArgument(batchSize > 0, "The batch size must be positive");
+    Preconditions.checkArgument(mergeFanIn > 1, "The merge fan-in must be at least 2");
+    this.allocator = allocator;
+    this.keyColumns = keyColumns.clone();
+    this.keyComparators = keyComparators == null ? null : keyComparators.clone();
+    this.memoryBudget = memoryBudget;
+    this.spillDirectory = spillDirectory;
+    this.batchSize = batchSize;
+    this.mergeFanIn = mergeFanIn;
+  }
+
+  /**
+   * Sorts all the batches of a reader. The input is consumed and spilled before this method
+   * returns, and the final merge is performed as the returned reader is read.
+   * The input reader is not closed.
+   * @param input the reader of the batches to sort.
+   * @return a reader of the sorted batches, which must be closed to release the sort resources.
+   * @throws IOException if reading the input or the runs fails.
+   */
+  public ArrowReader sort(ArrowReader input) throws IOException {
+    final VectorSchemaRoot inputRoot = input.getVectorSchemaRoot();
+    final Schema schema = inputRoot.getSchema();
+    for (Field field : schema.getFields()) {
+      if (field.getDictionary() != null) {
+        throw new IllegalArgumentException("Dictionary-encoded column " + field.getName() + " is not supported");
+      }
+    }
+    for (int keyColumn : keyColumns) {
+      Preconditions.checkElementIndex(keyColumn, schema.getFields().size(), "key column");
+    }
+
+    final BufferAllocator sortAllocator = allocator.newChildAllocator("external-sort", 0, memoryBudget);
+    final List<Path> runFiles = new ArrayList<>();
+    VectorSchemaRoot chunk = null;
+    try {
+      chunk = VectorSchemaRoot.create(schema, sortAllocator);
+      // the appender expects the offset buffers of the target to be allocated
+      chunk.allocateNew();
+      final long chunkLimit = memoryBudget / 4;
+      while (input.loadNextBatch()) {
+        if (inputRoot.getRowCount() == 0) {
+          continue;
+        }
+        if (chunk.getRowCount() > 0 && sortAllocator.getAllocatedMemory() + bufferSize(inputRoot) > chunkLimit) {
+          runFiles.add(spill(chunk, sortChunk(chunk), sortAllocator));
+          chunk.clear();
+          chunk.allocateNew();
+        }
+        VectorSchemaRootAppender.append(false, chunk, inputRoot);
+      }
+
+      final List<RunCursor> cursors = new ArrayList<>();
+      if (runFiles.isEmpty()) {
+        cursors.add(new MemoryRunCursor(chunk, sortChunk(chunk)));
+        chunk = null;
+      } else {
+        if (chunk.getRowCount() > 0) {
+          runFiles.add(spill(chunk, sortChunk(chunk), sortAllocator));
+        }
+        chunk.close();
+        chunk = null;
+
+        mergeRuns(runFiles, schema, sortAllocator);
+        try {
+          for (Path runFile : runFiles) {
+            cursors.add(new FileRunCursor(runFile, sortAllocator));
+          }
+        } catch (IOException | RuntimeException e) {
+          AutoCloseables.close(e, cursors);
+          throw e;
+        }
+      }
+      return new SortedReader(allocator, schema, new RunMerger(cursors), runFiles, sortAllocator);
+    } catch (Exception e) {
+      try {
+        AutoCloseables.close(chunk);
+        deleteFiles(runFiles);
+        sortAllocator.close();
+      } catch (Exception suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw e;
+    }
+  }
+
+  private static long bufferSize(VectorSchemaRoot root) {
+    long size = 0;
+    for (FieldVector vector : root.getFieldVectors()) {
+      size += vector.getBufferSize();
+    }
+    return size;
+  }
+
+  private VectorValueComparator<ValueVector> createKeyComparator(VectorSchemaRoot root1, VectorSchemaRoot root2) {
+    VectorValueComparator[] innerComparators = new VectorValueComparator[keyColumns.length];
+    for (int i = 0; i < keyColumns.length; i++) {
+      FieldVector vector1 = root1.getVector(keyColumns[i]);
+      innerComparators[i] = keyComparators == null ?
+          DefaultVectorComparators.createDefaultComparator(vector1) : keyComparators[i].createNew();
+      innerComparators[i].attachVectors(vector1, root2.getVector(keyColumns[i]));
+    }
+    return new CompositeVectorComparator(innerComparators);
+  }
+
+  /**
+   * Sorts the rows of a chunk.
+   * @return the positions of the rows in sorted order.
+   */
+  private int[] sortChunk(VectorSchemaRoot chunk) {
+    final int rowCount = chunk.getRowCount();
+    final int[] positions = new int[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      positions[i] = i;
+    }
+    ParallelIndexSorter.mergeSort(createKeyComparator(chunk, chunk), positions, new int[rowCount], 0, rowCount);
+    return positions;
+  }
+
+  /**
+   * Writes the rows of a chunk in the given order to a new run file.
+   */
+  private Path spill(VectorSchemaRoot chunk, int[] positions, BufferAllocator sortAllocator) throws IOException {
+    return writeRun(new MemoryRunCursor(chunk, positions, false), chunk.getSchema(), sortAllocator);
+  }
+
+  /**
+   * Merges groups of consecutive runs, until there are no more runs than the merge fan-in.
+   * Keeping the groups in order keeps the sort stable.
+   */
+  private void mergeRuns(List<Path> runFiles, Schema schema, BufferAllocator sortAllocator) throws IOException {
+    while (runFiles.size() > mergeFanIn) {
+      final List<Path> mergedFiles = new ArrayList<>();
+      try {
+        for (int start = 0; start < runFiles.size(); start += mergeFanIn) {
+          final List<Path> group = runFiles.subList(start, Math.min(start + mergeFanIn, runFiles.size()));
+          final List<RunCursor> cursors = new ArrayList<>();
+          try {
+            for (Path runFile : group) {
+              cursors.add(new FileRunCursor(runFile, sortAllocator));
+            }
+          } catch (IOException | RuntimeException e) {
+            AutoCloseables.close(e, cursors);
+            throw e;
+          }
+          try (RunMerger merger = new RunMerger(cursors)) {
+            mergedFiles.add(writeRun(merger, schema, sortAllocator));
+          }
+        }
+      } catch (IOException | RuntimeException e) {
+        deleteFiles(mergedFiles);
+        throw e;
+      }
+      deleteFiles(runFiles);
+      runFiles.clear();
+      runFiles.addAll(mergedFiles);
+    }
+  }
+
+  private Path writeRun(RowSource source, Schema schema, BufferAllocator sortAllocator) throws IOException {
+    final Path runFile = Files.createTempFile(spillDirectory, "arrow-sort-run-", ".arrow");
+    try (VectorSchemaRoot batch = VectorSchemaRoot.create(schema, sortAllocator);
+         FileChannel channel = FileChannel.open(runFile, StandardOpenOption.WRITE);
+         ArrowFileWriter writer = new ArrowFileWriter(batch, new DictionaryProvider.MapDictionaryProvider(), channel)) {
+      writer.start();
+      while (source.fill(batch, batchSize) > 0) {
+        writer.writeBatch();
+      }
+      writer.end();
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(runFile);
+      throw e;
+    }
+    return runFile;
+  }
+
+  private static void deleteFiles(List<Path> files) throws IOException {
+    for (Path file : files) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Copies a row to the given position of a batch.
+   */
+  private static void copyRow(VectorSchemaRoot from, int fromIndex, VectorSchemaRoot to, int toIndex) {
+    for (int i = 0; i < to.getFieldVectors().size(); i++) {
+      to.getVector(i).copyFromSafe(fromIndex, toIndex, from.getVector(i));
+    }
+  }
+
+  /**
+   * A source of rows in sorted order.
+   */
+  private interface RowSource {
+
+    /**
+     * Replaces the content of the batch with up to maxRows next rows.
+     * @return the number of rows in the batch.
+     */
+    int fill(VectorSchemaRoot batch, int maxRows) throws IOException;
+  }
+
+  /**
+   * A cursor over the rows of a sorted run.
+   */
+  private abstract static class RunCursor implements RowSource, AutoCloseable {
+
+    /**
+     * Incremented whenever the current row moves to another batch, so that comparators
+     * attached to the previous batch can be re-attached.
+     */
+    int batchVersion;
+
+    /**
+     * Gets the batch of the current row.
+     */
+    abstract VectorSchemaRoot root();
+
+    /**
+     * Gets the index of the current row in its batch.
+     */
+    abstract int row();
+
+    /**
+     * Moves to the next row.
+     * @return false if the run is exhausted.
+     */
+    abstract boolean advance() throws IOException;
+
+    @Override
+    public int fill(VectorSchemaRoot batch, int maxRows) throws IOException {
+      batch.clear();
+      batch.allocateNew();
+      int rowCount = 0;
+      while (rowCount < maxRows && advance()) {
+        copyRow(root(), row(), batch, rowCount++);
+      }
+      batch.setRowCount(rowCount);
+      return rowCount;
+    }
+  }
+
+  /**
+   * A run of the rows of an in-memory chunk, in the order of the given positions.
+   */
+  private static final class MemoryRunCursor extends RunCursor {
+
+    private final VectorSchemaRoot chunk;
+
+    private final int[] positions;
+
+    private final boolean ownsChunk;
+
+    private int index = -1;
+
+    MemoryRunCursor(VectorSchemaRoot chunk, int[] positions) {
+      this(chunk, positions, true);
+    }
+
+    MemoryRunCursor(VectorSchemaRoot chunk, int[] positions, boolean ownsChunk) {
+      this.chunk = chunk;
+      this.positions = positions;
+      this.ownsChunk = ownsChunk;
+    }
+
+    @Override
+    VectorSchemaRoot root() {
+      return chunk;
+    }
+
+    @Override
+    int row() {
+      return positions[index];
+    }
+
+    @Override
+    boolean advance() {
+      if (index + 1 >= positions.length) {
+        return false;
+      }
+      index++;
+      return true;
+    }
+
+    @Override
+    public void close() {
+      if (ownsChunk) {
+        chunk.close();
+      }
+    }
+  }
+
+  /**
+   * A run spilled to an Arrow IPC file.
+   */
+  private static final class FileRunCursor extends RunCursor {
+
+    private final FileChannel channel;
+
+    private final ArrowFileReader reader;
+
+    private int index = -1;
+
+    FileRunCursor(Path runFile, BufferAllocator allocator) throws IOException {
+      this.channel = FileChannel.open(runFile, StandardOpenOption.READ);
+      this.reader = new ArrowFileReader(channel, allocator);
+    }
+
+    @Override
+    VectorSchemaRoot root() {
+      try {
+        return reader.getVectorSchemaRoot();
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    int row() {
+      return index;
+    }
+
+    @Override
+    boolean advance() throws IOException {
+      if (index >= 0 && index + 1 < reader.getVectorSchemaRoot().getRowCount()) {
+        index++;
+        return true;
+      }
+      while (reader.loadNextBatch()) {
+        if (reader.getVectorSchemaRoot().getRowCount() > 0) {
+          index = 0;
+          batchVersion++;
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+
+  /**
+   * Merges sorted runs by a binary heap of runs ordered by their current rows. Ties are broken
+   * by the run order, to keep the merge stable.
+   */
+  private final class RunMerger implements RowSource, AutoCloseable {
+
+    private final RunCursor[] cursors;
+
+    /**
+     * Comparators between the current batches of each pair of runs, created lazily.
+     */
+    private final VectorValueComparator<ValueVector>[][] comparators;
+
+    /**
+     * The batch versions of the runs when the comparators were attached.
+     */
+    private final long[][] attachedVersions;
+
+    private final int[] heap;
+
+    private int heapSize;
+
+    private boolean started;
+
+    RunMerger(List<RunCursor> cursors) {
+      this.cursors = cursors.toArray(new RunCursor[0]);
+      this.comparators = new VectorValueComparator[this.cursors.length][this.cursors.length];
+      this.attachedVersions = new long[this.cursors.length][this.cursors.length];
+      this.heap = new int[this.cursors.length];
+    }
+
+    private void start() throws IOException {
+      for (int run = 0; run < cursors.length; run++) {
+        if (cursors[run].advance()) {
+          heap[heapSize++] = run;
+        }
+      }
+      for (int i = heapSize / 2 - 1; i >= 0; i--) {
+        siftDown(i);
+      }
+      started = true;
+    }
+
+    @Override
+    public int fill(VectorSchemaRoot batch, int maxRows) throws IOException {
+      if (!started) {
+        start();
+      }
+      batch.clear();
+      batch.allocateNew();
+      int rowCount = 0;
+      while (rowCount < maxRows && heapSize > 0) {
+        final RunCursor cursor = cursors[heap[0]];
+        copyRow(cursor.root(), cursor.row(), batch, rowCount++);
+        if (!cursor.advance()) {
+          heap[0] = heap[--heapSize];
+        }
+        siftDown(0);
+      }
+      batch.setRowCount(rowCount);
+      return rowCount;
+    }
+
+    private void siftDown(int pos) {
+      final int run = heap[pos];
+      while (true) {
+        int child = 2 * pos + 1;
+        if (child >= heapSize) {
+          break;
+        }
+        if (child + 1 < heapSize && lessThan(heap[child + 1], heap[child])) {
+          child++;
+        }
+        if (!lessThan(heap[child], run)) {
+          break;
+        }
+        heap[pos] = heap[child];
+        pos = child;
+      }
+      heap[pos] = run;
+    }
+
+    private boolean lessThan(int run1, int run2) {
+      final RunCursor cursor1 = cursors[run1];
+      final RunCursor cursor2 = cursors[run2];
+      final long versions = ((long) cursor1.batchVersion << 32) | (cursor2.batchVersion & 0xffffffffL);
+      if (comparators[run1][run2] == null || attachedVersions[run1][run2] != versions) {
+        comparators[run1][run2] = createKeyComparator(cursor1.root(), cursor2.root());
+        attachedVersions[run1][run2] = versions;
+      }
+      final int result = comparators[run1][run2].compare(cursor1.row(), cursor2.row());
+      return result < 0 || (result == 0 && run1 < run2);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        AutoCloseables.close(cursors);
+      } catch (IOException | RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IOException(e);
+      }
+    }
+  }
+
+  /**
+   * Reader of the sorted output, performing the final merge.
+   */
+  private final class SortedReader extends ArrowReader {
+
+    private final Schema schema;
+
+    private final RunMerger merger;
+
+    private final List<Path> runFiles;
+
+    private final BufferAllocator sortAllocator;
+
+    SortedReader(BufferAllocator allocator, Schema schema, RunMerger merger, List<Path> runFiles,
+        BufferAllocator sortAllocator) {
+      super(allocator);
+      this.schema = schema;
+      this.merger = merger;
+      this.runFiles = runFiles;
+      this.sortAllocator = sortAllocator;
+    }
+
+    @Override
+    public boolean loadNextBatch() throws IOException {
+      prepareLoadNextBatch();
+      return merger.fill(getVectorSchemaRoot(), batchSize) > 0;
+    }
+
+    @Override
+    public long bytesRead() {
+      return 0;
+    }
+
+    @Override
+    protected void closeReadSource() throws IOException {
+      try {
+        merger.close();
+      } finally {
+        deleteFiles(runFiles);
+        sortAllocator.close();
+      }
+    }
+
+    @Override
+    protected Schema readSchema() {
+      return schema;
+    }
+  }
+}
@@ -0,0 +1,394 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DateMilliVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.DurationVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeMicroVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeNanoVector;
+import org.apache.arrow.vector.TimeSecVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.UInt1Vector;
+import org.apache.arrow.vector.UInt2Vector;
+import org.apache.arrow.vector.UInt4Vector;
+import org.apache.arrow.vector.UInt8Vector;
+import org.apache.arrow.vector.ValueVector;
+
+/**
+ * Least-significant-digit radix sorter for numeric fixed-width vectors.
+ *
+ * <p>Values are mapped to unsigned keys whose byte order matches the value order
+ * (the sign bit of integers is flipped, negative floats are inverted and all NaNs are
+ * treated as greater than any other value), and the keys are sorted by a stable
+ * counting sort on one byte at a time. Passes over bytes that are the same for all
+ * values are skipped, so low-cardinality and narrow-range data take fewer passes.
+ * The time complexity is O(n * w) for values of w bytes, independent of the data
+ * distribution, and no comparator is invoked.</p>
+ *
+ * <p>Like {@link DefaultVectorComparators}, nulls come first. The sort is stable,
+ * so the sorted indices of equal values (and of nulls) are in ascending order.</p>
+ *
+ * <p>The scratch arrays are reused across calls, so an instance should not be shared
+ * between threads.</p>
+ *
+ * @param <V> vector type.
+ */
+public class FixedWidthRadixSorter<V extends BaseFixedWidthVector> {
+
+  private static final int RADIX_BITS = 8;
+
+  private static final int RADIX = 1 << RADIX_BITS;
+
+  private static final int DIGIT_MASK = RADIX - 1;
+
+  static final int DECIMAL_WIDTH = 16;
+
+  private static final int FLOAT_NAN_BITS = Float.floatToIntBits(Float.NaN);
+
+  private static final long DOUBLE_NAN_BITS = Double.doubleToLongBits(Double.NaN);
+
+  /**
+   * How values of a vector type are turned into sort keys.
+   */
+  enum KeyType {
+    SIGNED,
+    UNSIGNED,
+    FLOAT,
+    DECIMAL
+  }
+
+  private long[] keys = new long[0];
+
+  private long[] scratchKeys = new long[0];
+
+  /**
+   * The high words of decimal keys, only used for decimal vectors.
+   */
+  private long[] highKeys = new long[0];
+
+  private long[] scratchHighKeys = new long[0];
+
+  /**
+   * The original positions of the keys, only used for index sorts.
+   */
+  private int[] positions = new int[0];
+
+  private int[] scratchPositions = new int[0];
+
+  /**
+   * Checks if the radix sorter supports the given vector.
+   * Signed and unsigned integers, floating point numbers, dates, times, timestamps,
+   * durations and 128-bit decimals are supported.
+   * @param vector the vector to check.
+   * @return true if the vector can be sorted by this sorter.
+   */
+  public static boolean isSupported(ValueVector vector) {
+    return keyTypeOf(vector) != null;
+  }
+
+  static KeyType keyTypeOf(ValueVector vector) {
+    if (vector instanceof TinyIntVector || vector instanceof SmallIntVector ||
+        vector instanceof IntVector || vector instanceof BigIntVector ||
+        vector instanceof DateDayVector || vector instanceof DateMilliVector ||
+        vector instanceof TimeSecVector || vector instanceof TimeMilliVector ||
+        vector instanceof TimeMicroVector || vector instanceof TimeNanoVector ||
+        vector instanceof TimeStampVector || vector instanceof DurationVector) {
+      return KeyType.SIGNED;
+    } else if (vector instanceof UInt1Vector || vector instanceof UInt2Vector ||
+        vector instanceof UInt4Vector || vector instanceof UInt8Vector) {
+      return KeyType.UNSIGNED;
+    } else if (vector instanceof Float4Vector || vector instanceof Float8Vector) {
+      return KeyType.FLOAT;
+    } else if (vector instanceof DecimalVector) {
+      return KeyType.DECIMAL;
+    }
+    return null;
+  }
+
+  private static KeyType checkedKeyTypeOf(ValueVector vector) {
+    KeyType keyType = keyTypeOf(vector);
+    if (keyType == null) {
+      throw new IllegalArgumentException("Radix sort is not supported for " + vector.getClass().getCanonicalName());
+    }
+    return keyType;
+  }
+
+  /**
+   * Sorts the vector in-place, in ascending order with nulls first.
+   * NaN payloads of floating point values are not preserved.
+   * @param vec the vector to sort.
+   */
+  public void sortInPlace(V vec) {
+    KeyType keyType = checkedKeyTypeOf(vec);
+    int width = vec.getTypeWidth();
+    int valueCount = vec.getValueCount();
+    int nullCount = vec.getNullCount();
+    int count = valueCount - nullCount;
+
+    ensureCapacity(count, keyType == KeyType.DECIMAL, false);
+    loadKeys(vec, keyType, width, false);
+    sortKeys(count, keyType == KeyType.DECIMAL ? DECIMAL_WIDTH : width, false);
+
+    ArrowBuf validityBuffer = vec.getValidityBuffer();
+    for (int i = 0; i < nullCount; i++) {
+      BitVectorHelper.unsetBit(validityBuffer, i);
+    }
+    ArrowBuf dataBuffer = vec.getDataBuffer();
+    for (int i = 0; i < count; i++) {
+      int index = nullCount + i;
+      BitVectorHelper.setBit(validityBuffer, index);
+      if (keyType == KeyType.DECIMAL) {
+        dataBuffer.setLong((long) index * DECIMAL_WIDTH, keys[i]);
+        dataBuffer.setLong((long) index * DECIMAL_WIDTH + Long.BYTES, highKeys[i] ^ Long.MIN_VALUE);
+      } else {
+        writeValue(dataBuffer, index, width, decodeKey(keys[i], keyType, width));
+      }
+    }
+  }
+
+  /**
+   * Sorts the indices of a vector, like {@link IndexSorter}. Suppose the vector is denoted by v.
+   * After calling this method, the following relations hold:
+   * v(indices[0]) <= v(indices[1]) <= ...
+   * @param vec the vector whose indices need to be sorted.
+   * @param indices the vector for storing the sorted indices.
+   */
+  public void sortIndices(V vec, IntVector indices) {
+    KeyType keyType = checkedKeyTypeOf(vec);
+    int width = vec.getTypeWidth();
+    int valueCount = vec.getValueCount();
+    int nullCount = vec.getNullCount();
+    int count = valueCount - nullCount;
+
+    ensureCapacity(count, keyType == KeyType.DECIMAL, true);
+    int nullIndex = 0;
+    if (nullCount > 0) {
+      for (int i = 0; i < valueCount; i++) {
+        if (vec.isNull(i)) {
+          indices.setSafe(nullIndex++, i);
+        }
+      }
+    }
+    loadKeys(vec, keyType, width, true);
+    sortKeys(count, keyType == KeyType.DECIMAL ? DECIMAL_WIDTH : width, true);
+    indices.setValuesSafe(nullCount, positions, 0, count);
+  }
+
+  private void ensureCapacity(int count, boolean decimal, boolean withPositions) {
+    if (keys.length < count) {
+      keys = new long[count];
+      scratchKeys = new long[count];
+    }
+    if (decimal && highKeys.length < count) {
+      highKeys = new long[count];
+      scratchHighKeys = new long[count];
+    }
+    if (withPositions && positions.length < count) {
+      positions = new int[count];
+      scratchPositions = new int[count];
+    }
+  }
+
+  /**
+   * Extracts the keys of all non-null values, in index order.
+   */
+  private void loadKeys(V vec, KeyType keyType, int width, boolean withPositions) {
+    ArrowBuf dataBuffer = vec.getDataBuffer();
+    boolean mayHaveNulls = vec.getNullCount() > 0;
+    int count = 0;
+    for (int i = 0; i < vec.getValueCount(); i++) {
+      if (mayHaveNulls && vec.isNull(i)) {
+        continue;
+      }
+      if (keyType == KeyType.DECIMAL) {
+        keys[count] = dataBuffer.getLong((long) i * DECIMAL_WIDTH);
+        highKeys[count] = dataBuffer.getLong((long) i * DECIMAL_WIDTH + Long.BYTES) ^ Long.MIN_VALUE;
+      } else {
+        keys[count] = encodeKey(readValue(dataBuffer, i, width), keyType, width);
+      }
+      if (withPositions) {
+        positions[count] = i;
+      }
+      count++;
+    }
+    Preconditions.checkState(count == vec.getValueCount() - vec.getNullCount(),
+        "Null count does not match the validity buffer");
+  }
+
+  static long readValue(ArrowBuf dataBuffer, int index, int width) {
+    switch (width) {
+      case Byte.BYTES:
+        return dataBuffer.getByte(index);
+      case Short.BYTES:
+        return dataBuffer.getShort((long) index * Short.BYTES);
+      case Integer.BYTES:
+        return dataBuffer.getInt((long) index * Integer.BYTES);
+      case Long.BYTES:
+        return dataBuffer.getLong((long) index * Long.BYTES);
+      default:
+        throw new IllegalArgumentException("Unsupported type width " + width);
+    }
+  }
+
+  private static void writeValue(ArrowBuf dataBuffer, int index, int width, long value) {
+    switch (width) {
+      case Byte.BYTES:
+        dataBuffer.setByte(index, (byte) value);
+        break;
+      case Short.BYTES:
+        dataBuffer.setShort((long) index * Short.BYTES, (short) value);
+        break;
+      case Integer.BYTES:
+        dataBuffer.setInt((long) index * Integer.BYTES, (int) value);
+        break;
+      case Long.BYTES:
+        dataBuffer.setLong((long) index * Long.BYTES, value);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported type width " + width);
+    }
+  }
+
+  private static long widthMask(int width) {
+    return width == Long.BYTES ? -1L : (1L << (width * Byte.SIZE)) - 1;
+  }
+
+  /**
+   * Maps a sign-extended value to an unsigned key of the same width with the same order.
+   */
+  static long encodeKey(long value, KeyType keyType, int width) {
+    long signBit = 1L << (width * Byte.SIZE - 1);
+    switch (keyType) {
+      case SIGNED:
+        return (value ^ signBit) & widthMask(width);
+      case UNSIGNED:
+        return value & widthMask(width);
+      case FLOAT:
+        if (width == Float.BYTES) {
+          float floatValue = Float.intBitsToFloat((int) value);
+          value = Float.isNaN(floatValue) ? FLOAT_NAN_BITS : value;
+        } else {
+          double doubleValue = Double.longBitsToDouble(value);
+          value = Double.isNaN(doubleValue) ? DOUBLE_NAN_BITS : value;
+        }
+        // negative values are ordered by the inverted magnitude
+        return (value < 0 ? ~value : value | signBit) & widthMask(width);
+      default:
+        throw new IllegalArgumentException("Unexpected key type " + keyType);
+    }
+  }
+
+  private static long decodeKey(long key, KeyType keyType, int width) {
+    long signBit = 1L << (width * Byte.SIZE - 1);
+    switch (keyType) {
+      case SIGNED:
+        return key ^ signBit;
+      case UNSIGNED:
+        return key;
+      case FLOAT:
+        return (key & signBit) != 0 ? key ^ signBit : ~key;
+      default:
+        throw new IllegalArgumentException("Unexpected key type " + keyType);
+    }
+  }
+
+  /**
+   * Sorts the first count keys (and their positions, if requested) by a stable counting
+   * sort on each byte, from the least significant one.
+   */
+  private void sortKeys(int count, int keyWidth, boolean withPositions) {
+    if (count < 2) {
+      return;
+    }
+    boolean decimal = keyWidth > Long.BYTES;
+
+    // gather the histograms of all digits in a single pass
+    int[][] histograms = new int[keyWidth][RADIX];
+    for (int i = 0; i < count; i++) {
+      long key = keys[i];
+      for (int digit = 0; digit < Math.min(keyWidth, Long.BYTES); digit++) {
+        histograms[digit][(int) (key >>> (digit * RADIX_BITS)) & DIGIT_MASK]++;
+      }
+      if (decimal) {
+        long highKey = highKeys[i];
+        for (int digit = Long.BYTES; digit < keyWidth; digit++) {
+          histograms[digit][(int) (highKey >>> ((digit - Long.BYTES) * RADIX_BITS)) & DIGIT_MASK]++;
+        }
+      }
+    }
+
+    for (int digit = 0; digit < keyWidth; digit++) {
+      int[] histogram = histograms[digit];
+      boolean highWord = digit >= Long.BYTES;
+      int shift = (highWord ? digit - Long.BYTES : digit) * RADIX_BITS;
+      long[] digitKeys = highWord ? highKeys : keys;
+      if (histogram[(int) (digitKeys[0] >>> shift) & DIGIT_MASK] == count) {
+        // all keys share this digit
+        continue;
+      }
+
+      int offset = 0;
+      for (int bucket = 0; bucket < RADIX; bucket++) {
+        int bucketCount = histogram[bucket];
+        histogram[bucket] = offset;
+        offset += bucketCount;
+      }
+
+      for (int i = 0; i < count; i++) {
+        int target = histogram[(int) (digitKeys[i] >>> shift) & DIGIT_MASK]++;
+        scratchKeys[target] = keys[i];
+        if (decimal) {
+          scratchHighKeys[target] = highKeys[i];
+        }
+        if (withPositions) {
+          scratchPositions[target] = positions[i];
+        }
+      }
+      swapBuffers(decimal, withPositions);
+    }
+  }
+
+  private void swapBuffers(boolean decimal, boolean withPositions) {
+    long[] tmpKeys = keys;
+    keys = scratchKeys;
+    scratchKeys = tmpKeys;
+    if (decimal) {
+      long[] tmpHighKeys = highKeys;
+      highKeys = scratchHighKeys;
+      scratchHighKeys = tmpHighKeys;
+    }
+    if (withPositions) {
+      int[] tmpPositions = positions;
+      positions = scratchPositions;
+      scratchPositions = tmpPositions;
+    }
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.FixedSizeBinaryVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+
+/**
+ * Sorter for the rows of a {@link VectorSchemaRoot} by multiple columns, based on
+ * normalized keys encoded by {@link SortKeyEncoder}.
+ *
+ * <p>Compared with sorting by a {@link CompositeVectorComparator}, each comparison is a
+ * comparison of 8 bytes of the keys, held in a primitive array next to the row positions:
+ * the rows are sorted by the first 8 bytes of their keys, then each run of rows with equal
+ * bytes is sorted by the next 8 bytes, until the runs are single rows or equal keys.</p>
+ *
+ * <p>The sort is a stable merge sort.</p>
+ */
+public class NormalizedKeySorter {
+
+  private static final int INSERTION_SORT_THRESHOLD = 32;
+
+  private static final int PREFIX_WIDTH = Long.BYTES;
+
+  private final SortKeyEncoder encoder;
+
+  private ArrowBuf keyBuffer;
+
+  private ArrowBuf offsetBuffer;
+
+  /**
+   * The length of all keys, or -1 if the keys are variable-width.
+   */
+  private int keyWidth;
+
+  /**
+   * Constructs a sorter.
+   * @param columns the columns to sort by, in order of precedence.
+   */
+  public NormalizedKeySorter(List<SortKeyEncoder.SortColumn> columns) {
+    this.encoder = new SortKeyEncoder(columns);
+  }
+
+  /**
+   * Sorts the rows of a root. After calling this method, indices[0], indices[1], ...
+   * are the positions of the rows in sorted order.
+   * @param root the root whose rows need to be sorted.
+   * @param indices the vector for storing the sorted indices.
+   * @param allocator the allocator for the temporary keys.
+   */
+  public void sort(VectorSchemaRoot root, IntVector indices, BufferAllocator allocator) {
+    final int rowCount = root.getRowCount();
+    final int fixedKeyWidth = encoder.getFixedKeyWidth(root);
+    if (fixedKeyWidth > 0) {
+      try (FixedSizeBinaryVector keys = encoder.encodeFixedWidth(root, allocator)) {
+        sort(keys.getDataBuffer(), null, fixedKeyWidth, rowCount, indices);
+      }
+    } else {
+      try (VarBinaryVector keys = encoder.encode(root, allocator)) {
+        sort(keys.getDataBuffer(), keys.getOffsetBuffer(), -1, rowCount, indices);
+      }
+    }
+  }
+
+  private void sort(ArrowBuf keyBuffer, ArrowBuf offsetBuffer, int keyWidth, int rowCount, IntVector indices) {
+    this.keyBuffer = keyBuffer;
+    this.offsetBuffer = offsetBuffer;
+    this.keyWidth = keyWidth;
+    try {
+      final long[] prefixes = new long[rowCount];
+      final int[] positions = new int[rowCount];
+      for (int row = 0; row < rowCount; row++) {
+        positions[row] = row;
+      }
+      sortByPrefixes(prefixes, positions, new long[rowCount], new int[rowCount], 0, rowCount, 0);
+      indices.setValuesSafe(0, positions, 0, rowCount);
+    } finally {
+      this.keyBuffer = null;
+      this.offsetBuffer = null;
+    }
+  }
+
+  /**
+   * Sorts the rows at positions [low, high), whose keys are known to share their first
+   * {@code depth} bytes, by the following 8 bytes of the keys, then sorts each run of rows
+   * sharing these bytes by the next 8 bytes, and so on.
+   */
+  private void sortByPrefixes(long[] prefixes, int[] positions, long[] scratchPrefixes, int[] scratchPositions,
+      int low, int high, long depth) {
+    for (int i = low; i < high; i++) {
+      prefixes[i] = prefix(positions[i], depth);
+    }
+    mergeSort(prefixes, positions, scratchPrefixes, scratchPositions, low, high);
+
+    final long nextDepth = depth + PREFIX_WIDTH;
+    int runStart = low;
+    while (runStart < high) {
+      int runEnd = runStart + 1;
+      while (runEnd < high && prefixes[runEnd] == prefixes[runStart]) {
+        runEnd++;
+      }
+      // keys are never proper prefixes of other keys, so equal padded prefixes imply that
+      // the keys are either equal, or all longer than the prefix.
+      if (runEnd - runStart > 1 && keyEnd(positions[runStart]) - keyStart(positions[runStart]) > nextDepth) {
+        sortByPrefixes(prefixes, positions, scratchPrefixes, scratchPositions, runStart, runEnd, nextDepth);
+      }
+      runStart = runEnd;
+    }
+  }
+
+  private long keyStart(int row) {
+    return keyWidth > 0 ? (long) row * keyWidth :
+        offsetBuffer.getInt((long) row * BaseVariableWidthVector.OFFSET_WIDTH);
+  }
+
+  private long keyEnd(int row) {
+    return keyWidth > 0 ? (long) (row + 1) * keyWidth :
+        offsetBuffer.getInt((long) (row + 1) * BaseVariableWidthVector.OFFSET_WIDTH);
+  }
+
+  /**
+   * Gets 8 bytes of a key from the given depth as a big-endian integer, padded with zeros,
+   * with its sign bit flipped, so that signed comparisons of prefixes order the keys.
+   */
+  private long prefix(int row, long depth) {
+    final long start = keyStart(row) + depth;
+    final long length = keyEnd(row) - start;
+    long value;
+    if (length >= PREFIX_WIDTH) {
+      value = keyBuffer.getLong(start);
+      value = MemoryUtil.LITTLE_ENDIAN ? Long.reverseBytes(value) : value;
+    } else {
+      value = 0;
+      for (int i = 0; i < PREFIX_WIDTH; i++) {
+        value = (value << Byte.SIZE) | (i < length ? keyBuffer.getByte(start + i) & 0xff : 0);
+      }
+    }
+    return value ^ Long.MIN_VALUE;
+  }
+
+  /**
+   * Sorts the ranges [low, high) of the prefixes and positions stably, using the same range
+   * of the scratch arrays.
+   */
+  private static void mergeSort(long[] prefixes, int[] positions, long[] scratchPrefixes, int[] scratchPositions,
+      int low, int high) {
+    if (high - low < INSERTION_SORT_THRESHOLD) {
+      for (int i = low + 1; i < high; i++) {
+        final long prefix = prefixes[i];
+        final int position = positions[i];
+        int j = i - 1;
+        while (j >= low && prefixes[j] > prefix) {
+          prefixes[j + 1] = prefixes[j];
+          positions[j + 1] = positions[j];
+          j--;
+        }
+        prefixes[j + 1] = prefix;
+        positions[j + 1] = position;
+      }
+      return;
+    }
+    final int mid = (low + high) >>> 1;
+    mergeSort(prefixes, positions, scratchPrefixes, scratchPositions, low, mid);
+    mergeSort(prefixes, positions, scratchPrefixes, scratchPositions, mid, high);
+    if (prefixes[mid - 1] <= prefixes[mid]) {
+      // already in order
+      return;
+    }
+
+    System.arraycopy(prefixes, low, scratchPrefixes, low, high - low);
+    System.arraycopy(positions, low, scratchPositions, low, high - low);
+    int left = low;
+    int right = mid;
+    for (int out = low; out < high; out++) {
+      if (right >= high || (left < mid && scratchPrefixes[left] <= scratchPrefixes[right])) {
+        prefixes[out] = scratchPrefixes[left];
+        positions[out] = scratchPositions[left++];
+      } else {
+        prefixes[out] = scratchPrefixes[right];
+        positions[out] = scratchPositions[right++];
+      }
+    }
+  }
+}
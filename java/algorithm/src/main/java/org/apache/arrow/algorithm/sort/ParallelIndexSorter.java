@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+
+/**
+ * Sorter for the indices of a vector by multiple threads.
+ * The vector is split into ranges (runs) which are sorted concurrently on a {@link ForkJoinPool},
+ * each with its own comparator created by {@link VectorValueComparator#createNew()}.
+ * The sorted runs are then merged by a k-way merge into the final permutation.
+ *
+ * <p>The runs are sorted by merge sort and ties in the k-way merge are broken by the run order,
+ * so the sort is stable: the indices of equal values are in ascending order.
+ * It works for any vector type with a comparator, including fixed-width and variable-width vectors.</p>
+ *
+ * @param <V> vector type.
+ */
+public class ParallelIndexSorter<V extends ValueVector> {
+
+  /**
+   * Ranges shorter than this are sorted by insertion sort.
+   */
+  static final int INSERTION_SORT_THRESHOLD = 32;
+
+  /**
+   * The minimum number of elements in a run, so that small vectors are not split.
+   */
+  static final int MIN_RUN_LENGTH = 4096;
+
+  /**
+   * The thread pool.
+   */
+  private final ForkJoinPool threadPool;
+
+  /**
+   * The maximum number of runs to sort concurrently.
+   */
+  private final int numRuns;
+
+  /**
+   * Constructs a parallel index sorter, splitting the vector into as many runs as the
+   * parallelism of the pool.
+   * @param threadPool the thread pool to use.
+   */
+  public ParallelIndexSorter(ForkJoinPool threadPool) {
+    this(threadPool, threadPool.getParallelism());
+  }
+
+  /**
+   * Constructs a parallel index sorter.
+   * @param threadPool the thread pool to use.
+   * @param numRuns the maximum number of runs to sort concurrently.
+   */
+  public ParallelIndexSorter(ForkJoinPool threadPool, int numRuns) {
+    Preconditions.checkArgument(numRuns > 0, "The number of runs must be positive");
+    this.threadPool = threadPool;
+    this.numRuns = numRuns;
+  }
+
+  /**
+   * Sorts indices. Suppose the vector is denoted by v.
+   * After calling this method, the following relations hold:
+   * v(indices[0]) <= v(indices[1]) <= ...
+   * @param vector the vector whose indices need to be sorted.
+   * @param indices the vector for storing the sorted indices.
+   * @param comparator the comparator to sort indices. It is used as a prototype for the
+   *     comparators of the concurrent tasks, and is attached to the vector by the merge.
+   */
+  public void sort(V vector, IntVector indices, VectorValueComparator<V> comparator) {
+    final int valueCount = vector.getValueCount();
+    final int runCount = (int) Math.max(1, Math.min(numRuns, (long) valueCount / MIN_RUN_LENGTH));
+    final int[] runStarts = new int[runCount + 1];
+    for (int i = 0; i <= runCount; i++) {
+      // convert to long to avoid overflow
+      runStarts[i] = (int) ((long) valueCount * i / runCount);
+    }
+
+    final int[] positions = new int[valueCount];
+    final int[] scratch = new int[valueCount];
+    final RecursiveAction[] tasks = new RecursiveAction[runCount];
+    for (int i = 0; i < runCount; i++) {
+      tasks[i] = new RunSortTask<>(vector, comparator.createNew(), positions, scratch,
+          runStarts[i], runStarts[i + 1]);
+    }
+    if (runCount == 1) {
+      tasks[0].invoke();
+      indices.setValuesSafe(0, positions, 0, valueCount);
+      return;
+    }
+    threadPool.invoke(new RecursiveAction() {
+      @Override
+      protected void compute() {
+        invokeAll(tasks);
+      }
+    });
+
+    comparator.attachVector(vector);
+    merge(positions, scratch, runStarts, comparator);
+    indices.setValuesSafe(0, scratch, 0, valueCount);
+  }
+
+  /**
+   * Merges the sorted runs of the source array into the target array, by a binary heap of
+   * run numbers ordered by the values at their current heads.
+   */
+  static <V extends ValueVector> void merge(
+      int[] source, int[] target, int[] runStarts, VectorValueComparator<V> comparator) {
+    final int runCount = runStarts.length - 1;
+    final int[] heads = new int[runCount];
+    final int[] heap = new int[runCount];
+    int heapSize = 0;
+    for (int run = 0; run < runCount; run++) {
+      heads[run] = runStarts[run];
+      if (runStarts[run] < runStarts[run + 1]) {
+        heap[heapSize++] = run;
+      }
+    }
+    for (int i = heapSize / 2 - 1; i >= 0; i--) {
+      siftDown(heap, heapSize, i, source, heads, comparator);
+    }
+
+    int out = 0;
+    while (heapSize > 0) {
+      final int run = heap[0];
+      target[out++] = source[heads[run]++];
+      if (heads[run] == runStarts[run + 1]) {
+        heap[0] = heap[--heapSize];
+      }
+      siftDown(heap, heapSize, 0, source, heads, comparator);
+    }
+  }
+
+  private static <V extends ValueVector> void siftDown(
+      int[] heap, int heapSize, int pos, int[] source, int[] heads, VectorValueComparator<V> comparator) {
+    final int run = heap[pos];
+    while (true) {
+      int child = 2 * pos + 1;
+      if (child >= heapSize) {
+        break;
+      }
+      if (child + 1 < heapSize && lessThan(heap[child + 1], heap[child], source, heads, comparator)) {
+        child++;
+      }
+      if (!lessThan(heap[child], run, source, heads, comparator)) {
+        break;
+      }
+      heap[pos] = heap[child];
+      pos = child;
+    }
+    heap[pos] = run;
+  }
+
+  private static <V extends ValueVector> boolean lessThan(
+      int run1, int run2, int[] source, int[] heads, VectorValueComparator<V> comparator) {
+    int result = comparator.compare(source[heads[run1]], source[heads[run2]]);
+    // earlier runs hold smaller indices, so breaking ties by run keeps the merge stable
+    return result < 0 || (result == 0 && run1 < run2);
+  }
+
+  /**
+   * Task sorting the indices of one run by merge sort.
+   */
+  private static final class RunSortTask<V extends ValueVector> extends RecursiveAction {
+
+    private final V vector;
+
+    private final VectorValueComparator<V> comparator;
+
+    private final int[] positions;
+
+    private final int[] scratch;
+
+    private final int start;
+
+    private final int end;
+
+    RunSortTask(V vector, VectorValueComparator<V> comparator, int[] positions, int[] scratch,
+        int start, int end) {
+      this.vector = vector;
+      this.comparator = comparator;
+      this.positions = positions;
+      this.scratch = scratch;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      comparator.attachVector(vector);
+      for (int i = start; i < end; i++) {
+        positions[i] = i;
+      }
+      mergeSort(comparator, positions, scratch, start, end);
+    }
+  }
+
+  /**
+   * Sorts positions[low, high) stably by merge sort, using the same range of the scratch array.
+   * The comparator must be attached to the vector(s) the positions refer to.
+   */
+  static <V extends ValueVector> void mergeSort(
+      VectorValueComparator<V> comparator, int[] positions, int[] scratch, int low, int high) {
+    if (high - low < INSERTION_SORT_THRESHOLD) {
+      insertionSort(comparator, positions, low, high);
+      return;
+    }
+    final int mid = (low + high) >>> 1;
+    mergeSort(comparator, positions, scratch, low, mid);
+    mergeSort(comparator, positions, scratch, mid, high);
+    if (comparator.compare(positions[mid - 1], positions[mid]) <= 0) {
+      // already in order
+      return;
+    }
+
+    System.arraycopy(positions, low, scratch, low, high - low);
+    int left = low;
+    int right = mid;
+    for (int out = low; out < high; out++) {
+      if (right >= high || (left < mid && comparator.compare(scratch[left], scratch[right]) <= 0)) {
+        positions[out] = scratch[left++];
+      } else {
+        positions[out] = scratch[right++];
+      }
+    }
+  }
+
+  private static <V extends ValueVector> void insertionSort(
+      VectorValueComparator<V> comparator, int[] positions, int low, int high) {
+    for (int i = low + 1; i < high; i++) {
+      final int key = positions[i];
+      int j = i - 1;
+      while (j >= low && comparator.compare(positions[j], key) > 0) {
+        positions[j + 1] = positions[j];
+        j--;
+      }
+      positions[j + 1] = key;
+    }
+  }
+}
@@ -0,0 +1,465 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseLargeVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthViewVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.ElementAddressableVector;
+import org.apache.arrow.vector.FixedSizeBinaryVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+
+/**
+ * Encoder of the sort columns of a {@link VectorSchemaRoot} into normalized sort keys.
+ * A normalized key is a byte string whose unsigned lexicographic order, as computed by
+ * {@link org.apache.arrow.memory.util.ByteFunctionHelpers#compare}, is the order of the rows
+ * (ties included), so rows can be compared without dispatching to a comparator per column.
+ *
+ * <p>The key of a row is the concatenation of the encodings of its sort columns. Each encoding
+ * starts with a byte ordering nulls before or after all values, followed by:</p>
+ * <ul>
+ *   <li>for integers, dates, times, timestamps, durations, floating point numbers and decimals,
+ *   the big-endian bytes of the same order-preserving key as {@link FixedWidthRadixSorter};</li>
+ *   <li>for booleans and fixed size binaries, the raw bytes;</li>
+ *   <li>for variable-width binaries and strings, the bytes with 0x00 escaped as 0x00 0xFF,
+ *   followed by the terminator 0x00 0x01, so that shorter values sort first.</li>
+ * </ul>
+ * <p>The value bytes are inverted for descending columns, and zeroed for null fixed-width
+ * values, so that keys of fixed-width columns all have the same length.</p>
+ */
+public class SortKeyEncoder {
+
+  private static final byte ESCAPE = 0x00;
+
+  private static final byte ESCAPED_ZERO = (byte) 0xFF;
+
+  private static final byte TERMINATOR = 0x01;
+
+  /**
+   * A column to sort by, with its direction and the position of its nulls.
+   */
+  public static final class SortColumn {
+
+    private final int columnIndex;
+
+    private final boolean descending;
+
+    private final boolean nullsFirst;
+
+    /**
+     * Constructs a sort column.
+     * @param columnIndex the index of the column in the vector schema root.
+     * @param descending true to sort the values in descending order.
+     * @param nullsFirst true to sort nulls before all values, false to sort them after.
+     */
+    public SortColumn(int columnIndex, boolean descending, boolean nullsFirst) {
+      this.columnIndex = columnIndex;
+      this.descending = descending;
+      this.nullsFirst = nullsFirst;
+    }
+
+    /**
+     * Creates an ascending sort column with nulls first, like {@link DefaultVectorComparators}.
+     */
+    public static SortColumn ascending(int columnIndex) {
+      return new SortColumn(columnIndex, false, true);
+    }
+
+    public int getColumnIndex() {
+      return columnIndex;
+    }
+
+    public boolean isDescending() {
+      return descending;
+    }
+
+    public boolean isNullsFirst() {
+      return nullsFirst;
+    }
+  }
+
+  private final SortColumn[] columns;
+
+  /**
+   * Constructs an encoder.
+   * @param columns the columns to sort by, in order of precedence.
+   */
+  public SortKeyEncoder(List<SortColumn> columns) {
+    Preconditions.checkArgument(!columns.isEmpty(), "At least one sort column is required");
+    this.columns = columns.toArray(new SortColumn[0]);
+  }
+
+  /**
+   * Checks if the encoder supports the given vector as a sort column.
+   * @param vector the vector to check.
+   * @return true if the vector can be encoded.
+   */
+  public static boolean isSupported(ValueVector vector) {
+    return FixedWidthRadixSorter.keyTypeOf(vector) != null || vector instanceof BitVector ||
+        vector instanceof FixedSizeBinaryVector || vector instanceof BaseVariableWidthVector ||
+        vector instanceof BaseLargeVariableWidthVector || vector instanceof BaseVariableWidthViewVector;
+  }
+
+  /**
+   * Gets the length of the keys of the root, if all the sort columns are fixed-width.
+   * @param root the vector schema root.
+   * @return the length of the keys in bytes, or -1 if there is a variable-width sort column.
+   */
+  public int getFixedKeyWidth(VectorSchemaRoot root) {
+    int width = 0;
+    for (ColumnEncoder encoder : createEncoders(root)) {
+      if (encoder.valueWidth < 0) {
+        return -1;
+      }
+      width += 1 + encoder.valueWidth;
+    }
+    return width;
+  }
+
+  /**
+   * Encodes the keys of the rows of a root whose sort columns are all fixed-width.
+   * @param root the vector schema root.
+   * @param allocator the allocator for the keys.
+   * @return a vector with the key of each row, to be closed by the caller.
+   */
+  public FixedSizeBinaryVector encodeFixedWidth(VectorSchemaRoot root, BufferAllocator allocator) {
+    final int keyWidth = getFixedKeyWidth(root);
+    Preconditions.checkArgument(keyWidth > 0, "The sort columns are not all fixed-width");
+    final ColumnEncoder[] encoders = createEncoders(root);
+    final int rowCount = root.getRowCount();
+    final FixedSizeBinaryVector keys = new FixedSizeBinaryVector("sort keys", allocator, keyWidth);
+    try {
+      keys.allocateNew(rowCount);
+      final long[] cursors = new long[rowCount];
+      for (int row = 0; row < rowCount; row++) {
+        cursors[row] = (long) row * keyWidth;
+        BitVectorHelper.setBit(keys.getValidityBuffer(), row);
+      }
+      for (ColumnEncoder encoder : encoders) {
+        encoder.encodeAll(keys.getDataBuffer(), cursors);
+      }
+      keys.setValueCount(rowCount);
+    } catch (RuntimeException e) {
+      keys.close();
+      throw e;
+    }
+    return keys;
+  }
+
+  /**
+   * Encodes the keys of the rows of a root.
+   * @param root the vector schema root.
+   * @param allocator the allocator for the keys.
+   * @return a vector with the key of each row, to be closed by the caller.
+   */
+  public VarBinaryVector encode(VectorSchemaRoot root, BufferAllocator allocator) {
+    final ColumnEncoder[] encoders = createEncoders(root);
+    final int rowCount = root.getRowCount();
+    final long[] cursors = new long[rowCount];
+    long totalLength = 0;
+    for (int row = 0; row < rowCount; row++) {
+      cursors[row] = totalLength;
+      for (ColumnEncoder encoder : encoders) {
+        totalLength += encoder.encodedLength(row);
+      }
+    }
+    Preconditions.checkArgument(totalLength <= Integer.MAX_VALUE, "The sort keys are too long");
+
+    final VarBinaryVector keys = new VarBinaryVector("sort keys", allocator);
+    try {
+      keys.allocateNew(totalLength, rowCount);
+      final ArrowBuf offsetBuffer = keys.getOffsetBuffer();
+      for (int row = 0; row < rowCount; row++) {
+        offsetBuffer.setInt((long) row * BaseVariableWidthVector.OFFSET_WIDTH, (int) cursors[row]);
+        BitVectorHelper.setBit(keys.getValidityBuffer(), row);
+      }
+      offsetBuffer.setInt((long) rowCount * BaseVariableWidthVector.OFFSET_WIDTH, (int) totalLength);
+      for (ColumnEncoder encoder : encoders) {
+        encoder.encodeAll(keys.getDataBuffer(), cursors);
+      }
+      keys.setLastSet(rowCount - 1);
+      keys.setValueCount(rowCount);
+    } catch (RuntimeException e) {
+      keys.close();
+      throw e;
+    }
+    return keys;
+  }
+
+  private ColumnEncoder[] createEncoders(VectorSchemaRoot root) {
+    final ColumnEncoder[] encoders = new ColumnEncoder[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      final SortColumn column = columns[i];
+      Preconditions.checkElementIndex(column.columnIndex, root.getFieldVectors().size(), "sort column");
+      final ValueVector vector = root.getVector(column.columnIndex);
+      final FixedWidthRadixSorter.KeyType keyType = FixedWidthRadixSorter.keyTypeOf(vector);
+      if (keyType == FixedWidthRadixSorter.KeyType.DECIMAL) {
+        encoders[i] = new DecimalEncoder((BaseFixedWidthVector) vector, column);
+      } else if (keyType != null) {
+        encoders[i] = new NumericEncoder((BaseFixedWidthVector) vector, column, keyType);
+      } else if (vector instanceof BitVector) {
+        encoders[i] = new BitEncoder((BitVector) vector, column);
+      } else if (vector instanceof FixedSizeBinaryVector) {
+        encoders[i] = new FixedSizeBinaryEncoder((FixedSizeBinaryVector) vector, column);
+      } else if (vector instanceof BaseVariableWidthVector || vector instanceof BaseLargeVariableWidthVector ||
+          vector instanceof BaseVariableWidthViewVector) {
+        encoders[i] = new VariableWidthEncoder((ElementAddressableVector) vector, column);
+      } else {
+        throw new IllegalArgumentException("Sort keys are not supported for " + vector.getClass().getCanonicalName());
+      }
+    }
+    return encoders;
+  }
+
+  /**
+   * Encoder of one sort column.
+   */
+  private abstract static class ColumnEncoder {
+
+    final ValueVector vector;
+
+    /**
+     * The length of encoded values, excluding the null byte, or -1 if variable.
+     */
+    final int valueWidth;
+
+    private final boolean descending;
+
+    private final byte nullByte;
+
+    private final byte validByte;
+
+    ColumnEncoder(ValueVector vector, SortColumn column, int valueWidth) {
+      this.vector = vector;
+      this.valueWidth = valueWidth;
+      this.descending = column.descending;
+      this.nullByte = column.nullsFirst ? (byte) 0 : (byte) 1;
+      this.validByte = column.nullsFirst ? (byte) 1 : (byte) 0;
+    }
+
+    /**
+     * Gets the encoded length of a row, including the null byte.
+     */
+    int encodedLength(int row) {
+      return 1 + valueWidth;
+    }
+
+    /**
+     * Writes the encodings of all rows at the cursors, and advances the cursors.
+     */
+    void encodeAll(ArrowBuf buf, long[] cursors) {
+      final boolean mayHaveNulls = vector.getNullCount() > 0;
+      for (int row = 0; row < cursors.length; row++) {
+        long offset = cursors[row];
+        if (mayHaveNulls && vector.isNull(row)) {
+          buf.setByte(offset, nullByte);
+          if (valueWidth > 0) {
+            buf.setZero(offset + 1, valueWidth);
+          }
+          cursors[row] = offset + 1 + Math.max(valueWidth, 0);
+          continue;
+        }
+        buf.setByte(offset, validByte);
+        long end = writeValue(buf, offset + 1, row);
+        if (descending) {
+          invert(buf, offset + 1, end);
+        }
+        cursors[row] = end;
+      }
+    }
+
+    /**
+     * Writes the encoding of a non-null value, in ascending order.
+     * @return the offset after the encoding.
+     */
+    abstract long writeValue(ArrowBuf buf, long offset, int row);
+  }
+
+  private static void invert(ArrowBuf buf, long start, long end) {
+    long offset = start;
+    for (; offset + Long.BYTES <= end; offset += Long.BYTES) {
+      buf.setLong(offset, ~buf.getLong(offset));
+    }
+    for (; offset < end; offset++) {
+      buf.setByte(offset, ~buf.getByte(offset));
+    }
+  }
+
+  private static long toBigEndian(long value) {
+    return MemoryUtil.LITTLE_ENDIAN ? Long.reverseBytes(value) : value;
+  }
+
+  private static void writeBigEndian(ArrowBuf buf, long offset, long value, int width) {
+    for (int i = 0; i < width; i++) {
+      buf.setByte(offset + i, (byte) (value >>> ((width - 1 - i) * Byte.SIZE)));
+    }
+  }
+
+  /**
+   * Encoder of integers, dates, times, timestamps, durations and floating point numbers.
+   */
+  private static final class NumericEncoder extends ColumnEncoder {
+
+    private final FixedWidthRadixSorter.KeyType keyType;
+
+    private final ArrowBuf dataBuffer;
+
+    NumericEncoder(BaseFixedWidthVector vector, SortColumn column, FixedWidthRadixSorter.KeyType keyType) {
+      super(vector, column, vector.getTypeWidth());
+      this.keyType = keyType;
+      this.dataBuffer = vector.getDataBuffer();
+    }
+
+    @Override
+    long writeValue(ArrowBuf buf, long offset, int row) {
+      long key = FixedWidthRadixSorter.encodeKey(
+          FixedWidthRadixSorter.readValue(dataBuffer, row, valueWidth), keyType, valueWidth);
+      if (valueWidth == Long.BYTES) {
+        buf.setLong(offset, toBigEndian(key));
+      } else {
+        writeBigEndian(buf, offset, key, valueWidth);
+      }
+      return offset + valueWidth;
+    }
+  }
+
+  /**
+   * Encoder of 128-bit decimals, as a big-endian two's complement integer with the sign flipped.
+   */
+  private static final class DecimalEncoder extends ColumnEncoder {
+
+    private final ArrowBuf dataBuffer;
+
+    DecimalEncoder(BaseFixedWidthVector vector, SortColumn column) {
+      super(vector, column, FixedWidthRadixSorter.DECIMAL_WIDTH);
+      this.dataBuffer = vector.getDataBuffer();
+    }
+
+    @Override
+    long writeValue(ArrowBuf buf, long offset, int row) {
+      long low = dataBuffer.getLong((long) row * FixedWidthRadixSorter.DECIMAL_WIDTH);
+      long high = dataBuffer.getLong((long) row * FixedWidthRadixSorter.DECIMAL_WIDTH + Long.BYTES);
+      buf.setLong(offset, toBigEndian(high ^ Long.MIN_VALUE));
+      buf.setLong(offset + Long.BYTES, toBigEndian(low));
+      return offset + FixedWidthRadixSorter.DECIMAL_WIDTH;
+    }
+  }
+
+  /**
+   * Encoder of booleans.
+   */
+  private static final class BitEncoder extends ColumnEncoder {
+
+    BitEncoder(BitVector vector, SortColumn column) {
+      super(vector, column, 1);
+    }
+
+    @Override
+    long writeValue(ArrowBuf buf, long offset, int row) {
+      buf.setByte(offset, ((BitVector) vector).get(row));
+      return offset + 1;
+    }
+  }
+
+  /**
+   * Encoder of fixed size binaries.
+   */
+  private static final class FixedSizeBinaryEncoder extends ColumnEncoder {
+
+    private final ArrowBuf dataBuffer;
+
+    FixedSizeBinaryEncoder(FixedSizeBinaryVector vector, SortColumn column) {
+      super(vector, column, vector.getByteWidth());
+      this.dataBuffer = vector.getDataBuffer();
+    }
+
+    @Override
+    long writeValue(ArrowBuf buf, long offset, int row) {
+      buf.setBytes(offset, dataBuffer, (long) row * valueWidth, valueWidth);
+      return offset + valueWidth;
+    }
+  }
+
+  /**
+   * Encoder of variable-width binaries and strings.
+   */
+  private static final class VariableWidthEncoder extends ColumnEncoder {
+
+    private final ArrowBufPointer pointer = new ArrowBufPointer();
+
+    VariableWidthEncoder(ElementAddressableVector vector, SortColumn column) {
+      super(vector, column, -1);
+    }
+
+    @Override
+    int encodedLength(int row) {
+      return 1 + (vector.isNull(row) ? 0 : variableLength(row));
+    }
+
+    /**
+     * Gets the encoded length of a non-null value.
+     */
+    private int variableLength(int row) {
+      ((ElementAddressableVector) vector).getDataPointer(row, pointer);
+      final ArrowBuf data = pointer.getBuf();
+      int length = (int) pointer.getLength() + 2;
+      for (long i = pointer.getOffset(); i < pointer.getOffset() + pointer.getLength(); i++) {
+        if (data.getByte(i) == ESCAPE) {
+          length++;
+        }
+      }
+      return length;
+    }
+
+    @Override
+    long writeValue(ArrowBuf buf, long offset, int row) {
+      ((ElementAddressableVector) vector).getDataPointer(row, pointer);
+      final ArrowBuf data = pointer.getBuf();
+      final long start = pointer.getOffset();
+      final long end = start + pointer.getLength();
+      long runStart = start;
+      for (long i = start; i < end; i++) {
+        if (data.getByte(i) == ESCAPE) {
+          buf.setBytes(offset, data, runStart, i + 1 - runStart);
+          offset += i + 1 - runStart;
+          buf.setByte(offset++, ESCAPED_ZERO);
+          runStart = i + 1;
+        }
+      }
+      if (runStart < end) {
+        buf.setBytes(offset, data, runStart, end - runStart);
+        offset += end - runStart;
+      }
+      buf.setByte(offset++, ESCAPE);
+      buf.setByte(offset++, TERMINATOR);
+      return offset;
+    }
+  }
+}
@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.aggregate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.OutOfMemoryException;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FixedSizeBinaryVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link HashAggregator}.
+ */
+public class TestHashAggregator {
+
+  private static final Schema SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("key", new ArrowType.Int(32, true)),
+      Field.nullable("name", ArrowType.Utf8.INSTANCE),
+      Field.nullable("value", new ArrowType.Int(64, true)),
+      Field.nullable("price", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE))));
+
+  private static final int ROW_COUNT = 10000;
+
+  private static final int BATCH_SIZE = 1000;
+
+  private BufferAllocator allocator;
+
+  private final Random random = new Random(0);
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private void fillBatch(VectorSchemaRoot batch, int rowCount, int keyCardinality) {
+    batch.allocateNew();
+    IntVector keys = (IntVector) batch.getVector(0);
+    VarCharVector names = (VarCharVector) batch.getVector(1);
+    BigIntVector values = (BigIntVector) batch.getVector(2);
+    Float8Vector prices = (Float8Vector) batch.getVector(3);
+    for (int i = 0; i < rowCount; i++) {
+      if (random.nextInt(20) == 0) {
+        keys.setNull(i);
+      } else {
+        keys.setSafe(i, random.nextInt(keyCardinality));
+      }
+      if (random.nextInt(20) == 0) {
+        names.setNull(i);
+      } else {
+        names.setSafe(i, ("name\0" + random.nextInt(3)).getBytes(StandardCharsets.UTF_8));
+      }
+      if (random.nextInt(10) == 0) {
+        values.setNull(i);
+      } else {
+        values.setSafe(i, random.nextInt(100) - 50);
+      }
+      if (random.nextInt(10) == 0) {
+        prices.setNull(i);
+      } else {
+        prices.setSafe(i, random.nextInt(1000) / 8.0);
+      }
+    }
+    batch.setRowCount(rowCount);
+  }
+
+  /**
+   * The expected aggregates of a group.
+   */
+  private static final class Expected {
+    long rows;
+    long values;
+    Long sum;
+    Double priceSum;
+    Long min;
+    Double maxPrice;
+    Set<Long> distinctValues = new HashSet<>();
+
+    void add(VectorSchemaRoot batch, int row) {
+      BigIntVector values = (BigIntVector) batch.getVector(2);
+      Float8Vector prices = (Float8Vector) batch.getVector(3);
+      rows++;
+      if (!values.isNull(row)) {
+        long value = values.get(row);
+        this.values++;
+        sum = sum == null ? value : sum + value;
+        min = min == null ? value : Math.min(min, value);
+        distinctValues.add(value);
+      }
+      if (!prices.isNull(row)) {
+        double price = prices.get(row);
+        priceSum = priceSum == null ? price : priceSum + price;
+        maxPrice = maxPrice == null ? price : Math.max(maxPrice, price);
+      }
+    }
+  }
+
+  private static final List<AggregateSpec> AGGREGATES = Arrays.asList(
+      AggregateSpec.countRows("rows"),
+      new AggregateSpec(AggregateSpec.Function.COUNT, 2, "values"),
+      new AggregateSpec(AggregateSpec.Function.SUM, 2, "sum"),
+      new AggregateSpec(AggregateSpec.Function.SUM, 3, "price_sum"),
+      new AggregateSpec(AggregateSpec.Function.MIN, 2, "min"),
+      new AggregateSpec(AggregateSpec.Function.MAX, 3, "max_price"),
+      new AggregateSpec(AggregateSpec.Function.MEAN, 2, "mean"),
+      new AggregateSpec(AggregateSpec.Function.COUNT_DISTINCT, 2, "distinct_values"));
+
+  @Test
+  public void testGroupByMultipleColumns() {
+    verifyGroupBy(new int[]{0, 1});
+  }
+
+  @Test
+  public void testGroupByFixedWidthColumn() {
+    verifyGroupBy(new int[]{0});
+  }
+
+  @Test
+  public void testGroupByVariableWidthColumn() {
+    verifyGroupBy(new int[]{1});
+  }
+
+  @Test
+  public void testGroupByFixedSizeBinaryColumn() {
+    // a 3 byte key is not read as a long
+    Schema schema = new Schema(Arrays.asList(
+        Field.nullable("key", new ArrowType.FixedSizeBinary(3)),
+        Field.nullable("value", new ArrowType.Int(64, true))));
+    List<AggregateSpec> aggregates = Arrays.asList(
+        AggregateSpec.countRows("rows"),
+        new AggregateSpec(AggregateSpec.Function.SUM, 1, "sum"));
+    try (HashAggregator aggregator = new HashAggregator(allocator, schema, new int[]{0}, aggregates, 1024 * 1024);
+         VectorSchemaRoot batch = VectorSchemaRoot.create(schema, allocator)) {
+      FixedSizeBinaryVector keys = (FixedSizeBinaryVector) batch.getVector(0);
+      BigIntVector values = (BigIntVector) batch.getVector(1);
+      batch.allocateNew();
+      byte[][] keyValues = {{1, 2, 3}, {1, 2, 4}, null, {1, 2, 3}, {0, 0, 0}, null, {1, 2, 4}};
+      for (int i = 0; i < keyValues.length; i++) {
+        if (keyValues[i] == null) {
+          keys.setNull(i);
+        } else {
+          keys.setSafe(i, keyValues[i]);
+        }
+        values.setSafe(i, i);
+      }
+      batch.setRowCount(keyValues.length);
+      aggregator.consume(batch);
+
+      try (VectorSchemaRoot result = aggregator.finish()) {
+        assertEquals(4, result.getRowCount());
+        FixedSizeBinaryVector resultKeys = (FixedSizeBinaryVector) result.getVector(0);
+        assertArrayEquals(new byte[] {1, 2, 3}, resultKeys.get(0));
+        assertArrayEquals(new byte[] {1, 2, 4}, resultKeys.get(1));
+        assertTrue(resultKeys.isNull(2));
+        assertArrayEquals(new byte[] {0, 0, 0}, resultKeys.get(3));
+        assertEquals(Arrays.asList(2L, 2L, 2L, 1L), Arrays.asList(result.getVector("rows").getObject(0),
+            result.getVector("rows").getObject(1), result.getVector("rows").getObject(2),
+            result.getVector("rows").getObject(3)));
+        assertEquals(Arrays.asList(3L, 7L, 7L, 4L), Arrays.asList(result.getVector("sum").getObject(0),
+            result.getVector("sum").getObject(1), result.getVector("sum").getObject(2),
+            result.getVector("sum").getObject(3)));
+      }
+    }
+  }
+
+  private void verifyGroupBy(int[] keyColumns) {
+    try (HashAggregator aggregator = new HashAggregator(allocator, SCHEMA, keyColumns, AGGREGATES,
+        64 * 1024 * 1024);
+         VectorSchemaRoot batch = VectorSchemaRoot.create(SCHEMA, allocator)) {
+      // the aggregator is reusable after finish
+      for (int round = 0; round < 2; round++) {
+        Map<List<Object>, Expected> expected = new HashMap<>();
+        List<List<Object>> expectedOrder = new ArrayList<>();
+        for (int start = 0; start < ROW_COUNT; start += BATCH_SIZE) {
+          fillBatch(batch, BATCH_SIZE, 200);
+          for (int row = 0; row < BATCH_SIZE; row++) {
+            List<Object> key = new ArrayList<>();
+            for (int keyColumn : keyColumns) {
+              key.add(batch.getVector(keyColumn).getObject(row));
+            }
+            if (!expected.containsKey(key)) {
+              expected.put(key, new Expected());
+              expectedOrder.add(key);
+            }
+            expected.get(key).add(batch, row);
+          }
+          aggregator.consume(batch);
+        }
+        assertEquals(expected.size(), aggregator.getGroupCount());
+
+        try (VectorSchemaRoot result = aggregator.finish()) {
+          assertEquals(expected.size(), result.getRowCount());
+          assertEquals(keyColumns.length + AGGREGATES.size(), result.getFieldVectors().size());
+          for (int row = 0; row < result.getRowCount(); row++) {
+            List<Object> key = new ArrayList<>();
+            for (int i = 0; i < keyColumns.length; i++) {
+              key.add(result.getVector(i).getObject(row));
+            }
+            assertEquals(expectedOrder.get(row), key);
+            Expected group = expected.get(key);
+            assertEquals(group.rows, ((BigIntVector) result.getVector("rows")).get(row));
+            assertEquals(group.values, ((BigIntVector) result.getVector("values")).get(row));
+            assertEquals(group.sum, result.getVector("sum").getObject(row));
+            assertEquals(group.priceSum, result.getVector("price_sum").getObject(row));
+            assertEquals(group.min, result.getVector("min").getObject(row));
+            assertEquals(group.maxPrice, result.getVector("max_price").getObject(row));
+            if (group.values == 0) {
+              assertTrue(result.getVector("mean").isNull(row));
+            } else {
+              assertEquals((double) group.sum / group.values,
+                  ((Float8Vector) result.getVector("mean")).get(row), 1e-9);
+            }
+            assertEquals(group.distinctValues.size(), ((BigIntVector) result.getVector("distinct_values")).get(row));
+          }
+        }
+        assertEquals(0, aggregator.getGroupCount());
+      }
+    }
+  }
+
+  @Test
+  public void testWithoutKeys() {
+    List<AggregateSpec> aggregates = Arrays.asList(
+        AggregateSpec.countRows("rows"),
+        new AggregateSpec(AggregateSpec.Function.SUM, 2, "sum"));
+    try (HashAggregator aggregator = new HashAggregator(allocator, SCHEMA, new int[0], aggregates, 1024 * 1024);
+         VectorSchemaRoot batch = VectorSchemaRoot.create(SCHEMA, allocator)) {
+      // no input
+      try (VectorSchemaRoot result = aggregator.finish()) {
+        assertEquals(1, result.getRowCount());
+        assertEquals(0L, ((BigIntVector) result.getVector("rows")).get(0));
+        assertNull(result.getVector("sum").getObject(0));
+      }
+
+      long sum = 0;
+      for (int i = 0; i < 3; i++) {
+        fillBatch(batch, 100, 10);
+        BigIntVector values = (BigIntVector) batch.getVector(2);
+        for (int row = 0; row < 100; row++) {
+          sum += values.isNull(row) ? 0 : values.get(row);
+        }
+        aggregator.consume(batch);
+      }
+      try (VectorSchemaRoot result = aggregator.finish()) {
+        assertEquals(1, result.getRowCount());
+        assertEquals(300L, ((BigIntVector) result.getVector("rows")).get(0));
+        assertEquals(sum, ((BigIntVector) result.getVector("sum")).get(0));
+      }
+    }
+  }
+
+  @Test
+  public void testMemoryLimit() {
+    try (HashAggregator aggregator = new HashAggregator(allocator, SCHEMA, new int[]{0}, AGGREGATES, 256 * 1024);
+         VectorSchemaRoot batch = VectorSchemaRoot.create(SCHEMA, allocator)) {
+      assertThrows(OutOfMemoryException.class, () -> {
+        for (int i = 0; i < 100; i++) {
+          fillBatch(batch, BATCH_SIZE, Integer.MAX_VALUE);
+          aggregator.consume(batch);
+        }
+      });
+    }
+  }
+
+  @Test
+  public void testUnsupportedAggregates() {
+    assertThrows(IllegalArgumentException.class, () -> new HashAggregator(allocator, SCHEMA, new int[0],
+        Collections.singletonList(new AggregateSpec(AggregateSpec.Function.SUM, 1, "sum")), 1024 * 1024));
+    assertThrows(IllegalArgumentException.class, () -> new HashAggregator(allocator, SCHEMA, new int[0],
+        Collections.singletonList(new AggregateSpec(AggregateSpec.Function.MIN, 1, "min")), 1024 * 1024));
+    assertThrows(IllegalArgumentException.class, () -> new AggregateSpec(AggregateSpec.Function.SUM, -1, "sum"));
+    assertThrows(IndexOutOfBoundsException.class, () -> new HashAggregator(allocator, SCHEMA, new int[]{4},
+        AGGREGATES, 1024 * 1024));
+  }
+}
@@ -26,6 +26,7 @@ import java.util.Objects;
 
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.util.hash.SimpleHasher;
 import org.apache.arrow.vector.IntVector;
 import org.apache.arrow.vector.VarCharVector;
 import org.junit.After;
@@ -89,6 +90,46 @@ public class TestHashTableBasedDictionaryBuilder {
     }
   }
 
+  @Test
+  public void testBuildDictionaryWithOffHeapHashTable() {
+    final int valueCount = 20000;
+    final int distinctCount = 5000;
+    try (IntVector vec = new IntVector("", allocator);
+         IntVector dictionary = new IntVector("", allocator)) {
+
+      vec.allocateNew(valueCount);
+      for (int i = 0; i < valueCount; i++) {
+        if (i % 100 == 0 && i < distinctCount) {
+          vec.setNull(i);
+        } else {
+          vec.set(i, (i * 7) % distinctCount);
+        }
+      }
+      vec.setValueCount(valueCount);
+      dictionary.allocateNew();
+
+      try (HashTableBasedDictionaryBuilder<IntVector> dictionaryBuilder =
+               new HashTableBasedDictionaryBuilder<>(dictionary, false, SimpleHasher.INSTANCE, allocator)) {
+        int result = dictionaryBuilder.addValues(vec);
+
+        assertEquals(distinctCount, result);
+        assertEquals(distinctCount, dictionary.getValueCount());
+        for (int i = 1; i < 100; i++) {
+          assertEquals(i - 1, dictionaryBuilder.addValue(vec, i));
+          assertEquals((i * 7) % distinctCount, dictionary.get(i - 1));
+        }
+        assertEquals(0, dictionaryBuilder.addValues(vec));
+
+        // a null is added when encoded
+        try (HashTableBasedDictionaryBuilder<IntVector> nullBuilder =
+                 new HashTableBasedDictionaryBuilder<>(dictionary, true, SimpleHasher.INSTANCE, allocator)) {
+          assertEquals(1, nullBuilder.addValues(vec));
+          assertTrue(dictionary.isNull(distinctCount));
+        }
+      }
+    }
+  }
+
   @Test
   public void testBuildVariableWidthDictionaryWithoutNull() {
     try (VarCharVector vec = new VarCharVector("", allocator);
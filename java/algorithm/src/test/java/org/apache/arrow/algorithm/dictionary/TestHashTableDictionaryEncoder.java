@@ -28,6 +28,7 @@ import java.util.Random;
 
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.util.hash.MurmurHasher;
 import org.apache.arrow.vector.IntVector;
 import org.apache.arrow.vector.VarBinaryVector;
 import org.apache.arrow.vector.VarCharVector;
@@ -115,6 +116,48 @@ public class TestHashTableDictionaryEncoder {
     }
   }
 
+  @Test
+  public void testEncodeWithOffHeapHashTable() {
+    try (VarCharVector rawVector = new VarCharVector("original vector", allocator);
+         IntVector encodedVector = new IntVector("encoded vector", allocator);
+         VarCharVector dictionary = new VarCharVector("dictionary", allocator)) {
+
+      // set up dictionary
+      dictionary.allocateNew();
+      dictionary.setNull(0);
+      for (int i = 1; i < DICTIONARY_LENGTH; i++) {
+        // encode "i" as i
+        dictionary.setSafe(i, String.valueOf(i).getBytes(StandardCharsets.UTF_8));
+      }
+      dictionary.setValueCount(DICTIONARY_LENGTH);
+
+      // set up raw vector
+      rawVector.allocateNew(10 * VECTOR_LENGTH, VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (i % 10 == 0) {
+          rawVector.setNull(i);
+        } else {
+          rawVector.set(i, String.valueOf(i % (DICTIONARY_LENGTH - 1) + 1).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      rawVector.setValueCount(VECTOR_LENGTH);
+
+      try (HashTableDictionaryEncoder<IntVector, VarCharVector> encoder =
+               new HashTableDictionaryEncoder<>(dictionary, true, new MurmurHasher(), allocator)) {
+        encodedVector.allocateNew();
+        encoder.encode(rawVector, encodedVector);
+
+        assertEquals(rawVector.getValueCount(), encodedVector.getValueCount());
+        for (int i = 0; i < VECTOR_LENGTH; i++) {
+          assertEquals(i % 10 == 0 ? 0 : i % (DICTIONARY_LENGTH - 1) + 1, encodedVector.get(i));
+        }
+
+        rawVector.set(1, "abc".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(rawVector, encodedVector));
+      }
+    }
+  }
+
   @Test
   public void testEncodeAndDecodeWithNull() {
     Random random = new Random();
@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.join;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link HashJoiner}.
+ */
+public class TestHashJoiner {
+
+  private static final Schema BUILD_SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("id", new ArrowType.Int(32, true)),
+      Field.nullable("name", ArrowType.Utf8.INSTANCE)));
+
+  private static final Schema PROBE_SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("value", new ArrowType.Int(64, true)),
+      Field.nullable("key", new ArrowType.Int(32, true)),
+      Field.nullable("label", ArrowType.Utf8.INSTANCE)));
+
+  private static final int BATCH_SIZE = 500;
+
+  private BufferAllocator allocator;
+
+  private final Random random = new Random(0);
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private List<VectorSchemaRoot> createBuildBatches(int rowCount, int keyCount) {
+    List<VectorSchemaRoot> batches = new ArrayList<>();
+    for (int start = 0; start < rowCount; start += BATCH_SIZE) {
+      int count = Math.min(BATCH_SIZE, rowCount - start);
+      VectorSchemaRoot batch = VectorSchemaRoot.create(BUILD_SCHEMA, allocator);
+      batch.allocateNew();
+      IntVector ids = (IntVector) batch.getVector(0);
+      VarCharVector names = (VarCharVector) batch.getVector(1);
+      for (int i = 0; i < count; i++) {
+        int key = random.nextInt(keyCount);
+        if (random.nextInt(20) == 0) {
+          ids.setNull(i);
+        } else {
+          ids.set(i, key);
+        }
+        if (random.nextInt(20) == 0) {
+          names.setNull(i);
+        } else {
+          names.setSafe(i, ("name" + key % 3).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      batch.setRowCount(count);
+      batches.add(batch);
+    }
+    return batches;
+  }
+
+  private List<VectorSchemaRoot> createProbeBatches(int rowCount, int keyCount) {
+    List<VectorSchemaRoot> batches = new ArrayList<>();
+    for (int start = 0; start < rowCount; start += BATCH_SIZE) {
+      int count = Math.min(BATCH_SIZE, rowCount - start);
+      VectorSchemaRoot batch = VectorSchemaRoot.create(PROBE_SCHEMA, allocator);
+      batch.allocateNew();
+      BigIntVector values = (BigIntVector) batch.getVector(0);
+      IntVector keys = (IntVector) batch.getVector(1);
+      VarCharVector labels = (VarCharVector) batch.getVector(2);
+      for (int i = 0; i < count; i++) {
+        int key = random.nextInt(keyCount);
+        values.set(i, start + i);
+        if (random.nextInt(20) == 0) {
+          keys.setNull(i);
+        } else {
+          keys.set(i, key);
+        }
+        if (random.nextInt(20) == 0) {
+          labels.setNull(i);
+        } else {
+          labels.setSafe(i, ("name" + random.nextInt(3)).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      batch.setRowCount(count);
+      batches.add(batch);
+    }
+    return batches;
+  }
+
+  private static List<List<Object>> toRows(List<VectorSchemaRoot> batches) {
+    List<List<Object>> rows = new ArrayList<>();
+    for (VectorSchemaRoot batch : batches) {
+      for (int i = 0; i < batch.getRowCount(); i++) {
+        List<Object> row = new ArrayList<>();
+        for (FieldVector vector : batch.getFieldVectors()) {
+          row.add(vector.getObject(i));
+        }
+        rows.add(row);
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * Joins the rows with nested loops.
+   */
+  private static List<List<Object>> nestedLoopJoin(List<List<Object>> buildRows, int[] buildKeyColumns,
+      List<List<Object>> probeRows, int[] probeKeyColumns, HashJoiner.JoinType joinType) {
+    List<List<Object>> expected = new ArrayList<>();
+    for (List<Object> probeRow : probeRows) {
+      boolean matched = false;
+      for (List<Object> buildRow : buildRows) {
+        boolean match = true;
+        for (int i = 0; i < buildKeyColumns.length; i++) {
+          Object probeKey = probeRow.get(probeKeyColumns[i]);
+          match &= probeKey != null && probeKey.equals(buildRow.get(buildKeyColumns[i]));
+        }
+        if (match) {
+          matched = true;
+          if (joinType == HashJoiner.JoinType.INNER || joinType == HashJoiner.JoinType.LEFT) {
+            List<Object> row = new ArrayList<>(probeRow);
+            row.addAll(buildRow);
+            expected.add(row);
+          }
+        }
+      }
+      if (joinType == HashJoiner.JoinType.SEMI && matched || joinType == HashJoiner.JoinType.ANTI && !matched) {
+        expected.add(probeRow);
+      } else if (joinType == HashJoiner.JoinType.LEFT && !matched) {
+        List<Object> row = new ArrayList<>(probeRow);
+        for (int i = 0; i < buildRows.get(0).size(); i++) {
+          row.add(null);
+        }
+        expected.add(row);
+      }
+    }
+    return expected;
+  }
+
+  private void verifyJoin(int[] buildKeyColumns, int[] probeKeyColumns, HashJoiner.JoinType joinType) {
+    List<VectorSchemaRoot> buildBatches = createBuildBatches(2000, 300);
+    List<VectorSchemaRoot> probeBatches = createProbeBatches(3000, 400);
+    List<VectorSchemaRoot> outputs = new ArrayList<>();
+    try (HashJoiner joiner = new HashJoiner(allocator, BUILD_SCHEMA, buildKeyColumns, PROBE_SCHEMA,
+        probeKeyColumns, joinType)) {
+      for (VectorSchemaRoot batch : buildBatches) {
+        joiner.addBuildBatch(batch);
+      }
+      joiner.finishBuild();
+      for (VectorSchemaRoot batch : probeBatches) {
+        VectorSchemaRoot output = joiner.probe(batch);
+        outputs.add(output);
+        assertEquals(joiner.getOutputSchema(), output.getSchema());
+      }
+
+      List<List<Object>> expected = nestedLoopJoin(toRows(buildBatches), buildKeyColumns, toRows(probeBatches),
+          probeKeyColumns, joinType);
+      assertEquals(expected, toRows(outputs));
+    } finally {
+      outputs.forEach(VectorSchemaRoot::close);
+      buildBatches.forEach(VectorSchemaRoot::close);
+      probeBatches.forEach(VectorSchemaRoot::close);
+    }
+  }
+
+  @Test
+  public void testInnerJoin() {
+    verifyJoin(new int[] {0}, new int[] {1}, HashJoiner.JoinType.INNER);
+  }
+
+  @Test
+  public void testLeftJoin() {
+    verifyJoin(new int[] {0}, new int[] {1}, HashJoiner.JoinType.LEFT);
+  }
+
+  @Test
+  public void testSemiJoin() {
+    verifyJoin(new int[] {0}, new int[] {1}, HashJoiner.JoinType.SEMI);
+  }
+
+  @Test
+  public void testAntiJoin() {
+    verifyJoin(new int[] {0}, new int[] {1}, HashJoiner.JoinType.ANTI);
+  }
+
+  @Test
+  public void testMultipleKeyColumns() {
+    for (HashJoiner.JoinType joinType : HashJoiner.JoinType.values()) {
+      verifyJoin(new int[] {1, 0}, new int[] {2, 1}, joinType);
+    }
+  }
+
+  @Test
+  public void testEmptyBuildSide() {
+    List<VectorSchemaRoot> probeBatches = createProbeBatches(100, 10);
+    try (HashJoiner joiner = new HashJoiner(allocator, BUILD_SCHEMA, new int[] {0}, PROBE_SCHEMA, new int[] {1},
+        HashJoiner.JoinType.ANTI)) {
+      joiner.finishBuild();
+      try (VectorSchemaRoot output = joiner.probe(probeBatches.get(0))) {
+        assertEquals(toRows(probeBatches), toRows(Arrays.asList(output)));
+      }
+    } finally {
+      probeBatches.forEach(VectorSchemaRoot::close);
+    }
+  }
+
+  @Test
+  public void testConcurrentProbes() throws Exception {
+    List<VectorSchemaRoot> buildBatches = createBuildBatches(5000, 1000);
+    List<VectorSchemaRoot> probeBatches = createProbeBatches(10000, 1000);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<VectorSchemaRoot> expected = new ArrayList<>();
+    List<VectorSchemaRoot> outputs = new ArrayList<>();
+    try (HashJoiner joiner = new HashJoiner(allocator, BUILD_SCHEMA, new int[] {1, 0}, PROBE_SCHEMA,
+        new int[] {2, 1}, HashJoiner.JoinType.LEFT)) {
+      for (VectorSchemaRoot batch : buildBatches) {
+        joiner.addBuildBatch(batch);
+      }
+      joiner.finishBuild();
+      for (VectorSchemaRoot batch : probeBatches) {
+        expected.add(joiner.probe(batch));
+      }
+      outputs.addAll(joiner.probe(probeBatches, executor));
+      assertEquals(toRows(expected), toRows(outputs));
+    } finally {
+      executor.shutdown();
+      expected.forEach(VectorSchemaRoot::close);
+      outputs.forEach(VectorSchemaRoot::close);
+      buildBatches.forEach(VectorSchemaRoot::close);
+      probeBatches.forEach(VectorSchemaRoot::close);
+    }
+  }
+
+  @Test
+  public void testInvalidUse() {
+    Schema otherSchema = new Schema(Arrays.asList(Field.nullable("key", new ArrowType.Int(64, true))));
+    assertThrows(IllegalArgumentException.class, () -> new HashJoiner(allocator, BUILD_SCHEMA, new int[] {0},
+        otherSchema, new int[] {0}, HashJoiner.JoinType.INNER));
+    assertThrows(IllegalArgumentException.class, () -> new HashJoiner(allocator, BUILD_SCHEMA, new int[] {0, 1},
+        PROBE_SCHEMA, new int[] {1}, HashJoiner.JoinType.INNER));
+
+    List<VectorSchemaRoot> probeBatches = createProbeBatches(10, 10);
+    try (HashJoiner joiner = new HashJoiner(allocator, BUILD_SCHEMA, new int[] {0}, PROBE_SCHEMA, new int[] {1},
+        HashJoiner.JoinType.INNER)) {
+      assertThrows(IllegalStateException.class, () -> joiner.probe(probeBatches.get(0)));
+      joiner.finishBuild();
+      assertThrows(IllegalStateException.class, () -> joiner.addBuildBatch(probeBatches.get(0)));
+      assertThrows(IllegalStateException.class, joiner::finishBuild);
+    } finally {
+      probeBatches.forEach(VectorSchemaRoot::close);
+    }
+  }
+}
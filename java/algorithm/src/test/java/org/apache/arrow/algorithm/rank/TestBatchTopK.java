@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.rank;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link BatchTopK}.
+ */
+public class TestBatchTopK {
+
+  private static final Schema SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("key", new ArrowType.Int(32, true)),
+      Field.nullable("name", ArrowType.Utf8.INSTANCE),
+      Field.nullable("id", new ArrowType.Int(32, true))));
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  /**
+   * A row of the test data.
+   */
+  private static final class Row {
+    final Integer key;
+    final String name;
+    final int id;
+
+    Row(Integer key, String name, int id) {
+      this.key = key;
+      this.name = name;
+      this.id = id;
+    }
+
+    @Override
+    public String toString() {
+      return key + "/" + name + "/" + id;
+    }
+  }
+
+  private static List<Row> createRows(int rowCount, Random random) {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      Integer key = random.nextInt(10) == 0 ? null : random.nextInt(50);
+      rows.add(new Row(key, "name" + random.nextInt(20), i));
+    }
+    return rows;
+  }
+
+  private static void fill(VectorSchemaRoot root, List<Row> rows) {
+    root.allocateNew();
+    IntVector keys = (IntVector) root.getVector(0);
+    VarCharVector names = (VarCharVector) root.getVector(1);
+    IntVector ids = (IntVector) root.getVector(2);
+    for (int i = 0; i < rows.size(); i++) {
+      Row row = rows.get(i);
+      if (row.key == null) {
+        keys.setNull(i);
+      } else {
+        keys.setSafe(i, row.key);
+      }
+      names.setSafe(i, row.name.getBytes(StandardCharsets.UTF_8));
+      ids.setSafe(i, row.id);
+    }
+    root.setRowCount(rows.size());
+  }
+
+  private static List<Row> read(VectorSchemaRoot root) {
+    IntVector keys = (IntVector) root.getVector(0);
+    VarCharVector names = (VarCharVector) root.getVector(1);
+    IntVector ids = (IntVector) root.getVector(2);
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < root.getRowCount(); i++) {
+      rows.add(new Row(keys.getObject(i), names.getObject(i).toString(), ids.get(i)));
+    }
+    return rows;
+  }
+
+  private void verifyTopK(List<Row> rows, int batchSize, int k) {
+    List<String> expected = rows.stream()
+        .sorted(Comparator.comparing((Row row) -> row.key, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(row -> row.name))
+        .limit(k).map(Row::toString).collect(Collectors.toList());
+
+    try (BatchTopK topK = new BatchTopK(allocator, SCHEMA, new int[]{0, 1}, k);
+         VectorSchemaRoot batch = VectorSchemaRoot.create(SCHEMA, allocator)) {
+      for (int start = 0; start < rows.size(); start += batchSize) {
+        fill(batch, rows.subList(start, Math.min(start + batchSize, rows.size())));
+        topK.consume(batch);
+      }
+      try (VectorSchemaRoot result = topK.finish()) {
+        assertEquals(expected, read(result).stream().map(Row::toString).collect(Collectors.toList()));
+      }
+    }
+  }
+
+  @Test
+  public void testTopK() {
+    List<Row> rows = createRows(5000, new Random(0));
+    verifyTopK(rows, 1000, 10);
+    verifyTopK(rows, 7, 100);
+    verifyTopK(rows, 1, 3);
+    verifyTopK(rows, 3000, 1);
+  }
+
+  @Test
+  public void testKGreaterThanRows() {
+    List<Row> rows = createRows(300, new Random(1));
+    verifyTopK(rows, 64, 1000);
+    verifyTopK(rows, 64, 300);
+    verifyTopK(rows, 64, 0);
+    verifyTopK(new ArrayList<>(), 64, 10);
+  }
+
+  @Test
+  public void testReuseAfterFinish() {
+    List<Row> rows = createRows(1000, new Random(2));
+    try (BatchTopK topK = new BatchTopK(allocator, SCHEMA, new int[]{2}, 5);
+         VectorSchemaRoot batch = VectorSchemaRoot.create(SCHEMA, allocator)) {
+      for (int round = 0; round < 2; round++) {
+        fill(batch, rows);
+        topK.consume(batch);
+        try (VectorSchemaRoot result = topK.finish()) {
+          assertEquals(5, result.getRowCount());
+          for (int i = 0; i < 5; i++) {
+            assertEquals(i, ((IntVector) result.getVector(2)).get(i));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new BatchTopK(allocator, SCHEMA, new int[0], 1));
+    assertThrows(IllegalArgumentException.class, () -> new BatchTopK(allocator, SCHEMA, new int[]{0}, -1));
+    assertThrows(IndexOutOfBoundsException.class, () -> new BatchTopK(allocator, SCHEMA, new int[]{3}, 1));
+  }
+}
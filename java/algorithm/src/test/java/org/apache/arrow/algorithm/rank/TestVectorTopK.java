@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.rank;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.apache.arrow.algorithm.sort.DefaultVectorComparators;
+import org.apache.arrow.algorithm.sort.VectorValueComparator;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link VectorTopK}.
+ */
+public class TestVectorTopK {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  @Test
+  public void testFixedWidthTopK() {
+    VectorTopK<IntVector> topK = new VectorTopK<>();
+    try (IntVector vector = new IntVector("int vec", allocator);
+         IntVector indices = new IntVector("indices", allocator)) {
+      ValueVectorDataPopulator.setVector(vector, 1, 5, null, 7, 9, 8, 2, 0, 4, 6, 0);
+      VectorValueComparator<IntVector> comparator = DefaultVectorComparators.createDefaultComparator(vector);
+
+      assertEquals(4, topK.select(vector, comparator, 4, indices));
+      assertEquals(4, indices.getValueCount());
+      // null is the smallest, and equal values are ordered by index
+      assertArrayEquals(new int[]{2, 7, 10, 0}, toArray(indices));
+
+      assertEquals(11, topK.select(vector, comparator, 20, indices));
+      assertArrayEquals(new int[]{2, 7, 10, 0, 6, 8, 1, 9, 3, 5, 4}, toArray(indices));
+
+      assertEquals(0, topK.select(vector, comparator, 0, indices));
+      assertEquals(0, indices.getValueCount());
+
+      assertThrows(IllegalArgumentException.class, () -> topK.select(vector, comparator, -1, indices));
+    }
+  }
+
+  @Test
+  public void testVariableWidthTopK() {
+    VectorTopK<VarCharVector> topK = new VectorTopK<>();
+    final int vectorLength = 10000;
+    final int k = 100;
+    try (VarCharVector vector = new VarCharVector("varchar vec", allocator);
+         IntVector indices = new IntVector("indices", allocator)) {
+      vector.allocateNew(vectorLength);
+      Random random = new Random(0);
+      String[] values = new String[vectorLength];
+      for (int i = 0; i < vectorLength; i++) {
+        values[i] = String.valueOf(random.nextInt(1000));
+        vector.set(i, values[i].getBytes(StandardCharsets.UTF_8));
+      }
+      vector.setValueCount(vectorLength);
+
+      assertEquals(k, topK.select(vector, DefaultVectorComparators.createDefaultComparator(vector), k, indices));
+      int[] expected = IntStream.range(0, vectorLength).boxed()
+          .sorted(Comparator.comparing((Integer i) -> values[i]))
+          .limit(k).mapToInt(Integer::intValue).toArray();
+      assertArrayEquals(expected, toArray(indices));
+    }
+  }
+
+  private static int[] toArray(IntVector indices) {
+    int[] result = new int[indices.getValueCount()];
+    indices.getValues(0, result.length, result, 0);
+    return result;
+  }
+}
@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.select;
+
+import static org.apache.arrow.vector.testing.ValueVectorDataPopulator.setVector;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FixedSizeBinaryVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.LargeVarCharVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.DenseUnionVector;
+import org.apache.arrow.vector.complex.FixedSizeListVector;
+import org.apache.arrow.vector.complex.LargeListVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.complex.UnionVector;
+import org.apache.arrow.vector.holders.NullableFloat8Holder;
+import org.apache.arrow.vector.holders.NullableIntHolder;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.util.ValueVectorUtility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link SelectionUtils} and {@link TakeVisitor}.
+ */
+public class TestSelectionUtils {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  /**
+   * Gets random indices into a vector, with runs of consecutive indices, duplicates and nulls.
+   */
+  private static int[] randomIndices(int valueCount, int count) {
+    Random random = new Random(0);
+    int[] indices = new int[count];
+    for (int i = 0; i < count; i++) {
+      if (random.nextInt(10) == 0) {
+        indices[i] = -1;
+      } else if (i > 0 && indices[i - 1] >= 0 && indices[i - 1] < valueCount - 1 && random.nextBoolean()) {
+        indices[i] = indices[i - 1] + 1;
+      } else {
+        indices[i] = random.nextInt(valueCount);
+      }
+    }
+    return indices;
+  }
+
+  private void verifyTake(ValueVector vector) {
+    for (int count : new int[] {0, 1, vector.getValueCount() / 2, vector.getValueCount() * 3}) {
+      int[] indices = randomIndices(vector.getValueCount(), count);
+      try (ValueVector result = SelectionUtils.take(vector, indices, count, allocator)) {
+        if (result instanceof FixedSizeListVector) {
+          // full validation expects offsets, which fixed-size lists do not have
+          ValueVectorUtility.validate(result);
+        } else {
+          ValueVectorUtility.validateFull(result);
+        }
+        assertEquals(count, result.getValueCount());
+        for (int i = 0; i < count; i++) {
+          Object expected = indices[i] < 0 ? null : vector.getObject(indices[i]);
+          assertTrue(Objects.deepEquals(expected, result.getObject(i)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testTakeFixedWidth() {
+    try (IntVector ints = new IntVector("ints", allocator);
+        BitVector bits = new BitVector("bits", allocator);
+        DecimalVector decimals = new DecimalVector("decimals", allocator, 20, 2);
+        FixedSizeBinaryVector binaries = new FixedSizeBinaryVector("binaries", allocator, 3)) {
+      setVector(ints, 1, null, 3, 4, null, 6, 7, 8, 9, 10);
+      setVector(bits, 1, 0, null, 1, 1, 0, null, 1, 0, 1);
+      setVector(decimals, 100L, null, -300L, 4000L, null, 1L, 2L, 3L, 4L, 5L);
+      setVector(binaries, new byte[] {1, 2, 3}, null, new byte[] {4, 5, 6}, new byte[] {7, 8, 9});
+      verifyTake(ints);
+      verifyTake(bits);
+      verifyTake(decimals);
+      verifyTake(binaries);
+    }
+  }
+
+  @Test
+  public void testTakeRunEndEncoded() {
+    try (IntVector dense = new IntVector("dense", allocator);
+        RunEndEncodedVector vector = RunEndEncodedVector.empty("ree", dense.getField().getFieldType(), allocator)) {
+      setVector(dense, 1, 1, 1, null, null, 2, 3, 3, 1, 1);
+      vector.encode(dense);
+      verifyTake(vector);
+
+      // the runs 1, 1 and 1 taken one after another are merged, as are the null runs
+      int[] indices = {0, 8, 2, -1, 3, 5, 6, 7};
+      try (RunEndEncodedVector result = SelectionUtils.take(vector, indices, indices.length, allocator)) {
+        ValueVectorUtility.validateFull(result);
+        assertEquals(4, result.getRunCount());
+        assertEquals(Arrays.asList(3L, 5L, 6L, 8L),
+            Arrays.asList(result.getRunEnd(0), result.getRunEnd(1), result.getRunEnd(2), result.getRunEnd(3)));
+      }
+
+      try (BitVector mask = new BitVector("mask", allocator)) {
+        setVector(mask, 1, 0, 1, 1, 0, 0, 1, 0, 0, 1);
+        try (RunEndEncodedVector result = SelectionUtils.filter(vector, mask, allocator)) {
+          ValueVectorUtility.validateFull(result);
+          assertEquals(Arrays.asList(1, 1, null, 3, 1), Arrays.asList(result.getObject(0), result.getObject(1),
+              result.getObject(2), result.getObject(3), result.getObject(4)));
+          assertEquals(4, result.getRunCount());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testTakeVariableWidth() {
+    try (VarCharVector strings = new VarCharVector("strings", allocator);
+        LargeVarCharVector largeStrings = new LargeVarCharVector("large strings", allocator)) {
+      setVector(strings, "a", null, "", "abc", "defg", null, "hijklmn", "o", "pq", "rst");
+      setVector(largeStrings, "a", null, "", "abc", "defg", null, "hijklmn", "o", "pq", "rst");
+      verifyTake(strings);
+      verifyTake(largeStrings);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testTakeLists() {
+    try (ListVector lists = ListVector.empty("lists", allocator);
+        LargeListVector largeLists = LargeListVector.empty("large lists", allocator);
+        FixedSizeListVector fixedSizeLists = FixedSizeListVector.empty("fixed size lists", 2, allocator)) {
+      List<Integer>[] values = new List[] {Arrays.asList(1, 2), null, Collections.emptyList(), Arrays.asList(3),
+          Arrays.asList(4, 5, 6), null, Arrays.asList(7, 8)};
+      setVector(lists, values);
+      setVector(largeLists, values);
+      setVector(fixedSizeLists, Arrays.asList(1, 2), null, Arrays.asList(3, 4), Arrays.asList(5, 6));
+      verifyTake(lists);
+      verifyTake(largeLists);
+      verifyTake(fixedSizeLists);
+    }
+  }
+
+  @Test
+  public void testTakeStruct() {
+    try (StructVector struct = StructVector.empty("struct", allocator)) {
+      Map<String, List<Integer>> values = new HashMap<>();
+      values.put("a", Arrays.asList(1, 2, null, 4, 5, 6));
+      values.put("b", Arrays.asList(null, 20, 30, 40, null, 60));
+      setVector(struct, values);
+      struct.setNull(3);
+      verifyTake(struct);
+    }
+  }
+
+  @Test
+  public void testTakeUnions() {
+    try (UnionVector union = UnionVector.empty("union", allocator);
+        DenseUnionVector denseUnion = DenseUnionVector.empty("dense union", allocator)) {
+      union.allocateNew();
+      denseUnion.allocateNew();
+      byte intTypeId = denseUnion.registerNewTypeId(Field.nullable("int", MinorType.INT.getType()));
+      byte doubleTypeId = denseUnion.registerNewTypeId(Field.nullable("double", MinorType.FLOAT8.getType()));
+      NullableIntHolder intHolder = new NullableIntHolder();
+      NullableFloat8Holder doubleHolder = new NullableFloat8Holder();
+      for (int i = 0; i < 10; i++) {
+        if (i % 3 == 0) {
+          doubleHolder.isSet = 1;
+          doubleHolder.value = i / 2.0;
+          union.setType(i, MinorType.FLOAT8);
+          union.setSafe(i, doubleHolder);
+          denseUnion.setTypeId(i, doubleTypeId);
+          denseUnion.setSafe(i, doubleHolder);
+        } else {
+          intHolder.isSet = i % 5 == 0 ? 0 : 1;
+          intHolder.value = i;
+          union.setType(i, MinorType.INT);
+          union.setSafe(i, intHolder);
+          denseUnion.setTypeId(i, intTypeId);
+          denseUnion.setSafe(i, intHolder);
+        }
+      }
+      union.setValueCount(10);
+      denseUnion.setValueCount(10);
+      verifyTake(union);
+      verifyTake(denseUnion);
+    }
+  }
+
+  @Test
+  public void testTakeAndFilterRoot() {
+    try (IntVector ints = new IntVector("ints", allocator);
+        VarCharVector strings = new VarCharVector("strings", allocator);
+        IntVector indices = new IntVector("indices", allocator);
+        BitVector mask = new BitVector("mask", allocator)) {
+      setVector(ints, 1, null, 3, 4, 5);
+      setVector(strings, "a", "b", null, "d", "e");
+      setVector(indices, 4, null, 0, 0, 2);
+      setVector(mask, 1, 0, null, 1, 1);
+      VectorSchemaRoot root = VectorSchemaRoot.of(ints, strings);
+
+      try (VectorSchemaRoot result = SelectionUtils.take(root, indices, allocator)) {
+        assertEquals(root.getSchema(), result.getSchema());
+        assertEquals(5, result.getRowCount());
+        assertEquals(Arrays.asList(5, null, 1, 1, 3), toList(result.getVector(0)));
+        assertEquals("[e, null, a, a, null]", toList(result.getVector(1)).toString());
+      }
+      try (VectorSchemaRoot result = SelectionUtils.filter(root, mask, allocator)) {
+        assertEquals(3, result.getRowCount());
+        assertEquals(Arrays.asList(1, 4, 5), toList(result.getVector(0)));
+        assertEquals("[a, d, e]", toList(result.getVector(1)).toString());
+      }
+      try (VarCharVector result = SelectionUtils.filter(strings, mask, allocator)) {
+        assertEquals("[a, d, e]", toList(result).toString());
+      }
+    }
+  }
+
+  @Test
+  public void testFilterLongMask() {
+    try (IntVector ints = new IntVector("ints", allocator);
+        BitVector mask = new BitVector("mask", allocator)) {
+      Random random = new Random(0);
+      ints.allocateNew(1000);
+      mask.allocateNew(1000);
+      for (int i = 0; i < 1000; i++) {
+        ints.set(i, i);
+        if (random.nextInt(10) > 0) {
+          mask.set(i, random.nextInt(2));
+        }
+      }
+      ints.setValueCount(1000);
+      mask.setValueCount(1000);
+      try (IntVector result = SelectionUtils.filter(ints, mask, allocator)) {
+        int count = 0;
+        for (int i = 0; i < 1000; i++) {
+          if (!mask.isNull(i) && mask.get(i) == 1) {
+            assertEquals(i, result.get(count++));
+          }
+        }
+        assertEquals(count, result.getValueCount());
+      }
+    }
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    try (IntVector ints = new IntVector("ints", allocator);
+        IntVector indices = new IntVector("indices", allocator);
+        BitVector mask = new BitVector("mask", allocator)) {
+      setVector(ints, 1, 2, 3);
+      setVector(indices, 0, 3);
+      setVector(mask, 1, 0);
+      assertThrows(IndexOutOfBoundsException.class, () -> SelectionUtils.take(ints, indices, allocator));
+      assertThrows(IndexOutOfBoundsException.class, () -> SelectionUtils.take(ints, new int[] {5}, 1, allocator));
+      assertThrows(IllegalArgumentException.class, () -> SelectionUtils.filter(ints, mask, allocator));
+    }
+  }
+
+  private static List<Object> toList(ValueVector vector) {
+    Object[] values = new Object[vector.getValueCount()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = vector.getObject(i);
+    }
+    return Arrays.asList(values);
+  }
+}
@@ -22,6 +22,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.charset.StandardCharsets;
+
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
 import org.apache.arrow.vector.BigIntVector;
@@ -54,9 +56,12 @@ import org.apache.arrow.vector.UInt8Vector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.VarBinaryVector;
 import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.ViewVarBinaryVector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.ListViewVector;
 import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
 import org.apache.arrow.vector.types.TimeUnit;
 import org.apache.arrow.vector.types.Types;
@@ -144,6 +149,30 @@ public class TestDefaultVectorComparator {
     }
   }
 
+  @Test
+  public void testCompareListViews() {
+    try (ListVector listVector = createListVector(10);
+         ListViewVector listViewVector = ListViewVector.fromListVector(listVector);
+         ListViewVector views = ListViewVector.empty("views", allocator)) {
+      listViewVector.selectTo(views, new int[] {0, 0});
+      // [2, 3] and [2, 3, 4]
+      views.setOffsetAndSize(0, 2, 2);
+      views.setOffsetAndSize(1, 2, 3);
+
+      VectorValueComparator<ListViewVector> comparator =
+          DefaultVectorComparators.createDefaultComparator(views);
+      comparator.attachVectors(views, views);
+
+      // prefix is smaller
+      assertTrue(comparator.compare(0, 1) < 0);
+      assertTrue(comparator.compare(1, 1) == 0);
+
+      // the first element breaks the tie
+      comparator.attachVectors(views, listViewVector);
+      assertTrue(comparator.compare(0, 0) > 0);
+    }
+  }
+
   @Test
   public void testCopiedComparatorForLists() {
     for (int i = 1; i < 10; i++) {
@@ -1058,6 +1087,39 @@ public class TestDefaultVectorComparator {
     assertEquals(DefaultVectorComparators.VariableWidthComparator.class, comparator.getClass());
   }
 
+  @Test
+  public void testCompareViewVarChar() {
+    final String[] values = {"", "a", "a\0", "ab", "abc", "abcd", "abcd\0", "abcde", "abcdefghijklm",
+        "abcdefghijklmn", "abce", "b", "é"};
+    try (ViewVarCharVector vec = new ViewVarCharVector("test", allocator)) {
+      vec.allocateNew(values.length + 1);
+      for (int i = 0; i < values.length; i++) {
+        vec.setSafe(i, values[i].getBytes(StandardCharsets.UTF_8));
+      }
+      vec.setNull(values.length);
+      vec.setValueCount(values.length + 1);
+
+      VectorValueComparator<ViewVarCharVector> comparator =
+          DefaultVectorComparators.createDefaultComparator(vec);
+      assertEquals(DefaultVectorComparators.VariableWidthViewComparator.class, comparator.getClass());
+      comparator.attachVector(vec);
+
+      // the values are sorted, so the comparison must follow their positions
+      for (int i = 0; i < values.length; i++) {
+        for (int j = 0; j < values.length; j++) {
+          assertEquals(Integer.signum(Integer.compare(i, j)), Integer.signum(comparator.compare(i, j)));
+        }
+        assertTrue(comparator.compare(values.length, i) < 0);
+      }
+      assertEquals(0, comparator.compare(values.length, values.length));
+    }
+    try (ViewVarBinaryVector vec = new ViewVarBinaryVector("test", allocator)) {
+      VectorValueComparator<ViewVarBinaryVector> comparator =
+          DefaultVectorComparators.createDefaultComparator(vec);
+      assertEquals(DefaultVectorComparators.VariableWidthViewComparator.class, comparator.getClass());
+    }
+  }
+
   @Test
   public void testRepeatedDefaultComparators() {
     final FieldType type = FieldType.nullable(Types.MinorType.INT.getType());
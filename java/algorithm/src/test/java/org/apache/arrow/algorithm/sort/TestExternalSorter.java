@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test cases for {@link ExternalSorter}.
+ */
+public class TestExternalSorter {
+
+  private static final Schema SCHEMA = new Schema(Arrays.asList(
+      Field.nullable("key", new ArrowType.Int(32, true)),
+      Field.nullable("payload", ArrowType.Utf8.INSTANCE),
+      Field.notNullable("id", new ArrowType.Int(32, true))));
+
+  @Rule
+  public TemporaryFolder spillFolder = new TemporaryFolder();
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  /**
+   * Writes batches with random keys in [0, cardinality) and about 5% nulls,
+   * ids in input order, and payloads derived from the ids.
+   */
+  private byte[] writeInput(int batchCount, int batchSize, int cardinality) throws IOException {
+    Random random = new Random(0);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator);
+         ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out)) {
+      writer.start();
+      int id = 0;
+      for (int batch = 0; batch < batchCount; batch++) {
+        root.allocateNew();
+        IntVector keys = (IntVector) root.getVector(0);
+        VarCharVector payloads = (VarCharVector) root.getVector(1);
+        IntVector ids = (IntVector) root.getVector(2);
+        for (int i = 0; i < batchSize; i++, id++) {
+          if (random.nextInt(20) == 0) {
+            keys.setNull(i);
+          } else {
+            keys.set(i, random.nextInt(cardinality));
+          }
+          payloads.setSafe(i, ("payload-" + id).getBytes(StandardCharsets.UTF_8));
+          ids.set(i, id);
+        }
+        root.setRowCount(batchSize);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+    return out.toByteArray();
+  }
+
+  private void verifySorted(ArrowReader sorted, int expectedRowCount) throws IOException {
+    boolean[] seen = new boolean[expectedRowCount];
+    int rowCount = 0;
+    boolean previousNull = true;
+    int previousKey = Integer.MIN_VALUE;
+    int previousId = -1;
+    VectorSchemaRoot root = sorted.getVectorSchemaRoot();
+    while (sorted.loadNextBatch()) {
+      IntVector keys = (IntVector) root.getVector(0);
+      VarCharVector payloads = (VarCharVector) root.getVector(1);
+      IntVector ids = (IntVector) root.getVector(2);
+      for (int i = 0; i < root.getRowCount(); i++) {
+        int id = ids.get(i);
+        seen[id] = true;
+        assertEquals("payload-" + id, new String(payloads.get(i), StandardCharsets.UTF_8));
+        boolean isNull = keys.isNull(i);
+        if (isNull) {
+          // nulls come first, in input order
+          assertTrue(previousNull);
+          assertTrue(id > previousId);
+        } else {
+          int key = keys.get(i);
+          assertTrue(previousNull || key >= previousKey);
+          if (!previousNull && key == previousKey) {
+            assertTrue(id > previousId);
+          }
+          previousKey = key;
+        }
+        previousNull = isNull;
+        previousId = id;
+        rowCount++;
+      }
+    }
+    assertEquals(expectedRowCount, rowCount);
+    for (boolean s : seen) {
+      assertTrue(s);
+    }
+  }
+
+  @Test
+  public void testSortInMemory() throws IOException {
+    byte[] input = writeInput(10, 100, 50);
+    ExternalSorter sorter = new ExternalSorter(allocator, new int[]{0}, 64L * 1024 * 1024,
+        spillFolder.getRoot().toPath());
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(input), allocator);
+         ArrowReader sorted = sorter.sort(reader)) {
+      assertEquals(0, spillFolder.getRoot().list().length);
+      verifySorted(sorted, 1000);
+    }
+  }
+
+  @Test
+  public void testSortWithSpilling() throws IOException {
+    byte[] input = writeInput(100, 250, 1000);
+    ExternalSorter sorter = new ExternalSorter(allocator, new int[]{0}, null, 512 * 1024,
+        spillFolder.getRoot().toPath(), 100, 3);
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(input), allocator);
+         ArrowReader sorted = sorter.sort(reader)) {
+      File[] runFiles = spillFolder.getRoot().listFiles();
+      // merged down to the fan-in
+      assertTrue(runFiles.length > 1 && runFiles.length <= 3);
+      verifySorted(sorted, 25000);
+    }
+    assertEquals(0, spillFolder.getRoot().list().length);
+  }
+
+  @Test
+  public void testSortByMultipleKeys() throws IOException {
+    byte[] input = writeInput(20, 100, 3);
+    // sort by key, then by payload descending
+    VectorValueComparator<?>[] comparators = new VectorValueComparator<?>[]{
+        new DefaultVectorComparators.IntComparator(),
+        new DescendingComparator(new DefaultVectorComparators.VariableWidthComparator())};
+    ExternalSorter sorter = new ExternalSorter(allocator, new int[]{0, 1}, comparators, 256 * 1024,
+        spillFolder.getRoot().toPath(), 64, 4);
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(input), allocator);
+         ArrowReader sorted = sorter.sort(reader)) {
+      VectorSchemaRoot root = sorted.getVectorSchemaRoot();
+      String previous = null;
+      Integer previousKey = null;
+      int rowCount = 0;
+      while (sorted.loadNextBatch()) {
+        IntVector keys = (IntVector) root.getVector(0);
+        VarCharVector payloads = (VarCharVector) root.getVector(1);
+        for (int i = 0; i < root.getRowCount(); i++) {
+          Integer key = keys.getObject(i);
+          String payload = new String(payloads.get(i), StandardCharsets.UTF_8);
+          if (previous != null && (key == null ? previousKey == null : key.equals(previousKey))) {
+            assertTrue(payload.compareTo(previous) < 0);
+          }
+          previous = payload;
+          previousKey = key;
+          rowCount++;
+        }
+      }
+      assertEquals(2000, rowCount);
+    }
+  }
+
+  @Test
+  public void testUnsupportedKeyColumn() throws IOException {
+    byte[] input = writeInput(1, 10, 10);
+    ExternalSorter sorter = new ExternalSorter(allocator, new int[]{3}, 1024 * 1024,
+        spillFolder.getRoot().toPath());
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(input), allocator)) {
+      assertThrows(IndexOutOfBoundsException.class, () -> sorter.sort(reader));
+    }
+  }
+
+  /**
+   * Reverses the order of an inner comparator.
+   */
+  private static class DescendingComparator<V extends ValueVector> extends VectorValueComparator<V> {
+
+    private final VectorValueComparator<V> inner;
+
+    DescendingComparator(VectorValueComparator<V> inner) {
+      this.inner = inner;
+    }
+
+    @Override
+    public void attachVectors(V vector1, V vector2) {
+      super.attachVectors(vector1, vector2);
+      inner.attachVectors(vector2, vector1);
+    }
+
+    @Override
+    public int compareNotNull(int index1, int index2) {
+      return inner.compareNotNull(index2, index1);
+    }
+
+    @Override
+    public VectorValueComparator<V> createNew() {
+      return new DescendingComparator<>(inner.createNew());
+    }
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.UInt4Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link FixedWidthRadixSorter}.
+ */
+public class TestFixedWidthRadixSorter {
+
+  private static final int VECTOR_LENGTH = 2000;
+
+  private BufferAllocator allocator;
+
+  private final Random random = new Random(0);
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  @Test
+  public void testSortIndices() {
+    try (IntVector vec = new IntVector("", allocator);
+         IntVector indices = new IntVector("", allocator)) {
+      ValueVectorDataPopulator.setVector(vec, 11, 8, -33, 10, 12, 8, null, 23, 35, null);
+
+      new FixedWidthRadixSorter<IntVector>().sortIndices(vec, indices);
+      indices.setValueCount(10);
+
+      int[] expected = new int[]{6, 9, 2, 1, 5, 3, 0, 4, 7, 8};
+      for (int i = 0; i < expected.length; i++) {
+        assertFalse(indices.isNull(i));
+        assertEquals(expected[i], indices.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testSortInPlace() {
+    try (BigIntVector vec = new BigIntVector("", allocator)) {
+      ValueVectorDataPopulator.setVector(vec, 5L, null, Long.MIN_VALUE, -1L, Long.MAX_VALUE, 0L, null, 256L, -256L);
+
+      new FixedWidthRadixSorter<BigIntVector>().sortInPlace(vec);
+
+      assertTrue(vec.isNull(0));
+      assertTrue(vec.isNull(1));
+      Long[] expected = new Long[]{Long.MIN_VALUE, -256L, -1L, 0L, 5L, 256L, Long.MAX_VALUE};
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i], vec.getObject(i + 2));
+      }
+    }
+  }
+
+  @Test
+  public void testSortFloatingPoint() {
+    try (Float8Vector vec = new Float8Vector("", allocator);
+         Float4Vector floatVec = new Float4Vector("", allocator)) {
+      ValueVectorDataPopulator.setVector(vec, 1.5, Double.NaN, Double.NEGATIVE_INFINITY, null, -0.5,
+          Double.POSITIVE_INFINITY, -Double.MAX_VALUE, 0.0, Double.longBitsToDouble(-1L), 2.0);
+      new FixedWidthRadixSorter<Float8Vector>().sortInPlace(vec);
+
+      assertTrue(vec.isNull(0));
+      double[] expected = new double[]{Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -0.5, 0.0, 1.5, 2.0,
+          Double.POSITIVE_INFINITY, Double.NaN, Double.NaN};
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i], vec.get(i + 1), 0);
+      }
+
+      ValueVectorDataPopulator.setVector(floatVec, 3.0f, -7.25f, Float.NaN, -0.0f, Float.MIN_VALUE);
+      new FixedWidthRadixSorter<Float4Vector>().sortInPlace(floatVec);
+      float[] expectedFloats = new float[]{-7.25f, -0.0f, Float.MIN_VALUE, 3.0f, Float.NaN};
+      for (int i = 0; i < expectedFloats.length; i++) {
+        assertEquals(expectedFloats[i], floatVec.get(i), 0);
+      }
+    }
+  }
+
+  @Test
+  public void testSortDecimal() {
+    try (DecimalVector vec = new DecimalVector("", allocator, 38, 2)) {
+      vec.allocateNew(6);
+      vec.setSafe(0, new BigDecimal("12345678901234567890123.45"));
+      vec.setSafe(1, new BigDecimal("-0.01"));
+      vec.setNull(2);
+      vec.setSafe(3, new BigDecimal("-12345678901234567890123.45"));
+      vec.setSafe(4, new BigDecimal("0.00"));
+      vec.setSafe(5, new BigDecimal("1.00"));
+      vec.setValueCount(6);
+
+      try (IntVector indices = new IntVector("", allocator)) {
+        new FixedWidthRadixSorter<DecimalVector>().sortIndices(vec, indices);
+        indices.setValueCount(6);
+        int[] expected = new int[]{2, 3, 1, 4, 5, 0};
+        for (int i = 0; i < expected.length; i++) {
+          assertEquals(expected[i], indices.get(i));
+        }
+      }
+
+      new FixedWidthRadixSorter<DecimalVector>().sortInPlace(vec);
+      assertTrue(vec.isNull(0));
+      assertEquals(new BigDecimal("-12345678901234567890123.45"), vec.getObject(1));
+      assertEquals(new BigDecimal("12345678901234567890123.45"), vec.getObject(5));
+    }
+  }
+
+  @Test
+  public void testRandomDataMatchesIndexSorter() {
+    for (int cardinality : new int[]{4, 1000, Integer.MAX_VALUE}) {
+      try (TinyIntVector tinyIntVector = new TinyIntVector("", allocator);
+           SmallIntVector smallIntVector = new SmallIntVector("", allocator);
+           IntVector intVector = new IntVector("", allocator);
+           BigIntVector bigIntVector = new BigIntVector("", allocator);
+           UInt4Vector uint4Vector = new UInt4Vector("", allocator);
+           TimeStampMilliVector timeStampVector = new TimeStampMilliVector("", allocator)) {
+        tinyIntVector.allocateNew(VECTOR_LENGTH);
+        smallIntVector.allocateNew(VECTOR_LENGTH);
+        intVector.allocateNew(VECTOR_LENGTH);
+        bigIntVector.allocateNew(VECTOR_LENGTH);
+        uint4Vector.allocateNew(VECTOR_LENGTH);
+        timeStampVector.allocateNew(VECTOR_LENGTH);
+        for (int i = 0; i < VECTOR_LENGTH; i++) {
+          if (random.nextInt(10) == 0) {
+            tinyIntVector.setNull(i);
+            smallIntVector.setNull(i);
+            intVector.setNull(i);
+            bigIntVector.setNull(i);
+            uint4Vector.setNull(i);
+            timeStampVector.setNull(i);
+            continue;
+          }
+          long value = cardinality == Integer.MAX_VALUE ? random.nextLong() :
+              random.nextInt(cardinality) - cardinality / 2;
+          tinyIntVector.set(i, (byte) value);
+          smallIntVector.set(i, (short) value);
+          intVector.set(i, (int) value);
+          bigIntVector.set(i, value);
+          uint4Vector.set(i, (int) value);
+          timeStampVector.set(i, value);
+        }
+        tinyIntVector.setValueCount(VECTOR_LENGTH);
+        smallIntVector.setValueCount(VECTOR_LENGTH);
+        intVector.setValueCount(VECTOR_LENGTH);
+        bigIntVector.setValueCount(VECTOR_LENGTH);
+        uint4Vector.setValueCount(VECTOR_LENGTH);
+        timeStampVector.setValueCount(VECTOR_LENGTH);
+
+        verifySort(tinyIntVector);
+        verifySort(smallIntVector);
+        verifySort(intVector);
+        verifySort(bigIntVector);
+        verifySort(uint4Vector);
+        verifySort(timeStampVector);
+      }
+    }
+  }
+
+  private <V extends BaseFixedWidthVector> void verifySort(V vec) {
+    VectorValueComparator<V> comparator = DefaultVectorComparators.createDefaultComparator(vec);
+    comparator.attachVector(vec);
+    try (IntVector indices = new IntVector("", allocator);
+         V sorted = (V) vec.getField().createVector(allocator)) {
+      FixedWidthRadixSorter<V> sorter = new FixedWidthRadixSorter<>();
+      sorter.sortIndices(vec, indices);
+      indices.setValueCount(vec.getValueCount());
+      for (int i = 1; i < vec.getValueCount(); i++) {
+        int result = comparator.compare(indices.get(i - 1), indices.get(i));
+        // the sort is stable
+        assertTrue(result < 0 || (result == 0 && indices.get(i - 1) < indices.get(i)));
+      }
+
+      sorted.allocateNew(vec.getValueCount());
+      for (int i = 0; i < vec.getValueCount(); i++) {
+        sorted.copyFrom(indices.get(i), i, vec);
+      }
+      sorted.setValueCount(vec.getValueCount());
+      sorter.sortInPlace(vec);
+      comparator.attachVectors(vec, sorted);
+      for (int i = 0; i < vec.getValueCount(); i++) {
+        assertEquals(0, comparator.compare(i, i));
+      }
+    }
+  }
+
+  @Test
+  public void testUnsupportedVector() {
+    try (VarCharVector vec = new VarCharVector("", allocator)) {
+      assertFalse(FixedWidthRadixSorter.isSupported(vec));
+    }
+    try (IntVector vec = new IntVector("", allocator);
+         IntVector indices = new IntVector("", allocator)) {
+      assertTrue(FixedWidthRadixSorter.isSupported(vec));
+      vec.setValueCount(0);
+      new FixedWidthRadixSorter<IntVector>().sortIndices(vec, indices);
+      assertEquals(0, indices.getValueCount());
+    }
+    try (BitVector vec = new BitVector("", allocator)) {
+      FixedWidthRadixSorter sorter = new FixedWidthRadixSorter<>();
+      assertThrows(IllegalArgumentException.class, () -> sorter.sortInPlace(vec));
+    }
+  }
+}
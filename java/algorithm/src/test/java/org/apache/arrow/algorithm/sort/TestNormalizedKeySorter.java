@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link NormalizedKeySorter}.
+ */
+public class TestNormalizedKeySorter {
+
+  private static final int ROW_COUNT = 3000;
+
+  private BufferAllocator allocator;
+
+  private final Random random = new Random(0);
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private VectorSchemaRoot createRoot() {
+    IntVector ints = new IntVector("int", allocator);
+    BigIntVector longs = new BigIntVector("long", allocator);
+    Float8Vector doubles = new Float8Vector("double", allocator);
+    VarCharVector strings = new VarCharVector("string", allocator);
+    DecimalVector decimals = new DecimalVector("decimal", allocator, 20, 2);
+    BitVector bits = new BitVector("bit", allocator);
+    ints.allocateNew(ROW_COUNT);
+    longs.allocateNew(ROW_COUNT);
+    doubles.allocateNew(ROW_COUNT);
+    strings.allocateNew(ROW_COUNT);
+    decimals.allocateNew(ROW_COUNT);
+    bits.allocateNew(ROW_COUNT);
+    String[] stringValues = new String[]{"", "a", "a\0", "a\0b", "ab", "b", "ÿ", "a\0\0"};
+    double[] doubleValues = new double[]{Double.NaN, -0.5, 0.0, 1e300, Double.NEGATIVE_INFINITY, 7.0};
+    for (int i = 0; i < ROW_COUNT; i++) {
+      // low cardinalities, so that later columns break ties
+      ints.set(i, random.nextInt(5) - 2);
+      longs.set(i, random.nextBoolean() ? Long.MIN_VALUE : random.nextInt(3));
+      doubles.set(i, doubleValues[random.nextInt(doubleValues.length)]);
+      strings.setSafe(i, stringValues[random.nextInt(stringValues.length)].getBytes(StandardCharsets.UTF_8));
+      decimals.set(i, BigDecimal.valueOf(random.nextInt(7) - 3, 2));
+      bits.set(i, random.nextInt(2));
+    }
+    List<FieldVector> vectors = Arrays.asList(ints, longs, doubles, strings, decimals, bits);
+    for (FieldVector vector : vectors) {
+      vector.setValueCount(ROW_COUNT);
+      for (int i = 0; i < ROW_COUNT; i++) {
+        if (random.nextInt(8) == 0) {
+          vector.setNull(i);
+        }
+      }
+    }
+    VectorSchemaRoot root = new VectorSchemaRoot(vectors);
+    root.setRowCount(ROW_COUNT);
+    return root;
+  }
+
+  @Test
+  public void testSortMatchesComparators() {
+    try (VectorSchemaRoot root = createRoot()) {
+      List<List<SortKeyEncoder.SortColumn>> sortOrders = Arrays.asList(
+          // fixed-width keys
+          Arrays.asList(SortKeyEncoder.SortColumn.ascending(0), SortKeyEncoder.SortColumn.ascending(1),
+              SortKeyEncoder.SortColumn.ascending(2)),
+          Arrays.asList(new SortKeyEncoder.SortColumn(4, true, false), new SortKeyEncoder.SortColumn(5, false, false),
+              new SortKeyEncoder.SortColumn(0, true, true), new SortKeyEncoder.SortColumn(2, true, false)),
+          // variable-width keys
+          Arrays.asList(SortKeyEncoder.SortColumn.ascending(3), SortKeyEncoder.SortColumn.ascending(0)),
+          Arrays.asList(new SortKeyEncoder.SortColumn(0, false, false), new SortKeyEncoder.SortColumn(3, true, true),
+              new SortKeyEncoder.SortColumn(1, true, false)));
+
+      for (List<SortKeyEncoder.SortColumn> sortOrder : sortOrders) {
+        try (IntVector indices = new IntVector("", allocator)) {
+          new NormalizedKeySorter(sortOrder).sort(root, indices, allocator);
+          indices.setValueCount(ROW_COUNT);
+
+          List<VectorValueComparator<FieldVector>> comparators = new ArrayList<>();
+          for (SortKeyEncoder.SortColumn column : sortOrder) {
+            FieldVector vector = root.getVector(column.getColumnIndex());
+            VectorValueComparator<FieldVector> comparator = DefaultVectorComparators.createDefaultComparator(vector);
+            comparator.attachVector(vector);
+            comparators.add(comparator);
+          }
+          boolean[] seen = new boolean[ROW_COUNT];
+          for (int i = 0; i < ROW_COUNT; i++) {
+            seen[indices.get(i)] = true;
+            if (i == 0) {
+              continue;
+            }
+            int row1 = indices.get(i - 1);
+            int row2 = indices.get(i);
+            int result = compareRows(root, sortOrder, comparators, row1, row2);
+            // stable
+            assertTrue(result < 0 || (result == 0 && row1 < row2));
+          }
+          for (boolean s : seen) {
+            assertTrue(s);
+          }
+        }
+      }
+    }
+  }
+
+  private static int compareRows(VectorSchemaRoot root, List<SortKeyEncoder.SortColumn> sortOrder,
+      List<VectorValueComparator<FieldVector>> comparators, int row1, int row2) {
+    for (int c = 0; c < sortOrder.size(); c++) {
+      SortKeyEncoder.SortColumn column = sortOrder.get(c);
+      FieldVector vector = root.getVector(column.getColumnIndex());
+      boolean null1 = vector.isNull(row1);
+      boolean null2 = vector.isNull(row2);
+      int result;
+      if (null1 || null2) {
+        result = null1 == null2 ? 0 : (null1 == column.isNullsFirst() ? -1 : 1);
+      } else {
+        result = comparators.get(c).compareNotNull(row1, row2);
+        if (vector instanceof Float8Vector && result == 0 &&
+            Double.compare(((Float8Vector) vector).get(row1), ((Float8Vector) vector).get(row2)) != 0) {
+          // the comparator treats -0.0 and 0.0 as equal, the keys do not
+          result = Double.compare(((Float8Vector) vector).get(row1), ((Float8Vector) vector).get(row2));
+        }
+        result = column.isDescending() ? -result : result;
+      }
+      if (result != 0) {
+        return result;
+      }
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Test cases for {@link ParallelIndexSorter}.
+ */
+@RunWith(Parameterized.class)
+public class TestParallelIndexSorter {
+
+  private BufferAllocator allocator;
+
+  private ForkJoinPool threadPool;
+
+  private final int numRuns;
+
+  private final Random random = new Random(0);
+
+  public TestParallelIndexSorter(int numRuns) {
+    this.numRuns = numRuns;
+  }
+
+  @Parameterized.Parameters(name = "numRuns = {0}")
+  public static Collection<Object[]> getParameters() {
+    return Arrays.asList(new Object[][]{{1}, {3}, {8}});
+  }
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+    threadPool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void shutdown() {
+    threadPool.shutdown();
+    allocator.close();
+  }
+
+  @Test
+  public void testSortFixedWidth() {
+    for (int length : new int[]{0, 10, ParallelIndexSorter.MIN_RUN_LENGTH * 10 + 7}) {
+      try (IntVector vec = new IntVector("", allocator);
+           IntVector indices = new IntVector("", allocator)) {
+        vec.allocateNew(length);
+        for (int i = 0; i < length; i++) {
+          if (random.nextInt(10) == 0) {
+            vec.setNull(i);
+          } else {
+            vec.set(i, random.nextInt(100));
+          }
+        }
+        vec.setValueCount(length);
+
+        new ParallelIndexSorter<IntVector>(threadPool, numRuns).sort(
+            vec, indices, DefaultVectorComparators.createDefaultComparator(vec));
+        indices.setValueCount(length);
+        verifyStableOrder(vec, indices);
+      }
+    }
+  }
+
+  @Test
+  public void testSortVariableWidth() {
+    final int length = ParallelIndexSorter.MIN_RUN_LENGTH * 5;
+    try (VarCharVector vec = new VarCharVector("", allocator);
+         IntVector indices = new IntVector("", allocator)) {
+      vec.allocateNew(length);
+      for (int i = 0; i < length; i++) {
+        if (i % 50 == 0) {
+          vec.setNull(i);
+        } else {
+          vec.setSafe(i, ("value" + random.nextInt(length)).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      vec.setValueCount(length);
+
+      new ParallelIndexSorter<VarCharVector>(threadPool, numRuns).sort(
+          vec, indices, DefaultVectorComparators.createDefaultComparator(vec));
+      indices.setValueCount(length);
+      verifyStableOrder(vec, indices);
+    }
+  }
+
+  private <V extends ValueVector> void verifyStableOrder(V vec, IntVector indices) {
+    VectorValueComparator<V> comparator = DefaultVectorComparators.createDefaultComparator(vec);
+    comparator.attachVector(vec);
+    boolean[] seen = new boolean[vec.getValueCount()];
+    for (int i = 0; i < vec.getValueCount(); i++) {
+      seen[indices.get(i)] = true;
+      if (i > 0) {
+        int result = comparator.compare(indices.get(i - 1), indices.get(i));
+        assertTrue(result < 0 || (result == 0 && indices.get(i - 1) < indices.get(i)));
+      }
+    }
+    for (boolean s : seen) {
+      assertTrue(s);
+    }
+  }
+
+  @Test
+  public void testMergeRuns() {
+    try (IntVector vec = new IntVector("", allocator)) {
+      vec.allocateNew(9);
+      int[] values = new int[]{1, 4, 7, 2, 4, 9, 0, 4, 5};
+      vec.setValuesSafe(0, values, 0, values.length);
+      vec.setValueCount(values.length);
+
+      VectorValueComparator<IntVector> comparator = DefaultVectorComparators.createDefaultComparator(vec);
+      comparator.attachVector(vec);
+      int[] source = new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8};
+      int[] target = new int[9];
+      ParallelIndexSorter.merge(source, target, new int[]{0, 3, 3, 6, 9}, comparator);
+      assertEquals(Arrays.toString(new int[]{6, 0, 3, 1, 4, 7, 8, 2, 5}), Arrays.toString(target));
+    }
+  }
+}
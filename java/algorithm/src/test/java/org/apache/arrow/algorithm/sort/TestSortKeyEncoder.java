@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.vector.FixedSizeBinaryVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link SortKeyEncoder}.
+ */
+public class TestSortKeyEncoder {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  @Test
+  public void testFixedWidthKeys() {
+    try (IntVector ints = new IntVector("int", allocator)) {
+      ValueVectorDataPopulator.setVector(ints, -2, null, 0x01020304);
+      VectorSchemaRoot root = VectorSchemaRoot.of(ints);
+
+      SortKeyEncoder ascending = new SortKeyEncoder(Collections.singletonList(SortKeyEncoder.SortColumn.ascending(0)));
+      assertEquals(5, ascending.getFixedKeyWidth(root));
+      try (FixedSizeBinaryVector keys = ascending.encodeFixedWidth(root, allocator)) {
+        assertArrayEquals(new byte[]{1, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xfe}, keys.get(0));
+        assertArrayEquals(new byte[]{0, 0, 0, 0, 0}, keys.get(1));
+        assertArrayEquals(new byte[]{1, (byte) 0x81, 2, 3, 4}, keys.get(2));
+      }
+
+      SortKeyEncoder descending = new SortKeyEncoder(
+          Collections.singletonList(new SortKeyEncoder.SortColumn(0, true, false)));
+      try (FixedSizeBinaryVector keys = descending.encodeFixedWidth(root, allocator)) {
+        assertArrayEquals(new byte[]{0, (byte) 0x80, 0, 0, 1}, keys.get(0));
+        assertArrayEquals(new byte[]{1, 0, 0, 0, 0}, keys.get(1));
+        assertArrayEquals(new byte[]{0, (byte) 0x7e, (byte) 0xfd, (byte) 0xfc, (byte) 0xfb}, keys.get(2));
+      }
+    }
+  }
+
+  @Test
+  public void testVariableWidthKeys() {
+    try (VarCharVector strings = new VarCharVector("string", allocator);
+         IntVector ints = new IntVector("int", allocator)) {
+      ValueVectorDataPopulator.setVector(strings, "a\0", "a", null, "");
+      ValueVectorDataPopulator.setVector(ints, 1, 2, 3, 4);
+      VectorSchemaRoot root = VectorSchemaRoot.of(strings, ints);
+
+      SortKeyEncoder encoder = new SortKeyEncoder(Arrays.asList(
+          SortKeyEncoder.SortColumn.ascending(0), SortKeyEncoder.SortColumn.ascending(1)));
+      assertEquals(-1, encoder.getFixedKeyWidth(root));
+      assertThrows(IllegalArgumentException.class, () -> encoder.encodeFixedWidth(root, allocator));
+      try (VarBinaryVector keys = encoder.encode(root, allocator)) {
+        assertArrayEquals(new byte[]{1, 'a', 0, (byte) 0xff, 0, 1, 1, (byte) 0x80, 0, 0, 1}, keys.get(0));
+        assertArrayEquals(new byte[]{1, 'a', 0, 1, 1, (byte) 0x80, 0, 0, 2}, keys.get(1));
+        assertArrayEquals(new byte[]{0, 1, (byte) 0x80, 0, 0, 3}, keys.get(2));
+        assertArrayEquals(new byte[]{1, 0, 1, 1, (byte) 0x80, 0, 0, 4}, keys.get(3));
+
+        // null < "" < "a" < "a\0"
+        int[] expectedOrder = new int[]{2, 3, 1, 0};
+        for (int i = 1; i < expectedOrder.length; i++) {
+          assertTrue(compareKeys(keys, expectedOrder[i - 1], expectedOrder[i]) < 0);
+        }
+      }
+    }
+  }
+
+  private static int compareKeys(VarBinaryVector keys, int index1, int index2) {
+    return ByteFunctionHelpers.compare(
+        keys.getDataBuffer(), keys.getStartOffset(index1), keys.getStartOffset(index1 + 1),
+        keys.getDataBuffer(), keys.getStartOffset(index2), keys.getStartOffset(index2 + 1));
+  }
+
+  @Test
+  public void testUnsupportedColumn() {
+    try (ListVector list = ListVector.empty("list", allocator)) {
+      assertTrue(!SortKeyEncoder.isSupported(list));
+      VectorSchemaRoot root = VectorSchemaRoot.of(list);
+      SortKeyEncoder encoder = new SortKeyEncoder(Collections.singletonList(SortKeyEncoder.SortColumn.ascending(0)));
+      assertThrows(IllegalArgumentException.class, () -> encoder.encode(root, allocator));
+      assertTrue(SortKeyEncoder.isSupported(new VarCharVector("string", allocator)));
+    }
+  }
+}
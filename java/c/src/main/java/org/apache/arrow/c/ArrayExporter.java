@@ -29,6 +29,7 @@ import org.apache.arrow.c.jni.PrivateData;
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.TypeLayout;
 import org.apache.arrow.vector.dictionary.Dictionary;
 import org.apache.arrow.vector.dictionary.DictionaryProvider;
 import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
@@ -96,8 +97,10 @@ final class ArrayExporter {
       }
 
       if (buffers != null) {
-        data.buffers = new ArrayList<>(buffers.size());
-        data.buffers_ptrs = allocator.buffer((long) buffers.size() * Long.BYTES);
+        boolean variadic = TypeLayout.hasVariadicBuffers(vector.getField().getType());
+        int bufferCount = variadic ? buffers.size() + 1 : buffers.size();
+        data.buffers = new ArrayList<>(bufferCount);
+        data.buffers_ptrs = allocator.buffer((long) bufferCount * Long.BYTES);
         for (ArrowBuf arrowBuf : buffers) {
           if (arrowBuf != null) {
             arrowBuf.getReferenceManager().retain();
@@ -107,6 +110,11 @@ final class ArrayExporter {
           }
           data.buffers.add(arrowBuf);
         }
+        if (variadic) {
+          ArrowBuf variadicSizes = exportVariadicSizes(vector, buffers);
+          data.buffers_ptrs.writeLong(variadicSizes.memoryAddress());
+          data.buffers.add(variadicSizes);
+        }
       }
 
       if (dictionaryEncoding != null) {
@@ -146,4 +154,18 @@ final class ArrayExporter {
       }
     }
   }
+
+  /**
+   * The C Data Interface appends the sizes of the variadic data buffers, as int64 values, to the buffers of
+   * view types.
+   */
+  private ArrowBuf exportVariadicSizes(FieldVector vector, List<ArrowBuf> buffers) {
+    int layoutBufferCount = TypeLayout.getTypeBufferCount(vector.getField().getType());
+    int variadicBufferCount = buffers.size() - layoutBufferCount;
+    ArrowBuf sizes = allocator.buffer((long) Math.max(variadicBufferCount, 1) * Long.BYTES);
+    for (int i = 0; i < variadicBufferCount; i++) {
+      sizes.writeLong(buffers.get(layoutBufferCount + i).writerIndex());
+    }
+    return sizes;
+  }
 }
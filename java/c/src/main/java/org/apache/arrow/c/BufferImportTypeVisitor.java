@@ -29,6 +29,7 @@ import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.util.AutoCloseables;
 import org.apache.arrow.util.VisibleForTesting;
+import org.apache.arrow.vector.BaseVariableWidthViewVector;
 import org.apache.arrow.vector.DateDayVector;
 import org.apache.arrow.vector.DateMilliVector;
 import org.apache.arrow.vector.DurationVector;
@@ -48,7 +49,9 @@ import org.apache.arrow.vector.VarBinaryVector;
 import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.LargeListVector;
+import org.apache.arrow.vector.complex.LargeListViewVector;
 import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.ListViewVector;
 import org.apache.arrow.vector.complex.MapVector;
 import org.apache.arrow.vector.complex.UnionVector;
 import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
@@ -153,6 +156,23 @@ class BufferImportTypeVisitor implements ArrowType.ArrowTypeVisitor<List<ArrowBu
     return Arrays.asList(maybeImportBitmap(type), importOffsets(type, LargeListVector.OFFSET_WIDTH));
   }
 
+  @Override
+  public List<ArrowBuf> visit(ArrowType.ListView type) {
+    return Arrays.asList(maybeImportBitmap(type), importFixedBytes(type, 1, ListViewVector.OFFSET_WIDTH),
+        importFixedBytes(type, 2, ListViewVector.SIZE_WIDTH));
+  }
+
+  @Override
+  public List<ArrowBuf> visit(ArrowType.LargeListView type) {
+    return Arrays.asList(maybeImportBitmap(type), importFixedBytes(type, 1, LargeListViewVector.OFFSET_WIDTH),
+        importFixedBytes(type, 2, LargeListViewVector.SIZE_WIDTH));
+  }
+
+  @Override
+  public List<ArrowBuf> visit(ArrowType.RunEndEncoded type) {
+    return Collections.emptyList();
+  }
+
   @Override
   public List<ArrowBuf> visit(ArrowType.FixedSizeList type) {
     return Collections.singletonList(maybeImportBitmap(type));
@@ -237,6 +257,41 @@ class BufferImportTypeVisitor implements ArrowType.ArrowTypeVisitor<List<ArrowBu
     }
   }
 
+  @Override
+  public List<ArrowBuf> visit(ArrowType.Utf8View type) {
+    return importViews(type);
+  }
+
+  @Override
+  public List<ArrowBuf> visit(ArrowType.BinaryView type) {
+    return importViews(type);
+  }
+
+  /**
+   * View types have a validity and a views buffer, then the variadic data buffers, and last a buffer
+   * with the sizes of the data buffers.
+   */
+  private List<ArrowBuf> importViews(ArrowType type) {
+    checkState(
+        buffers.length >= 3,
+        "Expected at least %s buffers for type %s, but found %s", 3, type, buffers.length);
+    final int variadicBufferCount = buffers.length - 3;
+    List<ArrowBuf> result = new ArrayList<>(2 + variadicBufferCount);
+    result.add(maybeImportBitmap(type));
+    result.add(importFixedBytes(type, 1, BaseVariableWidthViewVector.VIEW_WIDTH));
+    // the sizes buffer is only read here and released with the other imported buffers
+    final ArrowBuf sizes = importBuffer(type, buffers.length - 1, (long) variadicBufferCount * Long.BYTES);
+    for (int i = 0; i < variadicBufferCount; i++) {
+      final long size = sizes.getLong((long) i * Long.BYTES);
+      checkState(size >= 0, "Variadic buffer %s for type %s has a negative size: %s", i, type, size);
+      // imported buffers start out empty, the vector reads the data up to the writer index
+      ArrowBuf data = importBuffer(type, 2 + i, size);
+      data.writerIndex(size);
+      result.add(data);
+    }
+    return result;
+  }
+
   @Override
   public List<ArrowBuf> visit(ArrowType.LargeBinary type) {
     try (ArrowBuf offsets = importOffsets(type, LargeVarBinaryVector.OFFSET_WIDTH)) {
@@ -62,10 +62,13 @@ public class FormatTest {
     assertEquals("tiM", Format.asString(new ArrowType.Interval(IntervalUnit.YEAR_MONTH)));
     assertEquals("Z", Format.asString(new ArrowType.LargeBinary()));
     assertEquals("+L", Format.asString(new ArrowType.LargeList()));
+    assertEquals("+vL", Format.asString(new ArrowType.LargeListView()));
     assertEquals("U", Format.asString(new ArrowType.LargeUtf8()));
     assertEquals("+l", Format.asString(new ArrowType.List()));
+    assertEquals("+vl", Format.asString(new ArrowType.ListView()));
     assertEquals("+m", Format.asString(new ArrowType.Map(true)));
     assertEquals("n", Format.asString(new ArrowType.Null()));
+    assertEquals("+r", Format.asString(new ArrowType.RunEndEncoded()));
     assertEquals("+s", Format.asString(new ArrowType.Struct()));
     assertEquals("tts", Format.asString(new ArrowType.Time(TimeUnit.SECOND, 32)));
     assertEquals("ttm", Format.asString(new ArrowType.Time(TimeUnit.MILLISECOND, 32)));
@@ -118,6 +121,9 @@ public class FormatTest {
     assertEquals(new ArrowType.Interval(IntervalUnit.DAY_TIME), Format.asType("tiD", 0L));
     assertTrue(Format.asType("+l", 0L) instanceof ArrowType.List);
     assertTrue(Format.asType("+L", 0L) instanceof ArrowType.LargeList);
+    assertTrue(Format.asType("+vl", 0L) instanceof ArrowType.ListView);
+    assertTrue(Format.asType("+vL", 0L) instanceof ArrowType.LargeListView);
+    assertTrue(Format.asType("+r", 0L) instanceof ArrowType.RunEndEncoded);
     assertTrue(Format.asType("+s", 0L) instanceof ArrowType.Struct);
     assertEquals(new ArrowType.Map(false), Format.asType("+m", 0L));
     assertEquals(new ArrowType.Map(true), Format.asType("+m", Flags.ARROW_FLAG_MAP_KEYS_SORTED));
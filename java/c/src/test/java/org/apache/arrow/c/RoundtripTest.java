@@ -79,12 +79,17 @@ import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.VarBinaryVector;
 import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ViewVarBinaryVector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.ZeroVector;
 import org.apache.arrow.vector.compare.VectorEqualsVisitor;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
+import org.apache.arrow.vector.complex.LargeListViewVector;
 import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.ListViewVector;
 import org.apache.arrow.vector.complex.MapVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.StructVector;
 import org.apache.arrow.vector.complex.UnionVector;
 import org.apache.arrow.vector.complex.impl.UnionMapWriter;
@@ -541,6 +546,30 @@ public class RoundtripTest {
     }
   }
 
+  @Test
+  public void testViewVarCharVector() {
+    try (final ViewVarCharVector vector = new ViewVarCharVector("v", allocator)) {
+      vector.allocateNew(4);
+      vector.setSafe(0, "abc".getBytes(StandardCharsets.UTF_8));
+      vector.setSafe(1, "a value too long to be inlined".getBytes(StandardCharsets.UTF_8));
+      vector.setNull(2);
+      vector.setSafe(3, "another value too long to be inlined".getBytes(StandardCharsets.UTF_8));
+      vector.setValueCount(4);
+      assertTrue(roundtrip(vector, ViewVarCharVector.class));
+    }
+  }
+
+  @Test
+  public void testViewVarBinaryVector() {
+    try (final ViewVarBinaryVector vector = new ViewVarBinaryVector("v", allocator)) {
+      vector.allocateNew(2);
+      vector.setSafe(0, new byte[] {1, 2, 3});
+      vector.setNull(1);
+      vector.setValueCount(2);
+      assertTrue(roundtrip(vector, ViewVarBinaryVector.class));
+    }
+  }
+
   @Test
   public void testListVector() {
     try (final ListVector vector = ListVector.empty("v", allocator)) {
@@ -567,6 +596,31 @@ public class RoundtripTest {
     }
   }
 
+  @Test
+  public void testListViewVector() {
+    try (final ListVector list = ListVector.empty("v", allocator)) {
+      setVector(list, Arrays.stream(new int[] { 1, 2 }).boxed().collect(Collectors.toList()),
+          Arrays.stream(new int[] { 3, 4 }).boxed().collect(Collectors.toList()), new ArrayList<Integer>());
+      try (final ListViewVector vector = ListViewVector.fromListVector(list);
+           final ListViewVector reversed = ListViewVector.empty("v", allocator)) {
+        assertTrue(roundtrip(vector, ListViewVector.class));
+        vector.selectTo(reversed, new int[] { 2, 1, 0 });
+        assertTrue(roundtrip(reversed, ListViewVector.class));
+      }
+    }
+  }
+
+  @Test
+  public void testLargeListViewVector() {
+    try (final LargeListVector list = LargeListVector.empty("v", allocator)) {
+      setVector(list, Arrays.stream(new int[] { 1, 2 }).boxed().collect(Collectors.toList()),
+          Arrays.stream(new int[] { 3, 4 }).boxed().collect(Collectors.toList()), new ArrayList<Integer>());
+      try (final LargeListViewVector vector = LargeListViewVector.fromListVector(list)) {
+        assertTrue(roundtrip(vector, LargeListViewVector.class));
+      }
+    }
+  }
+
   @Test
   public void testFixedSizeListVector() {
     try (final FixedSizeListVector vector = FixedSizeListVector.empty("v", 2, allocator)) {
@@ -576,6 +630,17 @@ public class RoundtripTest {
     }
   }
 
+  @Test
+  public void testRunEndEncodedVector() {
+    try (final RunEndEncodedVector vector =
+             RunEndEncodedVector.empty("v", FieldType.nullable(MinorType.INT.getType()), allocator);
+         final IntVector dense = new IntVector("dense", allocator)) {
+      setVector(dense, 1, 1, 1, null, null, 2, 3, 3);
+      vector.encode(dense);
+      assertTrue(roundtrip(vector, RunEndEncodedVector.class));
+    }
+  }
+
   @Test
   public void testMapVector() {
     int count = 5;
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.compression;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+
+/**
+ * Helpers for the output buffers of the codecs.
+ */
+final class CompressedBuffers {
+
+  private CompressedBuffers() {
+  }
+
+  /**
+   * Moves compressed data out of a buffer of the maximum compressed length, if a buffer of the exact
+   * length is smaller once rounded by the allocator.
+   *
+   * @param allocator the allocator of the buffer.
+   * @param buffer the buffer holding the compressed data up to its writer index. It is closed if the
+   *     data is moved.
+   * @return a buffer holding the compressed data.
+   */
+  static ArrowBuf rightSize(BufferAllocator allocator, ArrowBuf buffer) {
+    final long length = buffer.writerIndex();
+    if (allocator.getRoundingPolicy().getRoundedSize(length) >= buffer.capacity()) {
+      return buffer;
+    }
+    try (ArrowBuf source = buffer) {
+      final ArrowBuf exact = allocator.buffer(length);
+      exact.setBytes(0, source, 0, length);
+      exact.writerIndex(length);
+      return exact;
+    }
+  }
+}
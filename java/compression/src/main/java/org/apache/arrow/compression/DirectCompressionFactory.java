@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.compression;
+
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+
+/**
+ * Factory of LZ4 and ZSTD codecs that compress directly between off-heap buffers.
+ *
+ * <p>Compared to {@link CommonsCompressionFactory}, LZ4 uses {@link Lz4FrameCompressionCodec} instead of
+ * the heap based commons-compress streams.
+ */
+public class DirectCompressionFactory implements CompressionCodec.Factory {
+
+  public static final DirectCompressionFactory INSTANCE = new DirectCompressionFactory();
+
+  @Override
+  public CompressionCodec createCodec(CompressionUtil.CodecType codecType) {
+    switch (codecType) {
+      case LZ4_FRAME:
+        return new Lz4FrameCompressionCodec();
+      case ZSTD:
+        return new ZstdCompressionCodec();
+      default:
+        throw new IllegalArgumentException("Compression type not supported: " + codecType);
+    }
+  }
+
+  @Override
+  public CompressionCodec createCodec(CompressionUtil.CodecType codecType, int compressionLevel) {
+    switch (codecType) {
+      case LZ4_FRAME:
+        return new Lz4FrameCompressionCodec();
+      case ZSTD:
+        return new ZstdCompressionCodec(compressionLevel);
+      default:
+        throw new IllegalArgumentException("Compression type not supported: " + codecType);
+    }
+  }
+}
@@ -0,0 +1,429 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.compression;
+
+import java.util.Arrays;
+
+import org.apache.arrow.memory.util.MemoryUtil;
+
+/**
+ * LZ4 frame format encoding and decoding between memory addresses.
+ *
+ * <p>Frames are written with independent blocks of at most 4 MiB and no checksums except the header
+ * checksum. Frames written by other implementations are decoded, including linked blocks, block and
+ * content checksums (the content checksum is verified) and concatenated or skippable frames.
+ */
+final class Lz4Frame {
+
+  static final int MAGIC = 0x184D2204;
+
+  private static final int SKIPPABLE_MAGIC = 0x184D2A50;
+  private static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+
+  private static final int FRAME_HEADER_SIZE = 7;
+  private static final int END_MARK_SIZE = 4;
+
+  private static final int FLG_VERSION = 1 << 6;
+  private static final int FLG_BLOCK_INDEPENDENCE = 1 << 5;
+  private static final int FLG_BLOCK_CHECKSUM = 1 << 4;
+  private static final int FLG_CONTENT_SIZE = 1 << 3;
+  private static final int FLG_CONTENT_CHECKSUM = 1 << 2;
+  private static final int FLG_DICT_ID = 1;
+
+  /**
+   * Block maximum size code 7, i.e. 4 MiB.
+   */
+  private static final int BD_4MB = 7 << 4;
+
+  static final int BLOCK_SIZE = 4 * 1024 * 1024;
+
+  private static final int UNCOMPRESSED_BLOCK_FLAG = 0x80000000;
+
+  private static final int MIN_MATCH = 4;
+  private static final int LAST_LITERALS = 5;
+  private static final int MF_LIMIT = 12;
+  private static final int MAX_DISTANCE = 65535;
+  private static final int RUN_MASK = 15;
+  private static final int SKIP_TRIGGER = 6;
+
+  static final int MAX_HASH_LOG = 12;
+  private static final int MIN_HASH_LOG = 8;
+
+  private Lz4Frame() {
+  }
+
+  /**
+   * The maximum size of a frame encoding the given number of bytes.
+   */
+  static long maxCompressedLength(long length) {
+    final long blocks = Math.max(1, (length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    return FRAME_HEADER_SIZE + END_MARK_SIZE + blocks * (4 + 16) + length + length / 255;
+  }
+
+  /**
+   * Encodes the given bytes as a single frame.
+   *
+   * @param src       the address of the bytes to encode
+   * @param srcLength the number of bytes to encode
+   * @param dst       the destination address, with room for {@link #maxCompressedLength(long)} bytes
+   * @param hashTable a hash table with at least {@code 1 << MAX_HASH_LOG} entries
+   * @return the size of the frame
+   */
+  static long compress(long src, long srcLength, long dst, int[] hashTable) {
+    long op = dst;
+    putIntLE(op, MAGIC);
+    MemoryUtil.UNSAFE.putByte(op + 4, (byte) (FLG_VERSION | FLG_BLOCK_INDEPENDENCE));
+    MemoryUtil.UNSAFE.putByte(op + 5, (byte) BD_4MB);
+    MemoryUtil.UNSAFE.putByte(op + 6, (byte) (XxHash32.hash(op + 4, 2, 0) >>> 8));
+    op += FRAME_HEADER_SIZE;
+
+    for (long pos = 0; pos < srcLength; pos += BLOCK_SIZE) {
+      final int blockLength = (int) Math.min(BLOCK_SIZE, srcLength - pos);
+      final int compressedLength = compressBlock(src + pos, blockLength, op + 4, hashTable);
+      if (compressedLength >= blockLength) {
+        putIntLE(op, blockLength | UNCOMPRESSED_BLOCK_FLAG);
+        MemoryUtil.UNSAFE.copyMemory(src + pos, op + 4, blockLength);
+        op += 4 + blockLength;
+      } else {
+        putIntLE(op, compressedLength);
+        op += 4 + compressedLength;
+      }
+    }
+    putIntLE(op, 0);
+    op += END_MARK_SIZE;
+    return op - dst;
+  }
+
+  /**
+   * Decodes one or more concatenated frames.
+   *
+   * @param src       the address of the frames
+   * @param srcLength the size of the frames
+   * @param dst       the destination address
+   * @param dstLength the capacity of the destination
+   * @return the number of decoded bytes
+   */
+  static long decompress(long src, long srcLength, long dst, long dstLength) {
+    final long srcEnd = src + srcLength;
+    final long dstEnd = dst + dstLength;
+    long ip = src;
+    long op = dst;
+    while (ip < srcEnd) {
+      checkAvailable(ip, 4, srcEnd);
+      final int magic = getIntLE(ip);
+      if ((magic & SKIPPABLE_MAGIC_MASK) == SKIPPABLE_MAGIC) {
+        checkAvailable(ip, 8, srcEnd);
+        final long frameSize = getIntLE(ip + 4) & 0xFFFFFFFFL;
+        checkAvailable(ip + 8, frameSize, srcEnd);
+        ip += 8 + frameSize;
+        continue;
+      }
+      if (magic != MAGIC) {
+        throw new RuntimeException("Error decompressing: not an LZ4 frame");
+      }
+
+      checkAvailable(ip, 6, srcEnd);
+      final int flg = MemoryUtil.UNSAFE.getByte(ip + 4) & 0xFF;
+      if ((flg & 0xC0) != FLG_VERSION) {
+        throw new RuntimeException("Error decompressing: unsupported LZ4 frame version");
+      }
+      if ((flg & FLG_DICT_ID) != 0) {
+        throw new RuntimeException("Error decompressing: LZ4 frames with dictionaries are not supported");
+      }
+      final int descriptorLength = 2 + ((flg & FLG_CONTENT_SIZE) != 0 ? 8 : 0);
+      checkAvailable(ip + 4, descriptorLength + 1, srcEnd);
+      final int headerChecksum = MemoryUtil.UNSAFE.getByte(ip + 4 + descriptorLength) & 0xFF;
+      if (((XxHash32.hash(ip + 4, descriptorLength, 0) >>> 8) & 0xFF) != headerChecksum) {
+        throw new RuntimeException("Error decompressing: LZ4 frame header checksum mismatch");
+      }
+      ip += 4 + descriptorLength + 1;
+
+      final boolean independentBlocks = (flg & FLG_BLOCK_INDEPENDENCE) != 0;
+      final int blockChecksumSize = (flg & FLG_BLOCK_CHECKSUM) != 0 ? 4 : 0;
+      final long frameStart = op;
+      while (true) {
+        checkAvailable(ip, 4, srcEnd);
+        final int blockHeader = getIntLE(ip);
+        ip += 4;
+        if (blockHeader == 0) {
+          break;
+        }
+        final int blockLength = blockHeader & ~UNCOMPRESSED_BLOCK_FLAG;
+        checkAvailable(ip, (long) blockLength + blockChecksumSize, srcEnd);
+        if ((blockHeader & UNCOMPRESSED_BLOCK_FLAG) != 0) {
+          if (blockLength > dstEnd - op) {
+            throw new RuntimeException("Error decompressing: LZ4 frame exceeds the expected length");
+          }
+          MemoryUtil.UNSAFE.copyMemory(ip, op, blockLength);
+          op += blockLength;
+        } else {
+          op = decompressBlock(ip, ip + blockLength, op, independentBlocks ? op : frameStart, dstEnd);
+        }
+        ip += blockLength + blockChecksumSize;
+      }
+
+      if ((flg & FLG_CONTENT_CHECKSUM) != 0) {
+        checkAvailable(ip, 4, srcEnd);
+        if (XxHash32.hash(frameStart, op - frameStart, 0) != getIntLE(ip)) {
+          throw new RuntimeException("Error decompressing: LZ4 frame content checksum mismatch");
+        }
+        ip += 4;
+      }
+    }
+    return op - dst;
+  }
+
+  private static int hashLog(int length) {
+    final int log = 32 - Integer.numberOfLeadingZeros(Math.max(length - 1, 1));
+    return Math.max(MIN_HASH_LOG, Math.min(MAX_HASH_LOG, log - 1));
+  }
+
+  /**
+   * Encodes a block with the greedy LZ4 parser.
+   *
+   * @return the size of the encoded block
+   */
+  private static int compressBlock(long src, int length, long dst, int[] hashTable) {
+    long op = dst;
+    int anchor = 0;
+
+    if (length >= MF_LIMIT + 1) {
+      final int hashShift = 32 - hashLog(length);
+      Arrays.fill(hashTable, 0, 1 << (32 - hashShift), 0);
+      final int matchLimit = length - LAST_LITERALS;
+      final int mfLimit = length - MF_LIMIT;
+
+      int ip = 1;
+      search:
+      while (true) {
+        // find a match
+        int ref;
+        int searchMatchCount = 1 << SKIP_TRIGGER;
+        while (true) {
+          if (ip > mfLimit) {
+            break search;
+          }
+          final int sequence = getInt(src + ip);
+          final int h = hash(sequence, hashShift);
+          ref = hashTable[h];
+          hashTable[h] = ip;
+          if (ip - ref <= MAX_DISTANCE && getInt(src + ref) == sequence) {
+            break;
+          }
+          ip += searchMatchCount++ >>> SKIP_TRIGGER;
+        }
+
+        // extend the match backwards
+        while (ip > anchor && ref > 0 &&
+            MemoryUtil.UNSAFE.getByte(src + ip - 1) == MemoryUtil.UNSAFE.getByte(src + ref - 1)) {
+          ip--;
+          ref--;
+        }
+
+        // literals
+        final int literalLength = ip - anchor;
+        long tokenAddress = op++;
+        int token;
+        if (literalLength >= RUN_MASK) {
+          token = RUN_MASK << 4;
+          op = writeLength(op, literalLength - RUN_MASK);
+        } else {
+          token = literalLength << 4;
+        }
+        MemoryUtil.UNSAFE.copyMemory(src + anchor, op, literalLength);
+        op += literalLength;
+
+        // matches, possibly several in a row
+        while (true) {
+          putShortLE(op, ip - ref);
+          op += 2;
+
+          ip += MIN_MATCH;
+          final int matchLength = countMatching(src + ip, src + ref + MIN_MATCH, src + matchLimit);
+          ip += matchLength;
+          if (matchLength >= RUN_MASK) {
+            token |= RUN_MASK;
+            op = writeLength(op, matchLength - RUN_MASK);
+          } else {
+            token |= matchLength;
+          }
+          MemoryUtil.UNSAFE.putByte(tokenAddress, (byte) token);
+
+          anchor = ip;
+          if (ip > mfLimit) {
+            break search;
+          }
+
+          hashTable[hash(getInt(src + ip - 2), hashShift)] = ip - 2;
+
+          // test for an immediate match at the next position
+          final int sequence = getInt(src + ip);
+          final int h = hash(sequence, hashShift);
+          ref = hashTable[h];
+          hashTable[h] = ip;
+          if (ip - ref > MAX_DISTANCE || getInt(src + ref) != sequence) {
+            ip++;
+            continue search;
+          }
+          tokenAddress = op++;
+          token = 0;
+        }
+      }
+    }
+
+    // last literals
+    final int literalLength = length - anchor;
+    if (literalLength >= RUN_MASK) {
+      MemoryUtil.UNSAFE.putByte(op++, (byte) (RUN_MASK << 4));
+      op = writeLength(op, literalLength - RUN_MASK);
+    } else {
+      MemoryUtil.UNSAFE.putByte(op++, (byte) (literalLength << 4));
+    }
+    MemoryUtil.UNSAFE.copyMemory(src + anchor, op, literalLength);
+    op += literalLength;
+    return (int) (op - dst);
+  }
+
+  /**
+   * Decodes a block, validating every read and write against the given bounds.
+   *
+   * @return the destination address past the decoded bytes
+   */
+  private static long decompressBlock(long src, long srcEnd, long dst, long windowStart, long dstEnd) {
+    long ip = src;
+    long op = dst;
+    while (true) {
+      checkAvailable(ip, 1, srcEnd);
+      final int token = MemoryUtil.UNSAFE.getByte(ip++) & 0xFF;
+
+      long literalLength = token >>> 4;
+      if (literalLength == RUN_MASK) {
+        int b = 255;
+        while (b == 255) {
+          checkAvailable(ip, 1, srcEnd);
+          b = MemoryUtil.UNSAFE.getByte(ip++) & 0xFF;
+          literalLength += b;
+        }
+      }
+      if (literalLength > srcEnd - ip || literalLength > dstEnd - op) {
+        throw new RuntimeException("Error decompressing: malformed LZ4 block");
+      }
+      MemoryUtil.UNSAFE.copyMemory(ip, op, literalLength);
+      ip += literalLength;
+      op += literalLength;
+      if (ip == srcEnd) {
+        // the last sequence only has literals
+        return op;
+      }
+
+      checkAvailable(ip, 2, srcEnd);
+      final int offset = getShortLE(ip);
+      ip += 2;
+      if (offset == 0 || offset > op - windowStart) {
+        throw new RuntimeException("Error decompressing: malformed LZ4 block");
+      }
+
+      long matchLength = token & RUN_MASK;
+      if (matchLength == RUN_MASK) {
+        int b = 255;
+        while (b == 255) {
+          checkAvailable(ip, 1, srcEnd);
+          b = MemoryUtil.UNSAFE.getByte(ip++) & 0xFF;
+          matchLength += b;
+        }
+      }
+      matchLength += MIN_MATCH;
+      if (matchLength > dstEnd - op) {
+        throw new RuntimeException("Error decompressing: LZ4 frame exceeds the expected length");
+      }
+      copyMatch(op - offset, op, matchLength);
+      op += matchLength;
+    }
+  }
+
+  /**
+   * Copies a match that may overlap its destination, doubling the copied pattern each time.
+   */
+  private static void copyMatch(long from, long to, long length) {
+    long copied = 0;
+    while (copied < length) {
+      final long chunk = Math.min(to + copied - from, length - copied);
+      MemoryUtil.UNSAFE.copyMemory(from, to + copied, chunk);
+      copied += chunk;
+    }
+  }
+
+  private static int countMatching(long a, long b, long limit) {
+    final long start = a;
+    while (a <= limit - 8) {
+      final long diff = MemoryUtil.UNSAFE.getLong(a) ^ MemoryUtil.UNSAFE.getLong(b);
+      if (diff != 0) {
+        final int bits = MemoryUtil.LITTLE_ENDIAN ? Long.numberOfTrailingZeros(diff) : Long.numberOfLeadingZeros(diff);
+        return (int) (a - start) + (bits >>> 3);
+      }
+      a += 8;
+      b += 8;
+    }
+    while (a < limit && MemoryUtil.UNSAFE.getByte(a) == MemoryUtil.UNSAFE.getByte(b)) {
+      a++;
+      b++;
+    }
+    return (int) (a - start);
+  }
+
+  private static long writeLength(long op, int length) {
+    while (length >= 255) {
+      MemoryUtil.UNSAFE.putByte(op++, (byte) 255);
+      length -= 255;
+    }
+    MemoryUtil.UNSAFE.putByte(op++, (byte) length);
+    return op;
+  }
+
+  private static int hash(int sequence, int hashShift) {
+    return (sequence * -1640531535) >>> hashShift;
+  }
+
+  private static void checkAvailable(long address, long length, long end) {
+    if (length > end - address) {
+      throw new RuntimeException("Error decompressing: truncated LZ4 frame");
+    }
+  }
+
+  private static int getInt(long address) {
+    return MemoryUtil.UNSAFE.getInt(address);
+  }
+
+  static int getIntLE(long address) {
+    final int value = MemoryUtil.UNSAFE.getInt(address);
+    return MemoryUtil.LITTLE_ENDIAN ? value : Integer.reverseBytes(value);
+  }
+
+  private static void putIntLE(long address, int value) {
+    MemoryUtil.UNSAFE.putInt(address, MemoryUtil.LITTLE_ENDIAN ? value : Integer.reverseBytes(value));
+  }
+
+  private static int getShortLE(long address) {
+    return (MemoryUtil.UNSAFE.getByte(address) & 0xFF) | (MemoryUtil.UNSAFE.getByte(address + 1) & 0xFF) << 8;
+  }
+
+  private static void putShortLE(long address, int value) {
+    MemoryUtil.UNSAFE.putByte(address, (byte) value);
+    MemoryUtil.UNSAFE.putByte(address + 1, (byte) (value >>> 8));
+  }
+}
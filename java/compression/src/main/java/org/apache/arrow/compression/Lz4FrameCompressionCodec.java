@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.compression;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.compression.AbstractCompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+
+/**
+ * Compression codec for the LZ4 frame format working directly on off-heap memory.
+ *
+ * <p>Unlike {@link Lz4CompressionCodec}, no data is copied to or from the heap: the data is compressed
+ * directly into a buffer of the maximum compressed length, then moved to a buffer of the exact compressed
+ * length when that is smaller. Each thread reuses its hash table.
+ */
+public class Lz4FrameCompressionCodec extends AbstractCompressionCodec {
+
+  private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+
+  @Override
+  protected ArrowBuf doCompress(BufferAllocator allocator, ArrowBuf uncompressedBuffer) {
+    final long uncompressedLength = uncompressedBuffer.writerIndex();
+    final long maxLength = Lz4Frame.maxCompressedLength(uncompressedLength);
+    final Context context = CONTEXT.get();
+    final ArrowBuf compressedBuffer = allocator.buffer(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + maxLength);
+    final long compressedLength = Lz4Frame.compress(uncompressedBuffer.memoryAddress(), uncompressedLength,
+        compressedBuffer.memoryAddress() + CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, context.hashTable);
+    compressedBuffer.writerIndex(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + compressedLength);
+    return CompressedBuffers.rightSize(allocator, compressedBuffer);
+  }
+
+  @Override
+  protected ArrowBuf doDecompress(BufferAllocator allocator, ArrowBuf compressedBuffer) {
+    final long decompressedLength = readUncompressedLength(compressedBuffer);
+    final ArrowBuf decompressedBuffer = allocator.buffer(decompressedLength);
+    try {
+      final long actualLength = Lz4Frame.decompress(
+          compressedBuffer.memoryAddress() + CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH,
+          compressedBuffer.writerIndex() - CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH,
+          decompressedBuffer.memoryAddress(), decompressedLength);
+      if (actualLength != decompressedLength) {
+        throw new RuntimeException("Expected != actual decompressed length: " +
+            decompressedLength + " != " + actualLength);
+      }
+    } catch (RuntimeException e) {
+      decompressedBuffer.close();
+      throw e;
+    }
+    decompressedBuffer.writerIndex(decompressedLength);
+    return decompressedBuffer;
+  }
+
+  @Override
+  public CompressionUtil.CodecType getCodecType() {
+    return CompressionUtil.CodecType.LZ4_FRAME;
+  }
+
+  /**
+   * The state reused by the compressions of a thread.
+   */
+  private static final class Context {
+    private final int[] hashTable = new int[1 << Lz4Frame.MAX_HASH_LOG];
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.compression;
+
+import org.apache.arrow.memory.util.MemoryUtil;
+
+/**
+ * The 32 bits xxHash function over off-heap memory, used for the checksums of the LZ4 frame format.
+ */
+final class XxHash32 {
+
+  private static final int PRIME1 = 0x9E3779B1;
+  private static final int PRIME2 = 0x85EBCA77;
+  private static final int PRIME3 = 0xC2B2AE3D;
+  private static final int PRIME4 = 0x27D4EB2F;
+  private static final int PRIME5 = 0x165667B1;
+
+  private XxHash32() {
+  }
+
+  static int hash(long address, long length, int seed) {
+    final long end = address + length;
+    long p = address;
+    int h;
+    if (length >= 16) {
+      int v1 = seed + PRIME1 + PRIME2;
+      int v2 = seed + PRIME2;
+      int v3 = seed;
+      int v4 = seed - PRIME1;
+      final long limit = end - 16;
+      while (p <= limit) {
+        v1 = round(v1, Lz4Frame.getIntLE(p));
+        v2 = round(v2, Lz4Frame.getIntLE(p + 4));
+        v3 = round(v3, Lz4Frame.getIntLE(p + 8));
+        v4 = round(v4, Lz4Frame.getIntLE(p + 12));
+        p += 16;
+      }
+      h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) + Integer.rotateLeft(v3, 12) +
+          Integer.rotateLeft(v4, 18);
+    } else {
+      h = seed + PRIME5;
+    }
+
+    h += (int) length;
+    while (p <= end - 4) {
+      h += Lz4Frame.getIntLE(p) * PRIME3;
+      h = Integer.rotateLeft(h, 17) * PRIME4;
+      p += 4;
+    }
+    while (p < end) {
+      h += (MemoryUtil.UNSAFE.getByte(p) & 0xFF) * PRIME5;
+      h = Integer.rotateLeft(h, 11) * PRIME1;
+      p++;
+    }
+
+    h ^= h >>> 15;
+    h *= PRIME2;
+    h ^= h >>> 13;
+    h *= PRIME3;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  private static int round(int acc, int input) {
+    acc += input * PRIME2;
+    acc = Integer.rotateLeft(acc, 13);
+    return acc * PRIME1;
+  }
+}
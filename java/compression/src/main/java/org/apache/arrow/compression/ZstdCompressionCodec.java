@@ -24,12 +24,23 @@ import org.apache.arrow.vector.compression.AbstractCompressionCodec;
 import org.apache.arrow.vector.compression.CompressionUtil;
 
 import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
 
 /**
  * Compression codec for the ZSTD algorithm.
+ *
+ * <p>Each thread reuses its compression and decompression contexts. Their native memory is freed once
+ * the thread has terminated and the contexts are garbage collected. Buffers of 2GB or more, which the
+ * contexts do not support, are compressed and decompressed with the one-shot API instead.</p>
+ *
+ * <p>The data is compressed into a buffer of the maximum compressed length, then moved to a buffer of
+ * the exact compressed length when that is smaller.</p>
  */
 public class ZstdCompressionCodec extends AbstractCompressionCodec {
 
+  private static final ThreadLocal<Contexts> CONTEXTS = ThreadLocal.withInitial(Contexts::new);
+
   private int compressionLevel;
   private static final int DEFAULT_COMPRESSION_LEVEL = 3;
 
@@ -43,35 +54,59 @@ public class ZstdCompressionCodec extends AbstractCompressionCodec {
 
   @Override
   protected ArrowBuf doCompress(BufferAllocator allocator, ArrowBuf uncompressedBuffer) {
-    long maxSize = Zstd.compressBound(uncompressedBuffer.writerIndex());
+    long srcSize = uncompressedBuffer.writerIndex();
+    long maxSize = Zstd.compressBound(srcSize);
     long dstSize = CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + maxSize;
     ArrowBuf compressedBuffer = allocator.buffer(dstSize);
-    long bytesWritten = Zstd.compressUnsafe(
-                          compressedBuffer.memoryAddress() + CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, dstSize,
-                          /*src*/uncompressedBuffer.memoryAddress(), /*srcSize=*/uncompressedBuffer.writerIndex(),
-                          /*level=*/this.compressionLevel);
-    if (Zstd.isError(bytesWritten)) {
-      compressedBuffer.close();
-      throw new RuntimeException("Error compressing: " + Zstd.getErrorName(bytesWritten));
+    long bytesWritten;
+    if (maxSize <= Integer.MAX_VALUE) {
+      try {
+        bytesWritten = CONTEXTS.get().compressCtx.setLevel(compressionLevel).compressDirectByteBuffer(
+            compressedBuffer.nioBuffer(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, (int) maxSize), 0, (int) maxSize,
+            uncompressedBuffer.nioBuffer(0, (int) srcSize), 0, (int) srcSize);
+      } catch (RuntimeException e) {
+        compressedBuffer.close();
+        throw new RuntimeException("Error compressing: " + e.getMessage(), e);
+      }
+    } else {
+      bytesWritten = Zstd.compressUnsafe(
+                       compressedBuffer.memoryAddress() + CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, maxSize,
+                       /*src*/uncompressedBuffer.memoryAddress(), srcSize, /*level=*/this.compressionLevel);
+      if (Zstd.isError(bytesWritten)) {
+        compressedBuffer.close();
+        throw new RuntimeException("Error compressing: " + Zstd.getErrorName(bytesWritten));
+      }
     }
     compressedBuffer.writerIndex(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + bytesWritten);
-    return compressedBuffer;
+    return CompressedBuffers.rightSize(allocator, compressedBuffer);
   }
 
   @Override
   protected ArrowBuf doDecompress(BufferAllocator allocator, ArrowBuf compressedBuffer) {
     long decompressedLength = readUncompressedLength(compressedBuffer);
+    long srcSize = compressedBuffer.writerIndex() - CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH;
     ArrowBuf uncompressedBuffer = allocator.buffer(decompressedLength);
-    long decompressedSize = Zstd.decompressUnsafe(uncompressedBuffer.memoryAddress(), decompressedLength,
-          /*src=*/compressedBuffer.memoryAddress() + CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH,
-          compressedBuffer.writerIndex() - CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH);
-    if (Zstd.isError(decompressedSize)) {
-      uncompressedBuffer.close();
-      throw new RuntimeException("Error decompressing: " + Zstd.getErrorName(decompressedLength));
+    long decompressedSize;
+    if (decompressedLength <= Integer.MAX_VALUE && srcSize <= Integer.MAX_VALUE) {
+      try {
+        decompressedSize = CONTEXTS.get().decompressCtx.decompressDirectByteBuffer(
+            uncompressedBuffer.nioBuffer(0, (int) decompressedLength), 0, (int) decompressedLength,
+            compressedBuffer.nioBuffer(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, (int) srcSize), 0, (int) srcSize);
+      } catch (RuntimeException e) {
+        uncompressedBuffer.close();
+        throw new RuntimeException("Error decompressing: " + e.getMessage(), e);
+      }
+    } else {
+      decompressedSize = Zstd.decompressUnsafe(uncompressedBuffer.memoryAddress(), decompressedLength,
+            /*src=*/compressedBuffer.memoryAddress() + CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, srcSize);
+      if (Zstd.isError(decompressedSize)) {
+        uncompressedBuffer.close();
+        throw new RuntimeException("Error decompressing: " + Zstd.getErrorName(decompressedSize));
+      }
     }
     if (decompressedLength != decompressedSize) {
       uncompressedBuffer.close();
-      throw new RuntimeException("Expected != actual decompressed length: " + 
+      throw new RuntimeException("Expected != actual decompressed length: " +
                                  decompressedLength + " != " + decompressedSize);
     }
     uncompressedBuffer.writerIndex(decompressedLength);
@@ -82,4 +117,12 @@ public class ZstdCompressionCodec extends AbstractCompressionCodec {
   public CompressionUtil.CodecType getCodecType() {
     return CompressionUtil.CodecType.ZSTD;
   }
+
+  /**
+   * The contexts reused by the compressions and decompressions of a thread.
+   */
+  private static final class Contexts {
+    private final ZstdCompressCtx compressCtx = new ZstdCompressCtx();
+    private final ZstdDecompressCtx decompressCtx = new ZstdDecompressCtx();
+  }
 }
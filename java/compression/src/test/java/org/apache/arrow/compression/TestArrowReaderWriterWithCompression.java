@@ -22,15 +22,19 @@ import java.io.IOException;
 import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
 import org.apache.arrow.vector.GenerateSampleData;
 import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compare.VectorEqualsVisitor;
 import org.apache.arrow.vector.compression.CompressionUtil;
 import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.dictionary.Dictionary;
@@ -39,6 +43,7 @@ import org.apache.arrow.vector.ipc.ArrowFileReader;
 import org.apache.arrow.vector.ipc.ArrowFileWriter;
 import org.apache.arrow.vector.ipc.ArrowStreamReader;
 import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.PrefetchingArrowStreamReader;
 import org.apache.arrow.vector.ipc.message.IpcOption;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
@@ -175,6 +180,65 @@ public class TestArrowReaderWriterWithCompression {
     }
   }
 
+  @Test
+  public void testPrefetchingArrowStreamZstdRoundTrip() throws Exception {
+    createAndWriteArrowStream(null, CompressionUtil.CodecType.ZSTD);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // with compression, the batch is decompressed by the prefetching task
+      try (ArrowStreamReader reader =
+               new PrefetchingArrowStreamReader(new ByteArrayReadableSeekableByteChannel(out.toByteArray()),
+                   allocator, CommonsCompressionFactory.INSTANCE, executor, 2, Long.MAX_VALUE)) {
+        Assert.assertTrue(reader.loadNextBatch());
+        Assert.assertTrue(root.equals(reader.getVectorSchemaRoot()));
+        Assert.assertFalse(reader.loadNextBatch());
+      }
+      // without compression
+      try (ArrowStreamReader reader =
+               new PrefetchingArrowStreamReader(new ByteArrayReadableSeekableByteChannel(out.toByteArray()),
+                   allocator, NoCompressionCodec.Factory.INSTANCE, executor, 2, Long.MAX_VALUE)) {
+        Exception exception = Assert.assertThrows(IOException.class, reader::loadNextBatch);
+        Assert.assertTrue(exception.getCause() instanceof IllegalArgumentException);
+        Assert.assertEquals(
+            "Please add arrow-compression module to use CommonsCompressionFactory for ZSTD",
+            exception.getCause().getMessage()
+        );
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testArrowFileZstdProjection() throws Exception {
+    List<Field> fields = new ArrayList<>();
+    fields.add(new Field("col", FieldType.notNullable(new ArrowType.Utf8()), new ArrayList<>()));
+    fields.add(new Field("other", FieldType.notNullable(new ArrowType.Utf8()), new ArrayList<>()));
+    root = VectorSchemaRoot.create(new Schema(fields), allocator);
+    final int rowCount = 10;
+    GenerateSampleData.generateTestData(root.getVector(0), rowCount);
+    GenerateSampleData.generateTestData(root.getVector(1), rowCount);
+    root.setRowCount(rowCount);
+    try (final ArrowFileWriter writer = new ArrowFileWriter(root, null, Channels.newChannel(out),
+        new HashMap<>(), IpcOption.DEFAULT, CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD,
+        Optional.of(7))) {
+      writer.start();
+      writer.writeBatch();
+      writer.end();
+    }
+
+    try (ArrowFileReader reader =
+        new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(out.toByteArray()), allocator,
+            CommonsCompressionFactory.INSTANCE)) {
+      reader.setProjection(Collections.singletonList("other"));
+      Assertions.assertTrue(reader.loadNextBatch());
+      VectorSchemaRoot projected = reader.getVectorSchemaRoot();
+      Assertions.assertEquals(1, projected.getFieldVectors().size());
+      Assertions.assertTrue(VectorEqualsVisitor.vectorEquals(root.getVector(1), projected.getVector(0)));
+      Assertions.assertFalse(reader.loadNextBatch());
+    }
+  }
+
   @Test
   public void testArrowFileZstdRoundTripWithDictionary() throws Exception {
     VarCharVector dictionaryVector = (VarCharVector)
@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
@@ -33,6 +34,10 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
@@ -43,6 +48,7 @@ import org.apache.arrow.util.AutoCloseables;
 import org.apache.arrow.vector.IntVector;
 import org.apache.arrow.vector.VarBinaryVector;
 import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorLoader;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.VectorUnloader;
 import org.apache.arrow.vector.compression.CompressionCodec;
@@ -54,6 +60,7 @@ import org.apache.arrow.vector.ipc.ArrowFileWriter;
 import org.apache.arrow.vector.ipc.ArrowStreamReader;
 import org.apache.arrow.vector.ipc.ArrowStreamWriter;
 import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.arrow.vector.ipc.message.IpcOption;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.apache.arrow.vector.types.pojo.Field;
@@ -61,6 +68,7 @@ import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -92,6 +100,9 @@ class TestCompressionCodec {
       CompressionCodec lz4Codec = new Lz4CompressionCodec();
       params.add(Arguments.arguments(len, lz4Codec));
 
+      CompressionCodec lz4FrameCodec = new Lz4FrameCompressionCodec();
+      params.add(Arguments.arguments(len, lz4FrameCodec));
+
       CompressionCodec zstdCodec = new ZstdCompressionCodec();
       params.add(Arguments.arguments(len, zstdCodec));
 
@@ -316,6 +327,200 @@ class TestCompressionCodec {
     });
   }
 
+  static Collection<Arguments> lz4Payloads() {
+    List<Arguments> params = new ArrayList<>();
+    Random random = new Random(42);
+    for (int len : new int[] {1, 12, 13, 100, 65536, 5 * 1024 * 1024}) {
+      byte[] repetitive = new byte[len];
+      byte[] mixed = new byte[len];
+      for (int i = 0; i < len; i++) {
+        repetitive[i] = (byte) (i % 7);
+        // runs of random bytes, with back references both near and beyond the maximum match distance
+        mixed[i] = i % 1024 < 512 ? (byte) random.nextInt(4) : mixed[Math.max(0, i - 70000 + (i % 3))];
+      }
+      params.add(Arguments.arguments(repetitive));
+      params.add(Arguments.arguments(mixed));
+    }
+    byte[] incompressible = new byte[10000];
+    random.nextBytes(incompressible);
+    params.add(Arguments.arguments(incompressible));
+    return params;
+  }
+
+  /** The direct LZ4 codec is interoperable with the commons-compress one. */
+  @ParameterizedTest
+  @MethodSource("lz4Payloads")
+  void testLz4FrameInterop(byte[] data) throws Exception {
+    CompressionCodec[] codecs = {new Lz4FrameCompressionCodec(), new Lz4CompressionCodec()};
+    for (CompressionCodec compressor : codecs) {
+      if (compressor instanceof Lz4CompressionCodec && data.length > 1024 * 1024) {
+        // the commons-compress encoder is too slow on large low entropy inputs
+        continue;
+      }
+      for (CompressionCodec decompressor : codecs) {
+        ArrowBuf input = allocator.buffer(data.length);
+        input.setBytes(0, data);
+        input.writerIndex(data.length);
+        try (ArrowBuf output = decompressor.decompress(allocator, compressor.compress(allocator, input))) {
+          assertEquals(data.length, output.writerIndex());
+          byte[] actual = new byte[data.length];
+          output.getBytes(0, actual);
+          assertArrayEquals(data, actual);
+        }
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecTypes")
+  void testCompressedLength(CompressionUtil.CodecType codecType) {
+    if (codecType == CompressionUtil.CodecType.NO_COMPRESSION) {
+      return;
+    }
+    CompressionCodec codec = DirectCompressionFactory.INSTANCE.createCodec(codecType);
+    ArrowBuf input = allocator.buffer(1 << 20);
+    input.setZero(0, input.capacity());
+    input.writerIndex(input.capacity());
+    try (ArrowBuf output = codec.compress(allocator, input)) {
+      assertTrue(output.writerIndex() < 64 * 1024, "compressed length: " + output.writerIndex());
+      // the buffer is not left at the maximum compressed length
+      assertEquals(allocator.getRoundingPolicy().getRoundedSize(output.writerIndex()), output.capacity());
+    }
+  }
+
+  @Test
+  void testLz4FrameRejectsCorruptInput() {
+    Lz4FrameCompressionCodec codec = new Lz4FrameCompressionCodec();
+    byte[] data = new byte[4096];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i % 13);
+    }
+    ArrowBuf input = allocator.buffer(data.length);
+    input.setBytes(0, data);
+    input.writerIndex(data.length);
+    ArrowBuf compressed = codec.compress(allocator, input);
+    // truncate the frame
+    compressed.writerIndex(compressed.writerIndex() - 6);
+    assertThrows(RuntimeException.class, () -> codec.decompress(allocator, compressed));
+    compressed.close();
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecTypes")
+  void testConcurrentUnloadLoad(CompressionUtil.CodecType codecType) throws Exception {
+    if (codecType == CompressionUtil.CodecType.NO_COMPRESSION) {
+      return;
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      withRoot(codecType, (factory, root) -> {
+        CompressionCodec codec = DirectCompressionFactory.INSTANCE.createCodec(codecType);
+        try (ArrowRecordBatch sequential = new VectorUnloader(root, true, codec, true).getRecordBatch();
+             ArrowRecordBatch concurrent =
+                 new VectorUnloader(root, true, codec, true, executor, 2).getRecordBatch()) {
+          // the buffers are in the same order as with sequential compression
+          assertEquals(sequential.getBuffers().size(), concurrent.getBuffers().size());
+          for (int i = 0; i < sequential.getBuffers().size(); i++) {
+            ArrowBuf expected = sequential.getBuffers().get(i);
+            ArrowBuf actual = concurrent.getBuffers().get(i);
+            assertEquals(expected.writerIndex(), actual.writerIndex());
+            for (long j = 0; j < expected.writerIndex(); j++) {
+              assertEquals(expected.getByte(j), actual.getByte(j));
+            }
+          }
+
+          try (VectorSchemaRoot loaded = VectorSchemaRoot.create(root.getSchema(), allocator)) {
+            new VectorLoader(loaded, DirectCompressionFactory.INSTANCE, executor, 3).load(concurrent);
+            assertTrue(root.equals(loaded));
+          }
+        }
+      });
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testConcurrentUnloadFailure() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      withRoot(CompressionUtil.CodecType.LZ4_FRAME, (factory, root) -> {
+        AtomicInteger calls = new AtomicInteger();
+        CompressionCodec failingCodec = new Lz4FrameCompressionCodec() {
+          @Override
+          protected ArrowBuf doCompress(BufferAllocator allocator, ArrowBuf uncompressedBuffer) {
+            if (calls.incrementAndGet() == 3) {
+              uncompressedBuffer.close();
+              throw new IllegalStateException("compression failure");
+            }
+            return super.doCompress(allocator, uncompressedBuffer);
+          }
+        };
+        VectorUnloader unloader = new VectorUnloader(root, true, failingCodec, true, executor, 1);
+        assertThrows(IllegalStateException.class, unloader::getRecordBatch);
+      });
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testConcurrentLoadFailure() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      withRoot(CompressionUtil.CodecType.ZSTD, (factory, root) -> {
+        CompressionCodec codec = factory.createCodec(CompressionUtil.CodecType.ZSTD);
+        try (ArrowRecordBatch batch = new VectorUnloader(root, true, codec, true).getRecordBatch();
+             // drop the node of the second field, so loading fails after the first field
+             ArrowRecordBatch truncated = new ArrowRecordBatch(batch.getLength(), batch.getNodes().subList(0, 1),
+                 batch.getBuffers(), batch.getBodyCompression());
+             VectorSchemaRoot loaded = VectorSchemaRoot.create(root.getSchema(), allocator)) {
+          VectorLoader loader = new VectorLoader(loaded, factory, executor, 2);
+          assertThrows(IllegalArgumentException.class, () -> loader.load(truncated));
+        }
+      });
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("codecTypes")
+  void testLoadCorruptBatch(CompressionUtil.CodecType codecType) {
+    if (codecType == CompressionUtil.CodecType.NO_COMPRESSION) {
+      return;
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (boolean concurrent : new boolean[] {false, true}) {
+        withRoot(codecType, (factory, root) -> {
+          CompressionCodec codec = factory.createCodec(codecType);
+          try (ArrowRecordBatch batch = new VectorUnloader(root, true, codec, true).getRecordBatch();
+               VectorSchemaRoot loaded = VectorSchemaRoot.create(root.getSchema(), allocator)) {
+            boolean corrupted = false;
+            for (ArrowBuf buffer : batch.getBuffers()) {
+              long uncompressedLength = buffer.writerIndex() < CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH ? 0 :
+                  buffer.getLong(0);
+              if (uncompressedLength > 0) {
+                // keep the uncompressed length, but not the compressed data
+                buffer.setZero(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH,
+                    buffer.writerIndex() - CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH);
+                corrupted = true;
+              }
+            }
+            assertTrue(corrupted);
+            VectorLoader loader = concurrent ? new VectorLoader(loaded, factory, executor, 2) :
+                new VectorLoader(loaded, factory);
+            assertThrows(RuntimeException.class, () -> loader.load(batch));
+          }
+        });
+        assertEquals(0, allocator.getAllocatedMemory());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   void withRoot(CompressionUtil.CodecType codec, BiConsumer<CompressionCodec.Factory, VectorSchemaRoot> testBody) {
     final Schema schema = new Schema(Arrays.asList(
         Field.nullable("ints", new ArrowType.Int(32, true)),
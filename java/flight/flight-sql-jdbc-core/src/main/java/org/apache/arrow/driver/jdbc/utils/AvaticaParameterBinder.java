@@ -160,6 +160,11 @@ public class AvaticaParameterBinder {
       return new LargeListAvaticaParameterConverter(type).bindParameter(vector, typedValue, index);
     }
 
+    @Override
+    public Boolean visit(ArrowType.RunEndEncoded type) {
+      return false;
+    }
+
     @Override
     public Boolean visit(ArrowType.FixedSizeList type) {
       return new FixedSizeListAvaticaParameterConverter(type).bindParameter(vector, typedValue, index);
@@ -205,6 +210,26 @@ public class AvaticaParameterBinder {
       return new LargeBinaryAvaticaParameterConverter(type).bindParameter(vector, typedValue, index);
     }
 
+    @Override
+    public Boolean visit(ArrowType.Utf8View type) {
+      return false;
+    }
+
+    @Override
+    public Boolean visit(ArrowType.BinaryView type) {
+      return false;
+    }
+
+    @Override
+    public Boolean visit(ArrowType.ListView type) {
+      return false;
+    }
+
+    @Override
+    public Boolean visit(ArrowType.LargeListView type) {
+      return false;
+    }
+
     @Override
     public Boolean visit(ArrowType.FixedSizeBinary type) {
       return new FixedSizeBinaryAvaticaParameterConverter(type).bindParameter(vector, typedValue, index);
@@ -176,6 +176,14 @@ public final class ConvertUtils {
 
     }
 
+    @Override
+    public AvaticaParameter visit(ArrowType.RunEndEncoded type) {
+      // parameters are described by the logical type, i.e. the type of the values child
+      Field values = field.getChildren().get(1);
+      Field logical = new Field(field.getName(), values.getFieldType(), values.getChildren());
+      return values.getType().accept(new ConverterVisitor(logical));
+    }
+
     @Override
     public AvaticaParameter visit(ArrowType.FixedSizeList type) {
       return new FixedSizeListAvaticaParameterConverter(type).createParameter(field);
@@ -223,6 +231,26 @@ public final class ConvertUtils {
       return new LargeBinaryAvaticaParameterConverter(type).createParameter(field);
     }
 
+    @Override
+    public AvaticaParameter visit(ArrowType.Utf8View type) {
+      return new Utf8AvaticaParameterConverter(ArrowType.Utf8.INSTANCE).createParameter(field);
+    }
+
+    @Override
+    public AvaticaParameter visit(ArrowType.BinaryView type) {
+      return new BinaryAvaticaParameterConverter(ArrowType.Binary.INSTANCE).createParameter(field);
+    }
+
+    @Override
+    public AvaticaParameter visit(ArrowType.ListView type) {
+      return new ListAvaticaParameterConverter(ArrowType.List.INSTANCE).createParameter(field);
+    }
+
+    @Override
+    public AvaticaParameter visit(ArrowType.LargeListView type) {
+      return new LargeListAvaticaParameterConverter(ArrowType.LargeList.INSTANCE).createParameter(field);
+    }
+
     @Override
     public AvaticaParameter visit(ArrowType.FixedSizeBinary type) {
       return new FixedSizeBinaryAvaticaParameterConverter(type).createParameter(field);
@@ -111,12 +111,14 @@ public class SqlTypes {
         }
         break;
       case Binary:
+      case BinaryView:
         return Types.VARBINARY;
       case FixedSizeBinary:
         return Types.BINARY;
       case LargeBinary:
         return Types.LONGVARBINARY;
       case Utf8:
+      case Utf8View:
         return Types.VARCHAR;
       case LargeUtf8:
         return Types.LONGVARCHAR;
@@ -145,12 +147,15 @@ public class SqlTypes {
       case List:
       case FixedSizeList:
       case LargeList:
+      case ListView:
+      case LargeListView:
         return Types.ARRAY;
       case Struct:
       case Duration:
       case Interval:
       case Map:
       case Union:
+      case RunEndEncoded:
         return Types.JAVA_OBJECT;
       case NONE:
       case Null:
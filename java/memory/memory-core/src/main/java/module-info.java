@@ -22,6 +22,8 @@ module org.apache.arrow.memory.core {
   exports org.apache.arrow.memory.util.hash;
   exports org.apache.arrow.util;
   requires transitive jdk.unsupported;
+  // optional, applications resolve it with --add-modules jdk.jfr to get the allocation events
+  requires static jdk.jfr;
   requires jsr305;
   requires org.immutables.value;
   requires org.slf4j;
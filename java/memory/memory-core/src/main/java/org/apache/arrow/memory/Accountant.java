@@ -18,6 +18,7 @@
 package org.apache.arrow.memory;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -28,6 +29,16 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * Provides a concurrent way to manage account for memory usage without locking. Used as basis
  * for Allocators. All
  * operations are threadsafe (except for close).
+ *
+ * <p>When created with a positive lease size, small allocations and releases are served from
+ * striped, per-thread leases of quota that are pulled from this Accountant (and thus from its
+ * parents) in chunks of the lease size. Most allocations then only touch a stripe-local counter
+ * instead of walking up the parent chain. Leased but unused bytes count against the limits of
+ * this Accountant and its parents, but are not reported by {@link #getAllocatedMemory()}.
+ *
+ * <p>With leasing enabled, the allocated memory is also counted per stripe, and the peak is only
+ * recomputed when a stripe exceeds its own previous high. The peak is exact for a single thread,
+ * but may miss a peak that several threads reach together while each stays below its own high.
  */
 @ThreadSafe
 class Accountant implements AutoCloseable {
@@ -56,22 +67,85 @@ class Accountant implements AutoCloseable {
   private final AtomicLong allocationLimit = new AtomicLong();
 
   /**
-   * Currently allocated amount of memory.
+   * Currently allocated amount of memory, including bytes leased to the stripes.
    */
   private final AtomicLong locallyHeldMemory = new AtomicLong();
 
+  /**
+   * Currently allocated amount of memory if leasing is disabled. With leasing, the allocated
+   * memory is counted in the stripes of {@link #leases} instead.
+   */
+  private final AtomicLong allocatedMemory = new AtomicLong();
+
+  /**
+   * Number of slots between two stripes in {@link #leases}, so that each stripe sits on its own
+   * cache line.
+   */
+  private static final int STRIPE_PADDING = 16;
+
+  /**
+   * Offset of a stripe's allocated memory from its lease slot in {@link #leases}.
+   */
+  private static final int ALLOCATED_SLOT = 1;
+
+  /**
+   * Offset of a stripe's highest allocated memory from its lease slot in {@link #leases}.
+   */
+  private static final int HIGH_WATER_SLOT = 2;
+
+  private static final int MAX_STRIPES = 64;
+
+  /**
+   * The chunk size in which quota is leased to the stripes, or 0 if leasing is disabled.
+   */
+  private final long leaseSize;
+
+  /**
+   * The unused leased bytes, allocated memory and highest allocated memory of each stripe, or
+   * null if leasing is disabled.
+   */
+  private final @Nullable AtomicLongArray leases;
+
+  private final int stripeMask;
+
   public Accountant(@Nullable Accountant parent, String name, long reservation, long maxAllocation) {
+    this(parent, name, reservation, maxAllocation, 0);
+  }
+
+  /**
+   * Create an Accountant.
+   *
+   * @param parent        the parent Accountant, or null for a root Accountant
+   * @param name          name of the Accountant
+   * @param reservation   the amount of memory reserved from the parent
+   * @param maxAllocation the maximum amount of memory that can be held
+   * @param leaseSize     the chunk size of the per-thread leases, or 0 to account every allocation
+   *                      directly
+   */
+  public Accountant(@Nullable Accountant parent, String name, long reservation, long maxAllocation,
+      long leaseSize) {
     Preconditions.checkNotNull(name, "name must not be null");
     Preconditions.checkArgument(reservation >= 0, "The initial reservation size must be non-negative.");
     Preconditions.checkArgument(maxAllocation >= 0, "The maximum allocation limit must be non-negative.");
     Preconditions.checkArgument(reservation <= maxAllocation,
         "The initial reservation size must be <= the maximum allocation.");
     Preconditions.checkArgument(reservation == 0 || parent != null, "The root accountant can't reserve memory.");
+    Preconditions.checkArgument(leaseSize >= 0, "The lease size must be non-negative.");
 
     this.parent = parent;
     this.name = name;
     this.reservation = reservation;
     this.allocationLimit.set(maxAllocation);
+    this.leaseSize = leaseSize;
+    if (leaseSize > 0) {
+      final int stripes = Math.min(MAX_STRIPES,
+          Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+      this.leases = new AtomicLongArray(stripes * STRIPE_PADDING);
+      this.stripeMask = stripes - 1;
+    } else {
+      this.leases = null;
+      this.stripeMask = 0;
+    }
 
     if (reservation != 0) {
       Preconditions.checkArgument(parent != null, "parent must not be null");
@@ -93,6 +167,9 @@ class Accountant implements AutoCloseable {
    * @return the status and details of allocation at each allocator in the chain.
    */
   AllocationOutcome allocateBytes(long size) {
+    if (leases != null && size < leaseSize && allocateFromLease(leases, size)) {
+      return AllocationOutcome.SUCCESS_INSTANCE;
+    }
     AllocationOutcome.Status status = allocateBytesInternal(size);
     if (status.isOk()) {
       return AllocationOutcome.SUCCESS_INSTANCE;
@@ -105,11 +182,63 @@ class Accountant implements AutoCloseable {
     }
   }
 
+  /**
+   * Serve a small allocation from the lease of the current thread's stripe, pulling a new lease
+   * if the stripe is exhausted. If no new lease can be pulled, all leases are returned so that
+   * the caller can retry the exact allocation against the limits.
+   *
+   * @return true if the allocation was accounted for.
+   */
+  private boolean allocateFromLease(AtomicLongArray leases, long size) {
+    final int index = stripeIndex();
+    long available = leases.get(index);
+    while (available >= size) {
+      if (leases.compareAndSet(index, available, available - size)) {
+        updatePeakFrom(leases.addAndGet(index + ALLOCATED_SLOT, size));
+        return true;
+      }
+      available = leases.get(index);
+    }
+
+    final long unused = leaseSize - size;
+    final AllocationOutcome.Status status = allocate(leaseSize, unused,
+        true /*incomingUpdatePeek*/, false /*forceAllocation*/, null /*details*/);
+    if (status.isOk()) {
+      leases.addAndGet(index, unused);
+      return true;
+    }
+    releaseCommittedBytes(size);
+    releaseHeldBytes(unused);
+    releaseLeases();
+    return false;
+  }
+
+  private int stripeIndex() {
+    final long id = Thread.currentThread().getId();
+    return ((int) (id ^ (id >>> 32)) & stripeMask) * STRIPE_PADDING;
+  }
+
+  /**
+   * Return the unused bytes of all leases to this Accountant.
+   */
+  void releaseLeases() {
+    if (leases == null) {
+      return;
+    }
+    long released = 0;
+    for (int i = 0; i < leases.length(); i += STRIPE_PADDING) {
+      released += leases.getAndSet(i, 0);
+    }
+    if (released > 0) {
+      releaseHeldBytes(released);
+    }
+  }
+
   private AllocationOutcome.Status allocateBytesInternal(long size, @Nullable AllocationOutcomeDetails details) {
-    final AllocationOutcome.Status status = allocate(size,
+    final AllocationOutcome.Status status = allocate(size, 0 /*unused*/,
         true /*incomingUpdatePeek*/, false /*forceAllocation*/, details);
     if (!status.isOk()) {
-      releaseBytes(size);
+      releaseCommittedBytes(size);
     }
     return status;
   }
@@ -118,8 +247,39 @@ class Accountant implements AutoCloseable {
     return allocateBytesInternal(size, null /*details*/);
   }
 
-  private void updatePeak() {
-    final long currentMemory = locallyHeldMemory.get();
+  /**
+   * Add to the allocated memory, on the current thread's stripe if leasing is enabled.
+   *
+   * @return the new allocated memory of the stripe, or of this Accountant if leasing is disabled.
+   */
+  private long addAllocated(long delta) {
+    if (leases == null) {
+      return allocatedMemory.addAndGet(delta);
+    }
+    return leases.addAndGet(stripeIndex() + ALLOCATED_SLOT, delta);
+  }
+
+  /**
+   * Update the peak from a value returned by {@link #addAllocated(long)}. With leasing, the total
+   * is only summed when the current thread's stripe exceeds its previous high.
+   */
+  private void updatePeakFrom(long allocated) {
+    if (leases == null) {
+      updatePeak(allocated);
+      return;
+    }
+    final int slot = stripeIndex() + HIGH_WATER_SLOT;
+    long highWater = leases.get(slot);
+    while (allocated > highWater) {
+      if (leases.compareAndSet(slot, highWater, allocated)) {
+        updatePeak(getAllocatedMemory());
+        return;
+      }
+      highWater = leases.get(slot);
+    }
+  }
+
+  private void updatePeak(long currentMemory) {
     while (true) {
 
       final long previousPeak = peakAllocation.get();
@@ -143,7 +303,7 @@ class Accountant implements AutoCloseable {
    * @return Whether the allocation fit within limits.
    */
   public boolean forceAllocate(long size) {
-    final AllocationOutcome.Status outcome = allocate(size, true, true, null);
+    final AllocationOutcome.Status outcome = allocate(size, 0, true, true, null);
     return outcome.isOk();
   }
 
@@ -165,14 +325,16 @@ class Accountant implements AutoCloseable {
    * despite our moving past one or more limits.
    *
    * @param size               The size of the allocation.
+   * @param unused             The part of the size that is leased but not yet allocated.
    * @param incomingUpdatePeak Whether we should update the local peak for this allocation.
    * @param forceAllocation    Whether we should force the allocation.
    * @return The outcome of the allocation.
    */
-  private AllocationOutcome.Status allocate(final long size, final boolean incomingUpdatePeak,
+  private AllocationOutcome.Status allocate(final long size, final long unused, final boolean incomingUpdatePeak,
       final boolean forceAllocation, @Nullable AllocationOutcomeDetails details) {
     final long oldLocal = locallyHeldMemory.getAndAdd(size);
     final long newLocal = oldLocal + size;
+    final long allocated = addAllocated(size - unused);
     // Borrowed from Math.addExact (but avoid exception here)
     // Overflow if result has opposite sign of both arguments
     // No need to reset locallyHeldMemory on overflow; allocateBytesInternal will releaseBytes on failure
@@ -196,7 +358,7 @@ class Accountant implements AutoCloseable {
     if (beyondReservation > 0 && parent != null) {
       // we need to get memory from our parent.
       final long parentRequest = Math.min(beyondReservation, size);
-      parentOutcome = parent.allocate(parentRequest, updatePeak, forceAllocation, details);
+      parentOutcome = parent.allocate(parentRequest, 0, updatePeak, forceAllocation, details);
     }
 
     final AllocationOutcome.Status finalOutcome;
@@ -208,13 +370,51 @@ class Accountant implements AutoCloseable {
     }
 
     if (updatePeak) {
-      updatePeak();
+      updatePeakFrom(allocated);
     }
 
     return finalOutcome;
   }
 
+  /**
+   * Release memory. When leasing is enabled, small releases are kept in the current thread's
+   * lease; a lease that grows beyond twice the lease size is trimmed back to the lease size.
+   *
+   * @param size the amount of memory to release in bytes.
+   */
   public void releaseBytes(long size) {
+    if (leases != null && size < leaseSize) {
+      final int index = stripeIndex();
+      leases.addAndGet(index + ALLOCATED_SLOT, -size);
+      long available = leases.addAndGet(index, size);
+      while (available > 2 * leaseSize) {
+        if (leases.compareAndSet(index, available, leaseSize)) {
+          releaseHeldBytes(available - leaseSize);
+          return;
+        }
+        available = leases.get(index);
+      }
+      return;
+    }
+    releaseCommittedBytes(size);
+  }
+
+  /**
+   * Release memory that is directly accounted for, bypassing the leases.
+   *
+   * @param size the amount of memory to release in bytes.
+   */
+  void releaseCommittedBytes(long size) {
+    addAllocated(-size);
+    releaseHeldBytes(size);
+  }
+
+  /**
+   * Release memory that is held but not allocated, such as unused leases.
+   *
+   * @param size the amount of memory to release in bytes.
+   */
+  private void releaseHeldBytes(long size) {
     // reduce local memory. all memory released above reservation should be released up the tree.
     final long newSize = locallyHeldMemory.addAndGet(-size);
 
@@ -225,7 +425,7 @@ class Accountant implements AutoCloseable {
       // we deallocated memory that we should release to our parent.
       final long possibleAmountToReleaseToParent = originalSize - reservation;
       final long actualToReleaseToParent = Math.min(size, possibleAmountToReleaseToParent);
-      parent.releaseBytes(actualToReleaseToParent);
+      parent.releaseCommittedBytes(actualToReleaseToParent);
     }
   }
 
@@ -238,9 +438,10 @@ class Accountant implements AutoCloseable {
    */
   @Override
   public void close() {
+    releaseLeases();
     // return memory reservation to parent allocator.
     if (parent != null) {
-      parent.releaseBytes(reservation);
+      parent.releaseCommittedBytes(reservation);
     }
   }
 
@@ -284,16 +485,48 @@ class Accountant implements AutoCloseable {
   /**
    * Return the current amount of allocated memory that this Accountant is managing accounting
    * for. Note this does not
-   * include reservation memory that hasn't been allocated.
+   * include reservation memory that hasn't been allocated, nor leased memory that hasn't been
+   * allocated.
+   *
+   * <p>With leasing enabled, this sums the stripes, so it is not a consistent snapshot while
+   * other threads allocate or release.
    *
    * @return Currently allocate memory in bytes.
    */
   public long getAllocatedMemory() {
+    if (leases == null) {
+      return allocatedMemory.get();
+    }
+    long allocated = 0;
+    for (int i = 0; i < leases.length(); i += STRIPE_PADDING) {
+      allocated += leases.get(i + ALLOCATED_SLOT);
+    }
+    // a release may be summed before the allocation it undoes
+    return Math.max(0, allocated);
+  }
+
+  /**
+   * Return the amount of memory this Accountant has accounted for on behalf of its parent,
+   * including unused leases.
+   *
+   * @return Currently held memory in bytes.
+   */
+  long getHeldMemory() {
     return locallyHeldMemory.get();
   }
 
   /**
-   * The peak memory allocated by this Accountant.
+   * Return the chunk size of the per-thread leases.
+   *
+   * @return lease size in bytes, or 0 if leasing is disabled.
+   */
+  public long getLeaseSize() {
+    return leaseSize;
+  }
+
+  /**
+   * The peak memory allocated by this Accountant. With leasing enabled, this may miss a peak
+   * reached by several threads at once, see the class documentation.
    *
    * @return The peak allocated memory in bytes.
    */
@@ -302,7 +535,7 @@ class Accountant implements AutoCloseable {
   }
 
   public long getHeadroom() {
-    long localHeadroom = allocationLimit.get() - locallyHeldMemory.get();
+    long localHeadroom = allocationLimit.get() - getAllocatedMemory();
     if (parent == null) {
       return localHeadroom;
     }
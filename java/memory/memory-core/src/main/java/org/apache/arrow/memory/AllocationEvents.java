@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder events of allocators with metrics enabled. The events are dropped on JVMs
+ * without Flight Recorder support.
+ *
+ * <p>This module only has a static dependency on the {@code jdk.jfr} module. An application on the module
+ * path must resolve it, for example with {@code --add-modules jdk.jfr}, for the events to be emitted. If
+ * the events cannot be emitted, this is logged once.</p>
+ */
+final class AllocationEvents {
+
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(AllocationEvents.class);
+
+  private static final boolean AVAILABLE = isAvailable();
+
+  private AllocationEvents() {
+  }
+
+  private static boolean isAvailable() {
+    try {
+      Class.forName(LargeAllocationEvent.class.getName(), true, AllocationEvents.class.getClassLoader());
+      Class.forName(FailedAllocationEvent.class.getName(), true, AllocationEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      logger.info("Java Flight Recorder events of allocators are disabled, as the jdk.jfr module is not " +
+          "available: {}", e.toString());
+      return false;
+    }
+  }
+
+  static void largeAllocation(BaseAllocator allocator, long size) {
+    if (AVAILABLE) {
+      LargeAllocationEvent.emit(allocator, size);
+    }
+  }
+
+  static void failedAllocation(BaseAllocator allocator, long size) {
+    if (AVAILABLE) {
+      FailedAllocationEvent.emit(allocator, size);
+    }
+  }
+
+  /**
+   * Emitted for allocations of at least the large allocation threshold of the allocator.
+   */
+  @Name("org.apache.arrow.memory.LargeAllocation")
+  @Label("Large Allocation")
+  @Category({"Apache Arrow", "Memory"})
+  @Description("A buffer of at least the large allocation threshold was allocated")
+  static final class LargeAllocationEvent extends Event {
+
+    @Label("Allocator")
+    String allocator = "";
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Label("Allocated Memory")
+    @DataAmount
+    long allocatedMemory;
+
+    static void emit(BaseAllocator allocator, long size) {
+      final LargeAllocationEvent event = new LargeAllocationEvent();
+      if (event.isEnabled()) {
+        event.allocator = allocator.getName();
+        event.size = size;
+        event.allocatedMemory = allocator.getAllocatedMemory();
+        event.commit();
+      }
+    }
+  }
+
+  /**
+   * Emitted when an allocation fails with an {@link OutOfMemoryException}.
+   */
+  @Name("org.apache.arrow.memory.FailedAllocation")
+  @Label("Failed Allocation")
+  @Category({"Apache Arrow", "Memory"})
+  @Description("An allocation failed because of the limit of an allocator")
+  static final class FailedAllocationEvent extends Event {
+
+    @Label("Allocator")
+    String allocator = "";
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Label("Allocated Memory")
+    @DataAmount
+    long allocatedMemory;
+
+    @Label("Limit")
+    @DataAmount
+    long limit;
+
+    static void emit(BaseAllocator allocator, long size) {
+      final FailedAllocationEvent event = new FailedAllocationEvent();
+      if (event.isEnabled()) {
+        event.allocator = allocator.getName();
+        event.size = size;
+        event.allocatedMemory = allocator.getAllocatedMemory();
+        event.limit = allocator.getLimit();
+        event.commit();
+      }
+    }
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable snapshot of the allocation metrics of an allocator and its descendants, as returned by
+ * {@link BufferAllocator#getMetrics()}.
+ *
+ * <p>The local counters only cover buffers allocated directly from the allocator. The totals additionally
+ * cover all descendants, including child allocators that have already been closed.
+ *
+ * <p>Bucket {@code i} of a size histogram counts the allocations of more than {@code 2^(i-1)} and at most
+ * {@code 2^i} bytes.
+ */
+public final class AllocatorMetrics {
+
+  /**
+   * The number of buckets of the allocation size histograms.
+   */
+  public static final int HISTOGRAM_BUCKETS = 64;
+
+  private final String name;
+  private final long allocationCount;
+  private final long allocatedBytes;
+  private final long failedAllocationCount;
+  private final long peakMemoryAllocation;
+  private final long[] sizeHistogram;
+  private final long totalAllocationCount;
+  private final long totalAllocatedBytes;
+  private final long totalFailedAllocationCount;
+  private final long[] totalSizeHistogram;
+  private final List<AllocatorMetrics> children;
+
+  AllocatorMetrics(String name, long peakMemoryAllocation, AllocatorMetricsRecorder.Counters local,
+      AllocatorMetricsRecorder.Counters closedChildren, List<AllocatorMetrics> children) {
+    this.name = name;
+    this.peakMemoryAllocation = peakMemoryAllocation;
+    this.allocationCount = local.allocationCount.sum();
+    this.allocatedBytes = local.allocatedBytes.sum();
+    this.failedAllocationCount = local.failedAllocationCount.sum();
+    this.sizeHistogram = local.histogram();
+    this.children = Collections.unmodifiableList(children);
+
+    long totalAllocationCount = allocationCount + closedChildren.allocationCount.sum();
+    long totalAllocatedBytes = allocatedBytes + closedChildren.allocatedBytes.sum();
+    long totalFailedAllocationCount = failedAllocationCount + closedChildren.failedAllocationCount.sum();
+    final long[] totalSizeHistogram = closedChildren.histogram();
+    for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+      totalSizeHistogram[i] += sizeHistogram[i];
+    }
+    for (AllocatorMetrics child : children) {
+      totalAllocationCount += child.totalAllocationCount;
+      totalAllocatedBytes += child.totalAllocatedBytes;
+      totalFailedAllocationCount += child.totalFailedAllocationCount;
+      for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+        totalSizeHistogram[i] += child.totalSizeHistogram[i];
+      }
+    }
+    this.totalAllocationCount = totalAllocationCount;
+    this.totalAllocatedBytes = totalAllocatedBytes;
+    this.totalFailedAllocationCount = totalFailedAllocationCount;
+    this.totalSizeHistogram = totalSizeHistogram;
+  }
+
+  /**
+   * Returns the histogram bucket of an allocation size.
+   */
+  public static int histogramBucket(long size) {
+    return size <= 1 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(size - 1);
+  }
+
+  /**
+   * The name of the allocator.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * The number of buffers allocated from this allocator.
+   */
+  public long getAllocationCount() {
+    return allocationCount;
+  }
+
+  /**
+   * The number of bytes allocated from this allocator, including released buffers.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * The number of allocations from this allocator that failed with an {@link OutOfMemoryException}.
+   */
+  public long getFailedAllocationCount() {
+    return failedAllocationCount;
+  }
+
+  /**
+   * The peak memory allocation of this allocator, see {@link BufferAllocator#getPeakMemoryAllocation()}.
+   */
+  public long getPeakMemoryAllocation() {
+    return peakMemoryAllocation;
+  }
+
+  /**
+   * The allocation size histogram of this allocator.
+   */
+  public long[] getSizeHistogram() {
+    return sizeHistogram.clone();
+  }
+
+  /**
+   * The number of buffers allocated from this allocator and its descendants.
+   */
+  public long getTotalAllocationCount() {
+    return totalAllocationCount;
+  }
+
+  /**
+   * The number of bytes allocated from this allocator and its descendants.
+   */
+  public long getTotalAllocatedBytes() {
+    return totalAllocatedBytes;
+  }
+
+  /**
+   * The number of failed allocations from this allocator and its descendants.
+   */
+  public long getTotalFailedAllocationCount() {
+    return totalFailedAllocationCount;
+  }
+
+  /**
+   * The allocation size histogram of this allocator and its descendants.
+   */
+  public long[] getTotalSizeHistogram() {
+    return totalSizeHistogram.clone();
+  }
+
+  /**
+   * The metrics of the open child allocators.
+   */
+  public List<AllocatorMetrics> getChildren() {
+    return children;
+  }
+
+  @Override
+  public String toString() {
+    return "AllocatorMetrics{" +
+        "name=" + name +
+        ", allocationCount=" + allocationCount +
+        ", allocatedBytes=" + allocatedBytes +
+        ", failedAllocationCount=" + failedAllocationCount +
+        ", peakMemoryAllocation=" + peakMemoryAllocation +
+        ", totalAllocationCount=" + totalAllocationCount +
+        ", totalAllocatedBytes=" + totalAllocatedBytes +
+        ", totalFailedAllocationCount=" + totalFailedAllocationCount +
+        ", children=" + children.size() +
+        '}';
+  }
+}
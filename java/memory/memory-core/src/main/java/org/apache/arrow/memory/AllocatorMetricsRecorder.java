@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the allocation metrics of a single allocator. The counters are striped, so that recording is cheap
+ * even when many threads allocate from the same allocator.
+ */
+final class AllocatorMetricsRecorder {
+
+  private final Counters local = new Counters();
+
+  private final Counters closedChildren = new Counters();
+
+  private final long largeAllocationThreshold;
+
+  AllocatorMetricsRecorder(long largeAllocationThreshold) {
+    this.largeAllocationThreshold = largeAllocationThreshold;
+  }
+
+  void recordAllocation(BaseAllocator allocator, long size) {
+    local.allocationCount.increment();
+    local.allocatedBytes.add(size);
+    local.histogram[AllocatorMetrics.histogramBucket(size)].increment();
+    if (size >= largeAllocationThreshold) {
+      AllocationEvents.largeAllocation(allocator, size);
+    }
+  }
+
+  void recordFailedAllocation(BaseAllocator allocator, long size) {
+    local.failedAllocationCount.increment();
+    AllocationEvents.failedAllocation(allocator, size);
+  }
+
+  /**
+   * Keep the metrics of a closed child allocator, so that they remain part of the totals.
+   */
+  void closeChild(AllocatorMetricsRecorder child) {
+    closedChildren.add(child.local);
+    closedChildren.add(child.closedChildren);
+  }
+
+  AllocatorMetrics snapshot(String name, long peakMemoryAllocation, List<AllocatorMetrics> children) {
+    return new AllocatorMetrics(name, peakMemoryAllocation, local, closedChildren, children);
+  }
+
+  /**
+   * A set of allocation counters.
+   */
+  static final class Counters {
+    final LongAdder allocationCount = new LongAdder();
+    final LongAdder allocatedBytes = new LongAdder();
+    final LongAdder failedAllocationCount = new LongAdder();
+    final LongAdder[] histogram = new LongAdder[AllocatorMetrics.HISTOGRAM_BUCKETS];
+
+    Counters() {
+      for (int i = 0; i < histogram.length; i++) {
+        histogram[i] = new LongAdder();
+      }
+    }
+
+    long[] histogram() {
+      final long[] result = new long[histogram.length];
+      for (int i = 0; i < histogram.length; i++) {
+        result[i] = histogram[i].sum();
+      }
+      return result;
+    }
+
+    void add(Counters other) {
+      allocationCount.add(other.allocationCount.sum());
+      allocatedBytes.add(other.allocatedBytes.sum());
+      failedAllocationCount.add(other.failedAllocationCount.sum());
+      for (int i = 0; i < histogram.length; i++) {
+        histogram[i].add(other.histogram[i].sum());
+      }
+    }
+  }
+}
@@ -17,10 +17,12 @@
 
 package org.apache.arrow.memory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -79,6 +81,8 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
   private final @Nullable HistoricalLog historicalLog;
   private final RoundingPolicy roundingPolicy;
   private final AllocationManager.@NonNull Factory allocationManagerFactory;
+  private final @Nullable AllocatorMetricsRecorder metrics;
+  private final long largeAllocationThreshold;
 
   private volatile boolean isClosed = false; // the allocator has been closed
 
@@ -97,7 +101,8 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
       final @Nullable BaseAllocator parentAllocator,
       final String name,
       final Config config) throws OutOfMemoryException {
-    super(parentAllocator, name, config.getInitReservation(), config.getMaxAllocation());
+    super(parentAllocator, name, config.getInitReservation(), config.getMaxAllocation(),
+        config.getLeaseSize());
 
     this.listener = config.getListener();
     this.allocationManagerFactory = config.getAllocationManagerFactory();
@@ -129,6 +134,9 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
       childLedgers = null;
     }
     this.roundingPolicy = config.getRoundingPolicy();
+    this.largeAllocationThreshold = config.getLargeAllocationThreshold();
+    this.metrics = config.getMetricsEnabled() ?
+        new AllocatorMetricsRecorder(largeAllocationThreshold) : null;
   }
 
   @Override
@@ -226,6 +234,7 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
   private void childClosed(final BaseAllocator childAllocator) {
     assertOpen();
 
+    final boolean removed;
     if (DEBUG) {
       Preconditions.checkArgument(childAllocator != null, "child allocator can't be null");
 
@@ -239,8 +248,13 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
             "] not found in parent allocator[" + name + "]'s childAllocators");
         }
       }
+      removed = true;
     } else {
-      childAllocators.remove(childAllocator);
+      removed = childAllocators.remove(childAllocator) != null;
+    }
+    // keep the metrics of the child in the totals, once
+    if (removed && metrics != null && childAllocator.metrics != null) {
+      metrics.closeChild(childAllocator.metrics);
     }
     listener.onChildRemoved(this, childAllocator);
   }
@@ -257,6 +271,9 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
         outcome = this.allocateBytes(size);
       }
       if (!outcome.isOk()) {
+        if (metrics != null) {
+          metrics.recordFailedAllocation(this, size);
+        }
         throw new OutOfMemoryException(createErrorMsg(this, size,
             size), outcome.getDetails());
       }
@@ -268,6 +285,9 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
           new ArrowBuf(ledger, /*bufferManager=*/null, size, allocation.memoryAddress());
       buf.writerIndex(size);
       listener.onAllocation(size);
+      if (metrics != null) {
+        metrics.recordAllocation(this, size);
+      }
       return buf;
     } catch (Throwable t) {
       try {
@@ -318,6 +338,9 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
         outcome = this.allocateBytes(actualRequestSize);
       }
       if (!outcome.isOk()) {
+        if (metrics != null) {
+          metrics.recordFailedAllocation(this, actualRequestSize);
+        }
         throw new OutOfMemoryException(createErrorMsg(this, actualRequestSize,
             initialRequestSize), outcome.getDetails());
       }
@@ -328,6 +351,9 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
       ArrowBuf buffer = bufferWithoutReservation(actualRequestSize, manager);
       success = true;
       listener.onAllocation(actualRequestSize);
+      if (metrics != null) {
+        metrics.recordAllocation(this, actualRequestSize);
+      }
       return buffer;
     } catch (OutOfMemoryError e) {
       throw e;
@@ -395,6 +421,9 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
             .maxAllocation(maxAllocation)
             .roundingPolicy(roundingPolicy)
             .allocationManagerFactory(allocationManagerFactory)
+            .leaseSize(getLeaseSize())
+            .metricsEnabled(metrics != null)
+            .largeAllocationThreshold(largeAllocationThreshold)
             .build());
 
     if (DEBUG) {
@@ -480,10 +509,11 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     }
 
     // Is there unaccounted-for outstanding allocation?
+    releaseLeases();
     final long allocated = getAllocatedMemory();
     if (allocated > 0) {
       if (parent != null && reservation > allocated) {
-        parent.releaseBytes(reservation - allocated);
+        parent.releaseCommittedBytes(reservation - allocated);
       }
       String msg = String.format("Memory was leaked by query. Memory leaked: (%d)\n%s%s", allocated,
           outstandingChildAllocators.toString(), toString());
@@ -582,7 +612,7 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
        */
       long childTotal = 0;
       for (final BaseAllocator childAllocator : childSet) {
-        childTotal += Math.max(childAllocator.getAllocatedMemory(), childAllocator.reservation);
+        childTotal += Math.max(childAllocator.getHeldMemory(), childAllocator.reservation);
       }
       if (childTotal > getAllocatedMemory()) {
         if (historicalLog != null) {
@@ -804,6 +834,21 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     return roundingPolicy;
   }
 
+  @Override
+  public @Nullable AllocatorMetrics getMetrics() {
+    if (metrics == null) {
+      return null;
+    }
+    final List<AllocatorMetrics> children = new ArrayList<>();
+    for (BufferAllocator child : getChildAllocators()) {
+      final AllocatorMetrics childMetrics = child.getMetrics();
+      if (childMetrics != null) {
+        children.add(childMetrics);
+      }
+    }
+    return metrics.snapshot(name, getPeakMemoryAllocation(), children);
+  }
+
   /**
    * Config class of {@link BaseAllocator}.
    */
@@ -849,6 +894,36 @@ abstract class BaseAllocator extends Accountant implements BufferAllocator {
     RoundingPolicy getRoundingPolicy() {
       return DefaultRoundingPolicy.DEFAULT_ROUNDING_POLICY;
     }
+
+    /**
+     * Chunk size (in bytes) of the per-thread leases used to account for small allocations, or 0 to
+     * account every allocation directly up the allocator tree. Child allocators inherit this setting.
+     * Leasing reduces contention on the shared counters of the allocator tree when many threads
+     * allocate concurrently, at the cost of holding up to twice the lease size per thread and
+     * allocator against the limits.
+     */
+    @Value.Default
+    long getLeaseSize() {
+      return 0;
+    }
+
+    /**
+     * Whether to record allocation metrics, see {@link BufferAllocator#getMetrics()}. Child allocators inherit
+     * this setting.
+     */
+    @Value.Default
+    boolean getMetricsEnabled() {
+      return false;
+    }
+
+    /**
+     * Allocations of at least this size (in bytes) emit a Java Flight Recorder event when metrics are enabled.
+     * Child allocators inherit this setting.
+     */
+    @Value.Default
+    long getLargeAllocationThreshold() {
+      return 64L * 1024 * 1024;
+    }
   }
 
   /**
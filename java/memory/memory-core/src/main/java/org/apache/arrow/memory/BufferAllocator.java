@@ -237,6 +237,15 @@ public interface BufferAllocator extends AutoCloseable {
     return DefaultRoundingPolicy.DEFAULT_ROUNDING_POLICY;
   }
 
+  /**
+   * Returns a snapshot of the allocation metrics of this allocator and its descendants.
+   *
+   * @return the metrics, or null if metrics are not enabled for this allocator.
+   */
+  default @Nullable AllocatorMetrics getMetrics() {
+    return null;
+  }
+
   /**
    * EXPERIMENTAL: Wrap an allocation created outside this BufferAllocator.
    *
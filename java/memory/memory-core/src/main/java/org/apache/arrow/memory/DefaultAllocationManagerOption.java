@@ -59,6 +59,11 @@ public class DefaultAllocationManagerOption {
      */
     Unsafe,
 
+    /**
+     * Unsafe based allocation manager that pools small and medium chunks in thread-local free lists.
+     */
+    PooledUnsafe,
+
     /**
      * Unknown type.
      */
@@ -103,6 +108,9 @@ public class DefaultAllocationManagerOption {
       case Unsafe:
         DEFAULT_ALLOCATION_MANAGER_FACTORY = getUnsafeFactory();
         break;
+      case PooledUnsafe:
+        DEFAULT_ALLOCATION_MANAGER_FACTORY = getPooledUnsafeFactory();
+        break;
       case Unknown:
         LOGGER.info("allocation manager type not specified, using netty as the default type");
         DEFAULT_ALLOCATION_MANAGER_FACTORY = getFactory(CheckAllocator.check());
@@ -135,6 +143,15 @@ public class DefaultAllocationManagerOption {
     }
   }
 
+  private static AllocationManager.Factory getPooledUnsafeFactory() {
+    try {
+      return getFactory("org.apache.arrow.memory.unsafe.PooledUnsafeAllocationManager");
+    } catch (RuntimeException e) {
+      throw new RuntimeException("Please add arrow-memory-unsafe to your classpath," +
+          " No DefaultAllocationManager found to instantiate a PooledUnsafeAllocationManager", e);
+    }
+  }
+
   private static AllocationManager.Factory getNettyFactory() {
     try {
       return getFactory("org.apache.arrow.memory.netty.NettyAllocationManager");
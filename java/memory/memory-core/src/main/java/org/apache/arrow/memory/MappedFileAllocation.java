@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.util.Preconditions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * EXPERIMENTAL: a read-only memory mapped region of a file, to be wrapped into an {@link ArrowBuf} with
+ * {@link BufferAllocator#wrapForeignAllocation(ForeignAllocation)}.
+ *
+ * <p>The region is unmapped once all buffers referencing it have been released. The mapped bytes are
+ * accounted for by the wrapping allocator, even though they are backed by the page cache rather than by
+ * allocated memory. The mapped memory must not be written to.
+ */
+public final class MappedFileAllocation extends ForeignAllocation {
+
+  private @Nullable MappedByteBuffer buffer;
+
+  private MappedFileAllocation(MappedByteBuffer buffer) {
+    super(buffer.capacity(), MemoryUtil.getByteBufferAddress(buffer));
+    this.buffer = buffer;
+  }
+
+  /**
+   * Map a region of a file.
+   *
+   * @param channel  the file to map
+   * @param position the position of the region in the file
+   * @param size     the size of the region, at most {@link Integer#MAX_VALUE}
+   * @return the mapped region
+   * @throws IOException if the region cannot be mapped
+   */
+  public static MappedFileAllocation map(FileChannel channel, long position, long size) throws IOException {
+    Preconditions.checkArgument(size >= 0 && size <= Integer.MAX_VALUE,
+        "Cannot map a region of %s bytes", size);
+    return new MappedFileAllocation(channel.map(FileChannel.MapMode.READ_ONLY, position, size));
+  }
+
+  @Override
+  protected void release0() {
+    final MappedByteBuffer mapped = buffer;
+    buffer = null;
+    if (mapped != null && mapped.capacity() > 0) {
+      try {
+        MemoryUtil.UNSAFE.invokeCleaner(mapped);
+      } catch (NoSuchMethodError e) {
+        // Java 8: the region is unmapped once the buffer is garbage collected.
+      }
+    }
+  }
+}
@@ -73,6 +73,98 @@ public class TestAccountant {
     assertEquals(parent.getLimit() - parent.getAllocatedMemory(), parent.getHeadroom());
   }
 
+  @Test
+  public void leased() {
+    final Accountant parent = new Accountant(null, "parent", 0, 100);
+    final Accountant child = new Accountant(parent, "child", 0, Long.MAX_VALUE, 16);
+
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(4).getStatus());
+
+    // the child only reports what was allocated, the parent holds the whole lease
+    assertEquals(4, child.getAllocatedMemory());
+    assertEquals(16, parent.getAllocatedMemory());
+    assertEquals(4, child.getPeakMemoryAllocation());
+
+    // served from the lease
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(8).getStatus());
+    assertEquals(12, child.getAllocatedMemory());
+    assertEquals(16, parent.getAllocatedMemory());
+
+    // allocations of at least the lease size are accounted directly
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(20).getStatus());
+    assertEquals(32, child.getAllocatedMemory());
+    assertEquals(36, parent.getAllocatedMemory());
+
+    child.releaseBytes(20);
+    child.releaseBytes(12);
+    assertEquals(0, child.getAllocatedMemory());
+    assertEquals(16, parent.getAllocatedMemory());
+
+    child.close();
+    assertEquals(0, parent.getAllocatedMemory());
+    parent.close();
+  }
+
+  @Test
+  public void leasedWithinLimit() {
+    final Accountant parent = new Accountant(null, "parent", 0, 10);
+    final Accountant child = new Accountant(parent, "child", 0, Long.MAX_VALUE, 8);
+
+    // the first lease fits in the parent, the second one does not
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(6).getStatus());
+    assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(4).getStatus());
+    assertEquals(10, child.getAllocatedMemory());
+    assertEquals(10, parent.getAllocatedMemory());
+    assertEquals(10, child.getPeakMemoryAllocation());
+
+    AllocationOutcome outcome = child.allocateBytes(1);
+    assertEquals(AllocationOutcome.Status.FAILED_PARENT, outcome.getStatus());
+    assertEquals(10, child.getAllocatedMemory());
+    assertEquals(10, parent.getAllocatedMemory());
+
+    child.releaseBytes(4);
+    child.releaseBytes(6);
+    assertEquals(0, child.getAllocatedMemory());
+
+    child.close();
+    assertEquals(0, parent.getAllocatedMemory());
+    parent.close();
+  }
+
+  @Test
+  public void leasedMultiThread() throws InterruptedException {
+    final Accountant parent = new Accountant(null, "parent", 0, Long.MAX_VALUE);
+    final Accountant child = new Accountant(parent, "child", 0, Long.MAX_VALUE, 1024);
+
+    final int numberOfThreads = 32;
+    final int loops = 1000;
+    Thread[] threads = new Thread[numberOfThreads];
+
+    for (int i = 0; i < numberOfThreads; i++) {
+      Thread t = new Thread() {
+
+        @Override
+        public void run() {
+          for (int i = 0; i < loops; i++) {
+            assertEquals(AllocationOutcome.Status.SUCCESS, child.allocateBytes(i % 100 + 1).getStatus());
+            child.releaseBytes(i % 100 + 1);
+          }
+        }
+
+      };
+      threads[i] = t;
+      t.start();
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(0, child.getAllocatedMemory());
+    child.close();
+    assertEquals(0, parent.getAllocatedMemory());
+  }
+
   private void ensureAccurateReservations(Accountant outsideParent) {
     final Accountant parent = new Accountant(outsideParent, "test", 0, 10);
     assertEquals(0, parent.getAllocatedMemory());
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class TestAllocatorMetrics {
+
+  private static RootAllocator newRootAllocator(long limit, long largeAllocationThreshold) {
+    return new RootAllocator(BaseAllocator.configBuilder()
+        .maxAllocation(limit)
+        .metricsEnabled(true)
+        .largeAllocationThreshold(largeAllocationThreshold)
+        .build());
+  }
+
+  @Test
+  public void testMetricsDisabledByDefault() {
+    try (RootAllocator allocator = new RootAllocator()) {
+      assertNull(allocator.getMetrics());
+    }
+  }
+
+  @Test
+  public void testLocalMetrics() {
+    try (RootAllocator allocator = newRootAllocator(4096, Long.MAX_VALUE)) {
+      allocator.buffer(100).close();
+      allocator.buffer(1024).close();
+      assertThrows(OutOfMemoryException.class, () -> allocator.buffer(8192));
+
+      AllocatorMetrics metrics = allocator.getMetrics();
+      assertNotNull(metrics);
+      assertEquals("ROOT", metrics.getName());
+      assertEquals(2, metrics.getAllocationCount());
+      assertEquals(128 + 1024, metrics.getAllocatedBytes());
+      assertEquals(1, metrics.getFailedAllocationCount());
+      assertEquals(1024, metrics.getPeakMemoryAllocation());
+      assertEquals(1, metrics.getSizeHistogram()[7]);
+      assertEquals(1, metrics.getSizeHistogram()[10]);
+    }
+  }
+
+  @Test
+  public void testChildMetrics() {
+    try (RootAllocator allocator = newRootAllocator(Long.MAX_VALUE, Long.MAX_VALUE)) {
+      allocator.buffer(64).close();
+      try (BufferAllocator child = allocator.newChildAllocator("child", 0, Long.MAX_VALUE)) {
+        child.buffer(256).close();
+        try (BufferAllocator grandChild = child.newChildAllocator("grandChild", 0, Long.MAX_VALUE)) {
+          grandChild.buffer(512).close();
+        }
+
+        AllocatorMetrics metrics = allocator.getMetrics();
+        assertNotNull(metrics);
+        assertEquals(1, metrics.getAllocationCount());
+        assertEquals(3, metrics.getTotalAllocationCount());
+        assertEquals(64 + 256 + 512, metrics.getTotalAllocatedBytes());
+        assertEquals(1, metrics.getChildren().size());
+
+        AllocatorMetrics childMetrics = metrics.getChildren().get(0);
+        assertEquals("child", childMetrics.getName());
+        assertEquals(1, childMetrics.getAllocationCount());
+        // the closed grand child is still part of the totals
+        assertEquals(2, childMetrics.getTotalAllocationCount());
+        assertEquals(1, childMetrics.getTotalSizeHistogram()[9]);
+        assertEquals(0, childMetrics.getChildren().size());
+      }
+
+      AllocatorMetrics metrics = allocator.getMetrics();
+      assertNotNull(metrics);
+      assertEquals(3, metrics.getTotalAllocationCount());
+      assertEquals(0, metrics.getChildren().size());
+    }
+  }
+
+  @Test
+  public void testCloseChildTwice() {
+    try (RootAllocator allocator = newRootAllocator(Long.MAX_VALUE, Long.MAX_VALUE)) {
+      BufferAllocator child = allocator.newChildAllocator("child", 0, Long.MAX_VALUE);
+      child.buffer(256).close();
+      child.close();
+      child.close();
+
+      AllocatorMetrics metrics = allocator.getMetrics();
+      assertNotNull(metrics);
+      assertEquals(1, metrics.getTotalAllocationCount());
+      assertEquals(256, metrics.getTotalAllocatedBytes());
+    }
+  }
+
+  @Test
+  public void testHistogramBucket() {
+    assertEquals(0, AllocatorMetrics.histogramBucket(0));
+    assertEquals(0, AllocatorMetrics.histogramBucket(1));
+    assertEquals(1, AllocatorMetrics.histogramBucket(2));
+    assertEquals(2, AllocatorMetrics.histogramBucket(3));
+    assertEquals(10, AllocatorMetrics.histogramBucket(1024));
+    assertEquals(11, AllocatorMetrics.histogramBucket(1025));
+    assertEquals(63, AllocatorMetrics.histogramBucket(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testFlightRecorderEvents() throws Exception {
+    Path file = Files.createTempFile("allocator-metrics", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("org.apache.arrow.memory.LargeAllocation");
+      recording.enable("org.apache.arrow.memory.FailedAllocation");
+      recording.start();
+      try (RootAllocator allocator = newRootAllocator(8192, 4096)) {
+        allocator.buffer(1024).close();
+        allocator.buffer(4096).close();
+        assertThrows(OutOfMemoryException.class, () -> allocator.buffer(16384));
+      }
+      recording.stop();
+      recording.dump(file);
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      assertEquals(2, events.size());
+      assertEquals("org.apache.arrow.memory.LargeAllocation", events.get(0).getEventType().getName());
+      assertEquals(4096, events.get(0).getLong("size"));
+      assertEquals("org.apache.arrow.memory.FailedAllocation", events.get(1).getEventType().getName());
+      assertEquals(16384, events.get(1).getLong("size"));
+      assertEquals("ROOT", events.get(1).getString("allocator"));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
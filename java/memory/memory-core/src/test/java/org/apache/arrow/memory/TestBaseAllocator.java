@@ -88,6 +88,32 @@ public class TestBaseAllocator {
     }
   }
 
+  @Test
+  public void testLeasedAccounting() throws Exception {
+    try (final RootAllocator rootAllocator = new RootAllocator(BaseAllocator.configBuilder()
+        .maxAllocation(MAX_ALLOCATION)
+        .leaseSize(4096)
+        .build())) {
+      try (final BufferAllocator childAllocator =
+               rootAllocator.newChildAllocator("leased", 0, MAX_ALLOCATION)) {
+        assertEquals(4096, ((BaseAllocator) childAllocator).getLeaseSize());
+
+        final ArrowBuf arrowBuf1 = childAllocator.buffer(512);
+        final ArrowBuf arrowBuf2 = childAllocator.buffer(1024);
+        assertEquals(1536, childAllocator.getAllocatedMemory());
+        assertEquals(1536, childAllocator.getPeakMemoryAllocation());
+        // the root holds the child's lease
+        assertEquals(4096, rootAllocator.getAllocatedMemory());
+
+        arrowBuf1.getReferenceManager().release();
+        arrowBuf2.getReferenceManager().release();
+        assertEquals(0, childAllocator.getAllocatedMemory());
+        assertEquals(1536, childAllocator.getPeakMemoryAllocation());
+      }
+      assertEquals(0, rootAllocator.getAllocatedMemory());
+    }
+  }
+
   @Test(expected = IllegalStateException.class)
   public void testRootAllocator_closeWithOutstanding() throws Exception {
     try {
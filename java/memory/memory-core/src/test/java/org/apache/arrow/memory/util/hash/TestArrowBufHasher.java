@@ -139,6 +139,9 @@ public class TestArrowBufHasher {
         SimpleHasher.INSTANCE},
       new Object[] {MurmurHasher.class.getSimpleName(),
         new MurmurHasher()
+      },
+      new Object[] {XxHasher.class.getSimpleName(),
+        new XxHasher()
       }
     );
   }
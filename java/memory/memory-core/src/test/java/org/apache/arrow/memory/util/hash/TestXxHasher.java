@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.util.hash;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link XxHasher}.
+ */
+public class TestXxHasher {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private long hash(String value, long seed) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    try (ArrowBuf buf = allocator.buffer(bytes.length + 1)) {
+      buf.setBytes(0, bytes);
+      return XxHasher.hash64(buf, 0, bytes.length, seed);
+    }
+  }
+
+  @Test
+  public void testReferenceHashCodes() {
+    assertEquals(0xEF46DB3751D8E999L, hash("", 0));
+    assertEquals(0x44BC2CF5AD770999L, hash("abc", 0));
+    assertEquals(0xFBCEA83C8A378BF1L, hash("Nobody inspects the spammish repetition", 0));
+    assertEquals(0xB559B98D844E0635L, hash("xxhash", 20141025));
+  }
+
+  @Test
+  public void testPrimitiveHashCodes() {
+    try (ArrowBuf buf = allocator.buffer(8)) {
+      for (long value : new long[] {0, 1, -1, Long.MIN_VALUE, 0x0123456789ABCDEFL}) {
+        buf.setLong(0, value);
+        assertEquals(XxHasher.hash64(buf, 0, 8, 7), XxHasher.hash64(value, 7));
+        buf.setInt(0, (int) value);
+        assertEquals(XxHasher.hash64(buf, 0, 4, 7), XxHasher.hash64((int) value, 7));
+      }
+    }
+  }
+
+  @Test
+  public void testHashCodeIsLowBits() {
+    try (ArrowBuf buf = allocator.buffer(64)) {
+      for (int i = 0; i < 64; i++) {
+        buf.setByte(i, i * 7);
+      }
+      XxHasher hasher = new XxHasher(3);
+      for (int length = 0; length <= 64; length++) {
+        assertEquals((int) XxHasher.hash64(buf, 0, length, 3), hasher.hashCode(buf, 0, length));
+      }
+      assertNotEquals(hasher.hashCode(buf, 0, 64), new XxHasher().hashCode(buf, 0, 64));
+      assertEquals(hasher, new XxHasher(3));
+    }
+  }
+
+  @Test
+  public void testCombineHashCode() {
+    long first = XxHasher.hash64(1L, 0);
+    long second = XxHasher.hash64(2L, 0);
+    assertNotEquals(XxHasher.combineHashCode(first, second), XxHasher.combineHashCode(second, first));
+  }
+}
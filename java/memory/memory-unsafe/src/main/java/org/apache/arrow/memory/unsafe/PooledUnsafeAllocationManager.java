@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.unsafe;
+
+import org.apache.arrow.memory.AllocationManager;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.rounding.DefaultRoundingPolicy;
+import org.apache.arrow.memory.util.MemoryUtil;
+
+/**
+ * Allocation manager based on unsafe API, which recycles small and medium chunks through an
+ * {@link UnsafeSizeClassPool}.
+ */
+public final class PooledUnsafeAllocationManager extends AllocationManager {
+
+  /**
+   * A pool with power of two size classes, matching {@link DefaultRoundingPolicy}.
+   */
+  public static final UnsafeSizeClassPool FACTORY =
+      new UnsafeSizeClassPool(DefaultRoundingPolicy.DEFAULT_ROUNDING_POLICY);
+
+  private final UnsafeSizeClassPool pool;
+
+  private final int sizeClassIndex;
+
+  private final long allocatedSize;
+
+  private final long allocatedAddress;
+
+  PooledUnsafeAllocationManager(BufferAllocator accountingAllocator, UnsafeSizeClassPool pool,
+      long requestedSize) {
+    super(accountingAllocator);
+    this.pool = pool;
+    this.sizeClassIndex = pool.sizeClassIndex(requestedSize);
+    if (sizeClassIndex >= 0) {
+      allocatedAddress = pool.allocate(sizeClassIndex);
+      allocatedSize = pool.sizeClass(sizeClassIndex);
+      // the allocator accounted for the requested size, but the whole chunk is held until released
+      if (allocatedSize > requestedSize) {
+        accountingAllocator.forceAllocate(allocatedSize - requestedSize);
+      }
+    } else {
+      allocatedAddress = MemoryUtil.UNSAFE.allocateMemory(requestedSize);
+      allocatedSize = requestedSize;
+    }
+  }
+
+  @Override
+  public long getSize() {
+    return allocatedSize;
+  }
+
+  @Override
+  protected long memoryAddress() {
+    return allocatedAddress;
+  }
+
+  @Override
+  protected void release0() {
+    if (sizeClassIndex >= 0) {
+      pool.release(sizeClassIndex, allocatedAddress);
+    } else {
+      MemoryUtil.UNSAFE.freeMemory(allocatedAddress);
+    }
+  }
+}
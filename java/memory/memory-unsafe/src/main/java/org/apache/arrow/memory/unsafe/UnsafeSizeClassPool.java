@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.unsafe;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.arrow.memory.AllocationManager;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.rounding.RoundingPolicy;
+import org.apache.arrow.memory.rounding.SegmentRoundingPolicy;
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * An {@link AllocationManager.Factory} that keeps freed off-heap chunks of small and medium sizes in
+ * thread-local free lists, so that they can be reused by subsequent allocations of the same size class
+ * instead of going to the system allocator.
+ *
+ * <p>The size classes are derived from the {@link RoundingPolicy} the pool is created with, which should also
+ * be the rounding policy of the allocators using this factory (see {@link #getRoundingPolicy()}). For a
+ * {@link SegmentRoundingPolicy} the size classes are the multiples of the segment size, otherwise they are the
+ * powers of two. Requests larger than the largest size class are not pooled.
+ *
+ * <p>A chunk is returned to the free list of the thread releasing it. Each thread retains a bounded number of
+ * bytes; chunks beyond that bound are freed immediately. The chunks retained by threads that have terminated
+ * are freed periodically.
+ */
+public class UnsafeSizeClassPool implements AllocationManager.Factory {
+
+  /**
+   * The default smallest size class for power of two size classes.
+   */
+  public static final long DEFAULT_MIN_CHUNK_SIZE = 64L;
+
+  /**
+   * The default largest size class.
+   */
+  public static final long DEFAULT_MAX_CHUNK_SIZE = 1024L * 1024L;
+
+  /**
+   * The default number of bytes each thread may retain in its free lists.
+   */
+  public static final long DEFAULT_MAX_RETAINED_BYTES_PER_THREAD = 8L * 1024L * 1024L;
+
+  /**
+   * The default number of chunks each thread may retain per size class.
+   */
+  public static final int DEFAULT_MAX_CHUNKS_PER_SIZE_CLASS = 64;
+
+  /**
+   * The number of misses between two sweeps of the free lists of terminated threads.
+   */
+  private static final int REAP_INTERVAL = 1024;
+
+  private final RoundingPolicy roundingPolicy;
+
+  /**
+   * The size classes, in ascending order.
+   */
+  private final long[] sizeClasses;
+
+  private final long maxRetainedBytesPerThread;
+
+  private final int maxChunksPerSizeClass;
+
+  private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::newThreadCache);
+
+  private final Map<ThreadCache, Boolean> threadCaches = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder retainedBytes = new LongAdder();
+
+  private final AtomicLong missesSinceReap = new AtomicLong();
+
+  /**
+   * Creates a pool with default bounds whose size classes match the given rounding policy.
+   *
+   * @param roundingPolicy the rounding policy of the allocators using this pool
+   */
+  public UnsafeSizeClassPool(RoundingPolicy roundingPolicy) {
+    this(roundingPolicy, DEFAULT_MAX_CHUNK_SIZE, DEFAULT_MAX_RETAINED_BYTES_PER_THREAD,
+        DEFAULT_MAX_CHUNKS_PER_SIZE_CLASS);
+  }
+
+  /**
+   * Creates a pool.
+   *
+   * @param roundingPolicy            the rounding policy of the allocators using this pool
+   * @param maxChunkSize              the largest size class, larger requests are not pooled
+   * @param maxRetainedBytesPerThread the number of bytes each thread may retain
+   * @param maxChunksPerSizeClass     the number of chunks each thread may retain per size class
+   */
+  public UnsafeSizeClassPool(RoundingPolicy roundingPolicy, long maxChunkSize, long maxRetainedBytesPerThread,
+      int maxChunksPerSizeClass) {
+    Preconditions.checkNotNull(roundingPolicy, "roundingPolicy must not be null");
+    Preconditions.checkArgument(maxChunkSize > 0, "The maximum chunk size must be positive");
+    Preconditions.checkArgument(maxRetainedBytesPerThread >= 0,
+        "The maximum retained bytes must be non-negative");
+    Preconditions.checkArgument(maxChunksPerSizeClass >= 0,
+        "The maximum number of chunks per size class must be non-negative");
+    this.roundingPolicy = roundingPolicy;
+    this.sizeClasses = computeSizeClasses(roundingPolicy, maxChunkSize);
+    this.maxRetainedBytesPerThread = maxRetainedBytesPerThread;
+    this.maxChunksPerSizeClass = maxChunksPerSizeClass;
+  }
+
+  private static long[] computeSizeClasses(RoundingPolicy roundingPolicy, long maxChunkSize) {
+    if (roundingPolicy instanceof SegmentRoundingPolicy) {
+      final long segmentSize = ((SegmentRoundingPolicy) roundingPolicy).getSegmentSize();
+      final int count = (int) (maxChunkSize / segmentSize);
+      final long[] classes = new long[count];
+      for (int i = 0; i < count; i++) {
+        classes[i] = (i + 1) * segmentSize;
+      }
+      return classes;
+    }
+    final int count = Math.max(0, Long.numberOfTrailingZeros(Long.highestOneBit(maxChunkSize)) -
+        Long.numberOfTrailingZeros(DEFAULT_MIN_CHUNK_SIZE) + 1);
+    final long[] classes = new long[count];
+    for (int i = 0; i < count; i++) {
+      classes[i] = DEFAULT_MIN_CHUNK_SIZE << i;
+    }
+    return classes;
+  }
+
+  /**
+   * The rounding policy matching the size classes of this pool. Allocators using this pool should be
+   * configured with it, so that no memory is wasted inside the pooled chunks.
+   */
+  public RoundingPolicy getRoundingPolicy() {
+    return roundingPolicy;
+  }
+
+  @Override
+  public AllocationManager create(BufferAllocator accountingAllocator, long size) {
+    return new PooledUnsafeAllocationManager(accountingAllocator, this, size);
+  }
+
+  @Override
+  public ArrowBuf empty() {
+    return UnsafeAllocationManager.FACTORY.empty();
+  }
+
+  /**
+   * The number of allocations served from a free list.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * The number of pooled allocations that had to go to the system allocator.
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * The number of bytes currently retained in the free lists of all threads.
+   */
+  public long getRetainedBytes() {
+    return retainedBytes.sum();
+  }
+
+  /**
+   * Frees all chunks retained by the current thread.
+   */
+  public void trimCurrentThread() {
+    threadCache.get().freeAll();
+  }
+
+  /**
+   * Returns the index of the smallest size class that fits the given size, or -1 if the size is not pooled.
+   */
+  int sizeClassIndex(long size) {
+    final int index = Arrays.binarySearch(sizeClasses, size);
+    if (index >= 0) {
+      return index;
+    }
+    final int insertionPoint = -index - 1;
+    return insertionPoint < sizeClasses.length ? insertionPoint : -1;
+  }
+
+  long sizeClass(int index) {
+    return sizeClasses[index];
+  }
+
+  /**
+   * Allocates a chunk of the given size class.
+   *
+   * @return the address of the chunk.
+   */
+  long allocate(int sizeClassIndex) {
+    final long address = threadCache.get().pop(sizeClassIndex);
+    if (address != 0) {
+      hits.increment();
+      return address;
+    }
+    misses.increment();
+    if (missesSinceReap.incrementAndGet() % REAP_INTERVAL == 0) {
+      reapTerminatedThreads();
+    }
+    return MemoryUtil.UNSAFE.allocateMemory(sizeClasses[sizeClassIndex]);
+  }
+
+  /**
+   * Returns a chunk of the given size class to the free list of the current thread, or frees it if the
+   * free list is full.
+   */
+  void release(int sizeClassIndex, long address) {
+    if (!threadCache.get().push(sizeClassIndex, address)) {
+      MemoryUtil.UNSAFE.freeMemory(address);
+    }
+  }
+
+  private ThreadCache newThreadCache() {
+    final ThreadCache cache = new ThreadCache(Thread.currentThread());
+    threadCaches.put(cache, Boolean.TRUE);
+    return cache;
+  }
+
+  private void reapTerminatedThreads() {
+    for (ThreadCache cache : threadCaches.keySet()) {
+      final Thread owner = cache.owner.get();
+      // the owner can no longer access the cache, so it is safe to free it from the thread that claims it first.
+      if ((owner == null || !owner.isAlive()) && threadCaches.remove(cache) != null) {
+        cache.freeAll();
+      }
+    }
+  }
+
+  /**
+   * The free lists of a single thread. Only accessed by its owner thread, or once the owner has terminated.
+   */
+  private final class ThreadCache {
+    private final WeakReference<Thread> owner;
+    private final long[][] freeLists = new long[sizeClasses.length][];
+    private final int[] counts = new int[sizeClasses.length];
+    private long retained;
+
+    ThreadCache(Thread owner) {
+      this.owner = new WeakReference<>(owner);
+    }
+
+    long pop(int index) {
+      if (counts[index] == 0) {
+        return 0;
+      }
+      final long address = freeLists[index][--counts[index]];
+      retained -= sizeClasses[index];
+      retainedBytes.add(-sizeClasses[index]);
+      return address;
+    }
+
+    boolean push(int index, long address) {
+      final long size = sizeClasses[index];
+      if (counts[index] >= maxChunksPerSizeClass || retained + size > maxRetainedBytesPerThread) {
+        return false;
+      }
+      if (freeLists[index] == null) {
+        freeLists[index] = new long[maxChunksPerSizeClass];
+      }
+      freeLists[index][counts[index]++] = address;
+      retained += size;
+      retainedBytes.add(size);
+      return true;
+    }
+
+    void freeAll() {
+      for (int index = 0; index < counts.length; index++) {
+        while (counts[index] > 0) {
+          MemoryUtil.UNSAFE.freeMemory(pop(index));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory.unsafe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.BufferLedger;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.rounding.DefaultRoundingPolicy;
+import org.apache.arrow.memory.rounding.SegmentRoundingPolicy;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link PooledUnsafeAllocationManager} and {@link UnsafeSizeClassPool}.
+ */
+public class TestPooledUnsafeAllocationManager {
+
+  private BufferAllocator createPooledAllocator(UnsafeSizeClassPool pool) {
+    return new RootAllocator(RootAllocator.configBuilder()
+        .allocationManagerFactory(pool)
+        .roundingPolicy(pool.getRoundingPolicy())
+        .build());
+  }
+
+  @Test
+  public void testBufferAllocation() {
+    final long bufSize = 4096L;
+    try (BufferAllocator allocator = createPooledAllocator(PooledUnsafeAllocationManager.FACTORY);
+         ArrowBuf buffer = allocator.buffer(bufSize)) {
+      assertTrue(buffer.getReferenceManager() instanceof BufferLedger);
+      BufferLedger bufferLedger = (BufferLedger) buffer.getReferenceManager();
+      assertTrue(bufferLedger.getAllocationManager() instanceof PooledUnsafeAllocationManager);
+      assertEquals(bufSize, bufferLedger.getAllocationManager().getSize());
+
+      for (long i = 0; i < buffer.capacity() / 8; i++) {
+        buffer.setLong(i * 8, i);
+      }
+      for (long i = 0; i < buffer.capacity() / 8; i++) {
+        assertEquals(i, buffer.getLong(i * 8));
+      }
+    }
+  }
+
+  @Test
+  public void testChunkReuse() {
+    UnsafeSizeClassPool pool = new UnsafeSizeClassPool(DefaultRoundingPolicy.DEFAULT_ROUNDING_POLICY);
+    try (BufferAllocator allocator = createPooledAllocator(pool)) {
+      final long address;
+      try (ArrowBuf buffer = allocator.buffer(1000)) {
+        assertEquals(1024, buffer.capacity());
+        address = buffer.memoryAddress();
+      }
+      assertEquals(0, pool.getHits());
+      assertEquals(1, pool.getMisses());
+      assertEquals(1024, pool.getRetainedBytes());
+
+      // the same size class is served from the free list
+      try (ArrowBuf buffer = allocator.buffer(1024)) {
+        assertEquals(address, buffer.memoryAddress());
+      }
+      assertEquals(1, pool.getHits());
+      assertEquals(1, pool.getMisses());
+
+      // large buffers are not pooled
+      allocator.buffer(2 * UnsafeSizeClassPool.DEFAULT_MAX_CHUNK_SIZE).close();
+      assertEquals(1, pool.getMisses());
+      assertEquals(1024, pool.getRetainedBytes());
+    }
+
+    pool.trimCurrentThread();
+    assertEquals(0, pool.getRetainedBytes());
+  }
+
+  @Test
+  public void testBoundedRetention() {
+    UnsafeSizeClassPool pool = new UnsafeSizeClassPool(DefaultRoundingPolicy.DEFAULT_ROUNDING_POLICY,
+        UnsafeSizeClassPool.DEFAULT_MAX_CHUNK_SIZE, 4096, 2);
+    try (BufferAllocator allocator = createPooledAllocator(pool)) {
+      ArrowBuf[] buffers = new ArrowBuf[4];
+      for (int i = 0; i < buffers.length; i++) {
+        buffers[i] = allocator.buffer(512);
+      }
+      for (ArrowBuf buffer : buffers) {
+        buffer.close();
+      }
+      // at most two chunks per size class are retained
+      assertEquals(1024, pool.getRetainedBytes());
+
+      ArrowBuf large = allocator.buffer(4096);
+      allocator.buffer(4096).close();
+      large.close();
+      // the per-thread retention bound is not exceeded
+      assertEquals(1024, pool.getRetainedBytes());
+    }
+    pool.trimCurrentThread();
+  }
+
+  @Test
+  public void testAccountedSizeClassCapacity() {
+    // size classes coarser than the rounding of the allocator
+    UnsafeSizeClassPool pool = new UnsafeSizeClassPool(new SegmentRoundingPolicy(4096));
+    try (BufferAllocator allocator = new RootAllocator(RootAllocator.configBuilder()
+        .allocationManagerFactory(pool)
+        .build())) {
+      try (ArrowBuf buffer = allocator.buffer(1000)) {
+        assertEquals(1024, buffer.capacity());
+        assertEquals(4096, buffer.getReferenceManager().getSize());
+        assertEquals(4096, allocator.getAllocatedMemory());
+      }
+      assertEquals(0, allocator.getAllocatedMemory());
+    }
+    pool.trimCurrentThread();
+  }
+
+  @Test
+  public void testSegmentSizeClasses() {
+    UnsafeSizeClassPool pool = new UnsafeSizeClassPool(new SegmentRoundingPolicy(1024));
+    assertEquals(0, pool.sizeClassIndex(1));
+    assertEquals(2, pool.sizeClassIndex(3 * 1024));
+    assertEquals(3 * 1024, pool.sizeClass(pool.sizeClassIndex(3 * 1024 - 1)));
+    assertEquals(-1, pool.sizeClassIndex(UnsafeSizeClassPool.DEFAULT_MAX_CHUNK_SIZE + 1));
+
+    try (BufferAllocator allocator = createPooledAllocator(pool)) {
+      allocator.buffer(3000).close();
+      try (ArrowBuf buffer = allocator.buffer(2500)) {
+        assertEquals(3 * 1024, buffer.capacity());
+      }
+      assertEquals(1, pool.getHits());
+    }
+    pool.trimCurrentThread();
+  }
+}
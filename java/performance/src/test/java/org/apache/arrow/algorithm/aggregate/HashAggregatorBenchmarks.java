@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.aggregate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link HashAggregator}, compared with aggregating into a {@link HashMap}.
+ */
+public class HashAggregatorBenchmarks {
+
+  private static final int BATCH_SIZE = 4096;
+
+  private static final int BATCH_COUNT = 256;
+
+  private static final List<AggregateSpec> AGGREGATES = Arrays.asList(
+      AggregateSpec.countRows("count"),
+      new AggregateSpec(AggregateSpec.Function.SUM, 1, "sum"),
+      new AggregateSpec(AggregateSpec.Function.MIN, 1, "min"),
+      new AggregateSpec(AggregateSpec.Function.MAX, 1, "max"),
+      new AggregateSpec(AggregateSpec.Function.MEAN, 1, "mean"));
+
+  /**
+   * State object for the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class AggregateState {
+
+    @Param({"1000", "100000"})
+    int keyCardinality;
+
+    BufferAllocator allocator;
+
+    VectorSchemaRoot[] batches;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(Integer.MAX_VALUE);
+      Random random = new Random(0);
+      batches = new VectorSchemaRoot[BATCH_COUNT];
+      for (int i = 0; i < BATCH_COUNT; i++) {
+        IntVector keys = new IntVector("key", allocator);
+        BigIntVector values = new BigIntVector("value", allocator);
+        keys.allocateNew(BATCH_SIZE);
+        values.allocateNew(BATCH_SIZE);
+        for (int j = 0; j < BATCH_SIZE; j++) {
+          keys.set(j, random.nextInt(keyCardinality));
+          values.set(j, random.nextInt(1000));
+        }
+        batches[i] = VectorSchemaRoot.of(keys, values);
+        batches[i].setRowCount(BATCH_SIZE);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownState() {
+      for (VectorSchemaRoot batch : batches) {
+        batch.close();
+      }
+      allocator.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int hashAggregator(AggregateState state) {
+    try (HashAggregator aggregator = new HashAggregator(state.allocator, state.batches[0].getSchema(),
+        new int[]{0}, AGGREGATES, Integer.MAX_VALUE)) {
+      for (VectorSchemaRoot batch : state.batches) {
+        aggregator.consume(batch);
+      }
+      try (VectorSchemaRoot result = aggregator.finish()) {
+        return result.getRowCount();
+      }
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int hashMap(AggregateState state) {
+    // count, sum, min and max per key; the mean is computed from the sum and count
+    Map<Integer, long[]> groups = new HashMap<>();
+    for (VectorSchemaRoot batch : state.batches) {
+      IntVector keys = (IntVector) batch.getVector(0);
+      BigIntVector values = (BigIntVector) batch.getVector(1);
+      for (int row = 0; row < batch.getRowCount(); row++) {
+        long value = values.get(row);
+        long[] group = groups.computeIfAbsent(keys.get(row), key -> new long[]{0, 0, Long.MAX_VALUE, Long.MIN_VALUE});
+        group[0]++;
+        group[1] += value;
+        group[2] = Math.min(group[2], value);
+        group[3] = Math.max(group[3], value);
+      }
+    }
+    double meanSum = 0;
+    for (long[] group : groups.values()) {
+      meanSum += (double) group[1] / group[0];
+    }
+    return groups.size() + (int) meanSum;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(HashAggregatorBenchmarks.class.getSimpleName())
+            .forks(1)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
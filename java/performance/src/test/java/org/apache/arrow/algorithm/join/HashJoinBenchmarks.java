@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.join;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link HashJoiner}, compared with joining through a {@link HashMap} of build rows.
+ */
+public class HashJoinBenchmarks {
+
+  private static final int BATCH_SIZE = 4096;
+
+  private static final int BUILD_BATCH_COUNT = 16;
+
+  private static final int PROBE_BATCH_COUNT = 64;
+
+  /**
+   * State object for the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class JoinState {
+
+    @Param({"10000", "1000000"})
+    int keyCardinality;
+
+    BufferAllocator allocator;
+
+    VectorSchemaRoot[] buildBatches;
+
+    VectorSchemaRoot[] probeBatches;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(Integer.MAX_VALUE);
+      Random random = new Random(0);
+      buildBatches = new VectorSchemaRoot[BUILD_BATCH_COUNT];
+      for (int i = 0; i < BUILD_BATCH_COUNT; i++) {
+        buildBatches[i] = createBatch(random, "id", "payload");
+      }
+      probeBatches = new VectorSchemaRoot[PROBE_BATCH_COUNT];
+      for (int i = 0; i < PROBE_BATCH_COUNT; i++) {
+        probeBatches[i] = createBatch(random, "key", "value");
+      }
+    }
+
+    private VectorSchemaRoot createBatch(Random random, String keyName, String valueName) {
+      IntVector keys = new IntVector(keyName, allocator);
+      BigIntVector values = new BigIntVector(valueName, allocator);
+      keys.allocateNew(BATCH_SIZE);
+      values.allocateNew(BATCH_SIZE);
+      for (int j = 0; j < BATCH_SIZE; j++) {
+        keys.set(j, random.nextInt(keyCardinality));
+        values.set(j, random.nextInt(1000));
+      }
+      VectorSchemaRoot batch = VectorSchemaRoot.of(keys, values);
+      batch.setRowCount(BATCH_SIZE);
+      return batch;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownState() {
+      for (VectorSchemaRoot batch : buildBatches) {
+        batch.close();
+      }
+      for (VectorSchemaRoot batch : probeBatches) {
+        batch.close();
+      }
+      allocator.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long hashJoiner(JoinState state) {
+    long outputCount = 0;
+    try (HashJoiner joiner = new HashJoiner(state.allocator, state.buildBatches[0].getSchema(), new int[]{0},
+        state.probeBatches[0].getSchema(), new int[]{0}, HashJoiner.JoinType.INNER)) {
+      for (VectorSchemaRoot batch : state.buildBatches) {
+        joiner.addBuildBatch(batch);
+      }
+      joiner.finishBuild();
+      for (VectorSchemaRoot batch : state.probeBatches) {
+        try (VectorSchemaRoot output = joiner.probe(batch)) {
+          outputCount += output.getRowCount();
+        }
+      }
+    }
+    return outputCount;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long hashMap(JoinState state) {
+    // the build rows of each key, as batch and row indices
+    Map<Integer, List<int[]>> buildRows = new HashMap<>();
+    for (int i = 0; i < state.buildBatches.length; i++) {
+      IntVector keys = (IntVector) state.buildBatches[i].getVector(0);
+      for (int row = 0; row < keys.getValueCount(); row++) {
+        buildRows.computeIfAbsent(keys.get(row), key -> new ArrayList<>()).add(new int[]{i, row});
+      }
+    }
+    long outputCount = 0;
+    for (VectorSchemaRoot batch : state.probeBatches) {
+      IntVector keys = (IntVector) batch.getVector(0);
+      BigIntVector values = (BigIntVector) batch.getVector(1);
+      try (IntVector outputKeys = new IntVector("key", state.allocator);
+          BigIntVector outputValues = new BigIntVector("value", state.allocator);
+          IntVector outputIds = new IntVector("id", state.allocator);
+          BigIntVector outputPayloads = new BigIntVector("payload", state.allocator)) {
+        int count = 0;
+        for (int row = 0; row < batch.getRowCount(); row++) {
+          List<int[]> matches = buildRows.get(keys.get(row));
+          if (matches == null) {
+            continue;
+          }
+          for (int[] match : matches) {
+            List<FieldVector> build = state.buildBatches[match[0]].getFieldVectors();
+            outputKeys.copyFromSafe(row, count, keys);
+            outputValues.copyFromSafe(row, count, values);
+            outputIds.copyFromSafe(match[1], count, (IntVector) build.get(0));
+            outputPayloads.copyFromSafe(match[1], count, (BigIntVector) build.get(1));
+            count++;
+          }
+        }
+        outputCount += count;
+      }
+    }
+    return outputCount;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(HashJoinBenchmarks.class.getSimpleName())
+            .forks(1)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
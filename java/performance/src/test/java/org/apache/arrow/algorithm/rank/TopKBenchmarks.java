@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.rank;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.algorithm.sort.DefaultVectorComparators;
+import org.apache.arrow.algorithm.sort.IndexSorter;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link VectorTopK} and {@link BatchTopK}, compared with a full sort.
+ */
+public class TopKBenchmarks {
+
+  private static final int VECTOR_LENGTH = 1024 * 1024;
+
+  private static final int BATCH_SIZE = 4096;
+
+  /**
+   * State object for the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class TopKState {
+
+    @Param({"10", "100", "1000"})
+    int k;
+
+    BufferAllocator allocator;
+
+    IntVector vector;
+
+    IntVector indices;
+
+    VectorSchemaRoot[] batches;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(Integer.MAX_VALUE);
+      vector = new IntVector("int vector", allocator);
+      vector.allocateNew(VECTOR_LENGTH);
+      indices = new IntVector("indices", allocator);
+      indices.allocateNew(VECTOR_LENGTH);
+
+      Random random = new Random(0);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        vector.set(i, random.nextInt());
+      }
+      vector.setValueCount(VECTOR_LENGTH);
+      indices.setValueCount(VECTOR_LENGTH);
+
+      batches = new VectorSchemaRoot[VECTOR_LENGTH / BATCH_SIZE];
+      for (int i = 0; i < batches.length; i++) {
+        IntVector batchVector = new IntVector("int vector", allocator);
+        batchVector.allocateNew(BATCH_SIZE);
+        for (int j = 0; j < BATCH_SIZE; j++) {
+          batchVector.set(j, vector.get(i * BATCH_SIZE + j));
+        }
+        batchVector.setValueCount(BATCH_SIZE);
+        batches[i] = VectorSchemaRoot.of(batchVector);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownState() {
+      for (VectorSchemaRoot batch : batches) {
+        batch.close();
+      }
+      indices.close();
+      vector.close();
+      allocator.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int fullSort(TopKState state) {
+    new IndexSorter<IntVector>().sort(state.vector, state.indices,
+        DefaultVectorComparators.createDefaultComparator(state.vector));
+    return state.indices.get(state.k - 1);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int vectorTopK(TopKState state) {
+    new VectorTopK<IntVector>().select(state.vector,
+        DefaultVectorComparators.createDefaultComparator(state.vector), state.k, state.indices);
+    return state.indices.get(state.k - 1);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int batchTopK(TopKState state) {
+    try (BatchTopK topK = new BatchTopK(state.allocator, state.batches[0].getSchema(), new int[]{0}, state.k)) {
+      for (VectorSchemaRoot batch : state.batches) {
+        topK.consume(batch);
+      }
+      try (VectorSchemaRoot result = topK.finish()) {
+        return result.getRowCount();
+      }
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(TopKBenchmarks.class.getSimpleName())
+            .forks(1)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
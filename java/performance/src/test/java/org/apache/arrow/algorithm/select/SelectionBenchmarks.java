@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.select;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link SelectionUtils}, compared with gathering with {@link FieldVector#copyFromSafe}.
+ */
+@State(Scope.Benchmark)
+public class SelectionBenchmarks {
+
+  private static final int VECTOR_LENGTH = 1024 * 1024;
+
+  private BufferAllocator allocator;
+
+  private VectorSchemaRoot root;
+
+  private IntVector indices;
+
+  private BitVector mask;
+
+  /**
+   * Setup benchmarks.
+   */
+  @Setup(Level.Trial)
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+    Random random = new Random(0);
+    BigIntVector longs = new BigIntVector("longs", allocator);
+    VarCharVector strings = new VarCharVector("strings", allocator);
+    longs.allocateNew(VECTOR_LENGTH);
+    strings.allocateNew(VECTOR_LENGTH * 8L, VECTOR_LENGTH);
+    indices = new IntVector("indices", allocator);
+    indices.allocateNew(VECTOR_LENGTH);
+    mask = new BitVector("mask", allocator);
+    mask.allocateNew(VECTOR_LENGTH);
+    for (int i = 0; i < VECTOR_LENGTH; i++) {
+      longs.set(i, random.nextLong());
+      strings.setSafe(i, ("value" + random.nextInt(1000)).getBytes(StandardCharsets.UTF_8));
+      indices.set(i, random.nextInt(VECTOR_LENGTH));
+      mask.set(i, random.nextInt(2));
+    }
+    indices.setValueCount(VECTOR_LENGTH);
+    mask.setValueCount(VECTOR_LENGTH);
+    root = VectorSchemaRoot.of(longs, strings);
+    root.setRowCount(VECTOR_LENGTH);
+  }
+
+  /**
+   * Tear down benchmarks.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    root.close();
+    indices.close();
+    mask.close();
+    allocator.close();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int take() {
+    try (VectorSchemaRoot result = SelectionUtils.take(root, indices, allocator)) {
+      return result.getRowCount();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int filter() {
+    try (VectorSchemaRoot result = SelectionUtils.filter(root, mask, allocator)) {
+      return result.getRowCount();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int copyFromSafeTake() {
+    try (VectorSchemaRoot result = VectorSchemaRoot.create(root.getSchema(), allocator)) {
+      result.allocateNew();
+      for (int column = 0; column < root.getFieldVectors().size(); column++) {
+        FieldVector from = root.getVector(column);
+        FieldVector to = result.getVector(column);
+        for (int i = 0; i < VECTOR_LENGTH; i++) {
+          to.copyFromSafe(indices.get(i), i, from);
+        }
+      }
+      result.setRowCount(VECTOR_LENGTH);
+      return result.getRowCount();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int copyFromSafeFilter() {
+    try (VectorSchemaRoot result = VectorSchemaRoot.create(root.getSchema(), allocator)) {
+      result.allocateNew();
+      int count = 0;
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (mask.get(i) != 0) {
+          for (int column = 0; column < root.getFieldVectors().size(); column++) {
+            result.getVector(column).copyFromSafe(i, count, root.getVector(column));
+          }
+          count++;
+        }
+      }
+      result.setRowCount(count);
+      return result.getRowCount();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(SelectionBenchmarks.class.getSimpleName())
+            .forks(1)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link FixedWidthRadixSorter}, compared with the comparison-based sorters.
+ */
+public class FixedWidthSortBenchmarks {
+
+  /**
+   * State object for the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class SortState {
+
+    @Param({"10000", "1000000"})
+    int vectorLength;
+
+    /**
+     * The number of distinct values, 0 for unbounded.
+     */
+    @Param({"1024", "0"})
+    int cardinality;
+
+    BufferAllocator allocator;
+
+    BigIntVector sourceVector;
+
+    BigIntVector vector;
+
+    IntVector indices;
+
+    VectorValueComparator<BigIntVector> comparator;
+
+    final FixedWidthInPlaceVectorSorter<BigIntVector> quickSorter = new FixedWidthInPlaceVectorSorter<>();
+
+    final IndexSorter<BigIntVector> indexSorter = new IndexSorter<>();
+
+    final FixedWidthRadixSorter<BigIntVector> radixSorter = new FixedWidthRadixSorter<>();
+
+    /**
+     * Setup benchmarks.
+     */
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(Integer.MAX_VALUE);
+      sourceVector = new BigIntVector("vector", allocator);
+      sourceVector.allocateNew(vectorLength);
+      Random random = new Random(0);
+      // no nulls, as the quick sorters are quadratic in the length of runs of equal values
+      for (int i = 0; i < vectorLength; i++) {
+        sourceVector.set(i, cardinality == 0 ? random.nextLong() : random.nextInt(cardinality));
+      }
+      sourceVector.setValueCount(vectorLength);
+
+      vector = new BigIntVector("vector", allocator);
+      vector.allocateNew(vectorLength);
+      vector.setValueCount(vectorLength);
+      indices = new IntVector("indices", allocator);
+      indices.allocateNew(vectorLength);
+      indices.setValueCount(vectorLength);
+
+      comparator = DefaultVectorComparators.createDefaultComparator(sourceVector);
+      comparator.attachVector(sourceVector);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareInvoke() {
+      vector.getValidityBuffer().setBytes(0, sourceVector.getValidityBuffer(), 0,
+          sourceVector.getValidityBuffer().capacity());
+      vector.getDataBuffer().setBytes(0, sourceVector.getDataBuffer(), 0,
+          (long) vectorLength * BigIntVector.TYPE_WIDTH);
+    }
+
+    /**
+     * Tear down benchmarks.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      indices.close();
+      vector.close();
+      sourceVector.close();
+      allocator.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void quickSortInPlace(SortState state) {
+    state.quickSorter.sortInPlace(state.vector, state.comparator.createNew());
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void radixSortInPlace(SortState state) {
+    state.radixSorter.sortInPlace(state.vector);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void quickSortIndices(SortState state) {
+    state.indexSorter.sort(state.sourceVector, state.indices, state.comparator);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void radixSortIndices(SortState state) {
+    state.radixSorter.sortIndices(state.sourceVector, state.indices);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(FixedWidthSortBenchmarks.class.getSimpleName())
+            .forks(1)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link NormalizedKeySorter}, compared with sorting by a {@link CompositeVectorComparator}.
+ */
+public class NormalizedKeySortBenchmarks {
+
+  private static final int VECTOR_LENGTH = 1024 * 1024;
+
+  /**
+   * State object for the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class SortState {
+
+    @Param({"3", "5"})
+    int numColumns;
+
+    BufferAllocator allocator;
+
+    VectorSchemaRoot root;
+
+    IntVector indices;
+
+    CompositeVectorComparator compositeComparator;
+
+    NormalizedKeySorter normalizedKeySorter;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(Integer.MAX_VALUE);
+      SmallIntVector smallInts = new SmallIntVector("smallint", allocator);
+      IntVector ints = new IntVector("int", allocator);
+      VarCharVector strings = new VarCharVector("varchar", allocator);
+      BigIntVector longs = new BigIntVector("bigint", allocator);
+      Float8Vector doubles = new Float8Vector("float8", allocator);
+      List<FieldVector> vectors = Arrays.asList(smallInts, ints, strings, longs, doubles);
+      for (FieldVector vector : vectors) {
+        vector.setInitialCapacity(VECTOR_LENGTH);
+        vector.allocateNew();
+      }
+
+      // leading columns of low cardinality, so that later columns are compared, too
+      Random random = new Random(0);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        smallInts.set(i, random.nextInt(16));
+        ints.set(i, random.nextInt(1024));
+        strings.setSafe(i, ("value" + random.nextInt(4096)).getBytes(StandardCharsets.UTF_8));
+        longs.set(i, random.nextLong());
+        doubles.set(i, random.nextDouble());
+      }
+      root = new VectorSchemaRoot(vectors);
+      root.setRowCount(VECTOR_LENGTH);
+      indices = new IntVector("indices", allocator);
+      indices.allocateNew(VECTOR_LENGTH);
+      indices.setValueCount(VECTOR_LENGTH);
+
+      List<SortKeyEncoder.SortColumn> sortColumns = new ArrayList<>();
+      VectorValueComparator[] comparators = new VectorValueComparator[numColumns];
+      for (int i = 0; i < numColumns; i++) {
+        sortColumns.add(SortKeyEncoder.SortColumn.ascending(i));
+        FieldVector vector = root.getVector(i);
+        comparators[i] = DefaultVectorComparators.createDefaultComparator(vector);
+        comparators[i].attachVector(vector);
+      }
+      compositeComparator = new CompositeVectorComparator(comparators);
+      normalizedKeySorter = new NormalizedKeySorter(sortColumns);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownState() {
+      indices.close();
+      root.close();
+      allocator.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void sortWithCompositeComparator(SortState state) {
+    new IndexSorter<ValueVector>().sort(state.root.getVector(0), state.indices, state.compositeComparator);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void sortWithNormalizedKeys(SortState state) {
+    state.normalizedKeySorter.sort(state.root, state.indices, state.allocator);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(NormalizedKeySortBenchmarks.class.getSimpleName())
+            .forks(1)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
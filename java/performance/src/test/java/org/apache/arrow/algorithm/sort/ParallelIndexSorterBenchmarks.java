@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.algorithm.sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link ParallelIndexSorter}.
+ */
+public class ParallelIndexSorterBenchmarks {
+
+  private static final int VECTOR_LENGTH = 1024 * 1024;
+
+  /**
+   * State object for the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class SortState {
+
+    @Param({"1", "2", "4", "8"})
+    int numThreads;
+
+    BufferAllocator allocator;
+
+    ForkJoinPool threadPool;
+
+    IntVector intVector;
+
+    VarCharVector varCharVector;
+
+    IntVector indices;
+
+    ParallelIndexSorter<IntVector> intSorter;
+
+    ParallelIndexSorter<VarCharVector> varCharSorter;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(Integer.MAX_VALUE);
+      threadPool = new ForkJoinPool(numThreads);
+      intVector = new IntVector("int vector", allocator);
+      intVector.allocateNew(VECTOR_LENGTH);
+      varCharVector = new VarCharVector("varchar vector", allocator);
+      varCharVector.allocateNew(VECTOR_LENGTH);
+      indices = new IntVector("indices", allocator);
+      indices.allocateNew(VECTOR_LENGTH);
+
+      Random random = new Random(0);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        int value = random.nextInt();
+        intVector.set(i, value);
+        varCharVector.setSafe(i, String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+      }
+      intVector.setValueCount(VECTOR_LENGTH);
+      varCharVector.setValueCount(VECTOR_LENGTH);
+      indices.setValueCount(VECTOR_LENGTH);
+
+      intSorter = new ParallelIndexSorter<>(threadPool);
+      varCharSorter = new ParallelIndexSorter<>(threadPool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownState() {
+      indices.close();
+      varCharVector.close();
+      intVector.close();
+      allocator.close();
+      threadPool.shutdown();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void sortFixedWidth(SortState state) {
+    state.intSorter.sort(state.intVector, state.indices,
+        DefaultVectorComparators.createDefaultComparator(state.intVector));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void sortVariableWidth(SortState state) {
+    state.varCharSorter.sort(state.varCharVector, state.indices,
+        DefaultVectorComparators.createDefaultComparator(state.varCharVector));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(ParallelIndexSorterBenchmarks.class.getSimpleName())
+            .forks(1)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
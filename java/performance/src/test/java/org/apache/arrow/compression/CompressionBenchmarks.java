@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.compression;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for writing compressed IPC streams with the codecs of {@link CommonsCompressionFactory} and
+ * {@link DirectCompressionFactory}.
+ *
+ * <p>Each operation writes a batch of {@link #ROW_COUNT} rows, about 2.2 MB of uncompressed data, so
+ * the throughput in MB/s is the number of operations per second times 2.2. Run {@link #main(String[])}
+ * to also report the allocation rate with the GC profiler.
+ */
+public class CompressionBenchmarks {
+
+  private static final int ROW_COUNT = 128 * 1024;
+
+  /**
+   * State object for the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class WriterState {
+
+    @Param({"commons", "direct"})
+    String factory;
+
+    @Param({"LZ4_FRAME", "ZSTD"})
+    CompressionUtil.CodecType codecType;
+
+    BufferAllocator allocator;
+
+    VectorSchemaRoot root;
+
+    ArrowStreamWriter writer;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+      allocator = new RootAllocator();
+      IntVector ints = new IntVector("ints", allocator);
+      VarCharVector strings = new VarCharVector("strings", allocator);
+      ints.allocateNew(ROW_COUNT);
+      strings.allocateNew(ROW_COUNT * 12L, ROW_COUNT);
+      for (int i = 0; i < ROW_COUNT; i++) {
+        ints.set(i, i / 16);
+        strings.setSafe(i, ("value-" + (i % 1000)).getBytes(StandardCharsets.UTF_8));
+      }
+      root = VectorSchemaRoot.of(ints, strings);
+      root.setRowCount(ROW_COUNT);
+
+      CompressionCodec.Factory codecFactory =
+          "commons".equals(factory) ? CommonsCompressionFactory.INSTANCE : DirectCompressionFactory.INSTANCE;
+      writer = new ArrowStreamWriter(root, null, new NullChannel(), IpcOption.DEFAULT, codecFactory, codecType);
+      writer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      writer.close();
+      root.close();
+      allocator.close();
+    }
+  }
+
+  /**
+   * A channel discarding everything written to it.
+   */
+  private static final class NullChannel implements WritableByteChannel {
+
+    @Override
+    public int write(ByteBuffer src) {
+      int remaining = src.remaining();
+      src.position(src.limit());
+      return remaining;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public void writeBatch(WriterState state) throws IOException {
+    state.writer.writeBatch();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(CompressionBenchmarks.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
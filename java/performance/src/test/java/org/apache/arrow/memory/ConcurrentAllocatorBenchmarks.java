@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.memory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for allocators shared by many threads, with and without leased accounting.
+ */
+public class ConcurrentAllocatorBenchmarks {
+
+  private static final int BUFFER_SIZE = 1024;
+
+  private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+  /**
+   * State object for the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class AllocatorState {
+
+    @Param({"0", "65536"})
+    long leaseSize;
+
+    RootAllocator rootAllocator;
+
+    BufferAllocator sharedChildAllocator;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      rootAllocator = new RootAllocator(BaseAllocator.configBuilder()
+          .leaseSize(leaseSize)
+          .build());
+      sharedChildAllocator = rootAllocator.newChildAllocator("shared", 0, Long.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownState() {
+      sharedChildAllocator.close();
+      rootAllocator.close();
+    }
+  }
+
+  /**
+   * State object holding a child allocator per thread.
+   */
+  @State(Scope.Thread)
+  public static class ThreadState {
+
+    BufferAllocator childAllocator;
+
+    @Setup(Level.Trial)
+    public void prepare(AllocatorState state) {
+      childAllocator = state.rootAllocator.newChildAllocator("thread", 0, Long.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownState() {
+      childAllocator.close();
+    }
+  }
+
+  /**
+   * All threads allocate from the same child allocator.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void sharedChildAllocator(AllocatorState state) {
+    state.sharedChildAllocator.buffer(BUFFER_SIZE).close();
+  }
+
+  /**
+   * Each thread allocates from its own child allocator of the same root.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void childAllocatorPerThread(ThreadState state) {
+    state.childAllocator.buffer(BUFFER_SIZE).close();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    for (int threads : THREAD_COUNTS) {
+      Options opt = new OptionsBuilder()
+          .include(ConcurrentAllocatorBenchmarks.class.getSimpleName())
+          .threads(threads)
+          .forks(1)
+          .build();
+
+      new Runner(opt).run();
+    }
+  }
+}
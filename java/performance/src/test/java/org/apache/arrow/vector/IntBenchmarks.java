@@ -99,6 +99,122 @@ public class IntBenchmarks {
     }
   }
 
+  private static final int BULK_VECTOR_LENGTH = 10_000_000;
+
+  private static final int BULK_CHUNK_LENGTH = 4096;
+
+  /**
+   * State for aggregating a large vector with per-value and bulk reads.
+   */
+  @State(Scope.Benchmark)
+  public static class BulkState {
+
+    private BufferAllocator allocator;
+
+    private IntVector vector;
+
+    private final int[] chunk = new int[BULK_CHUNK_LENGTH];
+
+    /**
+     * Setup benchmarks.
+     */
+    @Setup
+    public void prepare() {
+      allocator = new RootAllocator();
+      vector = new IntVector("vector", allocator);
+      int[] values = new int[BULK_VECTOR_LENGTH];
+      for (int i = 0; i < BULK_VECTOR_LENGTH; i++) {
+        values[i] = (i * 31) % 1_000_003;
+      }
+      vector.setValuesSafe(0, values, 0, BULK_VECTOR_LENGTH);
+      vector.setValueCount(BULK_VECTOR_LENGTH);
+    }
+
+    @TearDown
+    public void tearDown() {
+      vector.close();
+      allocator.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long sumWithGet(BulkState state) {
+    long sum = 0;
+    for (int i = 0; i < BULK_VECTOR_LENGTH; i++) {
+      sum += state.vector.get(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long sumWithGetValues(BulkState state) {
+    long sum = 0;
+    for (int start = 0; start < BULK_VECTOR_LENGTH; start += BULK_CHUNK_LENGTH) {
+      int length = Math.min(BULK_CHUNK_LENGTH, BULK_VECTOR_LENGTH - start);
+      state.vector.getValues(start, length, state.chunk, 0);
+      for (int i = 0; i < length; i++) {
+        sum += state.chunk[i];
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int minWithGet(BulkState state) {
+    int min = Integer.MAX_VALUE;
+    for (int i = 0; i < BULK_VECTOR_LENGTH; i++) {
+      min = Math.min(min, state.vector.get(i));
+    }
+    return min;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int minWithGetValues(BulkState state) {
+    int min = Integer.MAX_VALUE;
+    for (int start = 0; start < BULK_VECTOR_LENGTH; start += BULK_CHUNK_LENGTH) {
+      int length = Math.min(BULK_CHUNK_LENGTH, BULK_VECTOR_LENGTH - start);
+      state.vector.getValues(start, length, state.chunk, 0);
+      for (int i = 0; i < length; i++) {
+        min = Math.min(min, state.chunk[i]);
+      }
+    }
+    return min;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int maxWithGet(BulkState state) {
+    int max = Integer.MIN_VALUE;
+    for (int i = 0; i < BULK_VECTOR_LENGTH; i++) {
+      max = Math.max(max, state.vector.get(i));
+    }
+    return max;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int maxWithGetValues(BulkState state) {
+    int max = Integer.MIN_VALUE;
+    for (int start = 0; start < BULK_VECTOR_LENGTH; start += BULK_CHUNK_LENGTH) {
+      int length = Math.min(BULK_CHUNK_LENGTH, BULK_VECTOR_LENGTH - start);
+      state.vector.getValues(start, length, state.chunk, 0);
+      for (int i = 0; i < length; i++) {
+        max = Math.max(max, state.chunk[i]);
+      }
+    }
+    return max;
+  }
+
   public static void main(String [] args) throws RunnerException {
     Options opt = new OptionsBuilder()
             .include(IntBenchmarks.class.getSimpleName())
@@ -17,16 +17,22 @@
 
 package org.apache.arrow.vector;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.arrow.compression.DirectCompressionFactory;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -45,6 +51,10 @@ public class VectorLoaderBenchmark {
 
   private static final int VECTOR_COUNT = 10;
 
+  private static final int WIDE_VECTOR_COUNT = 300;
+
+  private static final int WIDE_VALUE_COUNT = 16 * 1024;
+
   /**
    * State for vector load benchmark.
    */
@@ -106,6 +116,69 @@ public class VectorLoaderBenchmark {
     state.loader.load(state.recordBatch);
   }
 
+  /**
+   * State for loading a wide batch compressed with ZSTD on a varying number of threads.
+   */
+  @State(Scope.Benchmark)
+  public static class CompressedLoadState {
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    private BufferAllocator allocator;
+
+    private VectorSchemaRoot root;
+
+    private CompressionCodec codec;
+
+    private ExecutorService executor;
+
+    private ArrowRecordBatch recordBatch;
+
+    private VectorSchemaRoot loadedRoot;
+
+    private VectorLoader loader;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator();
+      IntVector[] vectors = new IntVector[WIDE_VECTOR_COUNT];
+      for (int i = 0; i < WIDE_VECTOR_COUNT; i++) {
+        vectors[i] = new IntVector("vector" + i, allocator);
+        vectors[i].allocateNew(WIDE_VALUE_COUNT);
+        for (int j = 0; j < WIDE_VALUE_COUNT; j++) {
+          vectors[i].set(j, (j / 8) * i);
+        }
+        vectors[i].setValueCount(WIDE_VALUE_COUNT);
+      }
+      root = VectorSchemaRoot.of(vectors);
+      codec = DirectCompressionFactory.INSTANCE.createCodec(CompressionUtil.CodecType.ZSTD);
+      executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+      recordBatch = new VectorUnloader(root, true, codec, true).getRecordBatch();
+      loadedRoot = VectorSchemaRoot.create(root.getSchema(), allocator);
+      loader = executor == null ? new VectorLoader(loadedRoot, DirectCompressionFactory.INSTANCE) :
+          new VectorLoader(loadedRoot, DirectCompressionFactory.INSTANCE, executor, threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      if (executor != null) {
+        executor.shutdown();
+      }
+      recordBatch.close();
+      loadedRoot.close();
+      root.close();
+      allocator.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void compressedLoadBenchmark(CompressedLoadState state) {
+    state.loader.load(state.recordBatch);
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
             .include(VectorLoaderBenchmark.class.getSimpleName())
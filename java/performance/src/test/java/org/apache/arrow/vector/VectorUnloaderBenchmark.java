@@ -17,16 +17,22 @@
 
 package org.apache.arrow.vector;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.arrow.compression.DirectCompressionFactory;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -46,6 +52,10 @@ public class VectorUnloaderBenchmark {
 
   private static final int VECTOR_COUNT = 10;
 
+  private static final int WIDE_VECTOR_COUNT = 300;
+
+  private static final int WIDE_VALUE_COUNT = 16 * 1024;
+
   private BufferAllocator allocator;
 
   private VarCharVector [] vectors;
@@ -98,6 +108,61 @@ public class VectorUnloaderBenchmark {
     recordBatch = unloader.getRecordBatch();
   }
 
+  /**
+   * State for unloading a wide batch with ZSTD compression on a varying number of threads.
+   */
+  @State(Scope.Benchmark)
+  public static class CompressedUnloadState {
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    private BufferAllocator allocator;
+
+    private VectorSchemaRoot root;
+
+    private CompressionCodec codec;
+
+    private ExecutorService executor;
+
+    private VectorUnloader unloader;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator();
+      IntVector[] vectors = new IntVector[WIDE_VECTOR_COUNT];
+      for (int i = 0; i < WIDE_VECTOR_COUNT; i++) {
+        vectors[i] = new IntVector("vector" + i, allocator);
+        vectors[i].allocateNew(WIDE_VALUE_COUNT);
+        for (int j = 0; j < WIDE_VALUE_COUNT; j++) {
+          vectors[i].set(j, (j / 8) * i);
+        }
+        vectors[i].setValueCount(WIDE_VALUE_COUNT);
+      }
+      root = VectorSchemaRoot.of(vectors);
+      codec = DirectCompressionFactory.INSTANCE.createCodec(CompressionUtil.CodecType.ZSTD);
+      executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+      unloader = executor == null ? new VectorUnloader(root, true, codec, true) :
+          new VectorUnloader(root, true, codec, true, executor, threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      if (executor != null) {
+        executor.shutdown();
+      }
+      root.close();
+      allocator.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void compressedUnloadBenchmark(CompressedUnloadState state) {
+    state.unloader.getRecordBatch().close();
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
             .include(VectorUnloaderBenchmark.class.getSimpleName())
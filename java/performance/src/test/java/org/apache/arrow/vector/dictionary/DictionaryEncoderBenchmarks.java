@@ -30,8 +30,10 @@ import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -117,6 +119,79 @@ public class DictionaryEncoderBenchmarks {
     return 0;
   }
 
+  /**
+   * State for encoding a long varchar vector with a large dictionary.
+   */
+  @State(Scope.Benchmark)
+  public static class HighCardinalityState {
+
+    private static final int HIGH_CARDINALITY_DATA_SIZE = 1024 * 1024;
+
+    @Param({"10000", "1000000"})
+    int dictionarySize;
+
+    BufferAllocator allocator;
+
+    VarCharVector vector;
+
+    Dictionary dictionary;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(Integer.MAX_VALUE);
+      VarCharVector dictionaryVector = new VarCharVector("dict", allocator);
+      dictionaryVector.allocateNew(dictionarySize * 16L, dictionarySize);
+      for (int i = 0; i < dictionarySize; i++) {
+        dictionaryVector.setSafe(i, ("key-" + i).getBytes(StandardCharsets.UTF_8));
+      }
+      dictionaryVector.setValueCount(dictionarySize);
+      dictionary = new Dictionary(dictionaryVector, new DictionaryEncoding(1L, false, null));
+
+      Random random = new Random(0);
+      vector = new VarCharVector("vector", allocator);
+      vector.allocateNew(HIGH_CARDINALITY_DATA_SIZE * 16L, HIGH_CARDINALITY_DATA_SIZE);
+      for (int i = 0; i < HIGH_CARDINALITY_DATA_SIZE; i++) {
+        vector.setSafe(i, ("key-" + random.nextInt(dictionarySize)).getBytes(StandardCharsets.UTF_8));
+      }
+      vector.setValueCount(HIGH_CARDINALITY_DATA_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      vector.close();
+      dictionary.getVector().close();
+      allocator.close();
+    }
+  }
+
+  /**
+   * Test encode of a long vector with a large dictionary, with the on-heap hash table.
+   * @return useless. To avoid DCE by JIT.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int testEncodeHighCardinality(HighCardinalityState state) {
+    try (DictionaryEncoder encoder = new DictionaryEncoder(state.dictionary, state.allocator, null, false);
+         ValueVector encoded = encoder.encode(state.vector)) {
+      return encoded.getValueCount();
+    }
+  }
+
+  /**
+   * Test encode of a long vector with a large dictionary, with the off-heap hash table.
+   * @return useless. To avoid DCE by JIT.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int testEncodeHighCardinalityOffHeap(HighCardinalityState state) {
+    try (DictionaryEncoder encoder = new DictionaryEncoder(state.dictionary, state.allocator, null, true);
+         ValueVector encoded = encoder.encode(state.vector)) {
+      return encoded.getValueCount();
+    }
+  }
+
   private int generateRandomIndex(int max) {
     Random random = new Random();
     return random.nextInt(max);
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.statistics.BatchPredicate;
+import org.apache.arrow.vector.ipc.statistics.BatchPredicates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link ArrowFileReader}: reading the rows of a time range from a file sorted by
+ * time, with and without skipping batches by their statistics, and reading a column of a wide
+ * file, with and without a projection. Scattered columns are also read with concurrent range reads.
+ */
+public class ArrowFileReaderBenchmarks {
+
+  private static final int BATCH_COUNT = 1000;
+
+  private static final int BATCH_SIZE = 4096;
+
+  private static final long RANGE_START = 500L * BATCH_SIZE;
+
+  private static final long RANGE_END = 510L * BATCH_SIZE - 1;
+
+  private static final int WIDE_COLUMN_COUNT = 400;
+
+  private static final int WIDE_BATCH_COUNT = 16;
+
+  private static final int SCATTERED_COLUMN_STEP = 10;
+
+  /**
+   * State object for the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class FileState {
+
+    BufferAllocator allocator;
+
+    File file;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+      allocator = new RootAllocator();
+      file = File.createTempFile("arrow-file-reader-benchmarks", ".arrow");
+      try (BigIntVector time = new BigIntVector("time", allocator);
+           Float8Vector value = new Float8Vector("value", allocator);
+           VectorSchemaRoot root = VectorSchemaRoot.of(time, value);
+           FileOutputStream out = new FileOutputStream(file);
+           ArrowFileWriter writer = new ArrowFileWriter(root, null, out.getChannel())) {
+        writer.setWriteBatchStatistics(true);
+        writer.start();
+        for (int batch = 0; batch < BATCH_COUNT; batch++) {
+          time.allocateNew(BATCH_SIZE);
+          value.allocateNew(BATCH_SIZE);
+          for (int i = 0; i < BATCH_SIZE; i++) {
+            time.set(i, (long) batch * BATCH_SIZE + i);
+            value.set(i, i * 0.5);
+          }
+          root.setRowCount(BATCH_SIZE);
+          time.setValueCount(BATCH_SIZE);
+          value.setValueCount(BATCH_SIZE);
+          writer.writeBatch();
+        }
+        writer.end();
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      file.delete();
+      allocator.close();
+    }
+  }
+
+  private static double sumRange(VectorSchemaRoot root) {
+    BigIntVector time = (BigIntVector) root.getVector(0);
+    Float8Vector value = (Float8Vector) root.getVector(1);
+    double sum = 0;
+    for (int i = 0; i < root.getRowCount(); i++) {
+      long t = time.get(i);
+      if (t >= RANGE_START && t <= RANGE_END) {
+        sum += value.get(i);
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public double fullScan(FileState state) throws IOException {
+    try (ArrowFileReader reader = new ArrowFileReader(
+        Files.newByteChannel(state.file.toPath(), StandardOpenOption.READ), state.allocator)) {
+      double sum = 0;
+      while (reader.loadNextBatch()) {
+        sum += sumRange(reader.getVectorSchemaRoot());
+      }
+      return sum;
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public double statisticsScan(FileState state) throws IOException {
+    BatchPredicate predicate = BatchPredicates.between("time", RANGE_START, RANGE_END);
+    try (ArrowFileReader reader = new ArrowFileReader(
+        Files.newByteChannel(state.file.toPath(), StandardOpenOption.READ), state.allocator)) {
+      double sum = 0;
+      while (reader.loadNextBatch(predicate)) {
+        sum += sumRange(reader.getVectorSchemaRoot());
+      }
+      return sum;
+    }
+  }
+
+  /**
+   * State object for the projection benchmarks, with a wide file.
+   */
+  @State(Scope.Benchmark)
+  public static class WideFileState {
+
+    BufferAllocator allocator;
+
+    File file;
+
+    ExecutorService executor;
+
+    List<String> scatteredColumns;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+      allocator = new RootAllocator();
+      executor = Executors.newFixedThreadPool(8);
+      scatteredColumns = new ArrayList<>();
+      for (int i = 0; i < WIDE_COLUMN_COUNT; i += SCATTERED_COLUMN_STEP) {
+        scatteredColumns.add("column" + i);
+      }
+      file = File.createTempFile("arrow-file-reader-benchmarks", ".arrow");
+      IntVector[] vectors = new IntVector[WIDE_COLUMN_COUNT];
+      for (int i = 0; i < WIDE_COLUMN_COUNT; i++) {
+        vectors[i] = new IntVector("column" + i, allocator);
+      }
+      try (VectorSchemaRoot root = VectorSchemaRoot.of(vectors);
+           FileOutputStream out = new FileOutputStream(file);
+           ArrowFileWriter writer = new ArrowFileWriter(root, null, out.getChannel())) {
+        writer.start();
+        for (int batch = 0; batch < WIDE_BATCH_COUNT; batch++) {
+          for (IntVector vector : vectors) {
+            vector.allocateNew(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+              vector.set(i, batch + i);
+            }
+            vector.setValueCount(BATCH_SIZE);
+          }
+          root.setRowCount(BATCH_SIZE);
+          writer.writeBatch();
+        }
+        writer.end();
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      executor.shutdownNow();
+      file.delete();
+      allocator.close();
+    }
+  }
+
+  private static long sumColumn(ArrowFileReader reader) throws IOException {
+    long sum = 0;
+    while (reader.loadNextBatch()) {
+      IntVector vector = (IntVector) reader.getVectorSchemaRoot().getVector("column7");
+      for (int i = 0; i < vector.getValueCount(); i++) {
+        sum += vector.get(i);
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long fullColumnRead(WideFileState state) throws IOException {
+    try (ArrowFileReader reader = new ArrowFileReader(
+        Files.newByteChannel(state.file.toPath(), StandardOpenOption.READ), state.allocator)) {
+      return sumColumn(reader);
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long projectedColumnRead(WideFileState state) throws IOException {
+    try (ArrowFileReader reader = new ArrowFileReader(
+        Files.newByteChannel(state.file.toPath(), StandardOpenOption.READ), state.allocator)) {
+      reader.setProjection(Collections.singletonList("column7"));
+      return sumColumn(reader);
+    }
+  }
+
+  private static long sumColumns(ArrowFileReader reader) throws IOException {
+    long sum = 0;
+    while (reader.loadNextBatch()) {
+      for (int column = 0; column < reader.getVectorSchemaRoot().getFieldVectors().size(); column++) {
+        IntVector vector = (IntVector) reader.getVectorSchemaRoot().getVector(column);
+        for (int i = 0; i < vector.getValueCount(); i++) {
+          sum += vector.get(i);
+        }
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long scatteredColumnsRead(WideFileState state) throws IOException {
+    try (ArrowFileReader reader = new ArrowFileReader(
+        Files.newByteChannel(state.file.toPath(), StandardOpenOption.READ), state.allocator)) {
+      reader.setProjection(state.scatteredColumns);
+      return sumColumns(reader);
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long concurrentScatteredColumnsRead(WideFileState state) throws IOException {
+    try (ArrowFileReader reader = new ArrowFileReader(
+        new SeekableReadChannel(FileChannel.open(state.file.toPath()), state.executor), state.allocator)) {
+      reader.setProjection(state.scatteredColumns);
+      return sumColumns(reader);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ArrowFileReaderBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
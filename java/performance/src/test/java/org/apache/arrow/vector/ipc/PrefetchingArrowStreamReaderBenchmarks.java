@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link PrefetchingArrowStreamReader}, compared with {@link ArrowStreamReader},
+ * reading a ZSTD compressed stream and summing its values.
+ */
+public class PrefetchingArrowStreamReaderBenchmarks {
+
+  private static final int BATCH_COUNT = 64;
+
+  private static final int BATCH_SIZE = 64 * 1024;
+
+  private static final int VECTOR_COUNT = 4;
+
+  /**
+   * State object for the benchmarks.
+   */
+  @State(Scope.Benchmark)
+  public static class StreamState {
+
+    /**
+     * The CPU work consumed per row, in addition to summing the values.
+     */
+    @Param({"0", "4"})
+    int workPerRow;
+
+    BufferAllocator allocator;
+
+    ExecutorService executor;
+
+    byte[] stream;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+      allocator = new RootAllocator();
+      executor = Executors.newSingleThreadExecutor();
+      IntVector[] vectors = new IntVector[VECTOR_COUNT];
+      for (int i = 0; i < VECTOR_COUNT; i++) {
+        vectors[i] = new IntVector("vector" + i, allocator);
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (VectorSchemaRoot root = VectorSchemaRoot.of(vectors);
+           ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(out),
+               IpcOption.DEFAULT, CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD,
+               Optional.empty())) {
+        writer.start();
+        for (int batch = 0; batch < BATCH_COUNT; batch++) {
+          for (int i = 0; i < VECTOR_COUNT; i++) {
+            vectors[i].allocateNew(BATCH_SIZE);
+            for (int j = 0; j < BATCH_SIZE; j++) {
+              vectors[i].set(j, (j / 8) * (i + batch));
+            }
+            vectors[i].setValueCount(BATCH_SIZE);
+          }
+          root.setRowCount(BATCH_SIZE);
+          writer.writeBatch();
+        }
+        writer.end();
+      }
+      stream = out.toByteArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      executor.shutdown();
+      allocator.close();
+    }
+  }
+
+  private static long consume(ArrowReader reader, int workPerRow) throws IOException {
+    long sum = 0;
+    while (reader.loadNextBatch()) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      for (int i = 0; i < VECTOR_COUNT; i++) {
+        IntVector vector = (IntVector) root.getVector(i);
+        for (int j = 0; j < root.getRowCount(); j++) {
+          sum += vector.get(j);
+        }
+      }
+      if (workPerRow > 0) {
+        Blackhole.consumeCPU((long) workPerRow * root.getRowCount());
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long arrowStreamReader(StreamState state) throws IOException {
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayReadableSeekableByteChannel(state.stream),
+        state.allocator, CommonsCompressionFactory.INSTANCE)) {
+      return consume(reader, state.workPerRow);
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long prefetchingArrowStreamReader(StreamState state) throws IOException {
+    try (ArrowStreamReader reader = new PrefetchingArrowStreamReader(
+        new ByteArrayReadableSeekableByteChannel(state.stream), state.allocator, CommonsCompressionFactory.INSTANCE,
+        state.executor, 4, 64L * 1024 * 1024)) {
+      return consume(reader, state.workPerRow);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(PrefetchingArrowStreamReaderBenchmarks.class.getSimpleName())
+        .forks(1)
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -18,10 +18,20 @@
 package org.apache.arrow.vector.ipc;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
@@ -38,10 +48,17 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 /**
- * Benchmarks for {@link WriteChannel}.
+ * Benchmarks for {@link WriteChannel}, including writing batches of many small buffers to a file
+ * with and without gathered writes.
  */
 public class WriteChannelBenchmark {
 
+  private static final int COLUMN_COUNT = 200;
+
+  private static final int BATCH_SIZE = 64;
+
+  private static final int BATCH_COUNT = 100;
+
   /**
    * State object for align benchmark.
    */
@@ -76,6 +93,123 @@ public class WriteChannelBenchmark {
     state.writeChannel.align();
   }
 
+  /**
+   * State object for the batch write benchmark, with a batch of many small buffers.
+   */
+  @State(Scope.Benchmark)
+  public static class BatchState {
+
+    @Param({"0", "1048576"})
+    public long flushThreshold;
+
+    private BufferAllocator allocator;
+
+    private VectorSchemaRoot root;
+
+    private File file;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+      allocator = new RootAllocator();
+      IntVector[] vectors = new IntVector[COLUMN_COUNT];
+      for (int i = 0; i < COLUMN_COUNT; i++) {
+        vectors[i] = new IntVector("column" + i, allocator);
+        vectors[i].allocateNew(BATCH_SIZE);
+        for (int j = 0; j < BATCH_SIZE; j++) {
+          vectors[i].set(j, i + j);
+        }
+        vectors[i].setValueCount(BATCH_SIZE);
+      }
+      root = VectorSchemaRoot.of(vectors);
+      file = File.createTempFile("write-channel-benchmark", ".arrows");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      root.close();
+      allocator.close();
+      file.delete();
+    }
+  }
+
+  /**
+   * The number of write calls to the file channel, and of bytes written.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class WriteCounters {
+
+    public long writeCalls;
+
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      writeCalls = 0;
+      bytes = 0;
+    }
+  }
+
+  /**
+   * A file channel that counts the write calls.
+   */
+  private static final class CountingChannel implements GatheringByteChannel {
+
+    private final FileChannel out;
+
+    private long writeCalls;
+
+    CountingChannel(FileChannel out) {
+      this.out = out;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+      writeCalls++;
+      return out.write(srcs, offset, length);
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs) throws IOException {
+      return write(srcs, 0, srcs.length);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      writeCalls++;
+      return out.write(src);
+    }
+
+    @Override
+    public boolean isOpen() {
+      return out.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long writeBatches(BatchState state, WriteCounters counters) throws IOException {
+    CountingChannel out = new CountingChannel(FileChannel.open(state.file.toPath(), StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING));
+    try (ArrowStreamWriter writer = new ArrowStreamWriter(state.root, null, out)) {
+      writer.setFlushThreshold(state.flushThreshold);
+      writer.start();
+      for (int i = 0; i < BATCH_COUNT; i++) {
+        writer.writeBatch();
+      }
+      writer.end();
+      counters.writeCalls += out.writeCalls;
+      counters.bytes += writer.bytesWritten();
+      return writer.bytesWritten();
+    }
+  }
+
   public static void main(String[] args) throws RunnerException {
     Options opt = new OptionsBuilder()
         .include(WriteChannelBenchmark.class.getSimpleName())
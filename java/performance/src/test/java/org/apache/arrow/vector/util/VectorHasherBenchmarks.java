@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.memory.util.hash.MurmurHasher;
+import org.apache.arrow.memory.util.hash.SimpleHasher;
+import org.apache.arrow.memory.util.hash.XxHasher;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for {@link VectorHasher}, compared with hashing row by row with
+ * {@link ValueVector#hashCode(int, ArrowBufHasher)}, for each hasher.
+ */
+public class VectorHasherBenchmarks {
+
+  private static final int VECTOR_LENGTH = 1024 * 1024;
+
+  /**
+   * State object holding the vectors to hash.
+   */
+  @State(Scope.Benchmark)
+  public static class VectorState {
+
+    BufferAllocator allocator;
+
+    BigIntVector bigIntVector;
+
+    VarCharVector varCharVector;
+
+    IntVector hashes;
+
+    BigIntVector hashes64;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      allocator = new RootAllocator(Integer.MAX_VALUE);
+      Random random = new Random(0);
+      bigIntVector = new BigIntVector("bigint", allocator);
+      varCharVector = new VarCharVector("varchar", allocator);
+      bigIntVector.allocateNew(VECTOR_LENGTH);
+      varCharVector.allocateNew(VECTOR_LENGTH * 16L, VECTOR_LENGTH);
+      for (int i = 0; i < VECTOR_LENGTH; i++) {
+        if (i % 10 == 0) {
+          bigIntVector.setNull(i);
+          varCharVector.setNull(i);
+        } else {
+          bigIntVector.set(i, random.nextLong());
+          varCharVector.setSafe(i, ("value-" + random.nextInt()).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      bigIntVector.setValueCount(VECTOR_LENGTH);
+      varCharVector.setValueCount(VECTOR_LENGTH);
+      hashes = new IntVector("hashes", allocator);
+      hashes64 = new BigIntVector("hashes64", allocator);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownState() {
+      hashes64.close();
+      hashes.close();
+      varCharVector.close();
+      bigIntVector.close();
+      allocator.close();
+    }
+  }
+
+  /**
+   * State object holding the hasher.
+   */
+  @State(Scope.Benchmark)
+  public static class HasherState {
+
+    @Param({"simple", "murmur", "xx"})
+    String hasherName;
+
+    ArrowBufHasher hasher;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      switch (hasherName) {
+        case "simple":
+          hasher = SimpleHasher.INSTANCE;
+          break;
+        case "murmur":
+          hasher = new MurmurHasher();
+          break;
+        default:
+          hasher = new XxHasher();
+          break;
+      }
+    }
+  }
+
+  private static int hashRows(ValueVector vector, ArrowBufHasher hasher) {
+    int result = 0;
+    for (int i = 0; i < vector.getValueCount(); i++) {
+      result ^= vector.hashCode(i, hasher);
+    }
+    return result;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int bigIntRowByRow(VectorState state, HasherState hasherState) {
+    return hashRows(state.bigIntVector, hasherState.hasher);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int bigIntBatch(VectorState state, HasherState hasherState) {
+    VectorHasher.hash(state.bigIntVector, 0, VECTOR_LENGTH, hasherState.hasher, state.hashes);
+    return state.hashes.getValueCount();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int bigIntBatch64(VectorState state) {
+    VectorHasher.hash64(state.bigIntVector, 0, VECTOR_LENGTH, 0, state.hashes64);
+    return state.hashes64.getValueCount();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int varCharRowByRow(VectorState state, HasherState hasherState) {
+    return hashRows(state.varCharVector, hasherState.hasher);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int varCharBatch(VectorState state, HasherState hasherState) {
+    VectorHasher.hash(state.varCharVector, 0, VECTOR_LENGTH, hasherState.hasher, state.hashes);
+    return state.hashes.getValueCount();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int varCharBatch64(VectorState state) {
+    VectorHasher.hash64(state.varCharVector, 0, VECTOR_LENGTH, 0, state.hashes64);
+    return state.hashes64.getValueCount();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(VectorHasherBenchmarks.class.getSimpleName())
+            .forks(1)
+            .build();
+
+    new Runner(opt).run();
+  }
+}
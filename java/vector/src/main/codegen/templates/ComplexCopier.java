@@ -53,6 +53,8 @@ public class ComplexCopier {
       case LIST:
       case LARGELIST:
       case FIXED_SIZE_LIST:
+      case LISTVIEW:
+      case LARGELISTVIEW:
         if (reader.isSet()) {
           writer.startList();
           while (reader.next()) {
@@ -26,7 +26,7 @@ import java.lang.UnsupportedOperationException;
 import java.math.BigDecimal;
 
 <@pp.dropOutputFile />
-<#list ["List", "LargeList"] as listName>
+<#list ["List", "LargeList", "ListView", "LargeListView"] as listName>
 
 <@pp.changeOutputFile name="/org/apache/arrow/vector/complex/impl/Union${listName}Writer.java" />
 
@@ -53,7 +53,7 @@ public class Union${listName}Writer extends AbstractFieldWriter {
   private boolean inStruct = false;
   private boolean listStarted = false;
   private String structName;
-  <#if listName == "LargeList">
+  <#if listName == "LargeList" || listName == "LargeListView">
   private static final long OFFSET_WIDTH = 8;
   <#else>
   private static final int OFFSET_WIDTH = 4;
@@ -179,7 +179,20 @@ public class Union${listName}Writer extends AbstractFieldWriter {
     return mapWriter;
   }
 
-  <#if listName == "LargeList">
+  <#if listName == "ListView" || listName == "LargeListView">
+  @Override
+  public void startList() {
+    writer.setPosition(checkedCastToInt(vector.startNewValue(idx())));
+    listStarted = true;
+  }
+
+  @Override
+  public void endList() {
+    vector.endValue(idx(), writer.idx() - vector.getOffset(idx()));
+    setPosition(idx() + 1);
+    listStarted = false;
+  }
+  <#elseif listName == "LargeList">
   @Override
   public void startList() {
     vector.startNewValue(idx());
@@ -28,12 +28,14 @@ module org.apache.arrow.vector {
   exports org.apache.arrow.vector.holders;
   exports org.apache.arrow.vector.ipc;
   exports org.apache.arrow.vector.ipc.message;
+  exports org.apache.arrow.vector.ipc.statistics;
   exports org.apache.arrow.vector.table;
   exports org.apache.arrow.vector.types;
   exports org.apache.arrow.vector.types.pojo;
   exports org.apache.arrow.vector.util;
   exports org.apache.arrow.vector.validate;
 
+  opens org.apache.arrow.vector.ipc.statistics to com.fasterxml.jackson.databind;
   opens org.apache.arrow.vector.types.pojo to com.fasterxml.jackson.databind;
 
   requires com.fasterxml.jackson.annotation;
@@ -20,6 +20,7 @@ package org.apache.arrow.vector;
 import static org.apache.arrow.memory.util.LargeMemoryUtil.capAtMaxInt;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -860,6 +861,114 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
   }
 
 
+  /**
+   * Get a {@link ByteBuffer} view over the data of the values in [index, index + length).
+   * The view shares memory with this vector, so it can be used both to read and to write
+   * values, e.g. through {@link ByteBuffer#asLongBuffer()}. The view is in native byte
+   * order and is only valid until the vector is reallocated, cleared or closed.
+   * Validity is not reflected in the view.
+   *
+   * @param index  position of the first value
+   * @param length number of values
+   * @return a view over the data of the values
+   */
+  public ByteBuffer getDataView(int index, int length) {
+    checkBulkRange(index, length, getValueCapacity());
+    return valueBuffer.nioBuffer((long) index * typeWidth, length * typeWidth).order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * Set the validity of the values in [index, index + length) from a validity bitmap, where
+   * bit {@code validityIndex + i} (least significant bit first) gives the validity of the
+   * value at {@code index + i}. Reallocates the buffers if needed.
+   *
+   * @param index         position of the first value
+   * @param validity      the validity bitmap
+   * @param validityIndex position of the first bit to read from the bitmap
+   * @param length        number of values
+   */
+  public void setValidity(int index, byte[] validity, int validityIndex, int length) {
+    Preconditions.checkArgument(validityIndex >= 0 && (long) validityIndex + length <= validity.length * 8L,
+        "Bitmap of %s bytes does not hold bits [%s, %s)", validity.length, validityIndex, validityIndex + length);
+    handleSafe(index, length);
+    if ((index & 7) == 0 && (validityIndex & 7) == 0) {
+      // aligned: copy whole bytes, then the remaining bits
+      final int byteCount = length >> 3;
+      validityBuffer.setBytes(index >> 3, validity, validityIndex >> 3, byteCount);
+      for (int i = byteCount << 3; i < length; i++) {
+        BitVectorHelper.setValidityBit(validityBuffer, index + i, getBit(validity, validityIndex + i));
+      }
+    } else {
+      for (int i = 0; i < length; i++) {
+        BitVectorHelper.setValidityBit(validityBuffer, index + i, getBit(validity, validityIndex + i));
+      }
+    }
+  }
+
+  private static int getBit(byte[] bitmap, int index) {
+    return (bitmap[index >> 3] >> (index & 7)) & 1;
+  }
+
+  /*----------------------------------------------------------------*
+   |                                                                |
+   |                helper methods for bulk accessors               |
+   |                                                                |
+   *----------------------------------------------------------------*/
+
+  private static void checkBulkRange(int index, int length, int limit) {
+    Preconditions.checkArgument(index >= 0 && length >= 0 && (long) index + length <= limit,
+        "Invalid range [%s, %s) for %s values", index, (long) index + length, limit);
+  }
+
+  /**
+   * Copy the data of the values in [index, index + length) to the given memory location, typically
+   * a primitive array, with a single block copy. Validity is not consulted: null values are
+   * copied as whatever their slot holds.
+   *
+   * @param index      position of the first value
+   * @param length     number of values
+   * @param destBase   the destination array, or null for an off-heap address
+   * @param destOffset the offset of the first destination byte relative to destBase
+   */
+  protected void copyValuesTo(int index, int length, Object destBase, long destOffset) {
+    checkBulkRange(index, length, valueCount);
+    MemoryUtil.copyMemory(null, valueBuffer.memoryAddress() + (long) index * typeWidth,
+        destBase, destOffset, (long) length * typeWidth);
+  }
+
+  /**
+   * Copy the data of the values in [index, index + length) from the given memory location,
+   * typically a primitive array, with a single block copy, and mark the values as not null.
+   * Reallocates the buffers if needed.
+   *
+   * @param index     position of the first value
+   * @param srcBase   the source array, or null for an off-heap address
+   * @param srcOffset the offset of the first source byte relative to srcBase
+   * @param length    number of values
+   */
+  protected void copyValuesFrom(int index, Object srcBase, long srcOffset, int length) {
+    handleSafe(index, length);
+    MemoryUtil.copyMemory(srcBase, srcOffset,
+        null, valueBuffer.memoryAddress() + (long) index * typeWidth, (long) length * typeWidth);
+    setValidityRange(index, length);
+  }
+
+  private void setValidityRange(int index, int length) {
+    int i = index;
+    final int end = index + length;
+    for (; i < end && (i & 7) != 0; i++) {
+      BitVectorHelper.setBit(validityBuffer, i);
+    }
+    final int fullBytes = (end - i) >> 3;
+    if (fullBytes > 0) {
+      validityBuffer.setOne(i >> 3, fullBytes);
+      i += fullBytes << 3;
+    }
+    for (; i < end; i++) {
+      BitVectorHelper.setBit(validityBuffer, i);
+    }
+  }
+
   /*----------------------------------------------------------------*
    |                                                                |
    |                helper methods for setters                      |
@@ -874,6 +983,13 @@ public abstract class BaseFixedWidthVector extends BaseValueVector
     }
   }
 
+  private void handleSafe(int index, int length) {
+    checkBulkRange(index, length, Integer.MAX_VALUE);
+    if (length > 0) {
+      handleSafe(index + length - 1);
+    }
+  }
+
   /**
    * Copy a cell value from a particular index in source vector to a particular
    * position in this vector. The source vector should be of the same type as this one.
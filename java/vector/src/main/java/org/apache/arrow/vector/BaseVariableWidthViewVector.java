@@ -0,0 +1,1151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import static org.apache.arrow.memory.util.LargeMemoryUtil.capAtMaxInt;
+import static org.apache.arrow.vector.NullCheckingForGet.NULL_CHECKING_ENABLED;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.OutOfMemoryException;
+import org.apache.arrow.memory.ReusableBuffer;
+import org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.memory.util.CommonUtil;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.util.CallBack;
+import org.apache.arrow.vector.util.OversizedAllocationException;
+import org.apache.arrow.vector.util.TransferPair;
+
+/**
+ * BaseVariableWidthViewVector is a base class providing functionality for the view layout
+ * of strings/bytes types (Utf8View and BinaryView).
+ *
+ * <p>Each value is described by a 16 byte view. The first 4 bytes hold the length of the value.
+ * Values of up to 12 bytes are stored inline in the remaining 12 bytes of the view. Longer values
+ * are stored in one of several data buffers, and the view holds the first 4 bytes of the value
+ * (the prefix), the index of the data buffer and the offset of the value in that buffer.
+ * Slicing, filtering and appending views therefore never copies the out-of-line bytes, and a
+ * vector is not limited to 2GB of data.
+ */
+public abstract class BaseVariableWidthViewVector extends BaseValueVector
+    implements VariableWidthVector, FieldVector, VectorDefinitionSetter {
+
+  /** Width of a view in bytes. */
+  public static final int VIEW_WIDTH = 16;
+  /** Width of the length at the start of a view. */
+  public static final int LENGTH_WIDTH = 4;
+  /** Width of the prefix following the length of a view. */
+  public static final int PREFIX_WIDTH = 4;
+  /** Maximum length of a value stored inline in its view. */
+  public static final int INLINE_SIZE = 12;
+  /** Position of the data buffer index in a view. */
+  public static final int BUFFER_INDEX_OFFSET = LENGTH_WIDTH + PREFIX_WIDTH;
+  /** Position of the data buffer offset in a view. */
+  public static final int BUFFER_OFFSET_OFFSET = BUFFER_INDEX_OFFSET + 4;
+
+  private static final int INITIAL_DATA_BUFFER_SIZE = 32 * 1024;
+  private static final int MAX_DATA_BUFFER_SIZE = 16 * 1024 * 1024;
+
+  protected ArrowBuf validityBuffer;
+  protected ArrowBuf viewBuffer;
+  protected final List<ArrowBuf> dataBuffers;
+  protected int valueCount;
+  protected final Field field;
+  private int lastValueCapacity;
+  private long initialDataBufferSize;
+  private long nextDataBufferSize;
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param field The field materialized by this vector.
+   * @param allocator The allocator to use for creating/resizing buffers
+   */
+  public BaseVariableWidthViewVector(Field field, final BufferAllocator allocator) {
+    super(allocator);
+    this.field = field;
+    lastValueCapacity = INITIAL_VALUE_ALLOCATION;
+    initialDataBufferSize = INITIAL_DATA_BUFFER_SIZE;
+    nextDataBufferSize = initialDataBufferSize;
+    valueCount = 0;
+    validityBuffer = allocator.getEmpty();
+    viewBuffer = allocator.getEmpty();
+    dataBuffers = new ArrayList<>();
+  }
+
+  @Override
+  public String getName() {
+    return field.getName();
+  }
+
+  /* TODO:
+   * see if getNullCount() can be made faster -- O(1)
+   */
+
+  /* TODO:
+   * Once the entire hierarchy has been refactored, move common functions
+   * like getNullCount(), splitAndTransferValidityBuffer to top level
+   * base class BaseValueVector.
+   */
+
+  /**
+   * Get the buffer that stores the validity bits.
+   *
+   * @return buffer
+   */
+  @Override
+  public ArrowBuf getValidityBuffer() {
+    return validityBuffer;
+  }
+
+  /**
+   * Get the buffer that stores the views of the values. Short values are stored in their views.
+   *
+   * @return buffer
+   */
+  @Override
+  public ArrowBuf getDataBuffer() {
+    return viewBuffer;
+  }
+
+  /**
+   * Get the buffer that stores the views of the values. Same as {@link #getDataBuffer()}.
+   *
+   * @return buffer
+   */
+  public ArrowBuf getViewBuffer() {
+    return viewBuffer;
+  }
+
+  /**
+   * Get the buffers that store the values that are too long to be inlined in their views.
+   *
+   * @return the data buffers, in the order the views refer to them
+   */
+  public List<ArrowBuf> getDataBuffers() {
+    return Collections.unmodifiableList(dataBuffers);
+  }
+
+  /**
+   * View vectors do not have an offset buffer.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public ArrowBuf getOffsetBuffer() {
+    throw new UnsupportedOperationException("View vectors do not have an offset buffer");
+  }
+
+  /**
+   * View vectors do not have an offset buffer.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public long getOffsetBufferAddress() {
+    throw new UnsupportedOperationException("View vectors do not have an offset buffer");
+  }
+
+  @Override
+  public long getValidityBufferAddress() {
+    return validityBuffer.memoryAddress();
+  }
+
+  @Override
+  public long getDataBufferAddress() {
+    return viewBuffer.memoryAddress();
+  }
+
+  /**
+   * Sets the desired value capacity for the vector. This function doesn't
+   * allocate any memory for the vector.
+   *
+   * @param valueCount desired number of elements in the vector
+   */
+  @Override
+  public void setInitialCapacity(int valueCount) {
+    computeAndCheckViewBufferSize(valueCount);
+    lastValueCapacity = valueCount;
+  }
+
+  /**
+   * Sets the desired value capacity for the vector. This function doesn't
+   * allocate any memory for the vector.
+   *
+   * @param valueCount desired number of elements in the vector
+   * @param density average number of bytes per variable width element, used to size the first data buffer
+   */
+  @Override
+  public void setInitialCapacity(int valueCount, double density) {
+    setInitialCapacity(valueCount);
+    initialDataBufferSize = Math.max((long) (valueCount * density), 1L);
+  }
+
+  /**
+   * Get the density of this vector.
+   *
+   * @return average number of bytes per variable width element
+   */
+  public double getDensity() {
+    if (valueCount == 0) {
+      return 0.0D;
+    }
+    long totalSize = 0;
+    for (int i = 0; i < valueCount; i++) {
+      totalSize += getValueLength(i);
+    }
+    return (double) totalSize / valueCount;
+  }
+
+  /**
+   * Get the current capacity which does not exceed either the validity buffer or the view buffer.
+   * Note: the data buffers are allocated on demand and do not limit the capacity.
+   *
+   * @return number of elements that vector can hold.
+   */
+  @Override
+  public int getValueCapacity() {
+    return Math.min(capAtMaxInt(validityBuffer.capacity() * 8), capAtMaxInt(viewBuffer.capacity() / VIEW_WIDTH));
+  }
+
+  /**
+   * zero out the vector and the data in associated buffers.
+   */
+  public void zeroVector() {
+    validityBuffer.setZero(0, validityBuffer.capacity());
+    viewBuffer.setZero(0, viewBuffer.capacity());
+    releaseDataBuffers();
+  }
+
+  /**
+   * Reset the vector to initial state. Same as {@link #zeroVector()}.
+   * Note that this method doesn't release any memory of the validity and view buffers.
+   */
+  @Override
+  public void reset() {
+    zeroVector();
+    valueCount = 0;
+  }
+
+  /**
+   * Close the vector and release the associated buffers.
+   */
+  @Override
+  public void close() {
+    clear();
+  }
+
+  /**
+   * Same as {@link #close()}.
+   */
+  @Override
+  public void clear() {
+    validityBuffer = releaseBuffer(validityBuffer);
+    viewBuffer = releaseBuffer(viewBuffer);
+    releaseDataBuffers();
+    valueCount = 0;
+  }
+
+  private void releaseDataBuffers() {
+    for (ArrowBuf buffer : dataBuffers) {
+      buffer.getReferenceManager().release();
+    }
+    dataBuffers.clear();
+    nextDataBufferSize = initialDataBufferSize;
+  }
+
+  /**
+   * Get the inner vectors.
+   *
+   * @deprecated This API will be removed as the current implementations no longer support inner vectors.
+   *
+   * @return the inner vectors for this field as defined by the TypeLayout
+   */
+  @Deprecated
+  @Override
+  public List<BufferBacked> getFieldInnerVectors() {
+    throw new UnsupportedOperationException("There are no inner vectors. Use getFieldBuffers");
+  }
+
+  /**
+   * Initialize the children in schema for this Field. This operation is a
+   * NO-OP for scalar types since they don't have any children.
+   * @param children the schema
+   * @throws IllegalArgumentException if children is a non-empty list for scalar types.
+   */
+  @Override
+  public void initializeChildrenFromFields(List<Field> children) {
+    if (!children.isEmpty()) {
+      throw new IllegalArgumentException("primitive type vector cannot have children");
+    }
+  }
+
+  /**
+   * Get the inner child vectors.
+   * @return list of child vectors for complex types, empty list for scalar vector types
+   */
+  @Override
+  public List<FieldVector> getChildrenFromFields() {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Load the buffers of this vector with provided source buffers: the validity buffer,
+   * the view buffer and then any number of data buffers.
+   * The caller manages the source buffers and populates them before invoking
+   * this method.
+   * @param fieldNode  the fieldNode indicating the value count
+   * @param ownBuffers the buffers for this Field (own buffers only, children not included)
+   */
+  @Override
+  public void loadFieldBuffers(ArrowFieldNode fieldNode, List<ArrowBuf> ownBuffers) {
+    Preconditions.checkArgument(ownBuffers.size() >= 2,
+        "Expected at least 2 buffers for a view vector, but found %s", ownBuffers.size());
+    ArrowBuf bitBuffer = ownBuffers.get(0);
+    ArrowBuf views = ownBuffers.get(1);
+
+    validityBuffer.getReferenceManager().release();
+    validityBuffer = BitVectorHelper.loadValidityBuffer(fieldNode, bitBuffer, allocator);
+    viewBuffer.getReferenceManager().release();
+    viewBuffer = views.getReferenceManager().retain(views, allocator);
+    releaseDataBuffers();
+    for (int i = 2; i < ownBuffers.size(); i++) {
+      dataBuffers.add(shareDataBuffer(ownBuffers.get(i), allocator));
+    }
+
+    valueCount = fieldNode.getLength();
+  }
+
+  /**
+   * Get the buffers belonging to this vector: the validity buffer, the view buffer
+   * and the data buffers.
+   * @return the inner buffers.
+   */
+  @Override
+  public List<ArrowBuf> getFieldBuffers() {
+    List<ArrowBuf> result = new ArrayList<>(2 + dataBuffers.size());
+    setReaderAndWriterIndex();
+    result.add(validityBuffer);
+    result.add(viewBuffer);
+    result.addAll(dataBuffers);
+
+    return result;
+  }
+
+  /**
+   * Set the reader and writer indexes for the inner buffers. The writer index of a data buffer
+   * always marks the end of the bytes in use.
+   */
+  private void setReaderAndWriterIndex() {
+    validityBuffer.readerIndex(0);
+    viewBuffer.readerIndex(0);
+    if (valueCount == 0) {
+      validityBuffer.writerIndex(0);
+      viewBuffer.writerIndex(0);
+    } else {
+      validityBuffer.writerIndex(getValidityBufferSizeFromCount(valueCount));
+      viewBuffer.writerIndex((long) valueCount * VIEW_WIDTH);
+    }
+    for (ArrowBuf buffer : dataBuffers) {
+      buffer.readerIndex(0);
+    }
+  }
+
+  /**
+   * Same as {@link #allocateNewSafe()}.
+   */
+  @Override
+  public void allocateNew() {
+    allocateNew(lastValueCapacity);
+  }
+
+  /**
+   * Allocate memory for the vector. We internally use a default value count
+   * of 4096 to allocate memory for at least these many elements in the
+   * vector. See {@link #allocateNew(int)} for allocating memory for specific
+   * number of elements in the vector.
+   *
+   * @return false if memory allocation fails, true otherwise.
+   */
+  @Override
+  public boolean allocateNewSafe() {
+    try {
+      allocateNew(lastValueCapacity);
+      return true;
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  /**
+   * Allocate memory for the vector to support storing at least the provided number of
+   * elements in the vector. This method must be called prior to using the ValueVector.
+   * The data buffers are allocated on demand, when the first value that cannot be
+   * inlined is set, and the first of them will hold at least {@code totalBytes} bytes.
+   *
+   * @param totalBytes desired size of the first data buffer
+   * @param valueCount the desired number of elements in the vector
+   * @throws org.apache.arrow.memory.OutOfMemoryException if memory allocation fails
+   */
+  @Override
+  public void allocateNew(long totalBytes, int valueCount) {
+    Preconditions.checkArgument(totalBytes >= 0, "totalBytes must not be negative");
+    if (totalBytes > 0) {
+      initialDataBufferSize = Math.min(totalBytes, Integer.MAX_VALUE);
+    }
+    allocateNew(valueCount);
+  }
+
+  /**
+   * Allocate memory for the validity and view buffers of at least the provided number of elements.
+   *
+   * @param valueCount the desired number of elements in the vector
+   * @throws org.apache.arrow.memory.OutOfMemoryException if memory allocation fails
+   */
+  @Override
+  public void allocateNew(int valueCount) {
+    computeAndCheckViewBufferSize(valueCount);
+
+    /* we are doing a new allocation -- release the current buffers */
+    clear();
+
+    try {
+      allocateValidityAndViewBuffers(valueCount);
+    } catch (Exception e) {
+      clear();
+      throw e;
+    }
+  }
+
+  private long computeAndCheckViewBufferSize(int valueCount) {
+    final long size = computeCombinedBufferSize(valueCount, VIEW_WIDTH);
+    if (size > MAX_ALLOCATION_SIZE) {
+      throw new OversizedAllocationException("Memory required for vector capacity " +
+          valueCount +
+          " is (" + size + "), which is more than max allowed (" + MAX_ALLOCATION_SIZE + ")");
+    }
+    return size;
+  }
+
+  private void allocateValidityAndViewBuffers(int valueCount) {
+    DataAndValidityBuffers buffers = allocFixedDataAndValidityBufs(valueCount, VIEW_WIDTH);
+    viewBuffer = buffers.getDataBuf();
+    validityBuffer = buffers.getValidityBuf();
+    zeroVector();
+    lastValueCapacity = getValueCapacity();
+  }
+
+  /**
+   * Resize the vector to double the number of values it can hold. The data buffers are not
+   * reallocated, new data buffers are added as needed instead.
+   *
+   * @throws OversizedAllocationException if the desired new size is more than
+   *                                      max allowed
+   * @throws OutOfMemoryException if the internal memory allocation fails
+   */
+  @Override
+  public void reAlloc() {
+    final long currentViewBufferCapacity = viewBuffer.capacity();
+    long newViewBufferSize = currentViewBufferCapacity * 2;
+    if (newViewBufferSize == 0) {
+      if (lastValueCapacity > 0) {
+        newViewBufferSize = (long) lastValueCapacity * VIEW_WIDTH;
+      } else {
+        newViewBufferSize = (long) INITIAL_VALUE_ALLOCATION * VIEW_WIDTH * 2;
+      }
+    }
+    newViewBufferSize = CommonUtil.nextPowerOfTwo(newViewBufferSize);
+    if (newViewBufferSize > MAX_ALLOCATION_SIZE) {
+      throw new OversizedAllocationException("Unable to expand the buffer");
+    }
+    final int newValueCapacity = capAtMaxInt(newViewBufferSize / VIEW_WIDTH);
+    final long newValidityBufferSize = getValidityBufferSizeFromCount(newValueCapacity);
+
+    final ArrowBuf newViewBuffer = allocator.buffer(newViewBufferSize);
+    newViewBuffer.setBytes(0, viewBuffer, 0, currentViewBufferCapacity);
+    newViewBuffer.setZero(currentViewBufferCapacity, newViewBuffer.capacity() - currentViewBufferCapacity);
+    viewBuffer.getReferenceManager().release();
+    viewBuffer = newViewBuffer;
+
+    final long currentValidityBufferCapacity = validityBuffer.capacity();
+    final ArrowBuf newValidityBuffer = allocator.buffer(Math.max(newValidityBufferSize, currentValidityBufferCapacity));
+    newValidityBuffer.setBytes(0, validityBuffer, 0, currentValidityBufferCapacity);
+    newValidityBuffer.setZero(currentValidityBufferCapacity,
+        newValidityBuffer.capacity() - currentValidityBufferCapacity);
+    validityBuffer.getReferenceManager().release();
+    validityBuffer = newValidityBuffer;
+
+    lastValueCapacity = getValueCapacity();
+  }
+
+  /**
+   * Get the total capacity of the data buffers.
+   *
+   * @return number of bytes the data buffers can hold
+   */
+  @Override
+  public int getByteCapacity() {
+    long capacity = 0;
+    for (ArrowBuf buffer : dataBuffers) {
+      capacity += buffer.capacity();
+    }
+    return capAtMaxInt(capacity);
+  }
+
+  /**
+   * Get the number of bytes in use in the data buffers. Values short enough to be inlined
+   * in their views are not included.
+   *
+   * @return number of bytes in the data buffers
+   */
+  @Override
+  public int sizeOfValueBuffer() {
+    long size = 0;
+    for (ArrowBuf buffer : dataBuffers) {
+      size += buffer.writerIndex();
+    }
+    return capAtMaxInt(size);
+  }
+
+  /**
+   * Get the size (number of bytes) of underlying buffers used by this
+   * vector.
+   * @return size of underlying buffers.
+   */
+  @Override
+  public int getBufferSize() {
+    if (valueCount == 0) {
+      return 0;
+    }
+    final long viewBufferSize = (long) valueCount * VIEW_WIDTH;
+    return capAtMaxInt(getValidityBufferSizeFromCount(valueCount) + viewBufferSize + sizeOfValueBuffer());
+  }
+
+  /**
+   * Get the potential buffer size for a particular number of records.
+   * @param valueCount desired number of elements in the vector
+   * @return estimated size of underlying buffers if the vector holds
+   *         a given number of elements
+   */
+  @Override
+  public int getBufferSizeFor(final int valueCount) {
+    if (valueCount == 0) {
+      return 0;
+    }
+    long dataSize = 0;
+    for (int i = 0; i < valueCount; i++) {
+      final int length = getValueLength(i);
+      if (length > INLINE_SIZE) {
+        dataSize += length;
+      }
+    }
+    final long viewBufferSize = (long) valueCount * VIEW_WIDTH;
+    return capAtMaxInt(getValidityBufferSizeFromCount(valueCount) + viewBufferSize + dataSize);
+  }
+
+  /**
+   * Get information about how this field is materialized.
+   * @return the field corresponding to this vector
+   */
+  @Override
+  public Field getField() {
+    return field;
+  }
+
+  /**
+   * Return the underlying buffers associated with this vector. Note that this doesn't
+   * impact the reference counts for this buffer so it only should be used for in-context
+   * access. Also note that this buffer changes regularly thus
+   * external classes shouldn't hold a reference to it (unless they change it).
+   *
+   * @param clear Whether to clear vector before returning; the buffers will still be refcounted
+   *              but the returned array will be the only reference to them
+   * @return The underlying {@link ArrowBuf buffers} that is used by this
+   *         vector instance.
+   */
+  @Override
+  public ArrowBuf[] getBuffers(boolean clear) {
+    final ArrowBuf[] buffers;
+    setReaderAndWriterIndex();
+    if (getBufferSize() == 0) {
+      buffers = new ArrowBuf[0];
+    } else {
+      buffers = new ArrowBuf[2 + dataBuffers.size()];
+      buffers[0] = validityBuffer;
+      buffers[1] = viewBuffer;
+      for (int i = 0; i < dataBuffers.size(); i++) {
+        buffers[2 + i] = dataBuffers.get(i);
+      }
+    }
+    if (clear) {
+      for (final ArrowBuf buffer : buffers) {
+        buffer.getReferenceManager().retain();
+      }
+      clear();
+    }
+    return buffers;
+  }
+
+  /**
+   * Validate the scalar values held by this vector.
+   */
+  public void validateScalars() {
+    // No validation by default.
+  }
+
+  @Override
+  public TransferPair getTransferPair(Field field, BufferAllocator allocator, CallBack callBack) {
+    return getTransferPair(field, allocator);
+  }
+
+  @Override
+  public TransferPair getTransferPair(String ref, BufferAllocator allocator, CallBack callBack) {
+    return getTransferPair(ref, allocator);
+  }
+
+  @Override
+  public TransferPair getTransferPair(BufferAllocator allocator) {
+    return getTransferPair(getName(), allocator);
+  }
+
+  @Override
+  public abstract TransferPair getTransferPair(String ref, BufferAllocator allocator);
+
+  @Override
+  public abstract TransferPair getTransferPair(Field field, BufferAllocator allocator);
+
+  /**
+   * Transfer this vector'data to another vector. The memory associated
+   * with this vector is transferred to the allocator of target vector
+   * for accounting and management purposes.
+   * @param target destination vector for transfer
+   */
+  public void transferTo(BaseVariableWidthViewVector target) {
+    compareTypes(target, "transferTo");
+    target.clear();
+    target.validityBuffer = transferBuffer(validityBuffer, target.allocator);
+    target.viewBuffer = transferBuffer(viewBuffer, target.allocator);
+    for (ArrowBuf buffer : dataBuffers) {
+      target.dataBuffers.add(transferBuffer(buffer, target.allocator));
+    }
+    target.valueCount = this.valueCount;
+    target.setReaderAndWriterIndex();
+    clear();
+  }
+
+  /**
+   * Slice this vector at desired index and length and transfer the
+   * corresponding data to the target vector. The views are sliced and the
+   * data buffers are shared with the target vector, no value is copied.
+   * @param startIndex start position of the split in source vector.
+   * @param length length of the split.
+   * @param target destination vector
+   */
+  public void splitAndTransferTo(int startIndex, int length, BaseVariableWidthViewVector target) {
+    Preconditions.checkArgument(startIndex >= 0 && length >= 0 && startIndex + length <= valueCount,
+        "Invalid parameters startIndex: %s, length: %s for valueCount: %s", startIndex, length, valueCount);
+    compareTypes(target, "splitAndTransferTo");
+    target.clear();
+    if (length > 0) {
+      splitAndTransferValidityBuffer(startIndex, length, target);
+      final ArrowBuf slicedViewBuffer = viewBuffer.slice((long) startIndex * VIEW_WIDTH, (long) length * VIEW_WIDTH);
+      target.viewBuffer = transferBuffer(slicedViewBuffer, target.allocator);
+      // the views keep referring to the data buffers by their position
+      for (ArrowBuf buffer : dataBuffers) {
+        target.dataBuffers.add(shareDataBuffer(buffer, target.allocator));
+      }
+      target.setValueCount(length);
+    }
+  }
+
+  /*
+   * Transfer the validity.
+   */
+  private void splitAndTransferValidityBuffer(int startIndex, int length,
+                                              BaseVariableWidthViewVector target) {
+    final int firstByteSource = BitVectorHelper.byteIndex(startIndex);
+    final int lastByteSource = BitVectorHelper.byteIndex(valueCount - 1);
+    final int byteSizeTarget = getValidityBufferSizeFromCount(length);
+    final int offset = startIndex % 8;
+
+    if (offset == 0) {
+      // slice
+      if (target.validityBuffer != null) {
+        target.validityBuffer.getReferenceManager().release();
+      }
+      final ArrowBuf slicedValidityBuffer = validityBuffer.slice(firstByteSource, byteSizeTarget);
+      target.validityBuffer = transferBuffer(slicedValidityBuffer, target.allocator);
+      return;
+    }
+
+    /* Copy data
+     * When the first bit starts from the middle of a byte (offset != 0),
+     * copy data from src BitVector.
+     * Each byte in the target is composed by a part in i-th byte,
+     * another part in (i+1)-th byte.
+     */
+    target.validityBuffer.getReferenceManager().release();
+    target.validityBuffer = allocator.buffer(byteSizeTarget);
+    target.validityBuffer.setZero(0, target.validityBuffer.capacity());
+
+    for (int i = 0; i < byteSizeTarget - 1; i++) {
+      byte b1 = BitVectorHelper.getBitsFromCurrentByte(this.validityBuffer, firstByteSource + i, offset);
+      byte b2 = BitVectorHelper.getBitsFromNextByte(this.validityBuffer, firstByteSource + i + 1, offset);
+
+      target.validityBuffer.setByte(i, (b1 + b2));
+    }
+    /* Copying the last piece is done in the following manner:
+     * if the source vector has 1 or more bytes remaining, we copy
+     * the last piece as a byte formed by shifting data
+     * from the current byte and the next byte.
+     *
+     * if the source vector has no more bytes remaining
+     * (we are at the last byte), we copy the last piece as a byte
+     * by shifting data from the current byte.
+     */
+    if ((firstByteSource + byteSizeTarget - 1) < lastByteSource) {
+      byte b1 = BitVectorHelper.getBitsFromCurrentByte(this.validityBuffer,
+          firstByteSource + byteSizeTarget - 1, offset);
+      byte b2 = BitVectorHelper.getBitsFromNextByte(this.validityBuffer,
+          firstByteSource + byteSizeTarget, offset);
+
+      target.validityBuffer.setByte(byteSizeTarget - 1, b1 + b2);
+    } else {
+      byte b1 = BitVectorHelper.getBitsFromCurrentByte(this.validityBuffer,
+          firstByteSource + byteSizeTarget - 1, offset);
+      target.validityBuffer.setByte(byteSizeTarget - 1, b1);
+    }
+  }
+
+  /**
+   * Share the data buffers of another vector with this vector, without copying them, so that
+   * views copied from the other vector can refer to them. The buffer index of such views must be
+   * increased by the returned value.
+   *
+   * @param from the vector whose data buffers are shared
+   * @return the position of the first shared buffer among the data buffers of this vector
+   */
+  public int shareDataBuffers(BaseVariableWidthViewVector from) {
+    compareTypes(from, "shareDataBuffers");
+    final int bufferIndexShift = dataBuffers.size();
+    for (ArrowBuf buffer : from.dataBuffers) {
+      dataBuffers.add(shareDataBuffer(buffer, allocator));
+    }
+    return bufferIndexShift;
+  }
+
+  /**
+   * Get a reference to the used part of a data buffer, accounted to the given allocator. The
+   * reference is full, so values set later are never appended to memory another vector may use.
+   */
+  private static ArrowBuf shareDataBuffer(ArrowBuf buffer, BufferAllocator allocator) {
+    final ArrowBuf used = buffer.slice(0, buffer.writerIndex());
+    return used.getReferenceManager().retain(used, allocator);
+  }
+
+
+  /*----------------------------------------------------------------*
+   |                                                                |
+   |                common getters and setters                      |
+   |                                                                |
+   *----------------------------------------------------------------*/
+
+
+  /**
+   * Get the number of elements that are null in the vector.
+   *
+   * @return the number of null elements.
+   */
+  @Override
+  public int getNullCount() {
+    return BitVectorHelper.getNullCount(validityBuffer, valueCount);
+  }
+
+  /**
+   * Check if the given index is within the current value capacity
+   * of the vector.
+   *
+   * @param index  position to check
+   * @return true if index is within the current value capacity
+   */
+  public boolean isSafe(int index) {
+    return index < getValueCapacity();
+  }
+
+  /**
+   * Check if element at given index is null.
+   *
+   * @param index  position of element
+   * @return true if element at given index is null
+   */
+  @Override
+  public boolean isNull(int index) {
+    return (isSet(index) == 0);
+  }
+
+  /**
+   * Same as {@link #isNull(int)}.
+   *
+   * @param index  position of element
+   * @return 1 if element at given index is not null, 0 otherwise
+   */
+  public int isSet(int index) {
+    final int byteIndex = index >> 3;
+    final byte b = validityBuffer.getByte(byteIndex);
+    final int bitIndex = index & 7;
+    return (b >> bitIndex) & 0x01;
+  }
+
+  /**
+   * Get the value count of vector. This will always be zero unless
+   * setValueCount(int) has been called prior to calling this.
+   *
+   * @return valueCount for the vector
+   */
+  @Override
+  public int getValueCount() {
+    return valueCount;
+  }
+
+  /**
+   * Sets the value count for the vector.
+   *
+   * @param valueCount   value count
+   */
+  @Override
+  public void setValueCount(int valueCount) {
+    assert valueCount >= 0;
+    this.valueCount = valueCount;
+    while (valueCount > getValueCapacity()) {
+      reAlloc();
+    }
+    setReaderAndWriterIndex();
+  }
+
+  /**
+   * Mark the particular position in the vector as non-null.
+   *
+   * @param index position of the element.
+   */
+  @Override
+  public void setIndexDefined(int index) {
+    handleSafe(index);
+    BitVectorHelper.setBit(validityBuffer, index);
+  }
+
+  /**
+   * Get the length of the element at specified index.
+   *
+   * @param index   position of element to get
+   * @return greater than 0 length for non-null element, 0 otherwise
+   */
+  public int getValueLength(int index) {
+    assert index >= 0;
+    if (isSet(index) == 0) {
+      return 0;
+    }
+    return viewBuffer.getInt((long) index * VIEW_WIDTH);
+  }
+
+  /**
+   * Get the variable length element at specified index as byte array.
+   *
+   * @param index   position of element to get
+   * @return array of bytes for non-null element, null otherwise
+   */
+  public byte[] get(int index) {
+    assert index >= 0;
+    if (NULL_CHECKING_ENABLED && isSet(index) == 0) {
+      return null;
+    }
+    final long viewOffset = (long) index * VIEW_WIDTH;
+    final int dataLength = viewBuffer.getInt(viewOffset);
+    final byte[] result = new byte[dataLength];
+    getValueBuffer(viewOffset, dataLength).getBytes(getValueStart(viewOffset, dataLength), result, 0, dataLength);
+    return result;
+  }
+
+  /**
+   * Read the value at the given position to the given output buffer.
+   * The caller is responsible for checking for nullity first.
+   *
+   * @param index position of element.
+   * @param buffer the buffer to write into.
+   */
+  public void read(int index, ReusableBuffer<?> buffer) {
+    final long viewOffset = (long) index * VIEW_WIDTH;
+    final int dataLength = viewBuffer.getInt(viewOffset);
+    buffer.set(getValueBuffer(viewOffset, dataLength), getValueStart(viewOffset, dataLength), dataLength);
+  }
+
+  /**
+   * Get the buffer holding the bytes of the value with the given view: the view buffer itself
+   * for inlined values, one of the data buffers otherwise.
+   */
+  protected final ArrowBuf getValueBuffer(long viewOffset, int dataLength) {
+    if (dataLength <= INLINE_SIZE) {
+      return viewBuffer;
+    }
+    return dataBuffers.get(viewBuffer.getInt(viewOffset + BUFFER_INDEX_OFFSET));
+  }
+
+  /**
+   * Get the position of the bytes of the value with the given view in the buffer returned by
+   * {@link #getValueBuffer(long, int)}.
+   */
+  protected final long getValueStart(long viewOffset, int dataLength) {
+    if (dataLength <= INLINE_SIZE) {
+      return viewOffset + LENGTH_WIDTH;
+    }
+    return viewBuffer.getInt(viewOffset + BUFFER_OFFSET_OFFSET);
+  }
+
+  /**
+   * Set the variable length element at the specified index to the supplied
+   * byte array. This is same as using {@link #set(int, byte[], int, int)}
+   * with start as 0 and length as value.length
+   *
+   * @param index   position of the element to set
+   * @param value   array of bytes to write
+   */
+  public void set(int index, byte[] value) {
+    set(index, value, 0, value.length);
+  }
+
+  /**
+   * Same as {@link #set(int, byte[])} except that it handles the
+   * case where index and length of new element are beyond the existing
+   * capacity of the vector.
+   *
+   * @param index   position of the element to set
+   * @param value   array of bytes to write
+   */
+  public void setSafe(int index, byte[] value) {
+    setSafe(index, value, 0, value.length);
+  }
+
+  /**
+   * Set the variable length element at the specified index to the supplied
+   * byte array.
+   *
+   * @param index   position of the element to set
+   * @param value   array of bytes to write
+   * @param start   start index in array of bytes
+   * @param length  length of data in array of bytes
+   */
+  public void set(int index, byte[] value, int start, int length) {
+    assert index >= 0;
+    BitVectorHelper.setBit(validityBuffer, index);
+    final long viewOffset = (long) index * VIEW_WIDTH;
+    viewBuffer.setInt(viewOffset, length);
+    if (length <= INLINE_SIZE) {
+      viewBuffer.setBytes(viewOffset + LENGTH_WIDTH, value, start, length);
+      viewBuffer.setZero(viewOffset + LENGTH_WIDTH + length, INLINE_SIZE - length);
+    } else {
+      final ArrowBuf dataBuffer = getDataBufferForAppend(length);
+      final long dataOffset = dataBuffer.writerIndex();
+      dataBuffer.setBytes(dataOffset, value, start, length);
+      dataBuffer.writerIndex(dataOffset + length);
+      viewBuffer.setBytes(viewOffset + LENGTH_WIDTH, value, start, PREFIX_WIDTH);
+      viewBuffer.setInt(viewOffset + BUFFER_INDEX_OFFSET, dataBuffers.size() - 1);
+      viewBuffer.setInt(viewOffset + BUFFER_OFFSET_OFFSET, (int) dataOffset);
+    }
+  }
+
+  /**
+   * Same as {@link #set(int, byte[], int, int)} except that it handles the
+   * case where index and length of new element are beyond the existing
+   * capacity of the vector.
+   *
+   * @param index   position of the element to set
+   * @param value   array of bytes to write
+   * @param start   start index in array of bytes
+   * @param length  length of data in array of bytes
+   */
+  public void setSafe(int index, byte[] value, int start, int length) {
+    handleSafe(index);
+    set(index, value, start, length);
+  }
+
+  /**
+   * Set the element at the given index to the content of the given buffer.
+   *
+   * @param index   position of the new value
+   * @param start   start position of the value in the buffer
+   * @param length  length of the value
+   * @param buffer  buffer containing the value to be stored in the vector
+   */
+  public void set(int index, long start, int length, ArrowBuf buffer) {
+    assert index >= 0;
+    BitVectorHelper.setBit(validityBuffer, index);
+    final long viewOffset = (long) index * VIEW_WIDTH;
+    viewBuffer.setInt(viewOffset, length);
+    if (length <= INLINE_SIZE) {
+      viewBuffer.setBytes(viewOffset + LENGTH_WIDTH, buffer, start, length);
+      viewBuffer.setZero(viewOffset + LENGTH_WIDTH + length, INLINE_SIZE - length);
+    } else {
+      final ArrowBuf dataBuffer = getDataBufferForAppend(length);
+      final long dataOffset = dataBuffer.writerIndex();
+      dataBuffer.setBytes(dataOffset, buffer, start, length);
+      dataBuffer.writerIndex(dataOffset + length);
+      viewBuffer.setBytes(viewOffset + LENGTH_WIDTH, buffer, start, PREFIX_WIDTH);
+      viewBuffer.setInt(viewOffset + BUFFER_INDEX_OFFSET, dataBuffers.size() - 1);
+      viewBuffer.setInt(viewOffset + BUFFER_OFFSET_OFFSET, (int) dataOffset);
+    }
+  }
+
+  /**
+   * Same as {@link #set(int, long, int, ArrowBuf)} except that it handles the
+   * case where index is beyond the existing capacity of the vector.
+   *
+   * @param index   position of the new value
+   * @param start   start position of the value in the buffer
+   * @param length  length of the value
+   * @param buffer  buffer containing the value to be stored in the vector
+   */
+  public void setSafe(int index, long start, int length, ArrowBuf buffer) {
+    handleSafe(index);
+    set(index, start, length, buffer);
+  }
+
+  /**
+   * Set the element at the given index to null.
+   *
+   * @param index   position of element
+   */
+  @Override
+  public void setNull(int index) {
+    handleSafe(index);
+    BitVectorHelper.unsetBit(validityBuffer, index);
+    viewBuffer.setZero((long) index * VIEW_WIDTH, VIEW_WIDTH);
+  }
+
+  /**
+   * Get the data buffer the next out-of-line value of the given length is appended to, adding
+   * a data buffer when the last one is full. Data buffers double in size, up to a limit, and a
+   * value longer than that gets a buffer of its own.
+   */
+  private ArrowBuf getDataBufferForAppend(int length) {
+    if (!dataBuffers.isEmpty()) {
+      ArrowBuf last = dataBuffers.get(dataBuffers.size() - 1);
+      if (last.capacity() - last.writerIndex() >= length) {
+        return last;
+      }
+    }
+    final ArrowBuf buffer = allocator.buffer(Math.max(nextDataBufferSize, length));
+    buffer.readerIndex(0);
+    buffer.writerIndex(0);
+    dataBuffers.add(buffer);
+    nextDataBufferSize = Math.min(nextDataBufferSize * 2, Math.max(MAX_DATA_BUFFER_SIZE, initialDataBufferSize));
+    return buffer;
+  }
+
+  /**
+   * Make sure the validity and view buffers can hold the element at the given index.
+   */
+  protected final void handleSafe(int index) {
+    while (index >= getValueCapacity()) {
+      reAlloc();
+    }
+  }
+
+  /**
+   * Copy a cell value from a particular index in source vector to a particular
+   * position in this vector.
+   *
+   * @param fromIndex position to copy from in source vector
+   * @param thisIndex position to copy to in this vector
+   * @param from source vector
+   */
+  @Override
+  public void copyFrom(int fromIndex, int thisIndex, ValueVector from) {
+    Preconditions.checkArgument(this.getMinorType() == from.getMinorType());
+    if (from.isNull(fromIndex)) {
+      BitVectorHelper.unsetBit(this.validityBuffer, thisIndex);
+      viewBuffer.setZero((long) thisIndex * VIEW_WIDTH, VIEW_WIDTH);
+    } else {
+      final BaseVariableWidthViewVector fromVector = (BaseVariableWidthViewVector) from;
+      final long viewOffset = (long) fromIndex * VIEW_WIDTH;
+      final int length = fromVector.viewBuffer.getInt(viewOffset);
+      set(thisIndex, fromVector.getValueStart(viewOffset, length), length,
+          fromVector.getValueBuffer(viewOffset, length));
+    }
+  }
+
+  /**
+   * Same as {@link #copyFrom(int, int, ValueVector)} except that
+   * it handles the case when the capacity of the vector needs to be expanded
+   * before copy.
+   *
+   * @param fromIndex position to copy from in source vector
+   * @param thisIndex position to copy to in this vector
+   * @param from source vector
+   */
+  @Override
+  public void copyFromSafe(int fromIndex, int thisIndex, ValueVector from) {
+    handleSafe(thisIndex);
+    copyFrom(fromIndex, thisIndex, from);
+  }
+
+  @Override
+  public ArrowBufPointer getDataPointer(int index) {
+    return getDataPointer(index, new ArrowBufPointer());
+  }
+
+  @Override
+  public ArrowBufPointer getDataPointer(int index, ArrowBufPointer reuse) {
+    if (isNull(index)) {
+      reuse.set(null, 0, 0);
+    } else {
+      final long viewOffset = (long) index * VIEW_WIDTH;
+      final int length = viewBuffer.getInt(viewOffset);
+      reuse.set(getValueBuffer(viewOffset, length), getValueStart(viewOffset, length), length);
+    }
+    return reuse;
+  }
+
+  @Override
+  public int hashCode(int index) {
+    return hashCode(index, null);
+  }
+
+  @Override
+  public int hashCode(int index, ArrowBufHasher hasher) {
+    if (isNull(index)) {
+      return ArrowBufPointer.NULL_HASH_CODE;
+    }
+    final long viewOffset = (long) index * VIEW_WIDTH;
+    final int length = viewBuffer.getInt(viewOffset);
+    final long start = getValueStart(viewOffset, length);
+    return ByteFunctionHelpers.hash(hasher, getValueBuffer(viewOffset, length), start, start + length);
+  }
+
+  @Override
+  public <OUT, IN> OUT accept(VectorVisitor<OUT, IN> visitor, IN value) {
+    return visitor.visit(this, value);
+  }
+}
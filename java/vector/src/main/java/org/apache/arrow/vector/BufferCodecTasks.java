@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * Runs the compression or decompression of the buffers of a batch concurrently on an {@link Executor}.
+ */
+final class BufferCodecTasks {
+
+  private BufferCodecTasks() {
+  }
+
+  /**
+   * Runs the given tasks with at most {@code maxConcurrency} of them in flight at any time.
+   *
+   * <p>The results are in the order of the tasks. If a task fails, no further task is started, the results
+   * of the completed tasks are closed once all the running tasks have finished, and the failure is rethrown.
+   *
+   * @param tasks          the tasks producing the buffers
+   * @param executor       the executor running the tasks
+   * @param maxConcurrency the maximum number of tasks submitted and not yet completed
+   * @return the buffers produced by the tasks
+   */
+  static ArrowBuf[] run(List<Supplier<ArrowBuf>> tasks, Executor executor, int maxConcurrency) {
+    Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+    final ArrowBuf[] results = new ArrowBuf[tasks.size()];
+    final ArrayDeque<CompletableFuture<Void>> inFlight = new ArrayDeque<>(Math.min(maxConcurrency, tasks.size()));
+    Throwable failure = null;
+
+    for (int i = 0; i < tasks.size() && failure == null; i++) {
+      if (inFlight.size() >= maxConcurrency) {
+        failure = await(inFlight.poll());
+        if (failure != null) {
+          break;
+        }
+      }
+      final int index = i;
+      final Supplier<ArrowBuf> task = tasks.get(i);
+      try {
+        inFlight.add(CompletableFuture.runAsync(() -> results[index] = task.get(), executor));
+      } catch (RuntimeException e) {
+        failure = e;
+      }
+    }
+
+    while (!inFlight.isEmpty()) {
+      final Throwable taskFailure = await(inFlight.poll());
+      if (taskFailure != null) {
+        if (failure == null) {
+          failure = taskFailure;
+        } else if (failure != taskFailure) {
+          failure.addSuppressed(taskFailure);
+        }
+      }
+    }
+
+    if (failure != null) {
+      AutoCloseables.close(failure, results);
+      if (failure instanceof RuntimeException) {
+        throw (RuntimeException) failure;
+      }
+      if (failure instanceof Error) {
+        throw (Error) failure;
+      }
+      throw new RuntimeException(failure);
+    }
+    return results;
+  }
+
+  private static Throwable await(CompletableFuture<Void> future) {
+    try {
+      future.join();
+      return null;
+    } catch (CompletionException e) {
+      return e.getCause() == null ? e : e.getCause();
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+}
@@ -33,7 +33,9 @@ public class BufferLayout {
     DATA("DATA"),
     OFFSET("OFFSET"),
     VALIDITY("VALIDITY"),
-    TYPE("TYPE_ID");
+    TYPE("TYPE_ID"),
+    VIEWS("VIEWS"),
+    SIZE("SIZE");
 
     private final String name;
 
@@ -49,6 +51,8 @@ public class BufferLayout {
   private static final BufferLayout VALIDITY_BUFFER = new BufferLayout(BufferType.VALIDITY, 1);
   private static final BufferLayout OFFSET_BUFFER = new BufferLayout(BufferType.OFFSET, 32);
   private static final BufferLayout LARGE_OFFSET_BUFFER = new BufferLayout(BufferType.OFFSET, 64);
+  private static final BufferLayout SIZE_BUFFER = new BufferLayout(BufferType.SIZE, 32);
+  private static final BufferLayout LARGE_SIZE_BUFFER = new BufferLayout(BufferType.SIZE, 64);
   private static final BufferLayout TYPE_BUFFER = new BufferLayout(BufferType.TYPE, 32);
   private static final BufferLayout BIT_BUFFER = new BufferLayout(BufferType.DATA, 1);
   private static final BufferLayout VALUES_256 = new BufferLayout(BufferType.DATA, 256);
@@ -57,6 +61,7 @@ public class BufferLayout {
   private static final BufferLayout VALUES_32 = new BufferLayout(BufferType.DATA, 32);
   private static final BufferLayout VALUES_16 = new BufferLayout(BufferType.DATA, 16);
   private static final BufferLayout VALUES_8 = new BufferLayout(BufferType.DATA, 8);
+  private static final BufferLayout VIEW_BUFFER = new BufferLayout(BufferType.VIEWS, 128);
 
   public static BufferLayout typeBuffer() {
     return TYPE_BUFFER;
@@ -70,6 +75,14 @@ public class BufferLayout {
     return LARGE_OFFSET_BUFFER;
   }
 
+  public static BufferLayout sizeBuffer() {
+    return SIZE_BUFFER;
+  }
+
+  public static BufferLayout largeSizeBuffer() {
+    return LARGE_SIZE_BUFFER;
+  }
+
   /**
    * Returns a databuffer for the given bitwidth.  Only supports powers of two between 8 and 128
    * inclusive.
@@ -105,6 +118,10 @@ public class BufferLayout {
     return dataBuffer(8);
   }
 
+  public static BufferLayout viewVector() {
+    return VIEW_BUFFER;
+  }
+
   private final short typeBitWidth;
 
   private final BufferType type;
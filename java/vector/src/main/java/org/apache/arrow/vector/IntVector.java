@@ -21,6 +21,8 @@ import static org.apache.arrow.vector.NullCheckingForGet.NULL_CHECKING_ENABLED;
 
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.complex.impl.IntReaderImpl;
 import org.apache.arrow.vector.complex.reader.FieldReader;
 import org.apache.arrow.vector.holders.IntHolder;
@@ -37,6 +39,7 @@ import org.apache.arrow.vector.util.TransferPair;
  */
 public final class IntVector extends BaseFixedWidthVector implements BaseIntVector {
   public static final byte TYPE_WIDTH = 4;
+  private static final long ARRAY_BASE_OFFSET = MemoryUtil.UNSAFE.arrayBaseOffset(int[].class);
 
   /**
    * Instantiate a IntVector. This doesn't allocate any memory for
@@ -261,6 +264,52 @@ public final class IntVector extends BaseFixedWidthVector implements BaseIntVect
     set(index, isSet, value);
   }
 
+  /**
+   * Copy the values in [index, index + length) into an array with a single block copy.
+   * Validity is not checked: null values are copied as whatever their slot holds, so
+   * callers that need to distinguish nulls should consult {@link #isNull(int)} or the
+   * validity buffer.
+   *
+   * @param index     position of the first value
+   * @param length    number of values
+   * @param dest      the array to fill
+   * @param destIndex position in dest of the first value
+   */
+  public void getValues(int index, int length, int[] dest, int destIndex) {
+    Preconditions.checkPositionIndexes(destIndex, destIndex + length, dest.length);
+    copyValuesTo(index, length, dest, ARRAY_BASE_OFFSET + (long) destIndex * TYPE_WIDTH);
+  }
+
+  /**
+   * Set the values in [index, index + length) from an array with a single block copy, and
+   * mark them as not null. Reallocates the buffers if needed.
+   *
+   * @param index       position of the first value
+   * @param values      the values to copy
+   * @param valuesIndex position in values of the first value
+   * @param length      number of values
+   */
+  public void setValuesSafe(int index, int[] values, int valuesIndex, int length) {
+    Preconditions.checkPositionIndexes(valuesIndex, valuesIndex + length, values.length);
+    copyValuesFrom(index, values, ARRAY_BASE_OFFSET + (long) valuesIndex * TYPE_WIDTH, length);
+  }
+
+  /**
+   * Same as {@link #setValuesSafe(int, int[], int, int)}, except that the validity of the values
+   * is read from a bitmap, where bit {@code valuesIndex + i} gives the validity of
+   * {@code values[valuesIndex + i]}.
+   *
+   * @param index       position of the first value
+   * @param values      the values to copy
+   * @param valuesIndex position in values of the first value
+   * @param length      number of values
+   * @param validity    the validity bitmap, least significant bit first
+   */
+  public void setValuesSafe(int index, int[] values, int valuesIndex, int length, byte[] validity) {
+    setValuesSafe(index, values, valuesIndex, length);
+    setValidity(index, validity, valuesIndex, length);
+  }
+
   /**
    * Given a data buffer, get the value stored at a particular position
    * in the vector.
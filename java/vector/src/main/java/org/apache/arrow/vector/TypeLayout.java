@@ -117,6 +117,32 @@ public class TypeLayout {
         return new TypeLayout(vectors);
       }
 
+      @Override
+      public TypeLayout visit(ArrowType.ListView type) {
+        List<BufferLayout> vectors = asList(
+            BufferLayout.validityVector(),
+            BufferLayout.offsetBuffer(),
+            BufferLayout.sizeBuffer()
+        );
+        return new TypeLayout(vectors);
+      }
+
+      @Override
+      public TypeLayout visit(ArrowType.LargeListView type) {
+        List<BufferLayout> vectors = asList(
+            BufferLayout.validityVector(),
+            BufferLayout.largeOffsetBuffer(),
+            BufferLayout.largeSizeBuffer()
+        );
+        return new TypeLayout(vectors);
+      }
+
+      @Override
+      public TypeLayout visit(ArrowType.RunEndEncoded type) {
+        // run ends and values are stored in the child vectors
+        return new TypeLayout(Collections.<BufferLayout>emptyList());
+      }
+
       @Override
       public TypeLayout visit(FixedSizeList type) {
         List<BufferLayout> vectors = asList(
@@ -188,6 +214,21 @@ public class TypeLayout {
         return newLargeVariableWidthTypeLayout();
       }
 
+      @Override
+      public TypeLayout visit(ArrowType.Utf8View type) {
+        return newViewTypeLayout();
+      }
+
+      @Override
+      public TypeLayout visit(ArrowType.BinaryView type) {
+        return newViewTypeLayout();
+      }
+
+      private TypeLayout newViewTypeLayout() {
+        // the variadic data buffers are not part of the fixed layout
+        return newPrimitiveTypeLayout(BufferLayout.validityVector(), BufferLayout.viewVector());
+      }
+
       private TypeLayout newVariableWidthTypeLayout() {
         return newPrimitiveTypeLayout(BufferLayout.validityVector(), BufferLayout.offsetBuffer(),
           BufferLayout.byteVector());
@@ -251,6 +292,15 @@ public class TypeLayout {
     return layout;
   }
 
+  /**
+   * Whether vectors of the given type carry a variable number of data buffers
+   * in addition to the buffers described by their {@link TypeLayout}.
+   */
+  public static boolean hasVariadicBuffers(final ArrowType arrowType) {
+    ArrowType.ArrowTypeID typeID = arrowType.getTypeID();
+    return typeID == ArrowType.ArrowTypeID.Utf8View || typeID == ArrowType.ArrowTypeID.BinaryView;
+  }
+
   /**
    * Gets the number of {@link BufferLayout}s for the given <code>arrowType</code>.
    */
@@ -310,6 +360,24 @@ public class TypeLayout {
         return 2;
       }
 
+      @Override
+      public Integer visit(ArrowType.ListView type) {
+        // validity buffer + offset buffer + size buffer
+        return 3;
+      }
+
+      @Override
+      public Integer visit(ArrowType.LargeListView type) {
+        // validity buffer + offset buffer + size buffer
+        return 3;
+      }
+
+      @Override
+      public Integer visit(ArrowType.RunEndEncoded type) {
+        // no buffers, only the run ends and values children
+        return 0;
+      }
+
       @Override
       public Integer visit(FixedSizeList type) {
         // validity buffer
@@ -362,6 +430,17 @@ public class TypeLayout {
         return VARIABLE_WIDTH_BUFFER_COUNT;
       }
 
+      @Override
+      public Integer visit(ArrowType.Utf8View type) {
+        // validity and views, not counting the variadic data buffers
+        return 2;
+      }
+
+      @Override
+      public Integer visit(ArrowType.BinaryView type) {
+        return 2;
+      }
+
       @Override
       public Integer visit(Null type) {
         return 0;
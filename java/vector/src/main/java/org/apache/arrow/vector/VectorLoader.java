@@ -20,11 +20,16 @@ package org.apache.arrow.vector;
 import static org.apache.arrow.util.Preconditions.checkArgument;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.util.Collections2;
+import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.compression.CompressionCodec;
 import org.apache.arrow.vector.compression.CompressionUtil;
 import org.apache.arrow.vector.compression.NoCompressionCodec;
@@ -41,12 +46,21 @@ public class VectorLoader {
 
   private final CompressionCodec.Factory factory;
 
+  private final Executor executor;
+
+  private final int maxConcurrency;
+
   /**
    * A flag indicating if decompression is needed.
    * This will affect the behavior of releasing buffers.
    */
   private boolean decompressionNeeded;
 
+  /**
+   * A flag indicating if the buffers were decompressed before loading them.
+   */
+  private boolean buffersDecompressed;
+
   /**
    * Construct with a root to load and will create children in root based on schema.
    *
@@ -65,6 +79,30 @@ public class VectorLoader {
   public VectorLoader(VectorSchemaRoot root, CompressionCodec.Factory factory) {
     this.root = root;
     this.factory = factory;
+    this.executor = null;
+    this.maxConcurrency = 1;
+  }
+
+  /**
+   * Construct with a root to load, decompressing the buffers of compressed batches concurrently.
+   *
+   * <p>The buffers are decompressed on the given executor, with at most {@code maxConcurrency} of them
+   * being decompressed at any time. The codecs created by the factory must be safe to use from several
+   * threads.
+   *
+   * @param root the root to add vectors to based on schema.
+   * @param factory the factory to create codec.
+   * @param executor the executor decompressing the buffers.
+   * @param maxConcurrency the maximum number of buffers being decompressed at the same time.
+   */
+  public VectorLoader(VectorSchemaRoot root, CompressionCodec.Factory factory, Executor executor,
+      int maxConcurrency) {
+    Preconditions.checkNotNull(executor, "executor must not be null");
+    Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+    this.root = root;
+    this.factory = factory;
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
   }
 
   /**
@@ -76,12 +114,36 @@ public class VectorLoader {
   public void load(ArrowRecordBatch recordBatch) {
     Iterator<ArrowBuf> buffers = recordBatch.getBuffers().iterator();
     Iterator<ArrowFieldNode> nodes = recordBatch.getNodes().iterator();
+    Iterator<Long> variadicBufferCounts = recordBatch.getVariadicBufferCounts().iterator();
     CompressionUtil.CodecType codecType =
         CompressionUtil.CodecType.fromCompressionType(recordBatch.getBodyCompression().getCodec());
     decompressionNeeded = codecType != CompressionUtil.CodecType.NO_COMPRESSION;
     CompressionCodec codec = decompressionNeeded ? factory.createCodec(codecType) : NoCompressionCodec.INSTANCE;
-    for (FieldVector fieldVector : root.getFieldVectors()) {
-      loadBuffers(fieldVector, fieldVector.getField(), buffers, nodes, codec);
+    buffersDecompressed = false;
+    if (decompressionNeeded && executor != null) {
+      List<BufferAllocator> allocators = new ArrayList<>(recordBatch.getBuffers().size());
+      Iterator<Long> counts = recordBatch.getVariadicBufferCounts().iterator();
+      for (FieldVector fieldVector : root.getFieldVectors()) {
+        collectAllocators(fieldVector, fieldVector.getField(), allocators, counts);
+      }
+      // on a mismatch, loading sequentially reports the error
+      if (allocators.size() == recordBatch.getBuffers().size()) {
+        buffers = decompressConcurrently(recordBatch.getBuffers(), allocators, codec).iterator();
+        buffersDecompressed = true;
+      }
+    }
+    try {
+      for (FieldVector fieldVector : root.getFieldVectors()) {
+        loadBuffers(fieldVector, fieldVector.getField(), buffers, nodes, codec, variadicBufferCounts);
+      }
+    } catch (RuntimeException e) {
+      if (buffersDecompressed) {
+        // the decompressed buffers that were not loaded yet are owned by this loader
+        while (buffers.hasNext()) {
+          buffers.next().close();
+        }
+      }
+      throw e;
     }
     root.setRowCount(recordBatch.getLength());
     if (nodes.hasNext() || buffers.hasNext()) {
@@ -95,31 +157,35 @@ public class VectorLoader {
       Field field,
       Iterator<ArrowBuf> buffers,
       Iterator<ArrowFieldNode> nodes,
-      CompressionCodec codec) {
+      CompressionCodec codec,
+      Iterator<Long> variadicBufferCounts) {
     checkArgument(nodes.hasNext(), "no more field nodes for field %s and vector %s", field, vector);
     ArrowFieldNode fieldNode = nodes.next();
-    int bufferLayoutCount = TypeLayout.getTypeBufferCount(field.getType());
+    int bufferLayoutCount = getBufferCount(field, variadicBufferCounts);
     List<ArrowBuf> ownBuffers = new ArrayList<>(bufferLayoutCount);
-    for (int j = 0; j < bufferLayoutCount; j++) {
-      ArrowBuf nextBuf = buffers.next();
-      // for vectors without nulls, the buffer is empty, so there is no need to decompress it.
-      ArrowBuf bufferToAdd = nextBuf.writerIndex() > 0 ? codec.decompress(vector.getAllocator(), nextBuf) : nextBuf;
-      ownBuffers.add(bufferToAdd);
-      if (decompressionNeeded) {
-        // decompression performed
-        nextBuf.getReferenceManager().retain();
-      }
-    }
     try {
+      for (int j = 0; j < bufferLayoutCount; j++) {
+        ArrowBuf nextBuf = buffers.next();
+        if (buffersDecompressed) {
+          ownBuffers.add(nextBuf);
+          continue;
+        }
+        if (decompressionNeeded) {
+          ownBuffers.add(decompress(codec, vector.getAllocator(), nextBuf));
+        } else {
+          ownBuffers.add(nextBuf);
+        }
+      }
       vector.loadFieldBuffers(fieldNode, ownBuffers);
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Could not load buffers for field " +
+          field + ". error message: " + e.getMessage(), e);
+    } finally {
       if (decompressionNeeded) {
         for (ArrowBuf buf : ownBuffers) {
           buf.close();
         }
       }
-    } catch (RuntimeException e) {
-      throw new IllegalArgumentException("Could not load buffers for field " +
-          field + ". error message: " + e.getMessage(), e);
     }
     List<Field> children = field.getChildren();
     if (children.size() > 0) {
@@ -130,8 +196,65 @@ public class VectorLoader {
       for (int i = 0; i < childrenFromFields.size(); i++) {
         Field child = children.get(i);
         FieldVector fieldVector = childrenFromFields.get(i);
-        loadBuffers(fieldVector, child, buffers, nodes, codec);
+        loadBuffers(fieldVector, child, buffers, nodes, codec, variadicBufferCounts);
       }
     }
   }
+
+  private List<ArrowBuf> decompressConcurrently(List<ArrowBuf> buffers, List<BufferAllocator> allocators,
+      CompressionCodec codec) {
+    List<Supplier<ArrowBuf>> tasks = new ArrayList<>(buffers.size());
+    for (int i = 0; i < buffers.size(); i++) {
+      ArrowBuf buffer = buffers.get(i);
+      BufferAllocator allocator = allocators.get(i);
+      tasks.add(() -> decompress(codec, allocator, buffer));
+    }
+    return Arrays.asList(BufferCodecTasks.run(tasks, executor, maxConcurrency));
+  }
+
+  /**
+   * Decompresses a buffer of a batch, which keeps its own reference to the compressed buffer.
+   *
+   * @return a buffer owned by the caller.
+   */
+  private static ArrowBuf decompress(CompressionCodec codec, BufferAllocator allocator, ArrowBuf buffer) {
+    // decompression releases this reference, but only when it succeeds
+    buffer.getReferenceManager().retain();
+    // for vectors without nulls, the buffer is empty, so there is no need to decompress it.
+    if (buffer.writerIndex() == 0) {
+      return buffer;
+    }
+    try {
+      return codec.decompress(allocator, buffer);
+    } catch (RuntimeException e) {
+      buffer.getReferenceManager().release();
+      throw e;
+    }
+  }
+
+  private void collectAllocators(FieldVector vector, Field field, List<BufferAllocator> allocators,
+      Iterator<Long> variadicBufferCounts) {
+    int bufferLayoutCount = getBufferCount(field, variadicBufferCounts);
+    for (int j = 0; j < bufferLayoutCount; j++) {
+      allocators.add(vector.getAllocator());
+    }
+    List<Field> children = field.getChildren();
+    List<FieldVector> childrenFromFields = vector.getChildrenFromFields();
+    for (int i = 0; i < Math.min(children.size(), childrenFromFields.size()); i++) {
+      collectAllocators(childrenFromFields.get(i), children.get(i), allocators, variadicBufferCounts);
+    }
+  }
+
+  /**
+   * Get the number of buffers of the field in the batch, including the variadic data buffers of types
+   * that have them.
+   */
+  private static int getBufferCount(Field field, Iterator<Long> variadicBufferCounts) {
+    int bufferCount = TypeLayout.getTypeBufferCount(field.getType());
+    if (TypeLayout.hasVariadicBuffers(field.getType())) {
+      checkArgument(variadicBufferCounts.hasNext(), "no variadic buffer count for field %s", field);
+      bufferCount += Math.toIntExact(variadicBufferCounts.next());
+    }
+    return bufferCount;
+  }
 }
@@ -19,13 +19,17 @@ package org.apache.arrow.vector;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.compression.CompressionCodec;
 import org.apache.arrow.vector.compression.CompressionUtil;
 import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.pojo.ArrowType;
 
 /**
  * Helper class that handles converting a {@link VectorSchemaRoot}
@@ -37,6 +41,8 @@ public class VectorUnloader {
   private final boolean includeNullCount;
   private final CompressionCodec codec;
   private final boolean alignBuffers;
+  private final Executor executor;
+  private final int maxConcurrency;
 
   /**
    * Constructs a new instance of the given set of vectors.
@@ -71,6 +77,36 @@ public class VectorUnloader {
     this.includeNullCount = includeNullCount;
     this.codec = codec == null ? NoCompressionCodec.INSTANCE : codec;
     this.alignBuffers = alignBuffers;
+    this.executor = null;
+    this.maxConcurrency = 1;
+  }
+
+  /**
+   * Constructs a new instance compressing the buffers of a batch concurrently.
+   *
+   * <p>The buffers are compressed on the given executor, with at most {@code maxConcurrency} of them
+   * being compressed at any time, which bounds the temporary memory used by the codec. The buffers of
+   * the record batch are in the same order as with sequential compression. The codec must be safe to
+   * use from several threads.
+   *
+   * @param root  The set of vectors to serialize to an {@link ArrowRecordBatch}.
+   * @param includeNullCount Controls whether null count is copied to the {@link ArrowRecordBatch}
+   * @param codec the codec for compressing data. If it is null, then no compression is needed.
+   * @param alignBuffers Controls if buffers get aligned to 8-byte boundaries.
+   * @param executor the executor compressing the buffers.
+   * @param maxConcurrency the maximum number of buffers being compressed at the same time.
+   */
+  public VectorUnloader(
+      VectorSchemaRoot root, boolean includeNullCount, CompressionCodec codec, boolean alignBuffers,
+      Executor executor, int maxConcurrency) {
+    Preconditions.checkNotNull(executor, "executor must not be null");
+    Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+    this.root = root;
+    this.includeNullCount = includeNullCount;
+    this.codec = codec == null ? NoCompressionCodec.INSTANCE : codec;
+    this.alignBuffers = alignBuffers;
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
   }
 
   /**
@@ -80,19 +116,38 @@ public class VectorUnloader {
   public ArrowRecordBatch getRecordBatch() {
     List<ArrowFieldNode> nodes = new ArrayList<>();
     List<ArrowBuf> buffers = new ArrayList<>();
-    for (FieldVector vector : root.getFieldVectors()) {
-      appendNodes(vector, nodes, buffers);
+    List<Long> variadicBufferCounts = new ArrayList<>();
+    if (executor == null || codec.getCodecType() == CompressionUtil.CodecType.NO_COMPRESSION) {
+      for (FieldVector vector : root.getFieldVectors()) {
+        appendNodes(vector, nodes, buffers, null, variadicBufferCounts);
+      }
+    } else {
+      List<Supplier<ArrowBuf>> tasks = new ArrayList<>();
+      for (FieldVector vector : root.getFieldVectors()) {
+        appendNodes(vector, nodes, null, tasks, variadicBufferCounts);
+      }
+      for (ArrowBuf buf : BufferCodecTasks.run(tasks, executor, maxConcurrency)) {
+        buffers.add(buf);
+      }
     }
     // Do NOT retain buffers in ArrowRecordBatch constructor since we have already retained them.
     return new ArrowRecordBatch(
-        root.getRowCount(), nodes, buffers, CompressionUtil.createBodyCompression(codec), alignBuffers,
-        /*retainBuffers*/ false);
+        root.getRowCount(), nodes, buffers, CompressionUtil.createBodyCompression(codec), variadicBufferCounts,
+        alignBuffers, /*retainBuffers*/ false);
   }
 
-  private void appendNodes(FieldVector vector, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers) {
+  private void appendNodes(FieldVector vector, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers,
+      List<Supplier<ArrowBuf>> tasks, List<Long> variadicBufferCounts) {
     nodes.add(new ArrowFieldNode(vector.getValueCount(), includeNullCount ? vector.getNullCount() : -1));
     List<ArrowBuf> fieldBuffers = vector.getFieldBuffers();
-    int expectedBufferCount = TypeLayout.getTypeBufferCount(vector.getField().getType());
+    ArrowType type = vector.getField().getType();
+    int expectedBufferCount = TypeLayout.getTypeBufferCount(type);
+    if (TypeLayout.hasVariadicBuffers(type)) {
+      // the data buffers follow the buffers of the layout
+      int variadicBufferCount = Math.max(fieldBuffers.size() - expectedBufferCount, 0);
+      variadicBufferCounts.add((long) variadicBufferCount);
+      expectedBufferCount += variadicBufferCount;
+    }
     if (fieldBuffers.size() != expectedBufferCount) {
       throw new IllegalArgumentException(String.format(
           "wrong number of buffers for field %s in vector %s. found: %s",
@@ -103,11 +158,18 @@ public class VectorUnloader {
       // we need to retain it for ArrowRecordBatch. Otherwise, it will return a new buffer, and also close
       // the input buffer. In that case, we need to retain the input buffer still to avoid modifying
       // the source VectorSchemaRoot.
-      buf.getReferenceManager().retain();
-      buffers.add(codec.compress(vector.getAllocator(), buf));
+      if (tasks == null) {
+        buf.getReferenceManager().retain();
+        buffers.add(codec.compress(vector.getAllocator(), buf));
+      } else {
+        tasks.add(() -> {
+          buf.getReferenceManager().retain();
+          return codec.compress(vector.getAllocator(), buf);
+        });
+      }
     }
     for (FieldVector child : vector.getChildrenFromFields()) {
-      appendNodes(child, nodes, buffers);
+      appendNodes(child, nodes, buffers, tasks, variadicBufferCounts);
     }
   }
 
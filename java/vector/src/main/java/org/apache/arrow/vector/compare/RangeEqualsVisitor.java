@@ -22,21 +22,26 @@ import static org.apache.arrow.memory.util.LargeMemoryUtil.checkedCastToInt;
 import java.util.List;
 import java.util.function.BiFunction;
 
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.util.ArrowBufPointer;
 import org.apache.arrow.memory.util.ByteFunctionHelpers;
 import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BaseLargeVariableWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthViewVector;
 import org.apache.arrow.vector.BitVector;
 import org.apache.arrow.vector.ExtensionTypeVector;
 import org.apache.arrow.vector.NullVector;
 import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.complex.BaseListViewVector;
 import org.apache.arrow.vector.complex.BaseRepeatedValueVector;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 
 /**
@@ -230,6 +235,30 @@ public class RangeEqualsVisitor implements VectorVisitor<Boolean, Range> {
     return underlyingVisitor.rangeEquals(range);
   }
 
+  @Override
+  public Boolean visit(RunEndEncodedVector left, Range range) {
+    if (!validate(left)) {
+      return false;
+    }
+    return compareRunEndEncodedVectors(range);
+  }
+
+  @Override
+  public Boolean visit(BaseVariableWidthViewVector left, Range range) {
+    if (!validate(left)) {
+      return false;
+    }
+    return compareBaseVariableWidthViewVectors(range);
+  }
+
+  @Override
+  public Boolean visit(BaseListViewVector left, Range range) {
+    if (!validate(left)) {
+      return false;
+    }
+    return compareListViewVectors(range);
+  }
+
   protected RangeEqualsVisitor createInnerVisitor(
           ValueVector leftInner, ValueVector rightInner,
           BiFunction<ValueVector, ValueVector, Boolean> typeComparator) {
@@ -486,6 +515,90 @@ public class RangeEqualsVisitor implements VectorVisitor<Boolean, Range> {
     return true;
   }
 
+  protected boolean compareBaseVariableWidthViewVectors(Range range) {
+    BaseVariableWidthViewVector leftVector = (BaseVariableWidthViewVector) left;
+    BaseVariableWidthViewVector rightVector = (BaseVariableWidthViewVector) right;
+
+    final ArrowBuf leftViews = leftVector.getViewBuffer();
+    final ArrowBuf rightViews = rightVector.getViewBuffer();
+    final ArrowBufPointer leftPointer = new ArrowBufPointer();
+    final ArrowBufPointer rightPointer = new ArrowBufPointer();
+
+    for (int i = 0; i < range.getLength(); i++) {
+      int leftIndex = range.getLeftStart() + i;
+      int rightIndex = range.getRightStart() + i;
+
+      boolean isNull = leftVector.isNull(leftIndex);
+      if (isNull != rightVector.isNull(rightIndex)) {
+        return false;
+      }
+
+      if (!isNull) {
+        // the length and the prefix are compared at once, which settles most unequal values
+        final long leftView = (long) leftIndex * BaseVariableWidthViewVector.VIEW_WIDTH;
+        final long rightView = (long) rightIndex * BaseVariableWidthViewVector.VIEW_WIDTH;
+        final int length = leftViews.getInt(leftView);
+        if (length != rightViews.getInt(rightView)) {
+          return false;
+        }
+        final int prefixLength = Math.min(length, BaseVariableWidthViewVector.PREFIX_WIDTH);
+        if (ByteFunctionHelpers.equal(
+            leftViews, leftView + BaseVariableWidthViewVector.LENGTH_WIDTH,
+            leftView + BaseVariableWidthViewVector.LENGTH_WIDTH + prefixLength,
+            rightViews, rightView + BaseVariableWidthViewVector.LENGTH_WIDTH,
+            rightView + BaseVariableWidthViewVector.LENGTH_WIDTH + prefixLength) == 0) {
+          return false;
+        }
+        if (length > BaseVariableWidthViewVector.PREFIX_WIDTH) {
+          leftVector.getDataPointer(leftIndex, leftPointer);
+          rightVector.getDataPointer(rightIndex, rightPointer);
+          if (ByteFunctionHelpers.equal(
+              leftPointer.getBuf(), leftPointer.getOffset() + prefixLength,
+              leftPointer.getOffset() + length,
+              rightPointer.getBuf(), rightPointer.getOffset() + prefixLength,
+              rightPointer.getOffset() + length) == 0) {
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  protected boolean compareRunEndEncodedVectors(Range range) {
+    RunEndEncodedVector leftVector = (RunEndEncodedVector) left;
+    RunEndEncodedVector rightVector = (RunEndEncodedVector) right;
+    if (range.getLength() == 0) {
+      return true;
+    }
+
+    RangeEqualsVisitor innerVisitor = createInnerVisitor(
+        leftVector.getValuesVector(), rightVector.getValuesVector(), /*type comparator*/ null);
+    Range innerRange = new Range(0, 0, 1);
+
+    // walk both vectors run by run, comparing one value per overlapping segment of runs
+    final long rightShift = (long) range.getRightStart() - range.getLeftStart();
+    final long end = (long) range.getLeftStart() + range.getLength();
+    int leftRun = leftVector.getPhysicalIndex(range.getLeftStart());
+    int rightRun = rightVector.getPhysicalIndex(range.getRightStart());
+    long position = range.getLeftStart();
+    while (position < end) {
+      if (!innerVisitor.rangeEquals(innerRange.setLeftStart(leftRun).setRightStart(rightRun))) {
+        return false;
+      }
+      long leftRunEnd = leftVector.getRunEnd(leftRun);
+      long rightRunEnd = rightVector.getRunEnd(rightRun) - rightShift;
+      position = Math.min(leftRunEnd, rightRunEnd);
+      if (leftRunEnd == position) {
+        leftRun++;
+      }
+      if (rightRunEnd == position) {
+        rightRun++;
+      }
+    }
+    return true;
+  }
+
   protected boolean compareFixedSizeListVectors(Range range) {
     FixedSizeListVector leftVector = (FixedSizeListVector) left;
     FixedSizeListVector rightVector = (FixedSizeListVector) right;
@@ -570,4 +683,39 @@ public class RangeEqualsVisitor implements VectorVisitor<Boolean, Range> {
     }
     return true;
   }
+
+  protected boolean compareListViewVectors(Range range) {
+    BaseListViewVector leftVector = (BaseListViewVector) left;
+    BaseListViewVector rightVector = (BaseListViewVector) right;
+
+    RangeEqualsVisitor innerVisitor =
+        createInnerVisitor(leftVector.getDataVector(), rightVector.getDataVector(), /*type comparator*/ null);
+    Range innerRange = new Range();
+
+    for (int i = 0; i < range.getLength(); i++) {
+      int leftIndex = range.getLeftStart() + i;
+      int rightIndex = range.getRightStart() + i;
+
+      boolean isNull = leftVector.isNull(leftIndex);
+      if (isNull != rightVector.isNull(rightIndex)) {
+        return false;
+      }
+
+      if (!isNull) {
+        final long sizeLeft = leftVector.getSize(leftIndex);
+        if (sizeLeft != rightVector.getSize(rightIndex)) {
+          return false;
+        }
+
+        innerRange = innerRange
+            .setRightStart(checkedCastToInt(rightVector.getOffset(rightIndex)))
+            .setLeftStart(checkedCastToInt(leftVector.getOffset(leftIndex)))
+            .setLength(checkedCastToInt(sizeLeft));
+        if (!innerVisitor.rangeEquals(innerRange)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
 }
@@ -20,13 +20,16 @@ package org.apache.arrow.vector.compare;
 import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BaseLargeVariableWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthViewVector;
 import org.apache.arrow.vector.ExtensionTypeVector;
 import org.apache.arrow.vector.NullVector;
+import org.apache.arrow.vector.complex.BaseListViewVector;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 
 /**
@@ -57,5 +60,17 @@ public interface VectorVisitor<OUT, IN> {
   OUT visit(NullVector left, IN value);
 
   OUT visit(ExtensionTypeVector<?> left, IN value);
+
+  default OUT visit(RunEndEncodedVector left, IN value) {
+    throw new UnsupportedOperationException("Unsupported vector type: " + left.getMinorType());
+  }
+
+  default OUT visit(BaseVariableWidthViewVector left, IN value) {
+    throw new UnsupportedOperationException("Unsupported vector type: " + left.getMinorType());
+  }
+
+  default OUT visit(BaseListViewVector left, IN value) {
+    throw new UnsupportedOperationException("Unsupported vector type: " + left.getMinorType());
+  }
 }
 
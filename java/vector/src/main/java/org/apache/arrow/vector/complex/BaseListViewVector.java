@@ -0,0 +1,1099 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.complex;
+
+import static java.util.Collections.singletonList;
+import static org.apache.arrow.memory.util.LargeMemoryUtil.capAtMaxInt;
+import static org.apache.arrow.memory.util.LargeMemoryUtil.checkedCastToInt;
+import static org.apache.arrow.util.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.OutOfMemoryException;
+import org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.memory.util.CommonUtil;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.AddOrGetResult;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseValueVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.BufferBacked;
+import org.apache.arrow.vector.DensityAwareVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.NullVector;
+import org.apache.arrow.vector.UInt4Vector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.ZeroVector;
+import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.impl.ComplexCopier;
+import org.apache.arrow.vector.complex.reader.FieldReader;
+import org.apache.arrow.vector.complex.writer.FieldWriter;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.util.CallBack;
+import org.apache.arrow.vector.util.JsonStringArrayList;
+import org.apache.arrow.vector.util.OversizedAllocationException;
+import org.apache.arrow.vector.util.SchemaChangeRuntimeException;
+import org.apache.arrow.vector.util.TransferPair;
+
+/**
+ * Base class for the list-view vectors. Their structure contains 4 elements.
+ * <ol>
+ * <li>A validity buffer.</li>
+ * <li>An offset buffer, that holds the position of the first element of each list in the data vector.</li>
+ * <li>A size buffer, that holds the number of elements of each list.</li>
+ * <li>A child data vector that contains the elements of lists.</li>
+ * </ol>
+ *
+ * <p>Unlike the offsets of a {@link ListVector}, the offsets of a list-view vector need not be
+ * monotonic, and lists may overlap or share elements. Lists can therefore be filtered, reordered
+ * or repeated by only rewriting the offset and size buffers, without copying the data vector;
+ * see {@link #selectTo(BaseListViewVector, int[])}.</p>
+ *
+ * <p>Subclasses choose the width of the offsets and sizes: 4 bytes for ListView, 8 bytes for
+ * LargeListView.</p>
+ */
+public abstract class BaseListViewVector extends BaseValueVector
+    implements RepeatedValueVector, FieldVector, PromotableVector {
+
+  public static final FieldVector DEFAULT_DATA_VECTOR = ZeroVector.INSTANCE;
+  public static final String DATA_VECTOR_NAME = "$data$";
+
+  /**
+   * The width in bytes of each offset and size.
+   */
+  protected final int elementWidth;
+  protected ArrowBuf validityBuffer;
+  protected ArrowBuf offsetBuffer;
+  protected ArrowBuf sizeBuffer;
+  protected FieldVector vector;
+  protected final CallBack callBack;
+  protected int valueCount;
+  protected Field field;
+  private long validityAllocationSizeInBytes;
+  private long viewAllocationSizeInBytes;
+
+  /**
+   * The position in the data vector at which the next list started by
+   * {@link #startNewValue(int)} begins, i.e. the end of the elements used so far.
+   */
+  protected long nextOffset;
+
+  protected BaseListViewVector(Field field, BufferAllocator allocator, CallBack callBack, int elementWidth) {
+    super(allocator);
+    this.field = field;
+    this.elementWidth = elementWidth;
+    this.validityBuffer = allocator.getEmpty();
+    this.offsetBuffer = allocator.getEmpty();
+    this.sizeBuffer = allocator.getEmpty();
+    this.vector = DEFAULT_DATA_VECTOR;
+    this.callBack = callBack;
+    this.validityAllocationSizeInBytes = getValidityBufferSizeFromCount(INITIAL_VALUE_ALLOCATION);
+    this.viewAllocationSizeInBytes = (long) INITIAL_VALUE_ALLOCATION * elementWidth;
+    this.valueCount = 0;
+    this.nextOffset = 0;
+  }
+
+  /**
+   * Create an empty vector of the same type as this one, used as the target of transfers.
+   */
+  protected abstract BaseListViewVector createVector(Field field, BufferAllocator allocator, CallBack callBack);
+
+  /**
+   * Get a writer for this vector.
+   */
+  public abstract FieldWriter getWriter();
+
+  @Override
+  public void initializeChildrenFromFields(List<Field> children) {
+    checkArgument(children.size() == 1,
+        "List-views have one child Field. Found: %s", children.isEmpty() ? "none" : children);
+
+    Field field = children.get(0);
+    AddOrGetResult<FieldVector> addOrGetVector = addOrGetVector(field.getFieldType());
+    checkArgument(addOrGetVector.isCreated(), "Child vector already existed: %s", addOrGetVector.getVector());
+
+    addOrGetVector.getVector().initializeChildrenFromFields(field.getChildren());
+    this.field = new Field(this.field.getName(), this.field.getFieldType(), children);
+  }
+
+  @Override
+  public void setInitialCapacity(int numRecords) {
+    validityAllocationSizeInBytes = getValidityBufferSizeFromCount(numRecords);
+    viewAllocationSizeInBytes = (long) numRecords * elementWidth;
+    if (vector instanceof BaseFixedWidthVector || vector instanceof BaseVariableWidthVector) {
+      vector.setInitialCapacity(numRecords * RepeatedValueVector.DEFAULT_REPEAT_PER_RECORD);
+    } else {
+      vector.setInitialCapacity(numRecords);
+    }
+  }
+
+  /**
+   * Set the initial capacity of this vector, and of the data vector based on the
+   * average number of elements per list.
+   *
+   * @param numRecords value count
+   * @param density average number of elements per list
+   */
+  @Override
+  public void setInitialCapacity(int numRecords, double density) {
+    if ((numRecords * density) >= Integer.MAX_VALUE) {
+      throw new OversizedAllocationException("Requested amount of memory is more than max allowed");
+    }
+    validityAllocationSizeInBytes = getValidityBufferSizeFromCount(numRecords);
+    viewAllocationSizeInBytes = (long) numRecords * elementWidth;
+
+    int innerValueCapacity = Math.max((int) (numRecords * density), 1);
+
+    if (vector instanceof DensityAwareVector) {
+      ((DensityAwareVector) vector).setInitialCapacity(innerValueCapacity, density);
+    } else {
+      vector.setInitialCapacity(innerValueCapacity);
+    }
+  }
+
+  /**
+   * Get the density of this vector, the average number of elements per list.
+   * @return density
+   */
+  public double getDensity() {
+    if (valueCount == 0) {
+      return 0.0D;
+    }
+    long totalListSize = 0;
+    for (int i = 0; i < valueCount; i++) {
+      totalListSize += getSize(i);
+    }
+    return (double) totalListSize / valueCount;
+  }
+
+  @Override
+  public List<FieldVector> getChildrenFromFields() {
+    return singletonList(getDataVector());
+  }
+
+  /**
+   * Load the buffers of this vector with provided source buffers.
+   * The caller manages the source buffers and populates them before invoking
+   * this method.
+   * @param fieldNode  the fieldNode indicating the value count
+   * @param ownBuffers the buffers for this Field (own buffers only, children not included)
+   */
+  @Override
+  public void loadFieldBuffers(ArrowFieldNode fieldNode, List<ArrowBuf> ownBuffers) {
+    if (ownBuffers.size() != 3) {
+      throw new IllegalArgumentException("Illegal buffer count, expected " + 3 + ", got: " + ownBuffers.size());
+    }
+
+    ArrowBuf bitBuffer = ownBuffers.get(0);
+    ArrowBuf offBuffer = ownBuffers.get(1);
+    ArrowBuf szBuffer = ownBuffers.get(2);
+
+    validityBuffer.getReferenceManager().release();
+    validityBuffer = BitVectorHelper.loadValidityBuffer(fieldNode, bitBuffer, allocator);
+    offsetBuffer.getReferenceManager().release();
+    offsetBuffer = offBuffer.getReferenceManager().retain(offBuffer, allocator);
+    sizeBuffer.getReferenceManager().release();
+    sizeBuffer = szBuffer.getReferenceManager().retain(szBuffer, allocator);
+
+    validityAllocationSizeInBytes = validityBuffer.capacity();
+    viewAllocationSizeInBytes = offsetBuffer.capacity();
+
+    valueCount = fieldNode.getLength();
+    nextOffset = getMaxEnd(valueCount);
+  }
+
+  /**
+   * Get the buffers belonging to this vector.
+   * @return the inner buffers.
+   */
+  @Override
+  public List<ArrowBuf> getFieldBuffers() {
+    List<ArrowBuf> result = new ArrayList<>(3);
+    setReaderAndWriterIndex();
+    result.add(validityBuffer);
+    result.add(offsetBuffer);
+    result.add(sizeBuffer);
+
+    return result;
+  }
+
+  /**
+   * Set the reader and writer indexes for the inner buffers.
+   */
+  private void setReaderAndWriterIndex() {
+    validityBuffer.readerIndex(0);
+    offsetBuffer.readerIndex(0);
+    sizeBuffer.readerIndex(0);
+    if (valueCount == 0) {
+      validityBuffer.writerIndex(0);
+      offsetBuffer.writerIndex(0);
+      sizeBuffer.writerIndex(0);
+    } else {
+      validityBuffer.writerIndex(getValidityBufferSizeFromCount(valueCount));
+      offsetBuffer.writerIndex((long) valueCount * elementWidth);
+      sizeBuffer.writerIndex((long) valueCount * elementWidth);
+    }
+  }
+
+  /**
+   * Get the inner vectors.
+   *
+   * @deprecated This API will be removed as the current implementations no longer support inner vectors.
+   *
+   * @return the inner vectors for this field as defined by the TypeLayout
+   */
+  @Deprecated
+  @Override
+  public List<BufferBacked> getFieldInnerVectors() {
+    throw new UnsupportedOperationException("There are no inner vectors. Use getFieldBuffers");
+  }
+
+  /**
+   * Same as {@link #allocateNewSafe()}.
+   */
+  @Override
+  public void allocateNew() throws OutOfMemoryException {
+    if (!allocateNewSafe()) {
+      throw new OutOfMemoryException("Failure while allocating memory");
+    }
+  }
+
+  /**
+   * Allocate memory for the vector. We internally use a default value count
+   * of 4096 to allocate memory for at least these many elements in the
+   * vector.
+   *
+   * @return false if memory allocation fails, true otherwise.
+   */
+  @Override
+  public boolean allocateNewSafe() {
+    boolean success = false;
+    try {
+      /* we are doing a new allocation -- release the current buffers */
+      clear();
+      allocateValidityBuffer(validityAllocationSizeInBytes);
+      allocateViewBuffers(viewAllocationSizeInBytes);
+      success = vector.allocateNewSafe();
+    } catch (OutOfMemoryException e) {
+      success = false;
+    } finally {
+      if (!success) {
+        clear();
+      }
+    }
+    return success;
+  }
+
+  private void allocateValidityBuffer(final long size) {
+    validityBuffer = allocator.buffer(size);
+    validityBuffer.readerIndex(0);
+    validityAllocationSizeInBytes = size;
+    validityBuffer.setZero(0, validityBuffer.capacity());
+  }
+
+  private void allocateViewBuffers(final long size) {
+    offsetBuffer = allocator.buffer(size);
+    offsetBuffer.readerIndex(0);
+    offsetBuffer.setZero(0, offsetBuffer.capacity());
+    sizeBuffer = allocator.buffer(size);
+    sizeBuffer.readerIndex(0);
+    sizeBuffer.setZero(0, sizeBuffer.capacity());
+    viewAllocationSizeInBytes = size;
+  }
+
+  /**
+   * Resize the vector to increase the capacity. The internal behavior is to
+   * double the current value capacity.
+   */
+  @Override
+  public void reAlloc() {
+    reallocValidityAndViewBuffers();
+    vector.reAlloc();
+  }
+
+  private void reallocValidityAndViewBuffers() {
+    reallocValidityBuffer();
+    reallocViewBuffers();
+  }
+
+  private void reallocViewBuffers() {
+    long newAllocationSize = offsetBuffer.capacity() * 2;
+    if (newAllocationSize == 0) {
+      if (viewAllocationSizeInBytes > 0) {
+        newAllocationSize = viewAllocationSizeInBytes;
+      } else {
+        newAllocationSize = (long) INITIAL_VALUE_ALLOCATION * elementWidth * 2;
+      }
+    }
+
+    newAllocationSize = CommonUtil.nextPowerOfTwo(newAllocationSize);
+    newAllocationSize = Math.min(newAllocationSize, (long) elementWidth * Integer.MAX_VALUE);
+    assert newAllocationSize >= 1;
+
+    if (newAllocationSize > MAX_ALLOCATION_SIZE || newAllocationSize <= offsetBuffer.capacity()) {
+      throw new OversizedAllocationException("Unable to expand the buffer");
+    }
+
+    offsetBuffer = reallocBuffer(offsetBuffer, newAllocationSize);
+    sizeBuffer = reallocBuffer(sizeBuffer, newAllocationSize);
+    viewAllocationSizeInBytes = newAllocationSize;
+  }
+
+  private void reallocValidityBuffer() {
+    long newAllocationSize = validityBuffer.capacity() * 2;
+    if (newAllocationSize == 0) {
+      if (validityAllocationSizeInBytes > 0) {
+        newAllocationSize = validityAllocationSizeInBytes;
+      } else {
+        newAllocationSize = getValidityBufferSizeFromCount(INITIAL_VALUE_ALLOCATION) * 2L;
+      }
+    }
+    newAllocationSize = CommonUtil.nextPowerOfTwo(newAllocationSize);
+    assert newAllocationSize >= 1;
+
+    if (newAllocationSize > MAX_ALLOCATION_SIZE) {
+      throw new OversizedAllocationException("Unable to expand the buffer");
+    }
+
+    validityBuffer = reallocBuffer(validityBuffer, newAllocationSize);
+    validityAllocationSizeInBytes = newAllocationSize;
+  }
+
+  private ArrowBuf reallocBuffer(ArrowBuf buffer, long newAllocationSize) {
+    final long currentBufferCapacity = buffer.capacity();
+    final ArrowBuf newBuf = allocator.buffer(newAllocationSize);
+    newBuf.setBytes(0, buffer, 0, currentBufferCapacity);
+    newBuf.setZero(currentBufferCapacity, newBuf.capacity() - currentBufferCapacity);
+    buffer.getReferenceManager().release(1);
+    return newBuf;
+  }
+
+  /**
+   * Same as {@link #copyFrom(int, int, ValueVector)} except that
+   * it handles the case when the capacity of the vector needs to be expanded
+   * before copy.
+   * @param inIndex position to copy from in source vector
+   * @param outIndex position to copy to in this vector
+   * @param from source vector
+   */
+  @Override
+  public void copyFromSafe(int inIndex, int outIndex, ValueVector from) {
+    copyFrom(inIndex, outIndex, from);
+  }
+
+  /**
+   * Copy a cell value from a particular index in source vector to a particular
+   * position in this vector. The elements of the list are appended to the data vector.
+   * @param inIndex position to copy from in source vector
+   * @param outIndex position to copy to in this vector
+   * @param from source vector
+   */
+  @Override
+  public void copyFrom(int inIndex, int outIndex, ValueVector from) {
+    Preconditions.checkArgument(this.getMinorType() == from.getMinorType());
+    FieldReader in = from.getReader();
+    in.setPosition(inIndex);
+    FieldWriter out = getWriter();
+    out.setPosition(outIndex);
+    ComplexCopier.copy(in, out);
+  }
+
+  /**
+   * Get the offset vector.
+   * @deprecated This API will be removed, as the current implementations no longer hold inner offset vectors.
+   *
+   * @return the underlying offset vector or null if none exists.
+   */
+  @Override
+  @Deprecated
+  public UInt4Vector getOffsetVector() {
+    throw new UnsupportedOperationException("There is no inner offset vector");
+  }
+
+  /**
+   * Get the inner data vector for this list-view vector.
+   * @return data vector
+   */
+  @Override
+  public FieldVector getDataVector() {
+    return vector;
+  }
+
+  @Override
+  public Iterator<ValueVector> iterator() {
+    return Collections.<ValueVector>singleton(getDataVector()).iterator();
+  }
+
+  @Override
+  public TransferPair getTransferPair(String ref, BufferAllocator allocator) {
+    return getTransferPair(ref, allocator, null);
+  }
+
+  @Override
+  public TransferPair getTransferPair(Field field, BufferAllocator allocator) {
+    return getTransferPair(field, allocator, null);
+  }
+
+  @Override
+  public TransferPair getTransferPair(String ref, BufferAllocator allocator, CallBack callBack) {
+    return new TransferImpl(createVector(new Field(ref, field.getFieldType(), null), allocator, callBack));
+  }
+
+  @Override
+  public TransferPair getTransferPair(Field field, BufferAllocator allocator, CallBack callBack) {
+    return new TransferImpl(createVector(field, allocator, callBack));
+  }
+
+  @Override
+  public TransferPair makeTransferPair(ValueVector target) {
+    return new TransferImpl((BaseListViewVector) target);
+  }
+
+  @Override
+  public long getValidityBufferAddress() {
+    return validityBuffer.memoryAddress();
+  }
+
+  @Override
+  public long getDataBufferAddress() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getOffsetBufferAddress() {
+    return offsetBuffer.memoryAddress();
+  }
+
+  /**
+   * Get the memory address of the size buffer.
+   */
+  public long getSizeBufferAddress() {
+    return sizeBuffer.memoryAddress();
+  }
+
+  @Override
+  public ArrowBuf getValidityBuffer() {
+    return validityBuffer;
+  }
+
+  @Override
+  public ArrowBuf getDataBuffer() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public ArrowBuf getOffsetBuffer() {
+    return offsetBuffer;
+  }
+
+  /**
+   * Get the buffer that holds the size of each list.
+   */
+  public ArrowBuf getSizeBuffer() {
+    return sizeBuffer;
+  }
+
+  @Override
+  public int getValueCount() {
+    return valueCount;
+  }
+
+  @Override
+  public int hashCode(int index) {
+    return hashCode(index, null);
+  }
+
+  @Override
+  public int hashCode(int index, ArrowBufHasher hasher) {
+    if (isSet(index) == 0) {
+      return ArrowBufPointer.NULL_HASH_CODE;
+    }
+    int hash = 0;
+    final long start = getOffset(index);
+    final long end = start + getSize(index);
+    for (long i = start; i < end; i++) {
+      hash = ByteFunctionHelpers.combineHash(hash, vector.hashCode(checkedCastToInt(i), hasher));
+    }
+    return hash;
+  }
+
+  @Override
+  public <OUT, IN> OUT accept(VectorVisitor<OUT, IN> visitor, IN value) {
+    return visitor.visit(this, value);
+  }
+
+  protected void replaceDataVector(FieldVector v) {
+    vector.clear();
+    vector = v;
+  }
+
+  @Override
+  public UnionVector promoteToUnion() {
+    UnionVector vector = new UnionVector("$data$", allocator, /* field type */ null, callBack);
+    replaceDataVector(vector);
+    invalidateReader();
+    if (callBack != null) {
+      callBack.doWork();
+    }
+    return vector;
+  }
+
+  /**
+   * Initialize the data vector (and execute callback) if it hasn't already been done,
+   * returns the data vector.
+   */
+  @Override
+  public <T extends ValueVector> AddOrGetResult<T> addOrGetVector(FieldType fieldType) {
+    boolean created = false;
+    if (vector instanceof NullVector) {
+      vector = fieldType.createNewSingleVector(DATA_VECTOR_NAME, allocator, callBack);
+      // returned vector must have the same field
+      created = true;
+      if (callBack != null &&
+          // not a schema change if changing from ZeroVector to ZeroVector
+          (fieldType.getType().getTypeID() != ArrowType.ArrowTypeID.Null)) {
+        callBack.doWork();
+      }
+    }
+
+    if (vector.getField().getType().getTypeID() != fieldType.getType().getTypeID()) {
+      final String msg = String.format("Inner vector type mismatch. Requested type: [%s], actual type: [%s]",
+          fieldType.getType().getTypeID(), vector.getField().getType().getTypeID());
+      throw new SchemaChangeRuntimeException(msg);
+    }
+
+    invalidateReader();
+    return new AddOrGetResult<>((T) vector, created);
+  }
+
+  /**
+   * Get the size (number of bytes) of underlying buffers used by this
+   * vector.
+   * @return size of underlying buffers.
+   */
+  @Override
+  public int getBufferSize() {
+    if (valueCount == 0) {
+      return 0;
+    }
+    final int viewBufferSize = 2 * valueCount * elementWidth;
+    final int validityBufferSize = getValidityBufferSizeFromCount(valueCount);
+    return viewBufferSize + validityBufferSize + vector.getBufferSize();
+  }
+
+  @Override
+  public int getBufferSizeFor(int valueCount) {
+    if (valueCount == 0) {
+      return 0;
+    }
+    final int validityBufferSize = getValidityBufferSizeFromCount(valueCount);
+    final long innerVectorValueCount = getMaxEnd(valueCount);
+
+    return 2 * valueCount * elementWidth +
+        vector.getBufferSizeFor(checkedCastToInt(innerVectorValueCount)) +
+        validityBufferSize;
+  }
+
+  @Override
+  public Field getField() {
+    if (field.getChildren().contains(getDataVector().getField())) {
+      return field;
+    }
+    field = new Field(field.getName(), field.getFieldType(), Collections.singletonList(getDataVector().getField()));
+    return field;
+  }
+
+  @Override
+  public String getName() {
+    return field.getName();
+  }
+
+  @Override
+  public void clear() {
+    offsetBuffer = releaseBuffer(offsetBuffer);
+    sizeBuffer = releaseBuffer(sizeBuffer);
+    vector.clear();
+    valueCount = 0;
+    super.clear();
+    validityBuffer = releaseBuffer(validityBuffer);
+    nextOffset = 0;
+  }
+
+  @Override
+  public void reset() {
+    offsetBuffer.setZero(0, offsetBuffer.capacity());
+    sizeBuffer.setZero(0, sizeBuffer.capacity());
+    vector.reset();
+    valueCount = 0;
+    validityBuffer.setZero(0, validityBuffer.capacity());
+    nextOffset = 0;
+  }
+
+  /**
+   * Return the underlying buffers associated with this vector. Note that this doesn't
+   * impact the reference counts for this buffer so it only should be used for in-context
+   * access. Also note that this buffer changes regularly thus
+   * external classes shouldn't hold a reference to it (unless they change it).
+   *
+   * @param clear Whether to clear vector before returning; the buffers will still be refcounted
+   *              but the returned array will be the only reference to them
+   * @return The underlying {@link ArrowBuf buffers} that is used by this
+   *         vector instance.
+   */
+  @Override
+  public ArrowBuf[] getBuffers(boolean clear) {
+    setReaderAndWriterIndex();
+    final ArrowBuf[] buffers;
+    if (getBufferSize() == 0) {
+      buffers = new ArrowBuf[0];
+    } else {
+      List<ArrowBuf> list = new ArrayList<>();
+      list.add(validityBuffer);
+      list.add(offsetBuffer);
+      list.add(sizeBuffer);
+      list.addAll(Arrays.asList(vector.getBuffers(false)));
+      buffers = list.toArray(new ArrowBuf[list.size()]);
+    }
+    if (clear) {
+      for (ArrowBuf buffer : buffers) {
+        buffer.getReferenceManager().retain();
+      }
+      clear();
+    }
+    return buffers;
+  }
+
+  protected void invalidateReader() {
+    fieldReader = null;
+  }
+
+  /**
+   * Get the element in the list-view vector at a particular index.
+   * @param index position of the element
+   * @return Object at given position
+   */
+  @Override
+  public List<?> getObject(int index) {
+    if (isSet(index) == 0) {
+      return null;
+    }
+    final List<Object> vals = new JsonStringArrayList<>();
+    final long start = getOffset(index);
+    final long end = start + getSize(index);
+    final ValueVector vv = getDataVector();
+    for (long i = start; i < end; i++) {
+      vals.add(vv.getObject(checkedCastToInt(i)));
+    }
+
+    return vals;
+  }
+
+  /**
+   * Check if element at given index is null.
+   *
+   * @param index position of element
+   * @return true if element at given index is null, false otherwise
+   */
+  @Override
+  public boolean isNull(int index) {
+    return (isSet(index) == 0);
+  }
+
+  /**
+   * Check if element at given index is empty list.
+   * @param index position of element
+   * @return true if element at given index is empty list or NULL, false otherwise
+   */
+  public boolean isEmpty(int index) {
+    return isNull(index) || getSize(index) == 0;
+  }
+
+  /**
+   * Same as {@link #isNull(int)}.
+   *
+   * @param index  position of element
+   * @return 1 if element at given index is not null, 0 otherwise
+   */
+  public int isSet(int index) {
+    final int byteIndex = index >> 3;
+    final byte b = validityBuffer.getByte(byteIndex);
+    final int bitIndex = index & 7;
+    return (b >> bitIndex) & 0x01;
+  }
+
+  /**
+   * Get the number of elements that are null in the vector.
+   *
+   * @return the number of null elements.
+   */
+  @Override
+  public int getNullCount() {
+    return BitVectorHelper.getNullCount(validityBuffer, valueCount);
+  }
+
+  /**
+   * Get the current value capacity for the vector.
+   * @return number of elements that vector can hold.
+   */
+  @Override
+  public int getValueCapacity() {
+    final int viewValueCapacity = capAtMaxInt(Math.min(offsetBuffer.capacity(), sizeBuffer.capacity()) / elementWidth);
+    return Math.min(viewValueCapacity, capAtMaxInt(validityBuffer.capacity() * 8));
+  }
+
+  /**
+   * Get the width in bytes of each offset and size of this vector.
+   */
+  public int getElementWidth() {
+    return elementWidth;
+  }
+
+  /**
+   * Get the position in the data vector of the first element of the list at the given index.
+   *
+   * @param index position of the list
+   * @return offset of the list in the data vector
+   */
+  public long getOffset(int index) {
+    final long byteOffset = (long) index * elementWidth;
+    return elementWidth == Integer.BYTES ? offsetBuffer.getInt(byteOffset) : offsetBuffer.getLong(byteOffset);
+  }
+
+  /**
+   * Get the number of elements of the list at the given index.
+   *
+   * @param index position of the list
+   * @return number of elements of the list, 0 for null lists
+   */
+  public long getSize(int index) {
+    final long byteOffset = (long) index * elementWidth;
+    return elementWidth == Integer.BYTES ? sizeBuffer.getInt(byteOffset) : sizeBuffer.getLong(byteOffset);
+  }
+
+  private void setOffset(int index, long offset) {
+    final long byteOffset = (long) index * elementWidth;
+    if (elementWidth == Integer.BYTES) {
+      offsetBuffer.setInt(byteOffset, checkedCastToInt(offset));
+    } else {
+      offsetBuffer.setLong(byteOffset, offset);
+    }
+  }
+
+  private void setSize(int index, long size) {
+    final long byteOffset = (long) index * elementWidth;
+    if (elementWidth == Integer.BYTES) {
+      sizeBuffer.setInt(byteOffset, checkedCastToInt(size));
+    } else {
+      sizeBuffer.setLong(byteOffset, size);
+    }
+  }
+
+  /**
+   * Get the end of the elements used by the first lists of this vector.
+   */
+  private long getMaxEnd(int valueCount) {
+    long maxEnd = 0;
+    for (int i = 0; i < valueCount; i++) {
+      maxEnd = Math.max(maxEnd, getOffset(i) + getSize(i));
+    }
+    return maxEnd;
+  }
+
+  /**
+   * Set the list at the given index to the elements [offset, offset + size) of the data
+   * vector, which must already be populated. Reallocates the buffers if index is larger
+   * than the current capacity.
+   *
+   * @param index position of the list
+   * @param offset position of the first element of the list in the data vector
+   * @param size number of elements of the list
+   */
+  public void setOffsetAndSize(int index, long offset, long size) {
+    Preconditions.checkArgument(offset >= 0 && size >= 0, "Invalid offset %s or size %s", offset, size);
+    setNotNull(index);
+    setOffset(index, offset);
+    setSize(index, size);
+    nextOffset = Math.max(nextOffset, offset + size);
+  }
+
+  /**
+   * Sets the list at index to be not-null.  Reallocates validity buffer if index
+   * is larger than current capacity.
+   */
+  public void setNotNull(int index) {
+    while (index >= getValueCapacity()) {
+      reallocValidityAndViewBuffers();
+    }
+    BitVectorHelper.setBit(validityBuffer, index);
+  }
+
+  /**
+   * Sets list at index to be null.
+   * @param index position in vector
+   */
+  @Override
+  public void setNull(int index) {
+    while (index >= getValueCapacity()) {
+      reallocValidityAndViewBuffers();
+    }
+    BitVectorHelper.unsetBit(validityBuffer, index);
+    setOffset(index, 0);
+    setSize(index, 0);
+  }
+
+  /**
+   * Start a new value in the list-view vector. Its elements are appended to the data vector,
+   * after the elements of all the lists set so far.
+   *
+   * @param index index of the value to start
+   * @return the position in the data vector of the first element of the new list
+   */
+  public long startNewValue(int index) {
+    while (index >= getValueCapacity()) {
+      reallocValidityAndViewBuffers();
+    }
+    BitVectorHelper.setBit(validityBuffer, index);
+    setOffset(index, nextOffset);
+    setSize(index, 0);
+    return nextOffset;
+  }
+
+  /**
+   * End the current value.
+   *
+   * @param index index of the value to end
+   * @param size  number of elements in the list that was written
+   */
+  public void endValue(int index, long size) {
+    setSize(index, size);
+    nextOffset = Math.max(nextOffset, getOffset(index) + size);
+  }
+
+  /**
+   * Sets the value count for the vector. The value count of the data vector is set to the
+   * end of the elements used by the lists.
+   *
+   * @param valueCount   value count
+   */
+  @Override
+  public void setValueCount(int valueCount) {
+    this.valueCount = valueCount;
+    while (valueCount > getValueCapacity()) {
+      /* check if validity and view buffers need to be re-allocated */
+      reallocValidityAndViewBuffers();
+    }
+    vector.setValueCount(valueCount == 0 ? 0 : checkedCastToInt(nextOffset));
+  }
+
+  /**
+   * Select the lists at the given positions of this vector into the target vector, in the given
+   * order. Positions may repeat. Only the validity, offset and size buffers are written: the
+   * target shares the data vector of this vector instead of copying its elements.
+   *
+   * @param target the vector to fill, of the same type as this vector
+   * @param indices the positions of the lists to select
+   */
+  public void selectTo(BaseListViewVector target, int[] indices) {
+    Preconditions.checkArgument(target.getMinorType() == getMinorType(),
+        "The target vector must have the same type as this vector");
+    target.clear();
+    if (!(vector instanceof ZeroVector)) {
+      FieldVector targetData = target.<FieldVector>addOrGetVector(vector.getField().getFieldType()).getVector();
+      vector.makeTransferPair(targetData).splitAndTransfer(0, vector.getValueCount());
+    }
+    target.allocateValidityBuffer(getValidityBufferSizeFromCount(indices.length));
+    target.allocateViewBuffers(Math.max((long) indices.length * elementWidth, elementWidth));
+    long maxEnd = 0;
+    for (int i = 0; i < indices.length; i++) {
+      final int index = indices[i];
+      if (isSet(index) != 0) {
+        final long offset = getOffset(index);
+        final long size = getSize(index);
+        BitVectorHelper.setBit(target.validityBuffer, i);
+        target.setOffset(i, offset);
+        target.setSize(i, size);
+        maxEnd = Math.max(maxEnd, offset + size);
+      }
+    }
+    target.valueCount = indices.length;
+    target.nextOffset = Math.max(maxEnd, target.vector.getValueCount());
+  }
+
+  /**
+   * Load this vector from the buffers of a list vector of the same offset width. The data
+   * vector is shared with the source rather than copied, and the sizes are derived from
+   * consecutive offsets.
+   */
+  protected void loadFromListBuffers(FieldVector sourceData, ArrowBuf sourceValidity, ArrowBuf sourceOffsets,
+      int valueCount) {
+    clear();
+    if (!(sourceData instanceof ZeroVector)) {
+      FieldVector data = this.<FieldVector>addOrGetVector(sourceData.getField().getFieldType()).getVector();
+      sourceData.makeTransferPair(data).splitAndTransfer(0, sourceData.getValueCount());
+    }
+    final int validityBufferSize = getValidityBufferSizeFromCount(valueCount);
+    allocateValidityBuffer(validityBufferSize);
+    allocateViewBuffers(Math.max((long) valueCount * elementWidth, elementWidth));
+    if (valueCount > 0) {
+      validityBuffer.setBytes(0, sourceValidity, 0, validityBufferSize);
+    }
+    long maxEnd = 0;
+    for (int i = 0; i < valueCount; i++) {
+      final long start = readOffset(sourceOffsets, i);
+      final long end = readOffset(sourceOffsets, i + 1);
+      setOffset(i, start);
+      setSize(i, end - start);
+      maxEnd = Math.max(maxEnd, end);
+    }
+    this.valueCount = valueCount;
+    nextOffset = maxEnd;
+  }
+
+  private long readOffset(ArrowBuf buffer, int index) {
+    final long byteOffset = (long) index * elementWidth;
+    return elementWidth == Integer.BYTES ? buffer.getInt(byteOffset) : buffer.getLong(byteOffset);
+  }
+
+  /**
+   * Populate the data vector of a list vector with the elements of the lists of this vector,
+   * in list order. When the lists are laid out back to back from the start of the data
+   * vector, the data vector is shared instead of copied.
+   *
+   * @param targetData the data vector of the list vector to populate
+   */
+  protected void transferElementsInListOrder(FieldVector targetData) {
+    long end = 0;
+    boolean contiguous = true;
+    for (int i = 0; i < valueCount; i++) {
+      final long size = isSet(i) == 0 ? 0 : getSize(i);
+      if (size > 0) {
+        contiguous &= getOffset(i) == end;
+        end += size;
+      }
+    }
+    if (contiguous) {
+      vector.makeTransferPair(targetData).splitAndTransfer(0, checkedCastToInt(end));
+    } else {
+      targetData.allocateNew();
+      TransferPair copier = vector.makeTransferPair(targetData);
+      int position = 0;
+      for (int i = 0; i < valueCount; i++) {
+        final long start = getOffset(i);
+        final long size = isSet(i) == 0 ? 0 : getSize(i);
+        for (long j = start; j < start + size; j++) {
+          copier.copyValueSafe(checkedCastToInt(j), position++);
+        }
+      }
+      targetData.setValueCount(position);
+    }
+  }
+
+  private class TransferImpl implements TransferPair {
+
+    BaseListViewVector to;
+    TransferPair dataTransferPair;
+
+    public TransferImpl(BaseListViewVector to) {
+      this.to = to;
+      to.addOrGetVector(vector.getField().getFieldType());
+      dataTransferPair = getDataVector().makeTransferPair(to.getDataVector());
+    }
+
+    /**
+     * Transfer this vector'data to another vector. The memory associated
+     * with this vector is transferred to the allocator of target vector
+     * for accounting and management purposes.
+     */
+    @Override
+    public void transfer() {
+      to.clear();
+      dataTransferPair.transfer();
+      to.validityBuffer = transferBuffer(validityBuffer, to.allocator);
+      to.offsetBuffer = transferBuffer(offsetBuffer, to.allocator);
+      to.sizeBuffer = transferBuffer(sizeBuffer, to.allocator);
+      to.nextOffset = nextOffset;
+      if (valueCount > 0) {
+        to.setValueCount(valueCount);
+      }
+      clear();
+    }
+
+    /**
+     * Slice this vector at desired index and length and transfer the
+     * corresponding data to the target vector. Only the range of the data vector
+     * spanned by the selected lists is transferred.
+     * @param startIndex start position of the split in source vector.
+     * @param length length of the split.
+     */
+    @Override
+    public void splitAndTransfer(int startIndex, int length) {
+      Preconditions.checkArgument(startIndex >= 0 && length >= 0 && startIndex + length <= valueCount,
+          "Invalid parameters startIndex: %s, length: %s for valueCount: %s", startIndex, length, valueCount);
+      long minOffset = Long.MAX_VALUE;
+      long maxEnd = 0;
+      for (int i = startIndex; i < startIndex + length; i++) {
+        final long size = getSize(i);
+        if (size > 0) {
+          minOffset = Math.min(minOffset, getOffset(i));
+          maxEnd = Math.max(maxEnd, getOffset(i) + size);
+        }
+      }
+      if (minOffset == Long.MAX_VALUE) {
+        minOffset = 0;
+      }
+      to.clear();
+      to.allocateValidityBuffer(getValidityBufferSizeFromCount(length));
+      to.allocateViewBuffers(Math.max((long) length * elementWidth, elementWidth));
+      for (int i = 0; i < length; i++) {
+        if (isSet(startIndex + i) != 0) {
+          BitVectorHelper.setBit(to.validityBuffer, i);
+        }
+        final long size = getSize(startIndex + i);
+        if (size > 0) {
+          to.setOffset(i, getOffset(startIndex + i) - minOffset);
+          to.setSize(i, size);
+        }
+      }
+      dataTransferPair.splitAndTransfer(checkedCastToInt(minOffset), checkedCastToInt(maxEnd - minOffset));
+      to.nextOffset = maxEnd - minOffset;
+      to.setValueCount(length);
+    }
+
+    @Override
+    public ValueVector getTo() {
+      return to;
+    }
+
+    @Override
+    public void copyValueSafe(int from, int to) {
+      this.to.copyFrom(from, to, BaseListViewVector.this);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.complex;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.ZeroVector;
+import org.apache.arrow.vector.complex.impl.UnionLargeListViewWriter;
+import org.apache.arrow.vector.complex.impl.UnionListViewReader;
+import org.apache.arrow.vector.complex.reader.FieldReader;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.util.CallBack;
+
+/**
+ * A large list-view vector contains lists of a specific type of elements, each described by an
+ * 8-byte offset into the data vector and an 8-byte size. See {@link BaseListViewVector}.
+ */
+public class LargeListViewVector extends BaseListViewVector {
+
+  public static final int OFFSET_WIDTH = 8;
+  public static final int SIZE_WIDTH = 8;
+
+  public static LargeListViewVector empty(String name, BufferAllocator allocator) {
+    return new LargeListViewVector(name, allocator, FieldType.nullable(ArrowType.LargeListView.INSTANCE), null);
+  }
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param name The name of the instance.
+   * @param allocator The allocator to use for allocating/reallocating buffers.
+   * @param fieldType The type of this list-view.
+   * @param callBack A schema change callback.
+   */
+  public LargeListViewVector(String name, BufferAllocator allocator, FieldType fieldType, CallBack callBack) {
+    this(new Field(name, fieldType, null), allocator, callBack);
+  }
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param field The field materialized by this vector.
+   * @param allocator The allocator to use for allocating/reallocating buffers.
+   * @param callBack A schema change callback.
+   */
+  public LargeListViewVector(Field field, BufferAllocator allocator, CallBack callBack) {
+    super(field, allocator, callBack, OFFSET_WIDTH);
+  }
+
+  /**
+   * Create a large list-view vector holding the same lists as the given large list vector. The data
+   * vector is shared with the source, only the offsets and sizes are computed.
+   *
+   * @param source the list vector to convert
+   * @return a new large list-view vector allocated from the allocator of the source
+   */
+  public static LargeListViewVector fromListVector(LargeListVector source) {
+    Field sourceField = source.getField();
+    FieldType fieldType = new FieldType(sourceField.isNullable(), ArrowType.LargeListView.INSTANCE,
+        sourceField.getDictionary(), sourceField.getMetadata());
+    LargeListViewVector result = new LargeListViewVector(sourceField.getName(), source.getAllocator(), fieldType, null);
+    result.loadFromListBuffers(source.getDataVector(), source.getValidityBuffer(), source.getOffsetBuffer(),
+        source.getValueCount());
+    return result;
+  }
+
+  /**
+   * Populate the given large list vector with the lists of this vector. The data vector is shared
+   * when the lists are laid out back to back in the data vector, as after
+   * {@link #fromListVector(LargeListVector)} or when written through the writer; otherwise the
+   * elements are copied in list order.
+   *
+   * @param target the list vector to populate, its current contents are cleared
+   */
+  public void toListVector(LargeListVector target) {
+    target.clear();
+    if (!(vector instanceof ZeroVector)) {
+      FieldVector targetData = target.<FieldVector>addOrGetVector(vector.getField().getFieldType()).getVector();
+      transferElementsInListOrder(targetData);
+    }
+    for (int i = 0; i < valueCount; i++) {
+      if (isSet(i) == 0) {
+        target.setNull(i);
+      } else {
+        target.startNewValue(i);
+        target.endValue(i, getSize(i));
+      }
+    }
+    target.setValueCount(valueCount);
+  }
+
+  @Override
+  protected BaseListViewVector createVector(Field field, BufferAllocator allocator, CallBack callBack) {
+    return new LargeListViewVector(field, allocator, callBack);
+  }
+
+  public long getElementStartIndex(int index) {
+    return offsetBuffer.getLong((long) index * OFFSET_WIDTH);
+  }
+
+  public long getElementEndIndex(int index) {
+    return getElementStartIndex(index) + sizeBuffer.getLong((long) index * SIZE_WIDTH);
+  }
+
+  @Override
+  public UnionLargeListViewWriter getWriter() {
+    return new UnionLargeListViewWriter(this);
+  }
+
+  @Override
+  protected FieldReader getReaderImpl() {
+    return new UnionListViewReader(this);
+  }
+
+  @Override
+  public UnionListViewReader getReader() {
+    return (UnionListViewReader) super.getReader();
+  }
+
+  @Override
+  public MinorType getMinorType() {
+    return MinorType.LARGELISTVIEW;
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.complex;
+
+import static org.apache.arrow.memory.util.LargeMemoryUtil.checkedCastToInt;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.ZeroVector;
+import org.apache.arrow.vector.complex.impl.UnionListViewReader;
+import org.apache.arrow.vector.complex.impl.UnionListViewWriter;
+import org.apache.arrow.vector.complex.reader.FieldReader;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.util.CallBack;
+
+/**
+ * A list-view vector contains lists of a specific type of elements, each described by a
+ * 4-byte offset into the data vector and a 4-byte size. See {@link BaseListViewVector}.
+ */
+public class ListViewVector extends BaseListViewVector implements BaseListVector {
+
+  public static final int OFFSET_WIDTH = 4;
+  public static final int SIZE_WIDTH = 4;
+
+  public static ListViewVector empty(String name, BufferAllocator allocator) {
+    return new ListViewVector(name, allocator, FieldType.nullable(ArrowType.ListView.INSTANCE), null);
+  }
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param name The name of the instance.
+   * @param allocator The allocator to use for allocating/reallocating buffers.
+   * @param fieldType The type of this list-view.
+   * @param callBack A schema change callback.
+   */
+  public ListViewVector(String name, BufferAllocator allocator, FieldType fieldType, CallBack callBack) {
+    this(new Field(name, fieldType, null), allocator, callBack);
+  }
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param field The field materialized by this vector.
+   * @param allocator The allocator to use for allocating/reallocating buffers.
+   * @param callBack A schema change callback.
+   */
+  public ListViewVector(Field field, BufferAllocator allocator, CallBack callBack) {
+    super(field, allocator, callBack, OFFSET_WIDTH);
+  }
+
+  /**
+   * Create a list-view vector holding the same lists as the given list vector. The data vector
+   * is shared with the source, only the offsets and sizes are computed.
+   *
+   * @param source the list vector to convert
+   * @return a new list-view vector allocated from the allocator of the source
+   */
+  public static ListViewVector fromListVector(ListVector source) {
+    Field sourceField = source.getField();
+    FieldType fieldType = new FieldType(sourceField.isNullable(), ArrowType.ListView.INSTANCE,
+        sourceField.getDictionary(), sourceField.getMetadata());
+    ListViewVector result = new ListViewVector(sourceField.getName(), source.getAllocator(), fieldType, null);
+    result.loadFromListBuffers(source.getDataVector(), source.getValidityBuffer(), source.getOffsetBuffer(),
+        source.getValueCount());
+    return result;
+  }
+
+  /**
+   * Populate the given list vector with the lists of this vector. The data vector is shared
+   * when the lists are laid out back to back in the data vector, as after
+   * {@link #fromListVector(ListVector)} or when written through the writer; otherwise the
+   * elements are copied in list order.
+   *
+   * @param target the list vector to populate, its current contents are cleared
+   */
+  public void toListVector(ListVector target) {
+    target.clear();
+    if (!(vector instanceof ZeroVector)) {
+      FieldVector targetData = target.<FieldVector>addOrGetVector(vector.getField().getFieldType()).getVector();
+      transferElementsInListOrder(targetData);
+    }
+    for (int i = 0; i < valueCount; i++) {
+      if (isSet(i) == 0) {
+        target.setNull(i);
+      } else {
+        target.startNewValue(i);
+        target.endValue(i, checkedCastToInt(getSize(i)));
+      }
+    }
+    target.setValueCount(valueCount);
+  }
+
+  @Override
+  protected BaseListViewVector createVector(Field field, BufferAllocator allocator, CallBack callBack) {
+    return new ListViewVector(field, allocator, callBack);
+  }
+
+  @Override
+  public int getElementStartIndex(int index) {
+    return offsetBuffer.getInt((long) index * OFFSET_WIDTH);
+  }
+
+  @Override
+  public int getElementEndIndex(int index) {
+    return getElementStartIndex(index) + sizeBuffer.getInt((long) index * SIZE_WIDTH);
+  }
+
+  @Override
+  public UnionListViewWriter getWriter() {
+    return new UnionListViewWriter(this);
+  }
+
+  @Override
+  protected FieldReader getReaderImpl() {
+    return new UnionListViewReader(this);
+  }
+
+  @Override
+  public UnionListViewReader getReader() {
+    return (UnionListViewReader) super.getReader();
+  }
+
+  @Override
+  public MinorType getMinorType() {
+    return MinorType.LISTVIEW;
+  }
+}
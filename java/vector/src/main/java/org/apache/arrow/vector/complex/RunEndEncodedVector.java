@@ -0,0 +1,630 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.complex;
+
+import static org.apache.arrow.util.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.OutOfMemoryException;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseValueVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BufferBacked;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.ZeroVector;
+import org.apache.arrow.vector.compare.Range;
+import org.apache.arrow.vector.compare.RangeEqualsVisitor;
+import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.impl.RunEndEncodedReader;
+import org.apache.arrow.vector.complex.reader.FieldReader;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.util.CallBack;
+import org.apache.arrow.vector.util.TransferPair;
+
+/**
+ * A run-end encoded vector. Consecutive equal values are stored once in the values child
+ * vector, and the run ends child vector holds the (exclusive) logical end index of each run.
+ *
+ * <p>The vector has no buffers of its own: its value count is the logical length, while the
+ * children are sized by the number of runs. Looking up a logical index does a binary search
+ * over the run ends, see {@link #getPhysicalIndex(int)}.
+ *
+ * <p>Single values can only be appended, with {@link #setNull(int)} and
+ * {@link #copyFrom(int, int, ValueVector)} at the current value count: the value extends the
+ * last run if it is equal to it, otherwise it starts a new run.
+ */
+public class RunEndEncodedVector extends BaseValueVector implements FieldVector {
+
+  public static final String RUN_ENDS_VECTOR_NAME = "run_ends";
+  public static final String VALUES_VECTOR_NAME = "values";
+
+  /**
+   * Create an empty vector whose run ends are 32-bit integers.
+   *
+   * @param name the name of the vector.
+   * @param valuesType the type of the values child.
+   * @param allocator the allocator for the child vectors.
+   */
+  public static RunEndEncodedVector empty(String name, FieldType valuesType, BufferAllocator allocator) {
+    List<Field> children = Arrays.asList(
+        Field.notNullable(RUN_ENDS_VECTOR_NAME, MinorType.INT.getType()),
+        new Field(VALUES_VECTOR_NAME, valuesType, null));
+    Field field = new Field(name, FieldType.notNullable(ArrowType.RunEndEncoded.INSTANCE), children);
+    return (RunEndEncodedVector) field.createVector(allocator);
+  }
+
+  private Field field;
+  private FieldVector runEndsVector;
+  private FieldVector valuesVector;
+  private int runEndWidth;
+  private int valueCount;
+
+  /**
+   * Creates a new instance. The children are created by {@link #initializeChildrenFromFields(List)}.
+   *
+   * @param field The field materialized by this vector.
+   * @param allocator The allocator to use for creating/reallocating buffers for the vector.
+   * @param unusedSchemaChangeCallback Currently unused.
+   */
+  public RunEndEncodedVector(Field field, BufferAllocator allocator, CallBack unusedSchemaChangeCallback) {
+    super(allocator);
+    this.field = field;
+    this.runEndsVector = ZeroVector.INSTANCE;
+    this.valuesVector = ZeroVector.INSTANCE;
+  }
+
+  @Override
+  public Field getField() {
+    if (runEndsVector == ZeroVector.INSTANCE) {
+      return field;
+    }
+    List<Field> children = Arrays.asList(runEndsVector.getField(), valuesVector.getField());
+    if (!field.getChildren().equals(children)) {
+      field = new Field(field.getName(), field.getFieldType(), children);
+    }
+    return field;
+  }
+
+  @Override
+  public MinorType getMinorType() {
+    return MinorType.RUNENDENCODED;
+  }
+
+  @Override
+  public String getName() {
+    return field.getName();
+  }
+
+  @Override
+  public void initializeChildrenFromFields(List<Field> children) {
+    checkArgument(children.size() == 2,
+        "Run-end encoded vectors have two child Fields. Found: %s", children.isEmpty() ? "none" : children);
+    checkArgument(runEndsVector == ZeroVector.INSTANCE, "Child vectors already exist: %s", runEndsVector);
+
+    ArrowType runEndsType = children.get(0).getType();
+    checkArgument(runEndsType instanceof ArrowType.Int && ((ArrowType.Int) runEndsType).getIsSigned(),
+        "Run ends must be signed integers. Found: %s", runEndsType);
+    int bitWidth = ((ArrowType.Int) runEndsType).getBitWidth();
+    checkArgument(bitWidth == 16 || bitWidth == 32 || bitWidth == 64,
+        "Run ends must be 16, 32 or 64 bits wide. Found: %s", bitWidth);
+
+    runEndsVector = children.get(0).createVector(allocator);
+    valuesVector = children.get(1).createVector(allocator);
+    runEndWidth = bitWidth / 8;
+    invalidateReader();
+    this.field = new Field(this.field.getName(), this.field.getFieldType(), children);
+  }
+
+  @Override
+  public List<FieldVector> getChildrenFromFields() {
+    if (runEndsVector == ZeroVector.INSTANCE) {
+      return Collections.emptyList();
+    }
+    return Arrays.asList(runEndsVector, valuesVector);
+  }
+
+  /** Get the child vector holding the end of each run. */
+  public FieldVector getRunEndsVector() {
+    return runEndsVector;
+  }
+
+  /** Get the child vector holding the value of each run. */
+  public FieldVector getValuesVector() {
+    return valuesVector;
+  }
+
+  /** Get the number of runs, i.e. the number of physical values. */
+  public int getRunCount() {
+    return runEndsVector.getValueCount();
+  }
+
+  /**
+   * Get the exclusive logical end index of a run.
+   *
+   * @param runIndex the physical index of the run.
+   */
+  public long getRunEnd(int runIndex) {
+    ArrowBuf runEnds = runEndsVector.getDataBuffer();
+    switch (runEndWidth) {
+      case 2:
+        return runEnds.getShort((long) runIndex * 2);
+      case 4:
+        return runEnds.getInt((long) runIndex * 4);
+      default:
+        return runEnds.getLong((long) runIndex * 8);
+    }
+  }
+
+  /**
+   * Set the exclusive logical end index of a run. Reallocates the run ends if needed.
+   *
+   * @param runIndex the physical index of the run.
+   * @param runEnd the logical end of the run.
+   */
+  public void setRunEnd(int runIndex, long runEnd) {
+    switch (runEndWidth) {
+      case 2:
+        checkArgument(runEnd <= Short.MAX_VALUE, "Run end %s does not fit in 16 bits", runEnd);
+        ((SmallIntVector) runEndsVector).setSafe(runIndex, (short) runEnd);
+        break;
+      case 4:
+        checkArgument(runEnd <= Integer.MAX_VALUE, "Run end %s does not fit in 32 bits", runEnd);
+        ((IntVector) runEndsVector).setSafe(runIndex, (int) runEnd);
+        break;
+      default:
+        ((BigIntVector) runEndsVector).setSafe(runIndex, runEnd);
+        break;
+    }
+  }
+
+  /**
+   * Get the physical index of the run containing a logical index, i.e. the first run whose
+   * end is greater than the logical index. This is a binary search over the run ends.
+   *
+   * @param index the logical index.
+   * @return the index of the run in the run ends and values vectors.
+   */
+  public int getPhysicalIndex(int index) {
+    Preconditions.checkElementIndex(index, valueCount);
+    int low = 0;
+    int high = getRunCount() - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (getRunEnd(mid) <= index) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Replace the contents of this vector with the run-end encoding of a dense vector of the same
+   * type as the values child. Adjacent equal values, including nulls, are collapsed into one run.
+   *
+   * @param source the dense vector to encode.
+   * @throws IllegalArgumentException if the source is not of the type of the values child.
+   */
+  public void encode(ValueVector source) {
+    checkArgument(source.getField().getType().equals(valuesVector.getField().getType()),
+        "Cannot encode a vector of type %s into run-end encoded values of type %s",
+        source.getField().getType(), valuesVector.getField().getType());
+    clear();
+    int count = source.getValueCount();
+    RangeEqualsVisitor visitor = new RangeEqualsVisitor(source, source, /*type comparator*/ null);
+    Range range = new Range(0, 0, 1);
+    int runCount = 0;
+    for (int i = 0; i < count; i++) {
+      if (i + 1 == count || !visitor.rangeEquals(range.setLeftStart(i).setRightStart(i + 1))) {
+        valuesVector.copyFromSafe(i, runCount, source);
+        setRunEnd(runCount, i + 1);
+        runCount++;
+      }
+    }
+    runEndsVector.setValueCount(runCount);
+    valuesVector.setValueCount(runCount);
+    valueCount = count;
+  }
+
+  @Override
+  public void loadFieldBuffers(ArrowFieldNode fieldNode, List<ArrowBuf> ownBuffers) {
+    if (!ownBuffers.isEmpty()) {
+      throw new IllegalArgumentException("Illegal buffer count, expected 0, got: " + ownBuffers.size());
+    }
+    valueCount = fieldNode.getLength();
+  }
+
+  @Override
+  public List<ArrowBuf> getFieldBuffers() {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Get the inner vectors.
+   *
+   * @return the inner vectors for this field as defined by the TypeLayout
+   */
+  @Deprecated
+  @Override
+  public List<BufferBacked> getFieldInnerVectors() {
+    throw new UnsupportedOperationException("There are no inner vectors. Use getFieldBuffers");
+  }
+
+  @Override
+  protected FieldReader getReaderImpl() {
+    return new RunEndEncodedReader(this);
+  }
+
+  private void invalidateReader() {
+    fieldReader = null;
+  }
+
+  @Override
+  public void allocateNew() throws OutOfMemoryException {
+    if (!allocateNewSafe()) {
+      throw new OutOfMemoryException("Failure while allocating memory");
+    }
+  }
+
+  @Override
+  public boolean allocateNewSafe() {
+    boolean success = false;
+    try {
+      clear();
+      success = runEndsVector.allocateNewSafe() && valuesVector.allocateNewSafe();
+    } finally {
+      if (!success) {
+        clear();
+      }
+    }
+    return success;
+  }
+
+  @Override
+  public void reAlloc() {
+    runEndsVector.reAlloc();
+    valuesVector.reAlloc();
+  }
+
+  /**
+   * Set the initial number of runs to allocate.
+   */
+  @Override
+  public void setInitialCapacity(int numRuns) {
+    runEndsVector.setInitialCapacity(numRuns);
+    valuesVector.setInitialCapacity(numRuns);
+  }
+
+  /**
+   * Get the number of runs the vector can hold without reallocating.
+   */
+  @Override
+  public int getValueCapacity() {
+    return Math.min(runEndsVector.getValueCapacity(), valuesVector.getValueCapacity());
+  }
+
+  @Override
+  public int getBufferSize() {
+    if (valueCount == 0) {
+      return 0;
+    }
+    return runEndsVector.getBufferSize() + valuesVector.getBufferSize();
+  }
+
+  @Override
+  public int getBufferSizeFor(int valueCount) {
+    if (valueCount == 0) {
+      return 0;
+    }
+    int runCount = getPhysicalIndex(valueCount - 1) + 1;
+    return runEndsVector.getBufferSizeFor(runCount) + valuesVector.getBufferSizeFor(runCount);
+  }
+
+  @Override
+  public Iterator<ValueVector> iterator() {
+    return Collections.<ValueVector>unmodifiableList(getChildrenFromFields()).iterator();
+  }
+
+  @Override
+  public void clear() {
+    runEndsVector.clear();
+    valuesVector.clear();
+    valueCount = 0;
+    super.clear();
+  }
+
+  @Override
+  public void reset() {
+    runEndsVector.reset();
+    valuesVector.reset();
+    valueCount = 0;
+  }
+
+  @Override
+  public ArrowBuf[] getBuffers(boolean clear) {
+    final List<ArrowBuf> buffers = new ArrayList<>();
+    for (final ValueVector vector : getChildrenFromFields()) {
+      for (final ArrowBuf buf : vector.getBuffers(false)) {
+        buffers.add(buf);
+        if (clear) {
+          buf.getReferenceManager().retain(1);
+        }
+      }
+    }
+    if (clear) {
+      clear();
+    }
+    return buffers.toArray(new ArrowBuf[buffers.size()]);
+  }
+
+  @Override
+  public long getValidityBufferAddress() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getDataBufferAddress() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public long getOffsetBufferAddress() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public ArrowBuf getValidityBuffer() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public ArrowBuf getDataBuffer() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public ArrowBuf getOffsetBuffer() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Object getObject(int index) {
+    return valuesVector.getObject(getPhysicalIndex(index));
+  }
+
+  @Override
+  public boolean isNull(int index) {
+    return valuesVector.isNull(getPhysicalIndex(index));
+  }
+
+  /**
+   * Always 0: a run-end encoded vector has no validity buffer of its own, nulls are
+   * stored as null runs in the values vector.
+   */
+  @Override
+  public int getNullCount() {
+    return 0;
+  }
+
+  @Override
+  public int getValueCount() {
+    return valueCount;
+  }
+
+  /**
+   * Append a null value, see {@link #copyFrom(int, int, ValueVector)}.
+   *
+   * @param index the logical index, which must be the current value count.
+   */
+  @Override
+  public void setNull(int index) {
+    checkAppend(index);
+    final int runCount = getRunCount();
+    if (runCount > 0 && valuesVector.isNull(runCount - 1)) {
+      setRunEnd(runCount - 1, index + 1);
+    } else {
+      valuesVector.setNull(runCount);
+      appendRun(runCount, index);
+    }
+    valueCount = index + 1;
+  }
+
+  private void checkAppend(int index) {
+    if (index != valueCount) {
+      throw new UnsupportedOperationException("Values of a run-end encoded vector can only be appended: index " +
+          index + " but value count " + valueCount);
+    }
+    checkArgument(runEndsVector != ZeroVector.INSTANCE, "The children of the vector are not initialized");
+  }
+
+  private void appendRun(int runCount, int index) {
+    setRunEnd(runCount, index + 1);
+    runEndsVector.setValueCount(runCount + 1);
+    valuesVector.setValueCount(runCount + 1);
+  }
+
+  /**
+   * Append a value, extending the last run if it is equal to it or starting a new run.
+   *
+   * @param value the vector holding the value: a run-end encoded vector or a dense vector of the
+   *     type of the values child.
+   * @param index the index of the value.
+   */
+  private void appendValue(ValueVector value, int index) {
+    final int runCount = getRunCount();
+    final int logicalIndex = valueCount;
+    if (runCount > 0 && new RangeEqualsVisitor(valuesVector, value, /*type comparator*/ null)
+        .rangeEquals(new Range(runCount - 1, index, 1))) {
+      setRunEnd(runCount - 1, logicalIndex + 1);
+    } else {
+      valuesVector.copyFromSafe(index, runCount, value);
+      appendRun(runCount, logicalIndex);
+    }
+  }
+
+  /**
+   * Set the logical length of the vector. The run counts of the children are set separately and
+   * the last run must end at or after the logical length.
+   */
+  @Override
+  public void setValueCount(int valueCount) {
+    this.valueCount = valueCount;
+  }
+
+  @Override
+  public TransferPair getTransferPair(String ref, BufferAllocator allocator) {
+    return getTransferPair(ref, allocator, null);
+  }
+
+  @Override
+  public TransferPair getTransferPair(Field field, BufferAllocator allocator) {
+    return getTransferPair(field, allocator, null);
+  }
+
+  @Override
+  public TransferPair getTransferPair(String ref, BufferAllocator allocator, CallBack callBack) {
+    return new TransferImpl(new RunEndEncodedVector(
+        new Field(ref, field.getFieldType(), null), allocator, callBack));
+  }
+
+  @Override
+  public TransferPair getTransferPair(Field field, BufferAllocator allocator, CallBack callBack) {
+    return new TransferImpl(new RunEndEncodedVector(field, allocator, callBack));
+  }
+
+  @Override
+  public TransferPair makeTransferPair(ValueVector target) {
+    return new TransferImpl((RunEndEncodedVector) target);
+  }
+
+  /**
+   * Append a value of another vector. Only appends are supported: thisIndex must be the current
+   * value count, which is incremented.
+   *
+   * @param fromIndex the logical index of the value in the source vector.
+   * @param thisIndex the logical index in this vector, which must be the current value count.
+   * @param from a run-end encoded vector, or a dense vector of the type of the values child.
+   * @throws UnsupportedOperationException if thisIndex is not the current value count.
+   */
+  @Override
+  public void copyFrom(int fromIndex, int thisIndex, ValueVector from) {
+    checkAppend(thisIndex);
+    if (from instanceof RunEndEncodedVector) {
+      RunEndEncodedVector fromVector = (RunEndEncodedVector) from;
+      appendValue(fromVector.getValuesVector(), fromVector.getPhysicalIndex(fromIndex));
+    } else {
+      checkArgument(from.getField().getType().equals(valuesVector.getField().getType()),
+          "Cannot copy a value of type %s into run-end encoded values of type %s",
+          from.getField().getType(), valuesVector.getField().getType());
+      appendValue(from, fromIndex);
+    }
+    valueCount = thisIndex + 1;
+  }
+
+  @Override
+  public void copyFromSafe(int fromIndex, int thisIndex, ValueVector from) {
+    copyFrom(fromIndex, thisIndex, from);
+  }
+
+  @Override
+  public int hashCode(int index) {
+    return hashCode(index, null);
+  }
+
+  @Override
+  public int hashCode(int index, ArrowBufHasher hasher) {
+    return valuesVector.hashCode(getPhysicalIndex(index), hasher);
+  }
+
+  @Override
+  public <OUT, IN> OUT accept(VectorVisitor<OUT, IN> visitor, IN value) {
+    return visitor.visit(this, value);
+  }
+
+  private class TransferImpl implements TransferPair {
+
+    private final RunEndEncodedVector to;
+    private final TransferPair runEndsPair;
+    private final TransferPair valuesPair;
+
+    TransferImpl(RunEndEncodedVector to) {
+      this.to = to;
+      if (to.runEndsVector == ZeroVector.INSTANCE) {
+        to.initializeChildrenFromFields(getField().getChildren());
+      }
+      runEndsPair = runEndsVector.makeTransferPair(to.runEndsVector);
+      valuesPair = valuesVector.makeTransferPair(to.valuesVector);
+    }
+
+    @Override
+    public void transfer() {
+      to.clear();
+      runEndsPair.transfer();
+      valuesPair.transfer();
+      to.valueCount = valueCount;
+      clear();
+    }
+
+    @Override
+    public void splitAndTransfer(int startIndex, int length) {
+      Preconditions.checkArgument(startIndex >= 0 && length >= 0 && startIndex + length <= valueCount,
+          "Invalid parameters startIndex: %s, length: %s for valueCount: %s", startIndex, length, valueCount);
+      to.clear();
+      if (length == 0) {
+        return;
+      }
+      // runs overlapping the slice keep their values, their ends are rebased on the slice start
+      final int firstRun = getPhysicalIndex(startIndex);
+      final int runCount = getPhysicalIndex(startIndex + length - 1) - firstRun + 1;
+      valuesPair.splitAndTransfer(firstRun, runCount);
+      to.runEndsVector.setInitialCapacity(runCount);
+      to.runEndsVector.allocateNew();
+      for (int i = 0; i < runCount; i++) {
+        to.setRunEnd(i, Math.min(getRunEnd(firstRun + i), startIndex + length) - startIndex);
+      }
+      to.runEndsVector.setValueCount(runCount);
+      to.valueCount = length;
+    }
+
+    @Override
+    public ValueVector getTo() {
+      return to;
+    }
+
+    @Override
+    public void copyValueSafe(int from, int to) {
+      this.to.copyFromSafe(from, to, RunEndEncodedVector.this);
+    }
+  }
+}
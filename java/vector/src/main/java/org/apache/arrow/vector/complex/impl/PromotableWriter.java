@@ -26,6 +26,7 @@ import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.NullVector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.complex.AbstractStructVector;
+import org.apache.arrow.vector.complex.BaseListViewVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
@@ -56,6 +57,7 @@ public class PromotableWriter extends AbstractPromotableFieldWriter {
   private final ListVector listVector;
   private final FixedSizeListVector fixedListVector;
   private final LargeListVector largeListVector;
+  private final BaseListViewVector listViewVector;
   private final NullableStructWriterFactory nullableStructWriterFactory;
   private int position;
   private static final int MAX_DECIMAL_PRECISION = 38;
@@ -96,6 +98,7 @@ public class PromotableWriter extends AbstractPromotableFieldWriter {
     this.listVector = null;
     this.fixedListVector = null;
     this.largeListVector = null;
+    this.listViewVector = null;
     this.nullableStructWriterFactory = nullableStructWriterFactory;
     init(v);
   }
@@ -130,6 +133,16 @@ public class PromotableWriter extends AbstractPromotableFieldWriter {
     this(v, largeListVector, NullableStructWriterFactory.getNullableStructWriterFactoryInstance());
   }
 
+  /**
+   * Constructs a new instance.
+   *
+   * @param v The vector to initialize the writer with.
+   * @param listViewVector The vector that serves as a parent of v.
+   */
+  public PromotableWriter(ValueVector v, BaseListViewVector listViewVector) {
+    this(v, listViewVector, NullableStructWriterFactory.getNullableStructWriterFactoryInstance());
+  }
+
   /**
    * Constructs a new instance.
    *
@@ -145,6 +158,7 @@ public class PromotableWriter extends AbstractPromotableFieldWriter {
     this.parentContainer = null;
     this.fixedListVector = null;
     this.largeListVector = null;
+    this.listViewVector = null;
     this.nullableStructWriterFactory = nullableStructWriterFactory;
     init(v);
   }
@@ -164,6 +178,7 @@ public class PromotableWriter extends AbstractPromotableFieldWriter {
     this.parentContainer = null;
     this.listVector = null;
     this.largeListVector = null;
+    this.listViewVector = null;
     this.nullableStructWriterFactory = nullableStructWriterFactory;
     init(v);
   }
@@ -183,6 +198,27 @@ public class PromotableWriter extends AbstractPromotableFieldWriter {
     this.fixedListVector = null;
     this.parentContainer = null;
     this.listVector = null;
+    this.listViewVector = null;
+    this.nullableStructWriterFactory = nullableStructWriterFactory;
+    init(v);
+  }
+
+  /**
+   * Constructs a new instance.
+   *
+   * @param v The vector to initialize the writer with.
+   * @param listViewVector The vector that serves as a parent of v.
+   * @param nullableStructWriterFactory The factory to create the delegate writer.
+   */
+  public PromotableWriter(
+      ValueVector v,
+      BaseListViewVector listViewVector,
+      NullableStructWriterFactory nullableStructWriterFactory) {
+    this.listViewVector = listViewVector;
+    this.largeListVector = null;
+    this.fixedListVector = null;
+    this.parentContainer = null;
+    this.listVector = null;
     this.nullableStructWriterFactory = nullableStructWriterFactory;
     init(v);
   }
@@ -280,6 +316,8 @@ public class PromotableWriter extends AbstractPromotableFieldWriter {
         v = listVector.addOrGetVector(fieldType).getVector();
       } else if (fixedListVector != null) {
         v = fixedListVector.addOrGetVector(fieldType).getVector();
+      } else if (listViewVector != null) {
+        v = listViewVector.addOrGetVector(fieldType).getVector();
       } else {
         v = largeListVector.addOrGetVector(fieldType).getVector();
       }
@@ -322,6 +360,8 @@ public class PromotableWriter extends AbstractPromotableFieldWriter {
       unionVector = fixedListVector.promoteToUnion();
     } else if (largeListVector != null) {
       unionVector = largeListVector.promoteToUnion();
+    } else if (listViewVector != null) {
+      unionVector = listViewVector.promoteToUnion();
     }
     unionVector.addVector((FieldVector) tp.getTo());
     writer = new UnionWriter(unionVector, nullableStructWriterFactory);
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.complex.impl;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
+import org.apache.arrow.vector.complex.reader.FieldReader;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.Field;
+
+/**
+ * Reader for run-end encoded vectors. Positions the values reader on the run containing
+ * the current logical index. The current run is remembered, so sequential reads only
+ * search the run ends when they cross into another run or the run ends are reloaded.
+ */
+public class RunEndEncodedReader extends AbstractFieldReader {
+
+  private final RunEndEncodedVector vector;
+
+  private ArrowBuf runEnds;
+  private int run = -1;
+  private long runStart;
+  private long runEnd;
+
+  public RunEndEncodedReader(RunEndEncodedVector vector) {
+    this.vector = vector;
+  }
+
+  @Override
+  public Field getField() {
+    return vector.getField();
+  }
+
+  @Override
+  public MinorType getMinorType() {
+    return vector.getMinorType();
+  }
+
+  @Override
+  public void setPosition(int index) {
+    super.setPosition(index);
+    if (index < 0 || index >= vector.getValueCount()) {
+      run = -1;
+      return;
+    }
+    ArrowBuf currentRunEnds = vector.getRunEndsVector().getDataBuffer();
+    if (run < 0 || runEnds != currentRunEnds || index < runStart || index >= runEnd) {
+      runEnds = currentRunEnds;
+      run = vector.getPhysicalIndex(index);
+      runStart = run == 0 ? 0 : vector.getRunEnd(run - 1);
+      runEnd = vector.getRunEnd(run);
+    }
+    vector.getValuesVector().getReader().setPosition(run);
+  }
+
+  /**
+   * Get the physical index of the run at the current position, or -1 if the position is out of range.
+   */
+  public int getRunIndex() {
+    return run;
+  }
+
+  @Override
+  public FieldReader reader() {
+    return vector.getValuesVector().getReader();
+  }
+
+  @Override
+  public boolean isSet() {
+    return run < 0 ? !vector.isNull(idx()) : !vector.getValuesVector().isNull(run);
+  }
+
+  @Override
+  public Object readObject() {
+    return run < 0 ? vector.getObject(idx()) : vector.getValuesVector().getObject(run);
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    run = -1;
+  }
+}
@@ -34,10 +34,20 @@ import org.apache.arrow.vector.util.TransferPair;
  * Encoder/decoder for Dictionary encoded {@link ValueVector}. Dictionary encoding produces an
  * integer {@link ValueVector}. Each entry in the Vector is index into the dictionary which can hold
  * values of any type.
+ *
+ * <p>By default the values of the dictionary are looked up in an on-heap {@link DictionaryHashTable}.
+ * For large dictionaries, an {@link OffHeapDictionaryHashTable} can be requested instead, in which
+ * case the encoder must be closed to release it.</p>
  */
-public class DictionaryEncoder {
+public class DictionaryEncoder implements AutoCloseable {
+
+  /**
+   * The number of values encoded at a time with an {@link OffHeapDictionaryHashTable}.
+   */
+  private static final int ENCODE_BATCH_SIZE = 4096;
 
   private final DictionaryHashTable hashTable;
+  private final OffHeapDictionaryHashTable offHeapHashTable;
   private final Dictionary dictionary;
   private final BufferAllocator allocator;
 
@@ -52,9 +62,27 @@ public class DictionaryEncoder {
    * Construct an instance.
    */
   public DictionaryEncoder(Dictionary dictionary, BufferAllocator allocator, ArrowBufHasher hasher) {
+    this(dictionary, allocator, hasher, false);
+  }
+
+  /**
+   * Construct an instance.
+   * @param dictionary the dictionary.
+   * @param allocator the allocator for the encoded vectors, and for the off-heap hash table.
+   * @param hasher the hasher of the values.
+   * @param offHeapHashTable whether to look up the values in an {@link OffHeapDictionaryHashTable}.
+   */
+  public DictionaryEncoder(Dictionary dictionary, BufferAllocator allocator, ArrowBufHasher hasher,
+      boolean offHeapHashTable) {
     this.dictionary = dictionary;
     this.allocator = allocator;
-    hashTable = new DictionaryHashTable(dictionary.getVector(), hasher);
+    if (offHeapHashTable) {
+      this.hashTable = null;
+      this.offHeapHashTable = new OffHeapDictionaryHashTable(allocator, dictionary.getVector(), hasher);
+    } else {
+      this.hashTable = new DictionaryHashTable(dictionary.getVector(), hasher);
+      this.offHeapHashTable = null;
+    }
   }
 
   /**
@@ -154,6 +182,39 @@ public class DictionaryEncoder {
     }
   }
 
+  /**
+   * Populates indices between start and end with the encoded values of vector, looking up the
+   * values in batch.
+   * @param vector the vector to encode
+   * @param indices the index vector
+   * @param encoding the off-heap hash table for encoding
+   * @param start the start index
+   * @param end the end index
+   */
+  static void buildIndexVector(
+      ValueVector vector,
+      BaseIntVector indices,
+      OffHeapDictionaryHashTable encoding,
+      int start,
+      int end) {
+
+    final int[] encoded = new int[Math.min(end - start, ENCODE_BATCH_SIZE)];
+    for (int batchStart = start; batchStart < end; batchStart += encoded.length) {
+      final int count = Math.min(encoded.length, end - batchStart);
+      encoding.getIndices(vector, batchStart, count, encoded);
+      for (int i = 0; i < count; i++) {
+        if (!vector.isNull(batchStart + i)) {
+          // if it's null leave it null
+          if (encoded[i] == OffHeapDictionaryHashTable.NULL_VALUE) {
+            throw new IllegalArgumentException("Dictionary encoding not defined for value:" +
+                vector.getObject(batchStart + i));
+          }
+          indices.setWithPossibleTruncate(batchStart + i, encoded[i]);
+        }
+      }
+    }
+  }
+
   /**
    * Retrieve values to target vector from index vector.
    * @param indices the index vector
@@ -199,7 +260,11 @@ public class DictionaryEncoder {
     BaseIntVector indices = (BaseIntVector) createdVector;
     indices.allocateNew();
     try {
-      buildIndexVector(vector, indices, hashTable, 0, vector.getValueCount());
+      if (offHeapHashTable != null) {
+        buildIndexVector(vector, indices, offHeapHashTable, 0, vector.getValueCount());
+      } else {
+        buildIndexVector(vector, indices, hashTable, 0, vector.getValueCount());
+      }
       indices.setValueCount(vector.getValueCount());
       return indices;
     } catch (Exception e) {
@@ -217,4 +282,14 @@ public class DictionaryEncoder {
   public ValueVector decode(ValueVector indices) {
     return decode(indices, dictionary, allocator);
   }
+
+  /**
+   * Releases the off-heap hash table, if any.
+   */
+  @Override
+  public void close() {
+    if (offHeapHashTable != null) {
+      offHeapHashTable.close();
+    }
+  }
 }
@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.dictionary;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.memory.util.hash.SimpleHasher;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.ElementAddressableVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.compare.Range;
+import org.apache.arrow.vector.compare.RangeEqualsVisitor;
+import org.apache.arrow.vector.util.VectorHasher;
+
+/**
+ * Off-heap hash table used for dictionary encoding, an alternative to {@link DictionaryHashTable}
+ * for large dictionaries.
+ *
+ * <p>The table uses open addressing with linear probing. Each slot holds the hash code of a
+ * dictionary value and its index in the dictionary vector, in an {@link ArrowBuf}, so that the
+ * table allocates no Java object per dictionary value. The table doubles when it is half full.</p>
+ *
+ * <p>Values are compared byte by byte if both vectors are {@link ElementAddressableVector}s of the
+ * same type, and with a {@link RangeEqualsVisitor} otherwise. Hash codes are those of
+ * {@link ValueVector#hashCode(int, ArrowBufHasher)}, computed in batch by {@link VectorHasher}
+ * where possible.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public class OffHeapDictionaryHashTable implements AutoCloseable {
+
+  /**
+   * Represents a value not in the dictionary.
+   */
+  public static final int NULL_VALUE = -1;
+
+  /**
+   * The maximum number of slots.
+   */
+  static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  /**
+   * The number of rows hashed at a time in batch operations.
+   */
+  private static final int HASH_BATCH_SIZE = 4096;
+
+  /**
+   * Each slot holds the hash code, then the dictionary index plus one, so that a zero slot is empty.
+   */
+  private static final int SLOT_WIDTH = 8;
+
+  private final BufferAllocator allocator;
+
+  private final ValueVector dictionary;
+
+  private final ArrowBufHasher hasher;
+
+  private final IntVector hashes;
+
+  private final ArrowBufPointer leftPointer;
+
+  private final ArrowBufPointer rightPointer;
+
+  private ArrowBuf table;
+
+  private int capacity;
+
+  private int size;
+
+  /**
+   * The vector probed last, for which the equality of values has been prepared.
+   */
+  private ValueVector probedVector;
+
+  private boolean compareBytes;
+
+  private RangeEqualsVisitor equalsVisitor;
+
+  private final Range range = new Range(0, 0, 1);
+
+  /**
+   * Constructs a table of the values of a dictionary.
+   * @param allocator the allocator for the table.
+   * @param dictionary the dictionary vector, whose values are distinct.
+   * @param hasher the hasher of the values, or null for {@link SimpleHasher}.
+   */
+  public OffHeapDictionaryHashTable(BufferAllocator allocator, ValueVector dictionary, ArrowBufHasher hasher) {
+    this.allocator = allocator;
+    this.dictionary = dictionary;
+    this.hasher = hasher == null ? SimpleHasher.INSTANCE : hasher;
+    this.leftPointer = new ArrowBufPointer(this.hasher);
+    this.rightPointer = new ArrowBufPointer(this.hasher);
+    this.hashes = new IntVector("hashes", allocator);
+    try {
+      capacity = Math.max(16, roundUpToPowerOf2(dictionary.getValueCount() * 2));
+      table = allocateTable(capacity);
+      for (int start = 0; start < dictionary.getValueCount(); start += HASH_BATCH_SIZE) {
+        final int count = Math.min(HASH_BATCH_SIZE, dictionary.getValueCount() - start);
+        VectorHasher.hash(dictionary, start, count, this.hasher, hashes);
+        for (int i = 0; i < count; i++) {
+          put(start + i, hashes.get(i));
+        }
+      }
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Constructs a table of the values of a dictionary, with the default hasher.
+   */
+  public OffHeapDictionaryHashTable(BufferAllocator allocator, ValueVector dictionary) {
+    this(allocator, dictionary, SimpleHasher.INSTANCE);
+  }
+
+  private static int roundUpToPowerOf2(int size) {
+    return size <= 1 ? 1 : Math.min(Integer.highestOneBit(size - 1) << 1, MAXIMUM_CAPACITY);
+  }
+
+  private ArrowBuf allocateTable(int newCapacity) {
+    ArrowBuf newTable = allocator.buffer((long) newCapacity * SLOT_WIDTH);
+    newTable.setZero(0, newTable.capacity());
+    return newTable;
+  }
+
+  /**
+   * Spreads the bits of a hash code, so that hash codes differing in their high bits do not collide.
+   */
+  private static int spread(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    return hash;
+  }
+
+  /**
+   * Gets the hasher of the values.
+   */
+  public ArrowBufHasher getHasher() {
+    return hasher;
+  }
+
+  /**
+   * Gets the dictionary index of a value.
+   * @param indexInArray index of the value in the vector to encode.
+   * @param toEncode the vector to encode.
+   * @return dictionary vector index or -1 if no value equals.
+   */
+  public int getIndex(int indexInArray, ValueVector toEncode) {
+    return getIndex(indexInArray, toEncode, toEncode.hashCode(indexInArray, hasher));
+  }
+
+  /**
+   * Gets the dictionary index of a value whose hash code is known.
+   * @param indexInArray index of the value in the vector to encode.
+   * @param toEncode the vector to encode.
+   * @param hash the hash code of the value, from the hasher of this table.
+   * @return dictionary vector index or -1 if no value equals.
+   */
+  public int getIndex(int indexInArray, ValueVector toEncode, int hash) {
+    prepareEquals(toEncode);
+    final int mask = capacity - 1;
+    for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+      final long address = (long) slot * SLOT_WIDTH;
+      final int entry = table.getInt(address + Integer.BYTES);
+      if (entry == 0) {
+        return NULL_VALUE;
+      }
+      if (table.getInt(address) == hash && valueEquals(entry - 1, toEncode, indexInArray)) {
+        return entry - 1;
+      }
+    }
+  }
+
+  /**
+   * Gets the dictionary indices of a range of values.
+   * @param toEncode the vector to encode.
+   * @param startIndex the index of the first value.
+   * @param count the number of values.
+   * @param dictionaryIndices the dictionary vector index of each value, or -1 if no value equals.
+   */
+  public void getIndices(ValueVector toEncode, int startIndex, int count, int[] dictionaryIndices) {
+    Preconditions.checkArgument(dictionaryIndices.length >= count, "The indices are too short");
+    for (int start = 0; start < count; start += HASH_BATCH_SIZE) {
+      final int batchCount = Math.min(HASH_BATCH_SIZE, count - start);
+      VectorHasher.hash(toEncode, startIndex + start, batchCount, hasher, hashes);
+      for (int i = 0; i < batchCount; i++) {
+        dictionaryIndices[start + i] = getIndex(startIndex + start + i, toEncode, hashes.get(i));
+      }
+    }
+  }
+
+  /**
+   * Puts a value of the dictionary into the table, for example after it has been appended to the dictionary.
+   * The value must not be in the table already.
+   * @param indexInDictionary the index of the value in the dictionary vector.
+   * @param hash the hash code of the value, from the hasher of this table.
+   */
+  public void put(int indexInDictionary, int hash) {
+    if ((long) (size + 1) * 2 > capacity) {
+      resize();
+    }
+    final int mask = capacity - 1;
+    int slot = spread(hash) & mask;
+    while (table.getInt((long) slot * SLOT_WIDTH + Integer.BYTES) != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table.setInt((long) slot * SLOT_WIDTH, hash);
+    table.setInt((long) slot * SLOT_WIDTH + Integer.BYTES, indexInDictionary + 1);
+    size++;
+  }
+
+  private void resize() {
+    if (capacity == MAXIMUM_CAPACITY) {
+      throw new IllegalStateException("The dictionary hash table is full");
+    }
+    final int newCapacity = capacity * 2;
+    // if the allocation fails, the table keeps its current slots
+    final ArrowBuf newTable = allocateTable(newCapacity);
+    final int mask = newCapacity - 1;
+    for (int oldSlot = 0; oldSlot < capacity; oldSlot++) {
+      final int entry = table.getInt((long) oldSlot * SLOT_WIDTH + Integer.BYTES);
+      if (entry == 0) {
+        continue;
+      }
+      final int hash = table.getInt((long) oldSlot * SLOT_WIDTH);
+      int slot = spread(hash) & mask;
+      while (newTable.getInt((long) slot * SLOT_WIDTH + Integer.BYTES) != 0) {
+        slot = (slot + 1) & mask;
+      }
+      newTable.setInt((long) slot * SLOT_WIDTH, hash);
+      newTable.setInt((long) slot * SLOT_WIDTH + Integer.BYTES, entry);
+    }
+    table.close();
+    table = newTable;
+    capacity = newCapacity;
+  }
+
+  private void prepareEquals(ValueVector toEncode) {
+    if (toEncode == probedVector) {
+      return;
+    }
+    probedVector = toEncode;
+    compareBytes = dictionary instanceof ElementAddressableVector && toEncode instanceof ElementAddressableVector &&
+        !(dictionary instanceof BitVector) && dictionary.getMinorType() == toEncode.getMinorType() &&
+        dictionary.getField().getType().equals(toEncode.getField().getType());
+    equalsVisitor = compareBytes ? null : new RangeEqualsVisitor(dictionary, toEncode, null);
+  }
+
+  private boolean valueEquals(int indexInDictionary, ValueVector toEncode, int indexInArray) {
+    if (compareBytes) {
+      ((ElementAddressableVector) dictionary).getDataPointer(indexInDictionary, leftPointer);
+      ((ElementAddressableVector) toEncode).getDataPointer(indexInArray, rightPointer);
+      return leftPointer.equals(rightPointer);
+    }
+    range.setLeftStart(indexInDictionary).setRightStart(indexInArray);
+    return equalsVisitor.rangeEquals(range);
+  }
+
+  /**
+   * Returns the number of values in the table.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes all values from the table, leaving it empty.
+   */
+  public void clear() {
+    size = 0;
+    table.setZero(0, table.capacity());
+  }
+
+  @Override
+  public void close() {
+    if (table != null) {
+      table.close();
+      table = null;
+    }
+    hashes.close();
+  }
+}
@@ -19,22 +19,45 @@ package org.apache.arrow.vector.ipc;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.apache.arrow.flatbuf.Buffer;
+import org.apache.arrow.flatbuf.DictionaryBatch;
+import org.apache.arrow.flatbuf.FieldNode;
 import org.apache.arrow.flatbuf.Footer;
+import org.apache.arrow.flatbuf.MessageHeader;
+import org.apache.arrow.flatbuf.RecordBatch;
+import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.MappedFileAllocation;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.util.VisibleForTesting;
+import org.apache.arrow.vector.TypeLayout;
 import org.apache.arrow.vector.compression.CompressionCodec;
 import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.apache.arrow.vector.ipc.message.ArrowBodyCompression;
 import org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
 import org.apache.arrow.vector.ipc.message.ArrowFooter;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.MessageMetadataResult;
 import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.ipc.statistics.BatchPredicate;
+import org.apache.arrow.vector.ipc.statistics.BatchStatistics;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.arrow.vector.validate.MetadataV4UnionChecker;
 import org.slf4j.Logger;
@@ -48,10 +71,24 @@ public class ArrowFileReader extends ArrowReader {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ArrowFileReader.class);
 
+  /**
+   * The maximum gap between the buffers of projected fields read at once.
+   */
+  private static final long PROJECTION_MERGE_GAP = 4096;
+
+  /**
+   * The number of bytes at the end of the file read at once, which usually hold the whole footer.
+   */
+  private static final int FOOTER_READ_SIZE = 64 * 1024;
+
   private SeekableReadChannel in;
+  private FileChannel mappedChannel;
   private ArrowFooter footer;
   private int currentDictionaryBatch = 0;
   private int currentRecordBatch = 0;
+  private List<BatchStatistics> batchStatistics;
+  // The names of the projected top-level fields, or null if all the fields are read.
+  private Set<String> projection;
 
   public ArrowFileReader(
       SeekableReadChannel in, BufferAllocator allocator, CompressionCodec.Factory compressionFactory) {
@@ -72,6 +109,24 @@ public class ArrowFileReader extends ArrowReader {
     this(new SeekableReadChannel(in), allocator);
   }
 
+  /**
+   * Constructs a reader over a file, optionally memory mapping the record and dictionary batches.
+   *
+   * <p>When memory mapping is enabled, each batch is mapped on demand and its buffers are slices of
+   * the mapped region instead of copies. The region is unmapped once all of them are released. The
+   * file must not be truncated while batches read from it are alive.
+   *
+   * @param in                 the file to read
+   * @param allocator          the allocator accounting for the batches
+   * @param compressionFactory the factory of compression codecs for compressed batches
+   * @param memoryMap          whether to memory map the batches
+   */
+  public ArrowFileReader(
+      FileChannel in, BufferAllocator allocator, CompressionCodec.Factory compressionFactory, boolean memoryMap) {
+    this(new SeekableReadChannel(in), allocator, compressionFactory);
+    this.mappedChannel = memoryMap ? in : null;
+  }
+
   @Override
   public long bytesRead() {
     return in.bytesRead();
@@ -88,31 +143,53 @@ public class ArrowFileReader extends ArrowReader {
       if (in.size() <= (ArrowMagic.MAGIC_LENGTH * 2 + 4)) {
         throw new InvalidArrowFileException("file too small: " + in.size());
       }
-      ByteBuffer buffer = ByteBuffer.allocate(4 + ArrowMagic.MAGIC_LENGTH);
-      long footerLengthOffset = in.size() - buffer.remaining();
-      in.setPosition(footerLengthOffset);
-      in.readFully(buffer);
-      buffer.flip();
-      byte[] array = buffer.array();
+      // read the end of the file speculatively, so that a small footer needs a single read
+      ByteBuffer tail = ByteBuffer.allocate((int) Math.min(in.size(), FOOTER_READ_SIZE));
+      long tailOffset = in.size() - tail.remaining();
+      in.setPosition(tailOffset);
+      in.readFully(tail);
+      tail.flip();
+      byte[] array = Arrays.copyOfRange(tail.array(), tail.limit() - 4 - ArrowMagic.MAGIC_LENGTH, tail.limit());
       if (!ArrowMagic.validateMagic(Arrays.copyOfRange(array, 4, array.length))) {
-        throw new InvalidArrowFileException("missing Magic number " + Arrays.toString(buffer.array()));
+        throw new InvalidArrowFileException("missing Magic number " + Arrays.toString(array));
       }
       int footerLength = MessageSerializer.bytesToInt(array);
+      long footerLengthOffset = in.size() - array.length;
       if (footerLength <= 0 || footerLength + ArrowMagic.MAGIC_LENGTH * 2 + 4 > in.size() ||
               footerLength > footerLengthOffset) {
         throw new InvalidArrowFileException("invalid footer length: " + footerLength);
       }
       long footerOffset = footerLengthOffset - footerLength;
       LOGGER.debug("Footer starts at {}, length: {}", footerOffset, footerLength);
-      ByteBuffer footerBuffer = ByteBuffer.allocate(footerLength);
-      in.setPosition(footerOffset);
-      in.readFully(footerBuffer);
-      footerBuffer.flip();
+      ByteBuffer footerBuffer;
+      if (footerOffset >= tailOffset) {
+        tail.position((int) (footerOffset - tailOffset));
+        tail.limit(tail.position() + footerLength);
+        footerBuffer = tail.slice();
+      } else {
+        footerBuffer = ByteBuffer.allocate(footerLength);
+        in.setPosition(footerOffset);
+        in.readFully(footerBuffer);
+        footerBuffer.flip();
+      }
       Footer footerFB = Footer.getRootAsFooter(footerBuffer);
       this.footer = new ArrowFooter(footerFB);
     }
     MetadataV4UnionChecker.checkRead(footer.getSchema(), footer.getMetadataVersion());
-    return footer.getSchema();
+    if (projection == null) {
+      return footer.getSchema();
+    }
+    List<Field> fields = new ArrayList<>(projection.size());
+    for (Field field : footer.getSchema().getFields()) {
+      if (projection.contains(field.getName())) {
+        fields.add(field);
+      }
+    }
+    for (String name : projection) {
+      // throws if the field does not exist
+      footer.getSchema().findField(name);
+    }
+    return new Schema(fields, footer.getSchema().getCustomMetadata());
   }
 
   @Override
@@ -123,13 +200,81 @@ public class ArrowFileReader extends ArrowReader {
     if (footer.getRecordBatches().size() == 0) {
       return;
     }
-    // Read and load all dictionaries from schema
-    for (int i = 0; i < dictionaries.size(); i++) {
-      ArrowDictionaryBatch dictionaryBatch = readDictionary();
-      loadDictionary(dictionaryBatch);
+    List<ArrowBlock> blocks;
+    if (projection != null) {
+      // Read and load the dictionaries of the projected fields only
+      blocks = new ArrayList<>();
+      for (ArrowBlock block : footer.getDictionaries()) {
+        if (dictionaries.containsKey(readDictionaryId(block))) {
+          blocks.add(block);
+        }
+      }
+    } else {
+      // Read and load all dictionaries from schema
+      if (dictionaries.size() > footer.getDictionaries().size()) {
+        throw new IOException("Requested more dictionaries than defined in footer: " + footer.getDictionaries().size());
+      }
+      blocks = footer.getDictionaries().subList(0, dictionaries.size());
+      currentDictionaryBatch = blocks.size();
+    }
+    if (mappedChannel != null) {
+      for (ArrowBlock block : blocks) {
+        loadDictionary(readDictionaryBatch(in, block, allocator));
+      }
+      return;
+    }
+    List<ArrowBuf> buffers = readBlocks(blocks);
+    try {
+      for (int i = 0; i < blocks.size(); i++) {
+        // the dictionary batch takes the ownership of the buffer
+        ArrowBuf buffer = buffers.set(i, null);
+        loadDictionary(MessageSerializer.deserializeDictionaryBatch(blocks.get(i), buffer));
+      }
+    } finally {
+      AutoCloseables.closeNoChecked(AutoCloseables.all(buffers));
     }
   }
 
+  /**
+   * Reads whole blocks at once, with {@link SeekableReadChannel#readRanges(List, BufferAllocator)}.
+   */
+  private List<ArrowBuf> readBlocks(List<ArrowBlock> blocks) throws IOException {
+    List<SeekableReadChannel.Range> ranges = new ArrayList<>(blocks.size());
+    for (ArrowBlock block : blocks) {
+      LOGGER.debug("Block at {}, metadata: {}, body: {}",
+          block.getOffset(), block.getMetadataLength(), block.getBodyLength());
+      if (block.getOffset() < 0 || block.getMetadataLength() <= 0 || block.getBodyLength() < 0) {
+        throw new IOException("Invalid file. Invalid block at offset: " + block.getOffset());
+      }
+      ranges.add(new SeekableReadChannel.Range(block.getOffset(), block.getMetadataLength() + block.getBodyLength()));
+    }
+    return in.readRanges(ranges, allocator);
+  }
+
+  /**
+   * Sets the top-level fields to read. The schema of the root is then the projected fields, in the
+   * order of the file, and only the dictionaries and the buffers of the projected fields are read.
+   * This must be called before the schema is read. With memory mapping, the buffers of the projected
+   * fields are read instead of mapped.
+   *
+   * @param fieldNames the names of the fields to read
+   * @throws IllegalArgumentException if a field does not exist, when the schema is read
+   */
+  public void setProjection(Collection<String> fieldNames) {
+    Preconditions.checkState(footer == null, "The projection must be set before reading the schema");
+    this.projection = new LinkedHashSet<>(fieldNames);
+  }
+
+  private long readDictionaryId(ArrowBlock block) throws IOException {
+    in.setPosition(block.getOffset());
+    MessageMetadataResult result = MessageSerializer.readMessage(in);
+    if (result == null || result.getMessage().headerType() != MessageHeader.DictionaryBatch) {
+      throw new IOException("Invalid file. No dictionary batch at offset: " + block.getOffset());
+    }
+    DictionaryBatch dictionaryBatchFB = (DictionaryBatch) result.getMessage().header(new DictionaryBatch());
+    return dictionaryBatchFB.id();
+  }
+
   /**
    * Get custom metadata.
    */
@@ -184,6 +329,68 @@ public class ArrowFileReader extends ArrowReader {
     return footer.getRecordBatches();
   }
 
+  /**
+   * Gets the statistics of the record batches, written in the footer by
+   * {@link ArrowFileWriter#setWriteBatchStatistics(boolean)}.
+   *
+   * @return the statistics, in the order of {@link #getRecordBlocks()}, or null if the file has none.
+   * @throws IOException if the statistics are invalid.
+   */
+  public List<BatchStatistics> getBatchStatistics() throws IOException {
+    ensureInitialized();
+    if (batchStatistics == null) {
+      String json = footer.getMetaData().get(BatchStatistics.METADATA_KEY);
+      if (json == null) {
+        return null;
+      }
+      List<BatchStatistics> statistics = BatchStatistics.fromJson(json);
+      if (statistics.size() != footer.getRecordBatches().size()) {
+        throw new InvalidArrowFileException("Statistics of " + statistics.size() + " batches but the file has " +
+            footer.getRecordBatches().size());
+      }
+      batchStatistics = statistics;
+    }
+    return batchStatistics;
+  }
+
+  /**
+   * Returns the {@link ArrowBlock}s of the record batches that might contain rows matching a
+   * predicate. If the file has no batch statistics, all the blocks are returned.
+   */
+  public List<ArrowBlock> getRecordBlocks(BatchPredicate predicate) throws IOException {
+    List<BatchStatistics> statistics = getBatchStatistics();
+    List<ArrowBlock> blocks = footer.getRecordBatches();
+    if (statistics == null) {
+      return blocks;
+    }
+    List<ArrowBlock> matchingBlocks = new ArrayList<>();
+    for (int i = 0; i < blocks.size(); i++) {
+      if (predicate.mightMatch(statistics.get(i))) {
+        matchingBlocks.add(blocks.get(i));
+      }
+    }
+    return matchingBlocks;
+  }
+
+  /**
+   * Loads the next record batch that might contain rows matching a predicate, skipping the batches
+   * whose statistics rule it out without reading them. If the file has no batch statistics, this
+   * is the same as {@link #loadNextBatch()}. The rows of the loaded batch still need to be filtered.
+   *
+   * @param predicate the predicate on the statistics of the batches.
+   * @return true if a batch was read, false if no more batches might match.
+   * @throws IOException on error
+   */
+  public boolean loadNextBatch(BatchPredicate predicate) throws IOException {
+    List<BatchStatistics> statistics = getBatchStatistics();
+    if (statistics != null) {
+      while (currentRecordBatch < statistics.size() && !predicate.mightMatch(statistics.get(currentRecordBatch))) {
+        currentRecordBatch++;
+      }
+    }
+    return loadNextBatch();
+  }
+
   /**
    * Loads record batch for the given block.
    */
@@ -207,8 +414,13 @@ public class ArrowFileReader extends ArrowReader {
                                                    BufferAllocator allocator) throws IOException {
     LOGGER.debug("DictionaryRecordBatch at {}, metadata: {}, body: {}",
         block.getOffset(), block.getMetadataLength(), block.getBodyLength());
-    in.setPosition(block.getOffset());
-    ArrowDictionaryBatch batch = MessageSerializer.deserializeDictionaryBatch(in, block, allocator);
+    ArrowDictionaryBatch batch;
+    if (mappedChannel != null) {
+      batch = MessageSerializer.deserializeDictionaryBatch(block, mapBlock(block, allocator));
+    } else {
+      in.setPosition(block.getOffset());
+      batch = MessageSerializer.deserializeDictionaryBatch(in, block, allocator);
+    }
     if (batch == null) {
       throw new IOException("Invalid file. No batch at offset: " + block.getOffset());
     }
@@ -221,11 +433,133 @@ public class ArrowFileReader extends ArrowReader {
     LOGGER.debug("RecordBatch at {}, metadata: {}, body: {}",
         block.getOffset(), block.getMetadataLength(),
         block.getBodyLength());
-    in.setPosition(block.getOffset());
-    ArrowRecordBatch batch = MessageSerializer.deserializeRecordBatch(in, block, allocator);
+    if (projection != null) {
+      return readProjectedRecordBatch(in, block, allocator);
+    }
+    ArrowRecordBatch batch;
+    if (mappedChannel != null) {
+      batch = MessageSerializer.deserializeRecordBatch(block, mapBlock(block, allocator));
+    } else {
+      in.setPosition(block.getOffset());
+      batch = MessageSerializer.deserializeRecordBatch(in, block, allocator);
+    }
     if (batch == null) {
       throw new IOException("Invalid file. No batch at offset: " + block.getOffset());
     }
     return batch;
   }
+
+  /**
+   * Reads the buffers of the projected fields of a record batch. Only the metadata of the message
+   * and the byte ranges of the projected buffers are read, merging the ranges that are close.
+   */
+  private ArrowRecordBatch readProjectedRecordBatch(SeekableReadChannel in,
+                                                    ArrowBlock block,
+                                                    BufferAllocator allocator) throws IOException {
+    in.setPosition(block.getOffset());
+    MessageMetadataResult result = MessageSerializer.readMessage(in);
+    if (result == null || result.getMessage().headerType() != MessageHeader.RecordBatch) {
+      throw new IOException("Invalid file. No batch at offset: " + block.getOffset());
+    }
+    RecordBatch recordBatchFB = (RecordBatch) result.getMessage().header(new RecordBatch());
+    if ((int) recordBatchFB.length() != recordBatchFB.length()) {
+      throw new IOException("Cannot currently deserialize record batches with more than INT_MAX records.");
+    }
+
+    BatchProjection batchProjection = new BatchProjection(recordBatchFB);
+    for (Field field : footer.getSchema().getFields()) {
+      batchProjection.addField(field, projection.contains(field.getName()));
+    }
+
+    long bodyOffset = block.getOffset() + block.getMetadataLength();
+    List<SeekableReadChannel.Range> ranges = new ArrayList<>(batchProjection.buffers.size());
+    for (Buffer bufferFB : batchProjection.buffers) {
+      if (bufferFB.offset() < 0 || bufferFB.length() < 0 ||
+          bufferFB.offset() + bufferFB.length() > block.getBodyLength()) {
+        throw new IOException("Invalid file. Buffer exceeds the body of the batch at offset: " + block.getOffset());
+      }
+      ranges.add(new SeekableReadChannel.Range(bodyOffset + bufferFB.offset(), bufferFB.length()));
+    }
+    List<ArrowBuf> buffers = in.readRanges(ranges, allocator, PROJECTION_MERGE_GAP);
+    try {
+      ArrowBodyCompression bodyCompression = recordBatchFB.compression() == null ?
+          NoCompressionCodec.DEFAULT_BODY_COMPRESSION :
+          new ArrowBodyCompression(recordBatchFB.compression().codec(), recordBatchFB.compression().method());
+      return new ArrowRecordBatch((int) recordBatchFB.length(), batchProjection.nodes, buffers, bodyCompression,
+          batchProjection.variadicBufferCounts, /*alignBuffers*/ true, /*retainBuffers*/ true);
+    } finally {
+      // the record batch holds its own references
+      AutoCloseables.closeNoChecked(AutoCloseables.all(buffers));
+    }
+  }
+
+  /**
+   * The field nodes, buffers and variadic buffer counts of the projected fields of a record batch.
+   */
+  private static final class BatchProjection {
+
+    private final RecordBatch recordBatchFB;
+    private final List<ArrowFieldNode> nodes = new ArrayList<>();
+    private final List<Buffer> buffers = new ArrayList<>();
+    private final List<Long> variadicBufferCounts = new ArrayList<>();
+    private int nodeIndex;
+    private int bufferIndex;
+    private int variadicBufferCountIndex;
+
+    BatchProjection(RecordBatch recordBatchFB) {
+      this.recordBatchFB = recordBatchFB;
+    }
+
+    /**
+     * Skips the node and buffers of a field of the file schema, and of its children, or adds them if projected.
+     */
+    void addField(Field field, boolean projected) throws IOException {
+      // dictionary encoded fields hold the indices, as in DictionaryUtility.toMemoryFormat
+      ArrowType type = field.getType();
+      List<Field> children = field.getChildren();
+      if (field.getDictionary() != null) {
+        type = field.getDictionary().getIndexType() == null ?
+            new ArrowType.Int(32, true) : field.getDictionary().getIndexType();
+        children = Collections.emptyList();
+      }
+      int bufferCount = TypeLayout.getTypeBufferCount(type);
+      if (TypeLayout.hasVariadicBuffers(type)) {
+        if (variadicBufferCountIndex >= recordBatchFB.variadicBufferCountsLength()) {
+          throw new IOException("Invalid file. No variadic buffer count for field " + field);
+        }
+        long variadicBufferCount = recordBatchFB.variadicBufferCounts(variadicBufferCountIndex++);
+        bufferCount += Math.toIntExact(variadicBufferCount);
+        if (projected) {
+          variadicBufferCounts.add(variadicBufferCount);
+        }
+      }
+      if (nodeIndex >= recordBatchFB.nodesLength() || bufferIndex + bufferCount > recordBatchFB.buffersLength()) {
+        throw new IOException("Invalid file. The record batch does not match the schema at field " + field);
+      }
+      if (projected) {
+        FieldNode node = recordBatchFB.nodes(nodeIndex);
+        if ((int) node.length() != node.length() || (int) node.nullCount() != node.nullCount()) {
+          throw new IOException("Cannot currently deserialize record batches with " +
+              "node length larger than INT_MAX records.");
+        }
+        nodes.add(new ArrowFieldNode(node.length(), node.nullCount()));
+        for (int i = 0; i < bufferCount; i++) {
+          buffers.add(recordBatchFB.buffers(bufferIndex + i));
+        }
+      }
+      nodeIndex++;
+      bufferIndex += bufferCount;
+      for (Field child : children) {
+        addField(child, projected);
+      }
+    }
+  }
+
+  private ArrowBuf mapBlock(ArrowBlock block, BufferAllocator allocator) throws IOException {
+    final long size = block.getMetadataLength() + block.getBodyLength();
+    if (block.getOffset() + size > mappedChannel.size()) {
+      throw new IOException("Invalid file. Batch at offset " + block.getOffset() + " exceeds the file size");
+    }
+    return allocator.wrapForeignAllocation(MappedFileAllocation.map(mappedChannel, block.getOffset(), size));
+  }
 }
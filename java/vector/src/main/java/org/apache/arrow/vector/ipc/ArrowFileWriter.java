@@ -20,15 +20,18 @@ package org.apache.arrow.vector.ipc;
 import java.io.IOException;
 import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.util.VisibleForTesting;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.compression.CompressionCodec;
 import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
 import org.apache.arrow.vector.dictionary.Dictionary;
 import org.apache.arrow.vector.dictionary.DictionaryProvider;
 import org.apache.arrow.vector.ipc.message.ArrowBlock;
@@ -37,6 +40,7 @@ import org.apache.arrow.vector.ipc.message.ArrowFooter;
 import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
 import org.apache.arrow.vector.ipc.message.IpcOption;
 import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.ipc.statistics.BatchStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,28 +55,30 @@ public class ArrowFileWriter extends ArrowWriter {
   private final List<ArrowBlock> dictionaryBlocks = new ArrayList<>();
   private final List<ArrowBlock> recordBlocks = new ArrayList<>();
 
+  private final VectorSchemaRoot root;
   private Map<String, String> metaData;
   private boolean dictionariesWritten = false;
+  // The statistics of the record batches written, or null if they are not written.
+  private List<BatchStatistics> batchStatistics;
 
   public ArrowFileWriter(VectorSchemaRoot root, DictionaryProvider provider, WritableByteChannel out) {
-    super(root, provider, out);
+    this(root, provider, out, null, IpcOption.DEFAULT);
   }
 
   public ArrowFileWriter(VectorSchemaRoot root, DictionaryProvider provider, WritableByteChannel out,
       Map<String, String> metaData) {
-    super(root, provider, out);
-    this.metaData = metaData;
+    this(root, provider, out, metaData, IpcOption.DEFAULT);
   }
 
   public ArrowFileWriter(VectorSchemaRoot root, DictionaryProvider provider, WritableByteChannel out,
       IpcOption option) {
-    super(root, provider, out, option);
+    this(root, provider, out, null, option);
   }
 
   public ArrowFileWriter(VectorSchemaRoot root, DictionaryProvider provider, WritableByteChannel out,
                          Map<String, String> metaData, IpcOption option) {
-    super(root, provider, out, option);
-    this.metaData = metaData;
+    this(root, provider, out, metaData, option, NoCompressionCodec.Factory.INSTANCE,
+        CompressionUtil.CodecType.NO_COMPRESSION);
   }
 
   public ArrowFileWriter(VectorSchemaRoot root, DictionaryProvider provider, WritableByteChannel out,
@@ -81,13 +87,50 @@ public class ArrowFileWriter extends ArrowWriter {
     this(root, provider, out, metaData, option, compressionFactory, codecType, Optional.empty());
   }
 
+  /**
+   * Constructs a writer of an Arrow file. Note: fields are not closed when the writer is closed.
+   *
+   * @param root               the vectors to write to the output
+   * @param provider           where to find the dictionaries
+   * @param out                the output where to write
+   * @param metaData           the custom metadata of the footer, or null
+   * @param option             IPC write options
+   * @param compressionFactory Compression codec factory
+   * @param codecType          Compression codec
+   * @param compressionLevel   Compression level
+   */
   public ArrowFileWriter(VectorSchemaRoot root, DictionaryProvider provider, WritableByteChannel out,
                          Map<String, String> metaData, IpcOption option, CompressionCodec.Factory compressionFactory,
                          CompressionUtil.CodecType codecType, Optional<Integer> compressionLevel) {
     super(root, provider, out, option, compressionFactory, codecType, compressionLevel);
+    this.root = root;
     this.metaData = metaData;
   }
 
+  /**
+   * Sets whether to write the statistics of the record batches, as computed by
+   * {@link BatchStatistics#of(VectorSchemaRoot)}, in the custom metadata of the footer under
+   * {@link BatchStatistics#METADATA_KEY}. Readers can then skip the batches that do not match a
+   * predicate, see {@link ArrowFileReader#loadNextBatch(org.apache.arrow.vector.ipc.statistics.BatchPredicate)}.
+   *
+   * <p>The statistics cover the batches written by {@link #writeBatch()}. This must be set before the
+   * first batch is written.</p>
+   *
+   * @param writeBatchStatistics whether to write the statistics of the record batches.
+   */
+  public void setWriteBatchStatistics(boolean writeBatchStatistics) {
+    Preconditions.checkState(recordBlocks.isEmpty(), "Batch statistics must be enabled before writing batches");
+    this.batchStatistics = writeBatchStatistics ? new ArrayList<>() : null;
+  }
+
+  @Override
+  public void writeBatch() throws IOException {
+    super.writeBatch();
+    if (batchStatistics != null) {
+      batchStatistics.add(BatchStatistics.of(root));
+    }
+  }
+
   @Override
   protected void startInternal(WriteChannel out) throws IOException {
     ArrowMagic.writeMagic(out, true);
@@ -115,7 +158,7 @@ public class ArrowFileWriter extends ArrowWriter {
     out.writeIntLittleEndian(0);
 
     long footerStart = out.getCurrentPosition();
-    out.write(new ArrowFooter(schema, dictionaryBlocks, recordBlocks, metaData, option.metadataVersion), false);
+    out.write(new ArrowFooter(schema, dictionaryBlocks, recordBlocks, footerMetaData(), option.metadataVersion), false);
     int footerLength = (int) (out.getCurrentPosition() - footerStart);
     if (footerLength <= 0) {
       throw new InvalidArrowFileException("invalid footer");
@@ -126,6 +169,20 @@ public class ArrowFileWriter extends ArrowWriter {
     LOGGER.debug("magic written, now at {}", out.getCurrentPosition());
   }
 
+  private Map<String, String> footerMetaData() {
+    // batches written without writeBatch() have no statistics, so that the statistics would not match the blocks
+    if (batchStatistics == null || batchStatistics.size() != recordBlocks.size()) {
+      if (batchStatistics != null) {
+        LOGGER.warn("Not writing batch statistics: {} record batches but {} statistics",
+            recordBlocks.size(), batchStatistics.size());
+      }
+      return metaData;
+    }
+    Map<String, String> footerMetaData = metaData == null ? new HashMap<>() : new HashMap<>(metaData);
+    footerMetaData.put(BatchStatistics.METADATA_KEY, BatchStatistics.toJson(batchStatistics));
+    return footerMetaData;
+  }
+
   @Override
   protected void ensureDictionariesWritten(DictionaryProvider provider, Set<Long> dictionaryIdsUsed)
       throws IOException {
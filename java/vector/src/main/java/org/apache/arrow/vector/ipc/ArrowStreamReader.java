@@ -165,7 +165,6 @@ public class ArrowStreamReader extends ArrowReader {
       // if it's dictionary message, read dictionary message out and continue to read unless get a batch or eos.
       ArrowDictionaryBatch dictionaryBatch = readDictionary(result);
       loadDictionary(dictionaryBatch);
-      loadedDictionaryCount++;
       return loadNextBatch();
     } else {
       throw new IOException("Expected RecordBatch or DictionaryBatch but header was " +
@@ -173,10 +172,16 @@ public class ArrowStreamReader extends ArrowReader {
     }
   }
 
+  @Override
+  protected void loadDictionary(ArrowDictionaryBatch dictionaryBatch) {
+    super.loadDictionary(dictionaryBatch);
+    loadedDictionaryCount++;
+  }
+
   /**
    * When read a record batch, check whether its dictionaries are available.
    */
-  private void checkDictionaries() throws IOException {
+  protected void checkDictionaries() throws IOException {
     // if all dictionaries are loaded, return.
     if (loadedDictionaryCount == dictionaries.size()) {
       return;
@@ -215,7 +220,13 @@ public class ArrowStreamReader extends ArrowReader {
   }
 
 
-  private ArrowDictionaryBatch readDictionary(MessageResult result) throws IOException {
+  /**
+   * Deserializes a dictionary batch message.
+   *
+   * @param result the message, with its body
+   * @return the dictionary batch
+   */
+  protected ArrowDictionaryBatch readDictionary(MessageResult result) throws IOException {
 
     ArrowBuf bodyBuffer = result.getBodyBuffer();
 
@@ -183,6 +183,18 @@ public abstract class ArrowWriter implements AutoCloseable {
     return out.getCurrentPosition();
   }
 
+  /**
+   * Sets the number of bytes after which the gathered writes are flushed, or 0 not to gather
+   * writes, see {@link WriteChannel#setFlushThreshold(long)}. When writes are gathered, the
+   * metadata, padding and buffers of each batch are written with a single gathering write of the
+   * output channel if it supports them, instead of a write per buffer.
+   *
+   * @param flushThreshold the number of pending bytes that triggers a write
+   */
+  public void setFlushThreshold(long flushThreshold) throws IOException {
+    out.setFlushThreshold(flushThreshold);
+  }
+
   private void ensureStarted() throws IOException {
     if (!started) {
       started = true;
@@ -190,6 +202,7 @@ public abstract class ArrowWriter implements AutoCloseable {
       // write the schema - for file formats this is duplicated in the footer, but matches
       // the streaming format
       MessageSerializer.serialize(out, schema, option);
+      out.flush();
     }
   }
 
@@ -204,6 +217,7 @@ public abstract class ArrowWriter implements AutoCloseable {
     if (!ended) {
       ended = true;
       endInternal(out);
+      out.flush();
     }
   }
 
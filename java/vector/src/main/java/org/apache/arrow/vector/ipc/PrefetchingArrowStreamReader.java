@@ -0,0 +1,514 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.arrow.flatbuf.MessageHeader;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
+import org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
+import org.apache.arrow.vector.ipc.message.ArrowMessage;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.MessageChannelReader;
+import org.apache.arrow.vector.ipc.message.MessageResult;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+
+/**
+ * An {@link ArrowStreamReader} that reads ahead on a background thread.
+ *
+ * <p>After the schema has been read, a task on the given executor reads the following messages,
+ * deserializes them and decompresses the buffers of compressed record batches, and queues them.
+ * {@link #loadNextBatch()} then only loads the next queued record batch into the root, so that
+ * reading and decoding overlap with the processing of the previous batches.</p>
+ *
+ * <p>The queue holds at most a given number of messages, and stops growing once the queued
+ * buffers reach a given number of bytes, so that at most one message exceeds the byte limit.
+ * Dictionary batches are queued in stream order with the record batches, and are loaded when they
+ * are reached, so that each record batch sees the dictionaries that preceded it in the stream.</p>
+ *
+ * <p>The task blocks a thread of the executor while the queue is full, until the end of the stream
+ * or until the reader is closed. The bytes read, as returned by {@link #bytesRead()}, include the
+ * prefetched messages.</p>
+ *
+ * <p>Closing the reader waits for the task to finish its current message. If the task is still
+ * blocked in a read after {@link #STOP_TIMEOUT_MILLIS}, its thread is interrupted, which also
+ * closes an interruptible read source. If the read does not return after another
+ * {@link #STOP_TIMEOUT_MILLIS}, closing returns anyway, and the task releases the message it was
+ * reading once the read returns.</p>
+ */
+public class PrefetchingArrowStreamReader extends ArrowStreamReader {
+
+  /**
+   * How long closing the reader waits for the prefetching task before interrupting it, and then
+   * again before giving up, in milliseconds.
+   */
+  public static final long STOP_TIMEOUT_MILLIS = 1000;
+
+  private final MessageChannelReader messageReader;
+
+  private final CompressionCodec.Factory compressionFactory;
+
+  private final Executor executor;
+
+  private final int prefetchCount;
+
+  private final long prefetchBytes;
+
+  /**
+   * Guards the queue and the state shared with the prefetching task.
+   */
+  private final Object lock = new Object();
+
+  private final ArrayDeque<QueuedMessage> queue = new ArrayDeque<>();
+
+  private long queuedBytes;
+
+  private boolean stopped;
+
+  private CountDownLatch prefetchDone;
+
+  /**
+   * The thread running the prefetching task, or null if the task is not running.
+   */
+  private Thread prefetchThread;
+
+  /**
+   * Whether {@link #prefetchThread} was interrupted to stop the task.
+   */
+  private boolean prefetchInterrupted;
+
+  /**
+   * Whether the end of the stream, or an error, has been returned to the consumer.
+   */
+  private boolean finished;
+
+  private long stallNanos;
+
+  private long stallCount;
+
+  private long prefetchWaitNanos;
+
+  /**
+   * Constructs a prefetching streaming reader using a MessageChannelReader. Non-blocking.
+   *
+   * @param messageReader reader used to get messages from a ReadChannel
+   * @param allocator to allocate new buffers
+   * @param compressionFactory the factory to create compression codec.
+   * @param executor the executor running the prefetching task.
+   * @param prefetchCount the maximum number of queued messages.
+   * @param prefetchBytes the number of bytes of queued messages above which no more messages are read.
+   */
+  public PrefetchingArrowStreamReader(MessageChannelReader messageReader, BufferAllocator allocator,
+      CompressionCodec.Factory compressionFactory, Executor executor, int prefetchCount, long prefetchBytes) {
+    super(messageReader, allocator, compressionFactory);
+    Preconditions.checkNotNull(executor, "executor must not be null");
+    Preconditions.checkArgument(prefetchCount > 0, "prefetchCount must be positive");
+    Preconditions.checkArgument(prefetchBytes > 0, "prefetchBytes must be positive");
+    this.messageReader = messageReader;
+    this.compressionFactory = compressionFactory;
+    this.executor = executor;
+    this.prefetchCount = prefetchCount;
+    this.prefetchBytes = prefetchBytes;
+  }
+
+  /**
+   * Constructs a prefetching streaming reader from a ReadableByteChannel input. Non-blocking.
+   *
+   * @param in ReadableByteChannel to read messages from
+   * @param allocator to allocate new buffers
+   * @param compressionFactory the factory to create compression codec.
+   * @param executor the executor running the prefetching task.
+   * @param prefetchCount the maximum number of queued messages.
+   * @param prefetchBytes the number of bytes of queued messages above which no more messages are read.
+   */
+  public PrefetchingArrowStreamReader(ReadableByteChannel in, BufferAllocator allocator,
+      CompressionCodec.Factory compressionFactory, Executor executor, int prefetchCount, long prefetchBytes) {
+    this(new MessageChannelReader(new ReadChannel(in), allocator), allocator, compressionFactory, executor,
+        prefetchCount, prefetchBytes);
+  }
+
+  /**
+   * Constructs a prefetching streaming reader from an InputStream. Non-blocking.
+   *
+   * @param in InputStream to read messages from
+   * @param allocator to allocate new buffers
+   * @param compressionFactory the factory to create compression codec.
+   * @param executor the executor running the prefetching task.
+   * @param prefetchCount the maximum number of queued messages.
+   * @param prefetchBytes the number of bytes of queued messages above which no more messages are read.
+   */
+  public PrefetchingArrowStreamReader(InputStream in, BufferAllocator allocator,
+      CompressionCodec.Factory compressionFactory, Executor executor, int prefetchCount, long prefetchBytes) {
+    this(Channels.newChannel(in), allocator, compressionFactory, executor, prefetchCount, prefetchBytes);
+  }
+
+  /**
+   * Gets the total time {@link #loadNextBatch()} waited for the prefetching task, in nanoseconds.
+   */
+  public long getStallNanos() {
+    return stallNanos;
+  }
+
+  /**
+   * Gets the number of times {@link #loadNextBatch()} found no prefetched message and had to wait.
+   */
+  public long getStallCount() {
+    return stallCount;
+  }
+
+  /**
+   * Gets the total time the prefetching task waited for room in the queue, in nanoseconds.
+   */
+  public long getPrefetchWaitNanos() {
+    synchronized (lock) {
+      return prefetchWaitNanos;
+    }
+  }
+
+  @Override
+  protected void initialize() throws IOException {
+    super.initialize();
+    prefetchDone = new CountDownLatch(1);
+    try {
+      executor.execute(this::prefetch);
+    } catch (RuntimeException e) {
+      prefetchDone.countDown();
+      throw e;
+    }
+  }
+
+  /**
+   * Load the next ArrowRecordBatch to the vector schema root if available.
+   *
+   * @return true if a batch was read, false on EOS
+   * @throws IOException on error
+   */
+  @Override
+  public boolean loadNextBatch() throws IOException {
+    prepareLoadNextBatch();
+    while (true) {
+      final QueuedMessage message = take();
+      if (message.error != null) {
+        finished = true;
+        if (message.error instanceof IOException) {
+          throw (IOException) message.error;
+        }
+        throw new IOException("Failed to prefetch the next message", message.error);
+      }
+      if (message.message == null) {
+        finished = true;
+        return false;
+      }
+      if (message.message instanceof ArrowDictionaryBatch) {
+        loadDictionary((ArrowDictionaryBatch) message.message);
+        continue;
+      }
+      loadRecordBatch((ArrowRecordBatch) message.message);
+      checkDictionaries();
+      return true;
+    }
+  }
+
+  private QueuedMessage take() throws IOException {
+    if (finished) {
+      return QueuedMessage.END_OF_STREAM;
+    }
+    synchronized (lock) {
+      if (queue.isEmpty()) {
+        final long start = System.nanoTime();
+        stallCount++;
+        try {
+          while (queue.isEmpty()) {
+            lock.wait();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while waiting for the next message", e);
+        } finally {
+          stallNanos += System.nanoTime() - start;
+        }
+      }
+      final QueuedMessage message = queue.poll();
+      queuedBytes -= message.bytes;
+      lock.notifyAll();
+      return message;
+    }
+  }
+
+  /**
+   * Reads and decodes the messages of the stream until its end, an error, or the reader is closed.
+   */
+  private void prefetch() {
+    synchronized (lock) {
+      prefetchThread = Thread.currentThread();
+    }
+    try {
+      while (true) {
+        if (!awaitRoom()) {
+          return;
+        }
+        final QueuedMessage message;
+        try {
+          message = readMessage();
+        } catch (Throwable t) {
+          put(new QueuedMessage(null, 0, t));
+          return;
+        }
+        if (!put(message)) {
+          return;
+        }
+        if (message.message == null) {
+          return;
+        }
+      }
+    } finally {
+      synchronized (lock) {
+        prefetchThread = null;
+        if (prefetchInterrupted) {
+          // do not leak the interrupt to the next task of the executor
+          Thread.interrupted();
+        }
+      }
+      prefetchDone.countDown();
+    }
+  }
+
+  /**
+   * Waits until the queue has room for another message.
+   *
+   * @return false if the reader was closed.
+   */
+  private boolean awaitRoom() {
+    synchronized (lock) {
+      final long start = System.nanoTime();
+      try {
+        while (!stopped && (queue.size() >= prefetchCount || queuedBytes >= prefetchBytes)) {
+          lock.wait();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        stopped = true;
+        queue.add(new QueuedMessage(null, 0, e));
+        lock.notifyAll();
+      } finally {
+        prefetchWaitNanos += System.nanoTime() - start;
+      }
+      return !stopped;
+    }
+  }
+
+  /**
+   * Queues a message, or releases it if the reader was closed.
+   *
+   * @return false if the reader was closed.
+   */
+  private boolean put(QueuedMessage message) {
+    synchronized (lock) {
+      if (!stopped) {
+        queue.add(message);
+        queuedBytes += message.bytes;
+        lock.notifyAll();
+        return true;
+      }
+    }
+    message.close();
+    return false;
+  }
+
+  /**
+   * Reads the next message, with the buffers of record batches decompressed.
+   */
+  private QueuedMessage readMessage() throws IOException {
+    final MessageResult result = messageReader.readNext();
+    if (result == null) {
+      return QueuedMessage.END_OF_STREAM;
+    }
+    final long bytes = result.getBodyBuffer() == null ? 0 : result.getBodyBuffer().capacity();
+    if (result.getMessage().headerType() == MessageHeader.RecordBatch) {
+      ArrowBuf bodyBuffer = result.getBodyBuffer();
+      // For zero-length batches, need an empty buffer to deserialize the batch
+      if (bodyBuffer == null) {
+        bodyBuffer = allocator.getEmpty();
+      }
+      final ArrowRecordBatch batch = MessageSerializer.deserializeRecordBatch(result.getMessage(), bodyBuffer);
+      final ArrowRecordBatch decompressed = decompress(batch);
+      return new QueuedMessage(decompressed, Math.max(bytes, decompressed.computeBodyLength()), null);
+    } else if (result.getMessage().headerType() == MessageHeader.DictionaryBatch) {
+      return new QueuedMessage(readDictionary(result), bytes, null);
+    } else {
+      if (result.getBodyBuffer() != null) {
+        result.getBodyBuffer().close();
+      }
+      throw new IOException("Expected RecordBatch or DictionaryBatch but header was " +
+          result.getMessage().headerType());
+    }
+  }
+
+  /**
+   * Decompresses the buffers of a record batch, so that loading it does not need to. The batch is closed.
+   */
+  private ArrowRecordBatch decompress(ArrowRecordBatch batch) {
+    final CompressionUtil.CodecType codecType =
+        CompressionUtil.CodecType.fromCompressionType(batch.getBodyCompression().getCodec());
+    if (codecType == CompressionUtil.CodecType.NO_COMPRESSION) {
+      return batch;
+    }
+    final List<ArrowBuf> buffers = new ArrayList<>(batch.getBuffers().size());
+    try {
+      final CompressionCodec codec = compressionFactory.createCodec(codecType);
+      for (ArrowBuf buffer : batch.getBuffers()) {
+        // decompression releases the reference it is given, but only when it succeeds
+        buffer.getReferenceManager().retain();
+        // for vectors without nulls, the buffer is empty, so there is no need to decompress it.
+        if (buffer.writerIndex() == 0) {
+          buffers.add(buffer);
+          continue;
+        }
+        try {
+          buffers.add(codec.decompress(allocator, buffer));
+        } catch (RuntimeException e) {
+          buffer.getReferenceManager().release();
+          throw e;
+        }
+      }
+      return new ArrowRecordBatch(batch.getLength(), batch.getNodes(), buffers,
+          NoCompressionCodec.DEFAULT_BODY_COMPRESSION, batch.getVariadicBufferCounts(), false, false);
+    } catch (RuntimeException e) {
+      AutoCloseables.close(e, buffers);
+      throw e;
+    } finally {
+      batch.close();
+    }
+  }
+
+  /**
+   * Stops prefetching, waits for the prefetching task to end, and releases the queued messages.
+   */
+  private void stopPrefetching(boolean closeReadSource) throws IOException {
+    synchronized (lock) {
+      stopped = true;
+      lock.notifyAll();
+    }
+    IOException closeError = null;
+    if (closeReadSource) {
+      // closing the source interrupts a blocked read of the prefetching task
+      try {
+        closeReadSource();
+      } catch (IOException e) {
+        closeError = e;
+      }
+    }
+    if (prefetchDone != null && !awaitPrefetchDone()) {
+      synchronized (lock) {
+        if (prefetchThread != null) {
+          // the task is blocked in a read
+          prefetchInterrupted = true;
+          prefetchThread.interrupt();
+        }
+      }
+      awaitPrefetchDone();
+    }
+    synchronized (lock) {
+      for (QueuedMessage message : queue) {
+        message.close();
+      }
+      queue.clear();
+      queuedBytes = 0;
+    }
+    if (closeError != null) {
+      throw closeError;
+    }
+  }
+
+  /**
+   * Waits at most {@link #STOP_TIMEOUT_MILLIS} for the prefetching task to end.
+   *
+   * @return true if the task ended.
+   */
+  private boolean awaitPrefetchDone() {
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STOP_TIMEOUT_MILLIS);
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return prefetchDone.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Close resources, including vector schema root and dictionary vectors, after stopping the
+   * prefetching task. If the flag closeReadChannel is true then close the underlying read source,
+   * otherwise leave it open; it is then positioned after the prefetched messages.
+   *
+   * @param closeReadSource Flag to control if closing the underlying read source
+   * @throws IOException on error
+   */
+  @Override
+  public void close(boolean closeReadSource) throws IOException {
+    stopPrefetching(closeReadSource);
+    super.close(false);
+  }
+
+  /**
+   * A prefetched message, or the end of the stream, or an error.
+   */
+  private static final class QueuedMessage implements AutoCloseable {
+
+    static final QueuedMessage END_OF_STREAM = new QueuedMessage(null, 0, null);
+
+    final ArrowMessage message;
+
+    final long bytes;
+
+    final Throwable error;
+
+    QueuedMessage(ArrowMessage message, long bytes, Throwable error) {
+      this.message = message;
+      this.bytes = bytes;
+      this.error = error;
+    }
+
+    @Override
+    public void close() {
+      AutoCloseables.closeNoChecked(message);
+    }
+  }
+}
@@ -43,6 +43,13 @@ public class ReadChannel implements AutoCloseable {
     return bytesRead;
   }
 
+  /**
+   * Accounts for bytes read without {@link #readFully(ByteBuffer)}, e.g. with positional reads.
+   */
+  void addBytesRead(long bytes) {
+    this.bytesRead += bytes;
+  }
+
   /**
    * Reads bytes into buffer until it is full (buffer.remaining() == 0). Returns the
    * number of bytes read which can be less than full if there are no more.
@@ -17,8 +17,23 @@
 
 package org.apache.arrow.vector.ipc;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.util.Preconditions;
 
 /**
  * An {@link ReadChannel} that supports seeking to a
@@ -26,11 +41,43 @@ import java.nio.channels.SeekableByteChannel;
  */
 public class SeekableReadChannel extends ReadChannel {
 
+  /**
+   * The default maximum gap between two ranges read at once by {@link #readRanges(List, BufferAllocator)}.
+   */
+  public static final long DEFAULT_COALESCE_GAP = 8 * 1024;
+
   private final SeekableByteChannel in;
 
+  private final FileChannel fileChannel;
+
+  private final Executor executor;
+
+  /**
+   * Constructs a channel whose ranges read by {@link #readRanges(List, BufferAllocator)} are read
+   * sequentially.
+   *
+   * @param in the channel to read
+   */
   public SeekableReadChannel(SeekableByteChannel in) {
     super(in);
     this.in = in;
+    this.fileChannel = null;
+    this.executor = null;
+  }
+
+  /**
+   * Constructs a channel over a file, whose ranges read by {@link #readRanges(List, BufferAllocator)}
+   * are read concurrently with positional reads.
+   *
+   * @param in the file to read
+   * @param executor the executor of the concurrent reads
+   */
+  public SeekableReadChannel(FileChannel in, Executor executor) {
+    super(in);
+    Preconditions.checkNotNull(executor, "executor must not be null");
+    this.in = in;
+    this.fileChannel = in;
+    this.executor = executor;
   }
 
   public void setPosition(long position) throws IOException {
@@ -40,4 +87,169 @@ public class SeekableReadChannel extends ReadChannel {
   public long size() throws IOException {
     return in.size();
   }
+
+  /**
+   * Reads byte ranges, merging the ranges separated by at most {@link #DEFAULT_COALESCE_GAP} bytes.
+   *
+   * @see #readRanges(List, BufferAllocator, long)
+   */
+  public List<ArrowBuf> readRanges(List<Range> ranges, BufferAllocator allocator) throws IOException {
+    return readRanges(ranges, allocator, DEFAULT_COALESCE_GAP);
+  }
+
+  /**
+   * Reads byte ranges. The ranges are sorted and merged when they overlap or are separated by at
+   * most the given gap, so that each merged range is read with a single seek. If the channel was
+   * constructed with an executor, the merged ranges are read concurrently with positional reads.
+   * The position of the channel is unspecified afterwards.
+   *
+   * @param ranges the ranges to read
+   * @param allocator the allocator of the buffers of the merged ranges
+   * @param coalesceGap the maximum number of bytes between two ranges read at once
+   * @return the buffers of the ranges, in the order of the given ranges. Buffers of merged ranges
+   *     are slices of the same allocation, which is released once they are all closed.
+   * @throws EOFException if a range exceeds the end of the channel
+   * @throws IOException on error
+   */
+  public List<ArrowBuf> readRanges(List<Range> ranges, BufferAllocator allocator, long coalesceGap)
+      throws IOException {
+    Preconditions.checkArgument(coalesceGap >= 0, "coalesceGap must not be negative");
+    final Integer[] order = new Integer[ranges.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingLong(i -> ranges.get(i).getOffset()));
+
+    // merge the sorted ranges
+    final List<Range> merged = new ArrayList<>();
+    final int[] mergedIndex = new int[ranges.size()];
+    for (int i : order) {
+      final Range range = ranges.get(i);
+      final Range last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+      if (last != null && range.getOffset() - last.getEnd() <= coalesceGap) {
+        merged.set(merged.size() - 1,
+            new Range(last.getOffset(), Math.max(last.getEnd(), range.getEnd()) - last.getOffset()));
+      } else {
+        merged.add(range);
+      }
+      mergedIndex[i] = merged.size() - 1;
+    }
+
+    final List<ArrowBuf> buffers = new ArrayList<>(merged.size());
+    try {
+      for (Range range : merged) {
+        buffers.add(allocator.buffer(range.getLength()));
+      }
+      if (executor == null || merged.size() == 1) {
+        for (int i = 0; i < merged.size(); i++) {
+          setPosition(merged.get(i).getOffset());
+          if (readFully(buffers.get(i), merged.get(i).getLength()) != merged.get(i).getLength()) {
+            throw new EOFException("Unexpected end of input reading range " + merged.get(i));
+          }
+        }
+      } else {
+        readConcurrently(merged, buffers);
+      }
+
+      final List<ArrowBuf> result = new ArrayList<>(ranges.size());
+      for (int i = 0; i < ranges.size(); i++) {
+        final Range range = ranges.get(i);
+        final Range mergedRange = merged.get(mergedIndex[i]);
+        final ArrowBuf slice = buffers.get(mergedIndex[i]).slice(range.getOffset() - mergedRange.getOffset(),
+            range.getLength());
+        // each slice holds a reference to the merged buffer
+        slice.getReferenceManager().retain();
+        result.add(slice);
+      }
+      return result;
+    } finally {
+      AutoCloseables.closeNoChecked(AutoCloseables.all(buffers));
+    }
+  }
+
+  private void readConcurrently(List<Range> ranges, List<ArrowBuf> buffers) throws IOException {
+    final CompletableFuture<?>[] reads = new CompletableFuture<?>[ranges.size()];
+    int submitted = 0;
+    try {
+      for (; submitted < ranges.size(); submitted++) {
+        final Range range = ranges.get(submitted);
+        final ArrowBuf buffer = buffers.get(submitted);
+        reads[submitted] = CompletableFuture.runAsync(() -> {
+          try {
+            readPositional(range, buffer);
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          }
+        }, executor);
+      }
+    } catch (RuntimeException e) {
+      // the caller releases the buffers, so wait for the reads still writing into them
+      CompletableFuture.allOf(Arrays.copyOf(reads, submitted)).handle((result, error) -> null).join();
+      throw e;
+    }
+    try {
+      CompletableFuture.allOf(reads).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw e;
+    }
+    for (Range range : ranges) {
+      addBytesRead(range.getLength());
+    }
+  }
+
+  private void readPositional(Range range, ArrowBuf buffer) throws IOException {
+    long done = 0;
+    while (done < range.getLength()) {
+      final int length = (int) Math.min(range.getLength() - done, Integer.MAX_VALUE);
+      final ByteBuffer target = buffer.nioBuffer(done, length);
+      while (target.hasRemaining()) {
+        if (fileChannel.read(target, range.getOffset() + done + target.position()) < 0) {
+          throw new EOFException("Unexpected end of input reading range " + range);
+        }
+      }
+      done += length;
+    }
+    buffer.writerIndex(range.getLength());
+  }
+
+  /**
+   * A range of bytes of a channel.
+   */
+  public static final class Range {
+
+    private final long offset;
+
+    private final long length;
+
+    /**
+     * Constructs a range.
+     * @param offset the offset of the first byte.
+     * @param length the number of bytes.
+     */
+    public Range(long offset, long length) {
+      Preconditions.checkArgument(offset >= 0 && length >= 0, "Invalid range: offset %s, length %s", offset, length);
+      this.offset = offset;
+      this.length = length;
+    }
+
+    public long getOffset() {
+      return offset;
+    }
+
+    public long getLength() {
+      return length;
+    }
+
+    long getEnd() {
+      return offset + length;
+    }
+
+    @Override
+    public String toString() {
+      return "Range{offset=" + offset + ", length=" + length + "}";
+    }
+  }
 }
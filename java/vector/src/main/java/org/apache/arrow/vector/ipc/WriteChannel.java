@@ -19,9 +19,13 @@ package org.apache.arrow.vector.ipc;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.ipc.message.FBSerializable;
 import org.apache.arrow.vector.ipc.message.MessageSerializer;
 import org.slf4j.Logger;
@@ -38,6 +42,13 @@ import com.google.flatbuffers.FlatBufferBuilder;
  * from java WritableByteChannel interface where partial write is allowed
  * </p>
  * <p>
+ *   With a flush threshold, writes are gathered instead: the written buffers are queued, without
+ *   copying them, and written at once with {@link GatheringByteChannel#write(ByteBuffer[])} when
+ *   the threshold is reached or on {@link #flush()}. The written buffers, byte arrays and
+ *   {@link ArrowBuf}s must then not be modified or released until they are flushed.
+ *   {@link MessageSerializer} flushes after the buffers of each batch.
+ * </p>
+ * <p>
  *   Please note that objects of this class are not thread-safe.
  * </p>
  */
@@ -46,19 +57,90 @@ public class WriteChannel implements AutoCloseable {
 
   private static final byte[] ZERO_BYTES = new byte[8];
 
+  /**
+   * The maximum number of buffers written at once, the usual IOV_MAX.
+   */
+  private static final int MAX_GATHERED_BUFFERS = 1024;
+
   private final byte[] intBuf = new byte[4];
 
   private long currentPosition = 0;
 
   private final WritableByteChannel out;
 
+  // The buffers written but not flushed yet, when writes are gathered.
+  private final List<ByteBuffer> pendingBuffers = new ArrayList<>();
+
+  private long pendingBytes = 0;
+
+  private long flushThreshold = 0;
+
   public WriteChannel(WritableByteChannel out) {
+    this(out, 0);
+  }
+
+  /**
+   * Constructs a channel that gathers writes until the given number of bytes is pending.
+   *
+   * @param out the channel to write to
+   * @param flushThreshold the number of pending bytes that triggers a flush, or 0 not to gather writes
+   */
+  public WriteChannel(WritableByteChannel out, long flushThreshold) {
+    Preconditions.checkArgument(flushThreshold >= 0, "flushThreshold must not be negative");
     this.out = out;
+    this.flushThreshold = flushThreshold;
   }
 
   @Override
   public void close() throws IOException {
-    out.close();
+    try {
+      flush();
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Sets the number of pending bytes that triggers a flush of the gathered writes, or 0 not to
+   * gather writes. The pending writes are flushed first.
+   */
+  public void setFlushThreshold(long flushThreshold) throws IOException {
+    Preconditions.checkArgument(flushThreshold >= 0, "flushThreshold must not be negative");
+    flush();
+    this.flushThreshold = flushThreshold;
+  }
+
+  public long getFlushThreshold() {
+    return flushThreshold;
+  }
+
+  /**
+   * Writes the pending buffers to the underlying channel, with a single gathering write if it
+   * supports them.
+   */
+  public void flush() throws IOException {
+    if (pendingBuffers.isEmpty()) {
+      return;
+    }
+    ByteBuffer[] buffers = pendingBuffers.toArray(new ByteBuffer[0]);
+    pendingBuffers.clear();
+    pendingBytes = 0;
+    if (out instanceof GatheringByteChannel) {
+      GatheringByteChannel gatheringOut = (GatheringByteChannel) out;
+      int offset = 0;
+      while (offset < buffers.length) {
+        gatheringOut.write(buffers, offset, buffers.length - offset);
+        while (offset < buffers.length && !buffers[offset].hasRemaining()) {
+          offset++;
+        }
+      }
+    } else {
+      for (ByteBuffer buffer : buffers) {
+        while (buffer.hasRemaining()) {
+          out.write(buffer);
+        }
+      }
+    }
   }
 
   public long getCurrentPosition() {
@@ -108,8 +190,19 @@ public class WriteChannel implements AutoCloseable {
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Writing buffer with size: {}", length);
     }
-    while (buffer.hasRemaining()) {
-      out.write(buffer);
+    if (flushThreshold > 0) {
+      if (length > 0) {
+        pendingBuffers.add(buffer.slice());
+        buffer.position(buffer.limit());
+        pendingBytes += length;
+      }
+      if (pendingBytes >= flushThreshold || pendingBuffers.size() >= MAX_GATHERED_BUFFERS) {
+        flush();
+      }
+    } else {
+      while (buffer.hasRemaining()) {
+        out.write(buffer);
+      }
     }
     currentPosition += length;
     return length;
@@ -119,8 +212,10 @@ public class WriteChannel implements AutoCloseable {
    * Writes <code>v</code> in little-endian format to the underlying channel.
    */
   public long writeIntLittleEndian(int v) throws IOException {
-    MessageSerializer.intToBytes(v, intBuf);
-    return write(intBuf);
+    // gathered writes keep a reference to the bytes
+    byte[] bytes = flushThreshold > 0 ? new byte[4] : intBuf;
+    MessageSerializer.intToBytes(v, bytes);
+    return write(bytes);
   }
 
   /**
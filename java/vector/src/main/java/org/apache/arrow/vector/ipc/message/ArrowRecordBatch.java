@@ -56,6 +56,11 @@ public class ArrowRecordBatch implements ArrowMessage {
 
   private final List<ArrowBuffer> buffersLayout;
 
+  /**
+   * Number of variadic data buffers for each field whose type has them (e.g. Utf8View), in field order.
+   */
+  private final List<Long> variadicBufferCounts;
+
   private boolean closed = false;
 
   public ArrowRecordBatch(
@@ -98,12 +103,32 @@ public class ArrowRecordBatch implements ArrowMessage {
   public ArrowRecordBatch(
       int length, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers,
       ArrowBodyCompression bodyCompression, boolean alignBuffers, boolean retainBuffers) {
+    this(length, nodes, buffers, bodyCompression, Collections.emptyList(), alignBuffers, retainBuffers);
+  }
+
+  /**
+   * Construct a record batch from nodes.
+   *
+   * @param length  how many rows in this batch
+   * @param nodes   field level info
+   * @param buffers will be retained until this recordBatch is closed
+   * @param bodyCompression compression info.
+   * @param variadicBufferCounts the number of variadic data buffers of each field that has them.
+   * @param alignBuffers Whether to align buffers to an 8 byte boundary.
+   * @param retainBuffers Whether to retain() each source buffer in the constructor. If false, the caller is
+   *                      responsible for retaining the buffers beforehand.
+   */
+  public ArrowRecordBatch(
+      int length, List<ArrowFieldNode> nodes, List<ArrowBuf> buffers,
+      ArrowBodyCompression bodyCompression, List<Long> variadicBufferCounts,
+      boolean alignBuffers, boolean retainBuffers) {
     super();
     this.length = length;
     this.nodes = nodes;
     this.buffers = buffers;
     Preconditions.checkArgument(bodyCompression != null, "body compression cannot be null");
     this.bodyCompression = bodyCompression;
+    this.variadicBufferCounts = Preconditions.checkNotNull(variadicBufferCounts, "variadic buffer counts");
     List<ArrowBuffer> arrowBuffers = new ArrayList<>(buffers.size());
     long offset = 0;
     for (ArrowBuf arrowBuf : buffers) {
@@ -129,12 +154,13 @@ public class ArrowRecordBatch implements ArrowMessage {
   // to distinguish this from the public constructor.
   private ArrowRecordBatch(
       boolean dummy, int length, List<ArrowFieldNode> nodes,
-      List<ArrowBuf> buffers, ArrowBodyCompression bodyCompression) {
+      List<ArrowBuf> buffers, ArrowBodyCompression bodyCompression, List<Long> variadicBufferCounts) {
     this.length = length;
     this.nodes = nodes;
     this.buffers = buffers;
     Preconditions.checkArgument(bodyCompression != null, "body compression cannot be null");
     this.bodyCompression = bodyCompression;
+    this.variadicBufferCounts = variadicBufferCounts;
     this.closed = false;
     List<ArrowBuffer> arrowBuffers = new ArrayList<>();
     long offset = 0;
@@ -167,6 +193,15 @@ public class ArrowRecordBatch implements ArrowMessage {
     return nodes;
   }
 
+  /**
+   * Get the number of variadic data buffers of each field that has them, in field order.
+   *
+   * @return the variadic buffer counts, empty if no field has variadic buffers
+   */
+  public List<Long> getVariadicBufferCounts() {
+    return variadicBufferCounts;
+  }
+
   /**
    * Get the record batch buffers.
    *
@@ -195,7 +230,7 @@ public class ArrowRecordBatch implements ArrowMessage {
             .writerIndex(buf.writerIndex()))
         .collect(Collectors.toList());
     close();
-    return new ArrowRecordBatch(false, length, nodes, newBufs, bodyCompression);
+    return new ArrowRecordBatch(false, length, nodes, newBufs, bodyCompression, variadicBufferCounts);
   }
 
   /**
@@ -217,6 +252,11 @@ public class ArrowRecordBatch implements ArrowMessage {
     if (bodyCompression.getCodec() != NoCompressionCodec.COMPRESSION_TYPE) {
       compressOffset = bodyCompression.writeTo(builder);
     }
+    int variadicBufferCountsOffset = 0;
+    if (!variadicBufferCounts.isEmpty()) {
+      long[] counts = variadicBufferCounts.stream().mapToLong(Long::longValue).toArray();
+      variadicBufferCountsOffset = RecordBatch.createVariadicBufferCountsVector(builder, counts);
+    }
     RecordBatch.startRecordBatch(builder);
     RecordBatch.addLength(builder, length);
     RecordBatch.addNodes(builder, nodesOffset);
@@ -224,6 +264,9 @@ public class ArrowRecordBatch implements ArrowMessage {
     if (bodyCompression.getCodec() != NoCompressionCodec.COMPRESSION_TYPE) {
       RecordBatch.addCompression(builder, compressOffset);
     }
+    if (variadicBufferCountsOffset != 0) {
+      RecordBatch.addVariadicBufferCounts(builder, variadicBufferCountsOffset);
+    }
     return RecordBatch.endRecordBatch(builder);
   }
 
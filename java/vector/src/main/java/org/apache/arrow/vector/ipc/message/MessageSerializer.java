@@ -307,6 +307,8 @@ public class MessageSerializer {
       }
     }
     out.align();
+    // the buffers of the batch may be released once this returns
+    out.flush();
     return out.getCurrentPosition() - bufferStart;
   }
 
@@ -381,24 +383,38 @@ public class MessageSerializer {
 
     ArrowBuf buffer = alloc.buffer(totalLen);
     if (in.readFully(buffer, totalLen) != totalLen) {
+      buffer.close();
       throw new IOException("Unexpected end of input trying to read batch.");
     }
+    return deserializeRecordBatch(block, buffer);
+  }
 
-    int prefixSize = buffer.getInt(0) == IPC_CONTINUATION_TOKEN ? 8 : 4;
-
-    ArrowBuf metadataBuffer = buffer.slice(prefixSize, block.getMetadataLength() - prefixSize);
-
-    Message messageFB =
-        Message.getRootAsMessage(metadataBuffer.nioBuffer().asReadOnlyBuffer());
-
+  /**
+   * Deserializes an ArrowRecordBatch from a buffer holding the entire message of a block. The buffers of
+   * the record batch are slices of the given buffer, whose reference is transferred to the record batch.
+   *
+   * @param block  the block metadata of the message
+   * @param buffer the metadata and body of the message
+   * @return the deserialized ArrowRecordBatch
+   * @throws IOException if something went wrong
+   */
+  public static ArrowRecordBatch deserializeRecordBatch(ArrowBlock block, ArrowBuf buffer) throws IOException {
+    Message messageFB = readBlockMetadata(block, buffer);
     RecordBatch recordBatchFB = (RecordBatch) messageFB.header(new RecordBatch());
 
     // Now read the body
-    final ArrowBuf body = buffer.slice(block.getMetadataLength(),
-         totalLen - block.getMetadataLength());
+    final ArrowBuf body = buffer.slice(block.getMetadataLength(), block.getBodyLength());
     return deserializeRecordBatch(recordBatchFB, body);
   }
 
+  private static Message readBlockMetadata(ArrowBlock block, ArrowBuf buffer) {
+    int prefixSize = buffer.getInt(0) == IPC_CONTINUATION_TOKEN ? 8 : 4;
+
+    ArrowBuf metadataBuffer = buffer.slice(prefixSize, block.getMetadataLength() - prefixSize);
+
+    return Message.getRootAsMessage(metadataBuffer.nioBuffer().asReadOnlyBuffer());
+  }
+
   /**
    * Deserializes an ArrowRecordBatch given the Flatbuffer metadata and in-memory body.
    *
@@ -431,11 +447,17 @@ public class MessageSerializer {
         NoCompressionCodec.DEFAULT_BODY_COMPRESSION
         : new ArrowBodyCompression(recordBatchFB.compression().codec(), recordBatchFB.compression().method());
 
+    List<Long> variadicBufferCounts = new ArrayList<>(recordBatchFB.variadicBufferCountsLength());
+    for (int i = 0; i < recordBatchFB.variadicBufferCountsLength(); ++i) {
+      variadicBufferCounts.add(recordBatchFB.variadicBufferCounts(i));
+    }
+
     if ((int) recordBatchFB.length() != recordBatchFB.length()) {
       throw new IOException("Cannot currently deserialize record batches with more than INT_MAX records.");
     }
     ArrowRecordBatch arrowRecordBatch =
-        new ArrowRecordBatch(checkedCastToInt(recordBatchFB.length()), nodes, buffers, bodyCompression);
+        new ArrowRecordBatch(checkedCastToInt(recordBatchFB.length()), nodes, buffers, bodyCompression,
+            variadicBufferCounts, /*alignBuffers*/ true, /*retainBuffers*/ true);
     body.getReferenceManager().release();
     return arrowRecordBatch;
   }
@@ -571,21 +593,28 @@ public class MessageSerializer {
 
     ArrowBuf buffer = alloc.buffer(totalLen);
     if (in.readFully(buffer, totalLen) != totalLen) {
+      buffer.close();
       throw new IOException("Unexpected end of input trying to read batch.");
     }
+    return deserializeDictionaryBatch(block, buffer);
+  }
 
-    int prefixSize = buffer.getInt(0) == IPC_CONTINUATION_TOKEN ? 8 : 4;
-
-    ArrowBuf metadataBuffer = buffer.slice(prefixSize, block.getMetadataLength() - prefixSize);
-
-    Message messageFB =
-        Message.getRootAsMessage(metadataBuffer.nioBuffer().asReadOnlyBuffer());
-
+  /**
+   * Deserializes a DictionaryBatch from a buffer holding the entire message of a block. The buffers of
+   * the dictionary batch are slices of the given buffer, whose reference is transferred to the batch.
+   *
+   * @param block  the block metadata of the message
+   * @param buffer the metadata and body of the message
+   * @return the deserialized ArrowDictionaryBatch
+   * @throws IOException if something went wrong
+   */
+  public static ArrowDictionaryBatch deserializeDictionaryBatch(ArrowBlock block, ArrowBuf buffer)
+      throws IOException {
+    Message messageFB = readBlockMetadata(block, buffer);
     DictionaryBatch dictionaryBatchFB = (DictionaryBatch) messageFB.header(new DictionaryBatch());
 
     // Now read the body
-    final ArrowBuf body = buffer.slice(block.getMetadataLength(),
-         totalLen - block.getMetadataLength());
+    final ArrowBuf body = buffer.slice(block.getMetadataLength(), block.getBodyLength());
     ArrowRecordBatch recordBatch = deserializeRecordBatch(dictionaryBatchFB.data(), body);
     return new ArrowDictionaryBatch(dictionaryBatchFB.id(), recordBatch, dictionaryBatchFB.isDelta());
   }
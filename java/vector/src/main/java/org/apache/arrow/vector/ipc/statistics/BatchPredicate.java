@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc.statistics;
+
+/**
+ * A predicate over the statistics of a record batch, deciding whether some rows of the batch
+ * might match a row predicate. See {@link BatchPredicates} for the predicates on column ranges.
+ */
+@FunctionalInterface
+public interface BatchPredicate {
+
+  /**
+   * Checks if some rows of a batch might match.
+   * @param statistics the statistics of the batch.
+   * @return false only if no row of the batch matches.
+   */
+  boolean mightMatch(BatchStatistics statistics);
+}
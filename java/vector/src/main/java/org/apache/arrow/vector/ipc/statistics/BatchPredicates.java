@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc.statistics;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.arrow.util.Preconditions;
+
+/**
+ * Factory of {@link BatchPredicate}s on the ranges of the values of columns.
+ *
+ * <p>Range predicates do not match nulls. The bounds are {@link Long}s for integral and temporal
+ * columns, in the unit of the column, and {@link Double}s for floating point columns.
+ * {@link Byte}, {@link Short} and {@link Integer} bounds are widened to {@link Long}s, and
+ * {@link Float} bounds to {@link Double}s. A bound of another type, or a column without
+ * statistics, is conservatively assumed to match.</p>
+ */
+public final class BatchPredicates {
+
+  private BatchPredicates() {
+  }
+
+  /**
+   * Creates a predicate matching the values of a column within a range.
+   * @param column the name of the column.
+   * @param lower the lower bound, or null if unbounded.
+   * @param lowerInclusive whether the lower bound is included in the range.
+   * @param upper the upper bound, or null if unbounded.
+   * @param upperInclusive whether the upper bound is included in the range.
+   */
+  public static BatchPredicate range(String column, Number lower, boolean lowerInclusive, Number upper,
+      boolean upperInclusive) {
+    Preconditions.checkNotNull(column, "column must not be null");
+    final Number lowerBound = widen(lower);
+    final Number upperBound = widen(upper);
+    return statistics -> {
+      final ColumnStatistics columnStatistics = statistics.getColumn(column);
+      if (columnStatistics == null) {
+        return true;
+      }
+      if (columnStatistics.getNullCount() == statistics.getRowCount()) {
+        return false;
+      }
+      final Number min = columnStatistics.getMin();
+      final Number max = columnStatistics.getMax();
+      if (min == null || max == null) {
+        return true;
+      }
+      if (lowerBound != null && comparable(max, lowerBound)) {
+        final int comparison = compare(max, lowerBound);
+        if (comparison < 0 || (comparison == 0 && !lowerInclusive)) {
+          return false;
+        }
+      }
+      if (upperBound != null && comparable(min, upperBound)) {
+        final int comparison = compare(min, upperBound);
+        if (comparison > 0 || (comparison == 0 && !upperInclusive)) {
+          return false;
+        }
+      }
+      return true;
+    };
+  }
+
+  /**
+   * Widens a bound to the type of the statistics it can be compared with.
+   */
+  private static Number widen(Number bound) {
+    if (bound instanceof Byte || bound instanceof Short || bound instanceof Integer) {
+      return bound.longValue();
+    }
+    if (bound instanceof Float) {
+      return bound.doubleValue();
+    }
+    return bound;
+  }
+
+  /**
+   * Checks if a statistic can be compared exactly with a bound.
+   */
+  private static boolean comparable(Number statistic, Number bound) {
+    return (statistic instanceof Long && bound instanceof Long) ||
+        (statistic instanceof Double && bound instanceof Double);
+  }
+
+  private static int compare(Number statistic, Number bound) {
+    if (statistic instanceof Long) {
+      return Long.compare(statistic.longValue(), bound.longValue());
+    }
+    // not Double.compare, so that -0.0 and 0.0 are equal
+    final double value = statistic.doubleValue();
+    final double other = bound.doubleValue();
+    return value < other ? -1 : (value > other ? 1 : 0);
+  }
+
+  /**
+   * Creates a predicate matching the values of a column between two bounds, inclusive.
+   */
+  public static BatchPredicate between(String column, Number lower, Number upper) {
+    return range(column, lower, true, upper, true);
+  }
+
+  /**
+   * Creates a predicate matching the values of a column equal to a value.
+   */
+  public static BatchPredicate equalTo(String column, Number value) {
+    return range(column, value, true, value, true);
+  }
+
+  /**
+   * Creates a predicate matching the values of a column greater than a value.
+   */
+  public static BatchPredicate greaterThan(String column, Number value) {
+    return range(column, value, false, null, false);
+  }
+
+  /**
+   * Creates a predicate matching the values of a column greater than or equal to a value.
+   */
+  public static BatchPredicate greaterThanOrEqualTo(String column, Number value) {
+    return range(column, value, true, null, false);
+  }
+
+  /**
+   * Creates a predicate matching the values of a column less than a value.
+   */
+  public static BatchPredicate lessThan(String column, Number value) {
+    return range(column, null, false, value, false);
+  }
+
+  /**
+   * Creates a predicate matching the values of a column less than or equal to a value.
+   */
+  public static BatchPredicate lessThanOrEqualTo(String column, Number value) {
+    return range(column, null, false, value, true);
+  }
+
+  /**
+   * Creates a predicate matching the nulls of a column.
+   */
+  public static BatchPredicate isNull(String column) {
+    return statistics -> {
+      final ColumnStatistics columnStatistics = statistics.getColumn(column);
+      return columnStatistics == null || columnStatistics.getNullCount() > 0;
+    };
+  }
+
+  /**
+   * Creates a predicate matching the non-null values of a column.
+   */
+  public static BatchPredicate isNotNull(String column) {
+    return statistics -> {
+      final ColumnStatistics columnStatistics = statistics.getColumn(column);
+      return columnStatistics == null || columnStatistics.getNullCount() < statistics.getRowCount();
+    };
+  }
+
+  /**
+   * Creates a predicate matching the rows matching all the given predicates.
+   */
+  public static BatchPredicate and(BatchPredicate... predicates) {
+    final List<BatchPredicate> list = Arrays.asList(predicates.clone());
+    return statistics -> list.stream().allMatch(predicate -> predicate.mightMatch(statistics));
+  }
+
+  /**
+   * Creates a predicate matching the rows matching any of the given predicates.
+   */
+  public static BatchPredicate or(BatchPredicate... predicates) {
+    final List<BatchPredicate> list = Arrays.asList(predicates.clone());
+    return statistics -> list.stream().anyMatch(predicate -> predicate.mightMatch(statistics));
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc.statistics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Statistics of a record batch: its row count and the statistics of its top-level columns.
+ *
+ * <p>The statistics of the record batches of a file are written by
+ * {@link org.apache.arrow.vector.ipc.ArrowFileWriter#setWriteBatchStatistics(boolean)} in the custom
+ * metadata of the footer, under {@link #METADATA_KEY}, and used by
+ * {@link org.apache.arrow.vector.ipc.ArrowFileReader#loadNextBatch(BatchPredicate)} to skip the
+ * batches that cannot match a predicate.</p>
+ */
+public final class BatchStatistics {
+
+  /**
+   * The key of the statistics of the record batches in the custom metadata of a file footer.
+   */
+  public static final String METADATA_KEY = "arrow-java:batch_statistics";
+
+  private static final ObjectMapper mapper = JsonMapper.builder()
+      .enable(JsonReadFeature.ALLOW_NON_NUMERIC_NUMBERS)
+      .build();
+  private static final ObjectWriter writer = mapper.writerFor(new TypeReference<List<BatchStatistics>>() { });
+  private static final ObjectReader reader = mapper.readerFor(new TypeReference<List<BatchStatistics>>() { });
+
+  private final long rowCount;
+
+  private final List<ColumnStatistics> columns;
+
+  /**
+   * Constructs the statistics of a record batch.
+   * @param rowCount the number of rows of the batch.
+   * @param columns the statistics of the top-level columns, in schema order.
+   */
+  @JsonCreator
+  public BatchStatistics(@JsonProperty("rowCount") long rowCount,
+                         @JsonProperty("columns") List<ColumnStatistics> columns) {
+    this.rowCount = rowCount;
+    this.columns = columns == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(columns));
+  }
+
+  /**
+   * Computes the statistics of the batch loaded in a root.
+   */
+  public static BatchStatistics of(VectorSchemaRoot root) {
+    final List<ColumnStatistics> columns = new ArrayList<>(root.getFieldVectors().size());
+    for (FieldVector vector : root.getFieldVectors()) {
+      columns.add(ColumnStatistics.of(vector, root.getRowCount()));
+    }
+    return new BatchStatistics(root.getRowCount(), columns);
+  }
+
+  /**
+   * Serializes the statistics of the batches of a file, as stored under {@link #METADATA_KEY}.
+   */
+  public static String toJson(List<BatchStatistics> statistics) {
+    try {
+      return writer.writeValueAsString(statistics);
+    } catch (JsonProcessingException e) {
+      // this should not happen
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Deserializes the statistics of the batches of a file, as stored under {@link #METADATA_KEY}.
+   * @throws IOException if the statistics are invalid.
+   */
+  public static List<BatchStatistics> fromJson(String json) throws IOException {
+    return reader.readValue(json);
+  }
+
+  @JsonProperty("rowCount")
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  @JsonProperty("columns")
+  public List<ColumnStatistics> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Gets the statistics of the first column with a name.
+   * @return the statistics, or null if there is no such column.
+   */
+  public ColumnStatistics getColumn(String name) {
+    for (ColumnStatistics column : columns) {
+      if (Objects.equals(column.getName(), name)) {
+        return column;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof BatchStatistics)) {
+      return false;
+    }
+    BatchStatistics that = (BatchStatistics) o;
+    return rowCount == that.rowCount && columns.equals(that.columns);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(rowCount, columns);
+  }
+
+  @Override
+  public String toString() {
+    return "BatchStatistics{rowCount=" + rowCount + ", columns=" + columns + "}";
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc.statistics;
+
+import java.util.Objects;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Statistics of a top-level column of a record batch: the number of nulls and, for integral,
+ * temporal and floating point columns, the minimum and maximum of the non-null values.
+ *
+ * <p>The bounds of integral and temporal columns are {@link Long}s, in the unit of the column
+ * (e.g. days since the epoch for a DATE(DAY) column). The bounds of floating point columns are
+ * {@link Double}s and ignore NaNs. The bounds are null when the type is not supported, when the
+ * column is dictionary encoded, or when there are no non-null values.</p>
+ */
+@JsonInclude(Include.NON_NULL)
+public final class ColumnStatistics {
+
+  private final String name;
+
+  private final long nullCount;
+
+  private final Number min;
+
+  private final Number max;
+
+  /**
+   * Constructs the statistics of a column.
+   * @param name the name of the column.
+   * @param nullCount the number of nulls of the column.
+   * @param min the minimum non-null value, a {@link Long} or a {@link Double}, or null if unknown.
+   * @param max the maximum non-null value, of the same type as the minimum, or null if unknown.
+   */
+  public ColumnStatistics(String name, long nullCount, Number min, Number max) {
+    this.name = name;
+    this.nullCount = nullCount;
+    this.min = min;
+    this.max = max;
+  }
+
+  @JsonCreator
+  private ColumnStatistics(@JsonProperty("name") String name,
+                           @JsonProperty("nullCount") long nullCount,
+                           @JsonProperty("minInt") Long minInt,
+                           @JsonProperty("maxInt") Long maxInt,
+                           @JsonProperty("minFloat") Double minFloat,
+                           @JsonProperty("maxFloat") Double maxFloat) {
+    this(name, nullCount, bound(minInt, minFloat), bound(maxInt, maxFloat));
+  }
+
+  private static Number bound(Long intBound, Double floatBound) {
+    // not a conditional expression, which would promote the long to a double
+    if (intBound != null) {
+      return intBound;
+    }
+    return floatBound;
+  }
+
+  /**
+   * Computes the statistics of the first values of a vector.
+   * @param vector the vector.
+   * @param valueCount the number of values.
+   * @return the statistics.
+   */
+  public static ColumnStatistics of(FieldVector vector, int valueCount) {
+    final Field field = vector.getField();
+    final long nullCount = vector.getNullCount();
+    if (field.getDictionary() != null || nullCount == valueCount) {
+      return new ColumnStatistics(field.getName(), nullCount, null, null);
+    }
+    final ArrowType type = field.getType();
+    if (type.getTypeID() == ArrowType.ArrowTypeID.FloatingPoint) {
+      final FloatingPointPrecision precision = ((ArrowType.FloatingPoint) type).getPrecision();
+      if (precision == FloatingPointPrecision.HALF) {
+        return new ColumnStatistics(field.getName(), nullCount, null, null);
+      }
+      return floatingPointStatistics(vector, valueCount, precision == FloatingPointPrecision.SINGLE);
+    }
+    final int width = integralWidth(type);
+    if (width == 0) {
+      return new ColumnStatistics(field.getName(), nullCount, null, null);
+    }
+    final boolean signed = type.getTypeID() != ArrowType.ArrowTypeID.Int || ((ArrowType.Int) type).getIsSigned();
+    return integralStatistics(vector, valueCount, width, signed);
+  }
+
+  /**
+   * Gets the width in bytes of the values of an integral or temporal type, whose values can be
+   * compared as longs, or 0 if the type is not supported.
+   */
+  private static int integralWidth(ArrowType type) {
+    switch (type.getTypeID()) {
+      case Int:
+        final ArrowType.Int intType = (ArrowType.Int) type;
+        // unsigned 64-bit integers do not fit in longs
+        return intType.getBitWidth() == 64 && !intType.getIsSigned() ? 0 : intType.getBitWidth() / 8;
+      case Date:
+        return ((ArrowType.Date) type).getUnit() == DateUnit.DAY ? 4 : 8;
+      case Time:
+        return ((ArrowType.Time) type).getBitWidth() / 8;
+      case Timestamp:
+      case Duration:
+        return 8;
+      default:
+        return 0;
+    }
+  }
+
+  private static ColumnStatistics integralStatistics(FieldVector vector, int valueCount, int width, boolean signed) {
+    final ArrowBuf data = vector.getDataBuffer();
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (int i = 0; i < valueCount; i++) {
+      if (vector.isNull(i)) {
+        continue;
+      }
+      final long value;
+      switch (width) {
+        case 1:
+          value = signed ? data.getByte(i) : data.getByte(i) & 0xFFL;
+          break;
+        case 2:
+          value = signed ? data.getShort((long) i * 2) : data.getShort((long) i * 2) & 0xFFFFL;
+          break;
+        case 4:
+          value = signed ? data.getInt((long) i * 4) : data.getInt((long) i * 4) & 0xFFFFFFFFL;
+          break;
+        default:
+          value = data.getLong((long) i * 8);
+          break;
+      }
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+    return new ColumnStatistics(vector.getName(), vector.getNullCount(), min, max);
+  }
+
+  private static ColumnStatistics floatingPointStatistics(FieldVector vector, int valueCount, boolean single) {
+    final ArrowBuf data = vector.getDataBuffer();
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    boolean found = false;
+    for (int i = 0; i < valueCount; i++) {
+      if (vector.isNull(i)) {
+        continue;
+      }
+      final double value = single ? data.getFloat((long) i * 4) : data.getDouble((long) i * 8);
+      if (Double.isNaN(value)) {
+        continue;
+      }
+      found = true;
+      min = value < min ? value : min;
+      max = value > max ? value : max;
+    }
+    if (!found) {
+      return new ColumnStatistics(vector.getName(), vector.getNullCount(), null, null);
+    }
+    return new ColumnStatistics(vector.getName(), vector.getNullCount(), min, max);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getNullCount() {
+    return nullCount;
+  }
+
+  /**
+   * Gets the minimum non-null value, a {@link Long} or a {@link Double}, or null if unknown.
+   */
+  @JsonIgnore
+  public Number getMin() {
+    return min;
+  }
+
+  /**
+   * Gets the maximum non-null value, a {@link Long} or a {@link Double}, or null if unknown.
+   */
+  @JsonIgnore
+  public Number getMax() {
+    return max;
+  }
+
+  @JsonProperty("minInt")
+  Long getMinInt() {
+    return min instanceof Long ? (Long) min : null;
+  }
+
+  @JsonProperty("maxInt")
+  Long getMaxInt() {
+    return max instanceof Long ? (Long) max : null;
+  }
+
+  @JsonProperty("minFloat")
+  Double getMinFloat() {
+    return min instanceof Double ? (Double) min : null;
+  }
+
+  @JsonProperty("maxFloat")
+  Double getMaxFloat() {
+    return max instanceof Double ? (Double) max : null;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ColumnStatistics)) {
+      return false;
+    }
+    ColumnStatistics that = (ColumnStatistics) o;
+    return nullCount == that.nullCount && Objects.equals(name, that.name) && Objects.equals(min, that.min) &&
+        Objects.equals(max, that.max);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, nullCount, min, max);
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnStatistics{name=" + name + ", nullCount=" + nullCount + ", min=" + min + ", max=" + max + "}";
+  }
+}
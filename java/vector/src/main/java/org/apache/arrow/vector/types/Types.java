@@ -65,11 +65,16 @@ import org.apache.arrow.vector.UInt8Vector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.VarBinaryVector;
 import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.ViewVarBinaryVector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
+import org.apache.arrow.vector.complex.LargeListViewVector;
 import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.ListViewVector;
 import org.apache.arrow.vector.complex.MapVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.StructVector;
 import org.apache.arrow.vector.complex.UnionVector;
 import org.apache.arrow.vector.complex.impl.BigIntWriterImpl;
@@ -109,7 +114,9 @@ import org.apache.arrow.vector.complex.impl.UInt1WriterImpl;
 import org.apache.arrow.vector.complex.impl.UInt2WriterImpl;
 import org.apache.arrow.vector.complex.impl.UInt4WriterImpl;
 import org.apache.arrow.vector.complex.impl.UInt8WriterImpl;
+import org.apache.arrow.vector.complex.impl.UnionLargeListViewWriter;
 import org.apache.arrow.vector.complex.impl.UnionLargeListWriter;
+import org.apache.arrow.vector.complex.impl.UnionListViewWriter;
 import org.apache.arrow.vector.complex.impl.UnionListWriter;
 import org.apache.arrow.vector.complex.impl.UnionWriter;
 import org.apache.arrow.vector.complex.impl.VarBinaryWriterImpl;
@@ -805,6 +812,70 @@ public class Types {
         return ((ExtensionTypeVector) vector).getUnderlyingVector().getMinorType().getNewFieldWriter(vector);
       }
     },
+    RUNENDENCODED(ArrowType.RunEndEncoded.INSTANCE) {
+      @Override
+      public FieldVector getNewVector(
+          Field field,
+          BufferAllocator allocator,
+          CallBack schemaChangeCallback) {
+        return new RunEndEncodedVector(field, allocator, schemaChangeCallback);
+      }
+
+      @Override
+      public FieldWriter getNewFieldWriter(ValueVector vector) {
+        throw new UnsupportedOperationException("FieldWriter not implemented for RunEndEncoded type");
+      }
+    },
+    VIEWVARCHAR(ArrowType.Utf8View.INSTANCE) {
+      @Override
+      public FieldVector getNewVector(
+          Field field,
+          BufferAllocator allocator,
+          CallBack schemaChangeCallback) {
+        return new ViewVarCharVector(field, allocator);
+      }
+
+      @Override
+      public FieldWriter getNewFieldWriter(ValueVector vector) {
+        throw new UnsupportedOperationException("FieldWriter not implemented for Utf8View type");
+      }
+    },
+    VIEWVARBINARY(ArrowType.BinaryView.INSTANCE) {
+      @Override
+      public FieldVector getNewVector(
+          Field field,
+          BufferAllocator allocator,
+          CallBack schemaChangeCallback) {
+        return new ViewVarBinaryVector(field, allocator);
+      }
+
+      @Override
+      public FieldWriter getNewFieldWriter(ValueVector vector) {
+        throw new UnsupportedOperationException("FieldWriter not implemented for BinaryView type");
+      }
+    },
+    LISTVIEW(ArrowType.ListView.INSTANCE) {
+      @Override
+      public FieldVector getNewVector(Field field, BufferAllocator allocator, CallBack schemaChangeCallback) {
+        return new ListViewVector(field.getName(), allocator, field.getFieldType(), schemaChangeCallback);
+      }
+
+      @Override
+      public FieldWriter getNewFieldWriter(ValueVector vector) {
+        return new UnionListViewWriter((ListViewVector) vector);
+      }
+    },
+    LARGELISTVIEW(ArrowType.LargeListView.INSTANCE) {
+      @Override
+      public FieldVector getNewVector(Field field, BufferAllocator allocator, CallBack schemaChangeCallback) {
+        return new LargeListViewVector(field.getName(), allocator, field.getFieldType(), schemaChangeCallback);
+      }
+
+      @Override
+      public FieldWriter getNewFieldWriter(ValueVector vector) {
+        return new UnionLargeListViewWriter((LargeListViewVector) vector);
+      }
+    },
     ;
 
     private final ArrowType type;
@@ -888,6 +959,21 @@ public class Types {
         return MinorType.LARGELIST;
       }
 
+      @Override
+      public MinorType visit(ArrowType.ListView type) {
+        return MinorType.LISTVIEW;
+      }
+
+      @Override
+      public MinorType visit(ArrowType.LargeListView type) {
+        return MinorType.LARGELISTVIEW;
+      }
+
+      @Override
+      public MinorType visit(ArrowType.RunEndEncoded type) {
+        return MinorType.RUNENDENCODED;
+      }
+
       @Override
       public MinorType visit(Int type) {
         switch (type.getBitWidth()) {
@@ -938,6 +1024,16 @@ public class Types {
         return MinorType.LARGEVARBINARY;
       }
 
+      @Override
+      public MinorType visit(ArrowType.Utf8View type) {
+        return MinorType.VIEWVARCHAR;
+      }
+
+      @Override
+      public MinorType visit(ArrowType.BinaryView type) {
+        return MinorType.VIEWVARBINARY;
+      }
+
       @Override
       public MinorType visit(Bool type) {
         return MinorType.BIT;
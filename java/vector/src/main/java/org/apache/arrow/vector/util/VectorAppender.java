@@ -26,6 +26,7 @@ import org.apache.arrow.util.Preconditions;
 import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BaseLargeVariableWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthViewVector;
 import org.apache.arrow.vector.BitVector;
 import org.apache.arrow.vector.BitVectorHelper;
 import org.apache.arrow.vector.ExtensionTypeVector;
@@ -33,6 +34,7 @@ import org.apache.arrow.vector.NullVector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.compare.TypeEqualsVisitor;
 import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.BaseListViewVector;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
@@ -151,6 +153,51 @@ public class VectorAppender implements VectorVisitor<ValueVector, Void> {
     return targetVector;
   }
 
+  @Override
+  public ValueVector visit(BaseVariableWidthViewVector deltaVector, Void value) {
+    Preconditions.checkArgument(targetVector.getField().getType().equals(deltaVector.getField().getType()),
+            "The targetVector to append must have the same type as the targetVector being appended");
+
+    if (deltaVector.getValueCount() == 0) {
+      return targetVector; // nothing to append, return
+    }
+
+    BaseVariableWidthViewVector target = (BaseVariableWidthViewVector) targetVector;
+    int targetValueCount = target.getValueCount();
+    int newValueCount = targetValueCount + deltaVector.getValueCount();
+
+    // make sure there is enough capacity
+    while (target.getValueCapacity() < newValueCount) {
+      target.reAlloc();
+    }
+
+    // share the data buffers instead of copying them
+    int bufferIndexShift = target.shareDataBuffers(deltaVector);
+
+    // append validity buffer
+    BitVectorHelper.concatBits(
+            target.getValidityBuffer(), targetValueCount,
+            deltaVector.getValidityBuffer(), deltaVector.getValueCount(), target.getValidityBuffer());
+
+    // copy view buffer
+    MemoryUtil.UNSAFE.copyMemory(deltaVector.getViewBuffer().memoryAddress(),
+            target.getViewBuffer().memoryAddress() + (long) targetValueCount * BaseVariableWidthViewVector.VIEW_WIDTH,
+            (long) deltaVector.getValueCount() * BaseVariableWidthViewVector.VIEW_WIDTH);
+
+    // point the out-of-line views at the shared buffers
+    if (bufferIndexShift > 0) {
+      for (int i = targetValueCount; i < newValueCount; i++) {
+        long viewOffset = (long) i * BaseVariableWidthViewVector.VIEW_WIDTH;
+        if (target.getViewBuffer().getInt(viewOffset) > BaseVariableWidthViewVector.INLINE_SIZE) {
+          long indexOffset = viewOffset + BaseVariableWidthViewVector.BUFFER_INDEX_OFFSET;
+          target.getViewBuffer().setInt(indexOffset, target.getViewBuffer().getInt(indexOffset) + bufferIndexShift);
+        }
+      }
+    }
+    target.setValueCount(newValueCount);
+    return targetVector;
+  }
+
   @Override
   public ValueVector visit(BaseLargeVariableWidthVector deltaVector, Void value) {
     Preconditions.checkArgument(targetVector.getField().getType().equals(deltaVector.getField().getType()),
@@ -316,6 +363,38 @@ public class VectorAppender implements VectorVisitor<ValueVector, Void> {
     return targetVector;
   }
 
+  @Override
+  public ValueVector visit(BaseListViewVector deltaVector, Void value) {
+    Preconditions.checkArgument(typeVisitor.equals(deltaVector),
+            "The targetVector to append must have the same type as the targetVector being appended");
+
+    if (deltaVector.getValueCount() == 0) {
+      return targetVector; // nothing to append, return
+    }
+
+    BaseListViewVector targetListVector = (BaseListViewVector) targetVector;
+    int targetValueCount = targetVector.getValueCount();
+    int newValueCount = targetValueCount + deltaVector.getValueCount();
+    long targetDataCount = targetListVector.getDataVector().getValueCount();
+
+    // the views of the delta lists are shifted past the elements already in the target
+    for (int i = 0; i < deltaVector.getValueCount(); i++) {
+      if (deltaVector.isNull(i)) {
+        targetListVector.setNull(targetValueCount + i);
+      } else {
+        targetListVector.setOffsetAndSize(targetValueCount + i,
+            deltaVector.getOffset(i) + targetDataCount, deltaVector.getSize(i));
+      }
+    }
+
+    // append underlying vectors
+    VectorAppender innerAppender = new VectorAppender(targetListVector.getDataVector());
+    deltaVector.getDataVector().accept(innerAppender, null);
+
+    targetVector.setValueCount(newValueCount);
+    return targetVector;
+  }
+
   @Override
   public ValueVector visit(FixedSizeListVector deltaVector, Void value) {
     Preconditions.checkArgument(typeVisitor.equals(deltaVector),
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.util;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.arrow.memory.util.ArrowBufPointer;
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.memory.util.MemoryUtil;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.memory.util.hash.SimpleHasher;
+import org.apache.arrow.memory.util.hash.XxHasher;
+import org.apache.arrow.util.Preconditions;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseLargeVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.BitVectorHelper;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.ValueVector;
+
+/**
+ * Utility to hash a range of rows of vectors in batch.
+ *
+ * <p>Compared with calling {@link ValueVector#hashCode(int, ArrowBufHasher)} for each row, the
+ * values of fixed-width and variable-width vectors are hashed in one loop per vector, reading the
+ * validity, offset and data buffers directly. Other vectors are hashed row by row.</p>
+ *
+ * <p>The hash codes of several vectors, for example the columns of a composite key, are combined
+ * row by row in the order of the vectors. Nulls have a fixed hash code.</p>
+ */
+public final class VectorHasher {
+
+  /**
+   * The 64-bit hash code of nulls.
+   */
+  public static final long NULL_HASH_CODE_64 = 0L;
+
+  private VectorHasher() {
+  }
+
+  /**
+   * Hashes a range of rows of a vector.
+   * @param vector the vector.
+   * @param startIndex the index of the first row.
+   * @param count the number of rows.
+   * @param hasher the hasher, or null for {@link SimpleHasher}.
+   * @param hashes the vector for the hash codes, which is resized to the number of rows. The hash
+   *     code of each row is that of {@link ValueVector#hashCode(int, ArrowBufHasher)}.
+   */
+  public static void hash(ValueVector vector, int startIndex, int count, ArrowBufHasher hasher, IntVector hashes) {
+    hash(Collections.singletonList(vector), startIndex, count, hasher, hashes);
+  }
+
+  /**
+   * Hashes a range of rows of several vectors, combining the hash codes of each row.
+   * @param vectors the vectors, with at least as many rows as the range.
+   * @param startIndex the index of the first row.
+   * @param count the number of rows.
+   * @param hasher the hasher, or null for {@link SimpleHasher}.
+   * @param hashes the vector for the hash codes, which is resized to the number of rows. The hash
+   *     codes of the vectors are combined with {@link ByteFunctionHelpers#combineHash(int, int)},
+   *     starting from 0, like the hash codes of the children of a struct.
+   */
+  public static void hash(List<? extends ValueVector> vectors, int startIndex, int count, ArrowBufHasher hasher,
+      IntVector hashes) {
+    checkArguments(vectors, startIndex, count);
+    prepareHashes(hashes, count);
+    final ArrowBufHasher actualHasher = hasher == null ? SimpleHasher.INSTANCE : hasher;
+    final long hashAddress = hashes.getDataBuffer().memoryAddress();
+    hashes.getDataBuffer().setZero(0, (long) count * IntVector.TYPE_WIDTH);
+    for (ValueVector vector : vectors) {
+      hashInto(vector, startIndex, count, actualHasher, hashAddress);
+    }
+  }
+
+  /**
+   * Hashes a range of rows of a vector with the 64-bit {@link XxHasher}.
+   * @param vector the vector.
+   * @param startIndex the index of the first row.
+   * @param count the number of rows.
+   * @param seed the seed of the hash codes.
+   * @param hashes the vector for the hash codes, which is resized to the number of rows.
+   */
+  public static void hash64(ValueVector vector, int startIndex, int count, long seed, BigIntVector hashes) {
+    hash64(Collections.singletonList(vector), startIndex, count, seed, hashes);
+  }
+
+  /**
+   * Hashes a range of rows of several vectors with the 64-bit {@link XxHasher}, combining the
+   * hash codes of each row.
+   *
+   * <p>The values of fixed-width and variable-width vectors are hashed as their bytes, so that the
+   * hash code of a value is that of {@link XxHasher#hash64(long, long, long)} over its memory.
+   * Bits are hashed as the int 0 or 1. Other vectors are hashed by widening the 32-bit hash code
+   * of {@link ValueVector#hashCode(int, ArrowBufHasher)}.</p>
+   *
+   * @param vectors the vectors, with at least as many rows as the range.
+   * @param startIndex the index of the first row.
+   * @param count the number of rows.
+   * @param seed the seed of the hash codes.
+   * @param hashes the vector for the hash codes, which is resized to the number of rows. The hash
+   *     codes of the vectors after the first are combined with
+   *     {@link XxHasher#combineHashCode(long, long)}.
+   */
+  public static void hash64(List<? extends ValueVector> vectors, int startIndex, int count, long seed,
+      BigIntVector hashes) {
+    checkArguments(vectors, startIndex, count);
+    prepareHashes(hashes, count);
+    final long hashAddress = hashes.getDataBuffer().memoryAddress();
+    for (int i = 0; i < vectors.size(); i++) {
+      hash64Into(vectors.get(i), startIndex, count, seed, hashAddress, i > 0);
+    }
+  }
+
+  private static void checkArguments(List<? extends ValueVector> vectors, int startIndex, int count) {
+    Preconditions.checkArgument(!vectors.isEmpty(), "There must be at least one vector to hash");
+    Preconditions.checkArgument(count >= 0, "The number of rows must be non-negative");
+    for (ValueVector vector : vectors) {
+      Preconditions.checkPositionIndexes(startIndex, startIndex + count, vector.getValueCount());
+    }
+  }
+
+  /**
+   * Resizes the vector of the hash codes, which are all non-null.
+   */
+  private static void prepareHashes(FieldVector hashes, int count) {
+    hashes.setValueCount(count);
+    final int fullBytes = count / 8;
+    hashes.getValidityBuffer().setOne(0, fullBytes);
+    for (int i = fullBytes * 8; i < count; i++) {
+      BitVectorHelper.setBit(hashes.getValidityBuffer(), i);
+    }
+  }
+
+  private static boolean isSet(long validityAddress, int index) {
+    return ((MemoryUtil.UNSAFE.getByte(validityAddress + (index >> 3)) >> (index & 7)) & 1) != 0;
+  }
+
+  private static void hashInto(ValueVector vector, int startIndex, int count, ArrowBufHasher hasher,
+      long hashAddress) {
+    if (vector instanceof BaseFixedWidthVector && !(vector instanceof BitVector)) {
+      final BaseFixedWidthVector fixedWidthVector = (BaseFixedWidthVector) vector;
+      final long validityAddress = fixedWidthVector.getValidityBuffer().memoryAddress();
+      final long dataAddress = fixedWidthVector.getDataBuffer().memoryAddress();
+      final int typeWidth = fixedWidthVector.getTypeWidth();
+      if (hasher instanceof XxHasher && typeWidth == Long.BYTES) {
+        // hash the values directly, rather than through the loop over the bytes
+        final long seed = ((XxHasher) hasher).getSeed();
+        for (int i = 0; i < count; i++) {
+          final int index = startIndex + i;
+          final int hash = isSet(validityAddress, index) ?
+              (int) XxHasher.hash64(MemoryUtil.UNSAFE.getLong(dataAddress + (long) index * Long.BYTES), seed) :
+              ArrowBufPointer.NULL_HASH_CODE;
+          combineInto(hashAddress, i, hash);
+        }
+        return;
+      }
+      for (int i = 0; i < count; i++) {
+        final int index = startIndex + i;
+        final int hash = isSet(validityAddress, index) ?
+            hasher.hashCode(dataAddress + (long) index * typeWidth, typeWidth) : ArrowBufPointer.NULL_HASH_CODE;
+        combineInto(hashAddress, i, hash);
+      }
+    } else if (vector instanceof BaseVariableWidthVector) {
+      final BaseVariableWidthVector variableWidthVector = (BaseVariableWidthVector) vector;
+      final long validityAddress = variableWidthVector.getValidityBuffer().memoryAddress();
+      final long offsetAddress = variableWidthVector.getOffsetBuffer().memoryAddress();
+      final long dataAddress = variableWidthVector.getDataBuffer().memoryAddress();
+      for (int i = 0; i < count; i++) {
+        final int index = startIndex + i;
+        int hash = ArrowBufPointer.NULL_HASH_CODE;
+        if (isSet(validityAddress, index)) {
+          final long offsetEntry = offsetAddress + (long) index * BaseVariableWidthVector.OFFSET_WIDTH;
+          final int start = MemoryUtil.UNSAFE.getInt(offsetEntry);
+          final int end = MemoryUtil.UNSAFE.getInt(offsetEntry + BaseVariableWidthVector.OFFSET_WIDTH);
+          hash = hasher.hashCode(dataAddress + start, end - start);
+        }
+        combineInto(hashAddress, i, hash);
+      }
+    } else if (vector instanceof BaseLargeVariableWidthVector) {
+      final BaseLargeVariableWidthVector variableWidthVector = (BaseLargeVariableWidthVector) vector;
+      final long validityAddress = variableWidthVector.getValidityBuffer().memoryAddress();
+      final long offsetAddress = variableWidthVector.getOffsetBuffer().memoryAddress();
+      final long dataAddress = variableWidthVector.getDataBuffer().memoryAddress();
+      for (int i = 0; i < count; i++) {
+        final int index = startIndex + i;
+        int hash = ArrowBufPointer.NULL_HASH_CODE;
+        if (isSet(validityAddress, index)) {
+          final long offsetEntry = offsetAddress + (long) index * BaseLargeVariableWidthVector.OFFSET_WIDTH;
+          final long start = MemoryUtil.UNSAFE.getLong(offsetEntry);
+          final long end = MemoryUtil.UNSAFE.getLong(offsetEntry + BaseLargeVariableWidthVector.OFFSET_WIDTH);
+          hash = hasher.hashCode(dataAddress + start, end - start);
+        }
+        combineInto(hashAddress, i, hash);
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        combineInto(hashAddress, i, vector.hashCode(startIndex + i, hasher));
+      }
+    }
+  }
+
+  private static void combineInto(long hashAddress, int index, int hash) {
+    final long address = hashAddress + (long) index * IntVector.TYPE_WIDTH;
+    MemoryUtil.UNSAFE.putInt(address, ByteFunctionHelpers.combineHash(MemoryUtil.UNSAFE.getInt(address), hash));
+  }
+
+  private static void hash64Into(ValueVector vector, int startIndex, int count, long seed, long hashAddress,
+      boolean combine) {
+    if (vector instanceof BitVector) {
+      final BitVector bitVector = (BitVector) vector;
+      final long validityAddress = bitVector.getValidityBuffer().memoryAddress();
+      final long dataAddress = bitVector.getDataBuffer().memoryAddress();
+      for (int i = 0; i < count; i++) {
+        final int index = startIndex + i;
+        final long hash = isSet(validityAddress, index) ?
+            XxHasher.hash64(isSet(dataAddress, index) ? 1 : 0, seed) : NULL_HASH_CODE_64;
+        storeHash64(hashAddress, i, hash, combine);
+      }
+    } else if (vector instanceof BaseFixedWidthVector) {
+      final BaseFixedWidthVector fixedWidthVector = (BaseFixedWidthVector) vector;
+      final long validityAddress = fixedWidthVector.getValidityBuffer().memoryAddress();
+      final long dataAddress = fixedWidthVector.getDataBuffer().memoryAddress();
+      final int typeWidth = fixedWidthVector.getTypeWidth();
+      if (typeWidth == Long.BYTES) {
+        for (int i = 0; i < count; i++) {
+          final int index = startIndex + i;
+          final long hash = isSet(validityAddress, index) ?
+              XxHasher.hash64(MemoryUtil.UNSAFE.getLong(dataAddress + (long) index * Long.BYTES), seed) :
+              NULL_HASH_CODE_64;
+          storeHash64(hashAddress, i, hash, combine);
+        }
+      } else if (typeWidth == Integer.BYTES) {
+        for (int i = 0; i < count; i++) {
+          final int index = startIndex + i;
+          final long hash = isSet(validityAddress, index) ?
+              XxHasher.hash64(MemoryUtil.UNSAFE.getInt(dataAddress + (long) index * Integer.BYTES), seed) :
+              NULL_HASH_CODE_64;
+          storeHash64(hashAddress, i, hash, combine);
+        }
+      } else {
+        for (int i = 0; i < count; i++) {
+          final int index = startIndex + i;
+          final long hash = isSet(validityAddress, index) ?
+              XxHasher.hash64(dataAddress + (long) index * typeWidth, typeWidth, seed) : NULL_HASH_CODE_64;
+          storeHash64(hashAddress, i, hash, combine);
+        }
+      }
+    } else if (vector instanceof BaseVariableWidthVector) {
+      final BaseVariableWidthVector variableWidthVector = (BaseVariableWidthVector) vector;
+      final long validityAddress = variableWidthVector.getValidityBuffer().memoryAddress();
+      final long offsetAddress = variableWidthVector.getOffsetBuffer().memoryAddress();
+      final long dataAddress = variableWidthVector.getDataBuffer().memoryAddress();
+      for (int i = 0; i < count; i++) {
+        final int index = startIndex + i;
+        long hash = NULL_HASH_CODE_64;
+        if (isSet(validityAddress, index)) {
+          final long offsetEntry = offsetAddress + (long) index * BaseVariableWidthVector.OFFSET_WIDTH;
+          final int start = MemoryUtil.UNSAFE.getInt(offsetEntry);
+          final int end = MemoryUtil.UNSAFE.getInt(offsetEntry + BaseVariableWidthVector.OFFSET_WIDTH);
+          hash = XxHasher.hash64(dataAddress + start, end - start, seed);
+        }
+        storeHash64(hashAddress, i, hash, combine);
+      }
+    } else if (vector instanceof BaseLargeVariableWidthVector) {
+      final BaseLargeVariableWidthVector variableWidthVector = (BaseLargeVariableWidthVector) vector;
+      final long validityAddress = variableWidthVector.getValidityBuffer().memoryAddress();
+      final long offsetAddress = variableWidthVector.getOffsetBuffer().memoryAddress();
+      final long dataAddress = variableWidthVector.getDataBuffer().memoryAddress();
+      for (int i = 0; i < count; i++) {
+        final int index = startIndex + i;
+        long hash = NULL_HASH_CODE_64;
+        if (isSet(validityAddress, index)) {
+          final long offsetEntry = offsetAddress + (long) index * BaseLargeVariableWidthVector.OFFSET_WIDTH;
+          final long start = MemoryUtil.UNSAFE.getLong(offsetEntry);
+          final long end = MemoryUtil.UNSAFE.getLong(offsetEntry + BaseLargeVariableWidthVector.OFFSET_WIDTH);
+          hash = XxHasher.hash64(dataAddress + start, end - start, seed);
+        }
+        storeHash64(hashAddress, i, hash, combine);
+      }
+    } else {
+      final XxHasher hasher = new XxHasher(seed);
+      for (int i = 0; i < count; i++) {
+        final int index = startIndex + i;
+        final long hash = vector.isNull(index) ?
+            NULL_HASH_CODE_64 : XxHasher.hash64(vector.hashCode(index, hasher), seed);
+        storeHash64(hashAddress, i, hash, combine);
+      }
+    }
+  }
+
+  private static void storeHash64(long hashAddress, int index, long hash, boolean combine) {
+    final long address = hashAddress + (long) index * BigIntVector.TYPE_WIDTH;
+    MemoryUtil.UNSAFE.putLong(address,
+        combine ? XxHasher.combineHashCode(MemoryUtil.UNSAFE.getLong(address), hash) : hash);
+  }
+}
@@ -23,6 +23,7 @@ import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BaseLargeVariableWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthViewVector;
 import org.apache.arrow.vector.BitVector;
 import org.apache.arrow.vector.ExtensionTypeVector;
 import org.apache.arrow.vector.FieldVector;
@@ -30,11 +31,13 @@ import org.apache.arrow.vector.NullVector;
 import org.apache.arrow.vector.TypeLayout;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.BaseListViewVector;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 import org.apache.arrow.vector.types.pojo.ArrowType;
 
@@ -51,6 +54,9 @@ public class ValidateVectorBufferVisitor implements VectorVisitor<Void, Void> {
     if (vector instanceof FieldVector) {
       FieldVector fieldVector = (FieldVector) vector;
       int typeBufferCount = TypeLayout.getTypeBufferCount(arrowType);
+      if (vector instanceof BaseVariableWidthViewVector) {
+        typeBufferCount += ((BaseVariableWidthViewVector) vector).getDataBuffers().size();
+      }
       validateOrThrow(fieldVector.getFieldBuffers().size() == typeBufferCount,
           "Expected %s buffers in vector of type %s, got %s.",
               typeBufferCount, vector.getField().getType().toString(), fieldVector.getFieldBuffers().size());
@@ -133,6 +139,40 @@ public class ValidateVectorBufferVisitor implements VectorVisitor<Void, Void> {
     return null;
   }
 
+  @Override
+  public Void visit(BaseVariableWidthViewVector vector, Void value) {
+    int valueCount = vector.getValueCount();
+    validateVectorCommon(vector);
+    validateValidityBuffer(vector, valueCount);
+    ArrowBuf viewBuffer = vector.getViewBuffer();
+    long minViewCapacity = (long) valueCount * BaseVariableWidthViewVector.VIEW_WIDTH;
+    validateOrThrow(viewBuffer != null, "The view buffer is null.");
+    validateOrThrow(viewBuffer.capacity() >= minViewCapacity,
+        "Not enough capacity for the view buffer. Minimum capacity %s, actual capacity %s.",
+        minViewCapacity, viewBuffer.capacity());
+    return null;
+  }
+
+  @Override
+  public Void visit(BaseListViewVector vector, Void value) {
+    int valueCount = vector.getValueCount();
+    validateVectorCommon(vector);
+    validateValidityBuffer(vector, valueCount);
+    long minViewCapacity = (long) valueCount * vector.getElementWidth();
+    validateOffsetBuffer(vector, minViewCapacity);
+    ArrowBuf sizeBuffer = vector.getSizeBuffer();
+    validateOrThrow(sizeBuffer != null, "The size buffer is null.");
+    validateOrThrow(sizeBuffer.capacity() >= minViewCapacity,
+        "Not enough capacity for the size buffer. Minimum capacity %s, actual capacity %s.",
+        minViewCapacity, sizeBuffer.capacity());
+
+    FieldVector dataVector = vector.getDataVector();
+    if (dataVector != null) {
+      dataVector.accept(this, null);
+    }
+    return null;
+  }
+
   @Override
   public Void visit(ListVector vector, Void value) {
     int valueCount = vector.getValueCount();
@@ -233,6 +273,22 @@ public class ValidateVectorBufferVisitor implements VectorVisitor<Void, Void> {
     return null;
   }
 
+  @Override
+  public Void visit(RunEndEncodedVector vector, Void value) {
+    validateVectorCommon(vector);
+    FieldVector runEnds = vector.getRunEndsVector();
+    FieldVector values = vector.getValuesVector();
+    validateOrThrow(values.getValueCount() >= runEnds.getValueCount(),
+        "Values vector does not contain enough elements. Minimum element count %s, actual element count %s.",
+        runEnds.getValueCount(), values.getValueCount());
+    int runCount = vector.getRunCount();
+    validateOrThrow(vector.getValueCount() == 0 || (runCount > 0 && vector.getRunEnd(runCount - 1) >=
+        vector.getValueCount()), "The runs do not cover the value count %s.", vector.getValueCount());
+    runEnds.accept(this, null);
+    values.accept(this, null);
+    return null;
+  }
+
   @Override
   public Void visit(NullVector vector, Void value) {
     return null;
@@ -23,15 +23,19 @@ import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BaseLargeVariableWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthViewVector;
 import org.apache.arrow.vector.ExtensionTypeVector;
+import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.NullVector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.BaseListViewVector;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 
 /**
@@ -76,6 +80,33 @@ public class ValidateVectorDataVisitor implements VectorVisitor<Void, Void> {
     }
   }
 
+  private void validateViewBuffer(BaseVariableWidthViewVector vector, int valueCount) {
+    ArrowBuf viewBuffer = vector.getViewBuffer();
+    int dataBufferCount = vector.getDataBuffers().size();
+
+    // verify that every out-of-line view points into one of the data buffers
+    for (int i = 0; i < valueCount; i++) {
+      if (vector.isNull(i)) {
+        continue;
+      }
+      long viewOffset = (long) i * BaseVariableWidthViewVector.VIEW_WIDTH;
+      int length = viewBuffer.getInt(viewOffset);
+      validateOrThrow(length >= 0, "The length of the view at position %s is negative: %s.", i, length);
+      if (length <= BaseVariableWidthViewVector.INLINE_SIZE) {
+        continue;
+      }
+      int bufferIndex = viewBuffer.getInt(viewOffset + BaseVariableWidthViewVector.BUFFER_INDEX_OFFSET);
+      int offset = viewBuffer.getInt(viewOffset + BaseVariableWidthViewVector.BUFFER_OFFSET_OFFSET);
+      validateOrThrow(bufferIndex >= 0 && bufferIndex < dataBufferCount,
+          "The view at position %s refers to data buffer %s, but the vector has %s data buffers.",
+          i, bufferIndex, dataBufferCount);
+      long capacity = vector.getDataBuffers().get(bufferIndex).capacity();
+      validateOrThrow(offset >= 0 && offset + (long) length <= capacity,
+          "The view at position %s spans [%s, %s), which is out of the bounds of data buffer %s with capacity %s.",
+          i, offset, offset + (long) length, bufferIndex, capacity);
+    }
+  }
+
   private void validateTypeBuffer(ArrowBuf typeBuf, int valueCount) {
     for (int i = 0; i < valueCount; i++) {
       validateOrThrow(typeBuf.getByte(i) >= 0, "The type id at position %s is negative: %s.",
@@ -103,6 +134,36 @@ public class ValidateVectorDataVisitor implements VectorVisitor<Void, Void> {
     return null;
   }
 
+  @Override
+  public Void visit(BaseVariableWidthViewVector vector, Void value) {
+    validateViewBuffer(vector, vector.getValueCount());
+    vector.validateScalars();
+    return null;
+  }
+
+  @Override
+  public Void visit(BaseListViewVector vector, Void value) {
+    ValueVector innerVector = vector.getDataVector();
+    int innerValueCount = innerVector == null ? 0 : innerVector.getValueCount();
+
+    // verify that every non-null list lies within the data vector
+    for (int i = 0; i < vector.getValueCount(); i++) {
+      if (vector.isNull(i)) {
+        continue;
+      }
+      long offset = vector.getOffset(i);
+      long size = vector.getSize(i);
+      validateOrThrow(offset >= 0 && size >= 0,
+          "The offset or size at position %s of the list-view is negative: %s, %s.", i, offset, size);
+      validateOrThrow(offset + size <= innerValueCount,
+          "The list at position %s ends at %s, beyond the data vector length %s.", i, offset + size, innerValueCount);
+    }
+    if (innerVector != null) {
+      innerVector.accept(this, null);
+    }
+    return null;
+  }
+
   @Override
   public Void visit(ListVector vector, Void value) {
     validateOffsetBuffer(vector, vector.getValueCount());
@@ -170,6 +231,23 @@ public class ValidateVectorDataVisitor implements VectorVisitor<Void, Void> {
     return null;
   }
 
+  @Override
+  public Void visit(RunEndEncodedVector vector, Void value) {
+    // verify that the run ends are non-null, positive and strictly increasing
+    FieldVector runEnds = vector.getRunEndsVector();
+    long prevValue = 0;
+    for (int i = 0; i < runEnds.getValueCount(); i++) {
+      validateOrThrow(!runEnds.isNull(i), "The run end at position %s is null.", i);
+      long curValue = vector.getRunEnd(i);
+      validateOrThrow(curValue > prevValue,
+          "The run ends in positions %s and %s are not strictly increasing: %s, %s.", i - 1, i, prevValue, curValue);
+      prevValue = curValue;
+    }
+    runEnds.accept(this, null);
+    vector.getValuesVector().accept(this, null);
+    return null;
+  }
+
   @Override
   public Void visit(NullVector vector, Void value) {
     ValidateUtil.validateOrThrow(vector.getNullCount() == vector.getValueCount(),
@@ -22,6 +22,7 @@ import static org.apache.arrow.vector.validate.ValidateUtil.validateOrThrow;
 import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BaseLargeVariableWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthViewVector;
 import org.apache.arrow.vector.BigIntVector;
 import org.apache.arrow.vector.BitVector;
 import org.apache.arrow.vector.DateDayVector;
@@ -30,6 +31,7 @@ import org.apache.arrow.vector.Decimal256Vector;
 import org.apache.arrow.vector.DecimalVector;
 import org.apache.arrow.vector.DurationVector;
 import org.apache.arrow.vector.ExtensionTypeVector;
+import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.FixedSizeBinaryVector;
 import org.apache.arrow.vector.Float4Vector;
 import org.apache.arrow.vector.Float8Vector;
@@ -61,12 +63,18 @@ import org.apache.arrow.vector.UInt8Vector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.VarBinaryVector;
 import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.ViewVarBinaryVector;
+import org.apache.arrow.vector.ViewVarCharVector;
 import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.BaseListViewVector;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
+import org.apache.arrow.vector.complex.LargeListViewVector;
 import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.ListViewVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 import org.apache.arrow.vector.types.DateUnit;
 import org.apache.arrow.vector.types.FloatingPointPrecision;
@@ -308,6 +316,30 @@ public class ValidateVectorTypeVisitor implements VectorVisitor<Void, Void> {
     return null;
   }
 
+  @Override
+  public Void visit(BaseVariableWidthViewVector vector, Void value) {
+    if (vector instanceof ViewVarCharVector) {
+      validateVectorCommon(vector, ArrowType.Utf8View.class);
+    } else if (vector instanceof ViewVarBinaryVector) {
+      validateVectorCommon(vector, ArrowType.BinaryView.class);
+    }
+    return null;
+  }
+
+  @Override
+  public Void visit(BaseListViewVector vector, Void value) {
+    if (vector instanceof ListViewVector) {
+      validateVectorCommon(vector, ArrowType.ListView.class);
+    } else if (vector instanceof LargeListViewVector) {
+      validateVectorCommon(vector, ArrowType.LargeListView.class);
+    }
+    ValueVector innerVector = vector.getDataVector();
+    if (innerVector != null) {
+      innerVector.accept(this, null);
+    }
+    return null;
+  }
+
   @Override
   public Void visit(ListVector vector, Void value) {
     validateVectorCommon(vector, ArrowType.List.class);
@@ -383,6 +415,22 @@ public class ValidateVectorTypeVisitor implements VectorVisitor<Void, Void> {
     return null;
   }
 
+  @Override
+  public Void visit(RunEndEncodedVector vector, Void value) {
+    validateVectorCommon(vector, ArrowType.RunEndEncoded.class);
+    FieldVector runEnds = vector.getRunEndsVector();
+    ArrowType runEndsType = runEnds.getField().getType();
+    validateOrThrow(runEndsType instanceof ArrowType.Int && ((ArrowType.Int) runEndsType).getIsSigned(),
+        "Run ends must be signed integers, actual type %s.", runEndsType);
+    int bitWidth = ((ArrowType.Int) runEndsType).getBitWidth();
+    validateOrThrow(bitWidth == 16 || bitWidth == 32 || bitWidth == 64,
+        "Run ends must be 16, 32 or 64 bits wide, actual bit width %s.", bitWidth);
+    validateOrThrow(!runEnds.getField().isNullable(), "Run ends must not be nullable.");
+    runEnds.accept(this, null);
+    vector.getValuesVector().accept(this, null);
+    return null;
+  }
+
   @Override
   public Void visit(NullVector vector, Void value) {
     validateVectorCommon(vector, ArrowType.Null.class);
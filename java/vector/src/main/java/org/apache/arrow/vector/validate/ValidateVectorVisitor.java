@@ -23,16 +23,19 @@ import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.vector.BaseFixedWidthVector;
 import org.apache.arrow.vector.BaseLargeVariableWidthVector;
 import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthViewVector;
 import org.apache.arrow.vector.ExtensionTypeVector;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.NullVector;
 import org.apache.arrow.vector.ValueVector;
 import org.apache.arrow.vector.compare.VectorVisitor;
+import org.apache.arrow.vector.complex.BaseListViewVector;
 import org.apache.arrow.vector.complex.DenseUnionVector;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.LargeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.NonNullableStructVector;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
 import org.apache.arrow.vector.complex.UnionVector;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.util.ValueVectorUtility;
@@ -98,6 +101,22 @@ public class ValidateVectorVisitor implements VectorVisitor<Void, Void> {
     return null;
   }
 
+  @Override
+  public Void visit(BaseVariableWidthViewVector vector, Void value) {
+    if (vector.getValueCount() > 0) {
+      ArrowBuf viewBuf = vector.getViewBuffer();
+      long minBufferSize = (long) vector.getValueCount() * BaseVariableWidthViewVector.VIEW_WIDTH;
+
+      if (viewBuf == null || viewBuf.capacity() < minBufferSize) {
+        throw new IllegalArgumentException(String.format("viewBuffer too small in vector of type %s" +
+                " and valueCount %s : expected at least %s byte(s), got %s",
+            vector.getField().getType().toString(),
+            vector.getValueCount(), minBufferSize, viewBuf == null ? 0 : viewBuf.capacity()));
+      }
+    }
+    return null;
+  }
+
   @Override
   public Void visit(ListVector vector, Void value) {
 
@@ -176,6 +195,33 @@ public class ValidateVectorVisitor implements VectorVisitor<Void, Void> {
     return dataVector.accept(this, null);
   }
 
+  @Override
+  public Void visit(BaseListViewVector vector, Void value) {
+
+    FieldVector dataVector = vector.getDataVector();
+
+    if (vector.getValueCount() > 0) {
+
+      long minBufferSize = (long) vector.getValueCount() * vector.getElementWidth();
+
+      if (vector.getOffsetBuffer().capacity() < minBufferSize || vector.getSizeBuffer().capacity() < minBufferSize) {
+        throw new IllegalArgumentException(String.format("offset or size buffer too small in vector of type %s" +
+                " and valueCount %s : expected at least %s byte(s), got %s and %s",
+            vector.getField().getType().toString(), vector.getValueCount(), minBufferSize,
+            vector.getOffsetBuffer().capacity(), vector.getSizeBuffer().capacity()));
+      }
+
+      for (int i = 0; i < vector.getValueCount(); i++) {
+        if (!vector.isNull(i) && vector.getOffset(i) + vector.getSize(i) > dataVector.getValueCount()) {
+          throw new IllegalArgumentException(String.format("List at position %s ends beyond the" +
+              " data vector valueCount (length %s)", i, dataVector.getValueCount()));
+        }
+      }
+    }
+
+    return dataVector.accept(this, null);
+  }
+
   @Override
   public Void visit(FixedSizeListVector vector, Void value) {
 
@@ -260,6 +306,29 @@ public class ValidateVectorVisitor implements VectorVisitor<Void, Void> {
     return null;
   }
 
+  @Override
+  public Void visit(RunEndEncodedVector vector, Void value) {
+    FieldVector runEnds = vector.getRunEndsVector();
+    FieldVector values = vector.getValuesVector();
+
+    if (runEnds.getValueCount() != values.getValueCount()) {
+      throw new IllegalArgumentException(String.format("run ends and values vectors have different " +
+          "valueCounts: %s vs %s", runEnds.getValueCount(), values.getValueCount()));
+    }
+
+    if (vector.getValueCount() > 0) {
+      int runCount = vector.getRunCount();
+      if (runCount == 0 || vector.getRunEnd(runCount - 1) < vector.getValueCount()) {
+        throw new IllegalArgumentException(String.format("last run end is less than the valueCount %s",
+            vector.getValueCount()));
+      }
+    }
+
+    runEnds.accept(this, null);
+    values.accept(this, null);
+    return null;
+  }
+
   @Override
   public Void visit(NullVector vector, Void value) {
     return null;
@@ -31,6 +31,7 @@ import java.util.function.ToIntBiFunction;
 
 import org.apache.arrow.memory.ArrowBuf;
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.util.hash.MurmurHasher;
 import org.apache.arrow.vector.complex.FixedSizeListVector;
 import org.apache.arrow.vector.complex.ListVector;
 import org.apache.arrow.vector.complex.StructVector;
@@ -524,6 +525,73 @@ public class TestDictionaryVector {
     }
   }
 
+  @Test
+  public void testEncodeWithOffHeapHashTable() {
+    final int dictionaryCount = 10000;
+    try (final VarCharVector vector = newVarCharVector("vector", allocator);
+         final VarCharVector dictionaryVector = newVarCharVector("dict", allocator);) {
+      dictionaryVector.allocateNew();
+      for (int i = 0; i < dictionaryCount; i++) {
+        dictionaryVector.setSafe(i, ("value-" + i).getBytes(StandardCharsets.UTF_8));
+      }
+      dictionaryVector.setValueCount(dictionaryCount);
+      vector.allocateNew();
+      for (int i = 0; i < 3 * dictionaryCount; i++) {
+        if (i % 7 == 0) {
+          vector.setNull(i);
+        } else {
+          vector.setSafe(i, ("value-" + (i * 31 % dictionaryCount)).getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      vector.setValueCount(3 * dictionaryCount);
+
+      Dictionary dictionary =
+          new Dictionary(dictionaryVector, new DictionaryEncoding(1L, false, null));
+      try (DictionaryEncoder encoder = new DictionaryEncoder(dictionary, allocator, new MurmurHasher(), true);
+           final ValueVector encoded = encoder.encode(vector)) {
+        IntVector index = ((IntVector) encoded);
+        assertEquals(vector.getValueCount(), index.getValueCount());
+        for (int i = 0; i < vector.getValueCount(); i++) {
+          if (i % 7 == 0) {
+            assertTrue(index.isNull(i));
+          } else {
+            assertEquals(i * 31 % dictionaryCount, index.get(i));
+          }
+        }
+
+        try (ValueVector decoded = encoder.decode(encoded)) {
+          for (int i = 0; i < vector.getValueCount(); i++) {
+            assertEquals(vector.getObject(i), ((VarCharVector) decoded).getObject(i));
+          }
+        }
+
+        vector.setSafe(1, "missing".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(vector));
+      }
+    }
+  }
+
+  @Test
+  public void testEncodeListWithOffHeapHashTable() {
+    try (final ListVector vector = ListVector.empty("vector", allocator);
+         final ListVector dictionaryVector = ListVector.empty("dict", allocator);) {
+      setVector(vector, Arrays.asList(1, 2), Arrays.asList(3), Arrays.asList(1, 2), Arrays.asList());
+      setVector(dictionaryVector, Arrays.asList(), Arrays.asList(1, 2), Arrays.asList(3));
+
+      Dictionary dictionary =
+          new Dictionary(dictionaryVector, new DictionaryEncoding(1L, false, null));
+      try (DictionaryEncoder encoder = new DictionaryEncoder(dictionary, allocator, null, true);
+           final ValueVector encoded = encoder.encode(vector)) {
+        IntVector index = ((IntVector) encoded);
+        assertEquals(4, index.getValueCount());
+        assertEquals(1, index.get(0));
+        assertEquals(2, index.get(1));
+        assertEquals(1, index.get(2));
+        assertEquals(0, index.get(3));
+      }
+    }
+  }
+
   @Test
   public void testEncodeWithEncoderInstance() {
     // Create a new value vector
@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compare.VectorEqualsVisitor;
+import org.apache.arrow.vector.complex.LargeListVector;
+import org.apache.arrow.vector.complex.LargeListViewVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.ListViewVector;
+import org.apache.arrow.vector.complex.impl.UnionLargeListViewWriter;
+import org.apache.arrow.vector.complex.impl.UnionListViewWriter;
+import org.apache.arrow.vector.complex.impl.UnionListWriter;
+import org.apache.arrow.vector.complex.reader.FieldReader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.util.TransferPair;
+import org.apache.arrow.vector.util.ValueVectorUtility;
+import org.apache.arrow.vector.util.VectorAppender;
+import org.apache.arrow.vector.validate.ValidateUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestListViewVector {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() throws Exception {
+    allocator.close();
+  }
+
+  /**
+   * Writes [1, 2, 3], null, [], [4, 5].
+   */
+  private static void populate(UnionListViewWriter writer) {
+    writer.allocate();
+    writer.setPosition(0);
+    writer.startList();
+    writer.integer().writeInt(1);
+    writer.integer().writeInt(2);
+    writer.integer().writeInt(3);
+    writer.endList();
+
+    writer.setPosition(2);
+    writer.startList();
+    writer.endList();
+
+    writer.startList();
+    writer.integer().writeInt(4);
+    writer.integer().writeInt(5);
+    writer.endList();
+    writer.setValueCount(4);
+  }
+
+  private static void assertList(List<?> actual, Integer... expected) {
+    assertEquals(Arrays.asList(expected), actual);
+  }
+
+  @Test
+  public void testWriteAndRead() {
+    try (ListViewVector vector = ListViewVector.empty("list", allocator)) {
+      populate(vector.getWriter());
+
+      assertEquals(4, vector.getValueCount());
+      assertEquals(1, vector.getNullCount());
+      assertEquals(MinorType.LISTVIEW, vector.getMinorType());
+      assertList(vector.getObject(0), 1, 2, 3);
+      assertNull(vector.getObject(1));
+      assertList(vector.getObject(2));
+      assertList(vector.getObject(3), 4, 5);
+      assertEquals(0, vector.getOffset(0));
+      assertEquals(3, vector.getSize(0));
+      assertEquals(3, vector.getOffset(3));
+      assertEquals(2, vector.getSize(3));
+      assertEquals(5, vector.getDataVector().getValueCount());
+      assertEquals(5, vector.getElementEndIndex(3));
+
+      FieldReader reader = vector.getReader();
+      reader.setPosition(3);
+      assertTrue(reader.isSet());
+      assertEquals(2, reader.size());
+      assertTrue(reader.next());
+      assertEquals(4, reader.reader().readInteger().intValue());
+      assertTrue(reader.next());
+      assertEquals(5, reader.reader().readInteger().intValue());
+      assertFalse(reader.next());
+      reader.setPosition(1);
+      assertFalse(reader.isSet());
+
+      ValueVectorUtility.validateFull(vector);
+    }
+  }
+
+  @Test
+  public void testSetOffsetAndSizeWithOverlappingLists() {
+    try (ListViewVector vector = ListViewVector.empty("list", allocator)) {
+      vector.allocateNew();
+      IntVector data = (IntVector) vector.addOrGetVector(FieldType.nullable(MinorType.INT.getType())).getVector();
+      data.allocateNew(4);
+      for (int i = 0; i < 4; i++) {
+        data.set(i, i * 10);
+      }
+      data.setValueCount(4);
+      vector.setOffsetAndSize(0, 2, 2);
+      vector.setOffsetAndSize(1, 0, 3);
+      vector.setNull(2);
+      vector.setOffsetAndSize(3, 1, 1);
+      vector.setValueCount(4);
+
+      assertList(vector.getObject(0), 20, 30);
+      assertList(vector.getObject(1), 0, 10, 20);
+      assertNull(vector.getObject(2));
+      assertList(vector.getObject(3), 10);
+      assertEquals(4, vector.getDataVector().getValueCount());
+      ValueVectorUtility.validateFull(vector);
+    }
+  }
+
+  @Test
+  public void testSelectToSharesData() {
+    try (ListViewVector vector = ListViewVector.empty("list", allocator);
+         ListViewVector selected = ListViewVector.empty("selected", allocator)) {
+      populate(vector.getWriter());
+      vector.selectTo(selected, new int[] {3, 1, 0, 3});
+
+      assertEquals(4, selected.getValueCount());
+      assertList(selected.getObject(0), 4, 5);
+      assertNull(selected.getObject(1));
+      assertList(selected.getObject(2), 1, 2, 3);
+      assertList(selected.getObject(3), 4, 5);
+      // the elements are not copied
+      assertEquals(vector.getDataVector().getDataBuffer().memoryAddress(),
+          selected.getDataVector().getDataBuffer().memoryAddress());
+      ValueVectorUtility.validateFull(selected);
+
+      // the selection outlives the source
+      vector.close();
+      assertList(selected.getObject(2), 1, 2, 3);
+    }
+  }
+
+  @Test
+  public void testConvertFromAndToListVector() {
+    try (ListVector list = ListVector.empty("list", allocator);
+         ListVector roundTrip = ListVector.empty("list", allocator)) {
+      UnionListWriter writer = list.getWriter();
+      writer.allocate();
+      writer.setPosition(0);
+      writer.startList();
+      writer.integer().writeInt(1);
+      writer.integer().writeInt(2);
+      writer.endList();
+      writer.setPosition(2);
+      writer.startList();
+      writer.integer().writeInt(3);
+      writer.endList();
+      writer.setValueCount(3);
+
+      try (ListViewVector view = ListViewVector.fromListVector(list)) {
+        assertEquals(3, view.getValueCount());
+        assertList(view.getObject(0), 1, 2);
+        assertNull(view.getObject(1));
+        assertList(view.getObject(2), 3);
+        assertEquals(list.getDataVector().getDataBuffer().memoryAddress(),
+            view.getDataVector().getDataBuffer().memoryAddress());
+        ValueVectorUtility.validateFull(view);
+
+        view.toListVector(roundTrip);
+        assertEquals(list.getDataVector().getDataBuffer().memoryAddress(),
+            roundTrip.getDataVector().getDataBuffer().memoryAddress());
+        assertTrue(VectorEqualsVisitor.vectorEquals(list, roundTrip));
+
+        // reversed lists are not contiguous, their elements are copied
+        try (ListViewVector reversed = ListViewVector.empty("reversed", allocator);
+             ListVector copied = ListVector.empty("copied", allocator)) {
+          view.selectTo(reversed, new int[] {2, 1, 0});
+          reversed.toListVector(copied);
+          assertList(copied.getObject(0), 3);
+          assertNull(copied.getObject(1));
+          assertList(copied.getObject(2), 1, 2);
+          assertEquals(3, copied.getDataVector().getValueCount());
+          ValueVectorUtility.validateFull(copied);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSplitAndTransfer() {
+    try (ListViewVector vector = ListViewVector.empty("list", allocator)) {
+      populate(vector.getWriter());
+      TransferPair tp = vector.getTransferPair(allocator);
+      try (ListViewVector to = (ListViewVector) tp.getTo()) {
+        tp.splitAndTransfer(2, 2);
+        assertEquals(2, to.getValueCount());
+        assertList(to.getObject(0));
+        assertList(to.getObject(1), 4, 5);
+        assertEquals(0, to.getOffset(1));
+        assertEquals(2, to.getDataVector().getValueCount());
+        ValueVectorUtility.validateFull(to);
+
+        tp.transfer();
+        assertEquals(0, vector.getValueCount());
+        assertEquals(4, to.getValueCount());
+        assertList(to.getObject(0), 1, 2, 3);
+        assertList(to.getObject(3), 4, 5);
+      }
+    }
+  }
+
+  @Test
+  public void testAppend() {
+    try (ListViewVector target = ListViewVector.empty("target", allocator);
+         ListViewVector delta = ListViewVector.empty("delta", allocator)) {
+      populate(target.getWriter());
+      populate(delta.getWriter());
+      delta.accept(new VectorAppender(target), null);
+
+      assertEquals(8, target.getValueCount());
+      assertList(target.getObject(4), 1, 2, 3);
+      assertNull(target.getObject(5));
+      assertList(target.getObject(7), 4, 5);
+      assertEquals(10, target.getDataVector().getValueCount());
+      ValueVectorUtility.validateFull(target);
+    }
+  }
+
+  @Test
+  public void testValidateOutOfBoundsView() {
+    try (ListViewVector vector = ListViewVector.empty("list", allocator)) {
+      populate(vector.getWriter());
+      vector.getOffsetBuffer().setInt(3 * ListViewVector.OFFSET_WIDTH, 4);
+      assertThrows(ValidateUtil.ValidateException.class, () -> ValueVectorUtility.validateFull(vector));
+    }
+  }
+
+  @Test
+  public void testLargeListView() {
+    try (LargeListViewVector vector = LargeListViewVector.empty("list", allocator);
+         LargeListVector list = LargeListVector.empty("list", allocator)) {
+      UnionLargeListViewWriter writer = vector.getWriter();
+      writer.allocate();
+      writer.setPosition(0);
+      writer.startList();
+      writer.bigInt().writeBigInt(7L);
+      writer.endList();
+      writer.setPosition(2);
+      writer.startList();
+      writer.bigInt().writeBigInt(8L);
+      writer.bigInt().writeBigInt(9L);
+      writer.endList();
+      writer.setValueCount(3);
+
+      assertEquals(MinorType.LARGELISTVIEW, vector.getMinorType());
+      assertEquals(Arrays.asList(7L), vector.getObject(0));
+      assertNull(vector.getObject(1));
+      assertEquals(Arrays.asList(8L, 9L), vector.getObject(2));
+      assertEquals(3L, vector.getElementEndIndex(2));
+      ValueVectorUtility.validateFull(vector);
+
+      vector.toListVector(list);
+      assertEquals(Arrays.asList(8L, 9L), list.getObject(2));
+      try (LargeListViewVector view = LargeListViewVector.fromListVector(list)) {
+        assertTrue(VectorEqualsVisitor.vectorEquals(vector, view));
+      }
+    }
+  }
+
+  @Test
+  public void testStreamRoundTrip() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ListViewVector vector = ListViewVector.empty("list", allocator);
+         ListViewVector selected = ListViewVector.empty("selected", allocator)) {
+      populate(vector.getWriter());
+      vector.selectTo(selected, new int[] {3, 0, 1});
+      VectorSchemaRoot root = VectorSchemaRoot.of(selected);
+      try (ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(out))) {
+        writer.start();
+        writer.writeBatch();
+        writer.end();
+      }
+
+      try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator)) {
+        assertTrue(reader.loadNextBatch());
+        VectorSchemaRoot read = reader.getVectorSchemaRoot();
+        assertEquals(root.getSchema(), read.getSchema());
+        assertEquals(ArrowType.ListView.INSTANCE, read.getSchema().getFields().get(0).getType());
+        ListViewVector readVector = (ListViewVector) read.getVector(0);
+        assertList(readVector.getObject(0), 4, 5);
+        assertList(readVector.getObject(1), 1, 2, 3);
+        assertNull(readVector.getObject(2));
+        assertTrue(root.equals(read));
+        ValueVectorUtility.validateFull(readVector);
+        assertFalse(reader.loadNextBatch());
+      }
+    }
+  }
+}
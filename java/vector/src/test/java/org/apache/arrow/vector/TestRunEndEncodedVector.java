@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compare.Range;
+import org.apache.arrow.vector.compare.RangeEqualsVisitor;
+import org.apache.arrow.vector.compare.VectorEqualsVisitor;
+import org.apache.arrow.vector.complex.RunEndEncodedVector;
+import org.apache.arrow.vector.complex.impl.RunEndEncodedReader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.arrow.vector.util.TransferPair;
+import org.apache.arrow.vector.validate.ValidateUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestRunEndEncodedVector {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void init() {
+    allocator = new RootAllocator(Long.MAX_VALUE);
+  }
+
+  @After
+  public void terminate() throws Exception {
+    allocator.close();
+  }
+
+  private static void setValues(IntVector vector, Integer... values) {
+    vector.allocateNew(values.length);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        vector.setNull(i);
+      } else {
+        vector.set(i, values[i]);
+      }
+    }
+    vector.setValueCount(values.length);
+  }
+
+  private RunEndEncodedVector encode(String name, Integer... values) {
+    RunEndEncodedVector vector =
+        RunEndEncodedVector.empty(name, FieldType.nullable(MinorType.INT.getType()), allocator);
+    try (IntVector dense = new IntVector("dense", allocator)) {
+      setValues(dense, values);
+      vector.encode(dense);
+    }
+    return vector;
+  }
+
+  @Test
+  public void testEncodeAndLookup() {
+    try (RunEndEncodedVector vector = encode("ree", 1, 1, 1, 2, 2, null, null, 3)) {
+      assertEquals(MinorType.RUNENDENCODED, vector.getMinorType());
+      assertEquals(8, vector.getValueCount());
+      assertEquals(4, vector.getRunCount());
+      assertEquals(Arrays.asList(3L, 5L, 7L, 8L),
+          Arrays.asList(vector.getRunEnd(0), vector.getRunEnd(1), vector.getRunEnd(2), vector.getRunEnd(3)));
+
+      int[] expectedRuns = {0, 0, 0, 1, 1, 2, 2, 3};
+      Integer[] expectedValues = {1, 1, 1, 2, 2, null, null, 3};
+      for (int i = 0; i < 8; i++) {
+        assertEquals(expectedRuns[i], vector.getPhysicalIndex(i));
+        assertEquals(expectedValues[i], vector.getObject(i));
+        assertEquals(expectedValues[i] == null, vector.isNull(i));
+      }
+      assertEquals(0, vector.getNullCount());
+      assertThrows(IndexOutOfBoundsException.class, () -> vector.getPhysicalIndex(8));
+      vector.validateFull();
+    }
+  }
+
+  @Test
+  public void testReader() {
+    try (RunEndEncodedVector vector = encode("ree", 4, 4, null, 5, 5, 5)) {
+      RunEndEncodedReader reader = (RunEndEncodedReader) vector.getReader();
+      Integer[] expected = {4, 4, null, 5, 5, 5};
+      // sequential and random access both land on the right run
+      for (int i : new int[] {0, 1, 2, 3, 4, 5, 1, 5, 0}) {
+        reader.setPosition(i);
+        assertEquals(vector.getPhysicalIndex(i), reader.getRunIndex());
+        assertEquals(expected[i] != null, reader.isSet());
+        assertEquals(expected[i], reader.readObject());
+        if (expected[i] != null) {
+          assertEquals(expected[i], reader.reader().readInteger());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testAppendValues() {
+    try (RunEndEncodedVector source = encode("source", 7, 7, null, 8);
+         IntVector dense = new IntVector("dense", allocator);
+         RunEndEncodedVector vector =
+             RunEndEncodedVector.empty("ree", FieldType.nullable(MinorType.INT.getType()), allocator)) {
+      setValues(dense, 7, 9);
+      vector.copyFromSafe(0, 0, source);
+      vector.copyFromSafe(1, 1, source);
+      vector.copyFromSafe(0, 2, dense);
+      vector.setNull(3);
+      vector.copyFromSafe(2, 4, source);
+      vector.copyFromSafe(1, 5, dense);
+      TransferPair pair = source.makeTransferPair(vector);
+      pair.copyValueSafe(3, 6);
+      pair.copyValueSafe(3, 7);
+
+      assertEquals(8, vector.getValueCount());
+      assertEquals(4, vector.getRunCount());
+      assertEquals(Arrays.asList(3L, 5L, 6L, 8L),
+          Arrays.asList(vector.getRunEnd(0), vector.getRunEnd(1), vector.getRunEnd(2), vector.getRunEnd(3)));
+      Integer[] expected = {7, 7, 7, null, null, 9, 8, 8};
+      for (int i = 0; i < expected.length; i++) {
+        assertEquals(expected[i], vector.getObject(i));
+      }
+      vector.validateFull();
+
+      // only appends are supported
+      assertThrows(UnsupportedOperationException.class, () -> vector.copyFromSafe(0, 2, dense));
+      assertThrows(UnsupportedOperationException.class, () -> vector.setNull(10));
+      try (VarCharVector strings = new VarCharVector("strings", allocator)) {
+        strings.allocateNew();
+        strings.setSafe(0, new byte[] {1});
+        strings.setValueCount(1);
+        assertThrows(IllegalArgumentException.class, () -> vector.copyFromSafe(0, 8, strings));
+        assertThrows(IllegalArgumentException.class, () -> vector.encode(strings));
+      }
+    }
+  }
+
+  @Test
+  public void testRunEndWidths() {
+    for (ArrowType.Int runEndType : Arrays.asList(
+        new ArrowType.Int(16, true), new ArrowType.Int(32, true), new ArrowType.Int(64, true))) {
+      Field field = new Field("ree", FieldType.notNullable(ArrowType.RunEndEncoded.INSTANCE), Arrays.asList(
+          Field.notNullable(RunEndEncodedVector.RUN_ENDS_VECTOR_NAME, runEndType),
+          Field.nullable(RunEndEncodedVector.VALUES_VECTOR_NAME, MinorType.VARCHAR.getType())));
+      try (RunEndEncodedVector vector = (RunEndEncodedVector) field.createVector(allocator)) {
+        VarCharVector values = (VarCharVector) vector.getValuesVector();
+        values.setSafe(0, "a".getBytes());
+        values.setSafe(1, "b".getBytes());
+        values.setValueCount(2);
+        vector.setRunEnd(0, 1000);
+        vector.setRunEnd(1, 3000);
+        vector.getRunEndsVector().setValueCount(2);
+        vector.setValueCount(3000);
+
+        assertEquals("a", vector.getObject(999).toString());
+        assertEquals("b", vector.getObject(1000).toString());
+        assertEquals("b", vector.getObject(2999).toString());
+        vector.validateFull();
+      }
+    }
+
+    Field invalid = new Field("ree", FieldType.notNullable(ArrowType.RunEndEncoded.INSTANCE), Arrays.asList(
+        Field.notNullable(RunEndEncodedVector.RUN_ENDS_VECTOR_NAME, new ArrowType.Int(32, false)),
+        Field.nullable(RunEndEncodedVector.VALUES_VECTOR_NAME, MinorType.INT.getType())));
+    assertThrows(IllegalArgumentException.class, () -> invalid.createVector(allocator));
+  }
+
+  @Test
+  public void testSplitAndTransfer() {
+    try (RunEndEncodedVector vector = encode("ree", 1, 1, 1, 2, 2, null, null, 3);
+         RunEndEncodedVector expected = encode("ree", 1, 2, 2, null)) {
+      TransferPair pair = vector.getTransferPair(allocator);
+      try (RunEndEncodedVector slice = (RunEndEncodedVector) pair.getTo()) {
+        pair.splitAndTransfer(2, 4);
+        assertEquals(4, slice.getValueCount());
+        assertEquals(3, slice.getRunCount());
+        assertTrue(VectorEqualsVisitor.vectorEquals(expected, slice));
+        slice.validateFull();
+
+        pair.transfer();
+        assertEquals(0, vector.getValueCount());
+        assertEquals(8, slice.getValueCount());
+        assertEquals(3, slice.getObject(7));
+      }
+    }
+  }
+
+  @Test
+  public void testRangeEquals() {
+    // the same logical values with different run boundaries
+    try (RunEndEncodedVector left = encode("ree", 7, 7, 7, 7, 8, 8, 9);
+         RunEndEncodedVector right = encode("ree", 0, 7, 7, 8, 8, 9, 9)) {
+      RangeEqualsVisitor visitor = new RangeEqualsVisitor(left, right);
+      assertTrue(visitor.rangeEquals(new Range(2, 1, 5)));
+      assertTrue(visitor.rangeEquals(new Range(4, 3, 2)));
+      assertFalse(visitor.rangeEquals(new Range(0, 0, 2)));
+      assertFalse(visitor.rangeEquals(new Range(1, 0, 6)));
+      assertFalse(VectorEqualsVisitor.vectorEquals(left, right));
+    }
+  }
+
+  @Test
+  public void testValidateInvalidRunEnds() {
+    try (RunEndEncodedVector vector = encode("ree", 1, 1, 2, 2)) {
+      vector.validateFull();
+
+      // the runs end before the logical length
+      vector.setRunEnd(1, 3);
+      assertThrows(ValidateUtil.ValidateException.class, vector::validate);
+
+      // the run ends are not strictly increasing
+      vector.setRunEnd(0, 4);
+      vector.setRunEnd(1, 4);
+      vector.validate();
+      assertThrows(ValidateUtil.ValidateException.class, vector::validateFull);
+    }
+  }
+
+  @Test
+  public void testUnloadLoad() {
+    try (RunEndEncodedVector vector = encode("ree", 1, 1, 1, 2, 2, null, null, 3);
+         VectorSchemaRoot root = new VectorSchemaRoot(Collections.singletonList(vector));
+         VectorSchemaRoot loaded = VectorSchemaRoot.create(root.getSchema(), allocator)) {
+      root.setRowCount(8);
+      try (ArrowRecordBatch batch = new VectorUnloader(root).getRecordBatch()) {
+        assertEquals(3, batch.getNodes().size());
+        new VectorLoader(loaded).load(batch);
+      }
+      assertEquals(8, loaded.getRowCount());
+      assertTrue(loaded.getVector(0) instanceof RunEndEncodedVector);
+      assertTrue(VectorEqualsVisitor.vectorEquals(vector, loaded.getVector(0)));
+      loaded.getVector(0).validateFull();
+    }
+  }
+
+  @Test
+  public void testIpcRoundTrip() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (RunEndEncodedVector vector = encode("ree", 5, 5, 5, 5, null, 6);
+         VectorSchemaRoot root = new VectorSchemaRoot(Collections.singletonList(vector));
+         ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(out))) {
+      root.setRowCount(6);
+      writer.start();
+      writer.writeBatch();
+      writer.end();
+    }
+
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator)) {
+      Schema schema = reader.getVectorSchemaRoot().getSchema();
+      assertEquals(ArrowType.RunEndEncoded.INSTANCE, schema.getFields().get(0).getType());
+      assertTrue(reader.loadNextBatch());
+      RunEndEncodedVector vector = (RunEndEncodedVector) reader.getVectorSchemaRoot().getVector(0);
+      assertEquals(6, vector.getValueCount());
+      assertEquals(3, vector.getRunCount());
+      assertEquals(5, vector.getObject(3));
+      assertNull(vector.getObject(4));
+      assertEquals(6, vector.getObject(5));
+      assertFalse(reader.loadNextBatch());
+    }
+  }
+}
@@ -26,6 +26,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import java.nio.ByteBuffer;
@@ -68,6 +69,7 @@ import org.apache.arrow.vector.util.OversizedAllocationException;
 import org.apache.arrow.vector.util.ReusableByteArray;
 import org.apache.arrow.vector.util.Text;
 import org.apache.arrow.vector.util.TransferPair;
+import org.apache.arrow.vector.util.ValueVectorUtility;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -227,6 +229,58 @@ public class TestValueVector {
     }
   }
 
+  @Test
+  public void testBulkGetAndSetValues() {
+    try (final IntVector intVector = new IntVector(EMPTY_SCHEMA_PATH, allocator);
+         final Float8Vector float8Vector = new Float8Vector(EMPTY_SCHEMA_PATH, allocator)) {
+      int[] ints = new int[100];
+      double[] doubles = new double[100];
+      for (int i = 0; i < ints.length; i++) {
+        ints[i] = i * 3;
+        doubles[i] = i / 4.0;
+      }
+      // bit i, set for every even i, is the validity of doubles[i], written at index 8 + i
+      byte[] validity = new byte[13];
+      for (int i = 0; i < 100; i += 2) {
+        validity[i >> 3] |= (byte) (1 << (i & 7));
+      }
+
+      // reallocates from empty, starts at an unaligned position
+      intVector.setValuesSafe(5, ints, 3, 90);
+      intVector.setValueCount(95);
+      assertEquals(5, intVector.getNullCount());
+      for (int i = 0; i < 90; i++) {
+        assertEquals(ints[3 + i], intVector.get(5 + i));
+      }
+
+      int[] read = new int[92];
+      intVector.getValues(5, 90, read, 2);
+      assertArrayEquals(Arrays.copyOfRange(ints, 3, 93), Arrays.copyOfRange(read, 2, 92));
+
+      float8Vector.allocateNew(16);
+      float8Vector.setValuesSafe(8, doubles, 0, 100, validity);
+      float8Vector.setValueCount(108);
+      for (int i = 0; i < 100; i++) {
+        assertEquals(i % 2 != 0, float8Vector.isNull(8 + i));
+        if (i % 2 == 0) {
+          assertEquals(doubles[i], float8Vector.get(8 + i), 0);
+        }
+      }
+      double[] readDoubles = new double[100];
+      float8Vector.getValues(8, 100, readDoubles, 0);
+      assertEquals(doubles[99], readDoubles[99], 0);
+
+      // the view shares memory with the vector
+      float8Vector.getDataView(8, 100).asDoubleBuffer().put(2, 42.0);
+      assertEquals(42.0, float8Vector.get(10), 0);
+
+      ValueVectorUtility.validateFull(intVector);
+      ValueVectorUtility.validateFull(float8Vector);
+      assertThrows(IllegalArgumentException.class, () -> intVector.getValues(90, 10, read, 0));
+      assertThrows(IndexOutOfBoundsException.class, () -> intVector.getValues(0, 10, read, 90));
+    }
+  }
+
   @Test /* IntVector */
   public void testFixedType2() {
     try (final IntVector intVector = new IntVector(EMPTY_SCHEMA_PATH, allocator)) {
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compare.Range;
+import org.apache.arrow.vector.compare.RangeEqualsVisitor;
+import org.apache.arrow.vector.compare.VectorEqualsVisitor;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.util.Text;
+import org.apache.arrow.vector.util.TransferPair;
+import org.apache.arrow.vector.util.ValueVectorUtility;
+import org.apache.arrow.vector.util.VectorAppender;
+import org.apache.arrow.vector.validate.ValidateUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestViewVarCharVector {
+
+  private static final String SHORT1 = "hello";
+  private static final String SHORT2 = "twelve bytes";
+  private static final String LONG1 = "thirteen byte";
+  private static final String LONG2 = "a value that is far too long to be inlined";
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void populate(ViewVarCharVector vector, String... values) {
+    vector.allocateNew(values.length);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        vector.setNull(i);
+      } else {
+        vector.setSafe(i, bytes(values[i]));
+      }
+    }
+    vector.setValueCount(values.length);
+  }
+
+  private static void assertValues(ViewVarCharVector vector, String... values) {
+    assertEquals(values.length, vector.getValueCount());
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        assertTrue(vector.isNull(i));
+        assertNull(vector.get(i));
+      } else {
+        assertArrayEquals(bytes(values[i]), vector.get(i));
+        assertEquals(new Text(values[i]), vector.getObject(i));
+      }
+    }
+  }
+
+  @Test
+  public void testInlineAndOutOfLineValues() {
+    try (ViewVarCharVector vector = new ViewVarCharVector("v", allocator)) {
+      populate(vector, SHORT1, null, SHORT2, LONG1, LONG2, "");
+
+      assertValues(vector, SHORT1, null, SHORT2, LONG1, LONG2, "");
+      assertEquals(1, vector.getNullCount());
+      assertEquals(SHORT2.length(), vector.getValueLength(2));
+      assertEquals(LONG2.length(), vector.getValueLength(4));
+      // only the values longer than the inline size use a data buffer
+      assertEquals(1, vector.getDataBuffers().size());
+      assertEquals(LONG1.length() + LONG2.length(), vector.getDataBuffers().get(0).writerIndex());
+      assertEquals(2 + vector.getDataBuffers().size(), vector.getFieldBuffers().size());
+      ValueVectorUtility.validateFull(vector);
+    }
+  }
+
+  @Test
+  public void testMultipleDataBuffers() {
+    final int count = 10_000;
+    try (ViewVarCharVector vector = new ViewVarCharVector("v", allocator)) {
+      vector.allocateNew(count);
+      for (int i = 0; i < count; i++) {
+        vector.setSafe(i, bytes(LONG2 + i));
+      }
+      vector.setValueCount(count);
+
+      assertTrue(vector.getDataBuffers().size() > 1);
+      for (int i = 0; i < count; i++) {
+        assertArrayEquals(bytes(LONG2 + i), vector.get(i));
+      }
+      ValueVectorUtility.validateFull(vector);
+    }
+  }
+
+  @Test
+  public void testSplitAndTransfer() {
+    try (ViewVarCharVector vector = new ViewVarCharVector("v", allocator)) {
+      populate(vector, SHORT1, LONG1, null, LONG2, SHORT2);
+      TransferPair transferPair = vector.getTransferPair(allocator);
+      try (ViewVarCharVector target = (ViewVarCharVector) transferPair.getTo()) {
+        transferPair.splitAndTransfer(1, 3);
+        assertValues(target, LONG1, null, LONG2);
+
+        // values appended to the target must not overwrite the shared data of the source
+        target.setSafe(3, bytes(LONG2 + "!"));
+        target.setValueCount(4);
+        assertValues(target, LONG1, null, LONG2, LONG2 + "!");
+        assertValues(vector, SHORT1, LONG1, null, LONG2, SHORT2);
+        ValueVectorUtility.validateFull(target);
+      }
+      assertValues(vector, SHORT1, LONG1, null, LONG2, SHORT2);
+    }
+  }
+
+  @Test
+  public void testTransfer() {
+    try (BufferAllocator childAllocator = allocator.newChildAllocator("child", 0, Long.MAX_VALUE);
+         ViewVarCharVector vector = new ViewVarCharVector("v", allocator);
+         ViewVarCharVector target = new ViewVarCharVector("v", childAllocator)) {
+      populate(vector, SHORT1, LONG1, LONG2);
+      long allocated = allocator.getAllocatedMemory();
+
+      vector.makeTransferPair(target).transfer();
+
+      assertEquals(0, vector.getValueCount());
+      assertEquals(allocated, childAllocator.getAllocatedMemory());
+      assertValues(target, SHORT1, LONG1, LONG2);
+    }
+  }
+
+  @Test
+  public void testUnloadAndLoad() {
+    try (ViewVarCharVector vector = new ViewVarCharVector("v", allocator)) {
+      populate(vector, LONG1, null, SHORT1, LONG2);
+      VectorSchemaRoot root = VectorSchemaRoot.of(vector);
+      try (ArrowRecordBatch batch = new VectorUnloader(root).getRecordBatch();
+           VectorSchemaRoot loaded = VectorSchemaRoot.create(root.getSchema(), allocator)) {
+        assertEquals(Collections.singletonList(1L), batch.getVariadicBufferCounts());
+
+        new VectorLoader(loaded).load(batch);
+
+        assertValues((ViewVarCharVector) loaded.getVector(0), LONG1, null, SHORT1, LONG2);
+      }
+    }
+  }
+
+  @Test
+  public void testStreamRoundTrip() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ViewVarCharVector vector = new ViewVarCharVector("v", allocator);
+         ViewVarBinaryVector binary = new ViewVarBinaryVector("b", allocator)) {
+      populate(vector, LONG1, null, SHORT1, LONG2);
+      binary.allocateNew(4);
+      binary.setSafe(0, bytes(SHORT2));
+      binary.setSafe(1, bytes(LONG2));
+      binary.setNull(2);
+      binary.setSafe(3, new byte[0]);
+      binary.setValueCount(4);
+      VectorSchemaRoot root = VectorSchemaRoot.of(vector, binary);
+      try (ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(out))) {
+        writer.start();
+        writer.writeBatch();
+        writer.end();
+      }
+
+      try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator)) {
+        assertTrue(reader.loadNextBatch());
+        VectorSchemaRoot read = reader.getVectorSchemaRoot();
+        assertEquals(root.getSchema(), read.getSchema());
+        assertTrue(root.equals(read));
+        assertValues((ViewVarCharVector) read.getVector(0), LONG1, null, SHORT1, LONG2);
+        ValueVectorUtility.validateFull(read.getVector(1));
+        assertFalse(reader.loadNextBatch());
+      }
+    }
+  }
+
+  @Test
+  public void testAppend() {
+    try (ViewVarCharVector target = new ViewVarCharVector("v", allocator);
+         ViewVarCharVector delta = new ViewVarCharVector("v", allocator)) {
+      populate(target, LONG1, SHORT1);
+      populate(delta, null, LONG2, SHORT2);
+
+      VectorAppender appender = new VectorAppender(target);
+      delta.accept(appender, null);
+
+      assertValues(target, LONG1, SHORT1, null, LONG2, SHORT2);
+      assertEquals(2, target.getDataBuffers().size());
+      ValueVectorUtility.validateFull(target);
+    }
+  }
+
+  @Test
+  public void testRangeEquals() {
+    try (ViewVarCharVector vector1 = new ViewVarCharVector("v", allocator);
+         ViewVarCharVector vector2 = new ViewVarCharVector("v", allocator)) {
+      populate(vector1, SHORT1, LONG1, null, LONG2);
+      populate(vector2, SHORT2, SHORT1, LONG1, null, LONG2 + "!");
+
+      RangeEqualsVisitor visitor = new RangeEqualsVisitor(vector1, vector2);
+      assertTrue(visitor.rangeEquals(new Range(0, 1, 3)));
+      assertFalse(visitor.rangeEquals(new Range(0, 1, 4)));
+      assertFalse(visitor.rangeEquals(new Range(0, 0, 1)));
+      assertFalse(VectorEqualsVisitor.vectorEquals(vector1, vector2));
+    }
+  }
+
+  @Test
+  public void testValidateInvalidView() {
+    try (ViewVarCharVector vector = new ViewVarCharVector("v", allocator)) {
+      populate(vector, SHORT1, LONG1);
+      ValueVectorUtility.validateFull(vector);
+
+      // point the out-of-line value at a data buffer that does not exist
+      vector.getViewBuffer().setInt(BaseVariableWidthViewVector.VIEW_WIDTH +
+          BaseVariableWidthViewVector.BUFFER_INDEX_OFFSET, 3);
+      assertThrows(ValidateUtil.ValidateException.class, () -> ValueVectorUtility.validateFull(vector));
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.dictionary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.OutOfMemoryException;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.util.hash.XxHasher;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link OffHeapDictionaryHashTable}.
+ */
+public class TestOffHeapDictionaryHashTable {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  @Test
+  public void testGetIndex() {
+    try (IntVector dictionary = new IntVector("dictionary", allocator);
+         IntVector vector = new IntVector("vector", allocator)) {
+      ValueVectorDataPopulator.setVector(dictionary, 5, null, 3, 1);
+      ValueVectorDataPopulator.setVector(vector, 1, 2, null, 5, 3, 1);
+      try (OffHeapDictionaryHashTable table = new OffHeapDictionaryHashTable(allocator, dictionary)) {
+        assertEquals(4, table.size());
+        int[] expected = {3, OffHeapDictionaryHashTable.NULL_VALUE, 1, 0, 2, 3};
+        for (int i = 0; i < expected.length; i++) {
+          assertEquals(expected[i], table.getIndex(i, vector));
+        }
+
+        int[] indices = new int[4];
+        table.getIndices(vector, 2, 4, indices);
+        for (int i = 0; i < indices.length; i++) {
+          assertEquals(expected[i + 2], indices[i]);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPutAndResize() {
+    final int count = 100000;
+    try (BigIntVector dictionary = new BigIntVector("dictionary", allocator)) {
+      dictionary.allocateNew(count);
+      try (OffHeapDictionaryHashTable table = new OffHeapDictionaryHashTable(allocator, dictionary, new XxHasher())) {
+        assertEquals(0, table.size());
+        // append the values to the dictionary one by one, as a dictionary builder does
+        for (int i = 0; i < count; i++) {
+          dictionary.set(i, i * 1000L);
+          dictionary.setValueCount(i + 1);
+          final int hash = dictionary.hashCode(i, table.getHasher());
+          assertEquals(OffHeapDictionaryHashTable.NULL_VALUE, table.getIndex(i, dictionary, hash));
+          table.put(i, hash);
+        }
+        assertEquals(count, table.size());
+        for (int i = 0; i < count; i++) {
+          assertEquals(i, table.getIndex(i, dictionary));
+        }
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertEquals(OffHeapDictionaryHashTable.NULL_VALUE, table.getIndex(0, dictionary));
+      }
+    }
+  }
+
+  @Test
+  public void testResizeFailure() {
+    try (IntVector dictionary = new IntVector("dictionary", allocator)) {
+      dictionary.allocateNew(9);
+      // room for the initial 16 slots, but not for 32
+      try (BufferAllocator tableAllocator = allocator.newChildAllocator("table", 0, 200);
+           OffHeapDictionaryHashTable table = new OffHeapDictionaryHashTable(tableAllocator, dictionary)) {
+        for (int i = 0; i < 8; i++) {
+          dictionary.set(i, i);
+          dictionary.setValueCount(i + 1);
+          table.put(i, dictionary.hashCode(i, table.getHasher()));
+        }
+        dictionary.set(8, 8);
+        dictionary.setValueCount(9);
+        assertThrows(OutOfMemoryException.class, () -> table.put(8, dictionary.hashCode(8, table.getHasher())));
+
+        // the table keeps its values after the failed resize
+        assertEquals(8, table.size());
+        for (int i = 0; i < 8; i++) {
+          assertEquals(i, table.getIndex(i, dictionary));
+        }
+      }
+    }
+  }
+}
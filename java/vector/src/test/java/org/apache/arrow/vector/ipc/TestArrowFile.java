@@ -19,12 +19,14 @@ package org.apache.arrow.vector.ipc;
 
 import static java.nio.channels.Channels.newChannel;
 import static org.apache.arrow.vector.TestUtils.newVarCharVector;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -35,9 +37,13 @@ import java.util.List;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.util.Collections2;
 import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
 import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -97,6 +103,56 @@ public class TestArrowFile extends BaseFileTest {
     }
   }
 
+  @Test
+  public void testMemoryMappedRead() throws IOException {
+    File file = new File("target/mytest_memory_mapped.arrow");
+    try (IntVector vector = new IntVector("int", allocator);
+         VectorSchemaRoot root = VectorSchemaRoot.of(vector);
+         FileOutputStream fileOutputStream = new FileOutputStream(file);
+         ArrowFileWriter writer = new ArrowFileWriter(root, null, fileOutputStream.getChannel())) {
+      writeBatchData(writer, vector, root);
+    }
+
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Integer.MAX_VALUE);
+         FileInputStream fileInputStream = new FileInputStream(file);
+         ArrowFileReader reader = new ArrowFileReader(fileInputStream.getChannel(), readerAllocator,
+             NoCompressionCodec.Factory.INSTANCE, true)) {
+      IntVector vector = (IntVector) reader.getVectorSchemaRoot().getVector("int");
+      validateBatchData(reader, vector);
+
+      // random access to the first batch
+      List<ArrowBlock> blocks = reader.getRecordBlocks();
+      assertEquals(2, blocks.size());
+      assertTrue(reader.loadRecordBatch(blocks.get(0)));
+      assertEquals(5, vector.getValueCount());
+      assertEquals(2, vector.get(2));
+    }
+  }
+
+  @Test
+  public void testMemoryMappedDictionaryRead() throws IOException {
+    File file = new File("target/mytest_memory_mapped_dictionary.arrow");
+    try (BufferAllocator writerAllocator = allocator.newChildAllocator("writer", 0, Integer.MAX_VALUE)) {
+      DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+      try (VectorSchemaRoot root = writeFlatDictionaryData(writerAllocator, provider);
+           FileOutputStream fileOutputStream = new FileOutputStream(file);
+           ArrowFileWriter writer = new ArrowFileWriter(root, provider, fileOutputStream.getChannel())) {
+        writer.start();
+        writer.writeBatch();
+        writer.end();
+      }
+      provider.getDictionaryIds().forEach(id -> provider.lookup(id).getVector().close());
+    }
+
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Integer.MAX_VALUE);
+         FileInputStream fileInputStream = new FileInputStream(file);
+         ArrowFileReader reader = new ArrowFileReader(fileInputStream.getChannel(), readerAllocator,
+             NoCompressionCodec.Factory.INSTANCE, true)) {
+      assertTrue(reader.loadNextBatch());
+      validateFlatDictionary(reader.getVectorSchemaRoot(), reader);
+    }
+  }
+
   @Test
   public void testFileStreamHasEos() throws IOException {
 
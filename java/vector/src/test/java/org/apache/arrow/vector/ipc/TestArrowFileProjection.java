@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ViewVarCharVector;
+import org.apache.arrow.vector.compare.VectorEqualsVisitor;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.junit.Test;
+
+/**
+ * Test cases for the projected reads of {@link ArrowFileReader}.
+ */
+public class TestArrowFileProjection extends BaseFileTest {
+
+  private static final int BATCH_COUNT = 3;
+
+  private byte[] write(VectorSchemaRoot root, DictionaryProvider provider) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ArrowFileWriter writer = new ArrowFileWriter(root, provider, Channels.newChannel(out))) {
+      writer.start();
+      for (int i = 0; i < BATCH_COUNT; i++) {
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Reads a file with and without a projection, and checks that the projected columns are the same.
+   * @return the bytes read with the projection.
+   */
+  private long validateProjection(byte[] file, List<String> projection) throws IOException {
+    try (ArrowFileReader fullReader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(file), allocator);
+         ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(file), allocator)) {
+      reader.setProjection(projection);
+      VectorSchemaRoot fullRoot = fullReader.getVectorSchemaRoot();
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      assertEquals(projection.size(), root.getFieldVectors().size());
+      for (Field field : root.getSchema().getFields()) {
+        assertEquals(fullRoot.getSchema().findField(field.getName()), field);
+      }
+      while (fullReader.loadNextBatch()) {
+        assertTrue(reader.loadNextBatch());
+        assertEquals(fullRoot.getRowCount(), root.getRowCount());
+        for (FieldVector vector : root.getFieldVectors()) {
+          assertTrue(VectorEqualsVisitor.vectorEquals(fullRoot.getVector(vector.getName()), vector));
+        }
+      }
+      assertFalse(reader.loadNextBatch());
+      assertTrue(reader.bytesRead() < fullReader.bytesRead());
+      return reader.bytesRead();
+    }
+  }
+
+  @Test
+  public void testProjectComplex() throws IOException {
+    byte[] file;
+    try (StructVector parent = StructVector.empty("parent", allocator)) {
+      writeComplexData(COUNT, parent);
+      file = write(new VectorSchemaRoot(parent.getChild("root")), null);
+    }
+    validateProjection(file, Collections.singletonList("bigInt"));
+    validateProjection(file, Arrays.asList("list", "int"));
+    validateProjection(file, Collections.singletonList("struct"));
+    validateProjection(file, Collections.emptyList());
+  }
+
+  @Test
+  public void testProjectVariadicBuffers() throws IOException {
+    byte[] file;
+    try (IntVector a = new IntVector("a", allocator);
+         ViewVarCharVector view = new ViewVarCharVector("view", allocator);
+         IntVector b = new IntVector("b", allocator);
+         VectorSchemaRoot root = VectorSchemaRoot.of(a, view, b)) {
+      for (int i = 0; i < COUNT; i++) {
+        a.setSafe(i, i);
+        // long values are stored in the variadic data buffers
+        view.setSafe(i, ("a value longer than twelve bytes " + i).getBytes(StandardCharsets.UTF_8));
+        b.setSafe(i, -i);
+      }
+      root.setRowCount(COUNT);
+      file = write(root, null);
+    }
+    validateProjection(file, Collections.singletonList("b"));
+    validateProjection(file, Collections.singletonList("view"));
+    validateProjection(file, Arrays.asList("view", "b"));
+  }
+
+  @Test
+  public void testProjectDictionaries() throws IOException {
+    byte[] file;
+    DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+    try (VectorSchemaRoot root = writeFlatDictionaryData(allocator, provider)) {
+      file = write(root, provider);
+    } finally {
+      for (long id : provider.getDictionaryIds()) {
+        provider.lookup(id).getVector().close();
+      }
+    }
+    validateProjection(file, Collections.singletonList("sizes"));
+
+    try (ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(file), allocator)) {
+      reader.setProjection(Collections.singletonList("sizes"));
+      assertTrue(reader.loadNextBatch());
+      assertEquals(Collections.singleton(2L), reader.getDictionaryIds());
+      assertNotNull(reader.lookup(2L));
+      assertNull(reader.lookup(1L));
+      assertEquals(2, reader.getVectorSchemaRoot().getVector("sizes").getObject(1));
+    }
+  }
+
+  @Test
+  public void testInvalidProjection() throws IOException {
+    byte[] file;
+    try (StructVector parent = StructVector.empty("parent", allocator)) {
+      writeComplexData(COUNT, parent);
+      file = write(new VectorSchemaRoot(parent.getChild("root")), null);
+    }
+    try (ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(file), allocator)) {
+      reader.setProjection(Collections.singletonList("missing"));
+      assertThrows(IllegalArgumentException.class, reader::getVectorSchemaRoot);
+    }
+    try (ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(file), allocator)) {
+      reader.getVectorSchemaRoot();
+      assertThrows(IllegalStateException.class, () -> reader.setProjection(Collections.singletonList("int")));
+    }
+  }
+}
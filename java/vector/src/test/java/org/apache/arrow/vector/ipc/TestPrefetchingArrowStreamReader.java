@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.AbstractCompressionCodec;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link PrefetchingArrowStreamReader}.
+ */
+public class TestPrefetchingArrowStreamReader extends BaseFileTest {
+
+  private static final int BATCH_COUNT = 100;
+
+  private static final int BATCH_SIZE = 1000;
+
+  private ExecutorService executor;
+
+  @Before
+  public void startExecutor() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void stopExecutor() {
+    executor.shutdownNow();
+  }
+
+  private byte[] writeIntBatches() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (IntVector vector = new IntVector("int", allocator);
+         VectorSchemaRoot root = VectorSchemaRoot.of(vector);
+         ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out)) {
+      writer.start();
+      for (int i = 0; i < BATCH_COUNT; i++) {
+        vector.allocateNew(BATCH_SIZE);
+        for (int j = 0; j < BATCH_SIZE; j++) {
+          vector.set(j, i * BATCH_SIZE + j);
+        }
+        vector.setValueCount(BATCH_SIZE);
+        root.setRowCount(BATCH_SIZE);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+    return out.toByteArray();
+  }
+
+  private PrefetchingArrowStreamReader newReader(byte[] stream, BufferAllocator readerAllocator, int prefetchCount,
+      long prefetchBytes) {
+    return new PrefetchingArrowStreamReader(new ByteArrayInputStream(stream), readerAllocator,
+        NoCompressionCodec.Factory.INSTANCE, executor, prefetchCount, prefetchBytes);
+  }
+
+  @Test
+  public void testReadBatches() throws IOException {
+    byte[] stream = writeIntBatches();
+    long expectedBytesRead;
+    try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(stream), allocator)) {
+      while (reader.loadNextBatch()) {
+        // read the whole stream
+      }
+      expectedBytesRead = reader.bytesRead();
+    }
+
+    for (long prefetchBytes : new long[] {1, 64 * 1024, Long.MAX_VALUE}) {
+      try (PrefetchingArrowStreamReader reader = newReader(stream, allocator, 4, prefetchBytes)) {
+        IntVector vector = (IntVector) reader.getVectorSchemaRoot().getVector(0);
+        for (int i = 0; i < BATCH_COUNT; i++) {
+          assertTrue(reader.loadNextBatch());
+          assertEquals(BATCH_SIZE, reader.getVectorSchemaRoot().getRowCount());
+          for (int j = 0; j < BATCH_SIZE; j++) {
+            assertEquals(i * BATCH_SIZE + j, vector.get(j));
+          }
+        }
+        assertFalse(reader.loadNextBatch());
+        assertFalse(reader.loadNextBatch());
+        assertEquals(0, reader.getVectorSchemaRoot().getRowCount());
+        assertEquals(expectedBytesRead, reader.bytesRead());
+        assertTrue(reader.getStallCount() >= 0 && reader.getStallCount() <= BATCH_COUNT + 1);
+        assertTrue(reader.getStallNanos() >= 0);
+        assertTrue(reader.getPrefetchWaitNanos() >= 0);
+      }
+    }
+  }
+
+  @Test
+  public void testReadDictionaries() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+    try (VectorSchemaRoot root = writeFlatDictionaryData(allocator, provider);
+         ArrowStreamWriter writer = new ArrowStreamWriter(root, provider, out)) {
+      writer.start();
+      writer.writeBatch();
+      writer.end();
+    } finally {
+      for (long id : provider.getDictionaryIds()) {
+        provider.lookup(id).getVector().close();
+      }
+    }
+
+    try (PrefetchingArrowStreamReader reader = newReader(out.toByteArray(), allocator, 2, Long.MAX_VALUE)) {
+      assertTrue(reader.loadNextBatch());
+      validateFlatDictionary(reader.getVectorSchemaRoot(), reader);
+      assertFalse(reader.loadNextBatch());
+    }
+  }
+
+  @Test
+  public void testDictionaryReplacementOrder() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (VarCharVector dictionaryVector = new VarCharVector("dictionary", allocator);
+         VarCharVector values = new VarCharVector("values", allocator)) {
+      Dictionary dictionary = new Dictionary(dictionaryVector, new DictionaryEncoding(1L, false, null));
+      DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider(dictionary);
+      setValues(dictionaryVector, "foo", "bar");
+      setValues(values, "bar", "foo", "bar");
+      try (FieldVector encoded = (FieldVector) DictionaryEncoder.encode(values, dictionary);
+           VectorSchemaRoot root = new VectorSchemaRoot(Collections.singletonList(encoded.getField()),
+               Collections.singletonList(encoded), encoded.getValueCount());
+           ArrowStreamWriter writer = new ArrowStreamWriter(root, provider, out)) {
+        writer.start();
+        writer.writeBatch();
+        // the same indices, with a replaced dictionary
+        setValues(dictionaryVector, "baz", "qux");
+        writer.writeBatch();
+        writer.end();
+      }
+    }
+
+    try (PrefetchingArrowStreamReader reader = newReader(out.toByteArray(), allocator, 8, Long.MAX_VALUE)) {
+      for (String[] expected : Arrays.asList(new String[] {"bar", "foo"}, new String[] {"qux", "baz"})) {
+        assertTrue(reader.loadNextBatch());
+        IntVector indices = (IntVector) reader.getVectorSchemaRoot().getVector(0);
+        VarCharVector dictionary = (VarCharVector) reader.lookup(1L).getVector();
+        assertEquals(expected[0], dictionary.getObject(indices.get(0)).toString());
+        assertEquals(expected[1], dictionary.getObject(indices.get(1)).toString());
+      }
+      assertFalse(reader.loadNextBatch());
+    }
+  }
+
+  private static void setValues(VarCharVector vector, String... values) {
+    vector.allocateNew();
+    for (int i = 0; i < values.length; i++) {
+      vector.setSafe(i, values[i].getBytes(StandardCharsets.UTF_8));
+    }
+    vector.setValueCount(values.length);
+  }
+
+  @Test
+  public void testCloseBeforeEnd() throws IOException {
+    byte[] stream = writeIntBatches();
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Long.MAX_VALUE)) {
+      try (PrefetchingArrowStreamReader reader = newReader(stream, readerAllocator, 16, Long.MAX_VALUE)) {
+        assertTrue(reader.loadNextBatch());
+      }
+      // the prefetched batches are released
+      assertEquals(0, readerAllocator.getAllocatedMemory());
+    }
+  }
+
+  @Test
+  public void testTruncatedStream() throws IOException {
+    byte[] stream = writeIntBatches();
+    byte[] truncated = Arrays.copyOf(stream, stream.length / 2);
+    try (PrefetchingArrowStreamReader reader = newReader(truncated, allocator, 4, Long.MAX_VALUE)) {
+      assertThrows(IOException.class, () -> {
+        while (reader.loadNextBatch()) {
+          // read until the error
+        }
+      });
+    }
+  }
+
+  @Test(timeout = 30000)
+  public void testCloseWithBlockedRead() throws IOException {
+    byte[] stream = writeIntBatches();
+    // the schema, the first batch and a part of the second one, then a read that blocks until it is
+    // interrupted, while the queue still has room
+    final int available = 2 * stream.length / BATCH_COUNT;
+    InputStream blockingSource = new InputStream() {
+      private final CountDownLatch never = new CountDownLatch(1);
+      private int position;
+
+      @Override
+      public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        if (position < available) {
+          int count = Math.min(len, available - position);
+          System.arraycopy(stream, position, b, off, count);
+          position += count;
+          return count;
+        }
+        try {
+          never.await();
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException();
+        }
+        return -1;
+      }
+    };
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Long.MAX_VALUE)) {
+      PrefetchingArrowStreamReader reader = new PrefetchingArrowStreamReader(blockingSource, readerAllocator,
+          NoCompressionCodec.Factory.INSTANCE, executor, 4, Long.MAX_VALUE);
+      assertTrue(reader.loadNextBatch());
+      reader.close(false);
+      assertEquals(0, readerAllocator.getAllocatedMemory());
+    }
+  }
+
+  /**
+   * A codec that stores the buffers as they are, and fails to decompress them.
+   */
+  private static final class CorruptCodec extends AbstractCompressionCodec {
+
+    static final CompressionCodec.Factory FACTORY = new CompressionCodec.Factory() {
+      @Override
+      public CompressionCodec createCodec(CompressionUtil.CodecType codecType) {
+        return new CorruptCodec();
+      }
+
+      @Override
+      public CompressionCodec createCodec(CompressionUtil.CodecType codecType, int compressionLevel) {
+        return new CorruptCodec();
+      }
+    };
+
+    @Override
+    protected ArrowBuf doCompress(BufferAllocator allocator, ArrowBuf uncompressedBuffer) {
+      final long length = uncompressedBuffer.writerIndex();
+      final ArrowBuf compressedBuffer = allocator.buffer(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + length);
+      compressedBuffer.setBytes(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH, uncompressedBuffer, 0, length);
+      compressedBuffer.writerIndex(CompressionUtil.SIZE_OF_UNCOMPRESSED_LENGTH + length);
+      return compressedBuffer;
+    }
+
+    @Override
+    protected ArrowBuf doDecompress(BufferAllocator allocator, ArrowBuf compressedBuffer) {
+      throw new IllegalStateException("corrupt buffer");
+    }
+
+    @Override
+    public CompressionUtil.CodecType getCodecType() {
+      return CompressionUtil.CodecType.LZ4_FRAME;
+    }
+  }
+
+  @Test
+  public void testCorruptCompressedBatch() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (IntVector vector = new IntVector("int", allocator);
+         VectorSchemaRoot root = VectorSchemaRoot.of(vector);
+         ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(out), IpcOption.DEFAULT,
+             CorruptCodec.FACTORY, CompressionUtil.CodecType.LZ4_FRAME)) {
+      writer.start();
+      vector.allocateNew(BATCH_SIZE);
+      for (int j = 0; j < BATCH_SIZE; j++) {
+        vector.set(j, j);
+      }
+      vector.setValueCount(BATCH_SIZE);
+      root.setRowCount(BATCH_SIZE);
+      writer.writeBatch();
+      writer.end();
+    }
+
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Long.MAX_VALUE)) {
+      try (PrefetchingArrowStreamReader reader = new PrefetchingArrowStreamReader(
+          new ByteArrayInputStream(out.toByteArray()), readerAllocator, CorruptCodec.FACTORY, executor, 4,
+          Long.MAX_VALUE)) {
+        assertThrows(IOException.class, reader::loadNextBatch);
+      }
+      // the body of the corrupt batch is released
+      assertEquals(0, readerAllocator.getAllocatedMemory());
+    }
+  }
+}
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.util.AutoCloseables;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link SeekableReadChannel#readRanges(List, BufferAllocator)}.
+ */
+public class TestSeekableReadChannel extends BaseFileTest {
+
+  private static final int FILE_SIZE = 64 * 1024;
+
+  private ExecutorService executor;
+
+  private byte[] data;
+
+  private File file;
+
+  /**
+   * Writes the test file.
+   */
+  @Before
+  public void writeFile() throws IOException {
+    executor = Executors.newFixedThreadPool(4);
+    data = new byte[FILE_SIZE];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i * 31);
+    }
+    file = File.createTempFile("seekable-read-channel", ".data");
+    Files.write(file.toPath(), data);
+  }
+
+  @After
+  public void deleteFile() {
+    executor.shutdownNow();
+    file.delete();
+  }
+
+  private static List<SeekableReadChannel.Range> testRanges() {
+    return Arrays.asList(
+        new SeekableReadChannel.Range(40000, 100),
+        new SeekableReadChannel.Range(0, 16),
+        new SeekableReadChannel.Range(100, 0),
+        new SeekableReadChannel.Range(24, 1000),
+        new SeekableReadChannel.Range(20000, 5000),
+        new SeekableReadChannel.Range(FILE_SIZE - 10, 10),
+        new SeekableReadChannel.Range(500, 10));
+  }
+
+  private void checkRanges(List<SeekableReadChannel.Range> ranges, List<ArrowBuf> buffers) throws Exception {
+    try {
+      assertEquals(ranges.size(), buffers.size());
+      for (int i = 0; i < ranges.size(); i++) {
+        SeekableReadChannel.Range range = ranges.get(i);
+        ArrowBuf buffer = buffers.get(i);
+        assertEquals(range.getLength(), buffer.capacity());
+        for (int j = 0; j < range.getLength(); j++) {
+          assertEquals(data[(int) range.getOffset() + j], buffer.getByte(j));
+        }
+      }
+    } finally {
+      AutoCloseables.close(buffers);
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test
+  public void testReadRanges() throws Exception {
+    List<SeekableReadChannel.Range> ranges = testRanges();
+    try (SeekableReadChannel in = new SeekableReadChannel(new ByteArrayReadableSeekableByteChannel(data))) {
+      List<ArrowBuf> buffers = in.readRanges(ranges, allocator);
+      // [0, 1024) and [40000, 40100) are merged, the other ranges are too far apart
+      assertEquals(1024 + 5000 + 100 + 10, in.bytesRead());
+      checkRanges(ranges, buffers);
+    }
+  }
+
+  @Test
+  public void testReadRangesWithoutCoalescing() throws Exception {
+    List<SeekableReadChannel.Range> ranges = testRanges();
+    try (SeekableReadChannel in = new SeekableReadChannel(new ByteArrayReadableSeekableByteChannel(data))) {
+      List<ArrowBuf> buffers = in.readRanges(ranges, allocator, 0);
+      assertEquals(16 + 1000 + 5000 + 100 + 10, in.bytesRead());
+      checkRanges(ranges, buffers);
+    }
+  }
+
+  @Test
+  public void testReadRangesConcurrently() throws Exception {
+    List<SeekableReadChannel.Range> ranges = new ArrayList<>(testRanges());
+    for (int i = 0; i < 100; i++) {
+      ranges.add(new SeekableReadChannel.Range(i * 600, 100 + i));
+    }
+    try (SeekableReadChannel in = new SeekableReadChannel(FileChannel.open(file.toPath()), executor)) {
+      List<ArrowBuf> buffers = in.readRanges(ranges, allocator, 16);
+      checkRanges(ranges, buffers);
+    }
+  }
+
+  @Test
+  public void testReadRangesPastEnd() throws Exception {
+    List<SeekableReadChannel.Range> ranges = Arrays.asList(
+        new SeekableReadChannel.Range(0, 10),
+        new SeekableReadChannel.Range(FILE_SIZE - 10, 20));
+    try (SeekableReadChannel in = new SeekableReadChannel(new ByteArrayReadableSeekableByteChannel(data))) {
+      assertThrows(EOFException.class, () -> in.readRanges(ranges, allocator, 0));
+    }
+    try (SeekableReadChannel in = new SeekableReadChannel(FileChannel.open(file.toPath()), executor)) {
+      assertThrows(EOFException.class, () -> in.readRanges(ranges, allocator, 0));
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test
+  public void testReadRangesRejected() throws Exception {
+    List<SeekableReadChannel.Range> ranges = Arrays.asList(
+        new SeekableReadChannel.Range(0, 10),
+        new SeekableReadChannel.Range(FILE_SIZE - 10, 10));
+    // the first read is held until the test releases it, the second one is rejected
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger submitted = new AtomicInteger();
+    Executor rejecting = task -> {
+      if (submitted.getAndIncrement() > 0) {
+        throw new RejectedExecutionException();
+      }
+      executor.execute(() -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        task.run();
+      });
+    };
+    ExecutorService caller = Executors.newSingleThreadExecutor();
+    try (SeekableReadChannel in = new SeekableReadChannel(FileChannel.open(file.toPath()), rejecting)) {
+      Future<List<ArrowBuf>> read = caller.submit(() -> in.readRanges(ranges, allocator, 0));
+      // the buffers must not be released while the first read may still write into them
+      assertThrows(TimeoutException.class, () -> read.get(200, TimeUnit.MILLISECONDS));
+      release.countDown();
+      ExecutionException e = assertThrows(ExecutionException.class, read::get);
+      assertTrue(e.getCause() instanceof RejectedExecutionException);
+    } finally {
+      caller.shutdownNow();
+    }
+    assertEquals(0, allocator.getAllocatedMemory());
+  }
+
+  @Test
+  public void testReadFileConcurrently() throws IOException {
+    try (BufferAllocator writerAllocator = allocator.newChildAllocator("writer", 0, Integer.MAX_VALUE)) {
+      DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+      try (VectorSchemaRoot root = writeFlatDictionaryData(writerAllocator, provider);
+           FileOutputStream out = new FileOutputStream(file);
+           ArrowFileWriter writer = new ArrowFileWriter(root, provider, out.getChannel())) {
+        writer.start();
+        writer.writeBatch();
+        writer.end();
+      }
+      provider.getDictionaryIds().forEach(id -> provider.lookup(id).getVector().close());
+    }
+
+    try (BufferAllocator readerAllocator = allocator.newChildAllocator("reader", 0, Integer.MAX_VALUE);
+         ArrowFileReader reader = new ArrowFileReader(
+             new SeekableReadChannel(FileChannel.open(file.toPath()), executor), readerAllocator)) {
+      assertTrue(reader.loadNextBatch());
+      validateFlatDictionary(reader.getVectorSchemaRoot(), reader);
+      // the dictionaries are read at once
+      assertEquals(2, reader.getDictionaryVectors().size());
+    }
+  }
+
+  @Test
+  public void testReadLargeFooter() throws IOException {
+    // the footer of a file with many fields does not fit in the first read of the end of the file
+    List<FieldVector> vectors = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      IntVector vector = new IntVector("int" + i, allocator);
+      vector.allocateNew(1);
+      vector.set(0, i);
+      vector.setValueCount(1);
+      vectors.add(vector);
+    }
+    try (VectorSchemaRoot root = new VectorSchemaRoot(vectors);
+         FileChannel out = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+             StandardOpenOption.TRUNCATE_EXISTING);
+         ArrowFileWriter writer = new ArrowFileWriter(root, null, out)) {
+      writer.start();
+      writer.writeBatch();
+      writer.end();
+    }
+    byte[] written = Files.readAllBytes(file.toPath());
+    int footerLength = MessageSerializer.bytesToInt(
+        Arrays.copyOfRange(written, written.length - 10, written.length - 6));
+    assertTrue(footerLength > FILE_SIZE);
+
+    try (ArrowFileReader reader = new ArrowFileReader(FileChannel.open(file.toPath()), allocator)) {
+      assertTrue(reader.loadNextBatch());
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      assertEquals(2000, root.getFieldVectors().size());
+      assertEquals(1999, ((IntVector) root.getVector("int1999")).get(0));
+    }
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.junit.Test;
+
+/**
+ * Test cases for the gathered writes of {@link WriteChannel}.
+ */
+public class TestWriteChannel extends BaseFileTest {
+
+  private static final int BATCH_COUNT = 10;
+
+  /**
+   * A gathering channel over a byte array that counts the write calls.
+   */
+  private static final class CountingChannel implements GatheringByteChannel {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final WritableByteChannel channel = Channels.newChannel(out);
+    private int writeCalls;
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+      writeCalls++;
+      long written = 0;
+      // write partially, as channels may do
+      for (int i = offset; i < offset + Math.min(length, 3); i++) {
+        written += channel.write(srcs[i]);
+      }
+      return written;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs) throws IOException {
+      return write(srcs, 0, srcs.length);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      writeCalls++;
+      return channel.write(src);
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private void writeStream(WritableByteChannel out, long flushThreshold) throws IOException {
+    try (IntVector ints = new IntVector("ints", allocator);
+         VarCharVector strings = new VarCharVector("strings", allocator);
+         VectorSchemaRoot root = VectorSchemaRoot.of(ints, strings);
+         ArrowStreamWriter writer = new ArrowStreamWriter(root, null, out)) {
+      writer.setFlushThreshold(flushThreshold);
+      writer.start();
+      for (int batch = 0; batch < BATCH_COUNT; batch++) {
+        ints.allocateNew(batch + 1);
+        strings.allocateNew();
+        for (int i = 0; i <= batch; i++) {
+          ints.setSafe(i, batch * i);
+          if (i % 3 != 0) {
+            strings.setSafe(i, ("value" + i).getBytes(StandardCharsets.UTF_8));
+          }
+        }
+        root.setRowCount(batch + 1);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+  }
+
+  @Test
+  public void testGatheredWrites() throws IOException {
+    CountingChannel expected = new CountingChannel();
+    writeStream(expected, 0);
+    CountingChannel gathered = new CountingChannel();
+    writeStream(gathered, 1024 * 1024);
+    assertArrayEquals(expected.out.toByteArray(), gathered.out.toByteArray());
+    // a few partial gathering writes per batch instead of a write per buffer
+    assertTrue(gathered.writeCalls * 2 < expected.writeCalls);
+  }
+
+  @Test
+  public void testGatheredWritesWithoutGatheringChannel() throws IOException {
+    CountingChannel expected = new CountingChannel();
+    writeStream(expected, 0);
+    ByteArrayOutputStream gathered = new ByteArrayOutputStream();
+    writeStream(Channels.newChannel(gathered), 1024 * 1024);
+    assertArrayEquals(expected.out.toByteArray(), gathered.toByteArray());
+  }
+
+  @Test
+  public void testSmallFlushThreshold() throws IOException {
+    CountingChannel expected = new CountingChannel();
+    writeStream(expected, 0);
+    CountingChannel gathered = new CountingChannel();
+    writeStream(gathered, 1);
+    assertArrayEquals(expected.out.toByteArray(), gathered.out.toByteArray());
+  }
+
+  @Test
+  public void testPendingWrites() throws IOException {
+    CountingChannel out = new CountingChannel();
+    try (WriteChannel channel = new WriteChannel(out, 16)) {
+      channel.writeIntLittleEndian(1);
+      channel.writeIntLittleEndian(2);
+      channel.write(ByteBuffer.wrap(new byte[] {3, 4, 5}));
+      assertEquals(11, channel.getCurrentPosition());
+      assertEquals(0, out.out.size());
+      channel.writeZeros(5);
+      // the threshold is reached
+      assertEquals(16, out.out.size());
+      channel.writeIntLittleEndian(6);
+      channel.flush();
+      assertEquals(20, out.out.size());
+      channel.writeIntLittleEndian(7);
+    }
+    // pending writes are flushed on close
+    assertEquals(24, out.out.size());
+    assertArrayEquals(new byte[] {1, 0, 0, 0, 2, 0, 0, 0, 3, 4, 5, 0, 0, 0, 0, 0, 6, 0, 0, 0, 7, 0, 0, 0},
+        out.out.toByteArray());
+  }
+
+  @Test
+  public void testGatheredFile() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+    try (VectorSchemaRoot root = writeFlatDictionaryData(allocator, provider);
+         ArrowFileWriter writer = new ArrowFileWriter(root, provider, Channels.newChannel(out))) {
+      writer.setFlushThreshold(64);
+      writer.start();
+      writer.writeBatch();
+      writer.end();
+    }
+    provider.getDictionaryIds().forEach(id -> provider.lookup(id).getVector().close());
+
+    try (ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(out.toByteArray()),
+        allocator)) {
+      assertTrue(reader.loadNextBatch());
+      validateFlatDictionary(reader.getVectorSchemaRoot(), reader);
+    }
+  }
+}
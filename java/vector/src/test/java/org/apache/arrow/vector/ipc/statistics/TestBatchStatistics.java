@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.ipc.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.UInt1Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link BatchStatistics} and {@link BatchPredicates}.
+ */
+public class TestBatchStatistics {
+
+  private static final int BATCH_COUNT = 10;
+
+  private static final int BATCH_SIZE = 100;
+
+  private BufferAllocator allocator;
+
+  @BeforeEach
+  public void prepare() {
+    allocator = new RootAllocator(Integer.MAX_VALUE);
+  }
+
+  @AfterEach
+  public void shutdown() {
+    allocator.close();
+  }
+
+  @Test
+  public void testColumnStatistics() {
+    try (IntVector ints = new IntVector("int", allocator);
+         UInt1Vector unsigned = new UInt1Vector("uint1", allocator);
+         Float8Vector doubles = new Float8Vector("double", allocator);
+         TimeStampMilliVector timestamps = new TimeStampMilliVector("timestamp", allocator);
+         VarCharVector strings = new VarCharVector("string", allocator);
+         BigIntVector nulls = new BigIntVector("nulls", allocator)) {
+      ints.allocateNew(4);
+      unsigned.allocateNew(4);
+      doubles.allocateNew(4);
+      timestamps.allocateNew(4);
+      strings.allocateNew(4);
+      nulls.allocateNew(4);
+      ints.set(0, 5);
+      ints.setNull(1);
+      ints.set(2, -7);
+      ints.set(3, 3);
+      unsigned.set(0, 1);
+      unsigned.set(1, 200);
+      unsigned.set(2, 7);
+      unsigned.setNull(3);
+      doubles.set(0, Double.NaN);
+      doubles.set(1, -0.5);
+      doubles.set(2, Double.POSITIVE_INFINITY);
+      doubles.set(3, 2.5);
+      for (int i = 0; i < 4; i++) {
+        timestamps.set(i, 1000L * (i + 1));
+        strings.set(i, new byte[] {(byte) ('a' + i)});
+        nulls.setNull(i);
+      }
+      VectorSchemaRoot root = VectorSchemaRoot.of(ints, unsigned, doubles, timestamps, strings, nulls);
+      root.setRowCount(4);
+
+      BatchStatistics statistics = BatchStatistics.of(root);
+      assertEquals(4, statistics.getRowCount());
+      assertEquals(new ColumnStatistics("int", 1, -7L, 5L), statistics.getColumn("int"));
+      assertEquals(new ColumnStatistics("uint1", 1, 1L, 200L), statistics.getColumn("uint1"));
+      assertEquals(new ColumnStatistics("double", 0, -0.5, Double.POSITIVE_INFINITY), statistics.getColumn("double"));
+      assertEquals(new ColumnStatistics("timestamp", 0, 1000L, 4000L), statistics.getColumn("timestamp"));
+      assertEquals(new ColumnStatistics("string", 0, null, null), statistics.getColumn("string"));
+      assertEquals(new ColumnStatistics("nulls", 4, null, null), statistics.getColumn("nulls"));
+      assertNull(statistics.getColumn("missing"));
+    }
+  }
+
+  @Test
+  public void testJsonRoundTrip() throws IOException {
+    List<BatchStatistics> statistics = Arrays.asList(
+        new BatchStatistics(10, Arrays.asList(
+            new ColumnStatistics("a", 1, Long.MIN_VALUE, Long.MAX_VALUE),
+            new ColumnStatistics("b", 0, Double.NEGATIVE_INFINITY, 1.0),
+            new ColumnStatistics("c", 10, null, null))),
+        new BatchStatistics(0, Collections.emptyList()));
+    List<BatchStatistics> deserialized = BatchStatistics.fromJson(BatchStatistics.toJson(statistics));
+    assertEquals(statistics, deserialized);
+    // integral bounds are not read as doubles
+    assertTrue(deserialized.get(0).getColumn("a").getMin() instanceof Long);
+    assertTrue(deserialized.get(0).getColumn("b").getMin() instanceof Double);
+  }
+
+  @Test
+  public void testPredicates() {
+    BatchStatistics statistics = new BatchStatistics(10, Arrays.asList(
+        new ColumnStatistics("a", 2, 10L, 20L),
+        new ColumnStatistics("b", 0, -1.0, 0.0),
+        new ColumnStatistics("c", 10, null, null),
+        new ColumnStatistics("d", 0, null, null)));
+
+    assertTrue(BatchPredicates.between("a", 0L, 10L).mightMatch(statistics));
+    assertFalse(BatchPredicates.between("a", 0L, 9L).mightMatch(statistics));
+    assertTrue(BatchPredicates.equalTo("a", 15L).mightMatch(statistics));
+    assertFalse(BatchPredicates.equalTo("a", 21L).mightMatch(statistics));
+    assertFalse(BatchPredicates.greaterThan("a", 20L).mightMatch(statistics));
+    assertTrue(BatchPredicates.greaterThanOrEqualTo("a", 20L).mightMatch(statistics));
+    assertFalse(BatchPredicates.lessThan("a", 10L).mightMatch(statistics));
+    assertTrue(BatchPredicates.lessThanOrEqualTo("a", 10L).mightMatch(statistics));
+
+    // narrower bounds are widened
+    assertTrue(BatchPredicates.equalTo("a", 15).mightMatch(statistics));
+    assertFalse(BatchPredicates.equalTo("a", 5).mightMatch(statistics));
+    assertFalse(BatchPredicates.greaterThan("a", (short) 20).mightMatch(statistics));
+    assertFalse(BatchPredicates.lessThan("a", (byte) 10).mightMatch(statistics));
+    assertFalse(BatchPredicates.greaterThan("b", 0.5f).mightMatch(statistics));
+    assertTrue(BatchPredicates.lessThanOrEqualTo("b", -1.0f).mightMatch(statistics));
+
+    // -0.0 is equal to 0.0
+    assertTrue(BatchPredicates.greaterThanOrEqualTo("b", -0.0).mightMatch(statistics));
+    assertFalse(BatchPredicates.greaterThan("b", 0.0).mightMatch(statistics));
+    // bounds of another type cannot be compared exactly
+    assertTrue(BatchPredicates.greaterThan("b", 5L).mightMatch(statistics));
+    assertTrue(BatchPredicates.greaterThan("a", 100.0).mightMatch(statistics));
+
+    // all nulls
+    assertFalse(BatchPredicates.lessThan("c", 0L).mightMatch(statistics));
+    assertTrue(BatchPredicates.isNull("c").mightMatch(statistics));
+    assertFalse(BatchPredicates.isNotNull("c").mightMatch(statistics));
+    assertFalse(BatchPredicates.isNull("b").mightMatch(statistics));
+    // no bounds, or no statistics
+    assertTrue(BatchPredicates.lessThan("d", 0L).mightMatch(statistics));
+    assertTrue(BatchPredicates.lessThan("missing", 0L).mightMatch(statistics));
+
+    assertFalse(BatchPredicates.and(BatchPredicates.equalTo("a", 15L), BatchPredicates.isNull("b"))
+        .mightMatch(statistics));
+    assertTrue(BatchPredicates.or(BatchPredicates.equalTo("a", 15L), BatchPredicates.isNull("b"))
+        .mightMatch(statistics));
+  }
+
+  private byte[] writeFile(boolean writeBatchStatistics) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (BigIntVector time = new BigIntVector("time", allocator);
+         IntVector value = new IntVector("value", allocator);
+         VectorSchemaRoot root = VectorSchemaRoot.of(time, value);
+         ArrowFileWriter writer = new ArrowFileWriter(root, null, Channels.newChannel(out),
+             Collections.singletonMap("key", "value"))) {
+      writer.setWriteBatchStatistics(writeBatchStatistics);
+      writer.start();
+      for (int batch = 0; batch < BATCH_COUNT; batch++) {
+        time.allocateNew(BATCH_SIZE);
+        value.allocateNew(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+          time.set(i, (long) batch * BATCH_SIZE + i);
+          value.set(i, i);
+        }
+        time.setValueCount(BATCH_SIZE);
+        value.setValueCount(BATCH_SIZE);
+        root.setRowCount(BATCH_SIZE);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+    return out.toByteArray();
+  }
+
+  @Test
+  public void testReadMatchingBatches() throws IOException {
+    byte[] file = writeFile(true);
+    BatchPredicate predicate = BatchPredicates.or(
+        BatchPredicates.between("time", 250L, 349L),
+        BatchPredicates.equalTo("time", 999L));
+    try (ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(file), allocator)) {
+      List<BatchStatistics> statistics = reader.getBatchStatistics();
+      assertEquals("value", reader.getMetaData().get("key"));
+      assertEquals(BATCH_COUNT, statistics.size());
+      assertEquals(new ColumnStatistics("time", 0, 300L, 399L), statistics.get(3).getColumn("time"));
+
+      List<ArrowBlock> blocks = reader.getRecordBlocks(predicate);
+      List<ArrowBlock> allBlocks = reader.getRecordBlocks();
+      assertEquals(Arrays.asList(allBlocks.get(2), allBlocks.get(3), allBlocks.get(9)), blocks);
+
+      List<Long> firstTimes = new ArrayList<>();
+      while (reader.loadNextBatch(predicate)) {
+        firstTimes.add(((BigIntVector) reader.getVectorSchemaRoot().getVector("time")).get(0));
+      }
+      assertEquals(Arrays.asList(200L, 300L, 900L), firstTimes);
+      assertFalse(reader.loadNextBatch(predicate));
+    }
+  }
+
+  @Test
+  public void testReadWithoutStatistics() throws IOException {
+    byte[] file = writeFile(false);
+    BatchPredicate predicate = BatchPredicates.equalTo("time", 0L);
+    try (ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(file), allocator)) {
+      assertNull(reader.getBatchStatistics());
+      assertEquals(BATCH_COUNT, reader.getRecordBlocks(predicate).size());
+      int batchCount = 0;
+      while (reader.loadNextBatch(predicate)) {
+        batchCount++;
+      }
+      assertEquals(BATCH_COUNT, batchCount);
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.arrow.vector.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.memory.util.ByteFunctionHelpers;
+import org.apache.arrow.memory.util.hash.ArrowBufHasher;
+import org.apache.arrow.memory.util.hash.MurmurHasher;
+import org.apache.arrow.memory.util.hash.XxHasher;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.LargeVarCharVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.testing.ValueVectorDataPopulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link VectorHasher}.
+ */
+public class TestVectorHasher {
+
+  private BufferAllocator allocator;
+
+  @Before
+  public void prepare() {
+    allocator = new RootAllocator(1024 * 1024);
+  }
+
+  @After
+  public void shutdown() {
+    allocator.close();
+  }
+
+  private void verifyHashCodes(ValueVector vector, ArrowBufHasher hasher) {
+    try (IntVector hashes = new IntVector("hashes", allocator)) {
+      VectorHasher.hash(vector, 0, vector.getValueCount(), hasher, hashes);
+      assertEquals(vector.getValueCount(), hashes.getValueCount());
+      for (int i = 0; i < vector.getValueCount(); i++) {
+        assertEquals(vector.hashCode(i, hasher), hashes.get(i));
+      }
+
+      VectorHasher.hash(vector, 1, vector.getValueCount() - 1, hasher, hashes);
+      assertEquals(vector.getValueCount() - 1, hashes.getValueCount());
+      for (int i = 1; i < vector.getValueCount(); i++) {
+        assertEquals(vector.hashCode(i, hasher), hashes.get(i - 1));
+      }
+    }
+  }
+
+  @Test
+  public void testHashCodes() {
+    try (IntVector intVector = new IntVector("int", allocator);
+         BigIntVector bigIntVector = new BigIntVector("bigint", allocator);
+         DecimalVector decimalVector = new DecimalVector("decimal", allocator, 10, 2);
+         BitVector bitVector = new BitVector("bit", allocator);
+         VarCharVector varCharVector = new VarCharVector("varchar", allocator);
+         LargeVarCharVector largeVarCharVector = new LargeVarCharVector("largevarchar", allocator);
+         ListVector listVector = ListVector.empty("list", allocator)) {
+      ValueVectorDataPopulator.setVector(intVector, 1, null, 3, 4, 5, 6, 7, 8, 9, 10);
+      ValueVectorDataPopulator.setVector(bigIntVector, 1L, 2L, null, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+      ValueVectorDataPopulator.setVector(decimalVector, 1L, 2L, 3L, null, 5L);
+      ValueVectorDataPopulator.setVector(bitVector, 1, 0, null, 1, 1, 0, 0, 1, 0);
+      ValueVectorDataPopulator.setVector(varCharVector, "a", "", null, "abcdefghijklmnopqrstuvwxyz0123456789", "b");
+      ValueVectorDataPopulator.setVector(largeVarCharVector, "a", "", null, "abcdefghijklmnopqrstuvwxyz", "b");
+      ValueVectorDataPopulator.setVector(listVector, Arrays.asList(1, 2), null, Collections.emptyList(),
+          Arrays.asList(3));
+
+      for (ArrowBufHasher hasher : Arrays.asList(null, new MurmurHasher(), new XxHasher())) {
+        verifyHashCodes(intVector, hasher);
+        verifyHashCodes(bigIntVector, hasher);
+        verifyHashCodes(decimalVector, hasher);
+        verifyHashCodes(bitVector, hasher);
+        verifyHashCodes(varCharVector, hasher);
+        verifyHashCodes(largeVarCharVector, hasher);
+        verifyHashCodes(listVector, hasher);
+      }
+    }
+  }
+
+  @Test
+  public void testCompositeHashCodes() {
+    try (IntVector intVector = new IntVector("int", allocator);
+         VarCharVector varCharVector = new VarCharVector("varchar", allocator);
+         IntVector hashes = new IntVector("hashes", allocator)) {
+      ValueVectorDataPopulator.setVector(intVector, 1, null, 3, 1);
+      ValueVectorDataPopulator.setVector(varCharVector, "a", "b", null, "a");
+      List<ValueVector> vectors = Arrays.asList(intVector, varCharVector);
+
+      VectorHasher.hash(vectors, 0, 4, null, hashes);
+      for (int i = 0; i < 4; i++) {
+        int expected = ByteFunctionHelpers.combineHash(
+            ByteFunctionHelpers.combineHash(0, intVector.hashCode(i, null)), varCharVector.hashCode(i, null));
+        assertEquals(expected, hashes.get(i));
+      }
+      assertEquals(hashes.get(0), hashes.get(3));
+    }
+  }
+
+  @Test
+  public void testHashCodes64() {
+    try (IntVector intVector = new IntVector("int", allocator);
+         BigIntVector bigIntVector = new BigIntVector("bigint", allocator);
+         DecimalVector decimalVector = new DecimalVector("decimal", allocator, 10, 2);
+         BitVector bitVector = new BitVector("bit", allocator);
+         VarCharVector varCharVector = new VarCharVector("varchar", allocator);
+         BigIntVector hashes = new BigIntVector("hashes", allocator)) {
+      ValueVectorDataPopulator.setVector(intVector, 1, null, 3);
+      ValueVectorDataPopulator.setVector(bigIntVector, 1L, null, 3L);
+      ValueVectorDataPopulator.setVector(decimalVector, 1L, null, 3L);
+      ValueVectorDataPopulator.setVector(bitVector, 1, null, 0);
+      ValueVectorDataPopulator.setVector(varCharVector, "abc", null, "");
+
+      VectorHasher.hash64(intVector, 0, 3, 5, hashes);
+      assertEquals(XxHasher.hash64(intVector.getDataBuffer(), 0, 4, 5), hashes.get(0));
+      assertEquals(VectorHasher.NULL_HASH_CODE_64, hashes.get(1));
+      assertEquals(XxHasher.hash64(3, 5), hashes.get(2));
+
+      VectorHasher.hash64(bigIntVector, 0, 3, 5, hashes);
+      assertEquals(XxHasher.hash64(bigIntVector.getDataBuffer(), 0, 8, 5), hashes.get(0));
+      assertEquals(VectorHasher.NULL_HASH_CODE_64, hashes.get(1));
+
+      VectorHasher.hash64(decimalVector, 0, 3, 5, hashes);
+      assertEquals(XxHasher.hash64(decimalVector.getDataBuffer(), 32, 16, 5), hashes.get(2));
+
+      VectorHasher.hash64(bitVector, 0, 3, 5, hashes);
+      assertEquals(XxHasher.hash64(1, 5), hashes.get(0));
+      assertEquals(XxHasher.hash64(0, 5), hashes.get(2));
+
+      VectorHasher.hash64(varCharVector, 0, 3, 5, hashes);
+      assertEquals(XxHasher.hash64(varCharVector.getDataBuffer(), 0, 3, 5), hashes.get(0));
+      assertEquals(VectorHasher.NULL_HASH_CODE_64, hashes.get(1));
+      assertEquals(XxHasher.hash64(varCharVector.getDataBuffer(), 3, 0, 5), hashes.get(2));
+
+      VectorHasher.hash64(Arrays.asList(intVector, varCharVector), 0, 3, 5, hashes);
+      assertEquals(XxHasher.combineHashCode(XxHasher.hash64(1, 5),
+          XxHasher.hash64(varCharVector.getDataBuffer(), 0, 3, 5)), hashes.get(0));
+      assertNotEquals(hashes.get(0), hashes.get(2));
+    }
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    try (IntVector intVector = new IntVector("int", allocator);
+         IntVector hashes = new IntVector("hashes", allocator)) {
+      ValueVectorDataPopulator.setVector(intVector, 1, 2, 3);
+      assertThrows(IndexOutOfBoundsException.class, () -> VectorHasher.hash(intVector, 1, 3, null, hashes));
+      assertThrows(IllegalArgumentException.class, () -> VectorHasher.hash(intVector, 0, -1, null, hashes));
+      assertThrows(IllegalArgumentException.class,
+          () -> VectorHasher.hash(Collections.emptyList(), 0, 0, null, hashes));
+    }
+  }
+}